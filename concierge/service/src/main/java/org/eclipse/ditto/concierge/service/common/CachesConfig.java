@@ -16,6 +16,8 @@ import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.internal.utils.cache.config.CacheConfig;
 import org.eclipse.ditto.internal.utils.cacheloaders.config.AskWithRetryConfig;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.BatchingConfig;
+import org.eclipse.ditto.internal.utils.config.KnownConfigValue;
 
 /**
  * Provides configuration settings of the caches of Concierge.
@@ -30,6 +32,14 @@ public interface CachesConfig {
      */
     AskWithRetryConfig getAskWithRetryConfig();
 
+    /**
+     * Returns the config for batching the loads of cache misses of things+policies.
+     *
+     * @return the batching config.
+     * @since 2.1.0
+     */
+    BatchingConfig getBatchingConfig();
+
     /**
      * Returns the config of the ID cache.
      *
@@ -44,4 +54,59 @@ public interface CachesConfig {
      */
     CacheConfig getEnforcerCacheConfig();
 
+    /**
+     * Returns whether the cached policy enforcers are compiled into bitsets of interned subject IDs instead of using
+     * the default evaluator.
+     *
+     * @return whether compiled policy enforcers are enabled.
+     * @since 2.1.0
+     */
+    boolean isCompiledPolicyEnforcerEnabled();
+
+    /**
+     * Returns whether batches of policy enforcer cache misses are retrieved from the bulk retrieval actor of the
+     * policies service, which reads policies without live persistence actor from snapshot and journal instead of
+     * asking their persistence actors. Takes effect only if batching is enabled.
+     *
+     * @return whether policies are retrieved in bulk.
+     * @since 2.1.0
+     */
+    boolean isPolicyBulkRetrievalEnabled();
+
+    /**
+     * An enumeration of the known config path expressions and their associated default values for
+     * {@code CachesConfig}.
+     */
+    enum CachesConfigValue implements KnownConfigValue {
+
+        /**
+         * Whether the cached policy enforcers are compiled.
+         */
+        COMPILED_POLICY_ENFORCER("compiled-policy-enforcer", false),
+
+        /**
+         * Whether batches of policy enforcer cache misses are retrieved in bulk.
+         */
+        POLICY_BULK_RETRIEVAL("policy-bulk-retrieval", false);
+
+        private final String path;
+        private final Object defaultValue;
+
+        CachesConfigValue(final String thePath, final Object theDefaultValue) {
+            path = thePath;
+            defaultValue = theDefaultValue;
+        }
+
+        @Override
+        public String getConfigPath() {
+            return path;
+        }
+
+        @Override
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+    }
+
 }
@@ -19,8 +19,10 @@ import javax.annotation.concurrent.Immutable;
 import org.eclipse.ditto.internal.utils.cache.config.CacheConfig;
 import org.eclipse.ditto.internal.utils.cache.config.DefaultCacheConfig;
 import org.eclipse.ditto.internal.utils.cacheloaders.config.AskWithRetryConfig;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.BatchingConfig;
 import org.eclipse.ditto.internal.utils.cacheloaders.config.DefaultAskWithRetryConfig;
-import org.eclipse.ditto.internal.utils.config.DefaultScopedConfig;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.DefaultBatchingConfig;
+import org.eclipse.ditto.internal.utils.config.ConfigWithFallback;
 import org.eclipse.ditto.internal.utils.config.ScopedConfig;
 
 import com.typesafe.config.Config;
@@ -33,15 +35,23 @@ public final class DefaultCachesConfig implements CachesConfig {
 
     private static final String CONFIG_PATH = "caches";
     private static final String ASK_WITH_RETRY_CONFIG_PATH = "ask-with-retry";
+    private static final String BATCHING_CONFIG_PATH = "batching";
 
     private final AskWithRetryConfig askWithRetryConfig;
+    private final BatchingConfig batchingConfig;
     private final CacheConfig idCacheConfig;
     private final CacheConfig enforcerCacheConfig;
+    private final boolean compiledPolicyEnforcerEnabled;
+    private final boolean policyBulkRetrievalEnabled;
 
     private DefaultCachesConfig(final ScopedConfig config) {
         askWithRetryConfig = DefaultAskWithRetryConfig.of(config, ASK_WITH_RETRY_CONFIG_PATH);
+        batchingConfig = DefaultBatchingConfig.of(config, BATCHING_CONFIG_PATH);
         idCacheConfig = DefaultCacheConfig.of(config, "id");
         enforcerCacheConfig = DefaultCacheConfig.of(config, "enforcer");
+        compiledPolicyEnforcerEnabled =
+                config.getBoolean(CachesConfigValue.COMPILED_POLICY_ENFORCER.getConfigPath());
+        policyBulkRetrievalEnabled = config.getBoolean(CachesConfigValue.POLICY_BULK_RETRIEVAL.getConfigPath());
     }
 
     /**
@@ -52,7 +62,8 @@ public final class DefaultCachesConfig implements CachesConfig {
      * @throws org.eclipse.ditto.internal.utils.config.DittoConfigError if {@code config} is invalid.
      */
     public static DefaultCachesConfig of(final Config config) {
-        return new DefaultCachesConfig(DefaultScopedConfig.newInstance(config, CONFIG_PATH));
+        return new DefaultCachesConfig(
+                ConfigWithFallback.newInstance(config, CONFIG_PATH, CachesConfigValue.values()));
     }
 
     @Override
@@ -60,6 +71,11 @@ public final class DefaultCachesConfig implements CachesConfig {
         return askWithRetryConfig;
     }
 
+    @Override
+    public BatchingConfig getBatchingConfig() {
+        return batchingConfig;
+    }
+
     @Override
     public CacheConfig getIdCacheConfig() {
         return idCacheConfig;
@@ -70,6 +86,16 @@ public final class DefaultCachesConfig implements CachesConfig {
         return enforcerCacheConfig;
     }
 
+    @Override
+    public boolean isCompiledPolicyEnforcerEnabled() {
+        return compiledPolicyEnforcerEnabled;
+    }
+
+    @Override
+    public boolean isPolicyBulkRetrievalEnabled() {
+        return policyBulkRetrievalEnabled;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -80,20 +106,27 @@ public final class DefaultCachesConfig implements CachesConfig {
         }
         final DefaultCachesConfig that = (DefaultCachesConfig) o;
         return askWithRetryConfig.equals(that.askWithRetryConfig) &&
-                idCacheConfig.equals(that.idCacheConfig) && enforcerCacheConfig.equals(that.enforcerCacheConfig);
+                batchingConfig.equals(that.batchingConfig) &&
+                idCacheConfig.equals(that.idCacheConfig) && enforcerCacheConfig.equals(that.enforcerCacheConfig) &&
+                compiledPolicyEnforcerEnabled == that.compiledPolicyEnforcerEnabled &&
+                policyBulkRetrievalEnabled == that.policyBulkRetrievalEnabled;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(askWithRetryConfig, idCacheConfig, enforcerCacheConfig);
+        return Objects.hash(askWithRetryConfig, batchingConfig, idCacheConfig, enforcerCacheConfig,
+                compiledPolicyEnforcerEnabled, policyBulkRetrievalEnabled);
     }
 
     @Override
     public String toString() {
         return getClass().getSimpleName() + " [" +
                 "askWithRetryConfig=" + askWithRetryConfig +
+                ", batchingConfig=" + batchingConfig +
                 ", idCacheConfig=" + idCacheConfig +
                 ", enforcerCacheConfig=" + enforcerCacheConfig +
+                ", compiledPolicyEnforcerEnabled=" + compiledPolicyEnforcerEnabled +
+                ", policyBulkRetrievalEnabled=" + policyBulkRetrievalEnabled +
                 "]";
     }
 }
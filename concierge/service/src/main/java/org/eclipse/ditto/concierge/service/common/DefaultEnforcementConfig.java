@@ -34,12 +34,14 @@ public final class DefaultEnforcementConfig implements EnforcementConfig {
     private final AskWithRetryConfig askWithRetryConfig;
     private final int bufferSize;
     private final boolean globalLiveResponseDispatching;
+    private final int schedulerStripes;
 
     private DefaultEnforcementConfig(final ConfigWithFallback configWithFallback) {
         askWithRetryConfig = DefaultAskWithRetryConfig.of(configWithFallback, ASK_WITH_RETRY_CONFIG_PATH);
         bufferSize = configWithFallback.getPositiveIntOrThrow(EnforcementConfigValue.BUFFER_SIZE);
         globalLiveResponseDispatching =
                 configWithFallback.getBoolean(EnforcementConfigValue.GLOBAL_LIVE_RESPONSE_DISPATCHING.getConfigPath());
+        schedulerStripes = configWithFallback.getPositiveIntOrThrow(EnforcementConfigValue.SCHEDULER_STRIPES);
     }
 
     /**
@@ -69,6 +71,11 @@ public final class DefaultEnforcementConfig implements EnforcementConfig {
         return globalLiveResponseDispatching;
     }
 
+    @Override
+    public int getSchedulerStripes() {
+        return schedulerStripes;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -80,12 +87,13 @@ public final class DefaultEnforcementConfig implements EnforcementConfig {
         final DefaultEnforcementConfig that = (DefaultEnforcementConfig) o;
         return bufferSize == that.bufferSize &&
                 globalLiveResponseDispatching == that.globalLiveResponseDispatching &&
+                schedulerStripes == that.schedulerStripes &&
                 askWithRetryConfig.equals(that.askWithRetryConfig);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(askWithRetryConfig, bufferSize, globalLiveResponseDispatching);
+        return Objects.hash(askWithRetryConfig, bufferSize, globalLiveResponseDispatching, schedulerStripes);
     }
 
     @Override
@@ -94,6 +102,7 @@ public final class DefaultEnforcementConfig implements EnforcementConfig {
                 "askWithRetryConfig=" + askWithRetryConfig +
                 ", bufferSize=" + bufferSize +
                 ", globalLiveResponseDispatching=" + globalLiveResponseDispatching +
+                ", schedulerStripes=" + schedulerStripes +
                 "]";
     }
 }
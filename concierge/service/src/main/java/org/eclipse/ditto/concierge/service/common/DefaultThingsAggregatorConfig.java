@@ -32,11 +32,13 @@ public final class DefaultThingsAggregatorConfig implements ThingsAggregatorConf
 
     private final Duration singleRetrieveThingTimeout;
     private final int maxParallelism;
+    private final boolean bulkRetrievalEnabled;
 
     private DefaultThingsAggregatorConfig(final ScopedConfig config) {
         singleRetrieveThingTimeout =
                 config.getNonNegativeAndNonZeroDurationOrThrow(ThingsAggregatorConfigValue.SINGLE_RETRIEVE_THING_TIMEOUT);
         maxParallelism = config.getPositiveIntOrThrow(ThingsAggregatorConfigValue.MAX_PARALLELISM);
+        bulkRetrievalEnabled = config.getBoolean(ThingsAggregatorConfigValue.BULK_RETRIEVAL_ENABLED.getConfigPath());
     }
 
     /**
@@ -61,6 +63,11 @@ public final class DefaultThingsAggregatorConfig implements ThingsAggregatorConf
         return maxParallelism;
     }
 
+    @Override
+    public boolean isBulkRetrievalEnabled() {
+        return bulkRetrievalEnabled;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -71,12 +78,13 @@ public final class DefaultThingsAggregatorConfig implements ThingsAggregatorConf
         }
         final DefaultThingsAggregatorConfig that = (DefaultThingsAggregatorConfig) o;
         return maxParallelism == that.maxParallelism &&
+                bulkRetrievalEnabled == that.bulkRetrievalEnabled &&
                 singleRetrieveThingTimeout.equals(that.singleRetrieveThingTimeout);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(singleRetrieveThingTimeout, maxParallelism);
+        return Objects.hash(singleRetrieveThingTimeout, maxParallelism, bulkRetrievalEnabled);
     }
 
     @Override
@@ -84,6 +92,7 @@ public final class DefaultThingsAggregatorConfig implements ThingsAggregatorConf
         return getClass().getSimpleName() + " [" +
                 "singleRetrieveThingTimeout=" + singleRetrieveThingTimeout +
                 ", maxParallelism=" + maxParallelism +
+                ", bulkRetrievalEnabled=" + bulkRetrievalEnabled +
                 "]";
     }
 
@@ -45,6 +45,14 @@ public interface EnforcementConfig {
      */
     boolean shouldDispatchLiveResponsesGlobally();
 
+    /**
+     * Returns the number of independent stripes onto which the enforcement scheduler hashes entity IDs.
+     *
+     * @return the number of scheduler stripes.
+     * @since 2.1.0
+     */
+    int getSchedulerStripes();
+
     /**
      * An enumeration of the known config path expressions and their associated default values for
      * {@code EnforcementConfig}.
@@ -59,7 +67,12 @@ public interface EnforcementConfig {
         /**
          * Whether to enable dispatching live responses from channels other than the subscribers.
          */
-        GLOBAL_LIVE_RESPONSE_DISPATCHING("global-live-response-dispatching", false);
+        GLOBAL_LIVE_RESPONSE_DISPATCHING("global-live-response-dispatching", false),
+
+        /**
+         * The number of independent stripes onto which the enforcement scheduler hashes entity IDs.
+         */
+        SCHEDULER_STRIPES("scheduler-stripes", 16);
 
         private final String path;
         private final Object defaultValue;
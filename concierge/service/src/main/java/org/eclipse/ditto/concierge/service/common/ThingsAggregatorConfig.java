@@ -39,6 +39,15 @@ public interface ThingsAggregatorConfig {
      */
     int getMaxParallelism();
 
+    /**
+     * Indicates whether {@code RetrieveThings} and {@code SudoRetrieveThings} commands are answered by the bulk
+     * retrieval actor of the "things" service instead of sending one {@code RetrieveThing} command per thing.
+     *
+     * @return {@code true} if things are retrieved in bulk, {@code false} else.
+     * @since 2.1.0
+     */
+    boolean isBulkRetrievalEnabled();
+
     /**
      * An enumeration of the known config path expressions and their associated default values for
      * {@code ThingsAggregatorConfig}.
@@ -53,7 +62,14 @@ public interface ThingsAggregatorConfig {
         /**
          * The maximum parallelism.
          */
-        MAX_PARALLELISM("max-parallelism", 20);
+        MAX_PARALLELISM("max-parallelism", 20),
+
+        /**
+         * Whether things are retrieved in bulk.
+         *
+         * @since 2.1.0
+         */
+        BULK_RETRIEVAL_ENABLED("bulk-retrieval-enabled", false);
 
         private final String path;
         private final Object defaultValue;
@@ -124,6 +124,13 @@ public abstract class AbstractEnforcerActor extends AbstractGraphActor<Contextua
         return enforcementConfig.getBufferSize();
     }
 
+    /**
+     * @return the enforcement config of this actor.
+     */
+    protected EnforcementConfig getEnforcementConfig() {
+        return enforcementConfig;
+    }
+
     @Override
     protected Contextual<WithDittoHeaders> mapMessage(final WithDittoHeaders message) {
         return contextual.withReceivedMessage(message, getSender());
@@ -12,84 +12,124 @@
  */
 package org.eclipse.ditto.concierge.service.enforcement;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
 
 import org.eclipse.ditto.base.model.entity.id.EntityId;
 import org.eclipse.ditto.base.model.headers.WithDittoHeaders;
-import org.eclipse.ditto.internal.utils.akka.logging.DittoDiagnosticLoggingAdapter;
 import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
+import org.eclipse.ditto.internal.utils.akka.logging.ThreadSafeDittoLogger;
 import org.eclipse.ditto.internal.utils.akka.logging.ThreadSafeDittoLoggingAdapter;
 import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
 import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.internal.utils.metrics.instruments.timer.PreparedTimer;
+import org.eclipse.ditto.internal.utils.metrics.instruments.timer.StartedTimer;
 
-import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
-import akka.actor.Props;
-import akka.japi.pf.ReceiveBuilder;
 import akka.pattern.Patterns;
+import scala.concurrent.ExecutionContext;
 
 /**
- * Actor that schedules enforcement tasks. Relying on the inherent timeout of enforcement tasks to not leak memory.
+ * Schedules enforcement tasks such that the enforced messages of each entity are dispatched in the order their tasks
+ * were scheduled. Relying on the inherent timeout of enforcement tasks to not leak memory.
+ * <p>
+ * Entity IDs are hashed onto independent stripes, each with its own concurrent map of in-flight tasks per entity,
+ * so that scheduling and completing tasks of different entities do not contend with each other. Each stripe reports
+ * the number of its in-flight tasks and the latency from scheduling a task until dispatching its result.
+ * </p>
  */
-final class EnforcementScheduler extends AbstractActor {
+@ThreadSafe
+final class EnforcementScheduler {
 
-    /**
-     * The name of this actor under the parent actor, which should be EnforcerActor.
-     */
-    static final String ACTOR_NAME = "scheduler";
+    private static final ThreadSafeDittoLogger LOGGER =
+            DittoLoggerFactory.getThreadSafeLogger(EnforcementScheduler.class);
 
-    /**
-     * Cache of started enforcement tasks for each entity ID.
-     */
-    private final Map<EntityId, Futures> futuresMap;
-    private final DittoDiagnosticLoggingAdapter log;
+    private static final String GAUGE_IN_FLIGHT_TASKS = "enforcement_scheduler_in_flight_tasks";
+    private static final String TIMER_TASK_LATENCY = "enforcement_scheduler_task_latency";
+    private static final String STRIPE_TAG = "stripe";
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final ExecutionContext executionContext;
     private final Counter scheduledEnforcementTasks;
     private final Counter completedEnforcementTasks;
 
-    private EnforcementScheduler() {
-        futuresMap = new HashMap<>();
-        log = DittoLoggerFactory.getDiagnosticLoggingAdapter(this);
+    private EnforcementScheduler(final int numberOfStripes, final ExecutionContext executionContext) {
+        final int powerOfTwoStripes = numberOfStripes <= 1 ? 1 : Integer.highestOneBit(numberOfStripes - 1) << 1;
+        stripes = new Stripe[powerOfTwoStripes];
+        for (int i = 0; i < powerOfTwoStripes; i++) {
+            stripes[i] = new Stripe(i);
+        }
+        stripeMask = powerOfTwoStripes - 1;
+        this.executionContext = executionContext;
         scheduledEnforcementTasks = DittoMetrics.counter("scheduled_enforcement_tasks");
         completedEnforcementTasks = DittoMetrics.counter("completed_enforcement_tasks");
     }
 
-    static Props props() {
-        return Props.create(EnforcementScheduler.class);
-    }
-
-    @Override
-    public Receive createReceive() {
-        return ReceiveBuilder.create()
-                .match(EnforcementTask.class, this::scheduleEnforcement)
-                .match(FutureComplete.class, this::futureComplete)
-                .matchAny(message -> log.warning("UnknownMessage <{}>", message))
-                .build();
+    /**
+     * Create an enforcement scheduler.
+     *
+     * @param numberOfStripes the number of independent stripes; rounded up to a power of 2.
+     * @param executionContext the execution context to pipe results of ask-steps to their receivers in.
+     * @return the scheduler.
+     */
+    static EnforcementScheduler of(final int numberOfStripes, final ExecutionContext executionContext) {
+        return new EnforcementScheduler(numberOfStripes, executionContext);
     }
 
-    private void scheduleEnforcement(final EnforcementTask task) {
-        futuresMap.compute(task.getEntityId(), (entityId, cachedFutures) -> {
-            log.debug("Scheduling <{}> at <{}>", task, cachedFutures);
-            final Futures previousFutures = cachedFutures != null ? cachedFutures : Futures.initial();
-            return scheduleTaskAfter(previousFutures, task);
-        });
+    /**
+     * Schedule an enforcement task such that it does not start until all previous authorization changes of the same
+     * entity are complete and does not complete until all previous tasks of the same entity are complete.
+     * Tasks of the same entity must be scheduled by one thread at a time.
+     *
+     * @param task the task to schedule.
+     */
+    void schedule(final EnforcementTask task) {
+        final Stripe stripe = stripeOf(task.getEntityId());
+        // placeholders for the task in the cache so that the task itself is not started while updating the cache
+        final CompletableFuture<Void> taskStarted = new CompletableFuture<>();
+        final CompletableFuture<Void> taskComplete = new CompletableFuture<>();
+        final Futures previousFutures = stripe.append(task, taskStarted, taskComplete);
+        LOGGER.debug("Scheduling <{}> at <{}>", task, previousFutures);
         scheduledEnforcementTasks.increment();
+        final StartedTimer timer = stripe.taskLatency.start();
+        // waiting for the start of the previous task keeps the start order of tasks released by the same
+        // authorization change
+        previousFutures.beforeStartFuture.thenCombine(previousFutures.lastStartedFuture,
+                (authChangeComplete, previousTaskStarted) -> null
+        ).thenCompose(readyToStart -> {
+            try {
+                return previousFutures.beforeCompleteFuture.thenCombine(task.start(),
+                        (previousTaskComplete, enforcementResult) -> dispatchEnforcedMessage(enforcementResult)
+                );
+            } finally {
+                taskStarted.complete(null);
+            }
+        }).whenComplete((result, error) -> {
+            if (null != error) {
+                LOGGER.error("FutureFailed <{}>", task, error);
+            }
+            stopTimer(timer);
+            // a task which failed to start releases its successors here
+            taskStarted.complete(null);
+            taskComplete.complete(null);
+            stripe.onComplete(task.getEntityId());
+            completedEnforcementTasks.increment();
+        });
     }
 
-    private void futureComplete(final FutureComplete futureComplete) {
-        log.debug("Got <{}>", futureComplete);
-        futureComplete.getError().ifPresent(error -> log.error(error, "FutureFailed <{}>", futureComplete));
-        futuresMap.computeIfPresent(futureComplete.entityId, (entityId, futures) -> {
-            log.debug("Reducing reference count <{}>", futures);
-            return futures.onComplete();
-        });
-        completedEnforcementTasks.increment();
+    private Stripe stripeOf(final EntityId entityId) {
+        final int hash = entityId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
     }
 
     private Void dispatchEnforcedMessage(final Contextual<?> enforcementResult) {
@@ -106,7 +146,7 @@ final class EnforcementScheduler extends AbstractActor {
                 // It does not disrupt command order guarantee to run the ask-future here if the ask-future
                 // is initiated by a call to Patterns.ask(), because Patterns.ask() calls ActorRef.tell()
                 // in the calling thread.
-                Patterns.pipe(askFutureOpt.get().get(), getContext().dispatcher()).to(receiver);
+                Patterns.pipe(askFutureOpt.get().get(), executionContext).to(receiver);
             } else if (receiverOpt.isPresent()) {
                 final ActorRef receiver = receiverOpt.get();
                 final Object wrappedMsg =
@@ -124,77 +164,85 @@ final class EnforcementScheduler extends AbstractActor {
         return null;
     }
 
-    /**
-     * Schedule an enforcement task based on previous futures of an entity such that enforcement task does not start
-     * until all previous authorization changes are complete and does not complete until all previous tasks are
-     * complete.
-     *
-     * @param previousFutures in-flight enforcement tasks for the same entity.
-     * @param task the task to schedule.
-     * @return the next in-flight enforcement tasks, including the scheduled task.
-     */
-    private Futures scheduleTaskAfter(final Futures previousFutures, final EnforcementTask task) {
-        final CompletionStage<?> taskFuture =
-                previousFutures.beforeStartFuture.thenCompose(authChangeComplete ->
-                        previousFutures.beforeCompleteFuture.thenCombine(task.start(),
-                                (previousTaskComplete, enforcementResult) -> dispatchEnforcedMessage(enforcementResult)
-                        )
-                ).handle((result, error) -> sendFutureComplete(task, error));
-        return task.changesAuthorization()
-                ? previousFutures.appendBeforeStartFuture(taskFuture)
-                : previousFutures.appendBeforeCompleteFuture(taskFuture);
-    }
-
-    private Void sendFutureComplete(final EnforcementTask task, @Nullable final Throwable error) {
-        getSelf().tell(FutureComplete.of(task.getEntityId(), error), ActorRef.noSender());
-        return null;
+    private static void stopTimer(final StartedTimer timer) {
+        try {
+            timer.stop();
+        } catch (final IllegalStateException e) {
+            // it is okay if the timer stopped already
+        }
     }
 
     /**
-     * Self-sent event to signal completion of an enforcement task for cache maintenance.
+     * In-flight enforcement tasks of the entities hashed onto one stripe.
      */
-    private static final class FutureComplete {
+    private static final class Stripe {
 
-        private final EntityId entityId;
-        @Nullable private final Throwable error;
-
-        private FutureComplete(final EntityId entityId, @Nullable final Throwable error) {
-            this.entityId = entityId;
-            this.error = error;
+        /**
+         * Cache of started enforcement tasks for each entity ID.
+         */
+        private final Map<EntityId, Futures> futuresMap;
+        private final AtomicLong inFlightTasks;
+        private final Gauge inFlightTasksGauge;
+        private final PreparedTimer taskLatency;
+
+        private Stripe(final int index) {
+            futuresMap = new ConcurrentHashMap<>();
+            inFlightTasks = new AtomicLong();
+            final String stripe = String.valueOf(index);
+            inFlightTasksGauge = DittoMetrics.gauge(GAUGE_IN_FLIGHT_TASKS).tag(STRIPE_TAG, stripe);
+            taskLatency = DittoMetrics.timer(TIMER_TASK_LATENCY).tag(STRIPE_TAG, stripe);
         }
 
-        private static FutureComplete of(final EntityId entityId, @Nullable final Throwable error) {
-            return new FutureComplete(entityId, error);
+        /**
+         * Append a task to the in-flight tasks of its entity.
+         *
+         * @param task the task.
+         * @param taskStarted the future completing after the task started.
+         * @param taskComplete the future completing after the task completed.
+         * @return the in-flight tasks of the entity before appending the task.
+         */
+        private Futures append(final EnforcementTask task, final CompletionStage<?> taskStarted,
+                final CompletionStage<?> taskComplete) {
+            final Futures[] previousFutures = new Futures[1];
+            futuresMap.compute(task.getEntityId(), (entityId, cachedFutures) -> {
+                previousFutures[0] = cachedFutures != null ? cachedFutures : Futures.initial();
+                return task.changesAuthorization()
+                        ? previousFutures[0].appendBeforeStartFuture(taskStarted, taskComplete)
+                        : previousFutures[0].appendBeforeCompleteFuture(taskStarted, taskComplete);
+            });
+            inFlightTasksGauge.set(inFlightTasks.incrementAndGet());
+            return previousFutures[0];
         }
 
-        private Optional<Throwable> getError() {
-            return Optional.ofNullable(error);
+        private void onComplete(final EntityId entityId) {
+            futuresMap.computeIfPresent(entityId, (id, futures) -> futures.onComplete());
+            inFlightTasksGauge.set(inFlightTasks.decrementAndGet());
         }
 
-        @Override
-        public String toString() {
-            return getClass().getSimpleName() + "[entityId=" + entityId + "]";
-        }
     }
 
     /**
      * Cache entry for 1 entity including: its last scheduled authorization-changing task, its last scheduled
-     * non-authorization-changing task, and the amount of in-flight enforcement tasks.
+     * non-authorization-changing task, the start of its last scheduled task, and the amount of in-flight enforcement
+     * tasks.
      */
     private static final class Futures {
 
         private static final Futures INITIAL_FUTURES =
-                new Futures(CompletableFuture.completedStage(null), CompletableFuture.completedStage(null), 0);
+                new Futures(CompletableFuture.completedStage(null), CompletableFuture.completedStage(null),
+                        CompletableFuture.completedStage(null), 0);
 
         private final CompletionStage<?> beforeStartFuture;
         private final CompletionStage<?> beforeCompleteFuture;
+        private final CompletionStage<?> lastStartedFuture;
         private final int referenceCount;
 
         private Futures(final CompletionStage<?> beforeStartFuture, final CompletionStage<?> beforeCompleteFuture,
-                final int referenceCount) {
+                final CompletionStage<?> lastStartedFuture, final int referenceCount) {
 
             this.beforeStartFuture = beforeStartFuture;
             this.beforeCompleteFuture = beforeCompleteFuture;
+            this.lastStartedFuture = lastStartedFuture;
             this.referenceCount = referenceCount;
         }
 
@@ -205,15 +253,18 @@ final class EnforcementScheduler extends AbstractActor {
             return INITIAL_FUTURES;
         }
 
-        private Futures appendBeforeStartFuture(final CompletionStage<?> beforeStartFuture) {
+        private Futures appendBeforeStartFuture(final CompletionStage<?> startedFuture,
+                final CompletionStage<?> beforeStartFuture) {
 
             // Setting both futures to the specified future allows the garbage collector to discard the unused
             // beforeCompleteFuture object.
-            return new Futures(beforeStartFuture, beforeStartFuture, referenceCount + 1);
+            return new Futures(beforeStartFuture, beforeStartFuture, startedFuture, referenceCount + 1);
         }
 
-        private Futures appendBeforeCompleteFuture(final CompletionStage<?> beforeCompleteFuture) {
-            return new Futures(beforeStartFuture, beforeCompleteFuture, referenceCount + 1);
+        private Futures appendBeforeCompleteFuture(final CompletionStage<?> startedFuture,
+                final CompletionStage<?> beforeCompleteFuture) {
+
+            return new Futures(beforeStartFuture, beforeCompleteFuture, startedFuture, referenceCount + 1);
         }
 
         @Nullable
@@ -222,7 +273,7 @@ final class EnforcementScheduler extends AbstractActor {
             if (nextReferenceCount <= 0) {
                 return null;
             } else {
-                return new Futures(beforeStartFuture, beforeCompleteFuture, nextReferenceCount);
+                return new Futures(beforeStartFuture, beforeCompleteFuture, lastStartedFuture, nextReferenceCount);
             }
         }
 
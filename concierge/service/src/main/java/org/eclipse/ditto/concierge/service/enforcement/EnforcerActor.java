@@ -60,8 +60,8 @@ public final class EnforcerActor extends AbstractEnforcerActor {
             @Nullable final Cache<CacheKey, Entry<Enforcer>> policyEnforcerCache) {
 
         super(pubSubMediator, conciergeForwarder, thingIdCache, policyEnforcerCache);
-        final ActorRef enforcementScheduler =
-                getContext().actorOf(EnforcementScheduler.props(), EnforcementScheduler.ACTOR_NAME);
+        final EnforcementScheduler enforcementScheduler =
+                EnforcementScheduler.of(getEnforcementConfig().getSchedulerStripes(), getContext().getDispatcher());
         sink = assembleSink(enforcementProviders, preEnforcer, enforcementScheduler);
     }
 
@@ -124,7 +124,7 @@ public final class EnforcerActor extends AbstractEnforcerActor {
     private Sink<Contextual<WithDittoHeaders>, CompletionStage<Done>> assembleSink(
             final Set<EnforcementProvider<?>> enforcementProviders,
             @Nullable final PreEnforcer preEnforcer,
-            final ActorRef enforcementScheduler) {
+            final EnforcementScheduler enforcementScheduler) {
 
         final PreEnforcer preEnforcerStep =
                 preEnforcer != null ? preEnforcer : CompletableFuture::completedStage;
@@ -146,6 +146,6 @@ public final class EnforcerActor extends AbstractEnforcerActor {
 
         return Flow.<Contextual<WithDittoHeaders>>create()
                 .via(enforcerFlow)
-                .toMat(Sink.foreach(task -> enforcementScheduler.tell(task, ActorRef.noSender())), Keep.right());
+                .toMat(Sink.foreach(enforcementScheduler::schedule), Keep.right());
     }
 }
@@ -457,6 +457,30 @@ public final class ThingCommandEnforcement
         });
     }
 
+    /**
+     * Authorize a {@code RetrieveThing} command for a thing which was retrieved without sending the command to the
+     * things shard region and restrict the view on the thing by the enforcer.
+     *
+     * @param retrieveThing the command to authorize.
+     * @param thingJson the retrieved thing as restricted by the selected fields of the command.
+     * @param enforcer the enforcer of the thing's policy.
+     * @return the response with view on the thing restricted by the enforcer, or an empty optional if the command
+     * is not authorized.
+     * @since 2.1.0
+     */
+    public static Optional<RetrieveThingResponse> authorizeRetrievedThing(final RetrieveThing retrieveThing,
+            final JsonObject thingJson, final Enforcer enforcer) {
+
+        try {
+            final RetrieveThing authorizedRetrieveThing = authorizeByPolicyOrThrow(enforcer, retrieveThing);
+            final RetrieveThingResponse response = RetrieveThingResponse.of(authorizedRetrieveThing.getEntityId(),
+                    thingJson, authorizedRetrieveThing.getDittoHeaders());
+            return Optional.of(buildJsonViewForThingQueryCommandResponse(response, enforcer));
+        } catch (final DittoRuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Limit view on entity of {@code ThingQueryCommandResponse} by enforcer.
      *
@@ -33,8 +33,12 @@ import org.eclipse.ditto.thingsearch.api.commands.sudo.ThingSearchSudoCommand;
 import org.eclipse.ditto.internal.utils.akka.controlflow.AbstractGraphActor;
 import org.eclipse.ditto.internal.utils.akka.controlflow.Filter;
 import org.eclipse.ditto.internal.utils.akka.controlflow.WithSender;
+import org.eclipse.ditto.internal.utils.cache.Cache;
+import org.eclipse.ditto.internal.utils.cache.CacheKey;
+import org.eclipse.ditto.internal.utils.cache.entry.Entry;
 import org.eclipse.ditto.internal.utils.cluster.DistPubSubAccess;
 import org.eclipse.ditto.internal.utils.config.DefaultScopedConfig;
+import org.eclipse.ditto.policies.model.enforcers.Enforcer;
 import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThings;
 import org.eclipse.ditto.thingsearch.model.signals.commands.ThingSearchCommand;
 
@@ -66,7 +70,7 @@ public final class DispatcherActor
     private final EnforcementConfig enforcementConfig;
 
     @SuppressWarnings("unused")
-    private DispatcherActor(final ActorRef enforcerActor,
+    private DispatcherActor(final Props thingsAggregatorProps,
             final ActorRef pubSubMediator,
             final Flow<ImmutableDispatch, ImmutableDispatch, NotUsed> handler) {
 
@@ -77,8 +81,7 @@ public final class DispatcherActor
         ).getEnforcementConfig();
 
         this.handler = handler;
-        final Props props = ThingsAggregatorActor.props(enforcerActor);
-        thingsAggregatorActor = getContext().actorOf(props, ThingsAggregatorActor.ACTOR_NAME);
+        thingsAggregatorActor = getContext().actorOf(thingsAggregatorProps, ThingsAggregatorActor.ACTOR_NAME);
 
         initActor(getSelf(), pubSubMediator);
     }
@@ -127,7 +130,32 @@ public final class DispatcherActor
         final Flow<ImmutableDispatch, ImmutableDispatch, NotUsed> dispatchFlow =
                 Flow.fromGraph(createDispatchFlow(pubSubMediator, preEnforcer));
 
-        return Props.create(DispatcherActor.class, enforcerActor, pubSubMediator, dispatchFlow);
+        return Props.create(DispatcherActor.class, ThingsAggregatorActor.props(enforcerActor), pubSubMediator,
+                dispatchFlow);
+    }
+
+    /**
+     * Create Akka actor configuration Props object without pre-enforcer whose things aggregator may retrieve things
+     * in bulk.
+     *
+     * @param pubSubMediator Akka pub-sub mediator.
+     * @param enforcerActor the address of the enforcer actor.
+     * @param policyEnforcerCache the cache of policy enforcers to authorize things retrieved in bulk.
+     * @param thingPreEnforcer the pre-enforcer of {@code RetrieveThing} commands for things retrieved in bulk.
+     * @return the Props object.
+     * @since 2.1.0
+     */
+    public static Props propsWithBulkRetrieval(final ActorRef pubSubMediator,
+            final ActorRef enforcerActor,
+            final Cache<CacheKey, Entry<Enforcer>> policyEnforcerCache,
+            final PreEnforcer thingPreEnforcer) {
+
+        final Flow<ImmutableDispatch, ImmutableDispatch, NotUsed> dispatchFlow =
+                Flow.fromGraph(createDispatchFlow(pubSubMediator, CompletableFuture::completedFuture));
+        final Props thingsAggregatorProps =
+                ThingsAggregatorActor.props(enforcerActor, pubSubMediator, policyEnforcerCache, thingPreEnforcer);
+
+        return Props.create(DispatcherActor.class, thingsAggregatorProps, pubSubMediator, dispatchFlow);
     }
 
     /**
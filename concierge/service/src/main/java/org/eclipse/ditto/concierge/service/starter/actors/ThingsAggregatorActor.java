@@ -12,42 +12,77 @@
  */
 package org.eclipse.ditto.concierge.service.starter.actors;
 
+import static org.eclipse.ditto.things.api.ThingsMessagingConstants.THINGS_BULK_RETRIEVAL_ACTOR_PATH;
+
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.concierge.service.common.DittoConciergeConfig;
 import org.eclipse.ditto.concierge.service.common.ThingsAggregatorConfig;
+import org.eclipse.ditto.concierge.service.enforcement.PreEnforcer;
+import org.eclipse.ditto.concierge.service.enforcement.ThingCommandEnforcement;
 import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.base.model.json.Jsonifiable;
+import org.eclipse.ditto.policies.model.Policy;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.policies.model.enforcers.Enforcer;
+import org.eclipse.ditto.things.model.Thing;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.concierge.api.ConciergeWrapper;
 import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThing;
+import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThingResponse;
 import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThings;
 import org.eclipse.ditto.internal.utils.akka.logging.DittoDiagnosticLoggingAdapter;
 import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
+import org.eclipse.ditto.internal.utils.cache.Cache;
+import org.eclipse.ditto.internal.utils.cache.CacheKey;
+import org.eclipse.ditto.internal.utils.cache.entry.Entry;
+import org.eclipse.ditto.internal.utils.cluster.DistPubSubAccess;
 import org.eclipse.ditto.internal.utils.config.DefaultScopedConfig;
+import org.eclipse.ditto.internal.utils.pubsub.StreamingType;
 import org.eclipse.ditto.base.model.signals.SignalWithEntityId;
 import org.eclipse.ditto.base.model.signals.commands.Command;
 import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThing;
 import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThings;
 
+import akka.NotUsed;
 import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
 import akka.actor.Props;
+import akka.japi.Pair;
+import akka.japi.pf.PFBuilder;
 import akka.japi.pf.ReceiveBuilder;
+import akka.pattern.Patterns;
+import akka.stream.Materializer;
 import akka.stream.SourceRef;
 import akka.stream.SystemMaterializer;
+import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
 import akka.stream.javadsl.StreamRefs;
 import akka.util.Timeout;
 
 /**
  * Actor to aggregate the retrieved Things from persistence.
+ * <p>
+ * If bulk retrieval is enabled, the things are retrieved from the bulk retrieval actor of the "things" service, which
+ * reads things without live persistence actor directly from the database. {@code RetrieveThings} commands are then
+ * authorized per thing by the cached policy enforcers. Should the bulk retrieval actor not answer, the things are
+ * retrieved one by one; should the retrieved things fail midway, the remaining things are retrieved one by one; should
+ * the authorization of a retrieved thing fail, that thing is retrieved alone.
+ * </p>
  */
 public final class ThingsAggregatorActor extends AbstractActor {
 
@@ -60,17 +95,31 @@ public final class ThingsAggregatorActor extends AbstractActor {
 
     private final DittoDiagnosticLoggingAdapter log = DittoLoggerFactory.getDiagnosticLoggingAdapter(this);
     private final ActorRef targetActor;
+    @Nullable private final ActorRef pubSubMediator;
+    @Nullable private final Cache<CacheKey, Entry<Enforcer>> policyEnforcerCache;
+    @Nullable private final PreEnforcer thingPreEnforcer;
     private final java.time.Duration retrieveSingleThingTimeout;
     private final int maxParallelism;
+    private final boolean bulkRetrievalEnabled;
+    private final Materializer materializer;
 
     @SuppressWarnings("unused")
-    private ThingsAggregatorActor(final ActorRef targetActor) {
+    private ThingsAggregatorActor(final ActorRef targetActor,
+            @Nullable final ActorRef pubSubMediator,
+            @Nullable final Cache<CacheKey, Entry<Enforcer>> policyEnforcerCache,
+            @Nullable final PreEnforcer thingPreEnforcer) {
+
         this.targetActor = targetActor;
+        this.pubSubMediator = pubSubMediator;
+        this.policyEnforcerCache = policyEnforcerCache;
+        this.thingPreEnforcer = thingPreEnforcer;
         final ThingsAggregatorConfig aggregatorConfig = DittoConciergeConfig.of(
                 DefaultScopedConfig.dittoScoped(getContext().getSystem().settings().config())
         ).getThingsAggregatorConfig();
         retrieveSingleThingTimeout = aggregatorConfig.getSingleRetrieveThingTimeout();
         maxParallelism = aggregatorConfig.getMaxParallelism();
+        bulkRetrievalEnabled = aggregatorConfig.isBulkRetrievalEnabled() && null != pubSubMediator;
+        materializer = SystemMaterializer.get(getContext().getSystem()).materializer();
     }
 
     /**
@@ -80,7 +129,27 @@ public final class ThingsAggregatorActor extends AbstractActor {
      * @return the Akka configuration Props object
      */
     public static Props props(final ActorRef targetActor) {
-        return Props.create(ThingsAggregatorActor.class, targetActor)
+        return Props.create(ThingsAggregatorActor.class, targetActor, null, null, null)
+                .withDispatcher(AGGREGATOR_INTERNAL_DISPATCHER);
+    }
+
+    /**
+     * Creates Akka configuration object Props for this ThingsAggregatorActor which may retrieve things in bulk.
+     *
+     * @param targetActor the Actor selection to delegate "asks" for the aggregation to.
+     * @param pubSubMediator the pub-sub mediator to reach the bulk retrieval actor of the "things" service.
+     * @param policyEnforcerCache the cache of policy enforcers to authorize things retrieved in bulk.
+     * @param thingPreEnforcer the pre-enforcer of {@code RetrieveThing} commands for things retrieved in bulk.
+     * @return the Akka configuration Props object
+     * @since 2.1.0
+     */
+    public static Props props(final ActorRef targetActor,
+            final ActorRef pubSubMediator,
+            final Cache<CacheKey, Entry<Enforcer>> policyEnforcerCache,
+            final PreEnforcer thingPreEnforcer) {
+
+        return Props.create(ThingsAggregatorActor.class, targetActor, pubSubMediator, policyEnforcerCache,
+                thingPreEnforcer)
                 .withDispatcher(AGGREGATOR_INTERNAL_DISPATCHER);
     }
 
@@ -93,7 +162,11 @@ public final class ThingsAggregatorActor extends AbstractActor {
                             .info("Got '{}' message. Retrieving requested '{}' Things..",
                                     RetrieveThings.class.getSimpleName(),
                                     rt.getEntityIds().size());
-                    retrieveThings(rt, getSender());
+                    if (shouldRetrieveInBulk(rt)) {
+                        retrieveThingsInBulk(rt, getSender());
+                    } else {
+                        retrieveThings(rt, getSender());
+                    }
                 })
 
                 // # handle "SudoRetrieveThings" command
@@ -102,7 +175,11 @@ public final class ThingsAggregatorActor extends AbstractActor {
                             .info("Got '{}' message. Retrieving requested '{}' Things..",
                                     SudoRetrieveThings.class.getSimpleName(),
                                     rt.getThingIds().size());
-                    retrieveThings(rt, getSender());
+                    if (bulkRetrievalEnabled) {
+                        retrieveThingsInBulk(rt, getSender());
+                    } else {
+                        retrieveThings(rt, getSender());
+                    }
                 })
 
                 // # handle unknown message
@@ -130,9 +207,163 @@ public final class ThingsAggregatorActor extends AbstractActor {
             @Nullable final JsonFieldSelector selectedFields,
             final Command<?> command, final ActorRef resultReceiver) {
 
+        sendResult(retrieveThingsOneByOne(thingIds, selectedFields, command), resultReceiver);
+    }
+
+    private void retrieveThingsInBulk(final SudoRetrieveThings sudoRetrieveThings, final ActorRef resultReceiver) {
+        final Collection<ThingId> thingIds = sudoRetrieveThings.getThingIds();
+        final JsonFieldSelector selectedFields = sudoRetrieveThings.getSelectedFields().orElse(null);
+        final Source<Jsonifiable, NotUsed> responses = Source.completionStage(askBulkRetrievalActor(sudoRetrieveThings))
+                .flatMapConcat(bulkResponses -> bulkResponses
+                        .map(source -> withOneByOneFallback(source,
+                                response -> CompletableFuture.completedFuture(List.of(response)),
+                                thingIds, selectedFields, sudoRetrieveThings))
+                        .orElseGet(() -> retrieveThingsOneByOne(thingIds, selectedFields, sudoRetrieveThings)));
+        sendResult(responses, resultReceiver);
+    }
+
+    private void retrieveThingsInBulk(final RetrieveThings retrieveThings, final ActorRef resultReceiver) {
+        final Collection<ThingId> thingIds = retrieveThings.getEntityIds();
+        final JsonFieldSelector selectedFields = retrieveThings.getSelectedFields().orElse(null);
+        // retrieve whole things to have their policy IDs; the selected fields are applied after authorization
+        final SudoRetrieveThings sudoRetrieveThings =
+                SudoRetrieveThings.of(retrieveThings.getEntityIds(), retrieveThings.getDittoHeaders());
+        final Source<Jsonifiable, NotUsed> responses = Source.completionStage(askBulkRetrievalActor(sudoRetrieveThings))
+                .flatMapConcat(bulkResponses -> bulkResponses
+                        .map(source -> withOneByOneFallback(source,
+                                response -> authorizeRetrievedThing(retrieveThings, response),
+                                thingIds, selectedFields, retrieveThings))
+                        .orElseGet(() -> retrieveThingsOneByOne(thingIds, selectedFields, retrieveThings)));
+        sendResult(responses, resultReceiver);
+    }
+
+    /**
+     * Should the source of things retrieved in bulk fail, the things which were not yet retrieved are retrieved one
+     * by one.
+     */
+    private Source<Jsonifiable, NotUsed> withOneByOneFallback(final Source<Jsonifiable, NotUsed> bulkResponses,
+            final Function<Jsonifiable, CompletionStage<List<Jsonifiable>>> responseMapper,
+            final Collection<ThingId> thingIds,
+            @Nullable final JsonFieldSelector selectedFields,
+            final Command<?> command) {
+
+        final Set<ThingId> retrievedThingIds = ConcurrentHashMap.newKeySet();
+        return bulkResponses.mapAsync(maxParallelism, response -> responseMapper.apply(response)
+                        .thenApply(mappedResponses -> Pair.create(response, mappedResponses)))
+                .map(responseAndMappedResponses -> {
+                    getThingId(responseAndMappedResponses.first()).ifPresent(retrievedThingIds::add);
+                    return responseAndMappedResponses.second();
+                })
+                .recoverWithRetries(1, new PFBuilder<Throwable, Source<List<Jsonifiable>, NotUsed>>()
+                        .matchAny(error -> {
+                            final List<ThingId> remainingThingIds = thingIds.stream()
+                                    .filter(thingId -> !retrievedThingIds.contains(thingId))
+                                    .collect(Collectors.toList());
+                            log.withCorrelationId(command)
+                                    .warning("Retrieving things in bulk failed, retrieving the remaining <{}> things " +
+                                            "one by one: {}", remainingThingIds.size(), error);
+                            return retrieveThingsOneByOne(remainingThingIds, selectedFields, command).map(List::of);
+                        })
+                        .build())
+                .mapConcat(responses -> responses);
+    }
+
+    private static Optional<ThingId> getThingId(final Jsonifiable response) {
+        if (response instanceof SudoRetrieveThingResponse) {
+            return ((SudoRetrieveThingResponse) response).getThing().getEntityId();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Things are retrieved in bulk for reading their twins only. Live commands must reach the devices and inlined
+     * policies are retrieved together with the thing by the enforcement of {@code RetrieveThing}.
+     */
+    private boolean shouldRetrieveInBulk(final RetrieveThings retrieveThings) {
+        return bulkRetrievalEnabled && null != policyEnforcerCache && null != thingPreEnforcer &&
+                !StreamingType.isLiveSignal(retrieveThings) &&
+                retrieveThings.getSelectedFields()
+                        .filter(selector -> selector.getPointers()
+                                .stream()
+                                .anyMatch(jsonPointer -> jsonPointer.getRoot()
+                                        .filter(jsonKey -> Policy.INLINED_FIELD_NAME.equals(jsonKey.toString()))
+                                        .isPresent()))
+                        .isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletionStage<Optional<Source<Jsonifiable, NotUsed>>> askBulkRetrievalActor(
+            final SudoRetrieveThings sudoRetrieveThings) {
+
+        return Patterns.ask(Objects.requireNonNull(pubSubMediator),
+                DistPubSubAccess.send(THINGS_BULK_RETRIEVAL_ACTOR_PATH, sudoRetrieveThings),
+                retrieveSingleThingTimeout)
+                .handle((result, error) -> {
+                    if (result instanceof SourceRef) {
+                        return Optional.of(((SourceRef<Jsonifiable>) result).getSource());
+                    } else {
+                        log.withCorrelationId(sudoRetrieveThings)
+                                .warning("Could not retrieve things in bulk, retrieving them one by one: {}",
+                                        null != error ? error : result);
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private CompletionStage<List<Jsonifiable>> authorizeRetrievedThing(final RetrieveThings retrieveThings,
+            final Jsonifiable response) {
+
+        if (!(response instanceof SudoRetrieveThingResponse)) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        final Thing thing = ((SudoRetrieveThingResponse) response).getThing();
+        final Optional<ThingId> thingId = thing.getEntityId();
+        final Optional<PolicyId> policyId = thing.getPolicyEntityId();
+        if (thingId.isEmpty() || policyId.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        final DittoHeaders dittoHeaders = retrieveThings.getDittoHeaders();
+        final RetrieveThing retrieveThing = retrieveThings.getSelectedFields()
+                .map(selectedFields -> RetrieveThing.getBuilder(thingId.get(), dittoHeaders)
+                        .withSelectedFields(selectedFields)
+                        .build())
+                .orElseGet(() -> RetrieveThing.of(thingId.get(), dittoHeaders));
+        return Objects.requireNonNull(thingPreEnforcer).apply(retrieveThing)
+                .thenCompose(preEnforced -> Objects.requireNonNull(policyEnforcerCache)
+                        .get(CacheKey.of(policyId.get()))
+                        .thenApply(policyEnforcerEntry -> policyEnforcerEntry.filter(Entry::exists)
+                                .flatMap(entry -> ThingCommandEnforcement.authorizeRetrievedThing(
+                                        (RetrieveThing) preEnforced, toJson(thing, retrieveThing),
+                                        entry.getValueOrThrow()))
+                                .<List<Jsonifiable>>map(List::of)
+                                .orElseGet(List::of)))
+                .handle((authorizedResponses, error) -> {
+                    if (null == error) {
+                        return CompletableFuture.completedFuture(authorizedResponses);
+                    }
+                    log.withCorrelationId(retrieveThings)
+                            .warning("Could not authorize thing <{}> retrieved in bulk, retrieving it alone: {}",
+                                    thingId.get(), error);
+                    final JsonFieldSelector selectedFields = retrieveThings.getSelectedFields().orElse(null);
+                    return retrieveThingsOneByOne(List.of(thingId.get()), selectedFields, retrieveThings)
+                            .runWith(Sink.seq(), materializer);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static JsonObject toJson(final Thing thing, final RetrieveThing retrieveThing) {
+        return retrieveThing.getSelectedFields()
+                .map(selectedFields -> thing.toJson(retrieveThing.getImplementedSchemaVersion(), selectedFields))
+                .orElseGet(() -> thing.toJson(retrieveThing.getImplementedSchemaVersion()));
+    }
+
+    private Source<Jsonifiable, NotUsed> retrieveThingsOneByOne(final Collection<ThingId> thingIds,
+            @Nullable final JsonFieldSelector selectedFields,
+            final Command<?> command) {
+
         final DittoHeaders dittoHeaders = command.getDittoHeaders();
 
-        final SourceRef<Jsonifiable> commandResponseSource = Source.from(thingIds)
+        return Source.from(thingIds)
                 .filter(Objects::nonNull)
                 .map(thingId -> {
                     final SignalWithEntityId<?> toBeWrapped;
@@ -150,9 +381,13 @@ public final class ThingsAggregatorActor extends AbstractActor {
                     return ConciergeWrapper.wrapForEnforcerRouter(toBeWrapped);
                 })
                 .ask(calculateParallelism(thingIds), targetActor, Jsonifiable.class,
-                        Timeout.apply(retrieveSingleThingTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        Timeout.apply(retrieveSingleThingTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void sendResult(final Source<Jsonifiable, NotUsed> commandResponses, final ActorRef resultReceiver) {
+        final SourceRef<Jsonifiable> commandResponseSource = commandResponses
                 .log("command-response", log)
-                .runWith(StreamRefs.sourceRef(), SystemMaterializer.get(getContext().getSystem()).materializer());
+                .runWith(StreamRefs.sourceRef(), materializer);
 
         resultReceiver.tell(commandResponseSource, getSelf());
     }
@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.ditto.base.model.auth.AuthorizationContext;
 import org.eclipse.ditto.base.model.auth.AuthorizationSubject;
@@ -43,9 +44,11 @@ import org.eclipse.ditto.internal.utils.cache.Cache;
 import org.eclipse.ditto.internal.utils.cache.CacheFactory;
 import org.eclipse.ditto.internal.utils.cache.CacheKey;
 import org.eclipse.ditto.internal.utils.cache.entry.Entry;
+import org.eclipse.ditto.internal.utils.cacheloaders.BatchingCacheLoader;
 import org.eclipse.ditto.internal.utils.cacheloaders.PolicyEnforcer;
 import org.eclipse.ditto.internal.utils.cacheloaders.PolicyEnforcerCacheLoader;
 import org.eclipse.ditto.internal.utils.cacheloaders.ThingEnforcementIdCacheLoader;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.BatchingConfig;
 import org.eclipse.ditto.internal.utils.cluster.ClusterUtil;
 import org.eclipse.ditto.internal.utils.cluster.DistPubSubAccess;
 import org.eclipse.ditto.internal.utils.namespaces.BlockNamespaceBehavior;
@@ -54,7 +57,9 @@ import org.eclipse.ditto.internal.utils.namespaces.BlockedNamespacesUpdater;
 import org.eclipse.ditto.internal.utils.pubsub.DistributedAcks;
 import org.eclipse.ditto.internal.utils.pubsub.LiveSignalPub;
 import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.policies.model.Policy;
 import org.eclipse.ditto.policies.model.enforcers.Enforcer;
+import org.eclipse.ditto.policies.model.enforcers.PolicyEnforcers;
 import org.eclipse.ditto.things.model.Thing;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.model.signals.commands.ThingCommand;
@@ -65,6 +70,8 @@ import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import akka.actor.ActorContext;
 import akka.actor.ActorRef;
 import akka.actor.Props;
+import akka.stream.Materializer;
+import akka.stream.SystemMaterializer;
 
 /**
  * Ditto default implementation of{@link EnforcerActorFactory}.
@@ -85,25 +92,42 @@ public final class DefaultEnforcerActorFactory implements EnforcerActorFactory<C
 
         final var cachesConfig = conciergeConfig.getCachesConfig();
         final var askWithRetryConfig = cachesConfig.getAskWithRetryConfig();
+        final var batchingConfig = cachesConfig.getBatchingConfig();
         final var actorSystem = context.system();
 
         final ActorRef policiesShardRegionProxy = shardRegions.policies();
 
         final ActorRef thingsShardRegionProxy = shardRegions.things();
 
+        final Materializer materializer = SystemMaterializer.get(actorSystem).materializer();
+
+        final String thingIdCacheName = ID_CACHE_METRIC_NAME_PREFIX + ThingCommand.RESOURCE_TYPE;
         final AsyncCacheLoader<CacheKey, Entry<CacheKey>> thingEnforcerIdCacheLoader =
-                new ThingEnforcementIdCacheLoader(askWithRetryConfig, actorSystem.getScheduler(),
-                        thingsShardRegionProxy);
+                batchIfEnabled(new ThingEnforcementIdCacheLoader(askWithRetryConfig,
+                        actorSystem.getScheduler(), thingsShardRegionProxy, pubSubMediator, materializer),
+                        batchingConfig, thingIdCacheName);
         final Cache<CacheKey, Entry<CacheKey>> thingIdCache =
                 CacheFactory.createCache(thingEnforcerIdCacheLoader, cachesConfig.getIdCacheConfig(),
-                        ID_CACHE_METRIC_NAME_PREFIX + ThingCommand.RESOURCE_TYPE,
+                        thingIdCacheName,
                         actorSystem.dispatchers().lookup("thing-id-cache-dispatcher"));
 
-        final AsyncCacheLoader<CacheKey, Entry<PolicyEnforcer>> policyEnforcerCacheLoader =
-                new PolicyEnforcerCacheLoader(askWithRetryConfig, actorSystem.getScheduler(), policiesShardRegionProxy);
+        final String policyEnforcerCacheName = ENFORCER_CACHE_METRIC_NAME_PREFIX + "policy";
+        final Function<Policy, Enforcer> evaluatorFactory = cachesConfig.isCompiledPolicyEnforcerEnabled()
+                ? PolicyEnforcers::compiledEvaluator
+                : PolicyEnforcers::defaultEvaluator;
+        final AsyncCacheLoader<CacheKey, Entry<PolicyEnforcer>> policyEnforcerCacheLoader;
+        if (cachesConfig.isPolicyBulkRetrievalEnabled()) {
+            policyEnforcerCacheLoader = batchIfEnabled(new PolicyEnforcerCacheLoader(askWithRetryConfig,
+                            actorSystem.getScheduler(), policiesShardRegionProxy, pubSubMediator, materializer,
+                            evaluatorFactory),
+                    batchingConfig, policyEnforcerCacheName);
+        } else {
+            policyEnforcerCacheLoader = new PolicyEnforcerCacheLoader(askWithRetryConfig,
+                    actorSystem.getScheduler(), policiesShardRegionProxy, evaluatorFactory);
+        }
         final Cache<CacheKey, Entry<PolicyEnforcer>> policyEnforcerCache =
                 CacheFactory.createCache(policyEnforcerCacheLoader, cachesConfig.getEnforcerCacheConfig(),
-                        ENFORCER_CACHE_METRIC_NAME_PREFIX + "policy",
+                        policyEnforcerCacheName,
                         actorSystem.dispatchers().lookup("policy-enforcer-cache-dispatcher"));
         final Cache<CacheKey, Entry<Enforcer>> projectedEnforcerCache =
                 policyEnforcerCache.projectValues(PolicyEnforcer::project, PolicyEnforcer::embed);
@@ -126,8 +150,8 @@ public final class DefaultEnforcerActorFactory implements EnforcerActorFactory<C
                 ConciergeEnforcerClusterRouterFactory.createConciergeEnforcerClusterRouter(context,
                         conciergeConfig.getClusterConfig().getNumberOfShards());
 
-        context.actorOf(DispatcherActor.props(pubSubMediator, conciergeEnforcerRouter),
-                DispatcherActor.ACTOR_NAME);
+        context.actorOf(DispatcherActor.propsWithBulkRetrieval(pubSubMediator, conciergeEnforcerRouter,
+                projectedEnforcerCache, preEnforcer), DispatcherActor.ACTOR_NAME);
 
         final ActorRef conciergeForwarder =
                 context.actorOf(ConciergeForwarderActor.props(pubSubMediator, conciergeEnforcerRouter),
@@ -171,6 +195,16 @@ public final class DefaultEnforcerActorFactory implements EnforcerActorFactory<C
                 .orElse(originalSignal);
     }
 
+    private static <V> AsyncCacheLoader<CacheKey, Entry<V>> batchIfEnabled(
+            final AsyncCacheLoader<CacheKey, Entry<V>> delegate, final BatchingConfig batchingConfig,
+            final String cacheName) {
+
+        if (batchingConfig.isEnabled()) {
+            return BatchingCacheLoader.of(delegate, batchingConfig, cacheName);
+        }
+        return delegate;
+    }
+
     private static PreEnforcer newPreEnforcer(final BlockedNamespaces blockedNamespaces,
             final PlaceholderSubstitution placeholderSubstitution) {
 
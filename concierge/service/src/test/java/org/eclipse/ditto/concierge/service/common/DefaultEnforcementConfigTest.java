@@ -65,6 +65,9 @@ public final class DefaultEnforcementConfigTest {
         softly.assertThat(underTest.getBufferSize())
                 .as(EnforcementConfig.EnforcementConfigValue.BUFFER_SIZE.getConfigPath())
                 .isEqualTo(EnforcementConfig.EnforcementConfigValue.BUFFER_SIZE.getDefaultValue());
+        softly.assertThat(underTest.getSchedulerStripes())
+                .as(EnforcementConfig.EnforcementConfigValue.SCHEDULER_STRIPES.getConfigPath())
+                .isEqualTo(EnforcementConfig.EnforcementConfigValue.SCHEDULER_STRIPES.getDefaultValue());
     }
 
     @Test
@@ -77,6 +80,9 @@ public final class DefaultEnforcementConfigTest {
         softly.assertThat(underTest.getBufferSize())
                 .as(EnforcementConfig.EnforcementConfigValue.BUFFER_SIZE.getConfigPath())
                 .isEqualTo(1337);
+        softly.assertThat(underTest.getSchedulerStripes())
+                .as(EnforcementConfig.EnforcementConfigValue.SCHEDULER_STRIPES.getConfigPath())
+                .isEqualTo(42);
     }
 
 }
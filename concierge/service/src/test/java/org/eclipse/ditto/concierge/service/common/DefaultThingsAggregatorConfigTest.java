@@ -65,6 +65,10 @@ public final class DefaultThingsAggregatorConfigTest {
         softly.assertThat(underTest.getMaxParallelism())
                 .as(ThingsAggregatorConfig.ThingsAggregatorConfigValue.MAX_PARALLELISM.getConfigPath())
                 .isEqualTo(ThingsAggregatorConfig.ThingsAggregatorConfigValue.MAX_PARALLELISM.getDefaultValue());
+
+        softly.assertThat(underTest.isBulkRetrievalEnabled())
+                .as(ThingsAggregatorConfig.ThingsAggregatorConfigValue.BULK_RETRIEVAL_ENABLED.getConfigPath())
+                .isEqualTo(ThingsAggregatorConfig.ThingsAggregatorConfigValue.BULK_RETRIEVAL_ENABLED.getDefaultValue());
     }
 
     @Test
@@ -78,6 +82,10 @@ public final class DefaultThingsAggregatorConfigTest {
         softly.assertThat(underTest.getMaxParallelism())
                 .as(ThingsAggregatorConfig.ThingsAggregatorConfigValue.MAX_PARALLELISM.getConfigPath())
                 .isEqualTo(10);
+
+        softly.assertThat(underTest.isBulkRetrievalEnabled())
+                .as(ThingsAggregatorConfig.ThingsAggregatorConfigValue.BULK_RETRIEVAL_ENABLED.getConfigPath())
+                .isTrue();
     }
 
 }
@@ -47,11 +47,14 @@ import akka.testkit.TestProbe;
 import akka.testkit.javadsl.TestKit;
 import scala.concurrent.duration.FiniteDuration;
 
+/**
+ * Tests {@link EnforcementScheduler}.
+ */
 public final class EnforcementSchedulerTest {
 
     private static ActorSystem actorSystem;
 
-    private ActorRef underTest;
+    private EnforcementScheduler underTest;
 
     @BeforeClass
     public static void beforeClass() {
@@ -68,7 +71,7 @@ public final class EnforcementSchedulerTest {
 
     @Before
     public void setup() {
-        underTest = actorSystem.actorOf(EnforcementScheduler.props());
+        underTest = EnforcementScheduler.of(4, actorSystem.dispatcher());
     }
 
     @Test
@@ -152,10 +155,10 @@ public final class EnforcementSchedulerTest {
                     inOrder(retrieveThing1TaskSpy, modifyPolicyId1TaskSpy, retrieveThing2TaskSpy,
                             modifyPolicyId2TaskSpy);
 
-            underTest.tell(retrieveThing1TaskSpy, getRef());
-            underTest.tell(modifyPolicyId1TaskSpy, getRef());
-            underTest.tell(retrieveThing2TaskSpy, getRef());
-            underTest.tell(modifyPolicyId2TaskSpy, getRef());
+            underTest.schedule(retrieveThing1TaskSpy);
+            underTest.schedule(modifyPolicyId1TaskSpy);
+            underTest.schedule(retrieveThing2TaskSpy);
+            underTest.schedule(modifyPolicyId2TaskSpy);
 
             inOrder.verify(retrieveThing1TaskSpy, timeout(2000)).start();
             // Ensures that modifyPolicyId1 is scheduled without waiting for retrieveThing1 being finished.
@@ -172,4 +175,38 @@ public final class EnforcementSchedulerTest {
         }};
     }
 
+    @Test
+    public void tasksOfOtherEntitiesAreNotDelayed() {
+        new TestKit(actorSystem) {{
+            final TestProbe receiverProbe = TestProbe.apply(actorSystem);
+            final Contextual<WithDittoHeaders> baseContextual = createContextual(getRef());
+            final RetrieveThing slowRetrieveThing = RetrieveThing.of(ThingId.of("slow", "thing"), DittoHeaders.empty());
+            final RetrieveThing fastRetrieveThing = RetrieveThing.of(ThingId.of("fast", "thing"), DittoHeaders.empty());
+
+            final Supplier<CompletionStage<Contextual<RetrieveThing>>> delayed =
+                    () -> CompletableFuture.supplyAsync(
+                            () -> baseContextual.setMessage(slowRetrieveThing).withReceiver(receiverProbe.ref()),
+                            CompletableFuture.delayedExecutor(3, TimeUnit.SECONDS));
+            final Supplier<CompletionStage<Contextual<RetrieveThing>>> immediate =
+                    () -> CompletableFuture.completedFuture(
+                            baseContextual.setMessage(fastRetrieveThing).withReceiver(receiverProbe.ref()));
+
+            underTest.schedule(EnforcementTask.of(slowRetrieveThing.getEntityId(), true, delayed));
+            underTest.schedule(EnforcementTask.of(fastRetrieveThing.getEntityId(), false, immediate));
+
+            receiverProbe.expectMsg(FiniteDuration.create(2, TimeUnit.SECONDS), fastRetrieveThing);
+            receiverProbe.expectMsg(FiniteDuration.create(5, TimeUnit.SECONDS), slowRetrieveThing);
+        }};
+    }
+
+    private static Contextual<WithDittoHeaders> createContextual(final ActorRef self) {
+        final ThreadSafeDittoLoggingAdapter mockLogger = Mockito.mock(ThreadSafeDittoLoggingAdapter.class);
+        doAnswer(invocation -> mockLogger).when(mockLogger).withCorrelationId(any(DittoHeaders.class));
+        doAnswer(invocation -> mockLogger).when(mockLogger).withCorrelationId(any(WithDittoHeaders.class));
+        doAnswer(invocation -> mockLogger).when(mockLogger).withCorrelationId(any(CharSequence.class));
+        return Contextual.forActor(self, actorSystem, TestProbe.apply(actorSystem).ref(),
+                TestProbe.apply(actorSystem).ref(), DefaultAskWithRetryConfig.of(ConfigFactory.empty(), "test"),
+                mockLogger, null);
+    }
+
 }
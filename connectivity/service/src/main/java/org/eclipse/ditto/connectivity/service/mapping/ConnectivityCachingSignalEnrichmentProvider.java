@@ -49,7 +49,8 @@ public final class ConnectivityCachingSignalEnrichmentProvider extends Connectiv
                 cacheLoaderProvider.getByRoundTripSignalEnrichmentFacade(),
                 cachingSignalEnrichmentFacadeConfig.getCacheConfig(),
                 cacheLoaderExecutor,
-                "connectivity"
+                "connectivity",
+                cachingSignalEnrichmentFacadeConfig.isSharedThingCacheEnabled()
         );
     }
 
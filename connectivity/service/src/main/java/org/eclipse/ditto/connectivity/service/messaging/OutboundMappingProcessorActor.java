@@ -83,11 +83,14 @@ import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.rql.parser.RqlPredicateParser;
 import org.eclipse.ditto.rql.query.criteria.Criteria;
 import org.eclipse.ditto.rql.query.filter.QueryFilterCriteriaFactory;
-import org.eclipse.ditto.rql.query.things.ThingPredicateVisitor;
+import org.eclipse.ditto.rql.query.things.CompiledThingPredicate;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.model.signals.commands.exceptions.ThingNotAccessibleException;
 import org.eclipse.ditto.things.model.signals.events.ThingEventToThingConverter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import akka.Done;
 import akka.NotUsed;
 import akka.actor.ActorRef;
@@ -118,6 +121,11 @@ public final class OutboundMappingProcessorActor
      */
     private static final String MESSAGE_MAPPING_PROCESSOR_DISPATCHER = "message-mapping-processor-dispatcher";
 
+    /**
+     * The maximum number of compiled filters of enriched signals kept by this actor.
+     */
+    private static final int MAX_COMPILED_FILTERS = 1024;
+
     private final ThreadSafeDittoLoggingAdapter dittoLoggingAdapter;
 
     private final ActorRef clientActor;
@@ -130,6 +138,7 @@ public final class OutboundMappingProcessorActor
     private final SignalEnrichmentFacade signalEnrichmentFacade;
     private final int processorPoolSize;
     private final DittoRuntimeExceptionToErrorResponseFunction toErrorResponseFunction;
+    private final Cache<String, CompiledThingPredicate> compiledFilters;
 
     // not final because it may change when the underlying config changed
     private OutboundMappingProcessor outboundMappingProcessor;
@@ -165,6 +174,7 @@ public final class OutboundMappingProcessorActor
                 ConnectivitySignalEnrichmentProvider.get(getContext().getSystem()).getFacade(this.connection.getId());
         this.processorPoolSize = determinePoolSize(processorPoolSize, mappingConfig.getMaxPoolSize());
         toErrorResponseFunction = DittoRuntimeExceptionToErrorResponseFunction.of(limitsConfig.getHeadersMaxSize());
+        compiledFilters = Caffeine.newBuilder().maximumSize(MAX_COMPILED_FILTERS).build();
     }
 
     /**
@@ -639,12 +649,15 @@ public final class OutboundMappingProcessorActor
             // evaluate filter criteria again if signal enrichment is involved.
             final Signal<?> signal = outboundSignalWithExtra.getSource();
             final DittoHeaders dittoHeaders = signal.getDittoHeaders();
-            final Criteria criteria = QueryFilterCriteriaFactory.modelBased(RqlPredicateParser.getInstance())
-                    .filterCriteria(filter.get(), dittoHeaders);
+            final CompiledThingPredicate compiledFilter = compiledFilters.get(filter.get(), f -> {
+                final Criteria criteria = QueryFilterCriteriaFactory.modelBased(RqlPredicateParser.getInstance())
+                        .filterCriteria(f, dittoHeaders);
+                return CompiledThingPredicate.compile(criteria);
+            });
             return outboundSignalWithExtra.getExtra()
                     .flatMap(extra -> ThingEventToThingConverter
                             .mergeThingWithExtraFields(signal, extraFields.get(), extra)
-                            .filter(ThingPredicateVisitor.apply(criteria))
+                            .filter(compiledFilter::test)
                             .map(thing -> outboundSignalWithExtra))
                     .map(Collections::singletonList)
                     .orElse(List.of());
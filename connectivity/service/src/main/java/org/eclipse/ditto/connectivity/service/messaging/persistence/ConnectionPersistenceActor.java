@@ -50,6 +50,7 @@ import org.eclipse.ditto.connectivity.model.signals.commands.ConnectivityCommand
 import org.eclipse.ditto.connectivity.model.signals.commands.ConnectivityCommandInterceptor;
 import org.eclipse.ditto.connectivity.model.signals.commands.exceptions.ConnectionFailedException;
 import org.eclipse.ditto.connectivity.model.signals.commands.exceptions.ConnectionNotAccessibleException;
+import org.eclipse.ditto.connectivity.model.signals.commands.exceptions.ConnectionUnavailableException;
 import org.eclipse.ditto.connectivity.model.signals.commands.modify.CheckConnectionLogsActive;
 import org.eclipse.ditto.connectivity.model.signals.commands.modify.CloseConnection;
 import org.eclipse.ditto.connectivity.model.signals.commands.modify.EnableConnectionLogs;
@@ -340,6 +341,11 @@ public final class ConnectionPersistenceActor
         return ConnectionNotAccessibleException.newBuilder(entityId);
     }
 
+    @Override
+    protected DittoRuntimeExceptionBuilder<?> newUnavailableExceptionBuilder() {
+        return ConnectionUnavailableException.newBuilder(entityId);
+    }
+
     @Override
     protected void publishEvent(final ConnectivityEvent<?> event) {
         if (event instanceof ConnectionDeleted) {
@@ -39,6 +39,7 @@ import org.eclipse.ditto.connectivity.model.Topic;
 import org.eclipse.ditto.base.model.namespaces.NamespaceReader;
 import org.eclipse.ditto.rql.query.criteria.Criteria;
 import org.eclipse.ditto.rql.query.filter.QueryFilterCriteriaFactory;
+import org.eclipse.ditto.rql.query.things.CompiledThingPredicate;
 import org.eclipse.ditto.rql.parser.RqlPredicateParser;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.protocol.TopicPath;
@@ -52,6 +53,9 @@ import org.eclipse.ditto.base.model.signals.events.Event;
 import org.eclipse.ditto.things.model.signals.events.ThingEvent;
 import org.eclipse.ditto.things.model.signals.events.ThingEventToThingConverter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * Filters a set of targets by
  * <ul>
@@ -61,13 +65,17 @@ import org.eclipse.ditto.things.model.signals.events.ThingEventToThingConverter;
  */
 public final class SignalFilter {
 
+    private static final int MAX_COMPILED_FILTERS = 1024;
+
     private final Connection connection;
     private final ConnectionMonitorRegistry<ConnectionMonitor> connectionMonitorRegistry;
+    private final Cache<FilteredTopic, CompiledThingPredicate> compiledFilters;
 
     SignalFilter(final Connection connection,
             final ConnectionMonitorRegistry<ConnectionMonitor> connectionMonitorRegistry) {
         this.connection = connection;
         this.connectionMonitorRegistry = connectionMonitorRegistry;
+        compiledFilters = Caffeine.newBuilder().maximumSize(MAX_COMPILED_FILTERS).build();
     }
 
     /**
@@ -124,7 +132,7 @@ public final class SignalFilter {
                 .anyMatch(applyTopicFilter(signal));
     }
 
-    private static boolean isTargetSubscribedForTopicWithFiltering(final Target target, final Signal<?> signal) {
+    private boolean isTargetSubscribedForTopicWithFiltering(final Target target, final Signal<?> signal) {
         return target.getTopics().stream()
                 .filter(applyTopicFilter(signal))
                 .filter(applyNamespaceFilter(signal))
@@ -145,24 +153,34 @@ public final class SignalFilter {
         return NamespaceReader.fromEntityId(withEntityId.getEntityId()).orElse(null);
     }
 
-    private static boolean matchesFilterBeforeEnrichment(final FilteredTopic filteredTopic, final Signal<?> signal) {
+    private boolean matchesFilterBeforeEnrichment(final FilteredTopic filteredTopic, final Signal<?> signal) {
         final Optional<String> filterOptional = filteredTopic.getFilter();
         if (filterOptional.isPresent() && signal instanceof ThingEvent) {
             // match filter ignoring "extraFields"
+            final CompiledThingPredicate compiledFilter = compiledFilters.get(filteredTopic,
+                    topic -> compileFilter(filterOptional.get(), topic, signal.getDittoHeaders()));
             return ThingEventToThingConverter.thingEventToThing((ThingEvent<?>) signal)
-                    .filter(thing -> {
-                        final Criteria criteria = parseCriteria(filterOptional.get(), signal.getDittoHeaders());
-                        final Set<JsonPointer> extraFields = filteredTopic.getExtraFields()
-                                .map(JsonFieldSelector::getPointers)
-                                .orElse(Collections.emptySet());
-                        return Thing3ValuePredicateVisitor.couldBeTrue(criteria, extraFields, thing);
-                    })
+                    .filter(thing -> compiledFilter.couldBeTrue(thing.toJson(p -> true)))
                     .isPresent();
         } else {
             return true;
         }
     }
 
+    /**
+     * Compile the filter of a topic once so that it is not parsed again for each signal.
+     * Fields occurring as "extraFields" are unknown before signal enrichment.
+     */
+    private static CompiledThingPredicate compileFilter(final String filter, final FilteredTopic filteredTopic,
+            final DittoHeaders dittoHeaders) {
+
+        final Criteria criteria = parseCriteria(filter, dittoHeaders);
+        final Set<JsonPointer> extraFields = filteredTopic.getExtraFields()
+                .map(JsonFieldSelector::getPointers)
+                .orElse(Collections.emptySet());
+        return CompiledThingPredicate.compile(criteria, extraFields);
+    }
+
     /**
      * @throws org.eclipse.ditto.base.model.exceptions.InvalidRqlExpressionException if the filter string cannot be
      * mapped to a valid criterion
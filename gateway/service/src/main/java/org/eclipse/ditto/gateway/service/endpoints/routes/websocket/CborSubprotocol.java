@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.gateway.service.endpoints.routes.websocket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.CborFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.json.cbor.JacksonCborFactory;
+
+import akka.http.javadsl.model.ws.BinaryMessage;
+import akka.http.javadsl.model.ws.Message;
+import akka.http.javadsl.model.ws.TextMessage;
+import akka.http.javadsl.model.ws.WebSocketUpgrade;
+import akka.util.ByteString;
+
+/**
+ * Websocket subprotocol carrying Ditto Protocol messages as CBOR in binary frames.
+ * <p>
+ * Clients negotiate the subprotocol by requesting {@value #NAME} in the {@code Sec-WebSocket-Protocol} header of the
+ * upgrade request. Ditto Protocol messages are then exchanged as binary frames, each containing one CBOR encoded
+ * message or, for batched frames, a sequence of CBOR encoded messages (RFC 8742). Stream control messages such as
+ * {@code START-SEND-EVENTS} and their acknowledgements remain text frames.
+ * </p>
+ */
+@Immutable
+final class CborSubprotocol {
+
+    /**
+     * Name of the subprotocol.
+     */
+    static final String NAME = "ditto-protocol-cbor";
+
+    private static final CborFactory CBOR_FACTORY = new JacksonCborFactory();
+
+    private CborSubprotocol() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Test whether a websocket upgrade request negotiates this subprotocol.
+     *
+     * @param webSocketUpgrade the websocket upgrade request.
+     * @return whether the client requested this subprotocol.
+     */
+    static boolean isRequested(final WebSocketUpgrade webSocketUpgrade) {
+        for (final String requestedProtocol : webSocketUpgrade.getRequestedProtocols()) {
+            if (NAME.equals(requestedProtocol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decode the Ditto Protocol message of a binary frame.
+     *
+     * @param bytes the content of the binary frame.
+     * @return the message.
+     * @throws JsonParseException if the bytes are no CBOR encoded JSON object.
+     */
+    static JsonObject readObject(final ByteString bytes) {
+        final JsonValue jsonValue = CBOR_FACTORY.readFrom(bytes.asByteBuffer());
+        if (!jsonValue.isObject()) {
+            throw JsonParseException.newBuilder()
+                    .message("Binary websocket frames must contain a CBOR encoded JSON object.")
+                    .build();
+        }
+        return jsonValue.asObject();
+    }
+
+    /**
+     * Encode an outgoing message as frame: JSON strings as text frames, all other values as binary frames.
+     *
+     * @param jsonValue the message.
+     * @return the frame.
+     */
+    static Message toFrame(final JsonValue jsonValue) {
+        if (jsonValue.isString()) {
+            return TextMessage.create(jsonValue.asString());
+        } else {
+            return BinaryMessage.create(toBytes(jsonValue));
+        }
+    }
+
+    /**
+     * Encode outgoing messages as frames such that consecutive messages which are no JSON strings are packed into
+     * one binary frame as CBOR sequence.
+     *
+     * @param jsonValues the messages.
+     * @return the frames.
+     */
+    static List<Message> toFrames(final List<JsonValue> jsonValues) {
+        final List<Message> frames = new ArrayList<>();
+        ByteString sequence = ByteString.emptyByteString();
+        for (final JsonValue jsonValue : jsonValues) {
+            if (jsonValue.isString()) {
+                if (!sequence.isEmpty()) {
+                    frames.add(BinaryMessage.create(sequence));
+                    sequence = ByteString.emptyByteString();
+                }
+                frames.add(TextMessage.create(jsonValue.asString()));
+            } else {
+                sequence = sequence.concat(toBytes(jsonValue));
+            }
+        }
+        if (!sequence.isEmpty()) {
+            frames.add(BinaryMessage.create(sequence));
+        }
+        return frames;
+    }
+
+    private static ByteString toBytes(final JsonValue jsonValue) {
+        try {
+            // the byte array is not shared, thus it need not be copied
+            return ByteString.fromArrayUnsafe(CBOR_FACTORY.toByteArray(jsonValue));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not encode <" + jsonValue + "> as CBOR!", e);
+        }
+    }
+
+}
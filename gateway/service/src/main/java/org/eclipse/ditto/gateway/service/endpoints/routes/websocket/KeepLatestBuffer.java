@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.gateway.service.endpoints.routes.websocket;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.gateway.service.streaming.actors.SessionedJsonifiable;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.things.model.signals.events.ThingCreated;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
+import org.eclipse.ditto.things.model.signals.events.ThingMerged;
+
+import akka.NotUsed;
+import akka.japi.Pair;
+import akka.stream.BufferOverflowException;
+import akka.stream.javadsl.Flow;
+
+/**
+ * Buffer of outgoing websocket messages for clients which are slower than the messages are published.
+ * A thing event replaces a buffered event of the same thing, channel and resource path, so that a slow client
+ * receives the latest state instead of being disconnected.
+ * <p>
+ * Lifecycle events ({@link ThingCreated} and {@link ThingDeleted}), merge events, events requesting acknowledgements
+ * and all other messages are never replaced, so that e.g. a deletion is never hidden by a later modification. The buffer fails the
+ * stream with a {@link BufferOverflowException} if it holds more messages than its capacity after replacements,
+ * like the source queue of the websocket does without this buffer.
+ * </p>
+ */
+@NotThreadSafe
+final class KeepLatestBuffer<T> {
+
+    private final int capacity;
+    private final Counter droppedCounter;
+    private final Map<Object, T> messages;
+
+    private KeepLatestBuffer(final int capacity, final Counter droppedCounter) {
+        this.capacity = capacity;
+        this.droppedCounter = droppedCounter;
+        messages = new LinkedHashMap<>();
+    }
+
+    /**
+     * Create a flow buffering messages with keep-latest semantics while downstream backpressures.
+     * Messages pass through unbuffered while downstream keeps up.
+     *
+     * @param capacity the maximum number of buffered messages.
+     * @param droppedCounter the counter to increment for each replaced message.
+     * @param <T> the type of messages.
+     * @return the flow of messages paired with their keys from {@link #keyOf(SessionedJsonifiable)}.
+     */
+    static <T> Flow<Pair<Object, T>, T, NotUsed> flow(final int capacity, final Counter droppedCounter) {
+        return Flow.<Pair<Object, T>>create()
+                .conflateWithSeed(pair -> new KeepLatestBuffer<T>(capacity, droppedCounter).add(pair),
+                        KeepLatestBuffer::add)
+                .mapConcat(KeepLatestBuffer::getMessages);
+    }
+
+    /**
+     * Compute the key of the messages a jsonifiable is published as. Messages with equal keys replace each other.
+     *
+     * @param sessionedJsonifiable the jsonifiable.
+     * @return the key; a new object for jsonifiables which must not be replaced.
+     */
+    static Object keyOf(final SessionedJsonifiable sessionedJsonifiable) {
+        if (sessionedJsonifiable.getJsonifiable() instanceof ThingEvent &&
+                !isLifecycleOrMergeEvent(sessionedJsonifiable.getJsonifiable())) {
+            final ThingEvent<?> event = (ThingEvent<?>) sessionedJsonifiable.getJsonifiable();
+            final DittoHeaders dittoHeaders = event.getDittoHeaders();
+            if (dittoHeaders.getAcknowledgementRequests().isEmpty()) {
+                return List.of(event.getEntityId(), dittoHeaders.getChannel().orElse(""), event.getResourcePath());
+            }
+        }
+        return new Object();
+    }
+
+    private static boolean isLifecycleOrMergeEvent(final Object jsonifiable) {
+        return jsonifiable instanceof ThingCreated || jsonifiable instanceof ThingDeleted ||
+                jsonifiable instanceof ThingMerged;
+    }
+
+    private KeepLatestBuffer<T> add(final Pair<Object, T> keyAndMessage) {
+        // remove before put to move a replaced message to the end, behind all messages it may have superseded
+        if (messages.remove(keyAndMessage.first()) != null) {
+            droppedCounter.increment();
+        }
+        messages.put(keyAndMessage.first(), keyAndMessage.second());
+        if (messages.size() > capacity) {
+            throw new BufferOverflowException(
+                    "Buffer overflow for websocket with keep-latest backpressure (max capacity was: " + capacity +
+                            ")!");
+        }
+        return this;
+    }
+
+    private List<T> getMessages() {
+        return new ArrayList<>(messages.values());
+    }
+
+}
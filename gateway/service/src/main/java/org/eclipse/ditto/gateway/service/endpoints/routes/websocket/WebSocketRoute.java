@@ -16,8 +16,10 @@ import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 import static org.eclipse.ditto.base.model.exceptions.DittoJsonException.wrapJsonRuntimeException;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -97,6 +99,7 @@ import akka.actor.ActorRef;
 import akka.event.Logging;
 import akka.http.javadsl.model.HttpRequest;
 import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.ws.BinaryMessage;
 import akka.http.javadsl.model.ws.Message;
 import akka.http.javadsl.model.ws.TextMessage;
 import akka.http.javadsl.model.ws.WebSocketUpgrade;
@@ -118,6 +121,7 @@ import akka.stream.javadsl.GraphDSL;
 import akka.stream.javadsl.Merge;
 import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
+import akka.util.ByteString;
 import scala.util.Either;
 import scala.util.Left;
 import scala.util.Right;
@@ -158,6 +162,24 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
     private static final Counter DROPPED_COUNTER = DittoMetrics.counter(STREAMING_MESSAGES)
             .tag(TYPE, WS)
             .tag(DIRECTION, "dropped");
+    private static final Counter SUPERSEDED_COUNTER = DittoMetrics.counter(STREAMING_MESSAGES)
+            .tag(TYPE, WS)
+            .tag(DIRECTION, "superseded");
+
+    /**
+     * Query parameter of the websocket upgrade request to pack outgoing messages into newline-delimited frames.
+     */
+    static final String BATCH_FRAMES_PARAMETER = "batch-frames";
+
+    /**
+     * Query parameter of the websocket upgrade request to select the backpressure strategy for slow clients.
+     */
+    static final String BACKPRESSURE_PARAMETER = "backpressure";
+
+    /**
+     * Value of {@link #BACKPRESSURE_PARAMETER} to replace buffered events by newer events of the same thing and path.
+     */
+    static final String BACKPRESSURE_KEEP_LATEST = "keep-latest";
 
     private final ActorRef streamingActor;
     private final StreamingConfig streamingConfig;
@@ -287,17 +309,23 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
         return signalEnrichmentFacadeStage.thenCompose(signalEnrichmentFacade -> retrieveWebsocketConfig()
                 .thenApply(overwriteWebSocketConfig(dittoHeaders))
                 .thenApply(websocketConfig -> {
+                    final boolean cbor = CborSubprotocol.isRequested(upgradeToWebSocket);
                     final Pair<Connect, Flow<DittoRuntimeException, Message, NotUsed>> outgoing =
                             createOutgoing(version, connectionCorrelationId, authContext, dittoHeaders, adapter,
                                     request,
-                                    websocketConfig, signalEnrichmentFacade, logger);
+                                    websocketConfig, signalEnrichmentFacade, cbor, logger);
 
                     final Flow<Message, DittoRuntimeException, NotUsed> incoming =
                             createIncoming(version, connectionCorrelationId, authContext, dittoHeaders, adapter,
                                     request,
-                                    websocketConfig, outgoing.first(), logger);
+                                    websocketConfig, outgoing.first(), cbor, logger);
 
-                    return upgradeToWebSocket.handleMessagesWith(incoming.via(outgoing.second()));
+                    if (cbor) {
+                        return upgradeToWebSocket.handleMessagesWith(incoming.via(outgoing.second()),
+                                CborSubprotocol.NAME);
+                    } else {
+                        return upgradeToWebSocket.handleMessagesWith(incoming.via(outgoing.second()));
+                    }
                 }));
     }
 
@@ -312,7 +340,7 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
      *                  +
      *                  | strictify+sniffer
      *                  v
-     *                String
+     * Either<String, ByteString> (text or CBOR frame)
      *                  +
      *                  |
      *                  v                   bad cast/bad signal
@@ -339,15 +367,17 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
             final HttpRequest request,
             final WebsocketConfig websocketConfig,
             final Connect connect,
+            final boolean cbor,
             final ThreadSafeDittoLogger logger) {
 
         return Flow.fromGraph(GraphDSL.create(builder -> {
 
-            final FlowShape<Message, String> strictify =
-                    builder.add(getStrictifyFlow(request, logger)
+            final FlowShape<Message, Either<String, ByteString>> strictify =
+                    builder.add(getStrictifyFlow(request, cbor, logger)
                             .via(AbstractRoute.throttleByConfig(websocketConfig.getThrottlingConfig())));
 
-            final FanOutShape2<String, Either<StreamControlMessage, Signal<?>>, DittoRuntimeException> select =
+            final FanOutShape2<Either<String, ByteString>, Either<StreamControlMessage, Signal<?>>,
+                    DittoRuntimeException> select =
                     builder.add(selectStreamControlOrSignal(version, connectionCorrelationId, connectionAuthContext,
                             dittoHeaders, adapter, logger));
 
@@ -395,23 +425,36 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
     }
 
 
-    private Flow<Message, String, NotUsed> getStrictifyFlow(final HttpRequest request, final Logger logger) {
-        return Flow.<Message>create()
-                .via(Flow.fromFunction(msg -> {
-                    IN_COUNTER.increment();
-                    return msg;
-                }))
-                .filter(Message::isText)
-                .map(Message::asTextMessage)
-                .map(textMsg -> {
-                    if (textMsg.isStrict()) {
-                        return Source.single(textMsg.getStrictText());
-                    } else {
-                        return textMsg.getStreamedText();
-                    }
-                })
-                .flatMapConcat(textMsg -> textMsg.fold("", (str1, str2) -> str1 + str2))
-                .via(incomingMessageSniffer.toAsyncFlow(request))
+    private Flow<Message, Either<String, ByteString>, NotUsed> getStrictifyFlow(final HttpRequest request,
+            final boolean cbor,
+            final Logger logger) {
+
+        final Flow<Message, Either<String, ByteString>, NotUsed> strictFrames;
+        if (cbor) {
+            // the sniffer only sees text frames so that binary frames are never converted to strings
+            strictFrames = Flow.<Message>create()
+                    .via(Flow.fromFunction(msg -> {
+                        IN_COUNTER.increment();
+                        return msg;
+                    }))
+                    .flatMapConcat(WebSocketRoute::toStrictFrame)
+                    .wireTap(Flow.<Either<String, ByteString>>create()
+                            .filter(Either::isLeft)
+                            .map(frame -> frame.left().get())
+                            .via(incomingMessageSniffer.toAsyncFlow(request))
+                            .to(Sink.ignore()));
+        } else {
+            strictFrames = Flow.<Message>create()
+                    .via(Flow.fromFunction(msg -> {
+                        IN_COUNTER.increment();
+                        return msg;
+                    }))
+                    .filter(Message::isText)
+                    .flatMapConcat(WebSocketRoute::toStrictText)
+                    .via(incomingMessageSniffer.toAsyncFlow(request))
+                    .map(Left::new);
+        }
+        return strictFrames
                 .via(Flow.fromFunction(result -> {
                     logger.debug("Received incoming WebSocket message: {}", result);
                     return result;
@@ -421,8 +464,31 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
 
     }
 
-    private Graph<FanOutShape2<String, Either<StreamControlMessage, Signal<?>>, DittoRuntimeException>, NotUsed>
-    selectStreamControlOrSignal(
+    private static Source<String, ?> toStrictText(final Message message) {
+        final TextMessage textMsg = message.asTextMessage();
+        if (textMsg.isStrict()) {
+            return Source.single(textMsg.getStrictText());
+        } else {
+            return textMsg.getStreamedText().fold("", (str1, str2) -> str1 + str2);
+        }
+    }
+
+    private static Source<Either<String, ByteString>, ?> toStrictFrame(final Message message) {
+        if (message.isText()) {
+            return toStrictText(message).map(Left::new);
+        }
+        final BinaryMessage binaryMsg = message.asBinaryMessage();
+        final Source<ByteString, ?> bytes;
+        if (binaryMsg.isStrict()) {
+            bytes = Source.single(binaryMsg.getStrictData());
+        } else {
+            bytes = binaryMsg.getStreamedData().fold(ByteString.emptyByteString(), ByteString::concat);
+        }
+        return bytes.map(Right::new);
+    }
+
+    private Graph<FanOutShape2<Either<String, ByteString>, Either<StreamControlMessage, Signal<?>>,
+            DittoRuntimeException>, NotUsed> selectStreamControlOrSignal(
             final JsonSchemaVersion version,
             final CharSequence connectionCorrelationId,
             final AuthorizationContext connectionAuthContext,
@@ -434,15 +500,17 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
                 new ProtocolMessageExtractor(connectionAuthContext, connectionCorrelationId);
 
         return Filter.multiplexByEither(
-                cmdString -> {
-                    final Optional<StreamControlMessage> streamControlMessage =
-                            protocolMessageExtractor.apply(cmdString);
+                frame -> {
+                    final Object cmdString = frame.isLeft() ? frame.left().get() : frame.right().get();
+                    final Optional<StreamControlMessage> streamControlMessage = frame.isLeft()
+                            ? protocolMessageExtractor.apply(frame.left().get())
+                            : Optional.empty();
                     Either<DittoRuntimeException, Either<StreamControlMessage, Signal<?>>> result;
                     if (streamControlMessage.isPresent()) {
                         result = Right.apply(Left.apply(streamControlMessage.get()));
                     } else {
                         try {
-                            final Signal<?> signal = buildSignal(cmdString, version, connectionCorrelationId,
+                            final Signal<?> signal = buildSignal(frame, version, connectionCorrelationId,
                                     connectionAuthContext, additionalHeaders, adapter, headerTranslator, logger);
                             final StartedTrace trace = DittoTracing.trace(signal, "gw.streaming.in.signal")
                                     .tag(TracingTags.SIGNAL_TYPE, signal.getType())
@@ -490,6 +558,7 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
             final HttpRequest request,
             final WebsocketConfig websocketConfig,
             @Nullable final SignalEnrichmentFacade signalEnrichmentFacade,
+            final boolean cbor,
             final ThreadSafeDittoLogger logger) {
 
         final Optional<JsonWebToken> optJsonWebToken = extractJwtFromRequestIfPresent(request);
@@ -528,25 +597,129 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
         final Flow<DittoRuntimeException, SessionedJsonifiable, NotUsed> errorFlow =
                 Flow.fromFunction(SessionedJsonifiable::error);
 
-        final int signalEnrichmentParallelism = streamingConfig.getParallelism();
-        final Flow<SessionedJsonifiable, Message, NotUsed> messageFlow =
-                Flow.<SessionedJsonifiable>create()
-                        .mapAsync(signalEnrichmentParallelism, postprocess(adapter, signalEnrichmentFacade, logger))
-                        .mapConcat(x -> x)
+        final Flow<SessionedJsonifiable, JsonValue, NotUsed> postprocessFlow =
+                getPostprocessFlow(adapter, request, websocketConfig, signalEnrichmentFacade, logger)
                         .via(Flow.fromFunction(result -> {
                             logger.debug("Sending outgoing WebSocket message: {}", result);
                             return result;
-                        }))
-                        .via(outgoingMessageSniffer.toAsyncFlow(request))
-                        .<Message>map(TextMessage::create)
-                        .via(Flow.fromFunction(msg -> {
-                            OUT_COUNTER.increment();
-                            return msg;
                         }));
+        final Flow<SessionedJsonifiable, Message, NotUsed> messageFlow;
+        if (cbor) {
+            // the sniffer only sees text frames so that binary frames are never converted to strings
+            messageFlow = postprocessFlow
+                    .wireTap(Flow.<JsonValue>create()
+                            .filter(JsonValue::isString)
+                            .map(JsonValue::asString)
+                            .via(outgoingMessageSniffer.toAsyncFlow(request))
+                            .to(Sink.ignore()))
+                    .via(Flow.fromFunction(result -> {
+                        OUT_COUNTER.increment();
+                        return result;
+                    }))
+                    .via(getCborFramingFlow(request, websocketConfig));
+        } else {
+            messageFlow = postprocessFlow
+                    .map(WebSocketRoute::toText)
+                    .via(outgoingMessageSniffer.toAsyncFlow(request))
+                    .via(Flow.fromFunction(result -> {
+                        OUT_COUNTER.increment();
+                        return result;
+                    }))
+                    .via(getFramingFlow(request, websocketConfig));
+        }
 
         return Pair.create(connect, joinOutgoingFlows(eventAndResponseSource, errorFlow, messageFlow));
     }
 
+    private Flow<SessionedJsonifiable, JsonValue, NotUsed> getPostprocessFlow(final ProtocolAdapter adapter,
+            final HttpRequest request,
+            final WebsocketConfig websocketConfig,
+            @Nullable final SignalEnrichmentFacade signalEnrichmentFacade,
+            final ThreadSafeDittoLogger logger) {
+
+        final int signalEnrichmentParallelism = streamingConfig.getParallelism();
+        final Function<SessionedJsonifiable, CompletionStage<Collection<JsonValue>>> postprocess =
+                postprocess(adapter, signalEnrichmentFacade, logger);
+        final boolean keepLatest = request.getUri()
+                .query()
+                .get(BACKPRESSURE_PARAMETER)
+                .filter(BACKPRESSURE_KEEP_LATEST::equals)
+                .isPresent();
+        if (keepLatest) {
+            // buffer after filtering and enrichment so that only messages the client receives replace each other
+            return Flow.<SessionedJsonifiable>create()
+                    .mapAsync(signalEnrichmentParallelism, sessionedJsonifiable -> {
+                        final Object key = KeepLatestBuffer.keyOf(sessionedJsonifiable);
+                        return postprocess.apply(sessionedJsonifiable)
+                                .thenApply(results -> results.stream()
+                                        .map(result -> Pair.create(key, result))
+                                        .collect(Collectors.toList()));
+                    })
+                    .mapConcat(x -> x)
+                    .via(KeepLatestBuffer.flow(websocketConfig.getPublisherBackpressureBufferSize(),
+                            SUPERSEDED_COUNTER));
+        } else {
+            return Flow.<SessionedJsonifiable>create()
+                    .mapAsync(signalEnrichmentParallelism, postprocess)
+                    .mapConcat(x -> x);
+        }
+    }
+
+    private static Flow<String, Message, NotUsed> getFramingFlow(final HttpRequest request,
+            final WebsocketConfig websocketConfig) {
+
+        if (isBatchFramesRequested(request)) {
+            // pack messages only while the client is slower than the messages are published so as not to delay them
+            return Flow.<String>create()
+                    .batch(websocketConfig.getPublisherMaxMessagesPerFrame(),
+                            message -> new StringBuilder(message),
+                            (frame, message) -> frame.append('\n').append(message))
+                    .map(frame -> TextMessage.create(frame.toString()));
+        } else {
+            return Flow.<String>create().map(TextMessage::create);
+        }
+    }
+
+    private static Flow<JsonValue, Message, NotUsed> getCborFramingFlow(final HttpRequest request,
+            final WebsocketConfig websocketConfig) {
+
+        if (isBatchFramesRequested(request)) {
+            return Flow.<JsonValue>create()
+                    .batch(websocketConfig.getPublisherMaxMessagesPerFrame(),
+                            message -> {
+                                final List<JsonValue> frame = new ArrayList<>();
+                                frame.add(message);
+                                return frame;
+                            },
+                            (frame, message) -> {
+                                frame.add(message);
+                                return frame;
+                            })
+                    .mapConcat(CborSubprotocol::toFrames);
+        } else {
+            return Flow.<JsonValue>create().map(CborSubprotocol::toFrame);
+        }
+    }
+
+    private static boolean isBatchFramesRequested(final HttpRequest request) {
+        return request.getUri()
+                .query()
+                .get(BATCH_FRAMES_PARAMETER)
+                .filter(Boolean::parseBoolean)
+                .isPresent();
+    }
+
+    /**
+     * Convert an outgoing message to the text of its frame. Stream control acknowledgements are JSON strings whose
+     * content is sent as is; Ditto Protocol messages are sent as JSON.
+     *
+     * @param message the outgoing message.
+     * @return the text.
+     */
+    private static String toText(final JsonValue message) {
+        return message.isString() ? message.asString() : message.toString();
+    }
+
     private static Set<AcknowledgementLabel> readDeclaredAcknowledgementLabels(final DittoHeaders dittoHeaders) {
         return Optional.ofNullable(dittoHeaders.get(DittoHeaderDefinition.DECLARED_ACKS.getKey()))
                 .map(JsonFactory::readFrom)
@@ -595,7 +768,7 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
         });
     }
 
-    private static Signal<?> buildSignal(final String cmdString,
+    private static Signal<?> buildSignal(final Either<String, ByteString> frame,
             final JsonSchemaVersion version,
             final CharSequence connectionCorrelationId,
             final AuthorizationContext connectionAuthContext,
@@ -612,15 +785,24 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
                 .origin(connectionCorrelationId)
                 .build();
 
-        if (cmdString.isEmpty()) {
-            final RuntimeException cause = new IllegalArgumentException("Empty json.");
-            throw new DittoJsonException(cause, initialInternalHeaders);
+        final JsonifiableAdaptable jsonifiableAdaptable;
+        if (frame.isLeft()) {
+            final String cmdString = frame.left().get();
+            if (cmdString.isEmpty()) {
+                final RuntimeException cause = new IllegalArgumentException("Empty json.");
+                throw new DittoJsonException(cause, initialInternalHeaders);
+            }
+            jsonifiableAdaptable = wrapJsonRuntimeException(cmdString,
+                    DittoHeaders.empty(), // unused
+                    (s, unused) -> ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(s)));
+        } else {
+            // parse CBOR directly into the JSON object without an intermediate string
+            jsonifiableAdaptable = wrapJsonRuntimeException(frame.right().get(),
+                    DittoHeaders.empty(), // unused
+                    (bytes, unused) -> ProtocolFactory.jsonifiableAdaptableFromJson(
+                            CborSubprotocol.readObject(bytes)));
         }
 
-        final JsonifiableAdaptable jsonifiableAdaptable = wrapJsonRuntimeException(cmdString,
-                DittoHeaders.empty(), // unused
-                (s, unused) -> ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(s)));
-
         final Signal<?> signal;
         try {
             signal = adapter.fromAdaptable(jsonifiableAdaptable);
@@ -655,7 +837,7 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
         return signal.setDittoHeaders(internalHeadersBuilder.build());
     }
 
-    private Function<SessionedJsonifiable, CompletionStage<Collection<String>>> postprocess(
+    private Function<SessionedJsonifiable, CompletionStage<Collection<JsonValue>>> postprocess(
             final ProtocolAdapter adapter, @Nullable final SignalEnrichmentFacade facade,
             final ThreadSafeDittoLogger logger) {
 
@@ -663,15 +845,15 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
             final Jsonifiable.WithPredicate<JsonObject, JsonField> jsonifiable = sessionedJsonifiable.getJsonifiable();
             if (jsonifiable instanceof StreamingAck) {
                 return CompletableFuture.completedFuture(
-                        Collections.singletonList(streamingAckToString((StreamingAck) jsonifiable))
+                        Collections.singletonList(JsonValue.of(streamingAckToString((StreamingAck) jsonifiable)))
                 );
             }
 
             final Adaptable adaptable = jsonifiableToAdaptable(jsonifiable, adapter);
             final CompletionStage<JsonObject> extraFuture = sessionedJsonifiable.retrieveExtraFields(facade);
-            return extraFuture.<Collection<String>>thenApply(extra -> {
+            return extraFuture.<Collection<JsonValue>>thenApply(extra -> {
                 if (matchesFilter(sessionedJsonifiable, extra)) {
-                    return Collections.singletonList(toJsonStringWithExtra(adaptable, extra));
+                    return Collections.singletonList(toJsonWithExtra(adaptable, extra));
                 }
                 issuePotentialWeakAcknowledgements(sessionedJsonifiable);
                 sessionedJsonifiable.finishTrace();
@@ -711,7 +893,7 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
         return Acknowledgement.weak(label, entityId, dittoHeaders, payload);
     }
 
-    private static Collection<String> reportEnrichmentError(final Throwable error,
+    private static Collection<JsonValue> reportEnrichmentError(final Throwable error,
             final ProtocolAdapter adapter,
             final Adaptable adaptable,
             final ThreadSafeDittoLogger logger) {
@@ -730,12 +912,12 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
                         errorToReport,
                         adaptable.getDittoHeaders()
                 )));
-        return Collections.singletonList(errorAdaptable.toJsonString());
+        return Collections.singletonList(errorAdaptable.toJson());
     }
 
-    private static String toJsonStringWithExtra(final Adaptable adaptable, final JsonObject extra) {
+    private static JsonObject toJsonWithExtra(final Adaptable adaptable, final JsonObject extra) {
         final Adaptable enrichedAdaptable = extra.isEmpty() ? adaptable : ProtocolFactory.setExtra(adaptable, extra);
-        return ProtocolFactory.wrapAsJsonifiableAdaptable(enrichedAdaptable).toJsonString();
+        return ProtocolFactory.wrapAsJsonifiableAdaptable(enrichedAdaptable).toJson();
     }
 
     /**
@@ -752,7 +934,7 @@ public final class WebSocketRoute implements WebSocketRouteBuilder {
                 .filter(session -> jsonifiable instanceof Signal)
                 .map(session ->
                         // evaluate to false if filter is present but does not match or has insufficient info to match
-                        session.matchesFilter(session.mergeThingWithExtra((Signal<?>) jsonifiable, extra))
+                        session.matchesFilter((Signal<?>) jsonifiable, extra)
                 )
                 .orElse(true);
     }
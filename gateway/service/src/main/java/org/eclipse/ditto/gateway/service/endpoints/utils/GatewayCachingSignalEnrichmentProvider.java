@@ -48,7 +48,8 @@ public final class GatewayCachingSignalEnrichmentProvider implements GatewaySign
                 cacheLoaderProvider.getByRoundTripSignalEnrichmentFacade(),
                 signalEnrichmentConfig.getCacheConfig(),
                 cacheLoaderExecutor,
-                "gateway"
+                "gateway",
+                signalEnrichmentConfig.isSharedThingCacheEnabled()
         );
     }
 
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.gateway.service.streaming.actors;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.base.model.signals.Signal;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.rql.query.criteria.Criteria;
+import org.eclipse.ditto.rql.query.things.CompiledThingPredicate;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.signals.events.ThingEventToThingConverter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import akka.actor.AbstractExtensionId;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Extension;
+
+/**
+ * Gateway-wide index of the filters of streaming sessions.
+ * <p>
+ * Sessions with identical filters share one compiled filter. Filters requiring a field to equal a value are indexed
+ * by that field and value. For each signal, the index is looked up once and the result of each distinct filter is
+ * computed at most once for all sessions receiving the same signal instance, so that the cost of filtering a signal
+ * published to many sessions grows with the number of distinct filters rather than with the number of sessions.
+ * </p>
+ * <p>
+ * Only filters evaluated against the thing contained in the signal itself are shared. Sessions selecting extra
+ * fields evaluate their filter against the enriched thing.
+ * </p>
+ */
+@ThreadSafe
+public final class SessionFilterIndex implements Extension {
+
+    private static final int MAX_CACHED_SIGNALS = 1024;
+
+    private final Map<String, SharedFilter> filters;
+    private final Cache<Signal<?>, SignalMatches> signalMatchesCache;
+    private volatile Map<JsonPointer, Map<String, Set<SharedFilter>>> equalityIndex;
+
+    SessionFilterIndex() {
+        filters = new HashMap<>();
+        signalMatchesCache = Caffeine.newBuilder().weakKeys().maximumSize(MAX_CACHED_SIGNALS).build();
+        equalityIndex = Map.of();
+    }
+
+    /**
+     * Get the filter index of an actor system.
+     *
+     * @param system the actor system.
+     * @return the filter index.
+     */
+    public static SessionFilterIndex get(final ActorSystem system) {
+        return ExtensionId.INSTANCE.get(system);
+    }
+
+    /**
+     * Get the shared filter for a filter string. The filter string is only parsed if no session uses it yet.
+     * Each acquired filter must be released by {@link #release(SharedFilter)} when the session ends.
+     *
+     * @param filter the RQL filter string.
+     * @param parser parser of the filter string.
+     * @return the shared filter.
+     * @throws org.eclipse.ditto.base.model.exceptions.DittoRuntimeException if the filter cannot be parsed.
+     */
+    synchronized SharedFilter acquire(final String filter, final Function<String, Criteria> parser) {
+        final SharedFilter existing = filters.get(filter);
+        if (null != existing) {
+            existing.references++;
+            return existing;
+        }
+        final SharedFilter sharedFilter = new SharedFilter(this, filter,
+                CompiledThingPredicate.compile(parser.apply(filter)));
+        filters.put(filter, sharedFilter);
+        if (null != sharedFilter.indexedPointer) {
+            updateEqualityIndex();
+        }
+        return sharedFilter;
+    }
+
+    /**
+     * Release a filter of a session which ended.
+     *
+     * @param sharedFilter the filter.
+     */
+    synchronized void release(final SharedFilter sharedFilter) {
+        if (--sharedFilter.references == 0 && filters.remove(sharedFilter.filter, sharedFilter) &&
+                null != sharedFilter.indexedPointer) {
+            updateEqualityIndex();
+        }
+    }
+
+    /**
+     * @return the number of distinct filters in use.
+     */
+    synchronized int size() {
+        return filters.size();
+    }
+
+    private boolean matches(final SharedFilter sharedFilter, final Signal<?> signal) {
+        final SignalMatches signalMatches = signalMatchesCache.get(signal, this::createSignalMatches);
+        return signalMatches.matches(sharedFilter);
+    }
+
+    private SignalMatches createSignalMatches(final Signal<?> signal) {
+        final JsonObject thingJson = ThingEventToThingConverter.mergeThingWithExtraFields(signal, null,
+                        JsonObject.empty())
+                .orElseGet(() -> Thing.newBuilder().build())
+                .toJson(p -> true);
+        final Map<JsonPointer, Map<String, Set<SharedFilter>>> index = equalityIndex;
+        final Map<JsonPointer, Set<SharedFilter>> candidates = new HashMap<>();
+        index.forEach((pointer, filtersByKey) -> candidates.put(pointer, thingJson.getValue(pointer)
+                .flatMap(SessionFilterIndex::indexKey)
+                .map(filtersByKey::get)
+                .orElse(Set.of())));
+        return new SignalMatches(thingJson, index, candidates);
+    }
+
+    private void updateEqualityIndex() {
+        final Map<JsonPointer, Map<String, Set<SharedFilter>>> index = new HashMap<>();
+        for (final SharedFilter sharedFilter : filters.values()) {
+            if (null != sharedFilter.indexedPointer) {
+                index.computeIfAbsent(sharedFilter.indexedPointer, pointer -> new HashMap<>())
+                        .computeIfAbsent(sharedFilter.indexedKey, key -> new HashSet<>())
+                        .add(sharedFilter);
+            }
+        }
+        equalityIndex = index;
+    }
+
+    /**
+     * Computes a key of a value such that values considered equal by the RQL {@code eq} predicate have equal keys:
+     * numbers and numeric strings are keyed by their decimal value and all other values by their string
+     * representation.
+     */
+    private static Optional<String> indexKey(final JsonValue jsonValue) {
+        final Object value;
+        if (jsonValue.isString()) {
+            value = jsonValue.asString();
+        } else if (jsonValue.isBoolean()) {
+            value = jsonValue.asBoolean();
+        } else if (jsonValue.isInt()) {
+            value = jsonValue.asInt();
+        } else if (jsonValue.isLong()) {
+            value = jsonValue.asLong();
+        } else if (jsonValue.isNumber()) {
+            value = jsonValue.asDouble();
+        } else {
+            return Optional.empty();
+        }
+        return Optional.of(indexKey(value));
+    }
+
+    private static String indexKey(final Object value) {
+        final String string = value.toString();
+        if (value instanceof Number || value instanceof String) {
+            try {
+                return new BigDecimal(string).stripTrailingZeros().toPlainString();
+            } catch (final NumberFormatException e) {
+                // not numeric
+            }
+        }
+        return string;
+    }
+
+    /**
+     * A compiled filter shared by all sessions with the same filter string.
+     */
+    static final class SharedFilter {
+
+        private final SessionFilterIndex index;
+        private final String filter;
+        private final CompiledThingPredicate predicate;
+        @Nullable private final JsonPointer indexedPointer;
+        @Nullable private final String indexedKey;
+        private int references;
+
+        private SharedFilter(final SessionFilterIndex index, final String filter,
+                final CompiledThingPredicate predicate) {
+
+            this.index = index;
+            this.filter = filter;
+            this.predicate = predicate;
+            final Optional<Map.Entry<JsonPointer, Object>> indexedEquality =
+                    predicate.getRequiredEqualities()
+                            .entrySet()
+                            .stream()
+                            .filter(entry -> entry.getValue() instanceof Number ||
+                                    entry.getValue() instanceof String || entry.getValue() instanceof Boolean)
+                            .findFirst();
+            indexedPointer = indexedEquality.map(Map.Entry::getKey).orElse(null);
+            indexedKey = indexedEquality.map(entry -> indexKey(entry.getValue())).orElse(null);
+            references = 1;
+        }
+
+        /**
+         * @return the compiled filter.
+         */
+        CompiledThingPredicate getPredicate() {
+            return predicate;
+        }
+
+        /**
+         * Test whether the thing contained in a signal matches this filter.
+         *
+         * @param signal the signal.
+         * @return whether the signal passes the filter.
+         */
+        boolean matches(final Signal<?> signal) {
+            return index.matches(this, signal);
+        }
+
+        /**
+         * Release this filter when the session using it ends.
+         */
+        void release() {
+            index.release(this);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "filter=" + filter +
+                    ", references=" + references +
+                    "]";
+        }
+
+    }
+
+    /**
+     * The thing of one signal with the results of the filters evaluated against it so far.
+     */
+    private static final class SignalMatches {
+
+        private final JsonObject thingJson;
+        private final Map<JsonPointer, Map<String, Set<SharedFilter>>> index;
+        private final Map<JsonPointer, Set<SharedFilter>> candidates;
+        private final Map<SharedFilter, Boolean> results;
+
+        private SignalMatches(final JsonObject thingJson,
+                final Map<JsonPointer, Map<String, Set<SharedFilter>>> index,
+                final Map<JsonPointer, Set<SharedFilter>> candidates) {
+
+            this.thingJson = thingJson;
+            this.index = index;
+            this.candidates = candidates;
+            results = new ConcurrentHashMap<>();
+        }
+
+        private boolean matches(final SharedFilter sharedFilter) {
+            if (isIndexed(sharedFilter) && !candidates.get(sharedFilter.indexedPointer).contains(sharedFilter)) {
+                // the field required to equal a value does not have it
+                return false;
+            }
+            return results.computeIfAbsent(sharedFilter, f -> f.predicate.test(thingJson));
+        }
+
+        private boolean isIndexed(final SharedFilter sharedFilter) {
+            return null != sharedFilter.indexedPointer &&
+                    index.getOrDefault(sharedFilter.indexedPointer, Map.of())
+                            .getOrDefault(sharedFilter.indexedKey, Set.of())
+                            .contains(sharedFilter);
+        }
+
+    }
+
+    static final class ExtensionId extends AbstractExtensionId<SessionFilterIndex> {
+
+        static final ExtensionId INSTANCE = new ExtensionId();
+
+        private ExtensionId() {}
+
+        @Override
+        public SessionFilterIndex createExtension(final ExtendedActorSystem system) {
+            return new SessionFilterIndex();
+        }
+
+    }
+
+}
@@ -14,15 +14,13 @@ package org.eclipse.ditto.gateway.service.streaming.actors;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.signals.Signal;
 import org.eclipse.ditto.internal.utils.akka.logging.ThreadSafeDittoLoggingAdapter;
 import org.eclipse.ditto.json.JsonObject;
-import org.eclipse.ditto.rql.query.criteria.Criteria;
-import org.eclipse.ditto.rql.query.things.ThingPredicateVisitor;
+import org.eclipse.ditto.rql.query.things.CompiledThingPredicate;
 import org.eclipse.ditto.things.model.Thing;
 import org.eclipse.ditto.things.model.ThingFieldSelector;
 import org.eclipse.ditto.things.model.signals.events.ThingEventToThingConverter;
@@ -35,28 +33,30 @@ import akka.actor.ActorRef;
 public final class StreamingSession {
 
     private final List<String> namespaces;
-    private final Predicate<Thing> thingPredicate;
+    @Nullable private final SessionFilterIndex.SharedFilter filter;
+    private final CompiledThingPredicate thingPredicate;
     @Nullable private final ThingFieldSelector extraFields;
     private final ActorRef streamingSessionActor;
     private final ThreadSafeDittoLoggingAdapter logger;
 
-    private StreamingSession(final List<String> namespaces, @Nullable final Criteria eventFilterCriteria,
+    private StreamingSession(final List<String> namespaces, @Nullable final SessionFilterIndex.SharedFilter filter,
             @Nullable final ThingFieldSelector extraFields, final ActorRef streamingSessionActor,
             final ThreadSafeDittoLoggingAdapter logger) {
         this.namespaces = namespaces;
-        thingPredicate = eventFilterCriteria == null
-                ? thing -> true
-                : ThingPredicateVisitor.apply(eventFilterCriteria);
+        this.filter = filter;
+        thingPredicate = filter == null
+                ? CompiledThingPredicate.alwaysTrue()
+                : filter.getPredicate();
         this.extraFields = extraFields;
         this.streamingSessionActor = streamingSessionActor;
         this.logger = logger;
     }
 
-    static StreamingSession of(final List<String> namespaces, @Nullable final Criteria eventFilterCriteria,
+    static StreamingSession of(final List<String> namespaces, @Nullable final SessionFilterIndex.SharedFilter filter,
             @Nullable final ThingFieldSelector extraFields, final ActorRef streamingSessionActor,
             final ThreadSafeDittoLoggingAdapter logger) {
 
-        return new StreamingSession(namespaces, eventFilterCriteria, extraFields, streamingSessionActor, logger);
+        return new StreamingSession(namespaces, filter, extraFields, streamingSessionActor, logger);
     }
 
     /**
@@ -96,6 +96,34 @@ public final class StreamingSession {
         return thingPredicate.test(thing);
     }
 
+    /**
+     * Test whether a signal together with extra fields from signal enrichment matches the filter defined in this
+     * session. The thing is only merged from both sources if the session has a filter. Without extra fields, the
+     * result is shared with all sessions of the same filter via the {@link SessionFilterIndex}.
+     *
+     * @param signal the signal.
+     * @param extra extra fields from signal enrichment.
+     * @return whether the signal passes the filter.
+     */
+    public boolean matchesFilter(final Signal<?> signal, final JsonObject extra) {
+        if (thingPredicate.isAlwaysTrue()) {
+            return true;
+        } else if (null != filter && null == extraFields) {
+            return filter.matches(signal);
+        } else {
+            return matchesFilter(mergeThingWithExtra(signal, extra));
+        }
+    }
+
+    /**
+     * Release the filter of this session from the {@link SessionFilterIndex} when the session ends.
+     */
+    void releaseFilter() {
+        if (null != filter) {
+            filter.release();
+        }
+    }
+
     public ActorRef getStreamingSessionActor() {
         return streamingSessionActor;
     }
@@ -107,6 +107,7 @@ final class StreamingSessionActor extends AbstractActorWithTimers {
     private final ActorRef subscriptionManager;
     private final Set<StreamingType> outstandingSubscriptionAcks;
     private final Map<StreamingType, StreamingSession> streamingSessions;
+    private final SessionFilterIndex sessionFilterIndex;
     private final JwtValidator jwtValidator;
     private final JwtAuthenticationResultProvider jwtAuthenticationResultProvider;
     private final AcknowledgementAggregatorActorStarter ackregatorStarter;
@@ -137,6 +138,7 @@ final class StreamingSessionActor extends AbstractActorWithTimers {
         outstandingSubscriptionAcks = EnumSet.noneOf(StreamingType.class);
         authorizationContext = connect.getConnectionAuthContext();
         streamingSessions = new EnumMap<>(StreamingType.class);
+        sessionFilterIndex = SessionFilterIndex.get(getContext().getSystem());
         ackregatorStarter = AcknowledgementAggregatorActorStarter.of(getContext(),
                 acknowledgementConfig,
                 headerTranslator,
@@ -188,6 +190,7 @@ final class StreamingSessionActor extends AbstractActorWithTimers {
     public void postStop() {
         logger.info("Closing <{}> streaming session.", type);
         cancelSessionTimeout();
+        streamingSessions.values().forEach(StreamingSession::releaseFilter);
         eventAndResponsePublisher.complete();
     }
 
@@ -269,13 +272,15 @@ final class StreamingSessionActor extends AbstractActorWithTimers {
         return ReceiveBuilder.create()
                 .match(StartStreaming.class, startStreaming -> {
                     authorizationContext = startStreaming.getAuthorizationContext();
-                    Criteria criteria;
+                    final SessionFilterIndex.SharedFilter filter;
                     try {
-                        criteria = startStreaming.getFilter()
-                                .map(f -> parseCriteria(f, DittoHeaders.newBuilder()
-                                        .correlationId(startStreaming.getCorrelationId()
-                                                .orElse(startStreaming.getConnectionCorrelationId()))
-                                        .build()))
+                        final DittoHeaders dittoHeaders = DittoHeaders.newBuilder()
+                                .correlationId(startStreaming.getCorrelationId()
+                                        .orElse(startStreaming.getConnectionCorrelationId()))
+                                .build();
+                        filter = startStreaming.getFilter()
+                                .map(f -> sessionFilterIndex.acquire(f,
+                                        toParse -> parseCriteria(toParse, dittoHeaders)))
                                 .orElse(null);
                     } catch (final DittoRuntimeException e) {
                         logger.info("Got 'DittoRuntimeException' <{}> session during 'StartStreaming' processing:" +
@@ -283,9 +288,10 @@ final class StreamingSessionActor extends AbstractActorWithTimers {
                         eventAndResponsePublisher.offer(SessionedJsonifiable.error(e));
                         return;
                     }
-                    final var session = StreamingSession.of(startStreaming.getNamespaces(), criteria,
+                    final var session = StreamingSession.of(startStreaming.getNamespaces(), filter,
                             startStreaming.getExtraFields().orElse(null), getSelf(), logger);
-                    streamingSessions.put(startStreaming.getStreamingType(), session);
+                    Optional.ofNullable(streamingSessions.put(startStreaming.getStreamingType(), session))
+                            .ifPresent(StreamingSession::releaseFilter);
 
                     logger.debug("Got 'StartStreaming' message in <{}> session, subscribing for <{}> in Cluster ...",
                             type, startStreaming.getStreamingType().name());
@@ -321,7 +327,8 @@ final class StreamingSessionActor extends AbstractActorWithTimers {
                     logger.debug("Got 'StopStreaming' message in <{}> session, unsubscribing from <{}> in Cluster ...",
                             type, stopStreaming.getStreamingType().name());
 
-                    streamingSessions.remove(stopStreaming.getStreamingType());
+                    Optional.ofNullable(streamingSessions.remove(stopStreaming.getStreamingType()))
+                            .ifPresent(StreamingSession::releaseFilter);
 
                     // In Cluster: Unsubscribe
                     final var unsubscribeConfirmation = new ConfirmUnsubscription(stopStreaming.getStreamingType());
@@ -36,6 +36,7 @@ public final class DefaultGatewaySignalEnrichmentConfig implements GatewaySignal
     private final Duration askTimeout;
     private final boolean cachingEnabled;
     private final CacheConfig cacheConfig;
+    private final boolean sharedThingCacheEnabled;
 
     private DefaultGatewaySignalEnrichmentConfig(final ConfigWithFallback configWithFallback) {
         this.askTimeout = configWithFallback.getNonNegativeAndNonZeroDurationOrThrow(
@@ -43,6 +44,8 @@ public final class DefaultGatewaySignalEnrichmentConfig implements GatewaySignal
         cacheConfig = DefaultCacheConfig.of(configWithFallback, CACHE_CONFIG_PATH);
         cachingEnabled =
                 configWithFallback.getBoolean(CachingSignalEnrichmentFacadeConfigValue.CACHING_ENABLED.getConfigPath());
+        sharedThingCacheEnabled = configWithFallback.getBoolean(
+                CachingSignalEnrichmentFacadeConfigValue.SHARED_THING_CACHE_ENABLED.getConfigPath());
     }
 
     /**
@@ -72,6 +75,11 @@ public final class DefaultGatewaySignalEnrichmentConfig implements GatewaySignal
         return cachingEnabled;
     }
 
+    @Override
+    public boolean isSharedThingCacheEnabled() {
+        return sharedThingCacheEnabled;
+    }
+
     @Override
     public Config render() {
         return ConfigFactory.empty()
@@ -79,6 +87,8 @@ public final class DefaultGatewaySignalEnrichmentConfig implements GatewaySignal
                         ConfigValueFactory.fromAnyRef(askTimeout))
                 .withValue(CachingSignalEnrichmentFacadeConfigValue.CACHING_ENABLED.getConfigPath(),
                         ConfigValueFactory.fromAnyRef(cachingEnabled))
+                .withValue(CachingSignalEnrichmentFacadeConfigValue.SHARED_THING_CACHE_ENABLED.getConfigPath(),
+                        ConfigValueFactory.fromAnyRef(sharedThingCacheEnabled))
                 .withFallback(cacheConfig.render().atKey(CACHE_CONFIG_PATH))
                 .atKey(CONFIG_PATH);
     }
@@ -95,12 +105,13 @@ public final class DefaultGatewaySignalEnrichmentConfig implements GatewaySignal
                 that = (DefaultGatewaySignalEnrichmentConfig) o;
         return Objects.equals(askTimeout, that.askTimeout) &&
                 Objects.equals(cacheConfig, that.cacheConfig) &&
-                cachingEnabled == that.cachingEnabled;
+                cachingEnabled == that.cachingEnabled &&
+                sharedThingCacheEnabled == that.sharedThingCacheEnabled;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(askTimeout, cacheConfig, cachingEnabled);
+        return Objects.hash(askTimeout, cacheConfig, cachingEnabled, sharedThingCacheEnabled);
     }
 
     @Override
@@ -109,6 +120,7 @@ public final class DefaultGatewaySignalEnrichmentConfig implements GatewaySignal
                 "askTimeout=" + askTimeout +
                 ", cacheConfig=" + cacheConfig +
                 ", cachingEnabled" + cachingEnabled +
+                ", sharedThingCacheEnabled=" + sharedThingCacheEnabled +
                 "]";
     }
 
@@ -30,6 +30,7 @@ final class DefaultWebsocketConfig implements WebsocketConfig {
 
     private final int subscriberBackpressureQueueSize;
     private final int publisherBackpressureBufferSize;
+    private final int publisherMaxMessagesPerFrame;
     private final double throttlingRejectionFactor;
     private final ThrottlingConfig throttlingConfig;
 
@@ -38,6 +39,8 @@ final class DefaultWebsocketConfig implements WebsocketConfig {
                 scopedConfig.getPositiveIntOrThrow(WebsocketConfigValue.SUBSCRIBER_BACKPRESSURE_QUEUE_SIZE);
         publisherBackpressureBufferSize =
                 scopedConfig.getPositiveIntOrThrow(WebsocketConfigValue.PUBLISHER_BACKPRESSURE_BUFFER_SIZE);
+        publisherMaxMessagesPerFrame =
+                scopedConfig.getPositiveIntOrThrow(WebsocketConfigValue.PUBLISHER_MAX_MESSAGES_PER_FRAME);
         throttlingRejectionFactor =
                 scopedConfig.getNonNegativeDoubleOrThrow(WebsocketConfigValue.THROTTLING_REJECTION_FACTOR);
         throttlingConfig = ThrottlingConfig.of(scopedConfig);
@@ -65,6 +68,11 @@ final class DefaultWebsocketConfig implements WebsocketConfig {
         return publisherBackpressureBufferSize;
     }
 
+    @Override
+    public int getPublisherMaxMessagesPerFrame() {
+        return publisherMaxMessagesPerFrame;
+    }
+
     @Override
     public double getThrottlingRejectionFactor() {
         return throttlingRejectionFactor;
@@ -86,6 +94,7 @@ final class DefaultWebsocketConfig implements WebsocketConfig {
         final DefaultWebsocketConfig that = (DefaultWebsocketConfig) o;
         return subscriberBackpressureQueueSize == that.subscriberBackpressureQueueSize &&
                 publisherBackpressureBufferSize == that.publisherBackpressureBufferSize &&
+                publisherMaxMessagesPerFrame == that.publisherMaxMessagesPerFrame &&
                 Double.compare(throttlingRejectionFactor, that.throttlingRejectionFactor) == 0 &&
                 Objects.equals(throttlingConfig, that.throttlingConfig);
     }
@@ -93,7 +102,7 @@ final class DefaultWebsocketConfig implements WebsocketConfig {
     @Override
     public int hashCode() {
         return Objects.hash(subscriberBackpressureQueueSize, publisherBackpressureBufferSize,
-                throttlingRejectionFactor, throttlingConfig);
+                publisherMaxMessagesPerFrame, throttlingRejectionFactor, throttlingConfig);
     }
 
     @Override
@@ -101,6 +110,7 @@ final class DefaultWebsocketConfig implements WebsocketConfig {
         return getClass().getSimpleName() + " [" +
                 "subscriberBackpressureQueueSize=" + subscriberBackpressureQueueSize +
                 ", publisherBackpressureBufferSize=" + publisherBackpressureBufferSize +
+                ", publisherMaxMessagesPerFrame=" + publisherMaxMessagesPerFrame +
                 ", throttlingRejectionFactor=" + throttlingRejectionFactor +
                 ", throttlingConfig=" + throttlingConfig +
                 "]";
@@ -53,6 +53,14 @@ public interface GatewaySignalEnrichmentConfig {
      */
     CacheConfig getCacheConfig();
 
+    /**
+     * Indicates whether things are cached once for all field selectors of their regular fields.
+     * This config will have no effect if {@link #isCachingEnabled()} returns false.
+     *
+     * @return true if the shared thing cache should be used.
+     * @since 2.1.0
+     */
+    boolean isSharedThingCacheEnabled();
 
     /**
      * Render this object as a {@code Config}.
@@ -75,7 +83,12 @@ public interface GatewaySignalEnrichmentConfig {
         /**
          * The ask timeout duration: the duration to wait for cache retrievals.
          */
-        ASK_TIMEOUT("ask-timeout", Duration.ofSeconds(10));
+        ASK_TIMEOUT("ask-timeout", Duration.ofSeconds(10)),
+
+        /**
+         * Indicates whether things are cached once for all field selectors of their regular fields.
+         */
+        SHARED_THING_CACHE_ENABLED("shared-thing-cache-enabled", false);
 
         private final String path;
         private final Object defaultValue;
@@ -47,6 +47,15 @@ public interface WebsocketConfig {
      */
     int getPublisherBackpressureBufferSize();
 
+    /**
+     * Returns the maximum number of outgoing messages packed into one frame for web socket clients which requested
+     * batched frames.
+     *
+     * @return the maximum number of messages per frame.
+     * @since 2.1.0
+     */
+    int getPublisherMaxMessagesPerFrame();
+
     /**
      * Returns the factor of maximum throughput at which rejections were sent.
      * This threshold should never be reached unless Akka HTTP or the underlying TCP implementation is broken.
@@ -73,6 +82,8 @@ public interface WebsocketConfig {
                 getSubscriberBackpressureQueueSize());
         map.put(WebsocketConfigValue.PUBLISHER_BACKPRESSURE_BUFFER_SIZE.getConfigPath(),
                 getPublisherBackpressureBufferSize());
+        map.put(WebsocketConfigValue.PUBLISHER_MAX_MESSAGES_PER_FRAME.getConfigPath(),
+                getPublisherMaxMessagesPerFrame());
         map.put(WebsocketConfigValue.THROTTLING_REJECTION_FACTOR.getConfigPath(), getThrottlingRejectionFactor());
         return ConfigFactory.parseMap(map)
                 .withFallback(getThrottlingConfig().render())
@@ -95,6 +106,13 @@ public interface WebsocketConfig {
          */
         PUBLISHER_BACKPRESSURE_BUFFER_SIZE("publisher.backpressure-buffer-size", 200),
 
+        /**
+         * The maximum number of outgoing messages packed into one frame for clients which requested batched frames.
+         *
+         * @since 2.1.0
+         */
+        PUBLISHER_MAX_MESSAGES_PER_FRAME("publisher.max-messages-per-frame", 100),
+
         /**
          * The factor of maximum throughput at which rejections were sent.
          */
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.gateway.service.endpoints.routes.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
+import org.junit.Test;
+
+import akka.http.javadsl.model.ws.Message;
+import akka.util.ByteString;
+
+/**
+ * Tests {@link CborSubprotocol}.
+ */
+public final class CborSubprotocolTest {
+
+    private static final JsonObject MESSAGE = JsonObject.newBuilder()
+            .set("topic", "org.eclipse.ditto/thing/things/twin/events/modified")
+            .set("path", "/attributes/temperature")
+            .set("value", 23.5)
+            .set("headers", JsonObject.newBuilder().set("correlation-id", "cbor").build())
+            .build();
+
+    @Test
+    public void encodedMessagesAreDecodedAsEqualObjects() {
+        final Message frame = CborSubprotocol.toFrame(MESSAGE);
+
+        assertThat(frame.isText()).isFalse();
+        assertThat(CborSubprotocol.readObject(frame.asBinaryMessage().getStrictData())).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    public void streamControlMessagesAreTextFrames() {
+        final Message frame = CborSubprotocol.toFrame(JsonValue.of("START-SEND-EVENTS:ACK"));
+
+        assertThat(frame.isText()).isTrue();
+        assertThat(frame.asTextMessage().getStrictText()).isEqualTo("START-SEND-EVENTS:ACK");
+    }
+
+    @Test
+    public void consecutiveMessagesArePackedIntoOneBinaryFrame() {
+        final JsonObject otherMessage = MESSAGE.setValue("value", 24);
+        final List<Message> frames = CborSubprotocol.toFrames(List.of(MESSAGE, otherMessage,
+                JsonValue.of("START-SEND-EVENTS:ACK"), MESSAGE));
+
+        assertThat(frames).hasSize(3);
+        final ByteString sequence = frames.get(0).asBinaryMessage().getStrictData();
+        final ByteString first = CborSubprotocol.toFrame(MESSAGE).asBinaryMessage().getStrictData();
+        assertThat(sequence.take(first.size())).isEqualTo(first);
+        assertThat(CborSubprotocol.readObject(sequence.drop(first.size()))).isEqualTo(otherMessage);
+        assertThat(frames.get(1).asTextMessage().getStrictText()).isEqualTo("START-SEND-EVENTS:ACK");
+        assertThat(CborSubprotocol.readObject(frames.get(2).asBinaryMessage().getStrictData())).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    public void framesWithoutObjectsAreRejected() {
+        final ByteString array = CborSubprotocol.toFrame(JsonArray.of(1, 2)).asBinaryMessage().getStrictData();
+
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> CborSubprotocol.readObject(array));
+        assertThatExceptionOfType(JsonParseException.class)
+                .isThrownBy(() -> CborSubprotocol.readObject(ByteString.emptyByteString()));
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.gateway.service.endpoints.routes.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.ditto.base.model.acks.AcknowledgementRequest;
+import org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.signals.Signal;
+import org.eclipse.ditto.gateway.service.streaming.actors.SessionedJsonifiable;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.AttributeModified;
+import org.eclipse.ditto.things.model.signals.events.ThingCreated;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.eclipse.ditto.things.model.signals.events.ThingMerged;
+import org.eclipse.ditto.things.model.signals.events.ThingModified;
+import org.junit.After;
+import org.junit.Test;
+
+import akka.actor.ActorSystem;
+import akka.japi.Pair;
+import akka.stream.BufferOverflowException;
+import akka.stream.javadsl.Keep;
+import akka.stream.testkit.TestPublisher;
+import akka.stream.testkit.TestSubscriber;
+import akka.stream.testkit.javadsl.TestSink;
+import akka.stream.testkit.javadsl.TestSource;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests {@link KeepLatestBuffer}.
+ */
+public final class KeepLatestBufferTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto", "keep-latest");
+
+    private final ActorSystem actorSystem = ActorSystem.create();
+
+    @After
+    public void shutdown() {
+        TestKit.shutdownActorSystem(actorSystem);
+    }
+
+    @Test
+    public void eventsOfSameThingChannelAndPathHaveEqualKeys() {
+        final Object key = KeepLatestBuffer.keyOf(sessioned(attributeModified("x", 1, DittoHeaders.empty())));
+
+        assertThat(KeepLatestBuffer.keyOf(sessioned(attributeModified("x", 2, DittoHeaders.empty()))))
+                .isEqualTo(key);
+        assertThat(KeepLatestBuffer.keyOf(sessioned(attributeModified("y", 2, DittoHeaders.empty()))))
+                .isNotEqualTo(key);
+        assertThat(KeepLatestBuffer.keyOf(
+                sessioned(attributeModified("x", 2, DittoHeaders.newBuilder().channel("live").build()))))
+                .isNotEqualTo(key);
+    }
+
+    @Test
+    public void mergedEventsAndEventsRequestingAcksAreNeverReplaced() {
+        final Signal<?> merged = ThingMerged.of(THING_ID, JsonPointer.of("attributes/x"), JsonValue.of(1), 1L, null,
+                DittoHeaders.empty(), null);
+        final Signal<?> requestingAck = attributeModified("x", 1, DittoHeaders.newBuilder()
+                .acknowledgementRequest(AcknowledgementRequest.of(DittoAcknowledgementLabel.TWIN_PERSISTED))
+                .build());
+
+        assertThat(KeepLatestBuffer.keyOf(sessioned(merged))).isNotEqualTo(KeepLatestBuffer.keyOf(sessioned(merged)));
+        assertThat(KeepLatestBuffer.keyOf(sessioned(requestingAck)))
+                .isNotEqualTo(KeepLatestBuffer.keyOf(sessioned(requestingAck)));
+    }
+
+    @Test
+    public void lifecycleEventsAreNeverReplaced() {
+        final Signal<?> created = ThingCreated.of(Thing.newBuilder().setId(THING_ID).build(), 1L, null,
+                DittoHeaders.empty(), null);
+        final Signal<?> deleted = ThingDeleted.of(THING_ID, 2L, null, DittoHeaders.empty(), null);
+        final Signal<?> modified = ThingModified.of(Thing.newBuilder().setId(THING_ID).build(), 3L, null,
+                DittoHeaders.empty(), null);
+
+        assertThat(KeepLatestBuffer.keyOf(sessioned(created)))
+                .isNotEqualTo(KeepLatestBuffer.keyOf(sessioned(created)));
+        assertThat(KeepLatestBuffer.keyOf(sessioned(deleted)))
+                .isNotEqualTo(KeepLatestBuffer.keyOf(sessioned(deleted)));
+        assertThat(KeepLatestBuffer.keyOf(sessioned(modified)))
+                .isNotEqualTo(KeepLatestBuffer.keyOf(sessioned(deleted)));
+    }
+
+    @Test
+    public void replacedMessagesMoveBehindMessagesBufferedInBetween() {
+        final Pair<TestPublisher.Probe<Pair<Object, String>>, TestSubscriber.Probe<String>> probes =
+                TestSource.<Pair<Object, String>>probe(actorSystem)
+                        .via(KeepLatestBuffer.flow(3, DittoMetrics.counter("keep_latest_buffer_test")))
+                        .toMat(TestSink.probe(actorSystem), Keep.both())
+                        .run(actorSystem);
+        final TestPublisher.Probe<Pair<Object, String>> source = probes.first();
+        final TestSubscriber.Probe<String> sink = probes.second();
+
+        sink.request(1);
+        source.sendNext(Pair.create("x", "x1"));
+        sink.expectNext("x1");
+
+        source.sendNext(Pair.create("x", "x2"));
+        source.sendNext(Pair.create("y", "y1"));
+        source.sendNext(Pair.create("x", "x3"));
+        source.sendNext(Pair.create(new Object(), "response"));
+        sink.request(3);
+        sink.expectNext("y1", "x3", "response");
+    }
+
+    @Test
+    public void failsIfCapacityIsExceeded() {
+        final Pair<TestPublisher.Probe<Pair<Object, String>>, TestSubscriber.Probe<String>> probes =
+                TestSource.<Pair<Object, String>>probe(actorSystem)
+                        .via(KeepLatestBuffer.flow(2, DittoMetrics.counter("keep_latest_buffer_test")))
+                        .toMat(TestSink.probe(actorSystem), Keep.both())
+                        .run(actorSystem);
+        final TestPublisher.Probe<Pair<Object, String>> source = probes.first();
+        final TestSubscriber.Probe<String> sink = probes.second();
+
+        sink.ensureSubscription();
+        source.sendNext(Pair.create("x", "x1"));
+        source.sendNext(Pair.create("y", "y1"));
+        source.sendNext(Pair.create("x", "x2"));
+        source.sendNext(Pair.create("z", "z1"));
+
+        assertThat(sink.expectError()).isInstanceOf(BufferOverflowException.class);
+    }
+
+    private static Signal<?> attributeModified(final String attribute, final int value,
+            final DittoHeaders dittoHeaders) {
+
+        return AttributeModified.of(THING_ID, JsonPointer.of(attribute), JsonValue.of(value), 1L, null, dittoHeaders,
+                null);
+    }
+
+    private static SessionedJsonifiable sessioned(final Signal<?> signal) {
+        final SessionedJsonifiable sessionedJsonifiable = mock(SessionedJsonifiable.class);
+        when(sessionedJsonifiable.getJsonifiable()).thenReturn(signal);
+        when(sessionedJsonifiable.getDittoHeaders()).thenReturn(signal.getDittoHeaders());
+        return sessionedJsonifiable;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.gateway.service.streaming.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.signals.Signal;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.rql.parser.RqlPredicateParser;
+import org.eclipse.ditto.rql.query.criteria.Criteria;
+import org.eclipse.ditto.rql.query.filter.QueryFilterCriteriaFactory;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.AttributeModified;
+import org.eclipse.ditto.things.model.signals.events.ThingEventToThingConverter;
+import org.junit.Test;
+
+/**
+ * Tests {@link SessionFilterIndex}.
+ */
+public final class SessionFilterIndexTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto", "index");
+
+    private static final List<String> FILTERS = List.of(
+            "eq(attributes/x,42)",
+            "eq(attributes/x,42.0)",
+            "eq(attributes/x,\"42\")",
+            "eq(attributes/x,43)",
+            "and(eq(thingId,\"org.eclipse.ditto:index\"),gt(attributes/x,40))",
+            "and(eq(thingId,\"org.eclipse.ditto:other\"),gt(attributes/x,40))",
+            "eq(attributes/x,true)",
+            "eq(attributes/x,\"true\")",
+            "eq(attributes/x,null)",
+            "ne(attributes/x,42)",
+            "like(attributes/x,\"4*\")",
+            "exists(attributes/x)"
+    );
+
+    private static final List<JsonValue> VALUES = List.of(JsonValue.of(42), JsonValue.of(42.0), JsonValue.of("42"),
+            JsonValue.of(43L), JsonValue.of(true), JsonValue.of("true"), JsonValue.nullLiteral(), JsonValue.of("x"));
+
+    @Test
+    public void sharedFiltersMatchLikeCompiledFilters() {
+        final SessionFilterIndex underTest = new SessionFilterIndex();
+        final List<SessionFilterIndex.SharedFilter> sharedFilters = FILTERS.stream()
+                .map(filter -> underTest.acquire(filter, SessionFilterIndexTest::parse))
+                .collect(Collectors.toList());
+
+        long revision = 0;
+        for (final JsonValue value : VALUES) {
+            final Signal<?> event = AttributeModified.of(THING_ID, JsonPointer.of("x"), value, ++revision, null,
+                    DittoHeaders.empty(), null);
+            final Thing thing = ThingEventToThingConverter.thingEventToThing((AttributeModified) event).orElseThrow();
+            for (final SessionFilterIndex.SharedFilter sharedFilter : sharedFilters) {
+                final boolean expected = sharedFilter.getPredicate().test(thing);
+                // ask twice to evaluate the cached results
+                assertThat(sharedFilter.matches(event)).describedAs(sharedFilter + " on " + value)
+                        .isEqualTo(expected);
+                assertThat(sharedFilter.matches(event)).describedAs(sharedFilter + " on " + value)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void identicalFiltersAreParsedOnceAndReleasedWithTheirLastSession() {
+        final SessionFilterIndex underTest = new SessionFilterIndex();
+        final AtomicInteger parseCount = new AtomicInteger();
+        final Function<String, Criteria> parser = filter -> {
+            parseCount.incrementAndGet();
+            return parse(filter);
+        };
+
+        final SessionFilterIndex.SharedFilter first = underTest.acquire("eq(attributes/x,1)", parser);
+        final SessionFilterIndex.SharedFilter second = underTest.acquire("eq(attributes/x,1)", parser);
+        final SessionFilterIndex.SharedFilter other = underTest.acquire("eq(attributes/x,2)", parser);
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(parseCount).hasValue(2);
+        assertThat(underTest.size()).isEqualTo(2);
+
+        first.release();
+        assertThat(underTest.size()).isEqualTo(2);
+        second.release();
+        assertThat(underTest.size()).isEqualTo(1);
+
+        final SessionFilterIndex.SharedFilter reacquired = underTest.acquire("eq(attributes/x,1)", parser);
+        assertThat(reacquired).isNotSameAs(first);
+        assertThat(parseCount).hasValue(3);
+        assertThat(reacquired.matches(AttributeModified.of(THING_ID, JsonPointer.of("x"), JsonValue.of(1), 1L,
+                null, DittoHeaders.empty(), null))).isTrue();
+    }
+
+    private static Criteria parse(final String filter) {
+        return QueryFilterCriteriaFactory.modelBased(RqlPredicateParser.getInstance())
+                .filterCriteria(filter, DittoHeaders.empty());
+    }
+
+}
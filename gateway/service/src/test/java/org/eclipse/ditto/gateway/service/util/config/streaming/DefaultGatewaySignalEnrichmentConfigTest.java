@@ -70,6 +70,10 @@ public final class DefaultGatewaySignalEnrichmentConfigTest {
                 .as(GatewaySignalEnrichmentConfig.CachingSignalEnrichmentFacadeConfigValue.CACHING_ENABLED.getConfigPath())
                 .isEqualTo(
                         GatewaySignalEnrichmentConfig.CachingSignalEnrichmentFacadeConfigValue.CACHING_ENABLED.getDefaultValue());
+        softly.assertThat(underTest.isSharedThingCacheEnabled())
+                .as(GatewaySignalEnrichmentConfig.CachingSignalEnrichmentFacadeConfigValue.SHARED_THING_CACHE_ENABLED.getConfigPath())
+                .isEqualTo(
+                        GatewaySignalEnrichmentConfig.CachingSignalEnrichmentFacadeConfigValue.SHARED_THING_CACHE_ENABLED.getDefaultValue());
     }
 
     @Test
@@ -83,6 +87,9 @@ public final class DefaultGatewaySignalEnrichmentConfigTest {
         softly.assertThat(underTest.isCachingEnabled())
                 .as(GatewaySignalEnrichmentConfig.CachingSignalEnrichmentFacadeConfigValue.CACHING_ENABLED.getConfigPath())
                 .isEqualTo(false);
+        softly.assertThat(underTest.isSharedThingCacheEnabled())
+                .as(GatewaySignalEnrichmentConfig.CachingSignalEnrichmentFacadeConfigValue.SHARED_THING_CACHE_ENABLED.getConfigPath())
+                .isEqualTo(true);
     }
 
 }
@@ -69,6 +69,9 @@ public final class DefaultWebsocketConfigTest {
         softly.assertThat(underTest.getPublisherBackpressureBufferSize())
                 .as(WebsocketConfig.WebsocketConfigValue.PUBLISHER_BACKPRESSURE_BUFFER_SIZE.getConfigPath())
                 .isEqualTo(WebsocketConfig.WebsocketConfigValue.PUBLISHER_BACKPRESSURE_BUFFER_SIZE.getDefaultValue());
+        softly.assertThat(underTest.getPublisherMaxMessagesPerFrame())
+                .as(WebsocketConfig.WebsocketConfigValue.PUBLISHER_MAX_MESSAGES_PER_FRAME.getConfigPath())
+                .isEqualTo(WebsocketConfig.WebsocketConfigValue.PUBLISHER_MAX_MESSAGES_PER_FRAME.getDefaultValue());
         softly.assertThat(underTest.getThrottlingRejectionFactor())
                 .as(WebsocketConfig.WebsocketConfigValue.THROTTLING_REJECTION_FACTOR.getConfigPath())
                 .isCloseTo((Double) WebsocketConfig.WebsocketConfigValue.THROTTLING_REJECTION_FACTOR.getDefaultValue(),
@@ -85,6 +88,9 @@ public final class DefaultWebsocketConfigTest {
         softly.assertThat(underTest.getPublisherBackpressureBufferSize())
                 .as(WebsocketConfig.WebsocketConfigValue.PUBLISHER_BACKPRESSURE_BUFFER_SIZE.getConfigPath())
                 .isEqualTo(42);
+        softly.assertThat(underTest.getPublisherMaxMessagesPerFrame())
+                .as(WebsocketConfig.WebsocketConfigValue.PUBLISHER_MAX_MESSAGES_PER_FRAME.getConfigPath())
+                .isEqualTo(17);
         softly.assertThat(underTest.getThrottlingRejectionFactor())
                 .as(WebsocketConfig.WebsocketConfigValue.THROTTLING_REJECTION_FACTOR.getConfigPath())
                 .isCloseTo(1.875, Percentage.withPercentage(1.0));
@@ -14,6 +14,7 @@ package org.eclipse.ditto.internal.models.signalenrichment;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
@@ -31,6 +32,7 @@ import org.eclipse.ditto.internal.utils.cache.CacheKey;
 import org.eclipse.ditto.internal.utils.cache.config.CacheConfig;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonKey;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.json.JsonValue;
@@ -53,14 +55,36 @@ public final class CachingSignalEnrichmentFacade implements
     private static final ThreadSafeDittoLogger LOGGER = DittoLoggerFactory
             .getThreadSafeLogger(CachingSignalEnrichmentFacade.class);
 
+    /**
+     * Selector of the fields of a thing which are loaded and cached once per thing and lookup context if the shared
+     * thing cache is enabled.
+     */
+    private static final JsonFieldSelector SHARED_THING_SELECTOR = JsonFactory.newFieldSelectorBuilder()
+            .addFieldDefinition(Thing.JsonFields.ID)
+            .addFieldDefinition(Thing.JsonFields.POLICY_ID)
+            .addFieldDefinition(Thing.JsonFields.DEFINITION)
+            .addFieldDefinition(Thing.JsonFields.ATTRIBUTES)
+            .addFieldDefinition(Thing.JsonFields.FEATURES)
+            .addFieldDefinition(Thing.JsonFields.REVISION)
+            .build();
+
+    private static final Set<JsonKey> SHARED_THING_ROOT_KEYS = SHARED_THING_SELECTOR.getPointers()
+            .stream()
+            .map(JsonPointer::getRoot)
+            .flatMap(Optional::stream)
+            .collect(Collectors.toSet());
+
     private final Cache<CacheKey, JsonObject> extraFieldsCache;
+    private final boolean sharedThingCacheEnabled;
 
     private CachingSignalEnrichmentFacade(
             final SignalEnrichmentFacade cacheLoaderFacade,
             final CacheConfig cacheConfig,
             final Executor cacheLoaderExecutor,
-            final String cacheNamePrefix) {
+            final String cacheNamePrefix,
+            final boolean sharedThingCacheEnabled) {
 
+        this.sharedThingCacheEnabled = sharedThingCacheEnabled;
         extraFieldsCache = CacheFactory.createCache(
                 SignalEnrichmentCacheLoader.of(cacheLoaderFacade),
                 cacheConfig,
@@ -81,8 +105,31 @@ public final class CachingSignalEnrichmentFacade implements
     public static CachingSignalEnrichmentFacade of(final SignalEnrichmentFacade cacheLoaderFacade,
             final CacheConfig cacheConfig, final Executor cacheLoaderExecutor, final String cacheNamePrefix) {
 
+        return of(cacheLoaderFacade, cacheConfig, cacheLoaderExecutor, cacheNamePrefix, false);
+    }
+
+    /**
+     * Create a signal-enriching facade that retrieves partial things by using a Caffeine cache.
+     * If the shared thing cache is enabled, the regular fields of a thing are cached once per thing and lookup context
+     * and any field selector within them is served as a projection of the cached thing, so that lookups with
+     * different field selectors share one cache entry and one round trip.
+     * Field selectors of other fields such as {@code _metadata} are cached per field selector.
+     *
+     * @param cacheLoaderFacade the facade whose argument-result-pairs we are caching.
+     * @param cacheConfig the cache configuration to use for the cache.
+     * @param cacheLoaderExecutor the executor to use in order to asynchronously load cache entries.
+     * @param cacheNamePrefix the prefix to use as cacheName of the cache.
+     * @param sharedThingCacheEnabled whether to cache things once for all field selectors of regular fields.
+     * @return The facade.
+     * @throws NullPointerException if any argument is null.
+     * @since 2.1.0
+     */
+    public static CachingSignalEnrichmentFacade of(final SignalEnrichmentFacade cacheLoaderFacade,
+            final CacheConfig cacheConfig, final Executor cacheLoaderExecutor, final String cacheNamePrefix,
+            final boolean sharedThingCacheEnabled) {
+
         return new CachingSignalEnrichmentFacade(cacheLoaderFacade, cacheConfig, cacheLoaderExecutor,
-                cacheNamePrefix);
+                cacheNamePrefix, sharedThingCacheEnabled);
     }
 
     @Override
@@ -128,6 +175,9 @@ public final class CachingSignalEnrichmentFacade implements
         final JsonFieldSelector enhancedFieldSelector;
         if (jsonFieldSelector == null) {
             enhancedFieldSelector = null;
+        } else if (sharedThingCacheEnabled && isWithinSharedThing(jsonFieldSelector)) {
+            // the requested fields are projected from the shared thing by the caller
+            enhancedFieldSelector = SHARED_THING_SELECTOR;
         } else {
             enhancedFieldSelector = JsonFactory.newFieldSelectorBuilder()
                     .addPointers(jsonFieldSelector)
@@ -142,6 +192,12 @@ public final class CachingSignalEnrichmentFacade implements
                 invalidateCacheOnPolicyChange, minAcceptableSeqNr);
     }
 
+    private static boolean isWithinSharedThing(final JsonFieldSelector jsonFieldSelector) {
+        return jsonFieldSelector.getPointers()
+                .stream()
+                .allMatch(pointer -> pointer.getRoot().filter(SHARED_THING_ROOT_KEYS::contains).isPresent());
+    }
+
     private Optional<Integer> findLastThingDeletedOrCreated(final List<ThingEvent<?>> thingEvents) {
         for (int i = thingEvents.size() - 1; i >= 0; --i) {
             final var event = thingEvents.get(i);
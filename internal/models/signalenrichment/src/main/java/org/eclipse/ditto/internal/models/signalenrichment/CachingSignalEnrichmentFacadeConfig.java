@@ -43,6 +43,14 @@ public interface CachingSignalEnrichmentFacadeConfig {
      */
     CacheConfig getCacheConfig();
 
+    /**
+     * Indicates whether things are cached once for all field selectors of their regular fields.
+     *
+     * @return true if the shared thing cache should be used.
+     * @since 2.1.0
+     */
+    boolean isSharedThingCacheEnabled();
+
     /**
      * An enumeration of the known config path expressions and their associated default values for
      * {@code CachingSignalEnrichmentFacadeConfig}.
@@ -52,7 +60,12 @@ public interface CachingSignalEnrichmentFacadeConfig {
         /**
          * The ask timeout duration: the duration to wait for cache retrievals.
          */
-        ASK_TIMEOUT("ask-timeout", Duration.ofSeconds(10));
+        ASK_TIMEOUT("ask-timeout", Duration.ofSeconds(10)),
+
+        /**
+         * Indicates whether things are cached once for all field selectors of their regular fields.
+         */
+        SHARED_THING_CACHE_ENABLED("shared-thing-cache-enabled", false);
 
         private final String path;
         private final Object defaultValue;
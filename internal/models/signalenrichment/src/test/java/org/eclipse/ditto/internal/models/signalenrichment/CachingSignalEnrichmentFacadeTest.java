@@ -331,5 +331,51 @@ public final class CachingSignalEnrichmentFacadeTest extends AbstractSignalEnric
         });
     }
 
+    @Test
+    public void differentFieldSelectorsAreProjectedFromSharedThing() {
+        DittoTestSystem.run(this, kit -> {
+            // GIVEN: SignalEnrichmentFacade with shared thing cache
+            final CacheConfig cacheConfig =
+                    DefaultCacheConfig.of(ConfigFactory.parseString(CACHE_CONFIG), CACHE_CONFIG_KEY);
+            final ByRoundTripSignalEnrichmentFacade cacheLoaderFacade =
+                    ByRoundTripSignalEnrichmentFacade.of(ActorSelection.apply(kit.getRef(), ""),
+                            Duration.ofSeconds(10L));
+            final SignalEnrichmentFacade underTest = CachingSignalEnrichmentFacade.of(cacheLoaderFacade,
+                    cacheConfig, kit.getSystem().getDispatcher(), "test", true);
+            final ThingId thingId = ThingId.generateRandom();
+            final DittoHeaders headers = DittoHeaders.newBuilder()
+                    .authorizationContext(AuthorizationContext.newInstance(DittoAuthorizationContextType.UNSPECIFIED,
+                            AuthorizationSubject.newInstance(ISSUER_PREFIX + "user")))
+                    .build();
+            final CompletionStage<JsonObject> askResult =
+                    underTest.retrievePartialThing(thingId, SELECTOR, headers, THING_EVENT);
+
+            // WHEN: Command handler receives RetrieveThing of the regular fields and responds
+            final RetrieveThing retrieveThing = kit.expectMsgClass(RetrieveThing.class);
+            softly.assertThat(retrieveThing.getSelectedFields().orElseThrow().getPointers())
+                    .containsAll(JsonFieldSelector.newInstance("attributes", "features", "_revision").getPointers());
+            kit.reply(RetrieveThingResponse.of(thingId, getThingResponseThingJson(), headers));
+            softly.assertThat(askResult.toCompletableFuture().join()).isEqualTo(getExpectedThingJson());
+
+            // WHEN: same thing is asked again with a different selector for an event with one revision ahead
+            final JsonFieldSelector selector2 = JsonFieldSelector.newInstance("attributes", "features/y");
+            final CompletionStage<JsonObject> askResult2 = underTest.retrievePartialThing(thingId, selector2,
+                    headers, THING_EVENT.setRevision(THING_EVENT.getRevision() + 1));
+
+            // THEN: the other selector is projected from the cached thing without a round trip
+            kit.expectNoMessage(Duration.ofSeconds(1));
+            softly.assertThat(askResult2.toCompletableFuture().join()).isEqualTo(JsonObject.of(
+                    "{\"attributes\":{\"x\":5},\"features\":{\"y\":{\"properties\":{\"z\":true}}}}"));
+
+            // WHEN: a selector of a field outside of the regular fields is asked
+            final JsonFieldSelector selector3 = JsonFieldSelector.newInstance("attributes", "_metadata");
+            underTest.retrievePartialThing(thingId, selector3, headers,
+                    THING_EVENT.setRevision(THING_EVENT.getRevision() + 2));
+
+            // THEN: it is retrieved separately
+            final RetrieveThing retrieveThing3 = kit.expectMsgClass(RetrieveThing.class);
+            softly.assertThat(retrieveThing3.getSelectedFields()).contains(actualSelectedFields(selector3));
+        });
+    }
 
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cacheloaders;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.internal.utils.cache.CacheKey;
+import org.eclipse.ditto.internal.utils.cache.entry.Entry;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.BatchingConfig;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.internal.utils.metrics.instruments.histogram.Histogram;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+
+/**
+ * Asynchronous cache loader which gathers the cache misses of a short window into batches and loads each batch
+ * with one call of {@link AsyncCacheLoader#asyncLoadAll(Set, Executor)} of a delegate loader, with a bounded number
+ * of batches in flight.
+ * <p>
+ * After a restart or a cache flush, an unbounded number of concurrent misses would each start an ask to the entity
+ * shard region at once. Batching queues them instead, so that a delegate able to retrieve many entities with one
+ * command, e.g. the {@link PolicyEnforcerCacheLoader}, sends at most {@link BatchingConfig#getParallelism()} commands
+ * per cache loader. A batch is released for loading at the end of its window or as soon as it is full, whichever comes
+ * first. Every pending load of a batch is completed from the result of the delegate; should the batch fail or miss
+ * the key of a pending load, that key is loaded singly with {@link AsyncCacheLoader#asyncLoad(Object, Executor)} of
+ * the delegate.
+ * </p>
+ *
+ * @param <V> type of values in the cache entry.
+ * @since 2.1.0
+ */
+@ThreadSafe
+public final class BatchingCacheLoader<V> implements AsyncCacheLoader<CacheKey, Entry<V>> {
+
+    private static final String HISTOGRAM_BATCH_SIZE = "cache_loader_batch_size";
+    private static final String GAUGE_IN_FLIGHT = "cache_loader_in_flight_batches";
+    private static final String GAUGE_QUEUED = "cache_loader_queued_loads";
+    private static final String CACHE_TAG = "cache";
+
+    private final AsyncCacheLoader<CacheKey, Entry<V>> delegate;
+    private final long batchWindowMillis;
+    private final int maxBatchSize;
+    private final int parallelism;
+    private final Queue<List<PendingLoad<V>>> queuedBatches;
+    private final AtomicInteger queueSize;
+    private final AtomicInteger inFlight;
+    private final Histogram batchSizeHistogram;
+    private final Gauge inFlightGauge;
+    private final Gauge queuedGauge;
+
+    private List<PendingLoad<V>> batch;
+
+    private BatchingCacheLoader(final AsyncCacheLoader<CacheKey, Entry<V>> delegate,
+            final BatchingConfig batchingConfig,
+            final String cacheName) {
+
+        this.delegate = requireNonNull(delegate);
+        batchWindowMillis = batchingConfig.getBatchWindow().toMillis();
+        maxBatchSize = batchingConfig.getMaxBatchSize();
+        parallelism = batchingConfig.getParallelism();
+        queuedBatches = new ConcurrentLinkedQueue<>();
+        queueSize = new AtomicInteger();
+        inFlight = new AtomicInteger();
+        batchSizeHistogram = DittoMetrics.histogram(HISTOGRAM_BATCH_SIZE).tag(CACHE_TAG, cacheName);
+        inFlightGauge = DittoMetrics.gauge(GAUGE_IN_FLIGHT).tag(CACHE_TAG, cacheName);
+        queuedGauge = DittoMetrics.gauge(GAUGE_QUEUED).tag(CACHE_TAG, cacheName);
+        batch = new ArrayList<>();
+    }
+
+    /**
+     * Creates a batching cache loader.
+     *
+     * @param delegate the cache loader to load batches of entries with.
+     * @param batchingConfig the batching config.
+     * @param cacheName name of the cache to tag the metrics of the loader with.
+     * @param <V> type of values in the cache entry.
+     * @return the cache loader.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static <V> BatchingCacheLoader<V> of(final AsyncCacheLoader<CacheKey, Entry<V>> delegate,
+            final BatchingConfig batchingConfig,
+            final String cacheName) {
+
+        return new BatchingCacheLoader<>(delegate, requireNonNull(batchingConfig), requireNonNull(cacheName));
+    }
+
+    @Override
+    public CompletableFuture<Entry<V>> asyncLoad(final CacheKey key, final Executor executor) {
+        final PendingLoad<V> pendingLoad = new PendingLoad<>(key, executor);
+        addToBatch(List.of(pendingLoad), executor);
+        return pendingLoad.future;
+    }
+
+    @Override
+    public CompletableFuture<Map<CacheKey, Entry<V>>> asyncLoadAll(final Set<? extends CacheKey> keys,
+            final Executor executor) {
+
+        final List<PendingLoad<V>> pendingLoads = new ArrayList<>(keys.size());
+        for (final CacheKey key : keys) {
+            pendingLoads.add(new PendingLoad<>(key, executor));
+        }
+        addToBatch(pendingLoads, executor);
+        return CompletableFuture.allOf(pendingLoads.stream()
+                        .map(pendingLoad -> pendingLoad.future)
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(unused -> {
+                    final Map<CacheKey, Entry<V>> result = new HashMap<>();
+                    pendingLoads.forEach(pendingLoad -> result.put(pendingLoad.key, pendingLoad.future.join()));
+                    return result;
+                });
+    }
+
+    private void addToBatch(final List<PendingLoad<V>> pendingLoads, final Executor executor) {
+        final List<List<PendingLoad<V>>> fullBatches = new ArrayList<>();
+        @Nullable List<PendingLoad<V>> openedBatch = null;
+        synchronized (this) {
+            for (final PendingLoad<V> pendingLoad : pendingLoads) {
+                if (batch.isEmpty()) {
+                    openedBatch = batch;
+                }
+                batch.add(pendingLoad);
+                if (batch.size() >= maxBatchSize) {
+                    fullBatches.add(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        fullBatches.forEach(this::release);
+        // a batch released because it became full is no longer open when its window ends
+        if (null != openedBatch) {
+            final List<PendingLoad<V>> batchToRelease = openedBatch;
+            if (batchWindowMillis <= 0L) {
+                releaseIfOpen(batchToRelease);
+            } else {
+                CompletableFuture.delayedExecutor(batchWindowMillis, TimeUnit.MILLISECONDS, executor)
+                        .execute(() -> releaseIfOpen(batchToRelease));
+            }
+        }
+    }
+
+    private void releaseIfOpen(final List<PendingLoad<V>> expectedBatch) {
+        final boolean isOpen;
+        synchronized (this) {
+            isOpen = batch == expectedBatch;
+            if (isOpen) {
+                batch = new ArrayList<>();
+            }
+        }
+        if (isOpen) {
+            release(expectedBatch);
+        }
+    }
+
+    private void release(final List<PendingLoad<V>> batchToRelease) {
+        batchSizeHistogram.record((long) batchToRelease.size());
+        queuedBatches.add(batchToRelease);
+        queuedGauge.set((long) queueSize.addAndGet(batchToRelease.size()));
+        startQueuedBatches();
+    }
+
+    private void startQueuedBatches() {
+        while (true) {
+            final int currentInFlight = inFlight.get();
+            if (currentInFlight >= parallelism) {
+                return;
+            }
+            if (inFlight.compareAndSet(currentInFlight, currentInFlight + 1)) {
+                final List<PendingLoad<V>> next = queuedBatches.poll();
+                if (null != next) {
+                    queuedGauge.set((long) queueSize.addAndGet(-next.size()));
+                    inFlightGauge.set((long) currentInFlight + 1);
+                    start(next);
+                } else {
+                    inFlight.decrementAndGet();
+                    // a batch may have been queued while this thread held the slot
+                    if (queuedBatches.isEmpty()) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void start(final List<PendingLoad<V>> batchToLoad) {
+        final Executor executor = batchToLoad.get(0).executor;
+        final Set<CacheKey> keys = new LinkedHashSet<>();
+        batchToLoad.forEach(pendingLoad -> keys.add(pendingLoad.key));
+        CompletableFuture<? extends Map<? extends CacheKey, ? extends Entry<V>>> loadFuture;
+        try {
+            loadFuture = delegate.asyncLoadAll(keys, executor);
+        } catch (final Exception e) {
+            loadFuture = CompletableFuture.failedFuture(e);
+        }
+        loadFuture.whenComplete((entries, error) -> {
+            inFlightGauge.set((long) inFlight.decrementAndGet());
+            batchToLoad.forEach(pendingLoad -> completePendingLoad(pendingLoad, entries, error));
+            // start the next batches asynchronously so that synchronously completing loads cannot nest
+            executor.execute(this::startQueuedBatches);
+        });
+    }
+
+    private void completePendingLoad(final PendingLoad<V> pendingLoad,
+            @Nullable final Map<? extends CacheKey, ? extends Entry<V>> entries,
+            @Nullable final Throwable error) {
+
+        @Nullable final Entry<V> entry = null == error ? entries.get(pendingLoad.key) : null;
+        if (null != entry) {
+            pendingLoad.future.complete(entry);
+        } else {
+            // a failed batch or a key missing from it must not fail the loads of unrelated entities
+            loadSingly(pendingLoad);
+        }
+    }
+
+    private void loadSingly(final PendingLoad<V> pendingLoad) {
+        CompletableFuture<? extends Entry<V>> loadFuture;
+        try {
+            loadFuture = delegate.asyncLoad(pendingLoad.key, pendingLoad.executor);
+        } catch (final Exception e) {
+            loadFuture = CompletableFuture.failedFuture(e);
+        }
+        loadFuture.whenComplete((entry, error) -> {
+            if (null != error) {
+                pendingLoad.future.completeExceptionally(error);
+            } else {
+                pendingLoad.future.complete(entry);
+            }
+        });
+    }
+
+    private static final class PendingLoad<V> {
+
+        private final CacheKey key;
+        private final Executor executor;
+        private final CompletableFuture<Entry<V>> future;
+
+        private PendingLoad(final CacheKey key, final Executor executor) {
+            this.key = key;
+            this.executor = executor;
+            future = new CompletableFuture<>();
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cacheloaders;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.internal.utils.cache.CacheKey;
+import org.eclipse.ditto.internal.utils.cache.entry.Entry;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.AskWithRetryConfig;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+
+import akka.actor.ActorRef;
+import akka.actor.Scheduler;
+import akka.cluster.pubsub.DistributedPubSubMediator;
+import akka.stream.Materializer;
+import akka.stream.SourceRef;
+import akka.stream.javadsl.Sink;
+
+/**
+ * Retrieves many entities with one sudo command sent via PubSub to the bulk retrieval actor of an entity service.
+ * The bulk retrieval actor answers with a {@link SourceRef} of one response for each existing entity.
+ */
+final class BulkRetrieval {
+
+    private final AskWithRetryConfig askWithRetryConfig;
+    private final Scheduler scheduler;
+    private final ActorRef pubSubMediator;
+    private final String bulkRetrievalActorPath;
+    private final Materializer materializer;
+
+    BulkRetrieval(final AskWithRetryConfig askWithRetryConfig,
+            final Scheduler scheduler,
+            final ActorRef pubSubMediator,
+            final String bulkRetrievalActorPath,
+            final Materializer materializer) {
+
+        this.askWithRetryConfig = askWithRetryConfig;
+        this.scheduler = scheduler;
+        this.pubSubMediator = pubSubMediator;
+        this.bulkRetrievalActorPath = bulkRetrievalActorPath;
+        this.materializer = materializer;
+    }
+
+    /**
+     * Send a sudo retrieve-many command and collect all responses of the returned source.
+     *
+     * @param command the command.
+     * @param executor the executor to retry the command with.
+     * @return future of the responses, failed if the command or the source of responses failed.
+     */
+    CompletableFuture<List<Object>> retrieve(final Object command, final Executor executor) {
+        final DistributedPubSubMediator.Send send =
+                new DistributedPubSubMediator.Send(bulkRetrievalActorPath, command, false);
+        return AskWithRetry.askWithRetry(pubSubMediator, send, askWithRetryConfig, scheduler, executor,
+                BulkRetrieval::toSourceRef)
+                .thenCompose(sourceRef -> sourceRef.getSource().runWith(Sink.seq(), materializer))
+                .toCompletableFuture();
+    }
+
+    /**
+     * Combine the entries retrieved in bulk with single loads of all keys missing from them. A key may be missing
+     * because its entity does not exist or because the bulk retrieval could not retrieve it in time; the single load
+     * decides which.
+     *
+     * @param keys the keys to load.
+     * @param retrievedEntries the entries retrieved in bulk by the string representation of their entity IDs.
+     * @param singleLoader the loader for the missing keys.
+     * @param executor the executor of the single loads.
+     * @param <V> type of values in the cache entry.
+     * @return future of the entries of all keys.
+     */
+    static <V> CompletableFuture<Map<CacheKey, Entry<V>>> withSingleLoadsOfMissingKeys(
+            final Set<? extends CacheKey> keys,
+            final Map<String, Entry<V>> retrievedEntries,
+            final AsyncCacheLoader<CacheKey, Entry<V>> singleLoader,
+            final Executor executor) {
+
+        final Map<CacheKey, CompletableFuture<Entry<V>>> futures = new HashMap<>();
+        for (final CacheKey key : keys) {
+            @Nullable final Entry<V> retrievedEntry = retrievedEntries.get(key.getId().toString());
+            if (null != retrievedEntry) {
+                futures.put(key, CompletableFuture.completedFuture(retrievedEntry));
+            } else {
+                futures.put(key, loadSingle(singleLoader, key, executor));
+            }
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(unused -> {
+                    final Map<CacheKey, Entry<V>> result = new HashMap<>();
+                    futures.forEach((key, future) -> result.put(key, future.join()));
+                    return result;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> CompletableFuture<Entry<V>> loadSingle(final AsyncCacheLoader<CacheKey, Entry<V>> singleLoader,
+            final CacheKey key, final Executor executor) {
+
+        try {
+            return (CompletableFuture<Entry<V>>) singleLoader.asyncLoad(key, executor);
+        } catch (final Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SourceRef<Object> toSourceRef(final Object response) {
+        if (response instanceof SourceRef) {
+            return (SourceRef<Object>) response;
+        } else {
+            throw new IllegalStateException("expect SourceRef, got: " + response);
+        }
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.internal.utils.cacheloaders;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +21,7 @@ import javax.annotation.Nullable;
 import org.eclipse.ditto.base.model.entity.id.EntityId;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicies;
 import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicy;
 import org.eclipse.ditto.internal.utils.cache.CacheLookupContext;
 
@@ -69,4 +71,16 @@ final class PolicyCommandFactory {
                                         .build()));
     }
 
+    /**
+     * Creates a sudo command for retrieving many policies at once.
+     *
+     * @param policyIds the policyIds.
+     * @return the created command.
+     */
+    static SudoRetrievePolicies sudoRetrievePolicies(final List<PolicyId> policyIds) {
+        return SudoRetrievePolicies.of(policyIds, DittoHeaders.newBuilder()
+                .correlationId("sudoRetrievePolicies-" + UUID.randomUUID())
+                .build());
+    }
+
 }
@@ -14,9 +14,15 @@ package org.eclipse.ditto.internal.utils.cacheloaders;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -27,9 +33,14 @@ import org.eclipse.ditto.internal.utils.cache.CacheKey;
 import org.eclipse.ditto.internal.utils.cache.CacheLookupContext;
 import org.eclipse.ditto.internal.utils.cache.entry.Entry;
 import org.eclipse.ditto.internal.utils.cacheloaders.config.AskWithRetryConfig;
+import org.eclipse.ditto.policies.api.PoliciesMessagingConstants;
+import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicies;
 import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicyResponse;
+import org.eclipse.ditto.policies.model.Policy;
 import org.eclipse.ditto.policies.model.PolicyConstants;
+import org.eclipse.ditto.policies.model.PolicyId;
 import org.eclipse.ditto.policies.model.PolicyRevision;
+import org.eclipse.ditto.policies.model.enforcers.Enforcer;
 import org.eclipse.ditto.policies.model.enforcers.PolicyEnforcers;
 import org.eclipse.ditto.policies.model.signals.commands.exceptions.PolicyNotAccessibleException;
 
@@ -37,14 +48,19 @@ import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 
 import akka.actor.ActorRef;
 import akka.actor.Scheduler;
+import akka.stream.Materializer;
 
 /**
  * Loads a policy-enforcer by asking the policies shard-region-proxy.
+ * If created with a PubSub mediator, many policy-enforcers are loaded at once with one {@link SudoRetrievePolicies}
+ * sent to the bulk retrieval actor of the policies service.
  */
 @Immutable
 public final class PolicyEnforcerCacheLoader implements AsyncCacheLoader<CacheKey, Entry<PolicyEnforcer>> {
 
     private final ActorAskCacheLoader<PolicyEnforcer, Command<?>> delegate;
+    @Nullable private final BulkRetrieval bulkRetrieval;
+    private final Function<Policy, Enforcer> evaluatorFactory;
 
     /**
      * Constructor.
@@ -55,16 +71,61 @@ public final class PolicyEnforcerCacheLoader implements AsyncCacheLoader<CacheKe
      */
     public PolicyEnforcerCacheLoader(final AskWithRetryConfig askWithRetryConfig,
             final Scheduler scheduler, final ActorRef policiesShardRegionProxy) {
+        this(askWithRetryConfig, scheduler, policiesShardRegionProxy, null, PolicyEnforcers::defaultEvaluator);
+    }
+
+    /**
+     * Constructor of a loader which creates the evaluators of the loaded policies with the given factory.
+     *
+     * @param askWithRetryConfig the configuration for the "ask with retry" pattern applied for the cache loader.
+     * @param scheduler the scheduler to use for the "ask with retry" for retries.
+     * @param policiesShardRegionProxy the shard-region-proxy.
+     * @param evaluatorFactory creates the evaluator of each loaded policy, e.g.
+     * {@link PolicyEnforcers#defaultEvaluator(Policy)}.
+     * @since 2.1.0
+     */
+    public PolicyEnforcerCacheLoader(final AskWithRetryConfig askWithRetryConfig,
+            final Scheduler scheduler, final ActorRef policiesShardRegionProxy,
+            final Function<Policy, Enforcer> evaluatorFactory) {
+        this(askWithRetryConfig, scheduler, policiesShardRegionProxy, null, requireNonNull(evaluatorFactory));
+    }
+
+    /**
+     * Constructor of a loader which loads many policy-enforcers with one command.
+     *
+     * @param askWithRetryConfig the configuration for the "ask with retry" pattern applied for the cache loader.
+     * @param scheduler the scheduler to use for the "ask with retry" for retries.
+     * @param policiesShardRegionProxy the shard-region-proxy.
+     * @param pubSubMediator the PubSub mediator to reach the bulk retrieval actor of the policies service with.
+     * @param materializer the materializer to consume the policies retrieved in bulk with.
+     * @param evaluatorFactory creates the evaluator of each loaded policy, e.g.
+     * {@link PolicyEnforcers#defaultEvaluator(Policy)}.
+     * @since 2.1.0
+     */
+    public PolicyEnforcerCacheLoader(final AskWithRetryConfig askWithRetryConfig,
+            final Scheduler scheduler, final ActorRef policiesShardRegionProxy, final ActorRef pubSubMediator,
+            final Materializer materializer, final Function<Policy, Enforcer> evaluatorFactory) {
+        this(askWithRetryConfig, scheduler, policiesShardRegionProxy,
+                new BulkRetrieval(askWithRetryConfig, scheduler, requireNonNull(pubSubMediator),
+                        PoliciesMessagingConstants.POLICIES_BULK_RETRIEVAL_ACTOR_PATH, requireNonNull(materializer)),
+                requireNonNull(evaluatorFactory));
+    }
+
+    private PolicyEnforcerCacheLoader(final AskWithRetryConfig askWithRetryConfig,
+            final Scheduler scheduler, final ActorRef policiesShardRegionProxy,
+            @Nullable final BulkRetrieval bulkRetrieval, final Function<Policy, Enforcer> evaluatorFactory) {
         requireNonNull(askWithRetryConfig);
         requireNonNull(policiesShardRegionProxy);
+        this.evaluatorFactory = evaluatorFactory;
 
         final BiFunction<EntityId, CacheLookupContext, Command<?>> commandCreator =
                 PolicyCommandFactory::sudoRetrievePolicy;
         final BiFunction<Object, CacheLookupContext, Entry<PolicyEnforcer>> responseTransformer =
-                PolicyEnforcerCacheLoader::handleSudoRetrievePolicyResponse;
+                this::handleSudoRetrievePolicyResponse;
 
         delegate = ActorAskCacheLoader.forShard(askWithRetryConfig, scheduler, PolicyConstants.ENTITY_TYPE,
                 policiesShardRegionProxy, commandCreator, responseTransformer);
+        this.bulkRetrieval = bulkRetrieval;
     }
 
     @Override
@@ -73,14 +134,38 @@ public final class PolicyEnforcerCacheLoader implements AsyncCacheLoader<CacheKe
         return delegate.asyncLoad(key, executor);
     }
 
-    private static Entry<PolicyEnforcer> handleSudoRetrievePolicyResponse(final Object response,
+    @Override
+    public CompletableFuture<Map<CacheKey, Entry<PolicyEnforcer>>> asyncLoadAll(final Set<? extends CacheKey> keys,
+            final Executor executor) {
+
+        if (null == bulkRetrieval) {
+            return BulkRetrieval.withSingleLoadsOfMissingKeys(keys, Map.of(), delegate, executor);
+        }
+        final List<PolicyId> policyIds = keys.stream()
+                .map(key -> PolicyId.of(key.getId()))
+                .distinct()
+                .collect(Collectors.toList());
+        return bulkRetrieval.retrieve(PolicyCommandFactory.sudoRetrievePolicies(policyIds), executor)
+                .thenCompose(responses -> {
+                    final Map<String, Entry<PolicyEnforcer>> retrievedEntries = new HashMap<>();
+                    for (final Object response : responses) {
+                        if (response instanceof SudoRetrievePolicyResponse) {
+                            final var policyId = ((SudoRetrievePolicyResponse) response).getEntityId();
+                            retrievedEntries.put(policyId.toString(), handleSudoRetrievePolicyResponse(response, null));
+                        }
+                    }
+                    return BulkRetrieval.withSingleLoadsOfMissingKeys(keys, retrievedEntries, delegate, executor);
+                });
+    }
+
+    private Entry<PolicyEnforcer> handleSudoRetrievePolicyResponse(final Object response,
             @Nullable final CacheLookupContext cacheLookupContext) {
         if (response instanceof SudoRetrievePolicyResponse) {
             final var sudoRetrievePolicyResponse = (SudoRetrievePolicyResponse) response;
             final var policy = sudoRetrievePolicyResponse.getPolicy();
             final long revision = policy.getRevision().map(PolicyRevision::toLong)
                     .orElseThrow(() -> new IllegalStateException("Bad SudoRetrievePolicyResponse: no revision"));
-            return Entry.of(revision, PolicyEnforcer.of(policy, PolicyEnforcers.defaultEvaluator(policy)));
+            return Entry.of(revision, PolicyEnforcer.of(policy, evaluatorFactory.apply(policy)));
         } else if (response instanceof PolicyNotAccessibleException) {
             return Entry.nonexistent();
         } else {
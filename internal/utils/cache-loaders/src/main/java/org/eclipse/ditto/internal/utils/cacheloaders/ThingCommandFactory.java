@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.internal.utils.cacheloaders;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,8 +20,10 @@ import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.entity.id.EntityId;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThing;
+import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThings;
 import org.eclipse.ditto.internal.utils.cache.CacheLookupContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,4 +78,18 @@ final class ThingCommandFactory {
         );
     }
 
+    /**
+     * Creates a sudo command for retrieving many things at once.
+     *
+     * @param thingIds the thingIds.
+     * @param selectedFields the fields to retrieve of each thing.
+     * @return the created command.
+     */
+    static SudoRetrieveThings sudoRetrieveThings(final List<ThingId> thingIds, final JsonFieldSelector selectedFields) {
+        LOGGER.debug("Sending SudoRetrieveThings for <{}> Things", thingIds.size());
+        return SudoRetrieveThings.of(thingIds, selectedFields, DittoHeaders.newBuilder()
+                .correlationId("sudoRetrieveThings-" + UUID.randomUUID())
+                .build());
+    }
+
 }
@@ -12,10 +12,15 @@
  */
 package org.eclipse.ditto.internal.utils.cacheloaders;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -26,8 +31,14 @@ import org.eclipse.ditto.internal.utils.cache.CacheKey;
 import org.eclipse.ditto.internal.utils.cache.CacheLookupContext;
 import org.eclipse.ditto.internal.utils.cache.entry.Entry;
 import org.eclipse.ditto.internal.utils.cacheloaders.config.AskWithRetryConfig;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.things.api.ThingsMessagingConstants;
 import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThingResponse;
+import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThings;
+import org.eclipse.ditto.things.model.Thing;
 import org.eclipse.ditto.things.model.ThingConstants;
+import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.model.ThingRevision;
 import org.eclipse.ditto.things.model.signals.commands.exceptions.ThingNotAccessibleException;
 
@@ -35,14 +46,21 @@ import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 
 import akka.actor.ActorRef;
 import akka.actor.Scheduler;
+import akka.stream.Materializer;
 
 /**
  * Loads entity ID relation for authorization of a Thing by asking the things-shard-region proxy.
+ * If created with a PubSub mediator, many entity ID relations are loaded at once with one {@link SudoRetrieveThings}
+ * sent to the bulk retrieval actor of the things service.
  */
 @Immutable
 public final class ThingEnforcementIdCacheLoader implements AsyncCacheLoader<CacheKey, Entry<CacheKey>> {
 
+    private static final JsonFieldSelector ENFORCEMENT_FIELDS = JsonFactory.newFieldSelector(Thing.JsonFields.ID,
+            Thing.JsonFields.POLICY_ID, Thing.JsonFields.REVISION);
+
     private final ActorAskCacheLoader<CacheKey, Command<?>> delegate;
+    @Nullable private final BulkRetrieval bulkRetrieval;
 
     /**
      * Constructor.
@@ -53,6 +71,30 @@ public final class ThingEnforcementIdCacheLoader implements AsyncCacheLoader<Cac
      */
     public ThingEnforcementIdCacheLoader(final AskWithRetryConfig askWithRetryConfig,
             final Scheduler scheduler, final ActorRef shardRegionProxy) {
+        this(askWithRetryConfig, scheduler, shardRegionProxy, null);
+    }
+
+    /**
+     * Constructor of a loader which loads many entity ID relations with one command.
+     *
+     * @param askWithRetryConfig the configuration for the "ask with retry" pattern applied for the cache loader.
+     * @param scheduler the scheduler to use for the "ask with retry" for retries.
+     * @param shardRegionProxy the shard-region-proxy.
+     * @param pubSubMediator the PubSub mediator to reach the bulk retrieval actor of the things service with.
+     * @param materializer the materializer to consume the things retrieved in bulk with.
+     * @since 2.1.0
+     */
+    public ThingEnforcementIdCacheLoader(final AskWithRetryConfig askWithRetryConfig,
+            final Scheduler scheduler, final ActorRef shardRegionProxy, final ActorRef pubSubMediator,
+            final Materializer materializer) {
+        this(askWithRetryConfig, scheduler, shardRegionProxy,
+                new BulkRetrieval(askWithRetryConfig, scheduler, pubSubMediator,
+                        ThingsMessagingConstants.THINGS_BULK_RETRIEVAL_ACTOR_PATH, materializer));
+    }
+
+    private ThingEnforcementIdCacheLoader(final AskWithRetryConfig askWithRetryConfig,
+            final Scheduler scheduler, final ActorRef shardRegionProxy, @Nullable final BulkRetrieval bulkRetrieval) {
+        this.bulkRetrieval = bulkRetrieval;
         final BiFunction<EntityId, CacheLookupContext, Command<?>> commandCreator =
                 ThingCommandFactory::sudoRetrieveThing;
         final BiFunction<Object, CacheLookupContext, Entry<CacheKey>> responseTransformer =
@@ -67,6 +109,32 @@ public final class ThingEnforcementIdCacheLoader implements AsyncCacheLoader<Cac
         return delegate.asyncLoad(key, executor);
     }
 
+    @Override
+    public CompletableFuture<Map<CacheKey, Entry<CacheKey>>> asyncLoadAll(final Set<? extends CacheKey> keys,
+            final Executor executor) {
+
+        if (null == bulkRetrieval) {
+            return BulkRetrieval.withSingleLoadsOfMissingKeys(keys, Map.of(), delegate, executor);
+        }
+        final List<ThingId> thingIds = keys.stream()
+                .map(key -> ThingId.of(key.getId()))
+                .distinct()
+                .collect(Collectors.toList());
+        return bulkRetrieval.retrieve(ThingCommandFactory.sudoRetrieveThings(thingIds, ENFORCEMENT_FIELDS), executor)
+                .thenCompose(responses -> {
+                    final Map<String, Entry<CacheKey>> retrievedEntries = new HashMap<>();
+                    for (final Object response : responses) {
+                        if (response instanceof SudoRetrieveThingResponse) {
+                            final var thingId = ((SudoRetrieveThingResponse) response).getThing()
+                                    .getEntityId()
+                                    .orElseThrow(badThingResponse("no ThingId"));
+                            retrievedEntries.put(thingId.toString(), handleSudoRetrieveThingResponse(response, null));
+                        }
+                    }
+                    return BulkRetrieval.withSingleLoadsOfMissingKeys(keys, retrievedEntries, delegate, executor);
+                });
+    }
+
     private static Entry<CacheKey> handleSudoRetrieveThingResponse(final Object response,
             @Nullable final CacheLookupContext cacheLookupContext) {
         if (response instanceof SudoRetrieveThingResponse) {
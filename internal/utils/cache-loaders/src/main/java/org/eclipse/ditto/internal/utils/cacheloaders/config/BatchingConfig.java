@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cacheloaders.config;
+
+import java.time.Duration;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.KnownConfigValue;
+
+/**
+ * Provides configuration settings for the {@link org.eclipse.ditto.internal.utils.cacheloaders.BatchingCacheLoader}.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public interface BatchingConfig {
+
+    /**
+     * Indicates whether cache misses are loaded in batches.
+     *
+     * @return whether batching is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns how long cache misses are gathered before they are loaded as one batch.
+     * A zero duration loads each miss without waiting for others.
+     *
+     * @return the batch window.
+     */
+    Duration getBatchWindow();
+
+    /**
+     * Returns the maximum number of cache misses in one batch. A full batch is loaded without waiting for the end of
+     * the batch window.
+     *
+     * @return the maximum batch size.
+     */
+    int getMaxBatchSize();
+
+    /**
+     * Returns the maximum number of batches loaded concurrently by one cache loader.
+     *
+     * @return the maximum number of batches in flight.
+     */
+    int getParallelism();
+
+    /**
+     * An enumeration of the known config path expressions and their associated default values for
+     * {@code BatchingConfig}.
+     */
+    enum BatchingConfigValue implements KnownConfigValue {
+
+        /**
+         * Whether cache misses are loaded in batches.
+         */
+        ENABLED("enabled", false),
+
+        /**
+         * How long cache misses are gathered before they are loaded as one batch.
+         */
+        BATCH_WINDOW("batch-window", Duration.ofMillis(5)),
+
+        /**
+         * The maximum number of cache misses in one batch.
+         */
+        MAX_BATCH_SIZE("max-batch-size", 100),
+
+        /**
+         * The maximum number of batches loaded concurrently.
+         */
+        PARALLELISM("parallelism", 64);
+
+        private final String path;
+        private final Object defaultValue;
+
+        BatchingConfigValue(final String thePath, final Object theDefaultValue) {
+            path = thePath;
+            defaultValue = theDefaultValue;
+        }
+
+        @Override
+        public String getConfigPath() {
+            return path;
+        }
+
+        @Override
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cacheloaders.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.ConfigWithFallback;
+
+import com.typesafe.config.Config;
+
+/**
+ * Default implementation of {@link org.eclipse.ditto.internal.utils.cacheloaders.config.BatchingConfig}.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class DefaultBatchingConfig implements BatchingConfig {
+
+    private final boolean enabled;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final int parallelism;
+
+    private DefaultBatchingConfig(final ConfigWithFallback configWithFallback) {
+        enabled = configWithFallback.getBoolean(BatchingConfigValue.ENABLED.getConfigPath());
+        batchWindow = configWithFallback.getNonNegativeDurationOrThrow(BatchingConfigValue.BATCH_WINDOW);
+        maxBatchSize = configWithFallback.getPositiveIntOrThrow(BatchingConfigValue.MAX_BATCH_SIZE);
+        parallelism = configWithFallback.getPositiveIntOrThrow(BatchingConfigValue.PARALLELISM);
+    }
+
+    /**
+     * Returns an instance of {@code DefaultBatchingConfig} based on the settings of the specified Config.
+     *
+     * @param config is supposed to provide the settings of the batching config at {@code configPath}.
+     * @param configPath the supposed path of the nested batching config settings.
+     * @return the instance.
+     * @throws org.eclipse.ditto.internal.utils.config.DittoConfigError if {@code config} is invalid.
+     */
+    public static DefaultBatchingConfig of(final Config config, final String configPath) {
+        return new DefaultBatchingConfig(
+                ConfigWithFallback.newInstance(config, configPath, BatchingConfigValue.values()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DefaultBatchingConfig that = (DefaultBatchingConfig) o;
+        return enabled == that.enabled &&
+                maxBatchSize == that.maxBatchSize &&
+                parallelism == that.parallelism &&
+                batchWindow.equals(that.batchWindow);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, batchWindow, maxBatchSize, parallelism);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "enabled=" + enabled +
+                ", batchWindow=" + batchWindow +
+                ", maxBatchSize=" + maxBatchSize +
+                ", parallelism=" + parallelism +
+                "]";
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cacheloaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.ditto.internal.utils.cache.CacheKey;
+import org.eclipse.ditto.internal.utils.cache.entry.Entry;
+import org.eclipse.ditto.internal.utils.cacheloaders.config.DefaultBatchingConfig;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Tests {@link BatchingCacheLoader}.
+ */
+public final class BatchingCacheLoaderTest {
+
+    private static final String SINGLY_LOADED = "singly loaded";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ConcurrentLinkedQueue<StartedBatch> startedBatches = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<CacheKey> requestedKeys = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<CacheKey> singlyLoadedKeys = new ConcurrentLinkedQueue<>();
+    private final AsyncCacheLoader<CacheKey, Entry<String>> delegate = new AsyncCacheLoader<>() {
+
+        @Override
+        public CompletableFuture<Entry<String>> asyncLoad(final CacheKey key, final Executor executor) {
+            singlyLoadedKeys.add(key);
+            return CompletableFuture.completedFuture(Entry.permanent(SINGLY_LOADED));
+        }
+
+        @Override
+        public CompletableFuture<Map<CacheKey, Entry<String>>> asyncLoadAll(final Set<? extends CacheKey> keys,
+                final Executor executor) {
+
+            final StartedBatch startedBatch = new StartedBatch(keys);
+            requestedKeys.addAll(keys);
+            startedBatches.add(startedBatch);
+            return startedBatch.future;
+        }
+    };
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void missesAreLoadedAsOneBatchAfterBatchWindow() throws Exception {
+        final BatchingCacheLoader<String> underTest = createLoader(Duration.ofMillis(200), 100, 100);
+
+        final CompletableFuture<Entry<String>> result1 = underTest.asyncLoad(key(1), executor);
+        final CompletableFuture<Entry<String>> result2 = underTest.asyncLoad(key(2), executor);
+        assertThat(requestedKeys).isEmpty();
+
+        completeStartedBatches(1);
+        assertThat(requestedKeys).containsExactly(key(1), key(2));
+        assertThat(result1.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(key(1).toString());
+        assertThat(result2.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(key(2).toString());
+    }
+
+    @Test
+    public void fullBatchIsLoadedWithoutWaitingForBatchWindow() throws Exception {
+        final BatchingCacheLoader<String> underTest = createLoader(Duration.ofHours(1), 3, 100);
+
+        final List<CompletableFuture<Entry<String>>> results = IntStream.range(0, 3)
+                .mapToObj(i -> underTest.asyncLoad(key(i), executor))
+                .collect(Collectors.toList());
+
+        completeStartedBatches(1);
+        for (final CompletableFuture<Entry<String>> result : results) {
+            assertThat(result.get(1, TimeUnit.SECONDS).exists()).isTrue();
+        }
+    }
+
+    @Test
+    public void batchesInFlightAreBounded() throws Exception {
+        final BatchingCacheLoader<String> underTest = createLoader(Duration.ZERO, 100, 2);
+
+        final List<CompletableFuture<Entry<String>>> results = IntStream.range(0, 5)
+                .mapToObj(i -> underTest.asyncLoad(key(i), executor))
+                .collect(Collectors.toList());
+
+        for (int loaded = 0; loaded < 5; loaded += 2) {
+            awaitStartedBatches(Math.min(2, 5 - loaded));
+            Thread.sleep(50L);
+            assertThat(startedBatches).hasSizeLessThanOrEqualTo(2);
+            completeStartedBatches(startedBatches.size());
+        }
+        for (final CompletableFuture<Entry<String>> result : results) {
+            assertThat(result.get(1, TimeUnit.SECONDS).exists()).isTrue();
+        }
+        assertThat(requestedKeys).hasSize(5);
+    }
+
+    @Test
+    public void loadsOfFailedBatchAreLoadedSinglyAndDoNotBlockOthers() throws Exception {
+        final BatchingCacheLoader<String> underTest = createLoader(Duration.ofMillis(50), 2, 1);
+
+        final CompletableFuture<Entry<String>> result1 = underTest.asyncLoad(key(1), executor);
+        final CompletableFuture<Entry<String>> result2 = underTest.asyncLoad(key(2), executor);
+        final CompletableFuture<Entry<String>> result3 = underTest.asyncLoad(key(3), executor);
+        awaitStartedBatches(1);
+        startedBatches.poll().future.completeExceptionally(new IllegalStateException("expected"));
+        completeStartedBatches(1);
+
+        assertThat(result1.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(SINGLY_LOADED);
+        assertThat(result2.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(SINGLY_LOADED);
+        assertThat(result3.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(key(3).toString());
+        assertThat(singlyLoadedKeys).containsExactlyInAnyOrder(key(1), key(2));
+    }
+
+    @Test
+    public void keyMissingFromBatchResultIsLoadedSingly() throws Exception {
+        final BatchingCacheLoader<String> underTest = createLoader(Duration.ofMillis(50), 100, 1);
+
+        final CompletableFuture<Entry<String>> result1 = underTest.asyncLoad(key(1), executor);
+        final CompletableFuture<Entry<String>> result2 = underTest.asyncLoad(key(2), executor);
+        awaitStartedBatches(1);
+        startedBatches.poll().future.complete(Map.of(key(1), Entry.permanent(key(1).toString())));
+
+        assertThat(result1.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(key(1).toString());
+        assertThat(result2.get(1, TimeUnit.SECONDS).getValueOrThrow()).isEqualTo(SINGLY_LOADED);
+        assertThat(singlyLoadedKeys).containsExactly(key(2));
+    }
+
+    @Test
+    public void loadAllCompletesWithAllEntries() throws Exception {
+        final BatchingCacheLoader<String> underTest = createLoader(Duration.ofMillis(10), 2, 100);
+        final Set<CacheKey> keys = Set.of(key(1), key(2), key(3));
+
+        final CompletableFuture<Map<CacheKey, Entry<String>>> result = underTest.asyncLoadAll(keys, executor);
+        completeStartedBatches(2);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).containsOnlyKeys(keys);
+    }
+
+    private BatchingCacheLoader<String> createLoader(final Duration batchWindow, final int maxBatchSize,
+            final int parallelism) {
+
+        return BatchingCacheLoader.of(delegate, DefaultBatchingConfig.of(ConfigFactory.parseMap(Map.of(
+                "batching.enabled", true,
+                "batching.batch-window", batchWindow.toMillis() + "ms",
+                "batching.max-batch-size", maxBatchSize,
+                "batching.parallelism", parallelism)), "batching"), "test");
+    }
+
+    private void completeStartedBatches(final int expectedBatches) throws InterruptedException, TimeoutException {
+        awaitStartedBatches(expectedBatches);
+        for (int i = 0; i < expectedBatches; i++) {
+            final StartedBatch startedBatch = startedBatches.poll();
+            final Map<CacheKey, Entry<String>> entries = new HashMap<>();
+            startedBatch.keys.forEach(key -> entries.put(key, Entry.permanent(key.toString())));
+            startedBatch.future.complete(entries);
+        }
+    }
+
+    private void awaitStartedBatches(final int expectedBatches) throws InterruptedException, TimeoutException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (startedBatches.size() < expectedBatches) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new TimeoutException("Expected " + expectedBatches + " batches, got " + startedBatches.size());
+            }
+            Thread.sleep(10L);
+        }
+    }
+
+    private static CacheKey key(final int i) {
+        return CacheKey.of(ThingId.of("org.eclipse.ditto", "thing-" + i));
+    }
+
+    private static final class StartedBatch {
+
+        private final Set<? extends CacheKey> keys;
+        private final CompletableFuture<Map<CacheKey, Entry<String>>> future;
+
+        private StartedBatch(final Set<? extends CacheKey> keys) {
+            this.keys = keys;
+            future = new CompletableFuture<>();
+        }
+
+    }
+
+}
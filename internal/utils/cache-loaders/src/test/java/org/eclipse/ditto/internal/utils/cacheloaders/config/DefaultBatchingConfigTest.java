@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cacheloaders.config;
+
+import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
+import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
+
+import java.time.Duration;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Unit test for {@link org.eclipse.ditto.internal.utils.cacheloaders.config.DefaultBatchingConfig}.
+ */
+public final class DefaultBatchingConfigTest {
+
+    private static final String KNOWN_CONFIG_PATH = "test-batching";
+
+    private static Config batchingTestConfig;
+
+    @Rule
+    public final JUnitSoftAssertions softly = new JUnitSoftAssertions();
+
+    @BeforeClass
+    public static void initTestFixture() {
+        batchingTestConfig = ConfigFactory.load("batching-test");
+    }
+
+    @Test
+    public void assertImmutability() {
+        assertInstancesOf(DefaultBatchingConfig.class, areImmutable());
+    }
+
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(DefaultBatchingConfig.class)
+                .usingGetClass()
+                .verify();
+    }
+
+    @Test
+    public void underTestReturnsDefaultValuesIfBaseConfigWasEmpty() {
+        final DefaultBatchingConfig underTest = DefaultBatchingConfig.of(ConfigFactory.empty(), KNOWN_CONFIG_PATH);
+
+        softly.assertThat(underTest.isEnabled())
+                .as(BatchingConfig.BatchingConfigValue.ENABLED.getConfigPath())
+                .isEqualTo(BatchingConfig.BatchingConfigValue.ENABLED.getDefaultValue());
+
+        softly.assertThat(underTest.getBatchWindow())
+                .as(BatchingConfig.BatchingConfigValue.BATCH_WINDOW.getConfigPath())
+                .isEqualTo(BatchingConfig.BatchingConfigValue.BATCH_WINDOW.getDefaultValue());
+
+        softly.assertThat(underTest.getMaxBatchSize())
+                .as(BatchingConfig.BatchingConfigValue.MAX_BATCH_SIZE.getConfigPath())
+                .isEqualTo(BatchingConfig.BatchingConfigValue.MAX_BATCH_SIZE.getDefaultValue());
+
+        softly.assertThat(underTest.getParallelism())
+                .as(BatchingConfig.BatchingConfigValue.PARALLELISM.getConfigPath())
+                .isEqualTo(BatchingConfig.BatchingConfigValue.PARALLELISM.getDefaultValue());
+    }
+
+    @Test
+    public void underTestReturnsValuesOfConfigFile() {
+        final DefaultBatchingConfig underTest = DefaultBatchingConfig.of(batchingTestConfig, KNOWN_CONFIG_PATH);
+
+        softly.assertThat(underTest.isEnabled())
+                .as(BatchingConfig.BatchingConfigValue.ENABLED.getConfigPath())
+                .isTrue();
+
+        softly.assertThat(underTest.getBatchWindow())
+                .as(BatchingConfig.BatchingConfigValue.BATCH_WINDOW.getConfigPath())
+                .isEqualTo(Duration.ofMillis(42));
+
+        softly.assertThat(underTest.getMaxBatchSize())
+                .as(BatchingConfig.BatchingConfigValue.MAX_BATCH_SIZE.getConfigPath())
+                .isEqualTo(77);
+
+        softly.assertThat(underTest.getParallelism())
+                .as(BatchingConfig.BatchingConfigValue.PARALLELISM.getConfigPath())
+                .isEqualTo(13);
+    }
+
+}
@@ -44,7 +44,6 @@ import org.eclipse.ditto.internal.utils.tracing.instruments.trace.StartedTrace;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonFieldDefinition;
 import org.eclipse.ditto.json.JsonObject;
-import org.eclipse.ditto.json.JsonObjectBuilder;
 import org.eclipse.ditto.json.JsonParseException;
 import org.eclipse.ditto.json.JsonRuntimeException;
 import org.eclipse.ditto.json.JsonValue;
@@ -145,7 +144,6 @@ public abstract class AbstractJsonifiableWithDittoHeadersSerializer extends Seri
     public void toBinary(final Object object, final ByteBuffer buf) {
         if (object instanceof Jsonifiable) {
             final Instant beforeSerializeInstant = Instant.now();
-            final JsonObjectBuilder jsonObjectBuilder = JsonObject.newBuilder();
             final DittoHeaders dittoHeaders = getDittoHeadersOrEmpty(object);
 
             final Context context = DittoTracing.extractTraceContext(dittoHeaders);
@@ -155,7 +153,7 @@ public abstract class AbstractJsonifiableWithDittoHeadersSerializer extends Seri
             final DittoHeaders dittoHeadersWithTraceContext =
                     DittoTracing.propagateContext(trace.getContext(), dittoHeaders);
 
-            jsonObjectBuilder.set(JSON_DITTO_HEADERS, dittoHeadersWithTraceContext.toJson());
+            final JsonObject dittoHeadersJson = dittoHeadersWithTraceContext.toJson();
 
             final JsonValue jsonValue;
 
@@ -168,22 +166,20 @@ public abstract class AbstractJsonifiableWithDittoHeadersSerializer extends Seri
                 jsonValue = ((Jsonifiable<?>) object).toJson();
             }
 
-            jsonObjectBuilder.set(JSON_PAYLOAD, jsonValue);
-            final JsonObject jsonObject = jsonObjectBuilder.build();
             try {
-                serializeIntoByteBuffer(jsonObject, buf);
-                LOG.trace("toBinary jsonStr about to send 'out': {}", jsonObject);
+                serializeIntoByteBuffer(dittoHeadersJson, jsonValue, buf);
+                LOG.trace("toBinary payload about to send 'out': {}", jsonValue);
                 outCounter.increment();
             } catch (final BufferOverflowException e) {
                 final String errorMessage = MessageFormat.format(
-                        "Could not put bytes of JSON string <{0}> into ByteBuffer due to BufferOverflow", jsonObject);
+                        "Could not put bytes of JSON string <{0}> into ByteBuffer due to BufferOverflow", jsonValue);
                 LOG.error(errorMessage, e);
                 trace.fail(e);
                 throw new IllegalArgumentException(errorMessage, e);
             } catch (final IOException e) {
                 final String errorMessage = MessageFormat.format(
                         "Serialization failed with {} on Jsonifiable with string representation <{}>",
-                        e.getClass().getName(), jsonObject);
+                        e.getClass().getName(), jsonValue);
                 LOG.warn(errorMessage, e);
                 trace.fail(e);
                 throw new RuntimeException(errorMessage, e);
@@ -198,6 +194,27 @@ public abstract class AbstractJsonifiableWithDittoHeadersSerializer extends Seri
         }
     }
 
+    /**
+     * Serializes the passed {@code dittoHeaders} and {@code payload} into the passed {@code byteBuffer}.
+     * The default implementation serializes a JSON object containing both with
+     * {@link #serializeIntoByteBuffer(JsonObject, ByteBuffer)}; subclasses may write both without creating that
+     * object.
+     *
+     * @param dittoHeaders the JSON representation of the DittoHeaders to serialize.
+     * @param payload the JSON representation of the Jsonifiable to serialize.
+     * @param byteBuffer the ByteBuffer to serialize into.
+     * @throws IOException in case writing to the ByteBuffer fails.
+     */
+    protected void serializeIntoByteBuffer(final JsonObject dittoHeaders, final JsonValue payload,
+            final ByteBuffer byteBuffer) throws IOException {
+
+        final JsonObject jsonObject = JsonObject.newBuilder()
+                .set(JSON_DITTO_HEADERS, dittoHeaders)
+                .set(JSON_PAYLOAD, payload)
+                .build();
+        serializeIntoByteBuffer(jsonObject, byteBuffer);
+    }
+
     /**
      * Serializes the passed {@code jsonObject} into the passed {@code byteBuffer}.
      *
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cluster;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.json.BinaryJsonCodec;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import akka.actor.ExtendedActorSystem;
+
+/**
+ * Serializer of Eclipse Ditto for Jsonifiables via the compact binary format of {@link BinaryJsonCodec}.
+ * <p>
+ * Common keys of Ditto signals and the names of the Ditto headers are encoded by their index in a key dictionary which
+ * may be extended by configuration. All members of a cluster must use the same key dictionary, i.e. the same Ditto
+ * version and configuration; messages encoded with another key dictionary are rejected.
+ * </p>
+ */
+public final class BinaryJsonifiableSerializer extends AbstractJsonifiableWithDittoHeadersSerializer {
+
+    private static final int UNIQUE_IDENTIFIER = 413370913;
+
+    private static final String CONFIG_ADDITIONAL_DICTIONARY_KEYS =
+            "akka.actor.serializers-binary.additional-dictionary-keys";
+
+    private static final Config FALLBACK_CONF = ConfigFactory.empty()
+            .withValue(CONFIG_ADDITIONAL_DICTIONARY_KEYS, ConfigValueFactory.fromIterable(List.of()));
+
+    private static final List<String> COMMON_KEYS = List.of(
+            "dittoHeaders",
+            "payload",
+            "type",
+            "status",
+            "revision",
+            "timestamp",
+            "metadata",
+            "thingId",
+            "policyId",
+            "definition",
+            "attributes",
+            "features",
+            "properties",
+            "desiredProperties",
+            "thing",
+            "things",
+            "thingIds",
+            "policy",
+            "entries",
+            "subjects",
+            "resources",
+            "grant",
+            "revoke",
+            "resource",
+            "path",
+            "value",
+            "_revision",
+            "_modified",
+            "_created",
+            "_metadata",
+            "_namespace",
+            "_policy",
+            "entityId",
+            "entityType",
+            "error",
+            "message",
+            "description",
+            "href",
+            "selectedFields",
+            "namespace",
+            "__schemaVersion",
+            "__lifecycle"
+    );
+
+    private final BinaryJsonCodec binaryJsonCodec;
+
+    /**
+     * Constructs a new {@code BinaryJsonifiableSerializer} object.
+     *
+     * @param actorSystem the ExtendedActorSystem to use in order to dynamically load mapping strategies in parent.
+     */
+    public BinaryJsonifiableSerializer(final ExtendedActorSystem actorSystem) {
+        super(UNIQUE_IDENTIFIER, actorSystem, ManifestProvider.getInstance(), "BINARY");
+        final Config config = actorSystem.settings().config().withFallback(FALLBACK_CONF);
+        binaryJsonCodec = BinaryJsonCodec.of(getKeyDictionary(config.getStringList(CONFIG_ADDITIONAL_DICTIONARY_KEYS)));
+    }
+
+    /**
+     * Returns the key dictionary consisting of the common keys, the names of the Ditto headers and the given
+     * additional keys.
+     *
+     * @param additionalKeys the configured additional keys.
+     * @return the key dictionary.
+     */
+    static List<String> getKeyDictionary(final List<String> additionalKeys) {
+        final List<String> result = new ArrayList<>(COMMON_KEYS);
+        for (final DittoHeaderDefinition headerDefinition : DittoHeaderDefinition.values()) {
+            result.add(headerDefinition.getKey());
+        }
+        result.addAll(additionalKeys);
+        return result;
+    }
+
+    @Override
+    protected void serializeIntoByteBuffer(final JsonObject jsonObject, final ByteBuffer byteBuffer) {
+        binaryJsonCodec.writeTo(jsonObject, byteBuffer);
+    }
+
+    @Override
+    protected JsonValue deserializeFromByteBuffer(final ByteBuffer byteBuffer) {
+        return binaryJsonCodec.readFrom(byteBuffer);
+    }
+
+}
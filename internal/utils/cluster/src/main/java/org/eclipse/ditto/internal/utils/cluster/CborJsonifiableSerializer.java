@@ -15,7 +15,10 @@ package org.eclipse.ditto.internal.utils.cluster;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
 import org.eclipse.ditto.json.CborFactory;
+import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonValue;
 
@@ -23,13 +26,27 @@ import akka.actor.ExtendedActorSystem;
 
 /**
  * Serializer of Eclipse Ditto for Jsonifiables via CBOR-based {@code ditto-json}.
+ * <p>
+ * A payload whose CBOR representation is already known, e.g. because it was received as CBOR and forwarded
+ * unmodified, is written as it is. The metric {@code cbor_serializer_passthrough} counts how often this is the case
+ * ({@code result=hit}) and how often the payload has to be encoded ({@code result=fallback}).
+ * </p>
  */
 public final class CborJsonifiableSerializer extends AbstractJsonifiableWithDittoHeadersSerializer {
 
     private static final int UNIQUE_IDENTIFIER = 656329405;
 
+    // CBOR header of a map with two entries: major type 5, length 2
+    private static final byte CBOR_MAP_WITH_TWO_ENTRIES = (byte) 0xA2;
+
+    private static final String METRIC_NAME_PASSTHROUGH = "cbor_serializer_passthrough";
+    private static final String METRIC_RESULT = "result";
 
     private final CborFactory cborFactory;
+    private final byte[] dittoHeadersKey;
+    private final byte[] payloadKey;
+    private final Counter passthroughHitCounter;
+    private final Counter passthroughFallbackCounter;
 
     /**
      * Constructs a new {@code CborJsonifiableSerializer} object.
@@ -40,6 +57,37 @@ public final class CborJsonifiableSerializer extends AbstractJsonifiableWithDitt
         super(UNIQUE_IDENTIFIER, actorSystem, ManifestProvider.getInstance(), "CBOR");
         final var cborFactoryLoader = CborFactoryLoader.getInstance();
         cborFactory = cborFactoryLoader.getCborFactoryOrThrow();
+        dittoHeadersKey = toCborString(cborFactory, "dittoHeaders");
+        payloadKey = toCborString(cborFactory, "payload");
+        passthroughHitCounter = DittoMetrics.counter(METRIC_NAME_PASSTHROUGH).tag(METRIC_RESULT, "hit");
+        passthroughFallbackCounter = DittoMetrics.counter(METRIC_NAME_PASSTHROUGH).tag(METRIC_RESULT, "fallback");
+    }
+
+    private static byte[] toCborString(final CborFactory cborFactory, final String string) {
+        try {
+            return cborFactory.toByteArray(JsonValue.of(string));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not encode <" + string + "> as CBOR!", e);
+        }
+    }
+
+    @Override
+    protected void serializeIntoByteBuffer(final JsonObject dittoHeaders, final JsonValue payload,
+            final ByteBuffer byteBuffer) throws IOException {
+
+        // write the map of headers and payload directly, so the payload is not copied into an enclosing JSON object
+        byteBuffer.put(CBOR_MAP_WITH_TWO_ENTRIES);
+        byteBuffer.put(dittoHeadersKey);
+        cborFactory.writeToByteBuffer(dittoHeaders, byteBuffer);
+        byteBuffer.put(payloadKey);
+        if (payload.isObject() || payload.isArray()) {
+            if (null != JsonFactory.getCachedCborRepresentation(payload)) {
+                passthroughHitCounter.increment();
+            } else {
+                passthroughFallbackCounter.increment();
+            }
+        }
+        cborFactory.writeToByteBuffer(payload, byteBuffer);
     }
 
     @Override
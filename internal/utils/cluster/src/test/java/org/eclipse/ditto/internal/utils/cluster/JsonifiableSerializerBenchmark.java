@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.cluster;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.base.model.auth.AuthorizationContext;
+import org.eclipse.ditto.base.model.auth.AuthorizationSubject;
+import org.eclipse.ditto.base.model.auth.DittoAuthorizationContextType;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.signals.GlobalErrorRegistry;
+import org.eclipse.ditto.base.model.signals.commands.GlobalCommandResponseRegistry;
+import org.eclipse.ditto.base.model.signals.events.GlobalEventRegistry;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.things.model.Feature;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThingResponse;
+import org.eclipse.ditto.things.model.signals.events.FeaturePropertyModified;
+import org.eclipse.ditto.things.model.signals.events.ThingCreated;
+import org.eclipse.ditto.things.model.signals.events.ThingMerged;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ExtendedActorSystem;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * JMH Benchmark comparing {@link JsonJsonifiableSerializer}, {@link CborJsonifiableSerializer} and
+ * {@link BinaryJsonifiableSerializer} for representative thing events and a {@code RetrieveThingResponse}.
+ * The serialized size of each message is printed during setup.
+ * Build with {@code mvn clean package -Pbuild-benchmark-assembly} and run the resulting benchmark JAR.
+ */
+@State(Scope.Benchmark)
+public class JsonifiableSerializerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int WARMUP_TIME = 1000;
+    private static final int MEASUREMENT_TIME = 1000;
+
+    private static final int FEATURE_COUNT = 10;
+    private static final int PROPERTIES_PER_FEATURE = 20;
+
+    @Param({"JSON", "CBOR", "BINARY"})
+    public String serializerName;
+
+    @Param({"ThingCreated", "FeaturePropertyModified", "ThingMerged", "RetrieveThingResponse"})
+    public String messageName;
+
+    private ExtendedActorSystem actorSystem;
+    private AbstractJsonifiableWithDittoHeadersSerializer serializer;
+    private Object message;
+    private String manifest;
+    private byte[] serializedMessage;
+    private ByteBuffer byteBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        actorSystem = (ExtendedActorSystem) ExtendedActorSystem.create("benchmark", ConfigFactory.parseMap(
+                Map.of("ditto.mapping-strategy.implementation", BenchmarkMappingStrategies.class.getName())));
+        serializer = createSerializer(serializerName, actorSystem);
+        message = createMessage(messageName);
+        manifest = serializer.manifest(message);
+        serializedMessage = serializer.toBinary(message);
+        byteBuffer = ByteBuffer.allocateDirect(64 * 1024);
+        System.out.printf("%n%s serialized by %s: %d bytes%n", messageName, serializerName,
+                serializedMessage.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TestKit.shutdownActorSystem(actorSystem);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public ByteBuffer serialize() {
+        byteBuffer.clear();
+        serializer.toBinary(message, byteBuffer);
+        return byteBuffer;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public Object deserialize() {
+        return serializer.fromBinary(serializedMessage, manifest);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public Object serializeAndDeserialize() {
+        return serializer.fromBinary(serializer.toBinary(message), manifest);
+    }
+
+    private static AbstractJsonifiableWithDittoHeadersSerializer createSerializer(final String serializerName,
+            final ExtendedActorSystem actorSystem) {
+
+        switch (serializerName) {
+            case "JSON":
+                return new JsonJsonifiableSerializer(actorSystem);
+            case "CBOR":
+                return new CborJsonifiableSerializer(actorSystem);
+            case "BINARY":
+                return new BinaryJsonifiableSerializer(actorSystem);
+            default:
+                throw new IllegalArgumentException("Unknown serializer: " + serializerName);
+        }
+    }
+
+    private static Object createMessage(final String messageName) {
+        final ThingId thingId = ThingId.of("org.eclipse.ditto", "benchmark-thing");
+        final DittoHeaders dittoHeaders = DittoHeaders.newBuilder()
+                .correlationId("benchmark-correlation-id-4711")
+                .authorizationContext(AuthorizationContext.newInstance(DittoAuthorizationContextType.JWT,
+                        AuthorizationSubject.newInstance("integration:benchmark-user")))
+                .readGrantedSubjects(List.of(AuthorizationSubject.newInstance("integration:reader")))
+                .responseRequired(false)
+                .build();
+        final Instant timestamp = Instant.parse("2021-06-01T12:00:00Z");
+        final Thing thing = createThing(thingId);
+        switch (messageName) {
+            case "ThingCreated":
+                return ThingCreated.of(thing, 1L, timestamp, dittoHeaders, null);
+            case "FeaturePropertyModified":
+                return FeaturePropertyModified.of(thingId, "feature-3", JsonPointer.of("property-7"),
+                        JsonObject.newBuilder().set("value", 23.5).set("unit", "celsius").build(), 42L, timestamp,
+                        dittoHeaders, null);
+            case "ThingMerged":
+                return ThingMerged.of(thingId, JsonPointer.of("features/feature-3/properties"),
+                        JsonObject.newBuilder()
+                                .set("property-7", JsonObject.newBuilder().set("value", 23.5).build())
+                                .set("property-8", JsonValue.nullLiteral())
+                                .build(), 42L, timestamp, dittoHeaders, null);
+            case "RetrieveThingResponse":
+                return RetrieveThingResponse.of(thingId, thing.toJson(), dittoHeaders);
+            default:
+                throw new IllegalArgumentException("Unknown message: " + messageName);
+        }
+    }
+
+    private static Thing createThing(final ThingId thingId) {
+        final var thingBuilder = Thing.newBuilder()
+                .setId(thingId)
+                .setPolicyId(PolicyId.of(thingId.getNamespace(), "benchmark-policy"))
+                .setAttribute(JsonPointer.of("manufacturer"), JsonValue.of("ACME"))
+                .setAttribute(JsonPointer.of("location"), JsonObject.newBuilder()
+                        .set("latitude", 48.1351)
+                        .set("longitude", 11.582)
+                        .build());
+        for (int i = 0; i < FEATURE_COUNT; i++) {
+            final var propertiesBuilder = JsonObject.newBuilder();
+            for (int j = 0; j < PROPERTIES_PER_FEATURE; j++) {
+                propertiesBuilder.set("property-" + j, JsonObject.newBuilder()
+                        .set("value", i * 100 + j)
+                        .set("lastUpdate", 1622548800 + j)
+                        .set("valid", true)
+                        .build());
+            }
+            thingBuilder.setFeature(Feature.newBuilder()
+                    .properties(propertiesBuilder.build())
+                    .withId("feature-" + i)
+                    .build());
+        }
+        return thingBuilder.build();
+    }
+
+    public static final class BenchmarkMappingStrategies extends MappingStrategies {
+
+        public BenchmarkMappingStrategies() {
+            super(MappingStrategiesBuilder.newInstance()
+                    .add(GlobalErrorRegistry.getInstance())
+                    .add(GlobalEventRegistry.getInstance())
+                    .add(GlobalCommandResponseRegistry.getInstance())
+                    .build());
+        }
+
+    }
+
+}
@@ -49,7 +49,8 @@ import akka.actor.ExtendedActorSystem;
 import akka.testkit.javadsl.TestKit;
 
 /**
- * Unit test for {@link JsonJsonifiableSerializer} and {@link CborJsonifiableSerializer}.
+ * Unit test for {@link JsonJsonifiableSerializer}, {@link CborJsonifiableSerializer} and
+ * {@link BinaryJsonifiableSerializer}.
  */
 @RunWith(Enclosed.class)
 public final class SharedJsonifiableSerializerTest {
@@ -67,6 +68,12 @@ public final class SharedJsonifiableSerializerTest {
             public AbstractJsonifiableWithDittoHeadersSerializer getInstance(final ExtendedActorSystem actorSystem) {
                 return new CborJsonifiableSerializer(actorSystem);
             }
+        },
+        BINARY_JSONIFIABLE_SERIALIZER {
+            @Override
+            public AbstractJsonifiableWithDittoHeadersSerializer getInstance(final ExtendedActorSystem actorSystem) {
+                return new BinaryJsonifiableSerializer(actorSystem);
+            }
         };
 
         abstract AbstractJsonifiableWithDittoHeadersSerializer getInstance(ExtendedActorSystem actorSystem);
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.persistence.mongo.config;
+
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.ConfigWithFallback;
+import org.eclipse.ditto.internal.utils.config.ScopedConfig;
+
+import com.typesafe.config.Config;
+
+/**
+ * This class implements the config for pipelined persistence of events.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class DefaultPipelinedPersistenceConfig implements PipelinedPersistenceConfig {
+
+    private static final String CONFIG_PATH = "pipelined-persistence";
+
+    private final boolean enabled;
+    private final int maxEventsInFlight;
+
+    private DefaultPipelinedPersistenceConfig(final ScopedConfig config) {
+        enabled = config.getBoolean(PipelinedPersistenceConfigValue.ENABLED.getConfigPath());
+        maxEventsInFlight = config.getPositiveIntOrThrow(PipelinedPersistenceConfigValue.MAX_EVENTS_IN_FLIGHT);
+    }
+
+    /**
+     * Returns an instance of the default pipelined persistence config based on the settings of the specified Config.
+     *
+     * @param config is supposed to provide the settings of the pipelined persistence config at {@value #CONFIG_PATH}.
+     * @return instance
+     * @throws org.eclipse.ditto.internal.utils.config.DittoConfigError if {@code config} is invalid.
+     */
+    public static DefaultPipelinedPersistenceConfig of(final Config config) {
+        return new DefaultPipelinedPersistenceConfig(
+                ConfigWithFallback.newInstance(config, CONFIG_PATH, PipelinedPersistenceConfigValue.values()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public int getMaxEventsInFlight() {
+        return maxEventsInFlight;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DefaultPipelinedPersistenceConfig that = (DefaultPipelinedPersistenceConfig) o;
+        return enabled == that.enabled && maxEventsInFlight == that.maxEventsInFlight;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, maxEventsInFlight);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "enabled=" + enabled +
+                ", maxEventsInFlight=" + maxEventsInFlight +
+                "]";
+    }
+
+}
@@ -32,10 +32,16 @@ public final class DefaultSnapshotConfig implements SnapshotConfig {
 
     private final Duration interval;
     private final long threshold;
+    private final boolean snapshotOnPassivation;
+    private final long recoveryEventBudget;
+    private final Duration recoveryTimeBudget;
 
     private DefaultSnapshotConfig(final ScopedConfig config) {
         interval = config.getNonNegativeAndNonZeroDurationOrThrow(SnapshotConfigValue.INTERVAL);
         threshold = config.getPositiveLongOrThrow((SnapshotConfigValue.THRESHOLD));
+        snapshotOnPassivation = config.getBoolean(SnapshotConfigValue.SNAPSHOT_ON_PASSIVATION.getConfigPath());
+        recoveryEventBudget = config.getNonNegativeLongOrThrow(SnapshotConfigValue.RECOVERY_EVENT_BUDGET);
+        recoveryTimeBudget = config.getNonNegativeDurationOrThrow(SnapshotConfigValue.RECOVERY_TIME_BUDGET);
     }
 
     /**
@@ -60,6 +66,21 @@ public final class DefaultSnapshotConfig implements SnapshotConfig {
         return threshold;
     }
 
+    @Override
+    public boolean isSnapshotOnPassivation() {
+        return snapshotOnPassivation;
+    }
+
+    @Override
+    public long getRecoveryEventBudget() {
+        return recoveryEventBudget;
+    }
+
+    @Override
+    public Duration getRecoveryTimeBudget() {
+        return recoveryTimeBudget;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -69,12 +90,16 @@ public final class DefaultSnapshotConfig implements SnapshotConfig {
             return false;
         }
         final DefaultSnapshotConfig that = (DefaultSnapshotConfig) o;
-        return threshold == that.threshold && Objects.equals(interval, that.interval);
+        return threshold == that.threshold &&
+                snapshotOnPassivation == that.snapshotOnPassivation &&
+                recoveryEventBudget == that.recoveryEventBudget &&
+                Objects.equals(interval, that.interval) &&
+                Objects.equals(recoveryTimeBudget, that.recoveryTimeBudget);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(interval, threshold);
+        return Objects.hash(interval, threshold, snapshotOnPassivation, recoveryEventBudget, recoveryTimeBudget);
     }
 
     @Override
@@ -82,6 +107,9 @@ public final class DefaultSnapshotConfig implements SnapshotConfig {
         return getClass().getSimpleName() + " [" +
                 "interval=" + interval +
                 ", threshold=" + threshold +
+                ", snapshotOnPassivation=" + snapshotOnPassivation +
+                ", recoveryEventBudget=" + recoveryEventBudget +
+                ", recoveryTimeBudget=" + recoveryTimeBudget +
                 "]";
     }
 
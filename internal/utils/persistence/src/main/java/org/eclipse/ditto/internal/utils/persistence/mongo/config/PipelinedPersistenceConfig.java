@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.persistence.mongo.config;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.KnownConfigValue;
+
+/**
+ * Provides configuration settings for pipelined persistence of events: commands arriving while events are being
+ * written are applied to the entity speculatively and their events are written together with the events in flight.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public interface PipelinedPersistenceConfig {
+
+    /**
+     * Returns whether events are persisted pipelined.
+     *
+     * @return whether pipelined persistence is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the maximum number of events of an entity which may be written at the same time.
+     * Commands arriving while this many events are in flight wait until all of them are written.
+     *
+     * @return the maximum number of events in flight.
+     */
+    int getMaxEventsInFlight();
+
+    /**
+     * An enumeration of the known config path expressions and their associated default values for
+     * {@code PipelinedPersistenceConfig}.
+     */
+    enum PipelinedPersistenceConfigValue implements KnownConfigValue {
+
+        /**
+         * Whether events are persisted pipelined.
+         */
+        ENABLED("enabled", false),
+
+        /**
+         * The maximum number of events of an entity which may be written at the same time.
+         */
+        MAX_EVENTS_IN_FLIGHT("max-events-in-flight", 100);
+
+        private final String path;
+        private final Object defaultValue;
+
+        PipelinedPersistenceConfigValue(final String thePath, final Object theDefaultValue) {
+            path = thePath;
+            defaultValue = theDefaultValue;
+        }
+
+        @Override
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        @Override
+        public String getConfigPath() {
+            return path;
+        }
+
+    }
+
+}
@@ -38,6 +38,32 @@ public interface SnapshotConfig {
      */
     long getThreshold();
 
+    /**
+     * Returns whether to do a snapshot for an entity with changes since its last snapshot when it is passivated.
+     *
+     * @return whether to snapshot on passivation.
+     * @since 2.1.0
+     */
+    boolean isSnapshotOnPassivation();
+
+    /**
+     * Returns the number of replayed events after which the recovery of an entity is followed by a snapshot.
+     * A value of 0 disables the event budget.
+     *
+     * @return the recovery event budget.
+     * @since 2.1.0
+     */
+    long getRecoveryEventBudget();
+
+    /**
+     * Returns the recovery duration after which the recovery of an entity is followed by a snapshot.
+     * A duration of 0 disables the time budget.
+     *
+     * @return the recovery time budget.
+     * @since 2.1.0
+     */
+    Duration getRecoveryTimeBudget();
+
     /**
      * An enumeration of the known config path expressions and their associated default values for
      * {@code SnapshotConfig}.
@@ -52,7 +78,22 @@ public interface SnapshotConfig {
         /**
          * The threshold after how many changes to an entity to do a snapshot.
          */
-        THRESHOLD("threshold", 500L);
+        THRESHOLD("threshold", 500L),
+
+        /**
+         * Whether to do a snapshot for an entity with changes since its last snapshot when it is passivated.
+         */
+        SNAPSHOT_ON_PASSIVATION("snapshot-on-passivation", false),
+
+        /**
+         * The number of replayed events after which the recovery of an entity is followed by a snapshot.
+         */
+        RECOVERY_EVENT_BUDGET("recovery-event-budget", 0L),
+
+        /**
+         * The recovery duration after which the recovery of an entity is followed by a snapshot.
+         */
+        RECOVERY_TIME_BUDGET("recovery-time-budget", Duration.ZERO);
 
         private final String path;
         private final Object defaultValue;
@@ -15,8 +15,10 @@ package org.eclipse.ditto.internal.utils.persistence.mongo.streaming;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -124,17 +126,28 @@ public final class MongoReadJournal {
      */
     public static final String S_SN = SnapshottingFieldNames$.MODULE$.SEQUENCE_NUMBER();
 
-    private static final String S_SERIALIZED_SNAPSHOT = "s2";
+    /**
+     * Document field of the serialized snapshot.
+     */
+    public static final String S_SERIALIZED_SNAPSHOT = "s2";
 
     /**
      * Document field of lifecycle of snapshots.
      */
     public static final String LIFECYCLE = "__lifecycle";
 
-    private static final String J_EVENT = JournallingFieldNames$.MODULE$.EVENTS();
+    /**
+     * Document field of the events of a journal entry.
+     */
+    public static final String J_EVENT = JournallingFieldNames$.MODULE$.EVENTS();
     public static final String J_EVENT_PID = JournallingFieldNames$.MODULE$.PROCESSOR_ID();
     public static final String J_EVENT_MANIFEST = JournallingFieldNames$.MODULE$.MANIFEST();
-    private static final String J_EVENT_SN = JournallingFieldNames$.MODULE$.SEQUENCE_NUMBER();
+    public static final String J_EVENT_SN = JournallingFieldNames$.MODULE$.SEQUENCE_NUMBER();
+
+    /**
+     * Field of the serialized event in an element of {@link #J_EVENT}.
+     */
+    public static final String J_EVENT_PAYLOAD = JournallingFieldNames$.MODULE$.PayloadKey();
 
     private static final Duration MAX_BACK_OFF_DURATION = Duration.ofSeconds(128L);
 
@@ -391,6 +404,56 @@ public final class MongoReadJournal {
                 .mapConcat(pids -> pids);
     }
 
+    /**
+     * Retrieve the newest snapshot of each of the given PIDs with one query.
+     * Each document contains the PID in {@link #S_ID}, the sequence number in {@link #S_SN} and the serialized
+     * snapshot in {@link #S_SERIALIZED_SNAPSHOT}. PIDs without snapshot are absent.
+     *
+     * @param pids the PIDs.
+     * @return source of the newest snapshots.
+     * @since 2.1.0
+     */
+    public Source<Document, NotUsed> getNewestSnapshotsOf(final Collection<String> pids) {
+        if (pids.isEmpty()) {
+            return Source.empty();
+        }
+        final List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.in(S_PROCESSOR_ID, pids)),
+                Aggregates.sort(Sorts.orderBy(Sorts.ascending(S_PROCESSOR_ID), Sorts.descending(S_SN))),
+                Aggregates.group("$" + S_PROCESSOR_ID,
+                        Accumulators.first(S_SN, "$" + S_SN),
+                        Accumulators.first(S_SERIALIZED_SNAPSHOT, "$" + S_SERIALIZED_SNAPSHOT))
+        );
+        return getSnapshotStore()
+                .flatMapConcat(snaps -> Source.fromPublisher(snaps.aggregate(pipeline)));
+    }
+
+    /**
+     * Retrieve the journal entries of the given PIDs containing events above the given sequence numbers with one
+     * query, ordered by PID and sequence number.
+     * The events of each journal entry are in the field {@link #J_EVENT}; journal entries may also contain events
+     * at or below the given sequence number.
+     *
+     * @param pidsWithSeqNo the PIDs with the sequence number above which to retrieve events.
+     * @return source of the journal entries.
+     * @since 2.1.0
+     */
+    public Source<Document, NotUsed> getJournalEntriesAbove(final Map<String, Long> pidsWithSeqNo) {
+        if (pidsWithSeqNo.isEmpty()) {
+            return Source.empty();
+        }
+        final List<Bson> filters = pidsWithSeqNo.entrySet()
+                .stream()
+                .map(entry -> Filters.and(Filters.eq(J_PROCESSOR_ID, entry.getKey()),
+                        Filters.gt(J_TO, entry.getValue())))
+                .collect(Collectors.toList());
+        return getJournal()
+                .flatMapConcat(journal -> Source.fromPublisher(
+                        journal.find(Filters.or(filters))
+                                .sort(Sorts.orderBy(Sorts.ascending(J_PROCESSOR_ID), Sorts.ascending(J_TO)))
+                ));
+    }
+
     /**
      * Find the smallest event sequence number of a PID.
      *
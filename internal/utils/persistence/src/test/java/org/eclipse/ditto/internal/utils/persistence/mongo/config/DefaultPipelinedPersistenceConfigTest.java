@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.persistence.mongo.config;
+
+import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
+import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Unit test for {@link DefaultPipelinedPersistenceConfig}.
+ */
+public final class DefaultPipelinedPersistenceConfigTest {
+
+    private static Config pipelinedPersistenceTestConf;
+
+    @Rule
+    public final JUnitSoftAssertions softly = new JUnitSoftAssertions();
+
+    @BeforeClass
+    public static void initTestFixture() {
+        pipelinedPersistenceTestConf = ConfigFactory.load("pipelined-persistence-test");
+    }
+
+    @Test
+    public void assertImmutability() {
+        assertInstancesOf(DefaultPipelinedPersistenceConfig.class, areImmutable());
+    }
+
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(DefaultPipelinedPersistenceConfig.class)
+                .usingGetClass()
+                .verify();
+    }
+
+    @Test
+    public void underTestReturnsDefaultValuesIfBaseConfigWasEmpty() {
+        final DefaultPipelinedPersistenceConfig underTest = DefaultPipelinedPersistenceConfig.of(ConfigFactory.empty());
+
+        softly.assertThat(underTest.isEnabled())
+                .as(PipelinedPersistenceConfig.PipelinedPersistenceConfigValue.ENABLED.getConfigPath())
+                .isEqualTo(PipelinedPersistenceConfig.PipelinedPersistenceConfigValue.ENABLED.getDefaultValue());
+        softly.assertThat(underTest.getMaxEventsInFlight())
+                .as(PipelinedPersistenceConfig.PipelinedPersistenceConfigValue.MAX_EVENTS_IN_FLIGHT.getConfigPath())
+                .isEqualTo(PipelinedPersistenceConfig.PipelinedPersistenceConfigValue.MAX_EVENTS_IN_FLIGHT
+                        .getDefaultValue());
+    }
+
+    @Test
+    public void underTestReturnsValuesOfConfigFile() {
+        final DefaultPipelinedPersistenceConfig underTest =
+                DefaultPipelinedPersistenceConfig.of(pipelinedPersistenceTestConf);
+
+        softly.assertThat(underTest.isEnabled())
+                .as(PipelinedPersistenceConfig.PipelinedPersistenceConfigValue.ENABLED.getConfigPath())
+                .isTrue();
+        softly.assertThat(underTest.getMaxEventsInFlight())
+                .as(PipelinedPersistenceConfig.PipelinedPersistenceConfigValue.MAX_EVENTS_IN_FLIGHT.getConfigPath())
+                .isEqualTo(7);
+    }
+
+}
@@ -65,6 +65,15 @@ public final class DefaultSnapshotConfigTest {
         softly.assertThat(underTest.getThreshold())
                 .as(SnapshotConfig.SnapshotConfigValue.THRESHOLD.getConfigPath())
                 .isEqualTo(SnapshotConfig.SnapshotConfigValue.THRESHOLD.getDefaultValue());
+        softly.assertThat(underTest.isSnapshotOnPassivation())
+                .as(SnapshotConfig.SnapshotConfigValue.SNAPSHOT_ON_PASSIVATION.getConfigPath())
+                .isEqualTo(SnapshotConfig.SnapshotConfigValue.SNAPSHOT_ON_PASSIVATION.getDefaultValue());
+        softly.assertThat(underTest.getRecoveryEventBudget())
+                .as(SnapshotConfig.SnapshotConfigValue.RECOVERY_EVENT_BUDGET.getConfigPath())
+                .isEqualTo(SnapshotConfig.SnapshotConfigValue.RECOVERY_EVENT_BUDGET.getDefaultValue());
+        softly.assertThat(underTest.getRecoveryTimeBudget())
+                .as(SnapshotConfig.SnapshotConfigValue.RECOVERY_TIME_BUDGET.getConfigPath())
+                .isEqualTo(SnapshotConfig.SnapshotConfigValue.RECOVERY_TIME_BUDGET.getDefaultValue());
     }
 
     @Test
@@ -77,5 +86,14 @@ public final class DefaultSnapshotConfigTest {
         softly.assertThat(underTest.getThreshold())
                 .as(SnapshotConfig.SnapshotConfigValue.THRESHOLD.getConfigPath())
                 .isEqualTo(2);
+        softly.assertThat(underTest.isSnapshotOnPassivation())
+                .as(SnapshotConfig.SnapshotConfigValue.SNAPSHOT_ON_PASSIVATION.getConfigPath())
+                .isFalse();
+        softly.assertThat(underTest.getRecoveryEventBudget())
+                .as(SnapshotConfig.SnapshotConfigValue.RECOVERY_EVENT_BUDGET.getConfigPath())
+                .isEqualTo(50L);
+        softly.assertThat(underTest.getRecoveryTimeBudget())
+                .as(SnapshotConfig.SnapshotConfigValue.RECOVERY_TIME_BUDGET.getConfigPath())
+                .isEqualTo(Duration.ofMillis(250L));
     }
 }
@@ -13,6 +13,11 @@
 package org.eclipse.ditto.internal.utils.persistentactors;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -20,6 +25,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.base.model.entity.id.EntityId;
+import org.eclipse.ditto.base.model.entity.type.EntityType;
 import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.base.model.exceptions.DittoRuntimeExceptionBuilder;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
@@ -30,8 +36,14 @@ import org.eclipse.ditto.base.model.signals.events.Event;
 import org.eclipse.ditto.internal.utils.akka.PingCommand;
 import org.eclipse.ditto.internal.utils.akka.PingCommandResponse;
 import org.eclipse.ditto.internal.utils.akka.logging.DittoDiagnosticLoggingAdapter;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.histogram.Histogram;
+import org.eclipse.ditto.internal.utils.metrics.instruments.timer.PreparedTimer;
+import org.eclipse.ditto.internal.utils.metrics.instruments.timer.StartedTimer;
 import org.eclipse.ditto.internal.utils.persistence.SnapshotAdapter;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.ActivityCheckConfig;
+import org.eclipse.ditto.internal.utils.persistence.mongo.config.DefaultPipelinedPersistenceConfig;
+import org.eclipse.ditto.internal.utils.persistence.mongo.config.PipelinedPersistenceConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.SnapshotConfig;
 import org.eclipse.ditto.internal.utils.persistentactors.commands.CommandStrategy;
 import org.eclipse.ditto.internal.utils.persistentactors.events.EventStrategy;
@@ -43,13 +55,23 @@ import org.eclipse.ditto.internal.utils.tracing.TracingTags;
 import org.eclipse.ditto.internal.utils.tracing.instruments.trace.StartedTrace;
 import org.eclipse.ditto.json.JsonValue;
 
+import com.typesafe.config.ConfigFactory;
+
 import akka.actor.ActorRef;
+import akka.japi.Pair;
 import akka.japi.pf.ReceiveBuilder;
+import akka.persistence.JournalProtocol;
+import akka.persistence.Persistence;
+import akka.persistence.PersistentRepr;
+import akka.persistence.Recovery;
 import akka.persistence.RecoveryCompleted;
 import akka.persistence.RecoveryTimedOut;
 import akka.persistence.SaveSnapshotFailure;
 import akka.persistence.SaveSnapshotSuccess;
+import akka.persistence.SelectedSnapshot;
 import akka.persistence.SnapshotOffer;
+import akka.persistence.SnapshotProtocol;
+import akka.persistence.SnapshotSelectionCriteria;
 import scala.Option;
 
 /**
@@ -75,9 +97,20 @@ public abstract class AbstractShardedPersistenceActor<
      */
     public static final String JOURNAL_TAG_ALWAYS_ALIVE = "always-alive";
 
+    private static final String RECOVERY_TIMER = "recovery_time";
+    private static final String RECOVERY_EVENTS_HISTOGRAM = "recovery_events";
+    private static final String ENTITY_TYPE_TAG = "entity_type";
+
+    private static final PipelinedPersistenceConfig PIPELINED_PERSISTENCE_DISABLED =
+            DefaultPipelinedPersistenceConfig.of(ConfigFactory.empty());
+
+    private static final Map<EntityType, RecoveryMetrics> RECOVERY_METRICS = new ConcurrentHashMap<>();
+
     private final SnapshotAdapter<S> snapshotAdapter;
     private final Receive handleEvents;
     private final Receive handleCleanups;
+    private final RecoveryMetrics recoveryMetrics;
+    private final StartedTimer recoveryTimer;
     private long lastSnapshotRevision;
     private long confirmedSnapshotRevision;
 
@@ -94,6 +127,28 @@ public abstract class AbstractShardedPersistenceActor<
 
     private long accessCounter = 0L;
 
+    /**
+     * Number of events persisted pipelined whose write is not yet confirmed by the journal.
+     */
+    private int eventsInFlight = 0;
+
+    /**
+     * Senders and headers of the commands whose replies wait for events in flight, in the order of the replies.
+     */
+    private final Deque<Pair<ActorRef, DittoHeaders>> repliesAfterEventsInFlight = new ArrayDeque<>();
+
+    /**
+     * Why a snapshot was requested while events were in flight, or null if none was requested.
+     */
+    @Nullable
+    private String snapshotReasonAfterEventsInFlight = null;
+
+    /**
+     * State kept when the entity was passivated, from which this actor is rehydrated at the end of recovery.
+     */
+    @Nullable
+    private PassivatedEntity<S> passivatedEntity = null;
+
     /**
      * Instantiate the actor.
      *
@@ -117,6 +172,8 @@ public abstract class AbstractShardedPersistenceActor<
                 .build();
 
         handleCleanups = super.createReceive();
+        recoveryMetrics = RECOVERY_METRICS.computeIfAbsent(entityId.getEntityType(), RecoveryMetrics::new);
+        recoveryTimer = recoveryMetrics.timer.start();
     }
 
     /**
@@ -170,6 +227,39 @@ public abstract class AbstractShardedPersistenceActor<
      */
     protected abstract SnapshotConfig getSnapshotConfig();
 
+    /**
+     * @return configuration for pipelined persistence of events; disabled unless overridden.
+     * @since 2.1.0
+     */
+    protected PipelinedPersistenceConfig getPipelinedPersistenceConfig() {
+        return PIPELINED_PERSISTENCE_DISABLED;
+    }
+
+    /**
+     * Keep the state of the entity when this actor is passivated so that the next actor of the entity on this node
+     * can be rehydrated from it. Does nothing by default.
+     *
+     * @param passivatedEntity the state of the entity.
+     * @since 2.1.0
+     */
+    protected void keepPassivatedEntity(final PassivatedEntity<S> passivatedEntity) {
+        // does nothing by default
+    }
+
+    /**
+     * Take the state of the entity kept when its previous actor on this node was passivated. If present, recovery
+     * neither loads a snapshot nor replays events but only reads the highest sequence number of the journal; the
+     * kept state is used if its revision equals that sequence number, otherwise it is discarded and the entity is
+     * recovered from its latest snapshot and the journal.
+     * Returns an empty optional by default.
+     *
+     * @return the kept state of the entity, if any.
+     * @since 2.1.0
+     */
+    protected Optional<PassivatedEntity<S>> takePassivatedEntity() {
+        return Optional.empty();
+    }
+
     /**
      * Check if the entity exists and is deleted. This is a sufficient condition to make a snapshot before stopping.
      *
@@ -182,6 +272,12 @@ public abstract class AbstractShardedPersistenceActor<
      */
     protected abstract DittoRuntimeExceptionBuilder<?> newNotAccessibleExceptionBuilder();
 
+    /**
+     * @return An exception builder to respond to commands whose events could not be persisted.
+     * @since 2.1.0
+     */
+    protected abstract DittoRuntimeExceptionBuilder<?> newUnavailableExceptionBuilder();
+
     /**
      * Publish an event.
      *
@@ -238,7 +334,8 @@ public abstract class AbstractShardedPersistenceActor<
      * @return the current revision number for event handling.
      */
     protected long getRevisionNumber() {
-        return lastSequenceNr();
+        // lastSequenceNr only advances when a write succeeds; count pipelined events which are still being written
+        return lastSequenceNr() + eventsInFlight;
     }
 
     @Override
@@ -254,6 +351,7 @@ public abstract class AbstractShardedPersistenceActor<
 
     @Override
     public void onRecoveryFailure(final Throwable cause, final Option<Object> event) {
+        stopRecoveryTimer();
         log.error(cause, "Recovery Failure for entity with ID <{}>", entityId);
     }
 
@@ -271,11 +369,145 @@ public abstract class AbstractShardedPersistenceActor<
                         log.warning("RecoveryTimeout occurred during recovery for entity with ID {}", entityId)
                 )
                 // # Recovery handling
-                .match(RecoveryCompleted.class, this::recoveryCompleted)
+                .match(RecoveryCompleted.class, this::completeRecovery)
                 .matchAny(m -> log.warning("Unknown recover message: {}", m))
                 .build());
     }
 
+    @Override
+    public Recovery recovery() {
+        passivatedEntity = takePassivatedEntity().orElse(null);
+        if (null != passivatedEntity) {
+            return Recovery.none();
+        } else {
+            return super.recovery();
+        }
+    }
+
+    private void completeRecovery(final RecoveryCompleted event) {
+        if (null != passivatedEntity) {
+            rehydrate(passivatedEntity, event);
+            passivatedEntity = null;
+        } else {
+            finishRecovery(event, getRevisionNumber() - lastSnapshotRevision);
+        }
+    }
+
+    private void rehydrate(final PassivatedEntity<S> kept, final RecoveryCompleted event) {
+        final long journalRevision = getRevisionNumber();
+        if (kept.getRevision() == journalRevision) {
+            entity = kept.getEntity();
+            lastSnapshotRevision = kept.getSnapshotRevision();
+            log.debug("Rehydrated entity <{}> at revision <{}>.", entityId, journalRevision);
+            finishRecovery(event, 0L);
+        } else {
+            // events the kept state missed may be deleted after a snapshot made elsewhere; recover as usual
+            log.info("Entity <{}> kept at revision <{}> differs from the journal at <{}>. Discarding it.",
+                    entityId, kept.getRevision(), journalRevision);
+            recoverFromSnapshotAndJournal(journalRevision, event);
+        }
+    }
+
+    private void recoverFromSnapshotAndJournal(final long journalRevision, final RecoveryCompleted event) {
+        final ActorRef snapshotStore = Persistence.get(getContext().getSystem())
+                .snapshotStoreFor(snapshotPluginId(), ConfigFactory.empty());
+        snapshotStore.tell(new SnapshotProtocol.LoadSnapshot(persistenceId(), SnapshotSelectionCriteria.latest(),
+                journalRevision), getSelf());
+        getContext().become(ReceiveBuilder.create()
+                .match(SnapshotProtocol.LoadSnapshotResult.class, result -> {
+                    final Option<SelectedSnapshot> snapshot = result.snapshot();
+                    if (snapshot.isDefined()) {
+                        recoverFromSnapshotOffer(SnapshotOffer.apply(snapshot.get().metadata(),
+                                snapshot.get().snapshot()));
+                    }
+                    replayEvents(lastSnapshotRevision, journalRevision, event);
+                })
+                .match(SnapshotProtocol.LoadSnapshotFailed.class, failure ->
+                        stopAfterFailedRecovery(failure.cause(), "Failed to load snapshot"))
+                .matchAny(message -> stash())
+                .build());
+    }
+
+    private void replayEvents(final long fromRevision, final long toRevision, final RecoveryCompleted event) {
+        if (fromRevision >= toRevision) {
+            unstashAll();
+            finishRecovery(event, 0L);
+            return;
+        }
+        final ActorRef journal = Persistence.get(getContext().getSystem())
+                .journalFor(journalPluginId(), ConfigFactory.empty());
+        journal.tell(new JournalProtocol.ReplayMessages(fromRevision + 1, toRevision, toRevision - fromRevision,
+                persistenceId(), getSelf()), getSelf());
+        final long[] replayedRevision = {fromRevision};
+        getContext().become(ReceiveBuilder.create()
+                .match(JournalProtocol.ReplayedMessage.class, replayed -> {
+                    final PersistentRepr persistentRepr = replayed.persistent();
+                    if (persistentRepr.sequenceNr() == replayedRevision[0] + 1) {
+                        applyReplayedEvent(persistentRepr);
+                        replayedRevision[0] = persistentRepr.sequenceNr();
+                    } else {
+                        // stop at the first gap; the success message reports the incomplete replay
+                        log.error("Replayed event <{}> of entity <{}> does not follow revision <{}>.",
+                                persistentRepr.sequenceNr(), entityId, replayedRevision[0]);
+                    }
+                })
+                .match(JournalProtocol.RecoverySuccess.class, success -> {
+                    if (replayedRevision[0] == toRevision) {
+                        unstashAll();
+                        finishRecovery(event, toRevision - fromRevision);
+                    } else {
+                        stopAfterFailedRecovery(null, String.format("Replayed events up to <%d> instead of <%d>",
+                                replayedRevision[0], toRevision));
+                    }
+                })
+                .match(JournalProtocol.ReplayMessagesFailure.class, failure ->
+                        stopAfterFailedRecovery(failure.cause(), "Failed to replay events"))
+                .matchAny(message -> stash())
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyReplayedEvent(final PersistentRepr persistentRepr) {
+        final Object payload = persistentRepr.payload();
+        if (getEventClass().isInstance(payload)) {
+            entity = getEventStrategy().handle((E) payload, entity, persistentRepr.sequenceNr());
+        }
+    }
+
+    private void stopAfterFailedRecovery(@Nullable final Throwable cause, final String reason) {
+        if (null != cause) {
+            log.error(cause, "{} of entity <{}>. Stopping.", reason, entityId);
+        } else {
+            log.error("{} of entity <{}>. Stopping.", reason, entityId);
+        }
+        stopRecoveryTimer();
+        getContext().stop(getSelf());
+    }
+
+    private void finishRecovery(final RecoveryCompleted event, final long recoveredEvents) {
+        final Duration recoveryTime = recoveryTimer.stop().getDuration();
+        recoveryMetrics.eventsHistogram.record(recoveredEvents);
+        recoveryCompleted(event);
+        if (isRecoveryBudgetExceeded(recoveredEvents, recoveryTime)) {
+            takeSnapshot(String.format("recovery replayed <%d> events in <%s>", recoveredEvents, recoveryTime));
+        }
+    }
+
+    private void stopRecoveryTimer() {
+        if (recoveryTimer.isRunning()) {
+            recoveryTimer.stop();
+        }
+    }
+
+    private boolean isRecoveryBudgetExceeded(final long recoveredEvents, final Duration recoveryTime) {
+        final SnapshotConfig snapshotConfig = getSnapshotConfig();
+        final long eventBudget = snapshotConfig.getRecoveryEventBudget();
+        final Duration timeBudget = snapshotConfig.getRecoveryTimeBudget();
+        return recoveredEvents > 0 &&
+                (eventBudget > 0 && recoveredEvents >= eventBudget ||
+                        !timeBudget.isZero() && recoveryTime.compareTo(timeBudget) >= 0);
+    }
+
     /**
      * Start handling messages for an existing entity and schedule maintenance messages to self.
      */
@@ -383,6 +615,9 @@ public abstract class AbstractShardedPersistenceActor<
             takeSnapshot("the entity is deleted and has no up-to-date snapshot");
         } else if (accessCounter > message.accessCounter) {
             log.debug("Entity <{}> was accessed since last activity check, preventing Actor shutdown.", entityId);
+        } else if (eventsInFlight > 0) {
+            log.debug("Entity <{}> has <{}> events being persisted, preventing Actor shutdown.", entityId,
+                    eventsInFlight);
         } else if (isEntityActive() && isEntityAlwaysAlive()) {
             log.debug("Entity <{}> is active and marked as 'always-alive', preventing Actor shutdown.", entityId);
         } else {
@@ -404,8 +639,16 @@ public abstract class AbstractShardedPersistenceActor<
 
     /**
      * Request parent to shutdown this actor gracefully in a thread-safe manner.
+     * Changes since the last snapshot are snapshotted first if configured, so that the next recovery is cheap,
+     * and the state of the entity is offered to {@link #keepPassivatedEntity(PassivatedEntity)}.
      */
     protected void passivate() {
+        if (getSnapshotConfig().isSnapshotOnPassivation()) {
+            takeSnapshot("the entity is passivated");
+        }
+        if (null != entity && eventsInFlight == 0) {
+            keepPassivatedEntity(PassivatedEntity.of(entity, getRevisionNumber(), lastSnapshotRevision));
+        }
         getContext().getParent().tell(AbstractPersistenceSupervisor.Control.PASSIVATE, getSelf());
     }
 
@@ -481,30 +724,67 @@ public abstract class AbstractShardedPersistenceActor<
     public void onMutation(final Command<?> command, final E event, final WithDittoHeaders response,
             final boolean becomeCreated, final boolean becomeDeleted) {
 
-        persistAndApplyEvent(event, (persistedEvent, resultingEntity) -> {
-            if (shouldSendResponse(command.getDittoHeaders())) {
-                notifySender(response);
-            }
-            if (becomeDeleted) {
-                becomeDeletedHandler();
-            }
-            if (becomeCreated) {
-                becomeCreatedHandler();
-            }
-        });
+        if (!becomeCreated && !becomeDeleted && shouldPersistPipelined(event)) {
+            final ActorRef sender = getSender();
+            final boolean shouldSendResponse = shouldSendResponse(command.getDittoHeaders());
+            repliesAfterEventsInFlight.addLast(Pair.create(sender, command.getDittoHeaders()));
+            persistAndApplyEventPipelined(event, persistedEvent -> {
+                if (shouldSendResponse) {
+                    notifySender(sender, response);
+                }
+            });
+        } else {
+            persistAndApplyEvent(event, (persistedEvent, resultingEntity) -> {
+                if (shouldSendResponse(command.getDittoHeaders())) {
+                    notifySender(response);
+                }
+                if (becomeDeleted) {
+                    becomeDeletedHandler();
+                }
+                if (becomeCreated) {
+                    becomeCreatedHandler();
+                }
+            });
+        }
     }
 
     @Override
     public void onQuery(final Command<?> command, final WithDittoHeaders response) {
         if (command.getDittoHeaders().isResponseRequired()) {
-            notifySender(response);
+            notifySenderAfterEventsInFlight(response);
         }
     }
 
     @Override
     public void onError(final DittoRuntimeException error, final Command<?> errorCausingCommand) {
         if (shouldSendResponse(errorCausingCommand.getDittoHeaders())) {
-            notifySender(error);
+            notifySenderAfterEventsInFlight(error);
+        }
+    }
+
+    @Override
+    public void onPersistRejected(final Throwable cause, final Object event, final long seqNr) {
+        super.onPersistRejected(cause, event, seqNr);
+        if (eventsInFlight > 0) {
+            // the entity contains events which will never be persisted; recover it from the journal instead
+            log.error("Stopping entity <{}> after rejected event: <{}> events were applied before being persisted.",
+                    entityId, eventsInFlight);
+            replyUnavailableAfterEventsInFlight();
+            getContext().stop(getSelf());
+        }
+    }
+
+    /**
+     * Reply to the commands waiting for events in flight, including the rejected one, that their events will not be
+     * persisted. Their replies would otherwise be dropped by stopping the actor.
+     */
+    private void replyUnavailableAfterEventsInFlight() {
+        Pair<ActorRef, DittoHeaders> reply;
+        while (null != (reply = repliesAfterEventsInFlight.pollFirst())) {
+            final DittoHeaders dittoHeaders = reply.second();
+            if (shouldSendResponse(dittoHeaders)) {
+                notifySender(reply.first(), newUnavailableExceptionBuilder().dittoHeaders(dittoHeaders).build());
+            }
         }
     }
 
@@ -550,8 +830,74 @@ public abstract class AbstractShardedPersistenceActor<
         });
     }
 
+    private boolean shouldPersistPipelined(final E event) {
+        final PipelinedPersistenceConfig config = getPipelinedPersistenceConfig();
+        return config.isEnabled() && eventsInFlight < config.getMaxEventsInFlight() &&
+                !event.getDittoHeaders().isDryRun();
+    }
+
+    /**
+     * Persist an event without waiting for the journal and apply it to the entity right away, so that commands
+     * arriving during the write are handled against the resulting state and their events are written in the same
+     * journal batch. The handler, event publishing and snapshots wait until the event is persisted.
+     *
+     * @param event the event to persist and apply.
+     * @param handler what happens after the event is persisted.
+     */
+    private void persistAndApplyEventPipelined(final E event, final Consumer<E> handler) {
+        final E modifiedEvent = modifyEventBeforePersist(event);
+        final DittoDiagnosticLoggingAdapter l = log.withCorrelationId(modifiedEvent);
+        l.debug("Persisting Event <{}> pipelined after <{}> events in flight.", modifiedEvent.getType(),
+                eventsInFlight);
+
+        final StartedTrace persistTrace = DittoTracing.trace(modifiedEvent, "persist.event")
+                .tag(TracingTags.SIGNAL_TYPE, modifiedEvent.getType())
+                .start();
+
+        final long revision = getNextRevisionNumber();
+        eventsInFlight++;
+        persistAsync(modifiedEvent, persistedEvent -> {
+            eventsInFlight--;
+            repliesAfterEventsInFlight.pollFirst();
+            l.info("Successfully persisted Event <{}> w/ rev: <{}>.", persistedEvent.getType(), revision);
+            persistTrace.finish();
+
+            publishEvent(persistedEvent);
+            handler.accept(persistedEvent);
+            onEntityModified();
+
+            if (eventsInFlight == 0 && null != snapshotReasonAfterEventsInFlight) {
+                takeSnapshot(snapshotReasonAfterEventsInFlight);
+            } else if (snapshotThresholdPassed()) {
+                takeSnapshot("snapshot threshold is reached");
+            }
+        });
+        handleEvents.onMessage().apply(modifiedEvent);
+    }
+
+    private void notifySenderAfterEventsInFlight(final WithDittoHeaders message) {
+        if (eventsInFlight > 0) {
+            // the message may depend on events not persisted yet
+            final ActorRef sender = getSender();
+            repliesAfterEventsInFlight.addLast(Pair.create(sender, message.getDittoHeaders()));
+            deferAsync(message, m -> {
+                repliesAfterEventsInFlight.pollFirst();
+                notifySender(sender, m);
+            });
+        } else {
+            notifySender(message);
+        }
+    }
+
     private void takeSnapshot(final String reason) {
         final long revision = getRevisionNumber();
+        if (eventsInFlight > 0) {
+            log.debug("Deferring snapshot for entity <{}> with <{}> events in flight because {}.", entityId,
+                    eventsInFlight, reason);
+            snapshotReasonAfterEventsInFlight = reason;
+            return;
+        }
+        snapshotReasonAfterEventsInFlight = null;
         if (entity != null && lastSnapshotRevision != revision) {
             log.debug("Taking snapshot for entity with ID <{}> and sequence number <{}> because {}.", entityId,
                     revision,
@@ -696,4 +1042,20 @@ public abstract class AbstractShardedPersistenceActor<
         }
     }
 
+    /**
+     * Recovery metrics of an entity type, looked up once and shared by all persistence actors of the type.
+     */
+    private static final class RecoveryMetrics {
+
+        private final PreparedTimer timer;
+        private final Histogram eventsHistogram;
+
+        private RecoveryMetrics(final EntityType entityType) {
+            timer = DittoMetrics.timer(RECOVERY_TIMER).tag(ENTITY_TYPE_TAG, entityType.toString());
+            eventsHistogram = DittoMetrics.histogram(RECOVERY_EVENTS_HISTOGRAM)
+                    .tag(ENTITY_TYPE_TAG, entityType.toString());
+        }
+
+    }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.persistentactors;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * State of an entity kept when its persistence actor was passivated, from which the next persistence actor of the
+ * entity may be rehydrated instead of recovered from snapshot and journal.
+ *
+ * @param <S> the type of the entity.
+ * @since 2.1.0
+ */
+@Immutable
+public final class PassivatedEntity<S> {
+
+    private final S entity;
+    private final long revision;
+    private final long snapshotRevision;
+
+    private PassivatedEntity(final S entity, final long revision, final long snapshotRevision) {
+        this.entity = checkNotNull(entity, "entity");
+        this.revision = revision;
+        this.snapshotRevision = snapshotRevision;
+    }
+
+    /**
+     * Create the kept state of a passivated entity.
+     *
+     * @param entity the entity.
+     * @param revision the sequence number of the last event applied to the entity.
+     * @param snapshotRevision the sequence number of the last snapshot of the entity.
+     * @param <S> the type of the entity.
+     * @return the kept state.
+     * @throws NullPointerException if {@code entity} is {@code null}.
+     */
+    public static <S> PassivatedEntity<S> of(final S entity, final long revision, final long snapshotRevision) {
+        return new PassivatedEntity<>(entity, revision, snapshotRevision);
+    }
+
+    /**
+     * @return the entity.
+     */
+    public S getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the sequence number of the last event applied to the entity.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return the sequence number of the last snapshot of the entity.
+     */
+    public long getSnapshotRevision() {
+        return snapshotRevision;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PassivatedEntity<?> that = (PassivatedEntity<?>) o;
+        return revision == that.revision &&
+                snapshotRevision == that.snapshotRevision &&
+                Objects.equals(entity, that.entity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entity, revision, snapshotRevision);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "entity=" + entity +
+                ", revision=" + revision +
+                ", snapshotRevision=" + snapshotRevision +
+                "]";
+    }
+
+}
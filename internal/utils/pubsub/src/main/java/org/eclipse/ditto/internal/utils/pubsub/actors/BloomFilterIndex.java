@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub.actors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.ack.Grouped;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.compressed.DeltaCompressedSubscriptions;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+
+import akka.actor.ActorRef;
+import akka.japi.Pair;
+
+/**
+ * Index of the hashed topics of the subscribers in one key of the compressed distributed data.
+ * There is one subscriber per cluster member; each subscriber has a Bloom filter of its topics so that a topic is
+ * checked against a subscriber by one filter probe, and an exact index of its topics which is consulted only for
+ * topics passing the filter.
+ * <p>
+ * The index is updated incrementally: only subscribers whose grouped topics changed are touched, only grouped topics
+ * not seen before are deserialized, and new topics are added to the Bloom filter. The Bloom filter of a subscriber is
+ * rebuilt only when it is over capacity or when more topics were removed since it was built than it contains.
+ * </p>
+ * <p>
+ * Grouped topics replicated as deltas by {@link DeltaCompressedSubscriptions} are counted like any other grouped
+ * topics, except that deltas removing topics count negatively.
+ * </p>
+ */
+@NotThreadSafe
+final class BloomFilterIndex {
+
+    private static final String PROBES = "pubsub-topic-filter-probes";
+    private static final String RESULT_TAG = "result";
+
+    private final double falsePositiveRate;
+    private final Map<ActorRef, SubscriberTopics> subscriberTopicsMap;
+    private final Counter negativeCounter;
+    private final Counter truePositiveCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter rebuildCounter;
+
+    private BloomFilterIndex(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        subscriberTopicsMap = new HashMap<>();
+        negativeCounter = DittoMetrics.counter(PROBES).tag(RESULT_TAG, "negative");
+        truePositiveCounter = DittoMetrics.counter(PROBES).tag(RESULT_TAG, "true_positive");
+        falsePositiveCounter = DittoMetrics.counter(PROBES).tag(RESULT_TAG, "false_positive");
+        rebuildCounter = DittoMetrics.counter("pubsub-topic-filter-rebuilds");
+    }
+
+    /**
+     * Create an empty index.
+     *
+     * @param falsePositiveRate the false positive rate of the Bloom filters of the subscribers.
+     * @return the index.
+     */
+    static BloomFilterIndex of(final double falsePositiveRate) {
+        return new BloomFilterIndex(falsePositiveRate);
+    }
+
+    /**
+     * Update the index to the current content of its distributed data key.
+     *
+     * @param subscriberToGroupedTopics the serialized grouped hashed topics of each subscriber.
+     * @return how many subscribers changed.
+     */
+    int update(final Map<ActorRef, ? extends Collection<String>> subscriberToGroupedTopics) {
+        int changedSubscribers = 0;
+        final Iterator<Map.Entry<ActorRef, SubscriberTopics>> iterator = subscriberTopicsMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (!subscriberToGroupedTopics.containsKey(iterator.next().getKey())) {
+                iterator.remove();
+                changedSubscribers++;
+            }
+        }
+        for (final Map.Entry<ActorRef, ? extends Collection<String>> entry : subscriberToGroupedTopics.entrySet()) {
+            final SubscriberTopics subscriberTopics =
+                    subscriberTopicsMap.computeIfAbsent(entry.getKey(), subscriber -> new SubscriberTopics());
+            if (subscriberTopics.update(entry.getValue())) {
+                changedSubscribers++;
+            }
+        }
+        return changedSubscribers;
+    }
+
+    /**
+     * Collect the subscribers of hashed topics with their groups, once for each topic they subscribed to.
+     *
+     * @param topicHashes the hashed topics.
+     * @param matches where to add the subscribers with their groups.
+     */
+    void collectMatches(final Collection<Long> topicHashes, final List<Pair<ActorRef, Set<String>>> matches) {
+        subscriberTopicsMap.forEach((subscriber, subscriberTopics) -> {
+            for (final Long topicHash : topicHashes) {
+                if (subscriberTopics.filter.mightContain(topicHash)) {
+                    final Map<String, Integer> groupCounts = subscriberTopics.topicToGroupCounts.get(topicHash);
+                    if (null != groupCounts) {
+                        truePositiveCounter.increment();
+                        matches.add(Pair.create(subscriber, groupCounts.keySet()));
+                    } else {
+                        falsePositiveCounter.increment();
+                    }
+                } else {
+                    negativeCounter.increment();
+                }
+            }
+        });
+    }
+
+    /**
+     * Estimate the highest false positive rate among the Bloom filters of the subscribers.
+     *
+     * @return the estimated false positive rate.
+     */
+    double estimateMaxFalsePositiveRate() {
+        return subscriberTopicsMap.values()
+                .stream()
+                .mapToDouble(subscriberTopics -> subscriberTopics.filter.estimateFalsePositiveRate())
+                .max()
+                .orElse(0.0);
+    }
+
+    /**
+     * Topics of one subscriber.
+     */
+    private final class SubscriberTopics {
+
+        private final Map<String, Grouped<Long>> groupedTopicsByJson;
+        private final Set<String> removalDeltas;
+        private final Map<Long, Map<String, Integer>> topicToGroupCounts;
+        private TopicBloomFilter filter;
+        private int removedTopics;
+
+        private SubscriberTopics() {
+            groupedTopicsByJson = new HashMap<>();
+            removalDeltas = new HashSet<>();
+            topicToGroupCounts = new HashMap<>();
+            filter = TopicBloomFilter.of(0, falsePositiveRate);
+            removedTopics = 0;
+        }
+
+        private boolean update(final Collection<String> serializedGroupedTopics) {
+            if (serializedGroupedTopics.size() == groupedTopicsByJson.size() &&
+                    groupedTopicsByJson.keySet().containsAll(serializedGroupedTopics)) {
+                return false;
+            }
+            // apply all additions before all removals so that counts of topics stay non-negative
+            final List<Grouped<Long>> removals = new ArrayList<>();
+            final Iterator<Map.Entry<String, Grouped<Long>>> iterator = groupedTopicsByJson.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, Grouped<Long>> entry = iterator.next();
+                if (!serializedGroupedTopics.contains(entry.getKey())) {
+                    iterator.remove();
+                    if (removalDeltas.remove(entry.getKey())) {
+                        add(entry.getValue());
+                    } else {
+                        removals.add(entry.getValue());
+                    }
+                }
+            }
+            for (final String serialized : serializedGroupedTopics) {
+                if (!groupedTopicsByJson.containsKey(serialized)) {
+                    final JsonObject json = JsonObject.of(serialized);
+                    final Grouped<Long> groupedTopics = Grouped.fromJson(json, JsonValue::asLong);
+                    groupedTopicsByJson.put(serialized, groupedTopics);
+                    if (DeltaCompressedSubscriptions.isRemoval(json)) {
+                        removalDeltas.add(serialized);
+                        removals.add(groupedTopics);
+                    } else {
+                        add(groupedTopics);
+                    }
+                }
+            }
+            removals.forEach(this::remove);
+            if (filter.isOverCapacity() || removedTopics > topicToGroupCounts.size()) {
+                rebuildFilter();
+            }
+            return true;
+        }
+
+        private void add(final Grouped<Long> groupedTopics) {
+            final String group = groupedTopics.getGroup().orElse("");
+            for (final Long topic : groupedTopics.getValues()) {
+                Map<String, Integer> groupCounts = topicToGroupCounts.get(topic);
+                if (null == groupCounts) {
+                    groupCounts = new HashMap<>();
+                    topicToGroupCounts.put(topic, groupCounts);
+                    filter.add(topic);
+                }
+                groupCounts.merge(group, 1, Integer::sum);
+            }
+        }
+
+        private void remove(final Grouped<Long> groupedTopics) {
+            final String group = groupedTopics.getGroup().orElse("");
+            for (final Long topic : groupedTopics.getValues()) {
+                final Map<String, Integer> groupCounts = topicToGroupCounts.get(topic);
+                if (null != groupCounts) {
+                    groupCounts.computeIfPresent(group, (g, count) -> count > 1 ? count - 1 : null);
+                    if (groupCounts.isEmpty()) {
+                        topicToGroupCounts.remove(topic);
+                        removedTopics++;
+                    }
+                }
+            }
+        }
+
+        private void rebuildFilter() {
+            // leave room to add as many topics as there are now before the next rebuild
+            filter = TopicBloomFilter.of(2 * topicToGroupCounts.size(), falsePositiveRate);
+            topicToGroupCounts.keySet().forEach(filter::add);
+            removedTopics = 0;
+            rebuildCounter.increment();
+        }
+    }
+}
@@ -89,7 +89,8 @@ public final class PubSupervisor extends AbstractPubSubSupervisor {
     @Override
     protected void startChildren() {
         updater = startChild(PubUpdater.props(ddata.getWriter()), PubUpdater.ACTOR_NAME_PREFIX);
-        publisher = startChild(Publisher.props(ddata.getReader(), distributedAcks), Publisher.ACTOR_NAME_PREFIX);
+        publisher = startChild(Publisher.props(ddata.getReader(), distributedAcks, config),
+                Publisher.ACTOR_NAME_PREFIX);
     }
 
     private boolean isPublisherAvailable() {
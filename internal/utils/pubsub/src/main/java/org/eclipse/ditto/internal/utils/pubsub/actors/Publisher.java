@@ -12,6 +12,8 @@
  */
 package org.eclipse.ditto.internal.utils.pubsub.actors;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +21,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.acks.AcknowledgementRequest;
 import org.eclipse.ditto.base.model.entity.id.EntityId;
@@ -29,16 +33,16 @@ import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
 import org.eclipse.ditto.internal.utils.akka.logging.ThreadSafeDittoLoggingAdapter;
 import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
 import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
 import org.eclipse.ditto.internal.utils.pubsub.DistributedAcks;
 import org.eclipse.ditto.internal.utils.pubsub.api.PublishSignal;
+import org.eclipse.ditto.internal.utils.pubsub.api.PublishSignalBatch;
 import org.eclipse.ditto.internal.utils.pubsub.api.RemoteAcksChanged;
+import org.eclipse.ditto.internal.utils.pubsub.config.PubSubConfig;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.DDataReader;
-import org.eclipse.ditto.internal.utils.pubsub.ddata.ack.Grouped;
 import org.eclipse.ditto.internal.utils.pubsub.extractors.AckExtractor;
-import org.eclipse.ditto.json.JsonObject;
-import org.eclipse.ditto.json.JsonValue;
 
-import akka.actor.AbstractActor;
+import akka.actor.AbstractActorWithTimers;
 import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.cluster.ddata.Key;
@@ -46,12 +50,17 @@ import akka.cluster.ddata.ORMultiMap;
 import akka.cluster.ddata.Replicator;
 import akka.japi.Pair;
 import akka.japi.pf.ReceiveBuilder;
+import akka.serialization.Serialization;
 import scala.jdk.javaapi.CollectionConverters;
 
 /**
  * Publishes messages according to topic distributed data.
+ * The subscribed topics of each cluster member are kept in a {@link BloomFilterIndex} which is updated incrementally
+ * on changes of the distributed data.
+ * If a publish batch window is configured, signals to remote subscribers are collected per subscriber and sent as
+ * one {@link PublishSignalBatch} when the window ends or the batch is full.
  */
-public final class Publisher extends AbstractActor {
+public final class Publisher extends AbstractActorWithTimers {
 
     /**
      * Prefix of this actor's name.
@@ -65,14 +74,24 @@ public final class Publisher extends AbstractActor {
     private final Counter messageCounter = DittoMetrics.counter("pubsub-published-messages");
     private final Counter topicCounter = DittoMetrics.counter("pubsub-published-topics");
     private final Counter sentMessagesCounter = DittoMetrics.counter("pubsub-sent-messages");
-    private final Map<Key<?>, PublisherIndex<Long>> publisherIndexes = new HashMap<>();
+    private final Gauge falsePositiveRateGauge =
+            DittoMetrics.gauge("pubsub-topic-filter-estimated-false-positives-per-million");
+    private final Counter sentBatchesCounter = DittoMetrics.counter("pubsub-sent-batches");
+    private final Map<Key<?>, BloomFilterIndex> bloomFilterIndexes = new HashMap<>();
+    private final Map<ActorRef, List<PublishSignalBatch.Entry>> batches = new HashMap<>();
+    private final double topicFilterFalsePositiveRate;
+    private final Duration publishBatchWindow;
+    private final int publishBatchMaxSize;
 
-    private PublisherIndex<Long> publisherIndex = PublisherIndex.empty();
     private RemoteAcksChanged remoteAcks = RemoteAcksChanged.of(Map.of());
 
     @SuppressWarnings("unused")
-    private Publisher(final DDataReader<ActorRef, String> ddataReader, final DistributedAcks distributedAcks) {
+    private Publisher(final DDataReader<ActorRef, String> ddataReader, final DistributedAcks distributedAcks,
+            final PubSubConfig config) {
         this.ddataReader = ddataReader;
+        topicFilterFalsePositiveRate = config.getTopicFilterFalsePositiveRate();
+        publishBatchWindow = config.getPublishBatchWindow();
+        publishBatchMaxSize = config.getPublishBatchMaxSize();
         ddataReader.receiveChanges(getSelf());
         distributedAcks.receiveDistributedDeclaredAcks(getSelf());
     }
@@ -83,11 +102,13 @@ public final class Publisher extends AbstractActor {
      * @param <T> representation of topics in the distributed data.
      * @param ddataReader reader of remote subscriptions.
      * @param distributedAcks access to the declared ack labels ddata.
+     * @param config the pub-sub config.
      * @return a Props object.
      */
-    public static <T> Props props(final DDataReader<ActorRef, T> ddataReader, final DistributedAcks distributedAcks) {
+    public static <T> Props props(final DDataReader<ActorRef, T> ddataReader, final DistributedAcks distributedAcks,
+            final PubSubConfig config) {
 
-        return Props.create(Publisher.class, ddataReader, distributedAcks);
+        return Props.create(Publisher.class, ddataReader, distributedAcks, config);
     }
 
     /**
@@ -121,6 +142,12 @@ public final class Publisher extends AbstractActor {
         return new PublishWithAck(topics, message, ackRequests, entityId, dittoHeaders);
     }
 
+    @Override
+    public void postStop() throws Exception {
+        flushBatches(Control.FLUSH_BATCHES);
+        super.postStop();
+    }
+
     @Override
     public Receive createReceive() {
         return ReceiveBuilder.create()
@@ -128,6 +155,7 @@ public final class Publisher extends AbstractActor {
                 .match(PublishWithAck.class, this::publishWithAck)
                 .match(RemoteAcksChanged.class, this::declaredAcksChanged)
                 .match(Replicator.Changed.class, this::topicSubscribersChanged)
+                .matchEquals(Control.FLUSH_BATCHES, this::flushBatches)
                 .matchAny(this::logUnhandled)
                 .build();
     }
@@ -167,8 +195,10 @@ public final class Publisher extends AbstractActor {
         final List<Long> hashes = topics.stream().map(ddataReader::approximate).collect(Collectors.toList());
         final ActorRef sender = getSender();
 
+        final List<Pair<ActorRef, Set<String>>> matches = new ArrayList<>();
+        bloomFilterIndexes.values().forEach(index -> index.collectMatches(hashes, matches));
         final List<Pair<ActorRef, PublishSignal>> subscribers =
-                publisherIndex.assignGroupsToSubscribers(signal, hashes);
+                PublisherIndex.assignGroupsToMatches(signal, matches, null);
         final ThreadSafeDittoLoggingAdapter l = log.withCorrelationId(signal);
         if (l.isDebugEnabled()) {
             l.debug("Calculated hashes for signal <{}>: <{}>", signal, hashes);
@@ -176,10 +206,34 @@ public final class Publisher extends AbstractActor {
                     subscribers.stream().map(Pair::first).collect(Collectors.toList()));
         }
         sentMessagesCounter.increment(subscribers.size());
-        subscribers.forEach(pair -> pair.first().tell(pair.second(), sender));
+        subscribers.forEach(pair -> send(pair.first(), pair.second(), sender));
         return subscribers;
     }
 
+    private void send(final ActorRef subscriber, final PublishSignal publishSignal, final ActorRef sender) {
+        if (publishBatchWindow.isZero() || subscriber.path().address().hasLocalScope()) {
+            subscriber.tell(publishSignal, sender);
+        } else {
+            final List<PublishSignalBatch.Entry> batch = batches.computeIfAbsent(subscriber, s -> new ArrayList<>());
+            batch.add(PublishSignalBatch.Entry.of(publishSignal, serializeSender(sender)));
+            if (batch.size() >= publishBatchMaxSize) {
+                sendBatch(subscriber, batches.remove(subscriber));
+            } else if (!getTimers().isTimerActive(Control.FLUSH_BATCHES)) {
+                getTimers().startSingleTimer(Control.FLUSH_BATCHES, Control.FLUSH_BATCHES, publishBatchWindow);
+            }
+        }
+    }
+
+    private void flushBatches(final Control flushBatches) {
+        batches.forEach(this::sendBatch);
+        batches.clear();
+    }
+
+    private void sendBatch(final ActorRef subscriber, final List<PublishSignalBatch.Entry> batch) {
+        sentBatchesCounter.increment();
+        subscriber.tell(PublishSignalBatch.of(batch), ActorRef.noSender());
+    }
+
     private void declaredAcksChanged(final RemoteAcksChanged event) {
         remoteAcks = event;
     }
@@ -187,23 +241,38 @@ public final class Publisher extends AbstractActor {
     private void topicSubscribersChanged(final Replicator.Changed<?> event) {
         final Map<ActorRef, scala.collection.immutable.Set<String>> mmap =
                 CollectionConverters.asJava(((ORMultiMap<ActorRef, String>) event.dataValue()).entries());
-        final Map<ActorRef, List<Grouped<Long>>> deserializedMMap = mmap.entrySet()
-                .stream()
-                .map(entry -> Pair.create(entry.getKey(), deserializeGroupedHashes(entry.getValue())))
-                .collect(Collectors.toMap(Pair::first, Pair::second));
-        final PublisherIndex<Long> thePublisherIndex = PublisherIndex.fromDeserializedMMap(deserializedMMap);
-        publisherIndexes.put(event.key(), thePublisherIndex);
-        publisherIndex = PublisherIndex.fromMultipleIndexes(publisherIndexes.values());
+        final Map<ActorRef, Set<String>> subscriberToGroupedTopics = new HashMap<>();
+        mmap.forEach((subscriber, groupedTopics) ->
+                subscriberToGroupedTopics.put(subscriber, CollectionConverters.asJava(groupedTopics)));
+        final int changedSubscribers = bloomFilterIndexes
+                .computeIfAbsent(event.key(), key -> BloomFilterIndex.of(topicFilterFalsePositiveRate))
+                .update(subscriberToGroupedTopics);
+        if (changedSubscribers > 0) {
+            final double maxFalsePositiveRate = bloomFilterIndexes.values()
+                    .stream()
+                    .mapToDouble(BloomFilterIndex::estimateMaxFalsePositiveRate)
+                    .max()
+                    .orElse(0.0);
+            falsePositiveRateGauge.set(Math.round(maxFalsePositiveRate * 1_000_000));
+        }
+        log.debug("Updated topic filters of <{}> subscribers for key <{}>", changedSubscribers, event.key());
     }
 
     private void logUnhandled(final Object message) {
         log.warning("Unhandled: <{}>", message);
     }
 
-    private static List<Grouped<Long>> deserializeGroupedHashes(final scala.collection.immutable.Set<String> strings) {
-        return CollectionConverters.asJava(strings).stream()
-                .map(string -> Grouped.fromJson(JsonObject.of(string), JsonValue::asLong))
-                .collect(Collectors.toList());
+    @Nullable
+    private String serializeSender(final ActorRef sender) {
+        if (sender.equals(getContext().getSystem().deadLetters())) {
+            return null;
+        } else {
+            return Serialization.serializedActorPath(sender);
+        }
+    }
+
+    private enum Control {
+        FLUSH_BATCHES
     }
 
     /**
@@ -29,7 +29,6 @@ import javax.annotation.Nullable;
 import org.eclipse.ditto.internal.utils.pubsub.PubSubFactory;
 import org.eclipse.ditto.internal.utils.pubsub.api.PublishSignal;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.SubscriptionsReader;
-import org.eclipse.ditto.internal.utils.pubsub.ddata.ack.Grouped;
 import org.eclipse.ditto.base.model.signals.SignalWithEntityId;
 
 import akka.actor.ActorRef;
@@ -57,33 +56,6 @@ final class PublisherIndex<T> {
         return new PublisherIndex<>(Map.of(), Map.of());
     }
 
-    static <T> PublisherIndex<T> fromMultipleIndexes(final Collection<PublisherIndex<T>> indexes) {
-        final Map<T, Map<ActorRef, Set<String>>> combinedIndex = new HashMap<>();
-        indexes.stream()
-                .map(p -> p.index)
-                .forEach(index -> index.forEach((t, map) ->
-                                combinedIndex.compute(t, (theT, existingMap) -> {
-                                    final Map<ActorRef, Set<String>> nonNullMap = existingMap == null ? new HashMap<>() :
-                                            existingMap;
-                                    nonNullMap.putAll(map);
-                                    return nonNullMap;
-                                })
-                        )
-                );
-
-        return new PublisherIndex<>(combinedIndex, Map.of());
-    }
-
-    static PublisherIndex<Long> fromDeserializedMMap(final Map<ActorRef, List<Grouped<Long>>> mmap) {
-        final Map<Long, Map<ActorRef, Set<String>>> index = new HashMap<>();
-        mmap.forEach((subscriber, groupedList) ->
-                groupedList.forEach(grouped -> grouped.getValues()
-                        .forEach(computeIndex(index, subscriber, grouped.getGroup().orElse("")))
-                ));
-
-        return new PublisherIndex<>(index, Map.of());
-    }
-
     static PublisherIndex<String> fromSubscriptionsReader(final SubscriptionsReader reader) {
         final Map<String, Map<ActorRef, Set<String>>> index = new HashMap<>();
         final Map<ActorRef, Predicate<Collection<String>>> filterMap = new HashMap<>();
@@ -104,26 +76,46 @@ final class PublisherIndex<T> {
     List<Pair<ActorRef, PublishSignal>> assignGroupsToSubscribers(final SignalWithEntityId<?> signal,
             final Collection<T> topics,
             @Nullable final Map<String, Integer> chosenGroups) {
-        final Map<String, List<ActorRef>> groupToSubscribers = new HashMap<>();
-        final Map<ActorRef, Map<String, Integer>> subscriberToChosenGroups = new HashMap<>();
-        // compute groupToSubscribers and allot subscribers with the empty group
+        final List<Pair<ActorRef, Set<String>>> matches = new ArrayList<>();
         for (final T topic : topics) {
             index.getOrDefault(topic, Map.of()).forEach((subscriber, groups) -> {
                 if (filterMap.getOrDefault(subscriber, constantTrue).test(topics)) {
-                    for (final String group : groups) {
-                        if (group.isEmpty()) {
-                            subscriberToChosenGroups.putIfAbsent(subscriber, new HashMap<>());
-                        } else if (chosenGroups == null || chosenGroups.containsKey(group)) {
-                            groupToSubscribers.compute(group, (g, list) -> {
-                                final List<ActorRef> nonNullList = list == null ? new ArrayList<>() : list;
-                                nonNullList.add(subscriber);
-                                return nonNullList;
-                            });
-                        }
-                    }
+                    matches.add(Pair.create(subscriber, groups));
                 }
             });
         }
+        return assignGroupsToMatches(signal, matches, chosenGroups);
+    }
+
+    /**
+     * Choose the subscribers to receive a signal from the subscribers of its topics.
+     *
+     * @param signal the signal to publish.
+     * @param matches the subscribers with their groups, once for each topic of the signal they subscribed to.
+     * @param chosenGroups the groups the signal was already published to with their sizes, or null if the signal
+     * is not published yet.
+     * @return the subscribers to send the signal to with their chosen groups.
+     */
+    static List<Pair<ActorRef, PublishSignal>> assignGroupsToMatches(final SignalWithEntityId<?> signal,
+            final Collection<Pair<ActorRef, Set<String>>> matches,
+            @Nullable final Map<String, Integer> chosenGroups) {
+        final Map<String, List<ActorRef>> groupToSubscribers = new HashMap<>();
+        final Map<ActorRef, Map<String, Integer>> subscriberToChosenGroups = new HashMap<>();
+        // compute groupToSubscribers and allot subscribers with the empty group
+        for (final Pair<ActorRef, Set<String>> match : matches) {
+            final ActorRef subscriber = match.first();
+            for (final String group : match.second()) {
+                if (group.isEmpty()) {
+                    subscriberToChosenGroups.putIfAbsent(subscriber, new HashMap<>());
+                } else if (chosenGroups == null || chosenGroups.containsKey(group)) {
+                    groupToSubscribers.compute(group, (g, list) -> {
+                        final List<ActorRef> nonNullList = list == null ? new ArrayList<>() : list;
+                        nonNullList.add(subscriber);
+                        return nonNullList;
+                    });
+                }
+            }
+        }
         // choose a subscriber for each group consistently according to the entity ID of the signal
         final int entityIdHash = PubSubFactory.hashForPubSub(signal.getEntityId());
         groupToSubscribers.forEach((group, subscribers) -> {
@@ -41,6 +41,7 @@ import org.eclipse.ditto.internal.utils.pubsub.ddata.Subscriptions;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.SubscriptionsReader;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.compressed.CompressedDData;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.compressed.CompressedSubscriptions;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.compressed.DeltaCompressedSubscriptions;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.literal.LiteralUpdate;
 
 import akka.actor.ActorRef;
@@ -125,8 +126,14 @@ public final class SubUpdater extends akka.actor.AbstractActorWithTimers {
      * @return the Props object.
      */
     public static Props props(final PubSubConfig config, final ActorRef subscriber, final CompressedDData topicsDData) {
-        return Props.create(SubUpdater.class, config, subscriber, CompressedSubscriptions.of(topicsDData.getSeeds()),
-                topicsDData.getWriter());
+        final Subscriptions<LiteralUpdate> subscriptions;
+        if (config.isDeltaReplicationEnabled()) {
+            subscriptions = DeltaCompressedSubscriptions.of(topicsDData.getSeeds(),
+                    config.getDeltaCompactionThreshold(), config.getDeltaCompactionInterval());
+        } else {
+            subscriptions = CompressedSubscriptions.of(topicsDData.getSeeds());
+        }
+        return Props.create(SubUpdater.class, config, subscriber, subscriptions, topicsDData.getWriter());
     }
 
     @Override
@@ -200,7 +207,7 @@ public final class SubUpdater extends akka.actor.AbstractActorWithTimers {
     }
 
     private void tick(final Clock tick) {
-        performDDataOp(localSubscriptionsChanged, nextWriteConsistency)
+        performDDataOp(localSubscriptionsChanged || subscriptions.isCompactionDue(), nextWriteConsistency)
                 .handle(handleDDataWriteResult(getSeqNr()));
         moveAwaitUpdateToAwaitAcknowledge();
     }
@@ -221,6 +228,8 @@ public final class SubUpdater extends akka.actor.AbstractActorWithTimers {
         } else if (subscriptions.isEmpty()) {
             snapshot = subscriptions.snapshot();
             ddataOp = topicsWriter.removeSubscriber(subscriber, writeConsistency);
+            // export to reset incremental state of the subscriptions
+            subscriptions.export();
             previousUpdate = LiteralUpdate.empty();
             topicSizeMetric.set(0L);
         } else {
@@ -29,6 +29,7 @@ import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
 import org.eclipse.ditto.internal.utils.pubsub.DistributedAcks;
 import org.eclipse.ditto.internal.utils.pubsub.api.LocalAcksChanged;
 import org.eclipse.ditto.internal.utils.pubsub.api.PublishSignal;
+import org.eclipse.ditto.internal.utils.pubsub.api.PublishSignalBatch;
 import org.eclipse.ditto.internal.utils.pubsub.config.PubSubConfig;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.SubscriptionsReader;
 import org.eclipse.ditto.internal.utils.pubsub.ddata.ack.GroupedSnapshot;
@@ -37,6 +38,7 @@ import org.eclipse.ditto.internal.utils.pubsub.extractors.PubSubTopicExtractor;
 
 import akka.actor.AbstractActorWithTimers;
 import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
 import akka.actor.Props;
 import akka.actor.Terminated;
 import akka.cluster.Cluster;
@@ -100,7 +102,8 @@ public final class Subscriber<T extends SignalWithEntityId<?>> extends AbstractA
     @Override
     public Receive createReceive() {
         return ReceiveBuilder.create()
-                .match(PublishSignal.class, this::broadcastToLocalSubscribers)
+                .match(PublishSignal.class, command -> broadcastToLocalSubscribers(command, getSender()))
+                .match(PublishSignalBatch.class, this::unpackBatch)
                 .match(SubscriptionsReader.class, this::updateLocalSubscriptions)
                 .match(LocalAcksChanged.class, this::updateLocalAcks)
                 .match(Terminated.class, this::terminated)
@@ -132,7 +135,20 @@ public final class Subscriber<T extends SignalWithEntityId<?>> extends AbstractA
         }
     }
 
-    private void broadcastToLocalSubscribers(final PublishSignal command) {
+    private void unpackBatch(final PublishSignalBatch batch) {
+        for (final PublishSignalBatch.Entry entry : batch.getEntries()) {
+            final ActorRef sender = entry.getSenderPath()
+                    .map(this::resolveActorRef)
+                    .orElseGet(() -> getContext().getSystem().deadLetters());
+            broadcastToLocalSubscribers(entry.getPublishSignal(), sender);
+        }
+    }
+
+    private ActorRef resolveActorRef(final String serializedActorPath) {
+        return ((ExtendedActorSystem) getContext().getSystem()).provider().resolveActorRef(serializedActorPath);
+    }
+
+    private void broadcastToLocalSubscribers(final PublishSignal command, final ActorRef sender) {
         receivedMessagesCounter.increment();
         final T message = messageClass.cast(command.getSignal());
         final Collection<String> topics = topicExtractor.getTopics(message);
@@ -146,10 +162,10 @@ public final class Subscriber<T extends SignalWithEntityId<?>> extends AbstractA
         } else {
             truePositiveCounter.increment();
             for (final ActorRef localSubscriber : localSubscribers) {
-                localSubscriber.tell(message, getSender());
+                localSubscriber.tell(message, sender);
             }
         }
-        replyWeakAck(message, command, localSubscribers, getSender());
+        replyWeakAck(message, command, localSubscribers, sender);
     }
 
     private void replyWeakAck(final T message, final PublishSignal command, final Set<ActorRef> localSubscribers,
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub.actors;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Bloom filter of topics hashed into long integers by {@link org.eclipse.ditto.internal.utils.pubsub.ddata.Hashes}.
+ * The two 32-bit halves of a hashed topic are independent Murmur-3 hash codes; they serve as the 2 base hash functions
+ * of double hashing so that a topic is not hashed again to probe the filter.
+ * <p>
+ * Topics are added one by one. Topics cannot be removed; removed topics remain as false positives until the filter is
+ * replaced.
+ * </p>
+ */
+@NotThreadSafe
+final class TopicBloomFilter {
+
+    private static final int MIN_CAPACITY = 64;
+    private static final double LN_2 = Math.log(2.0);
+
+    private final long[] words;
+    private final long numberOfBits;
+    private final int numberOfHashFunctions;
+    private final int capacity;
+    private int size;
+
+    private TopicBloomFilter(final int capacity, final double falsePositiveRate) {
+        this.capacity = Math.max(MIN_CAPACITY, capacity);
+        final long optimalNumberOfBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        words = new long[(int) Math.max(1L, (optimalNumberOfBits + Long.SIZE - 1) / Long.SIZE)];
+        numberOfBits = (long) words.length * Long.SIZE;
+        numberOfHashFunctions = Math.max(1, (int) Math.round((double) numberOfBits / this.capacity * LN_2));
+        size = 0;
+    }
+
+    /**
+     * Create an empty filter.
+     *
+     * @param capacity how many topics the filter should hold with the desired false positive rate.
+     * @param falsePositiveRate the desired false positive rate when the filter is full; must be in (0, 1).
+     * @return the filter.
+     */
+    static TopicBloomFilter of(final int capacity, final double falsePositiveRate) {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1 exclusive, but was <" +
+                    falsePositiveRate + ">!");
+        }
+        return new TopicBloomFilter(capacity, falsePositiveRate);
+    }
+
+    /**
+     * Add a hashed topic.
+     *
+     * @param topicHash the hashed topic.
+     */
+    void add(final long topicHash) {
+        final int hash1 = (int) (topicHash >>> 32);
+        final int hash2 = (int) topicHash;
+        for (int i = 0; i < numberOfHashFunctions; i++) {
+            final long bitIndex = bitIndex(hash1, hash2, i);
+            words[(int) (bitIndex >>> 6)] |= 1L << bitIndex;
+        }
+        size++;
+    }
+
+    /**
+     * Test whether a hashed topic may have been added.
+     *
+     * @param topicHash the hashed topic.
+     * @return false if the topic was definitely not added, true otherwise.
+     */
+    boolean mightContain(final long topicHash) {
+        final int hash1 = (int) (topicHash >>> 32);
+        final int hash2 = (int) topicHash;
+        for (int i = 0; i < numberOfHashFunctions; i++) {
+            final long bitIndex = bitIndex(hash1, hash2, i);
+            if ((words[(int) (bitIndex >>> 6)] & (1L << bitIndex)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether more topics were added than the filter was created for.
+     */
+    boolean isOverCapacity() {
+        return size > capacity;
+    }
+
+    /**
+     * @return how many topics were added.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Estimate the current false positive rate from the number of added topics.
+     *
+     * @return the estimated false positive rate.
+     */
+    double estimateFalsePositiveRate() {
+        return Math.pow(1.0 - Math.exp(-(double) numberOfHashFunctions * size / numberOfBits),
+                numberOfHashFunctions);
+    }
+
+    private long bitIndex(final int hash1, final int hash2, final int i) {
+        return Math.floorMod(hash1 + (long) i * hash2, numberOfBits);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "numberOfBits=" + numberOfBits +
+                ", numberOfHashFunctions=" + numberOfHashFunctions +
+                ", capacity=" + capacity +
+                ", size=" + size +
+                "]";
+    }
+}
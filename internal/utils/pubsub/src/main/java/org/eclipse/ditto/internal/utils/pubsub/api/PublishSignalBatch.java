@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub.api;
+
+import java.io.NotSerializableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.json.JsonParsableCommand;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.base.model.signals.JsonParsable;
+import org.eclipse.ditto.base.model.signals.commands.AbstractCommand;
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonCollectors;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Command from Publisher to Subscriber to publish a batch of signals to local subscribers.
+ * Each signal is sent with the Ditto headers and the serialized actor path of the sender it was published with.
+ *
+ * @since 2.1.0
+ */
+@JsonParsableCommand(typePrefix = PublishSignal.TYPE_PREFIX, name = PublishSignalBatch.NAME)
+public final class PublishSignalBatch extends AbstractCommand<PublishSignalBatch> {
+
+    /**
+     * Name of this command.
+     */
+    public static final String NAME = "publishBatch";
+
+    private static final String TYPE = PublishSignal.TYPE_PREFIX + NAME;
+
+    private static final String RESOURCE_TYPE = "pubsub";
+
+    private final List<Entry> entries;
+
+    private PublishSignalBatch(final List<Entry> entries, final DittoHeaders dittoHeaders) {
+        super(TYPE, dittoHeaders, Category.MODIFY);
+        this.entries = entries;
+    }
+
+    /**
+     * Create a batch of PublishSignal commands.
+     *
+     * @param entries the PublishSignal commands with their senders.
+     * @return the batch.
+     */
+    public static PublishSignalBatch of(final List<Entry> entries) {
+        return new PublishSignalBatch(List.copyOf(entries), DittoHeaders.empty());
+    }
+
+    /**
+     * Deserialize this command.
+     *
+     * @param jsonObject the JSON representation of this command.
+     * @param dittoHeaders the Ditto headers of the batch.
+     * @param parseInnerJson function to parse the inner JSON.
+     * @return the deserialized command.
+     */
+    @SuppressWarnings("unused") // called by reflection in AnnotationBasedJsonParsable.parse
+    public static PublishSignalBatch fromJson(final JsonObject jsonObject,
+            final DittoHeaders dittoHeaders,
+            final JsonParsable.ParseInnerJson parseInnerJson) {
+
+        final JsonArray entriesJson = jsonObject.getValueOrThrow(JsonFields.ENTRIES);
+        final List<Entry> entries = new ArrayList<>(entriesJson.getSize());
+        for (final JsonValue entryJson : entriesJson) {
+            entries.add(Entry.fromJson(entryJson.asObject(), parseInnerJson));
+        }
+        return new PublishSignalBatch(entries, dittoHeaders);
+    }
+
+    /**
+     * @return the PublishSignal commands of this batch with their senders.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    @Override
+    protected void appendPayload(final JsonObjectBuilder jsonObjectBuilder,
+            final JsonSchemaVersion schemaVersion,
+            final Predicate<JsonField> predicate) {
+
+        jsonObjectBuilder.set(JsonFields.ENTRIES, entries.stream()
+                .map(entry -> entry.toJson(schemaVersion, predicate))
+                .collect(JsonCollectors.valuesToArray()));
+    }
+
+    @Override
+    public String getTypePrefix() {
+        return PublishSignal.TYPE_PREFIX;
+    }
+
+    @Override
+    public Category getCategory() {
+        return Category.MODIFY;
+    }
+
+    @Override
+    public PublishSignalBatch setDittoHeaders(final DittoHeaders dittoHeaders) {
+        return new PublishSignalBatch(entries, dittoHeaders);
+    }
+
+    @Override
+    public JsonPointer getResourcePath() {
+        return JsonPointer.empty();
+    }
+
+    @Override
+    public String getResourceType() {
+        return RESOURCE_TYPE;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof PublishSignalBatch) {
+            final PublishSignalBatch that = (PublishSignalBatch) other;
+            return Objects.equals(entries, that.entries) && super.equals(other);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), entries);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[entries=" + entries + "]";
+    }
+
+    /**
+     * A PublishSignal command in a batch together with its sender.
+     */
+    public static final class Entry {
+
+        private final PublishSignal publishSignal;
+        @Nullable private final String senderPath;
+
+        private Entry(final PublishSignal publishSignal, @Nullable final String senderPath) {
+            this.publishSignal = publishSignal;
+            this.senderPath = senderPath;
+        }
+
+        /**
+         * Create an entry of a batch.
+         *
+         * @param publishSignal the PublishSignal command.
+         * @param senderPath the serialized actor path of the sender of the signal, or null if it has no sender.
+         * @return the entry.
+         */
+        public static Entry of(final PublishSignal publishSignal, @Nullable final String senderPath) {
+            return new Entry(publishSignal, senderPath);
+        }
+
+        /**
+         * @return the PublishSignal command.
+         */
+        public PublishSignal getPublishSignal() {
+            return publishSignal;
+        }
+
+        /**
+         * @return the serialized actor path of the sender of the signal, if any.
+         */
+        public Optional<String> getSenderPath() {
+            return Optional.ofNullable(senderPath);
+        }
+
+        private JsonObject toJson(final JsonSchemaVersion schemaVersion, final Predicate<JsonField> predicate) {
+            final JsonObjectBuilder builder = JsonFactory.newObjectBuilder()
+                    .set(JsonFields.HEADERS, publishSignal.getDittoHeaders().toJson())
+                    .set(JsonFields.PUBLISH_SIGNAL, publishSignal.toJson(schemaVersion, predicate));
+            if (null != senderPath) {
+                builder.set(JsonFields.SENDER, senderPath);
+            }
+            return builder.build();
+        }
+
+        private static Entry fromJson(final JsonObject jsonObject, final JsonParsable.ParseInnerJson parseInnerJson) {
+            try {
+                final DittoHeaders dittoHeaders =
+                        DittoHeaders.newBuilder(jsonObject.getValueOrThrow(JsonFields.HEADERS)).build();
+                final PublishSignal publishSignal = (PublishSignal) parseInnerJson.parseInnerJson(
+                        jsonObject.getValueOrThrow(JsonFields.PUBLISH_SIGNAL));
+                return new Entry(publishSignal.setDittoHeaders(dittoHeaders),
+                        jsonObject.getValue(JsonFields.SENDER).orElse(null));
+            } catch (final NotSerializableException e) {
+                throw new JsonParseException(e.getMessage());
+            }
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (other instanceof Entry) {
+                final Entry that = (Entry) other;
+                return Objects.equals(publishSignal, that.publishSignal) && Objects.equals(senderPath, that.senderPath);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(publishSignal, senderPath);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[publishSignal=" + publishSignal + ", senderPath=" + senderPath + "]";
+        }
+    }
+
+    private static final class JsonFields {
+
+        private static final JsonFieldDefinition<JsonArray> ENTRIES =
+                JsonFactory.newJsonArrayFieldDefinition("entries");
+
+        private static final JsonFieldDefinition<JsonObject> HEADERS =
+                JsonFactory.newJsonObjectFieldDefinition("headers");
+
+        private static final JsonFieldDefinition<JsonObject> PUBLISH_SIGNAL =
+                JsonFactory.newJsonObjectFieldDefinition("publishSignal");
+
+        private static final JsonFieldDefinition<String> SENDER = JsonFactory.newStringFieldDefinition("sender");
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.internal.utils.pubsub.config;
 
+import java.text.MessageFormat;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
@@ -22,6 +23,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.internal.utils.config.ConfigWithFallback;
+import org.eclipse.ditto.internal.utils.config.DittoConfigError;
 
 import com.typesafe.config.Config;
 
@@ -39,11 +41,28 @@ final class DefaultPubSubConfig implements PubSubConfig {
     private final String seed;
     private final Duration restartDelay;
     private final Duration updateInterval;
+    private final double topicFilterFalsePositiveRate;
+    private final Duration publishBatchWindow;
+    private final int publishBatchMaxSize;
+    private final boolean deltaReplicationEnabled;
+    private final int deltaCompactionThreshold;
+    private final Duration deltaCompactionInterval;
 
     private DefaultPubSubConfig(final ConfigWithFallback config) {
         seed = config.getString(ConfigValue.SEED.getConfigPath());
         restartDelay = config.getDuration(ConfigValue.RESTART_DELAY.getConfigPath());
         updateInterval = config.getDuration(ConfigValue.UPDATE_INTERVAL.getConfigPath());
+        topicFilterFalsePositiveRate = config.getDouble(ConfigValue.TOPIC_FILTER_FALSE_POSITIVE_RATE.getConfigPath());
+        if (topicFilterFalsePositiveRate <= 0.0 || topicFilterFalsePositiveRate >= 1.0) {
+            throw new DittoConfigError(MessageFormat.format(
+                    "The value for <{0}> must be between 0 and 1 exclusive, but it was <{1}>!",
+                    ConfigValue.TOPIC_FILTER_FALSE_POSITIVE_RATE.getConfigPath(), topicFilterFalsePositiveRate));
+        }
+        publishBatchWindow = config.getNonNegativeDurationOrThrow(ConfigValue.PUBLISH_BATCH_WINDOW);
+        publishBatchMaxSize = config.getPositiveIntOrThrow(ConfigValue.PUBLISH_BATCH_MAX_SIZE);
+        deltaReplicationEnabled = config.getBoolean(ConfigValue.DELTA_REPLICATION_ENABLED.getConfigPath());
+        deltaCompactionThreshold = config.getPositiveIntOrThrow(ConfigValue.DELTA_COMPACTION_THRESHOLD);
+        deltaCompactionInterval = config.getNonNegativeDurationOrThrow(ConfigValue.DELTA_COMPACTION_INTERVAL);
     }
 
     static PubSubConfig of(final Config config) {
@@ -65,12 +84,45 @@ final class DefaultPubSubConfig implements PubSubConfig {
         return updateInterval;
     }
 
+    @Override
+    public double getTopicFilterFalsePositiveRate() {
+        return topicFilterFalsePositiveRate;
+    }
+
+    @Override
+    public Duration getPublishBatchWindow() {
+        return publishBatchWindow;
+    }
+
+    @Override
+    public int getPublishBatchMaxSize() {
+        return publishBatchMaxSize;
+    }
+
+    @Override
+    public boolean isDeltaReplicationEnabled() {
+        return deltaReplicationEnabled;
+    }
+
+    @Override
+    public int getDeltaCompactionThreshold() {
+        return deltaCompactionThreshold;
+    }
+
+    @Override
+    public Duration getDeltaCompactionInterval() {
+        return deltaCompactionInterval;
+    }
+
     private String[] getFieldNames() {
-        return new String[]{"seed", "restartDelay", "updateInterval"};
+        return new String[]{"seed", "restartDelay", "updateInterval", "topicFilterFalsePositiveRate",
+                "publishBatchWindow", "publishBatchMaxSize", "deltaReplicationEnabled", "deltaCompactionThreshold",
+                "deltaCompactionInterval"};
     }
 
     private Object[] getFieldValues() {
-        return new Object[]{seed, restartDelay, updateInterval};
+        return new Object[]{seed, restartDelay, updateInterval, topicFilterFalsePositiveRate, publishBatchWindow,
+                publishBatchMaxSize, deltaReplicationEnabled, deltaCompactionThreshold, deltaCompactionInterval};
     }
 
     @Override
@@ -41,6 +41,44 @@ public interface PubSubConfig {
      */
     Duration getUpdateInterval();
 
+    /**
+     * @return The false positive rate of the Bloom filters of subscribed topics of each cluster member.
+     * @since 2.1.0
+     */
+    double getTopicFilterFalsePositiveRate();
+
+    /**
+     * @return How long to collect signals published to the same remote subscriber before sending them in one batch.
+     * Zero disables batching.
+     * @since 2.1.0
+     */
+    Duration getPublishBatchWindow();
+
+    /**
+     * @return The maximum number of signals in one batch to a remote subscriber.
+     * @since 2.1.0
+     */
+    int getPublishBatchMaxSize();
+
+    /**
+     * @return Whether local subscriptions are replicated as versioned deltas of the topics of the cluster member
+     * instead of as the complete topics of each local subscriber.
+     * @since 2.1.0
+     */
+    boolean isDeltaReplicationEnabled();
+
+    /**
+     * @return The number of replicated deltas after which they are compacted into a snapshot.
+     * @since 2.1.0
+     */
+    int getDeltaCompactionThreshold();
+
+    /**
+     * @return How long replicated deltas may exist before they are compacted into a snapshot.
+     * @since 2.1.0
+     */
+    Duration getDeltaCompactionInterval();
+
     /**
      * Create a {@code PubSubConfig} object from a {@code Config} object at the key {@code pubsub}.
      *
@@ -85,7 +123,38 @@ public interface PubSubConfig {
         /**
          * How often to flush local subscriptions to the distributed data replicator.
          */
-        UPDATE_INTERVAL("update-interval", Duration.ofSeconds(3L));
+        UPDATE_INTERVAL("update-interval", Duration.ofSeconds(3L)),
+
+        /**
+         * The false positive rate of the Bloom filters of subscribed topics of each cluster member.
+         */
+        TOPIC_FILTER_FALSE_POSITIVE_RATE("topic-filter-false-positive-rate", 0.01),
+
+        /**
+         * How long to collect signals published to the same remote subscriber before sending them in one batch.
+         * Zero disables batching.
+         */
+        PUBLISH_BATCH_WINDOW("publish-batch-window", Duration.ZERO),
+
+        /**
+         * The maximum number of signals in one batch to a remote subscriber.
+         */
+        PUBLISH_BATCH_MAX_SIZE("publish-batch-max-size", 100),
+
+        /**
+         * Whether local subscriptions are replicated as versioned deltas of the topics of the cluster member.
+         */
+        DELTA_REPLICATION_ENABLED("delta-replication-enabled", false),
+
+        /**
+         * The number of replicated deltas after which they are compacted into a snapshot.
+         */
+        DELTA_COMPACTION_THRESHOLD("delta-compaction-threshold", 64),
+
+        /**
+         * How long replicated deltas may exist before they are compacted into a snapshot.
+         */
+        DELTA_COMPACTION_INTERVAL("delta-compaction-interval", Duration.ofMinutes(1L));
 
         private final String path;
         private final Object defaultValue;
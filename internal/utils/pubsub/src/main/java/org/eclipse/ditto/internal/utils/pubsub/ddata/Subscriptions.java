@@ -110,6 +110,16 @@ public interface Subscriptions<T> {
      */
     T export();
 
+    /**
+     * Check whether the exported data should be compacted even if local subscriptions did not change.
+     *
+     * @return whether the next export compacts the exported data.
+     * @since 2.1.0
+     */
+    default boolean isCompactionDue() {
+        return false;
+    }
+
     /**
      * @return whether there are no subscribers.
      */
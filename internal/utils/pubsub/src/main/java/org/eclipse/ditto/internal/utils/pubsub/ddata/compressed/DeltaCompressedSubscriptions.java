@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub.ddata.compressed;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.eclipse.ditto.internal.utils.pubsub.ddata.AbstractSubscriptions;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.Hashes;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.SubscriberData;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.TopicData;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.ack.Grouped;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.literal.LiteralUpdate;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
+
+import akka.actor.ActorRef;
+
+/**
+ * Local subscriptions for distribution of subscribed topics as versioned deltas of hash code sequences.
+ * <p>
+ * The exported topics are those of the cluster member as a whole: one grouped set of hashed topics per group
+ * (the snapshot) and one versioned delta per group for each export in which topics of the group were added or
+ * removed. A topic only changes when the first local subscriber subscribes to it or the last local subscriber
+ * unsubscribes from it, so that subscription churn such as reconnecting subscribers causes few and small deltas
+ * instead of replacing the grouped topics of each subscriber. The deltas are compacted into a new snapshot when
+ * there are more of them than the compaction threshold or when the oldest of them is older than the compaction
+ * interval.
+ * </p>
+ * <p>
+ * Deltas are serialized as grouped topics with the additional fields {@code "v"} for the version, which makes each
+ * delta distinct, and {@code "r"} for deltas removing topics. The topics of the cluster member are the sum of the
+ * snapshot and the added topics minus the removed topics; the sum does not depend on the order of the deltas.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@NotThreadSafe
+public final class DeltaCompressedSubscriptions extends AbstractSubscriptions<String, LiteralUpdate>
+        implements Hashes {
+
+    private static final JsonFieldDefinition<Long> VERSION = JsonFactory.newLongFieldDefinition("v");
+    private static final JsonFieldDefinition<Boolean> REMOVAL = JsonFactory.newBooleanFieldDefinition("r");
+
+    /**
+     * Seeds of hash functions. They should be identical cluster-wide.
+     */
+    private final Collection<Integer> seeds;
+    private final int compactionThreshold;
+    private final Duration compactionInterval;
+
+    private Map<String, Set<Long>> exportedTopics;
+    private Set<String> snapshot;
+    private final Set<String> deltas;
+    private long version;
+    private long oldestDeltaNanos;
+
+    private DeltaCompressedSubscriptions(
+            final Collection<Integer> seeds,
+            final int compactionThreshold,
+            final Duration compactionInterval,
+            final Map<ActorRef, SubscriberData> subscriberDataMap,
+            final Map<String, TopicData> topicToData) {
+        super(subscriberDataMap, topicToData);
+        this.seeds = seeds;
+        this.compactionThreshold = compactionThreshold;
+        this.compactionInterval = compactionInterval;
+        exportedTopics = new HashMap<>();
+        snapshot = Set.of();
+        deltas = new HashSet<>();
+        version = 0L;
+        oldestDeltaNanos = 0L;
+    }
+
+    /**
+     * Create a new delta compressed subscriptions object.
+     *
+     * @param seeds seeds of the family of hash functions.
+     * @param compactionThreshold the number of deltas after which they are compacted into a snapshot.
+     * @param compactionInterval how long deltas may exist before they are compacted into a snapshot.
+     * @return the delta compressed subscriptions object.
+     */
+    public static DeltaCompressedSubscriptions of(final Collection<Integer> seeds, final int compactionThreshold,
+            final Duration compactionInterval) {
+        return new DeltaCompressedSubscriptions(seeds, compactionThreshold, compactionInterval, new HashMap<>(),
+                new HashMap<>());
+    }
+
+    /**
+     * Check whether a serialized grouped set of hashed topics is a delta removing the topics.
+     *
+     * @param groupedTopics the serialized grouped topics.
+     * @return whether the grouped topics are to be removed from the topics of the cluster member.
+     */
+    public static boolean isRemoval(final JsonObject groupedTopics) {
+        return groupedTopics.getValue(REMOVAL).orElse(false);
+    }
+
+    @Override
+    public Collection<Integer> getSeeds() {
+        return seeds;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        exportedTopics = new HashMap<>();
+        snapshot = Set.of();
+        deltas.clear();
+    }
+
+    @Override
+    public long estimateSize() {
+        return subscriberDataMap.values()
+                .stream()
+                .mapToLong(subscriberData -> {
+                    final long bytesPerLong = 8;
+                    final long valueBytes = bytesPerLong * subscriberData.getTopics().size();
+                    // group bytes estimated by string length because group names should be ASCII
+                    final long groupBytes = subscriberData.getGroup().map(String::length).orElse(0);
+                    return valueBytes + groupBytes;
+                })
+                .sum();
+    }
+
+    @Override
+    public boolean isCompactionDue() {
+        return !deltas.isEmpty() && System.nanoTime() - oldestDeltaNanos >= compactionInterval.toNanos();
+    }
+
+    /**
+     * Export the snapshot and the deltas of the topics of this cluster member. Each call adds deltas for the topics
+     * added or removed since the previous call.
+     *
+     * @return the snapshot and the deltas.
+     */
+    @Override
+    public LiteralUpdate export() {
+        final Map<String, Set<Long>> currentTopics = computeTopicsPerGroup();
+        if (currentTopics.isEmpty()) {
+            // nothing is left in the distributed data; start over with an empty snapshot.
+            exportedTopics = currentTopics;
+            snapshot = Set.of();
+            deltas.clear();
+            return LiteralUpdate.withInserts(Set.of());
+        }
+        final Set<String> groups = new HashSet<>(currentTopics.keySet());
+        groups.addAll(exportedTopics.keySet());
+        for (final String group : groups) {
+            final Set<Long> current = currentTopics.getOrDefault(group, Set.of());
+            final Set<Long> previous = exportedTopics.getOrDefault(group, Set.of());
+            addDelta(group, difference(current, previous), false);
+            addDelta(group, difference(previous, current), true);
+        }
+        exportedTopics = currentTopics;
+        if (deltas.size() > compactionThreshold || isCompactionDue()) {
+            compact();
+        }
+        final Set<String> serializedGroupedTopics = new HashSet<>(snapshot);
+        serializedGroupedTopics.addAll(deltas);
+        return LiteralUpdate.withInserts(serializedGroupedTopics);
+    }
+
+    private Map<String, Set<Long>> computeTopicsPerGroup() {
+        final Map<String, Long> topicHashes = new HashMap<>();
+        final Map<String, Set<Long>> topicsPerGroup = new HashMap<>();
+        subscriberDataMap.forEach((subscriber, data) -> {
+            final Set<Long> topicsOfGroup =
+                    topicsPerGroup.computeIfAbsent(data.getGroup().orElse(null), group -> new HashSet<>());
+            for (final String topic : data.getTopics()) {
+                topicsOfGroup.add(topicHashes.computeIfAbsent(topic, this::hashAsLong));
+            }
+        });
+        return topicsPerGroup;
+    }
+
+    private void addDelta(@Nullable final String group, final Set<Long> topics, final boolean isRemoval) {
+        if (!topics.isEmpty()) {
+            if (deltas.isEmpty()) {
+                oldestDeltaNanos = System.nanoTime();
+            }
+            final JsonObject delta = Grouped.of(group, topics)
+                    .toJson()
+                    .setValue(VERSION.getPointer(), ++version);
+            deltas.add((isRemoval ? delta.setValue(REMOVAL.getPointer(), true) : delta).toString());
+        }
+    }
+
+    private void compact() {
+        final Set<String> newSnapshot = new HashSet<>();
+        exportedTopics.forEach((group, topics) -> newSnapshot.add(Grouped.of(group, topics).toJsonString()));
+        snapshot = newSnapshot;
+        deltas.clear();
+    }
+
+    private static Set<Long> difference(final Set<Long> minuend, final Set<Long> subtrahend) {
+        final Set<Long> difference = new HashSet<>(minuend);
+        difference.removeAll(subtrahend);
+        return difference;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof DeltaCompressedSubscriptions) {
+            final DeltaCompressedSubscriptions that = (DeltaCompressedSubscriptions) other;
+            return seeds.equals(that.seeds) &&
+                    compactionThreshold == that.compactionThreshold &&
+                    compactionInterval.equals(that.compactionInterval) &&
+                    super.equals(other);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(seeds, compactionThreshold, compactionInterval, super.hashCode());
+    }
+
+}
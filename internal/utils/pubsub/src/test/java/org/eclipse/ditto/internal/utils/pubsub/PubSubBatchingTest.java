@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
+import org.eclipse.ditto.base.model.common.HttpStatus;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.signals.acks.Acknowledgement;
+import org.eclipse.ditto.internal.utils.pubsub.extractors.AckExtractor;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorContext;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.cluster.Cluster;
+import akka.japi.pf.ReceiveBuilder;
+import akka.testkit.TestActorRef;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests Ditto pub-sub with batched publishing to remote subscribers.
+ */
+public final class PubSubBatchingTest {
+
+    private ActorSystem system1;
+    private ActorSystem system2;
+    private TestPubSubFactory factory1;
+    private TestPubSubFactory factory2;
+
+    private static Config getTestConf() {
+        return ConfigFactory.parseString("ditto.pubsub {\n" +
+                "  publish-batch-window = 200ms\n" +
+                "  publish-batch-max-size = 5\n" +
+                "}").withFallback(ConfigFactory.load("pubsub-factory-test.conf"));
+    }
+
+    @Before
+    public void setUpCluster() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        system1 = ActorSystem.create("actorSystem", getTestConf());
+        system2 = ActorSystem.create("actorSystem", getTestConf());
+        final Cluster cluster1 = Cluster.get(system1);
+        final Cluster cluster2 = Cluster.get(system2);
+        cluster1.registerOnMemberUp(latch::countDown);
+        cluster2.registerOnMemberUp(latch::countDown);
+        cluster1.join(cluster1.selfAddress());
+        cluster2.join(cluster1.selfAddress());
+        final ActorContext context1 = newContext(system1);
+        final ActorContext context2 = newContext(system2);
+        final AckExtractor<Acknowledgement> ackExtractor =
+                AckExtractor.of(Acknowledgement::getEntityId, Acknowledgement::getDittoHeaders);
+        factory1 = TestPubSubFactory.of(context1, ackExtractor, TestPubSubFactory.startDistributedAcks(context1));
+        factory2 = TestPubSubFactory.of(context2, ackExtractor, TestPubSubFactory.startDistributedAcks(context2));
+        latch.await();
+    }
+
+    @After
+    public void shutdownCluster() {
+        TestKit.shutdownActorSystem(system1);
+        TestKit.shutdownActorSystem(system2);
+    }
+
+    @Test
+    public void remoteSubscriberReceivesBatchedSignalsInOrderWithSendersAndHeaders() {
+        new TestKit(system2) {{
+            final DistributedPub<Acknowledgement> pub = factory1.startDistributedPub();
+            final DistributedSub sub = factory2.startDistributedSub();
+            final TestProbe publisher = TestProbe.apply(system1);
+            final TestProbe subscriber = TestProbe.apply(system2);
+            sub.subscribeWithFilterAndGroup(singleton("hello"), subscriber.ref(), null, null)
+                    .toCompletableFuture()
+                    .join();
+
+            // WHEN: more signals than fit into one batch are published
+            for (int i = 0; i < 7; i++) {
+                pub.publish(signal("hello", i), publisher.ref());
+            }
+
+            // THEN: the subscriber receives all of them in order from the original sender with the original headers
+            for (int i = 0; i < 7; i++) {
+                final Acknowledgement received = subscriber.expectMsgClass(Acknowledgement.class);
+                assertThat(received).isEqualTo(signal("hello", i));
+                assertThat(received.getDittoHeaders().getCorrelationId()).contains("cid-" + i);
+                assertThat(subscriber.sender().path().toStringWithoutAddress())
+                        .isEqualTo(publisher.ref().path().toStringWithoutAddress());
+            }
+
+            // WHEN: a signal is published without sender
+            pub.publish(signal("hello", 7), null);
+
+            // THEN: it is delivered after the batch window
+            subscriber.expectMsg(scala.concurrent.duration.Duration.create(10, TimeUnit.SECONDS), signal("hello", 7));
+            assertThat(subscriber.sender()).isEqualTo(system2.deadLetters());
+        }};
+    }
+
+    private static ActorContext newContext(final ActorSystem actorSystem) {
+        return TestActorRef.create(actorSystem, Props.create(NopActor.class)).underlyingActor().context();
+    }
+
+    private static Acknowledgement signal(final String string, final int seq) {
+        return Acknowledgement.of(AcknowledgementLabel.of(string), ThingId.of("ns:" + seq), HttpStatus.OK,
+                DittoHeaders.newBuilder().correlationId("cid-" + seq).build());
+    }
+
+    private static final class NopActor extends AbstractActor {
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+    }
+
+}
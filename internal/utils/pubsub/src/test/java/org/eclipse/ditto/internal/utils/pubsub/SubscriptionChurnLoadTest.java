@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.awaitility.Awaitility;
+import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
+import org.eclipse.ditto.base.model.common.HttpStatus;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.signals.acks.Acknowledgement;
+import org.eclipse.ditto.internal.utils.pubsub.extractors.AckExtractor;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorContext;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.PoisonPill;
+import akka.actor.Props;
+import akka.cluster.Cluster;
+import akka.japi.pf.ReceiveBuilder;
+import akka.testkit.TestActorRef;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Load-test harness for the replication of subscriptions: subscribers on a 3-node cluster subscribe to topics of a
+ * shared pool, then a part of them is repeatedly replaced by new subscribers as during a reconnect storm. The size
+ * of the replicated subscription data of each member is printed after each round.
+ * <p>
+ * Skipped unless the system property {@code ditto.pubsub.load-test} is {@code true}. The number of subscribers is
+ * set by {@code ditto.pubsub.load-test.subscribers} (default 100000); delta replication is toggled by
+ * {@code ditto.pubsub.load-test.delta-replication} (default true). Example:
+ * {@code mvn test -Dtest=SubscriptionChurnLoadTest -Dditto.pubsub.load-test=true}
+ * </p>
+ */
+public final class SubscriptionChurnLoadTest {
+
+    private static final int TOPICS = 1_000;
+    private static final int TOPICS_PER_SUBSCRIBER = 3;
+    private static final int ROUNDS = 5;
+    private static final double CHURN_RATIO = 0.3;
+    private static final int WAVE_SIZE = 1_000;
+
+    private final Random random = new Random(4711L);
+    private List<ActorSystem> systems;
+    private List<TestPubSubFactory> factories;
+    private List<DistributedSub> subs;
+
+    private static Config getTestConf() {
+        final boolean deltaReplication =
+                Boolean.parseBoolean(System.getProperty("ditto.pubsub.load-test.delta-replication", "true"));
+        return ConfigFactory.parseString("ditto.pubsub {\n" +
+                "  delta-replication-enabled = " + deltaReplication + "\n" +
+                "  delta-compaction-interval = 10s\n" +
+                "}").withFallback(ConfigFactory.load("pubsub-factory-test.conf"));
+    }
+
+    @Before
+    public void setUpCluster() throws Exception {
+        Assume.assumeTrue("Load test is disabled", Boolean.getBoolean("ditto.pubsub.load-test"));
+        final CountDownLatch latch = new CountDownLatch(3);
+        systems = new ArrayList<>();
+        factories = new ArrayList<>();
+        subs = new ArrayList<>();
+        final AckExtractor<Acknowledgement> ackExtractor =
+                AckExtractor.of(Acknowledgement::getEntityId, Acknowledgement::getDittoHeaders);
+        for (int i = 0; i < 3; i++) {
+            final ActorSystem system = ActorSystem.create("actorSystem", getTestConf());
+            final Cluster cluster = Cluster.get(system);
+            cluster.registerOnMemberUp(latch::countDown);
+            cluster.join(Cluster.get(systems.isEmpty() ? system : systems.get(0)).selfAddress());
+            final ActorContext context = TestActorRef.create(system, Props.create(NopActor.class))
+                    .underlyingActor()
+                    .context();
+            final TestPubSubFactory factory =
+                    TestPubSubFactory.of(context, ackExtractor, TestPubSubFactory.startDistributedAcks(context));
+            systems.add(system);
+            factories.add(factory);
+            subs.add(factory.startDistributedSub());
+        }
+        latch.await();
+    }
+
+    @After
+    public void shutdownCluster() {
+        if (systems != null) {
+            systems.forEach(TestKit::shutdownActorSystem);
+        }
+    }
+
+    @Test
+    public void subscriptionChurnAcrossThreeMembers() {
+        final int numberOfSubscribers = Integer.getInteger("ditto.pubsub.load-test.subscribers", 100_000);
+        final List<List<ActorRef>> subscribers = systems.stream()
+                .map(system -> new ArrayList<ActorRef>())
+                .collect(Collectors.toList());
+
+        final long start = System.nanoTime();
+        subscribe(subscribers, numberOfSubscribers);
+        report("initial", start);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            final long roundStart = System.nanoTime();
+            int replaced = 0;
+            for (final List<ActorRef> subscribersOfMember : subscribers) {
+                final int toReplace = (int) (subscribersOfMember.size() * CHURN_RATIO);
+                for (int i = 0; i < toReplace; i++) {
+                    subscribersOfMember.remove(random.nextInt(subscribersOfMember.size())).tell(PoisonPill.getInstance(),
+                            ActorRef.noSender());
+                }
+                replaced += toReplace;
+            }
+            subscribe(subscribers, replaced);
+            report("round " + round, roundStart);
+        }
+
+        // all subscribed topics are still delivered to every member
+        final DistributedPub<Acknowledgement> pub = factories.get(0).startDistributedPub();
+        final String topic = topic(random.nextInt(TOPICS));
+        final List<TestProbe> probes = systems.stream().map(TestProbe::apply).collect(Collectors.toList());
+        for (int i = 0; i < probes.size(); i++) {
+            subs.get(i).subscribeWithFilterAndGroup(Set.of(topic), probes.get(i).ref(), null, null)
+                    .toCompletableFuture()
+                    .join();
+        }
+        final Acknowledgement signal = Acknowledgement.of(AcknowledgementLabel.of(topic), ThingId.of("ns:load-test"),
+                HttpStatus.OK, DittoHeaders.empty());
+        Awaitility.await().atMost(Duration.ofSeconds(30L)).untilAsserted(() -> {
+            pub.publish(signal, ActorRef.noSender());
+            for (final TestProbe probe : probes) {
+                probe.expectMsg(scala.concurrent.duration.Duration.create(1, TimeUnit.SECONDS), signal);
+            }
+        });
+    }
+
+    private void subscribe(final List<List<ActorRef>> subscribers, final int count) {
+        // subscribe in waves to not exceed the ask timeout of subscriptions
+        for (int wave = 0; wave < count; wave += WAVE_SIZE) {
+            subscribeWave(subscribers, Math.min(WAVE_SIZE, count - wave));
+        }
+    }
+
+    private void subscribeWave(final List<List<ActorRef>> subscribers, final int count) {
+        final List<CompletableFuture<?>> acks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int member = i % systems.size();
+            final ActorRef subscriber = systems.get(member).actorOf(Props.create(NopActor.class));
+            final Set<String> topics = IntStream.range(0, TOPICS_PER_SUBSCRIBER)
+                    .mapToObj(j -> topic(random.nextInt(TOPICS)))
+                    .collect(Collectors.toSet());
+            subscribers.get(member).add(subscriber);
+            acks.add(subs.get(member).subscribeWithFilterAndGroup(topics, subscriber, null, null)
+                    .toCompletableFuture());
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void report(final String stage, final long startNanos) {
+        // wait for replication so that each member sees the subscription data of all members
+        // compare values only because references to local actors do not contain the address of their member
+        Awaitility.await().atMost(Duration.ofSeconds(60L)).until(() -> factories.stream()
+                .map(factory -> Set.copyOf(factory.getSerializedTopics().values()))
+                .distinct()
+                .count() == 1);
+        final Map<ActorRef, Set<String>> serializedTopics = factories.get(0).getSerializedTopics();
+        final long strings = serializedTopics.values().stream().mapToLong(Set::size).sum();
+        final long bytes = serializedTopics.values()
+                .stream()
+                .flatMap(Set::stream)
+                .mapToLong(String::length)
+                .sum();
+        System.out.printf("%s: %d ms, %d members, %d serialized grouped topics, %d bytes%n", stage,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), serializedTopics.size(), strings,
+                bytes);
+        assertThat(serializedTopics).hasSize(systems.size());
+    }
+
+    private static String topic(final int i) {
+        return String.format("topic-%04d", i);
+    }
+
+    private static final class NopActor extends AbstractActor {
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+    }
+
+}
@@ -79,6 +79,21 @@ public final class TestPubSubFactory extends AbstractPubSubFactory<Acknowledgeme
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * @return the serialized topics of each subscriber in the local replica of the distributed data.
+     */
+    Map<ActorRef, Set<String>> getSerializedTopics() {
+        final DDataReader<ActorRef, String> reader = ddata.getReader();
+        return IntStream.range(0, reader.getNumberOfShards())
+                .mapToObj(i -> ((DistributedData<ORMultiMap<ActorRef, String>>) reader)
+                        .get(reader.getKey(i), (Replicator.ReadConsistency) Replicator.readLocal())
+                        .toCompletableFuture()
+                        .thenApply(future -> future.map(ORMultiMap::getEntries).orElse(Collections.emptyMap()))
+                        .join()
+                ).flatMap(entries -> entries.entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
     @Override
     public Collection<Integer> getSeeds() {
         return seeds;
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.internal.utils.pubsub.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.eclipse.ditto.internal.utils.pubsub.ddata.ack.Grouped;
+import org.eclipse.ditto.internal.utils.pubsub.ddata.compressed.DeltaCompressedSubscriptions;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.japi.Pair;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests {@link BloomFilterIndex} and {@link TopicBloomFilter}.
+ */
+public final class BloomFilterIndexTest {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static ActorSystem system;
+
+    private ActorRef subscriber1;
+    private ActorRef subscriber2;
+
+    @BeforeClass
+    public static void startActorSystem() {
+        system = ActorSystem.create("BloomFilterIndexTest", ConfigFactory.parseString("akka.actor.provider = local"));
+    }
+
+    @AfterClass
+    public static void shutdownActorSystem() {
+        TestKit.shutdownActorSystem(system);
+    }
+
+    @Before
+    public void createSubscribers() {
+        subscriber1 = TestProbe.apply(system).ref();
+        subscriber2 = TestProbe.apply(system).ref();
+    }
+
+    @Test
+    public void filterHasNoFalseNegativesAndBoundedFalsePositives() {
+        final int size = 10_000;
+        final TopicBloomFilter underTest = TopicBloomFilter.of(size, FALSE_POSITIVE_RATE);
+        LongStream.range(0, size).map(BloomFilterIndexTest::hash).forEach(underTest::add);
+
+        assertThat(LongStream.range(0, size).map(BloomFilterIndexTest::hash).allMatch(underTest::mightContain))
+                .isTrue();
+        final long falsePositives = LongStream.range(size, 2 * size)
+                .map(BloomFilterIndexTest::hash)
+                .filter(underTest::mightContain)
+                .count();
+        assertThat((double) falsePositives / size).isLessThan(2 * FALSE_POSITIVE_RATE);
+        assertThat(underTest.estimateFalsePositiveRate()).isLessThan(2 * FALSE_POSITIVE_RATE);
+        assertThat(underTest.isOverCapacity()).isFalse();
+    }
+
+    @Test
+    public void matchesSubscribersWithGroups() {
+        final BloomFilterIndex underTest = BloomFilterIndex.of(FALSE_POSITIVE_RATE);
+        final int changed = underTest.update(Map.of(
+                subscriber1, Set.of(serialize(null, 1L, 2L), serialize("group", 2L)),
+                subscriber2, Set.of(serialize("group", 2L, 3L))
+        ));
+
+        assertThat(changed).isEqualTo(2);
+        assertThat(collectMatches(underTest, 1L)).containsExactly(Pair.create(subscriber1, Set.of("")));
+        assertThat(collectMatches(underTest, 2L)).containsExactlyInAnyOrder(
+                Pair.create(subscriber1, Set.of("", "group")),
+                Pair.create(subscriber2, Set.of("group")));
+        assertThat(collectMatches(underTest, 3L, 4L)).containsExactly(Pair.create(subscriber2, Set.of("group")));
+        assertThat(collectMatches(underTest, 4L)).isEmpty();
+    }
+
+    @Test
+    public void updatesOnlyChangedSubscribers() {
+        final BloomFilterIndex underTest = BloomFilterIndex.of(FALSE_POSITIVE_RATE);
+        underTest.update(Map.of(
+                subscriber1, Set.of(serialize(null, 1L, 2L)),
+                subscriber2, Set.of(serialize(null, 3L))
+        ));
+
+        final int changed = underTest.update(Map.of(
+                subscriber1, Set.of(serialize(null, 2L)),
+                subscriber2, Set.of(serialize(null, 3L))
+        ));
+
+        assertThat(changed).isEqualTo(1);
+        assertThat(collectMatches(underTest, 1L)).isEmpty();
+        assertThat(collectMatches(underTest, 2L)).containsExactly(Pair.create(subscriber1, Set.of("")));
+        assertThat(collectMatches(underTest, 3L)).containsExactly(Pair.create(subscriber2, Set.of("")));
+        assertThat(underTest.update(Map.of(subscriber2, Set.of(serialize(null, 3L))))).isEqualTo(1);
+        assertThat(collectMatches(underTest, 2L)).isEmpty();
+    }
+
+    @Test
+    public void keepsTopicsOfOtherGroupedTopicsOnRemoval() {
+        final BloomFilterIndex underTest = BloomFilterIndex.of(FALSE_POSITIVE_RATE);
+        underTest.update(Map.of(subscriber1, Set.of(serialize(null, 1L), serialize("a", 1L), serialize("b", 1L))));
+        underTest.update(Map.of(subscriber1, Set.of(serialize("a", 1L), serialize("b", 1L))));
+
+        assertThat(collectMatches(underTest, 1L)).containsExactly(Pair.create(subscriber1, Set.of("a", "b")));
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        final BloomFilterIndex underTest = BloomFilterIndex.of(FALSE_POSITIVE_RATE);
+        final Set<Long> topics = LongStream.range(0, 100_000).map(BloomFilterIndexTest::hash)
+                .boxed()
+                .collect(Collectors.toSet());
+        underTest.update(Map.of(subscriber1, Set.of(Grouped.of(topics).toJsonString())));
+
+        assertThat(collectMatches(underTest, hash(4711L))).containsExactly(Pair.create(subscriber1, Set.of("")));
+        assertThat(underTest.estimateMaxFalsePositiveRate()).isLessThan(FALSE_POSITIVE_RATE);
+    }
+
+    @Test
+    public void appliesDeltasOfDeltaCompressedSubscriptions() {
+        final DeltaCompressedSubscriptions subscriptions =
+                DeltaCompressedSubscriptions.of(List.of(1, 2), 4, Duration.ofHours(1L));
+        final BloomFilterIndex underTest = BloomFilterIndex.of(FALSE_POSITIVE_RATE);
+        final ActorRef localSubscriber1 = TestProbe.apply(system).ref();
+        final ActorRef localSubscriber2 = TestProbe.apply(system).ref();
+
+        subscriptions.subscribe(localSubscriber1, Set.of("a", "b"), null);
+        subscriptions.subscribe(localSubscriber2, Set.of("b"), "group");
+        underTest.update(Map.of(subscriber1, subscriptions.export().getInserts()));
+        subscriptions.removeSubscriber(localSubscriber1);
+        subscriptions.subscribe(localSubscriber2, Set.of("c"), "group");
+        underTest.update(Map.of(subscriber1, subscriptions.export().getInserts()));
+
+        assertThat(collectMatches(underTest, subscriptions.hashAsLong("a"))).isEmpty();
+        assertThat(collectMatches(underTest, subscriptions.hashAsLong("b"), subscriptions.hashAsLong("c")))
+                .containsExactly(Pair.create(subscriber1, Set.of("group")), Pair.create(subscriber1, Set.of("group")));
+
+        // re-adding a removed topic exceeds the compaction threshold
+        subscriptions.subscribe(localSubscriber1, Set.of("a"), null);
+        final Set<String> compacted = subscriptions.export().getInserts();
+        underTest.update(Map.of(subscriber1, compacted));
+        subscriptions.unsubscribe(localSubscriber2, Set.of("b"));
+        underTest.update(Map.of(subscriber1, subscriptions.export().getInserts()));
+
+        assertThat(compacted).hasSize(2);
+        assertThat(collectMatches(underTest, subscriptions.hashAsLong("a")))
+                .containsExactly(Pair.create(subscriber1, Set.of("")));
+        assertThat(collectMatches(underTest, subscriptions.hashAsLong("b"))).isEmpty();
+        assertThat(collectMatches(underTest, subscriptions.hashAsLong("c")))
+                .containsExactly(Pair.create(subscriber1, Set.of("group")));
+    }
+
+    private static List<Pair<ActorRef, Set<String>>> collectMatches(final BloomFilterIndex index,
+            final Long... topics) {
+        final List<Pair<ActorRef, Set<String>>> matches = new ArrayList<>();
+        index.collectMatches(List.of(topics), matches);
+        return matches;
+    }
+
+    private static String serialize(final String group, final Long... topics) {
+        return Grouped.of(group, Set.of(topics)).toJsonString();
+    }
+
+    private static long hash(final long i) {
+        // spread the bits like a hashed topic
+        final long z = (i + 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        return (z ^ (z >>> 31)) * 0x94D049BB133111EBL;
+    }
+
+}
@@ -67,6 +67,30 @@ public final class DefaultPubSubConfigTest {
         softly.assertThat(underTest.getUpdateInterval())
                 .as(PubSubConfig.ConfigValue.UPDATE_INTERVAL.getConfigPath())
                 .isEqualTo(Duration.ofSeconds(3L));
+
+        softly.assertThat(underTest.getTopicFilterFalsePositiveRate())
+                .as(PubSubConfig.ConfigValue.TOPIC_FILTER_FALSE_POSITIVE_RATE.getConfigPath())
+                .isEqualTo(0.01);
+
+        softly.assertThat(underTest.getPublishBatchWindow())
+                .as(PubSubConfig.ConfigValue.PUBLISH_BATCH_WINDOW.getConfigPath())
+                .isEqualTo(Duration.ZERO);
+
+        softly.assertThat(underTest.getPublishBatchMaxSize())
+                .as(PubSubConfig.ConfigValue.PUBLISH_BATCH_MAX_SIZE.getConfigPath())
+                .isEqualTo(100);
+
+        softly.assertThat(underTest.isDeltaReplicationEnabled())
+                .as(PubSubConfig.ConfigValue.DELTA_REPLICATION_ENABLED.getConfigPath())
+                .isEqualTo(false);
+
+        softly.assertThat(underTest.getDeltaCompactionThreshold())
+                .as(PubSubConfig.ConfigValue.DELTA_COMPACTION_THRESHOLD.getConfigPath())
+                .isEqualTo(64);
+
+        softly.assertThat(underTest.getDeltaCompactionInterval())
+                .as(PubSubConfig.ConfigValue.DELTA_COMPACTION_INTERVAL.getConfigPath())
+                .isEqualTo(Duration.ofMinutes(1L));
     }
 
     @Test
@@ -84,6 +108,30 @@ public final class DefaultPubSubConfigTest {
         softly.assertThat(underTest.getUpdateInterval())
                 .as(PubSubConfig.ConfigValue.UPDATE_INTERVAL.getConfigPath())
                 .isEqualTo(Duration.ofSeconds(4L));
+
+        softly.assertThat(underTest.getTopicFilterFalsePositiveRate())
+                .as(PubSubConfig.ConfigValue.TOPIC_FILTER_FALSE_POSITIVE_RATE.getConfigPath())
+                .isEqualTo(0.001);
+
+        softly.assertThat(underTest.getPublishBatchWindow())
+                .as(PubSubConfig.ConfigValue.PUBLISH_BATCH_WINDOW.getConfigPath())
+                .isEqualTo(Duration.ofMillis(2L));
+
+        softly.assertThat(underTest.getPublishBatchMaxSize())
+                .as(PubSubConfig.ConfigValue.PUBLISH_BATCH_MAX_SIZE.getConfigPath())
+                .isEqualTo(50);
+
+        softly.assertThat(underTest.isDeltaReplicationEnabled())
+                .as(PubSubConfig.ConfigValue.DELTA_REPLICATION_ENABLED.getConfigPath())
+                .isEqualTo(true);
+
+        softly.assertThat(underTest.getDeltaCompactionThreshold())
+                .as(PubSubConfig.ConfigValue.DELTA_COMPACTION_THRESHOLD.getConfigPath())
+                .isEqualTo(16);
+
+        softly.assertThat(underTest.getDeltaCompactionInterval())
+                .as(PubSubConfig.ConfigValue.DELTA_COMPACTION_INTERVAL.getConfigPath())
+                .isEqualTo(Duration.ofSeconds(30L));
     }
 
 }
@@ -100,6 +100,10 @@ public final class JacksonCborFactory implements CborFactory {
 
     @Override
     public byte[] toByteArray(final JsonValue jsonValue) throws IOException {
+        final byte[] cachedCborRepresentation = JsonFactory.getCachedCborRepresentation(jsonValue);
+        if (null != cachedCborRepresentation) {
+            return cachedCborRepresentation.clone();
+        }
         final ByteArrayOutputStream baos = new ByteArrayOutputStream();
         writeToOutputStream(jsonValue, baos);
         return baos.toByteArray();
@@ -112,6 +116,12 @@ public final class JacksonCborFactory implements CborFactory {
 
     @Override
     public void writeToByteBuffer(final JsonValue jsonValue, final ByteBuffer byteBuffer) throws IOException {
+        // an unmodified object or array whose CBOR representation is known is passed through without walking it
+        final byte[] cachedCborRepresentation = JsonFactory.getCachedCborRepresentation(jsonValue);
+        if (null != cachedCborRepresentation) {
+            byteBuffer.put(cachedCborRepresentation);
+            return;
+        }
         final ByteBufferOutputStream byteBufferOutputStream = new ByteBufferOutputStream(byteBuffer);
         writeToOutputStream(jsonValue, byteBufferOutputStream);
     }
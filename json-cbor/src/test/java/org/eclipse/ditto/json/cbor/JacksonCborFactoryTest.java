@@ -113,4 +113,32 @@ public final class JacksonCborFactoryTest {
         allocate.flip();
         assertThat(BinaryToHexConverter.toHexString(allocate)).isEqualTo(CborTestUtils.serializeToHexString(testValue));
     }
+
+    @Test
+    public void writeToByteBufferPassesThroughBytesOfUnmodifiedValue() throws IOException {
+        final JsonValue parsedValue = cborFactory.readFrom(testBytes);
+        final ByteBuffer allocate = ByteBuffer.allocate(512);
+        cborFactory.writeToByteBuffer(parsedValue, allocate);
+        allocate.flip();
+
+        if (parsedValue.isObject()) {
+            assertThat(JsonFactory.getCachedCborRepresentation(parsedValue)).isEqualTo(testBytes);
+        }
+        assertThat(BinaryToHexConverter.toHexString(allocate)).isEqualTo(BinaryToHexConverter.toHexString(testBytes));
+    }
+
+    @Test
+    public void writeToByteBufferEncodesModifiedValue() throws IOException {
+        final JsonValue parsedValue = cborFactory.readFrom(testBytes);
+        if (parsedValue.isObject()) {
+            final JsonValue modifiedValue = parsedValue.asObject().setValue("Image/Width", 1024);
+            final ByteBuffer allocate = ByteBuffer.allocate(512);
+            cborFactory.writeToByteBuffer(modifiedValue, allocate);
+            allocate.flip();
+
+            assertThat(JsonFactory.getCachedCborRepresentation(modifiedValue)).isNull();
+            assertThat(cborFactory.readFrom(allocate)).isEqualTo(modifiedValue);
+        }
+    }
+
 }
@@ -29,6 +29,31 @@ abstract class AbstractJsonMerger {
         return value1.isArray() && value2.isArray();
     }
 
+    /**
+     * Sets the merged value of a field which already exists in the target JSON object.
+     * Merging JSON objects returns the existing object if nothing changed, so a merged JSON object which is not the
+     * existing one is set without comparing both deeply.
+     *
+     * @param target the JSON object to set the merged value in.
+     * @param key the key of the field.
+     * @param existingValue the value of the field in {@code target}.
+     * @param mergedValue the merged value.
+     * @return {@code target} with the merged value.
+     */
+    protected static JsonObject setMergedValue(final JsonObject target, final JsonKey key,
+            final JsonValue existingValue, final JsonValue mergedValue) {
+
+        final JsonObject result;
+        if (mergedValue == existingValue) {
+            result = target;
+        } else if (areJsonObjects(mergedValue, existingValue)) {
+            result = ImmutableJsonObject.setChangedField(target, JsonField.newInstance(key, mergedValue));
+        } else {
+            result = target.set(JsonField.newInstance(key, mergedValue));
+        }
+        return result;
+    }
+
     protected static JsonObject filterNullValues(final JsonObject jsonObject) {
         final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
 
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The fields of a JSON object which are backed by the bytes of the object encoded by a {@link BinaryJsonCodec}.
+ * <p>
+ * A field value is decoded only when it is accessed. Nested JSON objects are backed by the same bytes again. The
+ * index of the fields is softly referenced and is rebuilt from the bytes on demand.
+ * </p>
+ */
+@Immutable
+final class BinaryIndexedFields implements IndexedFields {
+
+    private final BinaryJsonCodec codec;
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+    private SoftReference<FieldIndex> indexReference;
+
+    /**
+     * Constructs a new {@code BinaryIndexedFields} object.
+     *
+     * @param codec the codec which validated the bytes.
+     * @param bytes the validated bytes. They must not be changed afterwards.
+     * @param start the index of the first byte of the object after its length.
+     * @param end the index after the last byte of the object.
+     */
+    BinaryIndexedFields(final BinaryJsonCodec codec, final byte[] bytes, final int start, final int end) {
+        this.codec = codec;
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        indexReference = new SoftReference<>(null);
+    }
+
+    @Override
+    public int getSize() {
+        return index().getSize();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return 0 <= index().indexOf(key);
+    }
+
+    @Override
+    @Nullable
+    public JsonField getOrNull(final String key) {
+        final FieldIndex index = index();
+        final int fieldIndex = index.indexOf(key);
+        return 0 <= fieldIndex ? getField(index, fieldIndex) : null;
+    }
+
+    @Override
+    public Map<String, JsonField> toFieldMap() {
+        final FieldIndex index = index();
+        final Map<String, JsonField> result = new LinkedHashMap<>((int) (index.getSize() / 0.75F) + 1);
+        for (int i = 0; i < index.getSize(); i++) {
+            final JsonField field = getField(index, i);
+            result.put(field.getKeyName(), field);
+        }
+        return result;
+    }
+
+    @Override
+    @Nullable
+    public String decodeToString() {
+        return null;
+    }
+
+    @Override
+    public int guessSerializedSize() {
+        return end - start;
+    }
+
+    @Override
+    public long upperBoundForStringSize() {
+        return -1;
+    }
+
+    @Override
+    public boolean hasSameEncoding(final IndexedFields other) {
+        if (!(other instanceof BinaryIndexedFields)) {
+            return false;
+        }
+        final BinaryIndexedFields that = (BinaryIndexedFields) other;
+        if (codec.getDictionaryFingerprint() != that.codec.getDictionaryFingerprint()) {
+            return false;
+        }
+        if (bytes == that.bytes && start == that.start && end == that.end) {
+            return true;
+        }
+        return Arrays.equals(bytes, start, end, that.bytes, that.start, that.end);
+    }
+
+    private FieldIndex index() {
+        FieldIndex result = indexReference.get();
+        if (null == result) {
+            final BinaryJsonCodec.Reader reader = codec.reader(bytes, start, end);
+            final int fieldCount = reader.readCount();
+            final String[] keys = new String[fieldCount];
+            final int[] valueOffsets = new int[2 * fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                keys[i] = reader.readKey();
+                valueOffsets[2 * i] = reader.getPosition();
+                reader.skipValue();
+                valueOffsets[2 * i + 1] = reader.getPosition();
+            }
+            result = new FieldIndex(new StreamingJsonParser.FieldOffsets(start, end, keys, valueOffsets));
+            indexReference = new SoftReference<>(result);
+        }
+        return result;
+    }
+
+    private JsonField getField(final FieldIndex index, final int fieldIndex) {
+        JsonField result = index.getDecodedField(fieldIndex);
+        if (null == result) {
+            final JsonValue value = codec.reader(bytes, index.getValueStart(fieldIndex), index.getValueEnd(fieldIndex))
+                    .readValue();
+            result = JsonField.newInstance(index.getKey(fieldIndex), value);
+            index.setDecodedField(fieldIndex, result);
+        }
+        return result;
+    }
+
+}
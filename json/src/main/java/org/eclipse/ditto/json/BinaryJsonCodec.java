@@ -0,0 +1,598 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Encodes JSON values into a compact binary format and decodes them into JSON objects whose fields are decoded on
+ * access.
+ * <p>
+ * Keys which are contained in the key dictionary of the codec are encoded by their index in the dictionary, integral
+ * numbers are encoded as variable length integers and nested JSON objects are prefixed by their length, so they can
+ * be skipped without decoding them.
+ * Each encoded value starts with a fingerprint of the key dictionary; values can only be decoded by a codec with the
+ * same key dictionary.
+ * </p>
+ * <p>
+ * <b>This is a Ditto internal class which is not intended for re-use.</b>
+ * It therefore is not treated as API which is held binary compatible to previous versions.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class BinaryJsonCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 5;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte ARRAY = 7;
+    private static final byte OBJECT = 8;
+
+    private final String[] keyDictionary;
+    private final Map<String, Integer> keyIds;
+    private final int dictionaryFingerprint;
+
+    private BinaryJsonCodec(final String[] keyDictionary) {
+        this.keyDictionary = keyDictionary;
+        keyIds = new HashMap<>((int) (keyDictionary.length / 0.75F) + 1);
+        for (int i = 0; i < keyDictionary.length; i++) {
+            keyIds.put(keyDictionary[i], i);
+        }
+        dictionaryFingerprint = Arrays.hashCode(keyDictionary);
+    }
+
+    /**
+     * Returns a codec which encodes the given keys by their index.
+     * The order of the keys matters: encoded values can only be decoded by a codec with the same key dictionary.
+     *
+     * @param keyDictionary the frequently used keys. Duplicates are ignored.
+     * @return the codec.
+     * @throws NullPointerException if {@code keyDictionary} is {@code null}.
+     */
+    public static BinaryJsonCodec of(final List<String> keyDictionary) {
+        requireNonNull(keyDictionary, "The key dictionary must not be null!");
+        return new BinaryJsonCodec(new LinkedHashSet<>(keyDictionary).toArray(new String[0]));
+    }
+
+    /**
+     * Returns the fingerprint of the key dictionary which is written at the start of each encoded value.
+     *
+     * @return the fingerprint.
+     */
+    public int getDictionaryFingerprint() {
+        return dictionaryFingerprint;
+    }
+
+    /**
+     * Encodes the given JSON value.
+     *
+     * @param jsonValue the value to encode.
+     * @return the encoded bytes.
+     * @throws NullPointerException if {@code jsonValue} is {@code null}.
+     */
+    public byte[] toByteArray(final JsonValue jsonValue) {
+        return encode(jsonValue).toByteArray();
+    }
+
+    /**
+     * Encodes the given JSON value into the given buffer.
+     *
+     * @param jsonValue the value to encode.
+     * @param byteBuffer the buffer to write the encoded bytes into.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws BufferOverflowException if the buffer has not enough space left.
+     */
+    public void writeTo(final JsonValue jsonValue, final ByteBuffer byteBuffer) {
+        requireNonNull(byteBuffer, "The ByteBuffer must not be null!");
+        encode(jsonValue).writeTo(byteBuffer);
+    }
+
+    private Writer encode(final JsonValue jsonValue) {
+        requireNonNull(jsonValue, "The JSON value must not be null!");
+        final Writer writer = new Writer();
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeInt(dictionaryFingerprint);
+        writeValue(jsonValue, writer);
+        return writer;
+    }
+
+    private void writeValue(final JsonValue jsonValue, final Writer writer) {
+        if (jsonValue.isNull()) {
+            writer.writeByte(NULL);
+        } else if (jsonValue.isBoolean()) {
+            writer.writeByte(jsonValue.asBoolean() ? TRUE : FALSE);
+        } else if (jsonValue instanceof ImmutableJsonInt || jsonValue instanceof ImmutableJsonLong) {
+            writer.writeByte(INTEGER);
+            writer.writeZigZag(jsonValue.asLong());
+        } else if (jsonValue.isNumber()) {
+            final double value = jsonValue.asDouble();
+            final float floatValue = (float) value;
+            if (floatValue == value) {
+                writer.writeByte(FLOAT);
+                writer.writeInt(Float.floatToRawIntBits(floatValue));
+            } else {
+                writer.writeByte(DOUBLE);
+                writer.writeLong(Double.doubleToRawLongBits(value));
+            }
+        } else if (jsonValue.isString()) {
+            writer.writeByte(STRING);
+            writer.writeUtf8(jsonValue.asString());
+        } else if (jsonValue.isArray()) {
+            final JsonArray jsonArray = jsonValue.asArray();
+            writer.writeByte(ARRAY);
+            final int lengthPosition = writer.beginLengthPrefixed();
+            writer.writeVarint(jsonArray.getSize());
+            for (final JsonValue element : jsonArray) {
+                writeValue(element, writer);
+            }
+            writer.endLengthPrefixed(lengthPosition);
+        } else {
+            final JsonObject jsonObject = jsonValue.asObject();
+            writer.writeByte(OBJECT);
+            final int lengthPosition = writer.beginLengthPrefixed();
+            writer.writeVarint(jsonObject.getSize());
+            for (final JsonField field : jsonObject) {
+                writeKey(field.getKeyName(), writer);
+                writeValue(field.getValue(), writer);
+            }
+            writer.endLengthPrefixed(lengthPosition);
+        }
+    }
+
+    private void writeKey(final String key, final Writer writer) {
+        final Integer keyId = keyIds.get(key);
+        if (null != keyId) {
+            writer.writeVarint(((long) keyId << 1) | 1L);
+        } else {
+            writer.writeVarint((long) Writer.utf8Length(key) << 1);
+            writer.writeUtf8Bytes(key);
+        }
+    }
+
+    /**
+     * Decodes a JSON value which was encoded by a codec with the same key dictionary.
+     * The fields of JSON objects are backed by the given bytes and decoded on access.
+     *
+     * @param bytes the encoded bytes. They must not be changed afterwards.
+     * @return the decoded value.
+     * @throws NullPointerException if {@code bytes} is {@code null}.
+     * @throws JsonParseException if {@code bytes} are no valid encoded JSON value of this codec.
+     */
+    public JsonValue readFrom(final byte[] bytes) {
+        requireNonNull(bytes, "The bytes must not be null!");
+        if (HEADER_LENGTH > bytes.length || FORMAT_VERSION != bytes[0]) {
+            throw new JsonParseException("The bytes do not start with a known binary JSON format version!");
+        }
+        final int fingerprint = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        if (fingerprint != dictionaryFingerprint) {
+            throw new JsonParseException(MessageFormat.format(
+                    "The bytes were encoded with key dictionary <{0}> instead of <{1}>!", fingerprint,
+                    dictionaryFingerprint));
+        }
+
+        // validate the whole value at once, so decoding the fields lazily does not fail later on
+        final Reader validatingReader = new Reader(bytes, HEADER_LENGTH, bytes.length);
+        validatingReader.skipValue();
+        if (bytes.length != validatingReader.position) {
+            throw new JsonParseException("Unexpected bytes after the binary JSON value!");
+        }
+        return new Reader(bytes, HEADER_LENGTH, bytes.length).readValue();
+    }
+
+    /**
+     * Decodes a JSON value from the remaining bytes of the given buffer. The bytes are copied as the buffer may be
+     * reused afterwards.
+     *
+     * @param byteBuffer the buffer containing the encoded bytes.
+     * @return the decoded value.
+     * @throws NullPointerException if {@code byteBuffer} is {@code null}.
+     * @throws JsonParseException if the remaining bytes are no valid encoded JSON value of this codec.
+     */
+    public JsonValue readFrom(final ByteBuffer byteBuffer) {
+        requireNonNull(byteBuffer, "The ByteBuffer must not be null!");
+        final byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        return readFrom(bytes);
+    }
+
+    /**
+     * Returns a reader of the given range of bytes which were validated before.
+     *
+     * @param bytes the encoded bytes.
+     * @param start the index of the first byte to read.
+     * @param end the index after the last byte to read.
+     * @return the reader.
+     */
+    Reader reader(final byte[] bytes, final int start, final int end) {
+        return new Reader(bytes, start, end);
+    }
+
+    /**
+     * Reads encoded values from a range of bytes.
+     */
+    @NotThreadSafe
+    final class Reader {
+
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        private Reader(final byte[] bytes, final int start, final int end) {
+            this.bytes = bytes;
+            this.end = end;
+            position = start;
+        }
+
+        int getPosition() {
+            return position;
+        }
+
+        /**
+         * @return the amount of elements or fields of an array or object.
+         */
+        int readCount() {
+            final long result = readVarint();
+            if (result > end - position) {
+                throw new JsonParseException("Invalid amount of elements <" + result + "> in binary JSON!");
+            }
+            return (int) result;
+        }
+
+        String readKey() {
+            final long keyHeader = readVarint();
+            if (1L == (keyHeader & 1L)) {
+                final long keyId = keyHeader >>> 1;
+                if (keyId >= keyDictionary.length) {
+                    throw new JsonParseException("Unknown key <" + keyId + "> in binary JSON!");
+                }
+                return keyDictionary[(int) keyId];
+            }
+            return readUtf8(checkLength(keyHeader >>> 1));
+        }
+
+        JsonValue readValue() {
+            final byte tag = readByte();
+            switch (tag) {
+                case NULL:
+                    return JsonValue.nullLiteral();
+                case FALSE:
+                    return JsonValue.of(false);
+                case TRUE:
+                    return JsonValue.of(true);
+                case INTEGER:
+                    final long zigZag = readVarint();
+                    final long longValue = (zigZag >>> 1) ^ -(zigZag & 1L);
+                    return (int) longValue == longValue ? JsonValue.of((int) longValue) : JsonValue.of(longValue);
+                case FLOAT:
+                    return JsonValue.of((double) Float.intBitsToFloat(readInt()));
+                case DOUBLE:
+                    return JsonValue.of(Double.longBitsToDouble(readLong()));
+                case STRING:
+                    return JsonValue.of(readUtf8(checkLength(readVarint())));
+                case ARRAY:
+                    return readArray();
+                case OBJECT:
+                    return readObject();
+                default:
+                    throw new JsonParseException("Unknown value type <" + tag + "> in binary JSON!");
+            }
+        }
+
+        private JsonValue readArray() {
+            checkLength(readVarint());
+            final int size = readCount();
+            if (0 == size) {
+                return ImmutableJsonArray.empty();
+            }
+            final List<JsonValue> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readValue());
+            }
+            return ImmutableJsonArray.of(values);
+        }
+
+        private JsonValue readObject() {
+            final int length = checkLength(readVarint());
+            final int objectStart = position;
+            position += length;
+            if (0 == bytes[objectStart]) {
+                return ImmutableJsonObject.empty();
+            }
+            return ImmutableJsonObject.lazy(
+                    new BinaryIndexedFields(BinaryJsonCodec.this, bytes, objectStart, objectStart + length));
+        }
+
+        /**
+         * Skips the next value and validates its structure on the way.
+         */
+        void skipValue() {
+            final byte tag = readByte();
+            switch (tag) {
+                case NULL:
+                case FALSE:
+                case TRUE:
+                    break;
+                case INTEGER:
+                    readVarint();
+                    break;
+                case FLOAT:
+                    skip(4);
+                    break;
+                case DOUBLE:
+                    skip(8);
+                    break;
+                case STRING:
+                    skip(checkLength(readVarint()));
+                    break;
+                case ARRAY:
+                    skipContainer(false);
+                    break;
+                case OBJECT:
+                    skipContainer(true);
+                    break;
+                default:
+                    throw new JsonParseException("Unknown value type <" + tag + "> in binary JSON!");
+            }
+        }
+
+        private void skipContainer(final boolean isObject) {
+            final int length = checkLength(readVarint());
+            final int containerEnd = position + length;
+            final int size = readCount();
+            for (int i = 0; i < size; i++) {
+                if (isObject) {
+                    readKey();
+                }
+                skipValue();
+            }
+            if (containerEnd != position) {
+                throw new JsonParseException("Invalid length of array or object in binary JSON!");
+            }
+        }
+
+        private byte readByte() {
+            if (position >= end) {
+                throw unexpectedEnd();
+            }
+            return bytes[position++];
+        }
+
+        private long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if (0 == (b & 0x80)) {
+                    return result;
+                }
+            }
+            throw new JsonParseException("Malformed variable length integer in binary JSON!");
+        }
+
+        private int readInt() {
+            checkLength(4);
+            final int result = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16) |
+                    ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            position += 4;
+            return result;
+        }
+
+        private long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        private String readUtf8(final int length) {
+            final String result = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+
+        private void skip(final int length) {
+            position += checkLength(length);
+        }
+
+        private int checkLength(final long length) {
+            if (0 > length || length > end - position) {
+                throw unexpectedEnd();
+            }
+            return (int) length;
+        }
+
+        private JsonParseException unexpectedEnd() {
+            return new JsonParseException("Unexpected end of binary JSON!");
+        }
+
+    }
+
+    /**
+     * Growable byte array into which a value is encoded. Lengths of nested values are inserted in front of them when
+     * they are complete.
+     */
+    @NotThreadSafe
+    private static final class Writer {
+
+        private static final int INITIAL_CAPACITY = 512;
+
+        private byte[] bytes;
+        private int position;
+
+        private Writer() {
+            bytes = new byte[INITIAL_CAPACITY];
+            position = 0;
+        }
+
+        private static int utf8Length(final String string) {
+            final int length = string.length();
+            int result = length;
+            for (int i = 0; i < length; i++) {
+                final char c = string.charAt(i);
+                if (c >= 0x800) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length &&
+                            Character.isLowSurrogate(string.charAt(i + 1))) {
+                        result += 2; // 4 bytes for 2 chars
+                        i++;
+                    } else if (Character.isSurrogate(c)) {
+                        // unpaired surrogates are replaced by '?' like String#getBytes does
+                    } else {
+                        result += 2;
+                    }
+                } else if (c >= 0x80) {
+                    result += 1;
+                }
+            }
+            return result;
+        }
+
+        private static int varintLength(final long value) {
+            return Math.max(1, (70 - Long.numberOfLeadingZeros(value)) / 7);
+        }
+
+        private void ensureCapacity(final int additionalBytes) {
+            if (position + additionalBytes > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additionalBytes));
+            }
+        }
+
+        private void writeByte(final byte b) {
+            ensureCapacity(1);
+            bytes[position++] = b;
+        }
+
+        private void writeInt(final int value) {
+            ensureCapacity(4);
+            bytes[position] = (byte) (value >>> 24);
+            bytes[position + 1] = (byte) (value >>> 16);
+            bytes[position + 2] = (byte) (value >>> 8);
+            bytes[position + 3] = (byte) value;
+            position += 4;
+        }
+
+        private void writeLong(final long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeVarint(final long value) {
+            ensureCapacity(10);
+            position = putVarint(value, position);
+        }
+
+        private int putVarint(final long value, final int index) {
+            long remaining = value;
+            int i = index;
+            while (0 != (remaining & ~0x7FL)) {
+                bytes[i++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            bytes[i++] = (byte) remaining;
+            return i;
+        }
+
+        private void writeZigZag(final long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeUtf8(final String string) {
+            writeVarint(utf8Length(string));
+            writeUtf8Bytes(string);
+        }
+
+        private void writeUtf8Bytes(final String string) {
+            final int length = string.length();
+            ensureCapacity(3 * length);
+            int i = position;
+            for (int c = 0; c < length; c++) {
+                final char ch = string.charAt(c);
+                if (ch < 0x80) {
+                    bytes[i++] = (byte) ch;
+                } else if (ch < 0x800) {
+                    bytes[i++] = (byte) (0xC0 | (ch >> 6));
+                    bytes[i++] = (byte) (0x80 | (ch & 0x3F));
+                } else if (Character.isHighSurrogate(ch) && c + 1 < length &&
+                        Character.isLowSurrogate(string.charAt(c + 1))) {
+                    final int codePoint = Character.toCodePoint(ch, string.charAt(++c));
+                    bytes[i++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[i++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[i++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[i++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(ch)) {
+                    bytes[i++] = (byte) '?';
+                } else {
+                    bytes[i++] = (byte) (0xE0 | (ch >> 12));
+                    bytes[i++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                    bytes[i++] = (byte) (0x80 | (ch & 0x3F));
+                }
+            }
+            position = i;
+        }
+
+        /**
+         * Reserves one byte for the length of the following value.
+         *
+         * @return the position of the length.
+         */
+        private int beginLengthPrefixed() {
+            writeByte((byte) 0);
+            return position - 1;
+        }
+
+        /**
+         * Writes the length of the value which was started at {@code lengthPosition}. If the length needs more than
+         * the reserved byte the value is moved.
+         */
+        private void endLengthPrefixed(final int lengthPosition) {
+            final int valueStart = lengthPosition + 1;
+            final int length = position - valueStart;
+            final int additionalBytes = varintLength(length) - 1;
+            if (0 < additionalBytes) {
+                ensureCapacity(additionalBytes);
+                System.arraycopy(bytes, valueStart, bytes, valueStart + additionalBytes, length);
+                position += additionalBytes;
+            }
+            putVarint(length, lengthPosition);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, position);
+        }
+
+        private void writeTo(final ByteBuffer byteBuffer) {
+            byteBuffer.put(bytes, 0, position);
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import javax.annotation.Nullable;
+
+/**
+ * The keys and value offsets of the fields of an encoded JSON object with an open addressing hash table for key
+ * lookups and a cache of the already decoded fields.
+ * Like in a {@code LinkedHashMap} a duplicate key keeps the position of its first and the value of its last
+ * occurrence.
+ */
+final class FieldIndex {
+
+    private final String[] keys;
+    private final int[] valueOffsets;
+    private final int[] hashSlots;
+    private final JsonField[] fields;
+    private final int size;
+
+    /**
+     * Constructs a new {@code FieldIndex} object.
+     *
+     * @param fieldOffsets the offsets of the fields within the encoded object.
+     */
+    FieldIndex(final StreamingJsonParser.FieldOffsets fieldOffsets) {
+        final int fieldCount = fieldOffsets.getSize();
+        keys = new String[fieldCount];
+        valueOffsets = new int[2 * fieldCount];
+        hashSlots = new int[Integer.highestOneBit(Math.max(1, fieldCount) * 2) * 2];
+        int distinctFields = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            final String key = fieldOffsets.getKey(i);
+            int fieldIndex = indexOf(key);
+            if (0 > fieldIndex) {
+                fieldIndex = distinctFields++;
+                keys[fieldIndex] = key;
+                hashSlots[freeSlot(key)] = fieldIndex + 1;
+            }
+            valueOffsets[2 * fieldIndex] = fieldOffsets.getValueStart(i);
+            valueOffsets[2 * fieldIndex + 1] = fieldOffsets.getValueEnd(i);
+        }
+        size = distinctFields;
+        fields = new JsonField[distinctFields];
+    }
+
+    /**
+     * @return the amount of distinct fields.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * @param key the key name of a field.
+     * @return the index of the field with the given key or {@code -1} if there is none.
+     */
+    int indexOf(final String key) {
+        final int mask = hashSlots.length - 1;
+        int slot = key.hashCode() & mask;
+        int entry;
+        while (0 != (entry = hashSlots[slot])) {
+            if (keys[entry - 1].equals(key)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int freeSlot(final String key) {
+        final int mask = hashSlots.length - 1;
+        int slot = key.hashCode() & mask;
+        while (0 != hashSlots[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    String getKey(final int fieldIndex) {
+        return keys[fieldIndex];
+    }
+
+    int getValueStart(final int fieldIndex) {
+        return valueOffsets[2 * fieldIndex];
+    }
+
+    int getValueEnd(final int fieldIndex) {
+        return valueOffsets[2 * fieldIndex + 1];
+    }
+
+    @Nullable
+    JsonField getDecodedField(final int fieldIndex) {
+        return fields[fieldIndex];
+    }
+
+    void setDecodedField(final int fieldIndex, final JsonField field) {
+
+        // benign race: each thread decodes an equal immutable field
+        fields[fieldIndex] = field;
+    }
+
+}
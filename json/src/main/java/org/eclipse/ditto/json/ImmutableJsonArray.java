@@ -277,6 +277,14 @@ final class ImmutableJsonArray extends AbstractJsonValue implements JsonArray {
         valueList.writeValue(serializationContext);
     }
 
+    /**
+     * @return the CBOR representation of this array if it is already known or {@code null}.
+     */
+    @Nullable
+    byte[] getCachedCborRepresentation() {
+        return valueList.cborArrayRepresentation;
+    }
+
     @Override
     public long getUpperBoundForStringSize() {
         return valueList.upperBoundForStringSize();
@@ -410,9 +418,7 @@ final class ImmutableJsonArray extends AbstractJsonValue implements JsonArray {
         }
 
         private static List<JsonValue> parseToList(final String jsonArrayString) {
-            final ValueListJsonHandler jsonHandler = new ValueListJsonHandler();
-            JsonValueParser.fromString(jsonHandler).accept(jsonArrayString);
-            return jsonHandler.getValue();
+            return JsonValueParser.valueListFromString().apply(jsonArrayString);
         }
 
         private static List<JsonValue> parseToList(final byte[] cborArrayRepresentation) {
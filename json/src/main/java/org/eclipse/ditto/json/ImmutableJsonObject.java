@@ -115,6 +115,30 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         ));
     }
 
+    /**
+     * Returns a new {@code ImmutableJsonObject} instance whose fields are parsed from the given string representation
+     * on first access.
+     *
+     * @param stringRepresentation the valid and canonical string representation of the returned object.
+     * @return the new JSON object.
+     * @throws NullPointerException if {@code stringRepresentation} is {@code null}.
+     */
+    static ImmutableJsonObject lazy(final String stringRepresentation) {
+        return new ImmutableJsonObject(SoftReferencedFieldMap.lazy(stringRepresentation));
+    }
+
+    /**
+     * Returns a new {@code ImmutableJsonObject} instance whose fields are decoded from the given encoded
+     * representation on access.
+     *
+     * @param indexedFields the indexed encoded representation of the returned object.
+     * @return the new JSON object.
+     * @throws NullPointerException if {@code indexedFields} is {@code null}.
+     */
+    static ImmutableJsonObject lazy(final IndexedFields indexedFields) {
+        return new ImmutableJsonObject(SoftReferencedFieldMap.lazy(indexedFields));
+    }
+
     @Override
     public JsonObject setValue(final CharSequence key, final int value) {
         return setValue(key, JsonValue.of(value));
@@ -176,14 +200,40 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
 
         final JsonKey rootKey = pointer.getRoot().orElse(ROOT_KEY);
 
-        final JsonObject newTarget = target.getValue(rootKey)
+        final Optional<JsonObject> existingTarget = target.getValue(rootKey)
                 .filter(JsonValue::isObject)
                 .filter(jsonValue -> !jsonValue.isNull())
-                .map(JsonValue::asObject)
-                .orElseGet(ImmutableJsonObject::empty);
+                .map(JsonValue::asObject);
+        final JsonObject newTarget = existingTarget.orElseGet(ImmutableJsonObject::empty);
 
         // let the recursion begin ]:-)
-        return target.setValue(rootKey, setFieldInHierarchy(newTarget, pointer.nextLevel(), jsonField));
+        final JsonObject newValue = setFieldInHierarchy(newTarget, pointer.nextLevel(), jsonField);
+        if (existingTarget.isPresent() && newValue == newTarget) {
+            return target;
+        }
+        if (existingTarget.isPresent() && target instanceof ImmutableJsonObject) {
+            // a new instance is only returned for a changed object
+            final ImmutableJsonObject immutableTarget = (ImmutableJsonObject) target;
+            return setChangedField(immutableTarget, JsonField.newInstance(rootKey, newValue,
+                    immutableTarget.getDefinitionForKey(rootKey).orElse(null)));
+        }
+        return target.setValue(rootKey, newValue);
+    }
+
+    /**
+     * Sets the given field without checking whether it is equal to an existing field with the same key.
+     * Thus the caller spares a deep comparison of nested JSON objects if it knows that the field was changed.
+     *
+     * @param target the JSON object to set the field in.
+     * @param changedField the field which is known to be different from the existing field with the same key.
+     * @return the JSON object with the field set.
+     */
+    static JsonObject setChangedField(final JsonObject target, final JsonField changedField) {
+        if (target instanceof ImmutableJsonObject) {
+            final ImmutableJsonObject immutableTarget = (ImmutableJsonObject) target;
+            return new ImmutableJsonObject(immutableTarget.fieldMap.put(changedField.getKeyName(), changedField));
+        }
+        return target.set(changedField);
     }
 
     @Override
@@ -534,6 +584,14 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         fieldMap.writeValue(serializationContext);
     }
 
+    /**
+     * @return the CBOR representation of this object if it is already known or {@code null}.
+     */
+    @Nullable
+    byte[] getCachedCborRepresentation() {
+        return fieldMap.cborObjectRepresentation;
+    }
+
     @Override
     public long getUpperBoundForStringSize() {
         return fieldMap.upperBoundForStringSize();
@@ -554,6 +612,13 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
 
         private String jsonObjectStringRepresentation;
         private byte[] cborObjectRepresentation;
+        @Nullable private final IndexedFields indexedFields;
+
+        /**
+         * The fields of a modified JSON object; strongly referenced as there is no other representation to recover
+         * them from.
+         */
+        @Nullable private final PersistentFieldMap persistentFields;
         private int hashCode;
         private SoftReference<Map<String, JsonField>> fieldsReference;
 
@@ -564,6 +629,8 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
             fieldsReference = new SoftReference<>(Collections.unmodifiableMap(new LinkedHashMap<>(jsonFieldMap)));
             jsonObjectStringRepresentation = stringRepresentation;
             this.cborObjectRepresentation = cborObjectRepresentation;
+            indexedFields = null;
+            persistentFields = null;
             if (jsonObjectStringRepresentation == null && cborObjectRepresentation == null) {
                 if (CBOR_FACTORY.isCborAvailable()) {
                     try {
@@ -580,6 +647,35 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
             hashCode = 0;
         }
 
+        private SoftReferencedFieldMap(final String stringRepresentation) {
+            fieldsReference = new SoftReference<>(null);
+            jsonObjectStringRepresentation = requireNonNull(stringRepresentation,
+                    "The string representation of the lazy JSON object must not be null!");
+            cborObjectRepresentation = null;
+            indexedFields = null;
+            persistentFields = null;
+            hashCode = 0;
+        }
+
+        private SoftReferencedFieldMap(final IndexedFields indexedFields) {
+            fieldsReference = new SoftReference<>(null);
+            jsonObjectStringRepresentation = null;
+            cborObjectRepresentation = null;
+            this.indexedFields = requireNonNull(indexedFields,
+                    "The indexed fields of the lazy JSON object must not be null!");
+            persistentFields = null;
+            hashCode = 0;
+        }
+
+        private SoftReferencedFieldMap(final PersistentFieldMap persistentFields) {
+            fieldsReference = new SoftReference<>(persistentFields);
+            jsonObjectStringRepresentation = null;
+            cborObjectRepresentation = null;
+            indexedFields = null;
+            this.persistentFields = persistentFields;
+            hashCode = 0;
+        }
+
         static SoftReferencedFieldMap empty() {
             return of(Collections.emptyMap(), "{}", new byte[]{(byte) 0xA0});
         }
@@ -604,6 +700,14 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
             return new SoftReferencedFieldMap(jsonFieldMap, stringRepresentation, cborObjectRepresentation);
         }
 
+        static SoftReferencedFieldMap lazy(final String stringRepresentation) {
+            return new SoftReferencedFieldMap(stringRepresentation);
+        }
+
+        static SoftReferencedFieldMap lazy(final IndexedFields indexedFields) {
+            return new SoftReferencedFieldMap(indexedFields);
+        }
+
         private String createStringRepresentation(final Map<String, JsonField> jsonFieldMap) {
             final StringBuilder stringBuilder = new StringBuilder(guessSerializedSize());
             stringBuilder.append('{');
@@ -619,42 +723,65 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         }
 
         int getSize() {
+            if (isIndexedAndNotDecoded()) {
+                return indexedFields.getSize();
+            }
             return fields().size();
         }
 
         boolean isEmpty() {
-            return fields().isEmpty();
+            return 0 == getSize();
         }
 
         boolean containsKey(final String key) {
+            if (isIndexedAndNotDecoded()) {
+                return indexedFields.containsKey(key);
+            }
             return fields().containsKey(key);
         }
 
         @Nullable
         JsonField getOrNull(final String key) {
+            if (isIndexedAndNotDecoded()) {
+                return indexedFields.getOrNull(key);
+            }
             return fields().get(key);
         }
 
+        /**
+         * Indicates whether single fields should be looked up in the encoded representation because the fields are
+         * not decoded completely at the moment.
+         */
+        private boolean isIndexedAndNotDecoded() {
+            return null != indexedFields && null == fieldsReference.get();
+        }
+
         SoftReferencedFieldMap put(final String key, final JsonField value) {
-            final Map<String, JsonField> fieldsCopy = copyFields();
-            fieldsCopy.put(key, value);
-            return of(fieldsCopy);
+            return new SoftReferencedFieldMap(getPersistentFields().with(key, value));
         }
 
-        private Map<String, JsonField> copyFields() {
-            return new LinkedHashMap<>(fields());
+        /**
+         * Returns the fields as persistent map whose modifications share the structure of the unmodified fields.
+         * Modified field maps are not serialized eagerly; their string and CBOR representations are created on
+         * demand.
+         */
+        private PersistentFieldMap getPersistentFields() {
+            if (null != persistentFields) {
+                return persistentFields;
+            }
+            return PersistentFieldMap.of(fields());
         }
 
         SoftReferencedFieldMap putAll(final Iterable<JsonField> jsonFields) {
-            final Map<String, JsonField> fieldsCopy = copyFields();
-            jsonFields.forEach(jsonField -> fieldsCopy.put(jsonField.getKeyName(), jsonField));
-            return of(fieldsCopy);
+            PersistentFieldMap newFields = getPersistentFields();
+            for (final JsonField jsonField : jsonFields) {
+                newFields = newFields.with(jsonField.getKeyName(), jsonField);
+            }
+            return new SoftReferencedFieldMap(newFields);
         }
 
         SoftReferencedFieldMap remove(final String key) {
-            final Map<String, JsonField> fieldsCopy = copyFields();
-            fieldsCopy.remove(key);
-            return of(fieldsCopy);
+            return new SoftReferencedFieldMap(getPersistentFields().without(key));
         }
 
         Stream<JsonField> getStream() {
@@ -666,6 +793,9 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         }
 
         private Map<String, JsonField> fields() {
+            if (null != persistentFields) {
+                return persistentFields;
+            }
             Map<String, JsonField> result = fieldsReference.get();
             if (null == result) {
                 result = recoverFields();
@@ -675,6 +805,9 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         }
 
         private Map<String, JsonField> recoverFields() {
+            if (indexedFields != null) {
+                return indexedFields.toFieldMap();
+            }
             if (CBOR_FACTORY.isCborAvailable() && cborObjectRepresentation != null) {
                 return parseToMap(cborObjectRepresentation);
             }
@@ -685,9 +818,7 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         }
 
         private static Map<String, JsonField> parseToMap(final String jsonObjectString) {
-            final FieldMapJsonHandler jsonHandler = new FieldMapJsonHandler();
-            JsonValueParser.fromString(jsonHandler).accept(jsonObjectString);
-            return jsonHandler.getValue();
+            return JsonValueParser.fieldMapFromString().apply(jsonObjectString);
         }
 
         private static Map<String, JsonField> parseToMap(final byte[] cborObjectRepresentation) {
@@ -717,6 +848,10 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
                 }
                 return false;
             }
+            if (indexedFields != null && that.indexedFields != null &&
+                    indexedFields.hasSameEncoding(that.indexedFields)) {
+                return true;
+            }
             if (cborObjectRepresentation != null && that.cborObjectRepresentation != null &&
                     Arrays.equals(cborObjectRepresentation, that.cborObjectRepresentation)) {
                 return true;
@@ -735,6 +870,9 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         }
 
         String asJsonObjectString() {
+            if (jsonObjectStringRepresentation == null && indexedFields != null) {
+                jsonObjectStringRepresentation = indexedFields.decodeToString();
+            }
             if (jsonObjectStringRepresentation == null) {
                 jsonObjectStringRepresentation = createStringRepresentation(this.fields());
             }
@@ -756,6 +894,9 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
             if (cborObjectRepresentation != null) {
                 return cborObjectRepresentation.length;
             }
+            if (indexedFields != null) {
+                return indexedFields.guessSerializedSize();
+            }
             return 512;
         }
 
@@ -766,8 +907,12 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
             if (cborObjectRepresentation != null) {
                 return cborObjectRepresentation.length * CBOR_MAX_COMPRESSION_RATIO;
             }
-            assert false; // this should never happen
-            return Long.MAX_VALUE;
+            if (indexedFields != null && 0 <= indexedFields.upperBoundForStringSize()) {
+                return indexedFields.upperBoundForStringSize();
+            }
+
+            // modified field maps are serialized on demand only
+            return asJsonObjectString().length();
         }
 
     }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * The fields of a JSON object which are backed by an encoded representation of the object and an index of the fields
+ * within this representation. Single fields are decoded on access, thus a lazy {@link ImmutableJsonObject} does not
+ * need to decode all of its fields for looking up a value.
+ */
+interface IndexedFields {
+
+    /**
+     * @return the amount of distinct fields.
+     */
+    int getSize();
+
+    /**
+     * Indicates whether a field with the given key exists.
+     *
+     * @param key the key name of the field.
+     * @return {@code true} if the field exists.
+     */
+    boolean containsKey(String key);
+
+    /**
+     * Decodes the field with the given key.
+     *
+     * @param key the key name of the field.
+     * @return the field or {@code null} if it does not exist.
+     */
+    @Nullable
+    JsonField getOrNull(String key);
+
+    /**
+     * Decodes all fields. Nested JSON objects are still backed by the encoded representation.
+     *
+     * @return the fields mapped by their key names in the order of the encoded representation.
+     */
+    Map<String, JsonField> toFieldMap();
+
+    /**
+     * @return the string representation of the JSON object if it can be decoded from the encoded representation as
+     * it is or {@code null} if it has to be serialized from the fields.
+     */
+    @Nullable
+    String decodeToString();
+
+    /**
+     * @return a guess of the size of the serialized JSON object in bytes.
+     */
+    int guessSerializedSize();
+
+    /**
+     * @return an upper bound for the length of the string representation or {@code -1} if it is unknown without
+     * decoding the fields.
+     */
+    long upperBoundForStringSize();
+
+    /**
+     * Indicates whether the given fields have the same encoded representation as these fields.
+     *
+     * @param other the other fields.
+     * @return {@code true} if both JSON objects have the same encoding and thus are equal.
+     */
+    boolean hasSameEncoding(IndexedFields other);
+
+}
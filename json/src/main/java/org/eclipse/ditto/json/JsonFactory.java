@@ -14,9 +14,8 @@ package org.eclipse.ditto.json;
 
 import static java.util.Objects.requireNonNull;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.Arrays;
@@ -201,6 +200,48 @@ public final class JsonFactory {
         return JsonValueParser.fromReader().apply(reader);
     }
 
+    /**
+     * Reads the given UTF-8 encoded bytes and creates a JSON value based on the read data without decoding the bytes
+     * to a string first.
+     * A JSON object in canonical form, i. e. without white space, is backed by a copy of the bytes; its fields are
+     * decoded only when they are accessed and its string representation is the decoded bytes.
+     *
+     * @param utf8JsonData the UTF-8 encoded JSON document to read.
+     * @return a JSON value representing the read document.
+     * @throws NullPointerException if {@code utf8JsonData} is {@code null}.
+     * @throws JsonParseException if {@code utf8JsonData} is empty or if it is no valid JSON.
+     * @since 2.1.0
+     */
+    public static JsonValue readFrom(final byte[] utf8JsonData) {
+        requireNonNull(utf8JsonData, "The JSON data to read from must not be null!");
+        if (0 == utf8JsonData.length) {
+            throw new JsonParseException("The JSON data to read from must not be empty!");
+        }
+
+        return JsonValueParser.fromUtf8Bytes().apply(utf8JsonData);
+    }
+
+    /**
+     * Reads the remaining UTF-8 encoded bytes of the given byte buffer and creates a JSON value based on the read data
+     * without decoding the bytes to a string first. The position of the byte buffer is not changed.
+     * A JSON object in canonical form, i. e. without white space, is backed by a copy of the bytes; its fields are
+     * decoded only when they are accessed and its string representation is the decoded bytes.
+     *
+     * @param utf8JsonData the UTF-8 encoded JSON document to read.
+     * @return a JSON value representing the read document.
+     * @throws NullPointerException if {@code utf8JsonData} is {@code null}.
+     * @throws JsonParseException if {@code utf8JsonData} has no remaining bytes or if it is no valid JSON.
+     * @since 2.1.0
+     */
+    public static JsonValue readFrom(final ByteBuffer utf8JsonData) {
+        requireNonNull(utf8JsonData, "The JSON data to read from must not be null!");
+        if (!utf8JsonData.hasRemaining()) {
+            throw new JsonParseException("The JSON data to read from must not be empty!");
+        }
+
+        return JsonValueParser.fromUtf8ByteBuffer().apply(utf8JsonData);
+    }
+
     /**
      * Returns a new mutable builder for a {@code JsonObject}.
      *
@@ -287,8 +328,7 @@ public final class JsonFactory {
         if (isJsonNullLiteralData(jsonData)) {
             return nullObject();
         } else {
-            final Reader reader = new InputStreamReader(new ByteArrayInputStream(jsonData));
-            final JsonValue jsonValue = JsonValueParser.fromReader().apply(reader);
+            final JsonValue jsonValue = JsonValueParser.fromUtf8Bytes().apply(jsonData);
             if (!jsonValue.isObject()) {
                 final String msgPattern = "<{0}> is not a valid JSON object!";
                 throw JsonParseException.newBuilder()
@@ -901,6 +941,32 @@ public final class JsonFactory {
                 ImmutableJsonObject.SoftReferencedFieldMap.of(jsonFieldMap, null, cborObjectRepresentation));
     }
 
+    /**
+     * Returns the already serialized CBOR representation of the passed JSON object or array. It is known for example
+     * if the value was parsed from CBOR and was not modified afterwards, so it can be written as it is.
+     * <p>
+     * <b>This is a Ditto internal API is not intended for re-use.</b>
+     * It therefore is not treated as API which is held binary compatible to previous versions.
+     * </p>
+     *
+     * @param jsonValue the JSON value to get the CBOR representation for.
+     * @return the CBOR representation which must not be modified or {@code null} if it is not known or if
+     * {@code jsonValue} is neither an object nor an array.
+     * @throws NullPointerException if {@code jsonValue} is {@code null}.
+     * @since 2.1.0
+     */
+    @Nullable
+    public static byte[] getCachedCborRepresentation(final JsonValue jsonValue) {
+        requireNonNull(jsonValue, "The JSON value must not be null!");
+        if (jsonValue instanceof ImmutableJsonObject) {
+            return ((ImmutableJsonObject) jsonValue).getCachedCborRepresentation();
+        }
+        if (jsonValue instanceof ImmutableJsonArray) {
+            return ((ImmutableJsonArray) jsonValue).getCachedCborRepresentation();
+        }
+        return null;
+    }
+
     /**
      * Converts the specified char sequence to a {@link JsonPointer} which is guaranteed to be not empty.
      *
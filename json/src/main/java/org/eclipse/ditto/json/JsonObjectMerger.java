@@ -34,33 +34,25 @@ final class JsonObjectMerger extends AbstractJsonMerger {
      * @return the merged json object.
      */
     public static JsonObject mergeJsonObjects(final JsonObject jsonObject1, final JsonObject jsonObject2) {
-        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
-
         if(jsonObject1.isNull() && jsonObject2.isNull()) {
             return JsonFactory.nullObject();
         }
 
-        // add fields of jsonObject1
-        jsonObject1.forEach(jsonField -> {
+        // set the fields of jsonObject1 in jsonObject2, so unchanged fields of jsonObject2 are shared
+        JsonObject result = jsonObject2.isNull() ? JsonFactory.newObject() : jsonObject2;
+        for (final JsonField jsonField : jsonObject1) {
             final JsonKey key = jsonField.getKey();
-            final JsonValue value1 = jsonField.getValue();
             final Optional<JsonValue> maybeValue2 = jsonObject2.getValue(key);
 
             if (maybeValue2.isPresent()) {
-                builder.set(key, mergeJsonValues(value1, maybeValue2.get()));
+                final JsonValue value2 = maybeValue2.get();
+                result = setMergedValue(result, key, value2, mergeJsonValues(jsonField.getValue(), value2));
             } else {
-                builder.set(jsonField);
-            }
-        });
-
-        // add fields of jsonObject2 not present in jsonObject1
-        jsonObject2.forEach(jsonField -> {
-            if (!jsonObject1.contains(jsonField.getKey())) {
-                builder.set(jsonField);
+                result = result.set(jsonField);
             }
-        });
+        }
 
-        return builder.build();
+        return result;
     }
 
     private static JsonValue mergeJsonValues(final JsonValue value1, final JsonValue value2) {
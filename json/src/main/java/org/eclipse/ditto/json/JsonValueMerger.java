@@ -56,35 +56,26 @@ final class JsonValueMerger extends AbstractJsonMerger {
             return JsonFactory.nullObject();
         }
 
-        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
-        // add fields of jsonObject1
-        jsonObject1.forEach(jsonField -> {
+        // apply the fields of jsonObject1 to jsonObject2, so unchanged fields of jsonObject2 are shared
+        JsonObject result = jsonObject2.isNull() ? JsonFactory.newObject() : jsonObject2;
+        for (final JsonField jsonField : jsonObject1) {
             final JsonKey key = jsonField.getKey();
             final JsonValue value1 = jsonField.getValue();
             final Optional<JsonValue> maybeValue2 = jsonObject2.getValue(key);
 
             if (value1.isNull()) {
-                return;
-            }
-            if (maybeValue2.isPresent()) {
-                builder.set(key, mergeJsonValues(value1, maybeValue2.get()));
+                result = result.remove(key);
+            } else if (maybeValue2.isPresent()) {
+                final JsonValue value2 = maybeValue2.get();
+                result = setMergedValue(result, key, value2, mergeJsonValues(value1, value2));
+            } else if (value1.isObject()) {
+                result = result.set(JsonField.newInstance(key, filterNullValues(value1.asObject())));
             } else {
-                if (value1.isObject()) {
-                    builder.set(key, filterNullValues(value1.asObject()));
-                } else {
-                    builder.set(jsonField);
-                }
-            }
-        });
-
-        // add fields of jsonObject2 not present in jsonObject1
-        jsonObject2.forEach(jsonField -> {
-            if (!jsonObject1.contains(jsonField.getKey())) {
-                builder.set(jsonField);
+                result = result.set(jsonField);
             }
-        });
+        }
 
-        return builder.build();
+        return result;
     }
 
 }
@@ -16,9 +16,14 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -28,10 +33,13 @@ import com.eclipsesource.json.ParseException;
 
 /**
  * This class provides access to functionality for parsing a {@link JsonValue} from various inputs.
+ * Apart from parsing with a custom {@link DittoJsonHandler}, all inputs are parsed by {@link StreamingJsonParser}.
  */
 @Immutable
 final class JsonValueParser {
 
+    private static final int READER_BUFFER_SIZE = 1024;
+
     @Nullable private static Function<String, JsonValue> fromStringInstance = null;
 
     private JsonValueParser() {
@@ -63,14 +71,74 @@ final class JsonValueParser {
     public static Function<String, JsonValue> fromString() {
         Function<String, JsonValue> result = fromStringInstance;
         if (null == result) {
-            result = jsonString -> tryToParseJsonValue(jsonString, DefaultDittoJsonHandler.newInstance());
+            result = jsonString -> tryToParse(jsonString,
+                    () -> StreamingJsonParser.of(jsonString, false).parseValue());
             fromStringInstance = result;
         }
         return result;
     }
 
+    /**
+     * Returns a Function for parsing a CharSequence to an instance of {@link JsonValue} without converting it to a
+     * String first.
+     *
+     * @return the function.
+     */
+    public static Function<CharSequence, JsonValue> fromCharSequence() {
+        return charSequence -> tryToParse(charSequence,
+                () -> StreamingJsonParser.of(charSequence, false).parseValue());
+    }
+
+    /**
+     * Returns a Function for parsing UTF-8 encoded bytes to an instance of {@link JsonValue} without decoding them to
+     * a String first.
+     * If the bytes are a canonical JSON object, the returned object is backed by a copy of the bytes and decodes its
+     * fields only on access; see {@link Utf8IndexedFields}.
+     *
+     * @return the function.
+     */
+    public static Function<byte[], JsonValue> fromUtf8Bytes() {
+        return utf8Bytes -> tryToParse(utf8Bytes, () -> parseUtf8Bytes(utf8Bytes, true));
+    }
+
+    /**
+     * Returns a Function for parsing the remaining UTF-8 encoded bytes of a ByteBuffer to an instance of
+     * {@link JsonValue} without decoding them to a String first. The position of the ByteBuffer is not changed.
+     * If the bytes are a canonical JSON object, the returned object is backed by a copy of the bytes and decodes its
+     * fields only on access; see {@link Utf8IndexedFields}.
+     *
+     * @return the function.
+     */
+    public static Function<ByteBuffer, JsonValue> fromUtf8ByteBuffer() {
+        return byteBuffer -> tryToParse(byteBuffer, () -> {
+            final byte[] utf8Bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.duplicate().get(utf8Bytes);
+            return parseUtf8Bytes(utf8Bytes, false);
+        });
+    }
+
+    private static JsonValue parseUtf8Bytes(final byte[] utf8Bytes, final boolean copyIndexedBytes) {
+        final StreamingJsonParser.FieldOffsets fieldOffsets =
+                StreamingJsonParser.of(utf8Bytes, 0, utf8Bytes.length, false).indexFields();
+        final JsonValue result;
+        if (null == fieldOffsets) {
+            // no JSON object or a non-canonical one whose bytes cannot be used as its representation
+            result = StreamingJsonParser.of(utf8Bytes, 0, utf8Bytes.length, false).parseValue();
+        } else if (0 == fieldOffsets.getSize()) {
+            result = ImmutableJsonObject.empty();
+        } else {
+            final byte[] indexedBytes = copyIndexedBytes ? utf8Bytes.clone() : utf8Bytes;
+            result = ImmutableJsonObject.lazy(Utf8IndexedFields.of(indexedBytes, fieldOffsets));
+        }
+        return result;
+    }
+
     /**
      * Returns a Function for obtaining an instance of {@link JsonValue} from a {@code Reader}.
+     * <p>
+     * The parsing is not streaming: the returned function reads the whole input into memory before parsing it, because
+     * the parser requires random access to the source text for the string representations of the created values.
+     * </p>
      *
      * @return the function.
      */
@@ -78,6 +146,56 @@ final class JsonValueParser {
         return JsonValueParser::tryToReadJsonValueFrom;
     }
 
+    /**
+     * Returns a Function for parsing the string representation of a JSON object to the fields of that object.
+     * Nested JSON objects are materialized lazily.
+     *
+     * @return the function.
+     */
+    static Function<String, Map<String, JsonField>> fieldMapFromString() {
+        return jsonObjectString -> tryToParse(jsonObjectString,
+                () -> StreamingJsonParser.of(jsonObjectString, true).parseFieldMap());
+    }
+
+    /**
+     * Returns a Function for parsing the string representation of a JSON array to the values of that array.
+     * Nested JSON objects are materialized lazily.
+     *
+     * @return the function.
+     */
+    static Function<String, List<JsonValue>> valueListFromString() {
+        return jsonArrayString -> tryToParse(jsonArrayString,
+                () -> StreamingJsonParser.of(jsonArrayString, true).parseValueList());
+    }
+
+    private static <T> T tryToParse(@Nullable final Object json, final Supplier<T> parseFunction) {
+        try {
+            return parseFunction.get();
+        } catch (final StreamingJsonParser.JsonSyntaxException | UnsupportedOperationException | StackOverflowError |
+                IllegalArgumentException | NullPointerException | IndexOutOfBoundsException e) {
+            // "ditto-json" library also throws IllegalArgumentException when for example strings which may not be empty
+            // (e.g. keys) are empty
+            // "ditto-json" library also throws NullPointerException when for example non-nullable objects are null
+            throw JsonParseException.newBuilder()
+                    .message(MessageFormat.format("Failed to parse JSON string ''{0}''!", jsonToString(json)))
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    @Nullable
+    private static String jsonToString(@Nullable final Object json) {
+        final String result;
+        if (json instanceof byte[]) {
+            result = new String((byte[]) json, StandardCharsets.UTF_8);
+        } else if (json instanceof ByteBuffer) {
+            result = StandardCharsets.UTF_8.decode(((ByteBuffer) json).duplicate()).toString();
+        } else {
+            result = null != json ? json.toString() : null;
+        }
+        return result;
+    }
+
     private static <T> T tryToParseJsonValue(final String jsonString,
             final DittoJsonHandler<?, ?, T> dittoJsonHandler) {
 
@@ -103,7 +221,8 @@ final class JsonValueParser {
     private static JsonValue tryToReadJsonValueFrom(final Reader reader) {
         try {
             return readJsonValueFrom(reader);
-        } catch (final ParseException | IOException | StackOverflowError | IllegalArgumentException | NullPointerException e) {
+        } catch (final StreamingJsonParser.JsonSyntaxException | IOException | StackOverflowError |
+                IllegalArgumentException | NullPointerException e) {
             // "ditto-json" library also throws IllegalArgumentException when for example strings which may not be empty
             // (e.g. keys) are empty
             // "ditto-json" library also throws NullPointerException when for example non-nullable objects are null
@@ -116,9 +235,14 @@ final class JsonValueParser {
 
     private static JsonValue readJsonValueFrom(final Reader reader) throws IOException {
         requireNonNull(reader, "The reader must not be null!");
-        final DefaultDittoJsonHandler dittoJsonHandler = DefaultDittoJsonHandler.newInstance();
-        new JsonParser(dittoJsonHandler).parse(reader);
-        return dittoJsonHandler.getValue();
+        // not streaming: the parser needs random access to its input in order to slice string representations
+        final StringBuilder stringBuilder = new StringBuilder(READER_BUFFER_SIZE);
+        final char[] buffer = new char[READER_BUFFER_SIZE];
+        int charsRead;
+        while (-1 != (charsRead = reader.read(buffer))) {
+            stringBuilder.append(buffer, 0, charsRead);
+        }
+        return StreamingJsonParser.of(stringBuilder, false).parseValue();
     }
 
 }
@@ -0,0 +1,526 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable map of JSON fields which keeps the insertion order like a {@code LinkedHashMap} and whose modifying
+ * methods return a new map sharing most of its structure with this map.
+ * <p>
+ * The fields are looked up by a hash array mapped trie (HAMT) of their keys and are iterated in insertion order by a
+ * persistent vector of 32-ary nodes. Thus setting or removing a single field copies only the O(log n) nodes along the
+ * path to that field instead of all fields. Removed fields leave a gap in the vector which is compacted as soon as the
+ * gaps outnumber the fields.
+ * </p>
+ */
+@Immutable
+final class PersistentFieldMap extends AbstractMap<String, JsonField> {
+
+    private static final PersistentFieldMap EMPTY = new PersistentFieldMap(HamtNode.EMPTY, FieldVector.EMPTY, 0);
+
+    private static final int MIN_GAPS_FOR_COMPACTION = 32;
+
+    private final HamtNode keyIndex;
+    private final FieldVector fieldVector;
+    private final int size;
+
+    private PersistentFieldMap(final HamtNode keyIndex, final FieldVector fieldVector, final int size) {
+        this.keyIndex = keyIndex;
+        this.fieldVector = fieldVector;
+        this.size = size;
+    }
+
+    /**
+     * Returns a persistent map containing the given fields in their iteration order.
+     *
+     * @param fields the fields mapped by their key names.
+     * @return the persistent map; {@code fields} itself if it is already a persistent map.
+     * @throws NullPointerException if {@code fields} is {@code null}.
+     */
+    static PersistentFieldMap of(final Map<String, JsonField> fields) {
+        requireNonNull(fields, "The fields must not be null!");
+        if (fields instanceof PersistentFieldMap) {
+            return (PersistentFieldMap) fields;
+        }
+        PersistentFieldMap result = EMPTY;
+        for (final Map.Entry<String, JsonField> entry : fields.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map which additionally contains the given field. An existing field with the same key keeps its
+     * position but gets replaced.
+     *
+     * @param key the key name of the field.
+     * @param field the field.
+     * @return the new map.
+     */
+    PersistentFieldMap with(final String key, final JsonField field) {
+        final int hash = key.hashCode();
+        final FieldEntry existingEntry = keyIndex.find(key, hash, 0);
+        final PersistentFieldMap result;
+        if (null != existingEntry) {
+            final FieldEntry newEntry = new FieldEntry(key, hash, field, existingEntry.position);
+            result = new PersistentFieldMap(keyIndex.put(newEntry, 0),
+                    fieldVector.set(existingEntry.position, newEntry), size);
+        } else {
+            final FieldEntry newEntry = new FieldEntry(key, hash, field, fieldVector.length);
+            result = new PersistentFieldMap(keyIndex.put(newEntry, 0), fieldVector.append(newEntry), size + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map which does not contain the field with the given key.
+     *
+     * @param key the key name of the field to be removed.
+     * @return the new map or this map if it does not contain {@code key}.
+     */
+    PersistentFieldMap without(final String key) {
+        final int hash = key.hashCode();
+        final FieldEntry existingEntry = keyIndex.find(key, hash, 0);
+        if (null == existingEntry) {
+            return this;
+        }
+        final PersistentFieldMap result = new PersistentFieldMap(keyIndex.remove(key, hash, 0),
+                fieldVector.set(existingEntry.position, null), size - 1);
+        if (result.fieldVector.length - result.size > Math.max(MIN_GAPS_FOR_COMPACTION, result.size)) {
+            return result.compact();
+        }
+        return result;
+    }
+
+    private PersistentFieldMap compact() {
+        PersistentFieldMap result = EMPTY;
+        for (final FieldEntry entry : new EntryIterable()) {
+            result = result.with(entry.key, entry.field);
+        }
+        return result;
+    }
+
+    @Nullable
+    @Override
+    public JsonField get(@Nullable final Object key) {
+        if (key instanceof String) {
+            final FieldEntry entry = keyIndex.find((String) key, key.hashCode(), 0);
+            if (null != entry) {
+                return entry.field;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return key instanceof String && null != keyIndex.find((String) key, key.hashCode(), 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, JsonField>> entrySet() {
+        return new AbstractSet<Map.Entry<String, JsonField>>() {
+            @Override
+            public Iterator<Map.Entry<String, JsonField>> iterator() {
+                return new FieldVectorIterator<>(fieldVector, entry -> entry);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<JsonField> values() {
+        return new AbstractCollection<JsonField>() {
+            @Override
+            public Iterator<JsonField> iterator() {
+                return new FieldVectorIterator<>(fieldVector, entry -> entry.field);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (o instanceof PersistentFieldMap && keyIndex == ((PersistentFieldMap) o).keyIndex) {
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private final class EntryIterable implements Iterable<FieldEntry> {
+
+        @Override
+        public Iterator<FieldEntry> iterator() {
+            return new FieldVectorIterator<>(fieldVector, entry -> entry);
+        }
+
+    }
+
+    /**
+     * A field together with its key, the hash of the key and its position in the field vector.
+     */
+    @Immutable
+    private static final class FieldEntry implements Map.Entry<String, JsonField> {
+
+        private final String key;
+        private final int hash;
+        private final JsonField field;
+        private final int position;
+
+        private FieldEntry(final String key, final int hash, final JsonField field, final int position) {
+            this.key = key;
+            this.hash = hash;
+            this.field = field;
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public JsonField getValue() {
+            return field;
+        }
+
+        @Override
+        public JsonField setValue(final JsonField value) {
+            throw new UnsupportedOperationException("The field map is immutable!");
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            return key.equals(that.getKey()) && Objects.equals(field, that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            // as specified by Map.Entry
+            return hash ^ field.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + field;
+        }
+
+    }
+
+    /**
+     * A node of the hash array mapped trie. Each level consumes five bits of the key hash; its children are either
+     * entries or nodes of the next level. Entries whose keys have the same hash are kept in a collision node below
+     * the last level.
+     */
+    @Immutable
+    private static final class HamtNode {
+
+        private static final HamtNode EMPTY = new HamtNode(0, new Object[0]);
+
+        private static final int BITS_PER_LEVEL = 5;
+        private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+        private static final int MAX_SHIFT = 30;
+
+        /**
+         * The occupied child slots of the 32 slots of a regular node; unused for collision nodes.
+         */
+        private final int bitmap;
+        private final Object[] children;
+
+        private HamtNode(final int bitmap, final Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private static boolean isCollisionLevel(final int shift) {
+            return shift > MAX_SHIFT;
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & LEVEL_MASK);
+        }
+
+        private int childIndex(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Nullable
+        private FieldEntry find(final String key, final int hash, final int shift) {
+            if (isCollisionLevel(shift)) {
+                for (final Object child : children) {
+                    final FieldEntry entry = (FieldEntry) child;
+                    if (entry.key.equals(key)) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+            final int bit = bit(hash, shift);
+            if (0 == (bitmap & bit)) {
+                return null;
+            }
+            final Object child = children[childIndex(bit)];
+            if (child instanceof FieldEntry) {
+                final FieldEntry entry = (FieldEntry) child;
+                return entry.hash == hash && entry.key.equals(key) ? entry : null;
+            }
+            return ((HamtNode) child).find(key, hash, shift + BITS_PER_LEVEL);
+        }
+
+        private HamtNode put(final FieldEntry newEntry, final int shift) {
+            if (isCollisionLevel(shift)) {
+                for (int i = 0; i < children.length; i++) {
+                    if (((FieldEntry) children[i]).key.equals(newEntry.key)) {
+                        return withChild(i, newEntry);
+                    }
+                }
+                return withInsertedChild(0, children.length, newEntry);
+            }
+            final int bit = bit(newEntry.hash, shift);
+            final int index = childIndex(bit);
+            if (0 == (bitmap & bit)) {
+                return withInsertedChild(bit, index, newEntry);
+            }
+            final Object child = children[index];
+            if (child instanceof FieldEntry) {
+                final FieldEntry entry = (FieldEntry) child;
+                if (entry.hash == newEntry.hash && entry.key.equals(newEntry.key)) {
+                    return withChild(index, newEntry);
+                }
+                return withChild(index, merge(entry, newEntry, shift + BITS_PER_LEVEL));
+            }
+            return withChild(index, ((HamtNode) child).put(newEntry, shift + BITS_PER_LEVEL));
+        }
+
+        private static HamtNode merge(final FieldEntry entry1, final FieldEntry entry2, final int shift) {
+            if (isCollisionLevel(shift)) {
+                return new HamtNode(0, new Object[]{entry1, entry2});
+            }
+            final int bit1 = bit(entry1.hash, shift);
+            final int bit2 = bit(entry2.hash, shift);
+            if (bit1 == bit2) {
+                return new HamtNode(bit1, new Object[]{merge(entry1, entry2, shift + BITS_PER_LEVEL)});
+            }
+            final Object[] children = Integer.compareUnsigned(bit1, bit2) < 0
+                    ? new Object[]{entry1, entry2}
+                    : new Object[]{entry2, entry1};
+            return new HamtNode(bit1 | bit2, children);
+        }
+
+        private HamtNode remove(final String key, final int hash, final int shift) {
+            if (isCollisionLevel(shift)) {
+                for (int i = 0; i < children.length; i++) {
+                    if (((FieldEntry) children[i]).key.equals(key)) {
+                        return withoutChild(0, i);
+                    }
+                }
+                return this;
+            }
+            final int bit = bit(hash, shift);
+            if (0 == (bitmap & bit)) {
+                return this;
+            }
+            final int index = childIndex(bit);
+            final Object child = children[index];
+            if (child instanceof FieldEntry) {
+                return ((FieldEntry) child).key.equals(key) ? withoutChild(bit, index) : this;
+            }
+            final HamtNode childNode = (HamtNode) child;
+            final HamtNode newChildNode = childNode.remove(key, hash, shift + BITS_PER_LEVEL);
+            if (newChildNode == childNode) {
+                return this;
+            }
+            if (0 == newChildNode.children.length) {
+                return withoutChild(bit, index);
+            }
+            if (1 == newChildNode.children.length && newChildNode.children[0] instanceof FieldEntry) {
+                // pull a single remaining entry up
+                return withChild(index, newChildNode.children[0]);
+            }
+            return withChild(index, newChildNode);
+        }
+
+        private HamtNode withChild(final int index, final Object child) {
+            final Object[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new HamtNode(bitmap, newChildren);
+        }
+
+        private HamtNode withInsertedChild(final int bit, final int index, final Object child) {
+            final Object[] newChildren = new Object[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            return new HamtNode(bitmap | bit, newChildren);
+        }
+
+        private HamtNode withoutChild(final int bit, final int index) {
+            final Object[] newChildren = new Object[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new HamtNode(bitmap & ~bit, newChildren);
+        }
+
+    }
+
+    /**
+     * A persistent vector of field entries in insertion order. Positions of removed fields contain {@code null}.
+     */
+    @Immutable
+    private static final class FieldVector {
+
+        private static final int NODE_SIZE = 32;
+        private static final int BITS_PER_LEVEL = 5;
+        private static final int LEVEL_MASK = NODE_SIZE - 1;
+
+        private static final FieldVector EMPTY = new FieldVector(new Object[NODE_SIZE], 0, 0);
+
+        private final Object[] root;
+        private final int shift;
+        private final int length;
+
+        private FieldVector(final Object[] root, final int shift, final int length) {
+            this.root = root;
+            this.shift = shift;
+            this.length = length;
+        }
+
+        @Nullable
+        private FieldEntry get(final int position) {
+            Object[] node = root;
+            for (int level = shift; level > 0; level -= BITS_PER_LEVEL) {
+                node = (Object[]) node[(position >>> level) & LEVEL_MASK];
+            }
+            return (FieldEntry) node[position & LEVEL_MASK];
+        }
+
+        private FieldVector set(final int position, @Nullable final FieldEntry entry) {
+            return new FieldVector(set(root, shift, position, entry), shift, length);
+        }
+
+        private FieldVector append(final FieldEntry entry) {
+            final FieldVector result;
+            if (length == 1 << (shift + BITS_PER_LEVEL)) {
+                final Object[] newRoot = new Object[NODE_SIZE];
+                newRoot[0] = root;
+                final int newShift = shift + BITS_PER_LEVEL;
+                result = new FieldVector(set(newRoot, newShift, length, entry), newShift, length + 1);
+            } else {
+                result = new FieldVector(set(root, shift, length, entry), shift, length + 1);
+            }
+            return result;
+        }
+
+        private static Object[] set(@Nullable final Object[] node, final int level, final int position,
+                @Nullable final Object value) {
+
+            final Object[] result = null != node ? node.clone() : new Object[NODE_SIZE];
+            final int index = (position >>> level) & LEVEL_MASK;
+            if (0 == level) {
+                result[index] = value;
+            } else {
+                result[index] = set((Object[]) result[index], level - BITS_PER_LEVEL, position, value);
+            }
+            return result;
+        }
+
+    }
+
+    private static final class FieldVectorIterator<T> implements Iterator<T> {
+
+        private final FieldVector fieldVector;
+        private final Function<FieldEntry, T> mapper;
+        private int position;
+        @Nullable private FieldEntry next;
+
+        private FieldVectorIterator(final FieldVector fieldVector, final Function<FieldEntry, T> mapper) {
+            this.fieldVector = fieldVector;
+            this.mapper = mapper;
+            position = 0;
+            next = advance();
+        }
+
+        @Nullable
+        private FieldEntry advance() {
+            while (position < fieldVector.length) {
+                final FieldEntry entry = fieldVector.get(position++);
+                if (null != entry) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null != next;
+        }
+
+        @Override
+        public T next() {
+            final FieldEntry result = next;
+            if (null == result) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return mapper.apply(result);
+        }
+
+    }
+
+}
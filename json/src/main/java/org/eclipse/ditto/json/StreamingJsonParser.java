@@ -0,0 +1,1055 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A streaming JSON parser which builds Ditto JSON values directly from its input without tokenizing it into an
+ * intermediate object model first.
+ * The input is either a {@code CharSequence} or UTF-8 encoded bytes; the latter are only decoded where a Java String
+ * is actually required, i.e. for keys, string values and representations of objects and arrays.
+ * <p>
+ * If the source text of an object or array is already in the canonical compact form of Ditto JSON, the source text
+ * is used as string representation of the created value. Thus no re-serialization is necessary for it.
+ * </p>
+ * <p>
+ * The parser optionally materializes nested JSON objects lazily: their source text is validated completely, but their
+ * fields are only created on first access.
+ * </p>
+ * <p>
+ * <em>An instance of this class is only usable for parsing one single input.</em>
+ * </p>
+ */
+@NotThreadSafe
+abstract class StreamingJsonParser {
+
+    /**
+     * The same nesting limit as applied by the Minimal Json parser.
+     */
+    private static final int MAX_NESTING_DEPTH = 1000;
+
+    private static final int KEY_CACHE_SIZE = 256;
+    private static final int MAX_CACHED_KEY_LENGTH = 32;
+    private static final int MAX_INT_DIGITS = 9;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final JsonCharEscaper JSON_CHAR_ESCAPER = JsonCharEscaper.getInstance();
+
+    /**
+     * Index of the first unit (char resp. byte) after the input.
+     */
+    final int end;
+
+    /**
+     * Index of the current unit (char resp. byte).
+     */
+    int pos;
+
+    private final boolean lazyObjects;
+    private final String[] keyCache;
+    private int depth;
+    private boolean canonical;
+    @Nullable private StringBuilder stringBuilder;
+
+    private StreamingJsonParser(final int start, final int end, final boolean lazyObjects) {
+        this.end = end;
+        pos = start;
+        this.lazyObjects = lazyObjects;
+        keyCache = new String[KEY_CACHE_SIZE];
+        depth = 0;
+        canonical = true;
+        stringBuilder = null;
+    }
+
+    /**
+     * Returns a parser for the given char sequence.
+     *
+     * @param charSequence the JSON to be parsed.
+     * @param lazyObjects determines whether nested JSON objects should be materialized lazily.
+     * @return the parser.
+     * @throws NullPointerException if {@code charSequence} is {@code null}.
+     */
+    static StreamingJsonParser of(final CharSequence charSequence, final boolean lazyObjects) {
+        requireNonNull(charSequence, "The JSON char sequence to be parsed must not be null!");
+        return new CharSequenceParser(charSequence, lazyObjects);
+    }
+
+    /**
+     * Returns a parser for the given UTF-8 encoded bytes.
+     *
+     * @param utf8Bytes the bytes of the JSON to be parsed.
+     * @param offset the index of the first byte to be parsed.
+     * @param length the amount of bytes to be parsed.
+     * @param lazyObjects determines whether nested JSON objects should be materialized lazily.
+     * @return the parser.
+     * @throws NullPointerException if {@code utf8Bytes} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} exceed the bounds of {@code utf8Bytes}.
+     */
+    static StreamingJsonParser of(final byte[] utf8Bytes, final int offset, final int length,
+            final boolean lazyObjects) {
+
+        requireNonNull(utf8Bytes, "The JSON bytes to be parsed must not be null!");
+        if (offset < 0 || length < 0 || offset + length > utf8Bytes.length) {
+            throw new IndexOutOfBoundsException(MessageFormat.format("Offset <{0}> and length <{1}> exceed <{2}>!",
+                    offset, length, utf8Bytes.length));
+        }
+        return new Utf8BytesParser(utf8Bytes, offset, offset + length, lazyObjects);
+    }
+
+    /**
+     * Returns a parser for the remaining UTF-8 encoded bytes of the given byte buffer.
+     * The bytes of a heap byte buffer are parsed in place, the bytes of a direct byte buffer are copied once.
+     * The position of the byte buffer is not changed.
+     *
+     * @param utf8ByteBuffer the bytes of the JSON to be parsed.
+     * @param lazyObjects determines whether nested JSON objects should be materialized lazily.
+     * @return the parser.
+     * @throws NullPointerException if {@code utf8ByteBuffer} is {@code null}.
+     */
+    static StreamingJsonParser of(final ByteBuffer utf8ByteBuffer, final boolean lazyObjects) {
+        requireNonNull(utf8ByteBuffer, "The JSON byte buffer to be parsed must not be null!");
+        final StreamingJsonParser result;
+        if (utf8ByteBuffer.hasArray()) {
+            final int offset = utf8ByteBuffer.arrayOffset() + utf8ByteBuffer.position();
+            result = new Utf8BytesParser(utf8ByteBuffer.array(), offset, offset + utf8ByteBuffer.remaining(),
+                    lazyObjects);
+        } else {
+            final byte[] bytes = new byte[utf8ByteBuffer.remaining()];
+            utf8ByteBuffer.duplicate().get(bytes);
+            result = new Utf8BytesParser(bytes, 0, bytes.length, lazyObjects);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the unit (char resp. byte) at the given index.
+     *
+     * @param index the index.
+     * @return the unit as non-negative int.
+     */
+    abstract int unitAt(int index);
+
+    /**
+     * Returns the decoded text between the given indices.
+     *
+     * @param startIndex the index of the first unit, inclusive.
+     * @param endIndex the index of the last unit, exclusive.
+     * @return the text.
+     */
+    abstract String slice(int startIndex, int endIndex);
+
+    /**
+     * Appends the decoded text between the given indices to the given string builder.
+     *
+     * @param target the string builder to append to.
+     * @param startIndex the index of the first unit, inclusive.
+     * @param endIndex the index of the last unit, exclusive.
+     */
+    abstract void appendSlice(StringBuilder target, int startIndex, int endIndex);
+
+    /**
+     * Indicates whether the unit at the given index starts a multi-unit character, i.e. a non-ASCII byte in UTF-8.
+     *
+     * @param index the index.
+     * @return {@code true} if the text at {@code index} cannot be used for the key cache.
+     */
+    abstract boolean isMultiUnit(int index);
+
+    /**
+     * Parses the whole input as one JSON value. Leading and trailing white space is ignored.
+     *
+     * @return the parsed JSON value.
+     * @throws JsonSyntaxException if the input is no valid JSON.
+     * @throws NumberFormatException if the input contains an integral number which exceeds the range of {@code long}.
+     * @throws IllegalArgumentException if the input contains a JSON object with an empty key.
+     */
+    JsonValue parseValue() {
+        skipWhiteSpace();
+        final JsonValue result = readValue(lazyObjects);
+        skipWhiteSpace();
+        requireEndOfInput();
+        return result;
+    }
+
+    /**
+     * Parses the whole input, which has to be a JSON object, into a map of its fields.
+     * This is the internal structure of {@link ImmutableJsonObject}.
+     *
+     * @return the fields of the parsed JSON object mapped by their key names.
+     * @throws JsonSyntaxException if the input is no valid JSON object.
+     */
+    Map<String, JsonField> parseFieldMap() {
+        skipWhiteSpace();
+        expectCurrent('{', "'{'");
+        final Map<String, JsonField> result = new LinkedHashMap<>();
+        readObjectFields(result);
+        skipWhiteSpace();
+        requireEndOfInput();
+        return result;
+    }
+
+    /**
+     * Parses the whole input, which has to be a JSON array, into a list of its values.
+     * This is the internal structure of {@link ImmutableJsonArray}.
+     *
+     * @return the values of the parsed JSON array.
+     * @throws JsonSyntaxException if the input is no valid JSON array.
+     */
+    List<JsonValue> parseValueList() {
+        skipWhiteSpace();
+        expectCurrent('[', "'['");
+        final List<JsonValue> result = new ArrayList<>();
+        readArrayValues(result);
+        skipWhiteSpace();
+        requireEndOfInput();
+        return result;
+    }
+
+    /**
+     * Validates the whole input and records the key and the value offsets of each field if the input is a JSON
+     * object, without creating the field values.
+     * Leading and trailing white space is ignored.
+     *
+     * @return the offsets of the fields or {@code null} if the input is no JSON object or if the object is not
+     * canonical, i. e. it contains white space or non-canonical escape sequences.
+     * @throws JsonSyntaxException if the input is no valid JSON.
+     * @throws NumberFormatException if the input contains an integral number which exceeds the range of {@code long}.
+     * @throws IllegalArgumentException if the input contains a JSON object with an empty key.
+     */
+    @Nullable
+    FieldOffsets indexFields() {
+        skipWhiteSpace();
+        requireMoreInput("value");
+        if ('{' != unitAt(pos)) {
+            return null;
+        }
+        final int objectStart = pos;
+        enterNesting();
+        pos++; // '{'
+        boolean objectCanonical = !skipWhiteSpace();
+        final List<String> keys = new ArrayList<>();
+        int[] valueOffsets = new int[16];
+        if (!readIf('}')) {
+            do {
+                objectCanonical &= !skipWhiteSpace();
+                requireMoreInput("name");
+                expectCurrent('"', "name");
+                final String key = readKey();
+                objectCanonical &= canonical;
+                objectCanonical &= !skipWhiteSpace();
+                readRequired(':');
+                objectCanonical &= !skipWhiteSpace();
+                final int valueStart = pos;
+                skipValue();
+                objectCanonical &= canonical;
+                final int fieldIndex = keys.size();
+                if (valueOffsets.length < 2 * fieldIndex + 2) {
+                    valueOffsets = Arrays.copyOf(valueOffsets, 2 * valueOffsets.length);
+                }
+                keys.add(key);
+                valueOffsets[2 * fieldIndex] = valueStart;
+                valueOffsets[2 * fieldIndex + 1] = pos;
+                objectCanonical &= !skipWhiteSpace();
+            } while (readIf(','));
+            readRequired('}');
+        }
+        depth--;
+        final int objectEnd = pos;
+        skipWhiteSpace();
+        requireEndOfInput();
+        // Ditto JSON objects keep only the last of duplicate keys, thus the source text is not canonical
+        objectCanonical &= new HashSet<>(keys).size() == keys.size();
+        if (!objectCanonical) {
+            return null;
+        }
+        return new FieldOffsets(objectStart, objectEnd, keys.toArray(new String[0]),
+                Arrays.copyOf(valueOffsets, 2 * keys.size()));
+    }
+
+    private JsonValue readValue(final boolean lazyChildren) {
+        requireMoreInput("value");
+        final int current = unitAt(pos);
+        final JsonValue result;
+        switch (current) {
+            case '{':
+                result = readObject(lazyChildren);
+                break;
+            case '[':
+                result = readArray(lazyChildren);
+                break;
+            case '"':
+                result = ImmutableJsonString.of(readString());
+                break;
+            case 't':
+                readLiteral("true");
+                result = ImmutableJsonBoolean.TRUE;
+                break;
+            case 'f':
+                readLiteral("false");
+                result = ImmutableJsonBoolean.FALSE;
+                break;
+            case 'n':
+                readLiteral("null");
+                result = ImmutableJsonNull.getInstance();
+                break;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                result = readNumber();
+                break;
+            default:
+                throw expected("value");
+        }
+        return result;
+    }
+
+    private JsonValue readObject(final boolean lazyChildren) {
+        final int start = pos;
+        final Map<String, JsonField> fields = new LinkedHashMap<>();
+        enterNesting();
+        final boolean objectCanonical = readObjectFields(fields, lazyChildren);
+        depth--;
+        canonical = objectCanonical;
+        if (fields.isEmpty() && objectCanonical) {
+            return ImmutableJsonObject.empty();
+        }
+        return ImmutableJsonObject.of(fields, objectCanonical ? slice(start, pos) : null);
+    }
+
+    private void readObjectFields(final Map<String, JsonField> fields) {
+        enterNesting();
+        readObjectFields(fields, lazyObjects);
+        depth--;
+    }
+
+    private boolean readObjectFields(final Map<String, JsonField> fields, final boolean lazyChildren) {
+        pos++; // '{'
+        boolean objectCanonical = !skipWhiteSpace();
+        if (!readIf('}')) {
+            do {
+                objectCanonical &= !skipWhiteSpace();
+                requireMoreInput("name");
+                expectCurrent('"', "name");
+                final String key = readKey();
+                objectCanonical &= canonical;
+                objectCanonical &= !skipWhiteSpace();
+                readRequired(':');
+                objectCanonical &= !skipWhiteSpace();
+                final JsonValue value = readChildValue(lazyChildren);
+                objectCanonical &= canonical;
+                // Ditto JSON objects keep only the last of duplicate keys, thus the source text is not canonical
+                objectCanonical &= null == fields.put(key, JsonField.newInstance(key, value));
+                objectCanonical &= !skipWhiteSpace();
+            } while (readIf(','));
+            readRequired('}');
+        }
+        return objectCanonical;
+    }
+
+    private JsonValue readArray(final boolean lazyChildren) {
+        final int start = pos;
+        final List<JsonValue> values = new ArrayList<>();
+        enterNesting();
+        final boolean arrayCanonical = readArrayValues(values, lazyChildren);
+        depth--;
+        canonical = arrayCanonical;
+        if (values.isEmpty() && arrayCanonical) {
+            return ImmutableJsonArray.empty();
+        }
+        return ImmutableJsonArray.of(values, arrayCanonical ? slice(start, pos) : null);
+    }
+
+    private void readArrayValues(final List<JsonValue> values) {
+        enterNesting();
+        readArrayValues(values, lazyObjects);
+        depth--;
+    }
+
+    private boolean readArrayValues(final List<JsonValue> values, final boolean lazyChildren) {
+        pos++; // '['
+        boolean arrayCanonical = !skipWhiteSpace();
+        if (!readIf(']')) {
+            do {
+                arrayCanonical &= !skipWhiteSpace();
+                values.add(readChildValue(lazyChildren));
+                arrayCanonical &= canonical;
+                arrayCanonical &= !skipWhiteSpace();
+            } while (readIf(','));
+            readRequired(']');
+        }
+        return arrayCanonical;
+    }
+
+    private JsonValue readChildValue(final boolean lazyChildren) {
+        if (lazyChildren && pos < end && '{' == unitAt(pos)) {
+            return readLazyObject();
+        }
+        return readValue(lazyChildren);
+    }
+
+    private JsonValue readLazyObject() {
+        final int start = pos;
+        skipValue();
+        if (canonical) {
+            if (pos - start == 2) {
+                return ImmutableJsonObject.empty();
+            }
+            return ImmutableJsonObject.lazy(slice(start, pos));
+        }
+
+        // Lazy materialization requires the canonical string representation as source.
+        // Re-parse non-canonical objects eagerly including all of their children, so each unit is read at most twice.
+        pos = start;
+        return readValue(false);
+    }
+
+    /**
+     * Validates the value at the current position without creating it.
+     * Afterwards the current position is the first unit after the value.
+     */
+    private void skipValue() {
+        requireMoreInput("value");
+        final int current = unitAt(pos);
+        switch (current) {
+            case '{':
+                skipObject();
+                break;
+            case '[':
+                skipArray();
+                break;
+            case '"':
+                scanString(false);
+                break;
+            case 't':
+                readLiteral("true");
+                break;
+            case 'f':
+                readLiteral("false");
+                break;
+            case 'n':
+                readLiteral("null");
+                break;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                skipNumber();
+                break;
+            default:
+                throw expected("value");
+        }
+    }
+
+    private void skipObject() {
+        enterNesting();
+        pos++; // '{'
+        boolean objectCanonical = !skipWhiteSpace();
+        if (!readIf('}')) {
+            final Set<String> keys = new HashSet<>();
+            do {
+                objectCanonical &= !skipWhiteSpace();
+                requireMoreInput("name");
+                expectCurrent('"', "name");
+                final String key = readKey();
+                objectCanonical &= canonical;
+                objectCanonical &= keys.add(key);
+                objectCanonical &= !skipWhiteSpace();
+                readRequired(':');
+                objectCanonical &= !skipWhiteSpace();
+                skipValue();
+                objectCanonical &= canonical;
+                objectCanonical &= !skipWhiteSpace();
+            } while (readIf(','));
+            readRequired('}');
+        }
+        depth--;
+        canonical = objectCanonical;
+    }
+
+    private void skipArray() {
+        enterNesting();
+        pos++; // '['
+        boolean arrayCanonical = !skipWhiteSpace();
+        if (!readIf(']')) {
+            do {
+                arrayCanonical &= !skipWhiteSpace();
+                skipValue();
+                arrayCanonical &= canonical;
+                arrayCanonical &= !skipWhiteSpace();
+            } while (readIf(','));
+            readRequired(']');
+        }
+        depth--;
+        canonical = arrayCanonical;
+    }
+
+    private void skipNumber() {
+        final int start = pos;
+        final boolean decimal = scanNumber();
+        if (!decimal && significantDigits(start) > MAX_LONG_DIGITS) {
+            // ensures the same NumberFormatException as eager parsing would throw
+            Long.parseLong(slice(start, pos));
+        }
+        if (decimal) {
+            final String text = slice(start, pos);
+            canonical = Double.toString(Double.parseDouble(text)).equals(text);
+        } else {
+            canonical = isCanonicalInteger(start);
+        }
+    }
+
+    private String readKey() {
+        final int start = pos + 1;
+        final int hash = scanKey();
+        final String result;
+        if (hash < 0) {
+            result = readString();
+        } else {
+            final int length = pos - start;
+            final int cacheIndex = hash & (KEY_CACHE_SIZE - 1);
+            final String cachedKey = keyCache[cacheIndex];
+            if (null != cachedKey && regionEquals(cachedKey, start, length)) {
+                result = cachedKey;
+            } else {
+                result = slice(start, pos);
+                keyCache[cacheIndex] = result;
+            }
+            pos++; // closing '"'
+            canonical = true;
+        }
+        if (result.isEmpty()) {
+            throw emptyKey();
+        }
+        return result;
+    }
+
+    /**
+     * Scans a key which consists only of single-unit characters without escape sequences and which is short enough
+     * to be cached. If successful, the position is at the closing quote afterwards, otherwise it is reset.
+     *
+     * @return the hash of the key or {@code -1} if the key is not cacheable.
+     */
+    private int scanKey() {
+        final int start = pos;
+        final int maxEnd = Math.min(end, start + 1 + MAX_CACHED_KEY_LENGTH + 1);
+        int hash = 0;
+        int index = start + 1;
+        while (index < maxEnd) {
+            final int current = unitAt(index);
+            if ('"' == current) {
+                pos = index;
+                return hash & Integer.MAX_VALUE;
+            }
+            if ('\\' == current || current < 0x20 || isMultiUnit(index)) {
+                return -1;
+            }
+            hash = 31 * hash + current;
+            index++;
+        }
+        return -1;
+    }
+
+    private boolean regionEquals(final String string, final int start, final int length) {
+        if (string.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != unitAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString() {
+        final String result = scanString(true);
+        assert null != result;
+        return result;
+    }
+
+    /**
+     * Scans the string at the current position. Afterwards the current position is the first unit after the string.
+     *
+     * @param decode determines whether the string should be decoded and returned.
+     * @return the decoded string or {@code null} if {@code decode} is {@code false}.
+     */
+    @Nullable
+    private String scanString(final boolean decode) {
+        pos++; // opening '"'
+        final int start = pos;
+        int runStart = start;
+        boolean stringCanonical = true;
+        StringBuilder decoded = null;
+        while (true) {
+            requireMoreInput("'\"'");
+            final int current = unitAt(pos);
+            if ('"' == current) {
+                break;
+            } else if ('\\' == current) {
+                if (decode) {
+                    if (null == decoded) {
+                        decoded = getStringBuilder();
+                    }
+                    appendSlice(decoded, runStart, pos);
+                }
+                final int escapeStart = pos;
+                final char escaped = readEscape();
+                if (null != decoded) {
+                    decoded.append(escaped);
+                }
+                stringCanonical &= isCanonicalEscape(escaped, escapeStart);
+                runStart = pos;
+            } else if (current < 0x20) {
+                throw expected("valid string character");
+            } else {
+                pos++;
+            }
+        }
+        String result = null;
+        if (decode) {
+            if (null == decoded) {
+                result = slice(start, pos);
+            } else {
+                appendSlice(decoded, runStart, pos);
+                result = decoded.toString();
+            }
+        }
+        pos++; // closing '"'
+        canonical = stringCanonical;
+        return result;
+    }
+
+    private StringBuilder getStringBuilder() {
+        StringBuilder result = stringBuilder;
+        if (null == result) {
+            result = new StringBuilder();
+            stringBuilder = result;
+        } else {
+            result.setLength(0);
+        }
+        return result;
+    }
+
+    private char readEscape() {
+        pos++; // '\'
+        requireMoreInput("valid escape sequence");
+        final int current = unitAt(pos);
+        pos++;
+        switch (current) {
+            case '"':
+            case '/':
+            case '\\':
+                return (char) current;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int result = 0;
+                for (int i = 0; i < 4; i++) {
+                    requireMoreInput("hexadecimal digit");
+                    final int digit = hexDigitValue(unitAt(pos));
+                    if (digit < 0) {
+                        throw expected("hexadecimal digit");
+                    }
+                    result = (result << 4) | digit;
+                    pos++;
+                }
+                return (char) result;
+            default:
+                pos--;
+                throw expected("valid escape sequence");
+        }
+    }
+
+    private static int hexDigitValue(final int unit) {
+        if ('0' <= unit && unit <= '9') {
+            return unit - '0';
+        } else if ('a' <= unit && unit <= 'f') {
+            return unit - 'a' + 10;
+        } else if ('A' <= unit && unit <= 'F') {
+            return unit - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private boolean isCanonicalEscape(final char escaped, final int escapeStart) {
+        @Nullable final String canonicalEscape = JSON_CHAR_ESCAPER.apply((int) escaped);
+        if (null == canonicalEscape || canonicalEscape.length() != pos - escapeStart) {
+            return false;
+        }
+        return regionEquals(canonicalEscape, escapeStart, canonicalEscape.length());
+    }
+
+    private JsonNumber readNumber() {
+        final int start = pos;
+        final boolean decimal = scanNumber();
+        if (decimal) {
+            final String text = slice(start, pos);
+            final double value = Double.parseDouble(text);
+            // fractions and exponents are kept as source text only if Ditto JSON serializes them the same way
+            canonical = Double.toString(value).equals(text);
+            return ImmutableJsonDouble.of(value);
+        }
+        canonical = isCanonicalInteger(start);
+        final int digits = significantDigits(start);
+        if (digits > MAX_LONG_DIGITS) {
+            return ImmutableJsonLong.of(Long.parseLong(slice(start, pos)));
+        }
+        final boolean negative = '-' == unitAt(start);
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < pos; i++) {
+            value = value * 10 + (unitAt(i) - '0');
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (digits <= MAX_INT_DIGITS || (Integer.MIN_VALUE <= value && value <= Integer.MAX_VALUE)) {
+            return ImmutableJsonInt.of((int) value);
+        }
+        return ImmutableJsonLong.of(value);
+    }
+
+    /**
+     * Ditto JSON serializes negative zero as {@code 0}; all other integers are serialized as read.
+     */
+    private boolean isCanonicalInteger(final int numberStart) {
+        return !(pos - numberStart == 2 && '-' == unitAt(numberStart) && '0' == unitAt(numberStart + 1));
+    }
+
+    private int significantDigits(final int numberStart) {
+        return '-' == unitAt(numberStart) ? pos - numberStart - 1 : pos - numberStart;
+    }
+
+    /**
+     * Scans a number according to the JSON grammar.
+     *
+     * @return {@code true} if the number has a fraction or an exponent.
+     */
+    private boolean scanNumber() {
+        readIf('-');
+        requireMoreInput("digit");
+        final int first = unitAt(pos);
+        if ('0' == first) {
+            pos++;
+        } else if (isDigit(first)) {
+            skipDigits();
+        } else {
+            throw expected("digit");
+        }
+        boolean decimal = false;
+        if (readIf('.')) {
+            decimal = true;
+            readRequiredDigits();
+        }
+        if (pos < end && ('e' == unitAt(pos) || 'E' == unitAt(pos))) {
+            decimal = true;
+            pos++;
+            if (!readIf('+')) {
+                readIf('-');
+            }
+            readRequiredDigits();
+        }
+        return decimal;
+    }
+
+    private void readRequiredDigits() {
+        if (pos >= end || !isDigit(unitAt(pos))) {
+            throw expected("digit");
+        }
+        skipDigits();
+    }
+
+    private void skipDigits() {
+        while (pos < end && isDigit(unitAt(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isDigit(final int unit) {
+        return '0' <= unit && unit <= '9';
+    }
+
+    private void readLiteral(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (pos >= end || unitAt(pos) != literal.charAt(i)) {
+                throw expected("'" + literal.charAt(i) + "'");
+            }
+            pos++;
+        }
+        canonical = true;
+    }
+
+    /**
+     * Skips all white space at the current position.
+     *
+     * @return {@code true} if at least one white space unit was skipped.
+     */
+    private boolean skipWhiteSpace() {
+        final int start = pos;
+        while (pos < end && isWhiteSpace(unitAt(pos))) {
+            pos++;
+        }
+        return pos > start;
+    }
+
+    private static boolean isWhiteSpace(final int unit) {
+        return ' ' == unit || '\t' == unit || '\n' == unit || '\r' == unit;
+    }
+
+    private boolean readIf(final char expected) {
+        if (pos < end && expected == unitAt(pos)) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void readRequired(final char expected) {
+        if (!readIf(expected)) {
+            throw expected("'" + expected + "'");
+        }
+    }
+
+    private void expectCurrent(final char expected, final String description) {
+        if (pos >= end || expected != unitAt(pos)) {
+            throw expected(description);
+        }
+    }
+
+    private void requireMoreInput(final String expected) {
+        if (pos >= end) {
+            throw expected(expected);
+        }
+    }
+
+    private void requireEndOfInput() {
+        if (pos < end) {
+            throw new JsonSyntaxException("Unexpected character", pos);
+        }
+    }
+
+    private void enterNesting() {
+        if (++depth > MAX_NESTING_DEPTH) {
+            throw new JsonSyntaxException("Nesting too deep", pos);
+        }
+    }
+
+    private JsonSyntaxException expected(final String expected) {
+        if (pos >= end) {
+            return new JsonSyntaxException("Unexpected end of input", pos);
+        }
+        return new JsonSyntaxException("Expected " + expected, pos);
+    }
+
+    private static IllegalArgumentException emptyKey() {
+        return new IllegalArgumentException("The key string must not be empty!");
+    }
+
+    /**
+     * Thrown if the input of a {@link StreamingJsonParser} is no valid JSON.
+     */
+    static final class JsonSyntaxException extends RuntimeException {
+
+        private static final long serialVersionUID = 2402930838710396548L;
+
+        private final int offset;
+
+        private JsonSyntaxException(final String message, final int offset) {
+            super(message + " at offset " + offset, null, false, false);
+            this.offset = offset;
+        }
+
+        /**
+         * Returns the index of the unit (char resp. byte) where the error occurred.
+         *
+         * @return the offset.
+         */
+        int getOffset() {
+            return offset;
+        }
+
+    }
+
+    /**
+     * The offsets of the fields of a canonical JSON object as determined by {@link #indexFields()}.
+     * All offsets are indices of units (chars resp. bytes) of the parsed input.
+     */
+    @Immutable
+    static final class FieldOffsets {
+
+        private final int objectStart;
+        private final int objectEnd;
+        private final String[] keys;
+        private final int[] valueOffsets;
+
+        /**
+         * @param objectStart the index of the first unit of the object.
+         * @param objectEnd the index of the first unit after the object.
+         * @param keys the keys of the fields in the order of their occurrence.
+         * @param valueOffsets the start and end index of the value of each field one after the other.
+         */
+        FieldOffsets(final int objectStart, final int objectEnd, final String[] keys,
+                final int[] valueOffsets) {
+
+            this.objectStart = objectStart;
+            this.objectEnd = objectEnd;
+            this.keys = keys;
+            this.valueOffsets = valueOffsets;
+        }
+
+        /**
+         * @return the index of the opening brace of the object.
+         */
+        int getObjectStart() {
+            return objectStart;
+        }
+
+        /**
+         * @return the index of the first unit after the closing brace of the object.
+         */
+        int getObjectEnd() {
+            return objectEnd;
+        }
+
+        /**
+         * @return the amount of fields including duplicate keys.
+         */
+        int getSize() {
+            return keys.length;
+        }
+
+        String getKey(final int fieldIndex) {
+            return keys[fieldIndex];
+        }
+
+        /**
+         * @return the index of the first unit of the value of the field at {@code fieldIndex}.
+         */
+        int getValueStart(final int fieldIndex) {
+            return valueOffsets[2 * fieldIndex];
+        }
+
+        /**
+         * @return the index of the first unit after the value of the field at {@code fieldIndex}.
+         */
+        int getValueEnd(final int fieldIndex) {
+            return valueOffsets[2 * fieldIndex + 1];
+        }
+
+    }
+
+    @NotThreadSafe
+    private static final class CharSequenceParser extends StreamingJsonParser {
+
+        private final CharSequence charSequence;
+
+        private CharSequenceParser(final CharSequence charSequence, final boolean lazyObjects) {
+            super(0, charSequence.length(), lazyObjects);
+            this.charSequence = charSequence;
+        }
+
+        @Override
+        int unitAt(final int index) {
+            return charSequence.charAt(index);
+        }
+
+        @Override
+        String slice(final int startIndex, final int endIndex) {
+            return charSequence.subSequence(startIndex, endIndex).toString();
+        }
+
+        @Override
+        void appendSlice(final StringBuilder target, final int startIndex, final int endIndex) {
+            target.append(charSequence, startIndex, endIndex);
+        }
+
+        @Override
+        boolean isMultiUnit(final int index) {
+            return false;
+        }
+
+    }
+
+    @NotThreadSafe
+    private static final class Utf8BytesParser extends StreamingJsonParser {
+
+        private final byte[] bytes;
+
+        private Utf8BytesParser(final byte[] bytes, final int start, final int end, final boolean lazyObjects) {
+            super(start, end, lazyObjects);
+            this.bytes = bytes;
+        }
+
+        @Override
+        int unitAt(final int index) {
+            return bytes[index] & 0xFF;
+        }
+
+        @Override
+        String slice(final int startIndex, final int endIndex) {
+            return new String(bytes, startIndex, endIndex - startIndex, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void appendSlice(final StringBuilder target, final int startIndex, final int endIndex) {
+            if (startIndex < endIndex) {
+                target.append(slice(startIndex, endIndex));
+            }
+        }
+
+        @Override
+        boolean isMultiUnit(final int index) {
+            return bytes[index] < 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The fields of a JSON object which are backed by the canonical UTF-8 encoded bytes of the object and a compact index
+ * of the offsets of the field values within these bytes.
+ * <p>
+ * A field value is decoded only when it is accessed. Nested JSON objects are backed by the same bytes again, thus
+ * retrieving a value by a JSON pointer decodes only the objects along the pointer. The string representation of an
+ * unmodified object is decoded from its bytes as they are, without serializing its fields.
+ * </p>
+ * <p>
+ * The index is softly referenced like the field map of {@link ImmutableJsonObject} and is rebuilt from the bytes on
+ * demand.
+ * </p>
+ */
+@Immutable
+final class Utf8IndexedFields implements IndexedFields {
+
+    private final byte[] utf8Bytes;
+    private final int start;
+    private final int end;
+    private SoftReference<FieldIndex> indexReference;
+
+    private Utf8IndexedFields(final byte[] utf8Bytes, final int start, final int end, @Nullable final FieldIndex index) {
+        this.utf8Bytes = utf8Bytes;
+        this.start = start;
+        this.end = end;
+        indexReference = new SoftReference<>(index);
+    }
+
+    /**
+     * Returns the fields of the canonical JSON object whose offsets were determined by
+     * {@link StreamingJsonParser#indexFields()} for the given bytes.
+     *
+     * @param utf8Bytes the bytes which were parsed. They must not be changed afterwards.
+     * @param fieldOffsets the offsets of the fields within {@code utf8Bytes}.
+     * @return the fields.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static Utf8IndexedFields of(final byte[] utf8Bytes, final StreamingJsonParser.FieldOffsets fieldOffsets) {
+        requireNonNull(utf8Bytes, "The UTF-8 bytes must not be null!");
+        requireNonNull(fieldOffsets, "The field offsets must not be null!");
+        return new Utf8IndexedFields(utf8Bytes, fieldOffsets.getObjectStart(), fieldOffsets.getObjectEnd(),
+                new FieldIndex(fieldOffsets));
+    }
+
+    @Override
+    public int getSize() {
+        return index().getSize();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return 0 <= index().indexOf(key);
+    }
+
+    @Override
+    @Nullable
+    public JsonField getOrNull(final String key) {
+        final FieldIndex index = index();
+        final int fieldIndex = index.indexOf(key);
+        return 0 <= fieldIndex ? getField(index, fieldIndex) : null;
+    }
+
+    @Override
+    public Map<String, JsonField> toFieldMap() {
+        final FieldIndex index = index();
+        final Map<String, JsonField> result = new LinkedHashMap<>((int) (index.getSize() / 0.75F) + 1);
+        for (int i = 0; i < index.getSize(); i++) {
+            final JsonField field = getField(index, i);
+            result.put(field.getKeyName(), field);
+        }
+        return result;
+    }
+
+    @Override
+    public String decodeToString() {
+        return new String(utf8Bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int guessSerializedSize() {
+        return end - start;
+    }
+
+    @Override
+    public long upperBoundForStringSize() {
+        // a character is encoded by at least one byte
+        return end - start;
+    }
+
+    @Override
+    public boolean hasSameEncoding(final IndexedFields other) {
+        if (!(other instanceof Utf8IndexedFields)) {
+            return false;
+        }
+        final Utf8IndexedFields that = (Utf8IndexedFields) other;
+        if (utf8Bytes == that.utf8Bytes && start == that.start && end == that.end) {
+            return true;
+        }
+        return Arrays.equals(utf8Bytes, start, end, that.utf8Bytes, that.start, that.end);
+    }
+
+    private FieldIndex index() {
+        FieldIndex result = indexReference.get();
+        if (null == result) {
+            final StreamingJsonParser.FieldOffsets fieldOffsets =
+                    StreamingJsonParser.of(utf8Bytes, start, end - start, false).indexFields();
+
+            // the bytes were validated to be a canonical JSON object before
+            assert null != fieldOffsets;
+            result = new FieldIndex(fieldOffsets);
+            indexReference = new SoftReference<>(result);
+        }
+        return result;
+    }
+
+    private JsonField getField(final FieldIndex index, final int fieldIndex) {
+        JsonField result = index.getDecodedField(fieldIndex);
+        if (null == result) {
+            result = JsonField.newInstance(index.getKey(fieldIndex), decodeValue(index.getValueStart(fieldIndex),
+                    index.getValueEnd(fieldIndex)));
+            index.setDecodedField(fieldIndex, result);
+        }
+        return result;
+    }
+
+    private JsonValue decodeValue(final int valueStart, final int valueEnd) {
+        final JsonValue result;
+        if ('{' == utf8Bytes[valueStart]) {
+            if (2 == valueEnd - valueStart) {
+                result = ImmutableJsonObject.empty();
+            } else {
+                result = ImmutableJsonObject.lazy(new Utf8IndexedFields(utf8Bytes, valueStart, valueEnd, null));
+            }
+        } else {
+            result = StreamingJsonParser.of(utf8Bytes, valueStart, valueEnd - valueStart, true).parseValue();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link org.eclipse.ditto.json.BinaryJsonCodec}.
+ */
+public final class BinaryJsonCodecTest {
+
+    private static final List<String> KEY_DICTIONARY = List.of("thingId", "features", "properties", "value");
+
+    private static final JsonObject KNOWN_JSON_OBJECT = JsonObject.newBuilder()
+            .set("thingId", "org.eclipse.ditto:thïng")
+            .set("revision", 1L << 40)
+            .set("attributes", JsonObject.newBuilder()
+                    .set("location", JsonObject.newBuilder().set("lat", 48.1D).set("lon", 11.5D).build())
+                    .set("tags", JsonArray.of("a", "b"))
+                    .set("nothing", JsonValue.nullLiteral())
+                    .set("empty", JsonArray.empty())
+                    .build())
+            .set("features", JsonObject.newBuilder()
+                    .set("f1", JsonObject.newBuilder()
+                            .set("properties", JsonObject.newBuilder()
+                                    .set("value", -42)
+                                    .set("double", 2.0D)
+                                    .set("escaped", "\"€😀\"")
+                                    .set("empty", JsonObject.empty())
+                                    .set("on", true)
+                                    .build())
+                            .build())
+                    .build())
+            .build();
+
+    private final BinaryJsonCodec underTest = BinaryJsonCodec.of(KEY_DICTIONARY);
+
+    @Test
+    public void decodedObjectEqualsEncodedObject() {
+        final JsonValue decoded = underTest.readFrom(underTest.toByteArray(KNOWN_JSON_OBJECT));
+
+        assertThat(decoded).isEqualTo(KNOWN_JSON_OBJECT);
+        assertThat(KNOWN_JSON_OBJECT).isEqualTo(decoded);
+        assertThat(decoded.hashCode()).isEqualTo(KNOWN_JSON_OBJECT.hashCode());
+        assertThat(decoded.toString()).isEqualTo(KNOWN_JSON_OBJECT.toString());
+    }
+
+    @Test
+    public void numberTypesAreRetained() {
+        final JsonObject decoded = underTest.readFrom(underTest.toByteArray(KNOWN_JSON_OBJECT)).asObject();
+
+        assertThat(decoded.getValue("revision")).contains(JsonValue.of(1L << 40));
+        assertThat(decoded.getValue("features/f1/properties/value").map(JsonValue::isInt)).contains(true);
+        assertThat(decoded.getValue("features/f1/properties/double").map(JsonValue::toString)).contains("2.0");
+        assertThat(decoded.getValue("attributes/location/lat")).contains(JsonValue.of(48.1D));
+    }
+
+    @Test
+    public void scalarValuesAndLargeObjectsAreEncoded() {
+        final JsonObjectBuilder largeObjectBuilder = JsonObject.newBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            largeObjectBuilder.set("key-" + i, JsonObject.newBuilder().set("value", "value-" + i).build());
+        }
+        final JsonObject largeObject = largeObjectBuilder.build();
+        final List<JsonValue> values = Arrays.asList(JsonValue.of("ä"), JsonValue.of(Long.MIN_VALUE),
+                JsonValue.nullLiteral(), JsonValue.of(false), JsonArray.of(1, 2, 3), largeObject);
+
+        for (final JsonValue value : values) {
+            assertThat(underTest.readFrom(underTest.toByteArray(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    public void dictionaryKeysAreEncodedCompactly() {
+        final JsonObject withDictionaryKeys = JsonObject.newBuilder().set("properties", 1).build();
+        final JsonObject withOtherKeys = JsonObject.newBuilder().set("attributes", 1).build();
+
+        assertThat(underTest.toByteArray(withDictionaryKeys).length)
+                .isLessThan(underTest.toByteArray(withOtherKeys).length)
+                .isLessThan(withDictionaryKeys.toString().length());
+    }
+
+    @Test
+    public void writeToByteBufferAndReadFromByteBuffer() {
+        final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(4096);
+        underTest.writeTo(KNOWN_JSON_OBJECT, byteBuffer);
+        byteBuffer.flip();
+
+        assertThat(underTest.readFrom(byteBuffer)).isEqualTo(KNOWN_JSON_OBJECT);
+        assertThat(byteBuffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void modificationsOfDecodedObjectAreEqualToModificationsOfEncodedObject() {
+        final JsonObject decoded = underTest.readFrom(underTest.toByteArray(KNOWN_JSON_OBJECT)).asObject();
+        final JsonPointer pointer = JsonPointer.of("features/f1/properties/value");
+
+        assertThat(decoded.setValue(pointer, 23)).isEqualTo(KNOWN_JSON_OBJECT.setValue(pointer, 23));
+        assertThat(decoded.remove("attributes/location")).isEqualTo(KNOWN_JSON_OBJECT.remove("attributes/location"));
+    }
+
+    @Test
+    public void bytesOfOtherDictionaryAreRejected() {
+        final byte[] bytes = BinaryJsonCodec.of(List.of("thingId")).toByteArray(KNOWN_JSON_OBJECT);
+
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> underTest.readFrom(bytes));
+    }
+
+    @Test
+    public void truncatedBytesAreRejected() {
+        final byte[] bytes = underTest.toByteArray(KNOWN_JSON_OBJECT);
+
+        assertThatExceptionOfType(JsonParseException.class)
+                .isThrownBy(() -> underTest.readFrom(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+}
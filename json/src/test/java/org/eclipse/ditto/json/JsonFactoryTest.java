@@ -21,6 +21,8 @@ import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable
 
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -290,6 +292,30 @@ public final class JsonFactoryTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    public void readFromUtf8Bytes() {
+        final JsonValue expected = JsonFactory.newObject().setValue("f\u00f6\u00f6", "b\u00e4r");
+        final JsonValue actual = JsonFactory.readFrom(expected.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void readFromUtf8ByteBuffer() {
+        final JsonValue expected = JsonFactory.newObject().setValue("f\u00f6\u00f6", "b\u00e4r");
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(expected.toString().getBytes(StandardCharsets.UTF_8));
+
+        final JsonValue actual = JsonFactory.readFrom(byteBuffer);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(byteBuffer.position()).isZero();
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void tryToReadJsonValueFromInvalidUtf8Bytes() {
+        JsonFactory.readFrom("{\"foo\":\"bar\"".getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test(expected = JsonParseException.class)
     public void tryToReadFromNullReader() {
         JsonFactory.readFrom((Reader) null);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH Benchmark replaying a long stream of merge patches like those of {@code ThingMerged} events onto a thing of
+ * about 1 MB, once via {@link JsonFactory#mergeJsonValues(JsonValue, JsonValue)} and {@link JsonObject#setValue}
+ * which share the unchanged fields, and once by copying each modified JSON object completely as a reference.
+ * Build with {@code mvn clean package -Pbuild-benchmark-assembly} and run the resulting benchmark JAR.
+ */
+@State(Scope.Thread)
+public class JsonMergeBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int WARMUP_TIME = 1000;
+    private static final int MEASUREMENT_TIME = 1000;
+
+    private static final int PROPERTIES_PER_FEATURE = 1200;
+    private static final int PATCH_COUNT = 10_000;
+
+    private JsonObject thing;
+    private JsonPointer[] pointers;
+    private JsonObject[] mergePatches;
+    private int patchIndex;
+
+    @Setup
+    public void setUp() {
+        thing = JsonParserBenchmark.createThingJson(PROPERTIES_PER_FEATURE);
+        pointers = new JsonPointer[PATCH_COUNT];
+        mergePatches = new JsonObject[PATCH_COUNT];
+        final Random random = new Random(42L);
+        for (int i = 0; i < PATCH_COUNT; i++) {
+            final JsonPointer propertyPointer = JsonPointer.of("features/feature-" + random.nextInt(10) +
+                    "/properties/property-" + random.nextInt(PROPERTIES_PER_FEATURE + 100));
+            pointers[i] = propertyPointer.append(JsonPointer.of("value"));
+            final JsonValue patchValue = random.nextInt(20) == 0
+                    ? JsonValue.nullLiteral() // removes the property
+                    : JsonObject.newBuilder().set("value", random.nextDouble()).set("valid", true).build();
+            mergePatches[i] = JsonObject.newBuilder().set(propertyPointer, patchValue).build();
+        }
+        patchIndex = 0;
+    }
+
+    private int nextPatchIndex() {
+        final int result = patchIndex;
+        patchIndex = (patchIndex + 1) % PATCH_COUNT;
+        return result;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonObject applyMergePatch() {
+        thing = JsonFactory.mergeJsonValues(mergePatches[nextPatchIndex()], thing).asObject();
+        return thing;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonObject setValueByPointer() {
+        final int index = nextPatchIndex();
+        thing = thing.setValue(pointers[index], index);
+        return thing;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonObject setValueByPointerCopyingEachLevel() {
+        final int index = nextPatchIndex();
+        thing = copyOnWrite(thing, pointers[index], JsonValue.of(index));
+        return thing;
+    }
+
+    private static JsonObject copyOnWrite(final JsonObject target, final JsonPointer pointer, final JsonValue value) {
+        final JsonKey rootKey = pointer.getRoot().orElseThrow();
+        final JsonValue newValue;
+        if (1 == pointer.getLevelCount()) {
+            newValue = value;
+        } else {
+            final JsonObject child = target.getValue(rootKey)
+                    .filter(JsonValue::isObject)
+                    .map(JsonValue::asObject)
+                    .orElseGet(JsonObject::empty);
+            newValue = copyOnWrite(child, pointer.nextLevel(), value);
+        }
+        return JsonObject.newBuilder().setAll(target).set(rootKey, newValue).build();
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eclipsesource.json.JsonParser;
+
+/**
+ * JMH Benchmark comparing the parsing of JSON via Minimal Json and {@link DefaultDittoJsonHandler} with the parsing
+ * via {@link StreamingJsonParser}, eagerly as well as lazily backed by {@link Utf8IndexedFields}.
+ * Build with {@code mvn clean package -Pbuild-benchmark-assembly} and run the resulting benchmark JAR.
+ */
+@State(Scope.Benchmark)
+public class JsonParserBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int WARMUP_TIME = 1000;
+    private static final int MEASUREMENT_TIME = 1000;
+
+    private static final JsonPointer LEAF_POINTER = JsonPointer.of("features/feature-0/properties/property-0/value");
+
+    @Param({"10", "1000"})
+    public int propertiesPerFeature;
+
+    private String jsonString;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        jsonString = createThingJson(propertiesPerFeature).toString();
+        jsonBytes = jsonString.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static JsonObject createThingJson(final int propertiesPerFeature) {
+        final JsonObjectBuilder featuresBuilder = JsonObject.newBuilder();
+        for (int i = 0; i < 10; i++) {
+            final JsonObjectBuilder propertiesBuilder = JsonObject.newBuilder();
+            for (int j = 0; j < propertiesPerFeature; j++) {
+                propertiesBuilder.set("property-" + j, JsonObject.newBuilder()
+                        .set("value", j * 1.5D)
+                        .set("unit", "°C")
+                        .set("timestamp", 1_600_000_000_000L + j)
+                        .set("valid", j % 2 == 0)
+                        .build());
+            }
+            featuresBuilder.set("feature-" + i, JsonObject.newBuilder()
+                    .set("definition", JsonArray.newBuilder().add("org.eclipse.ditto:sensor:1.0.0").build())
+                    .set("properties", propertiesBuilder.build())
+                    .build());
+        }
+        return JsonObject.newBuilder()
+                .set("thingId", "org.eclipse.ditto:benchmark")
+                .set("policyId", "org.eclipse.ditto:benchmark")
+                .set("attributes", JsonObject.newBuilder()
+                        .set("manufacturer", "Eclipse \"Ditto\"")
+                        .set("location", JsonObject.newBuilder().set("lat", 48.1D).set("lon", 11.5D).build())
+                        .build())
+                .set("features", featuresBuilder.build())
+                .build();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue minimalJsonFromString() {
+        final DefaultDittoJsonHandler jsonHandler = DefaultDittoJsonHandler.newInstance();
+        new JsonParser(jsonHandler).parse(jsonString);
+        return jsonHandler.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue minimalJsonFromUtf8Bytes() throws IOException {
+        final DefaultDittoJsonHandler jsonHandler = DefaultDittoJsonHandler.newInstance();
+        new JsonParser(jsonHandler).parse(
+                new InputStreamReader(new ByteArrayInputStream(jsonBytes), StandardCharsets.UTF_8));
+        return jsonHandler.getValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue streamingFromString() {
+        return StreamingJsonParser.of(jsonString, false).parseValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue streamingFromUtf8Bytes() {
+        return StreamingJsonParser.of(jsonBytes, 0, jsonBytes.length, false).parseValue();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue minimalJsonFromStringAndGetLeaf() {
+        return minimalJsonFromString().asObject().getValue(LEAF_POINTER).orElseThrow();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue streamingLazilyFromStringAndGetLeaf() {
+        return StreamingJsonParser.of(jsonString, true).parseValue().asObject().getValue(LEAF_POINTER).orElseThrow();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public JsonValue indexedFromUtf8BytesAndGetLeaf() {
+        return JsonValueParser.fromUtf8Bytes().apply(jsonBytes).asObject().getValue(LEAF_POINTER).orElseThrow();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public String indexedFromUtf8BytesModifyLeafAndSerialize() {
+        return JsonValueParser.fromUtf8Bytes().apply(jsonBytes).asObject().setValue(LEAF_POINTER, 0).toString();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public String streamingFromUtf8BytesModifyLeafAndSerialize() {
+        return streamingFromUtf8Bytes().asObject().setValue(LEAF_POINTER, 0).toString();
+    }
+
+}
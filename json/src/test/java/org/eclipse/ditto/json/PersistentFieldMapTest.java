@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link org.eclipse.ditto.json.PersistentFieldMap}.
+ */
+public final class PersistentFieldMapTest {
+
+    private static JsonField field(final String key, final int value) {
+        return JsonField.newInstance(key, JsonValue.of(value));
+    }
+
+    @Test
+    public void behavesLikeLinkedHashMapForRandomModifications() {
+        final Random random = new Random(42L);
+        final Map<String, JsonField> expected = new LinkedHashMap<>();
+        PersistentFieldMap underTest = PersistentFieldMap.of(expected);
+
+        for (int i = 0; i < 20_000; i++) {
+            final String key = "key-" + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                underTest = underTest.without(key);
+            } else {
+                final JsonField field = field(key, i);
+                expected.put(key, field);
+                underTest = underTest.with(key, field);
+            }
+        }
+
+        assertThat(underTest).isEqualTo(expected);
+        assertThat(underTest.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(underTest.keySet()).containsExactlyElementsOf(expected.keySet());
+        assertThat(underTest.values()).containsExactlyElementsOf(expected.values());
+    }
+
+    @Test
+    public void modificationsDoNotAffectOriginal() {
+        final PersistentFieldMap original = PersistentFieldMap.of(new LinkedHashMap<>())
+                .with("a", field("a", 1))
+                .with("b", field("b", 2));
+
+        final PersistentFieldMap modified = original.with("a", field("a", 3)).without("b").with("c", field("c", 4));
+
+        assertThat(original.values()).containsExactly(field("a", 1), field("b", 2));
+        assertThat(modified.values()).containsExactly(field("a", 3), field("c", 4));
+    }
+
+    @Test
+    public void keysWithCollidingHashesAreDistinguished() {
+        // "Aa" and "BB" have the same hash code
+        final PersistentFieldMap underTest = PersistentFieldMap.of(new LinkedHashMap<>())
+                .with("Aa", field("Aa", 1))
+                .with("BB", field("BB", 2));
+
+        assertThat(underTest.get("Aa")).isEqualTo(field("Aa", 1));
+        assertThat(underTest.get("BB")).isEqualTo(field("BB", 2));
+        assertThat(underTest.without("Aa").get("BB")).isEqualTo(field("BB", 2));
+        assertThat(underTest.without("Aa").containsKey("Aa")).isFalse();
+        assertThat(underTest.without("BB").without("Aa")).isEmpty();
+    }
+
+    @Test
+    public void jsonObjectModificationsShareUnchangedFields() {
+        final JsonObjectBuilder propertiesBuilder = JsonObject.newBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            propertiesBuilder.set("p" + i, JsonObject.newBuilder().set("value", i).build());
+        }
+        final JsonObject thing = JsonObject.newBuilder()
+                .set("features", JsonObject.newBuilder()
+                        .set("f", JsonObject.newBuilder().set("properties", propertiesBuilder.build()).build())
+                        .build())
+                .build();
+        final JsonPointer pointer = JsonPointer.of("features/f/properties/p500/value");
+
+        final JsonObject modified = thing.setValue(pointer, -1);
+
+        assertThat(modified.getValue(pointer)).contains(JsonValue.of(-1));
+        assertThat(modified.getValue("features/f/properties/p499"))
+                .containsSame(thing.getValue("features/f/properties/p499").orElseThrow());
+        assertThat(modified.setValue(pointer, -1)).isSameAs(modified);
+        assertThat(modified.setValue(pointer, 500)).isEqualTo(thing);
+        assertThat(JsonFactory.mergeJsonValues(JsonObject.newBuilder().set(pointer, -1).build(), thing))
+                .isEqualTo(modified);
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link org.eclipse.ditto.json.StreamingJsonParser}.
+ */
+public final class StreamingJsonParserTest {
+
+    private static JsonObject knownJsonObject;
+
+    @BeforeClass
+    public static void initTestConstants() {
+        knownJsonObject = JsonObject.newBuilder()
+                .set("foo", "bar")
+                .set("bar", JsonArray.newBuilder()
+                        .add("hubbl")
+                        .add(false)
+                        .add(JsonObject.newBuilder().set("nested", JsonValue.nullLiteral()).build())
+                        .build())
+                .set("baz", JsonObject.newBuilder()
+                        .set("int", Integer.MAX_VALUE)
+                        .set("negativeInt", Integer.MIN_VALUE)
+                        .set("long", Long.MAX_VALUE)
+                        .set("double", 23.42D)
+                        .set("boolean", true)
+                        .set("escaped", "\"quoted\"\\\n\u0001\u00e4\u20ac\ud83d\ude00")
+                        .set("object", JsonObject.newBuilder()
+                                .set("unu", "asdf")
+                                .set("du", JsonObject.empty())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    @Test
+    public void parseCharSequenceToKnownObject() {
+        final JsonValue actual = StreamingJsonParser.of(knownJsonObject.toString(), false).parseValue();
+
+        assertThat(actual).isEqualTo(knownJsonObject);
+        assertThat(actual.toString()).isEqualTo(knownJsonObject.toString());
+    }
+
+    @Test
+    public void parseUtf8BytesToKnownObject() {
+        final byte[] bytes = knownJsonObject.toString().getBytes(StandardCharsets.UTF_8);
+
+        final JsonValue actual = StreamingJsonParser.of(bytes, 0, bytes.length, false).parseValue();
+
+        assertThat(actual).isEqualTo(knownJsonObject);
+        assertThat(actual.toString()).isEqualTo(knownJsonObject.toString());
+    }
+
+    @Test
+    public void parseByteBufferSliceToKnownObject() {
+        final byte[] json = knownJsonObject.toString().getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer heapBuffer = ByteBuffer.allocate(json.length + 4);
+        heapBuffer.put(new byte[]{'x', 'x'}).put(json).put(new byte[]{'y', 'y'});
+        heapBuffer.position(2).limit(2 + json.length);
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(json.length).put(json);
+        directBuffer.flip();
+
+        assertThat(StreamingJsonParser.of(heapBuffer.slice(), false).parseValue()).isEqualTo(knownJsonObject);
+        assertThat(StreamingJsonParser.of(directBuffer, false).parseValue()).isEqualTo(knownJsonObject);
+        assertThat(directBuffer.position()).isZero();
+    }
+
+    @Test
+    public void parseLazilyToKnownObject() {
+        final JsonValue actual = StreamingJsonParser.of(knownJsonObject.toString(), true).parseValue();
+
+        assertThat(actual).isEqualTo(knownJsonObject);
+        assertThat(actual.asObject().getValue("baz/object/unu")).contains(JsonValue.of("asdf"));
+        assertThat(actual.toString()).isEqualTo(knownJsonObject.toString());
+    }
+
+    @Test
+    public void parseNonCanonicalJsonToCanonicalRepresentation() {
+        final String prettyJson = "{\n  \"foo\" : \"b\\u0061r\",\n  \"baz\" : { \"a\\/b\" : [ 1, 2.5 ] }\n}";
+
+        final JsonValue eager = StreamingJsonParser.of(prettyJson, false).parseValue();
+        final JsonValue lazy = StreamingJsonParser.of(prettyJson, true).parseValue();
+
+        final String expected = "{\"foo\":\"bar\",\"baz\":{\"a/b\":[1,2.5]}}";
+        assertThat(eager.toString()).isEqualTo(expected);
+        assertThat(lazy.toString()).isEqualTo(expected);
+        assertThat(lazy).isEqualTo(eager);
+    }
+
+    @Test
+    public void parseNonCanonicalNumbersAndDuplicateKeysToCanonicalRepresentation() {
+        final String json = "{\"a\":{\"x\":[1E2,1.50,-0,2.5]},\"b\":{\"y\":1,\"y\":2}}";
+
+        final JsonValue eager = StreamingJsonParser.of(json, false).parseValue();
+        final JsonValue lazy = StreamingJsonParser.of(json, true).parseValue();
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final JsonValue fromBytes = StreamingJsonParser.of(bytes, 0, bytes.length, true).parseValue();
+
+        final String expected = "{\"a\":{\"x\":[100.0,1.5,0,2.5]},\"b\":{\"y\":2}}";
+        assertThat(eager.toString()).isEqualTo(expected);
+        assertThat(lazy.toString()).isEqualTo(expected);
+        assertThat(fromBytes.toString()).isEqualTo(expected);
+        assertThat(StreamingJsonParser.of(bytes, 0, bytes.length, false).indexFields()).isNull();
+    }
+
+    @Test
+    public void nonAsciiDigitsInUnicodeEscapeAreRejected() {
+        final String json = "[\"\\u\u0661\u0662\u0663\u0664\"]";
+
+        assertThatExceptionOfType(StreamingJsonParser.JsonSyntaxException.class)
+                .isThrownBy(() -> StreamingJsonParser.of(json, false).parseValue());
+    }
+
+    @Test
+    public void parseNumbersToSmallestFittingType() {
+        final JsonValue actual =
+                StreamingJsonParser.of("[0,-1,2147483647,-2147483648,2147483648,9223372036854775807,1.5,-1000.0]", false)
+                        .parseValue();
+
+        assertThat(actual).isEqualTo(JsonArray.newBuilder()
+                .add(0)
+                .add(-1)
+                .add(Integer.MAX_VALUE)
+                .add(Integer.MIN_VALUE)
+                .add(Integer.MAX_VALUE + 1L)
+                .add(Long.MAX_VALUE)
+                .add(1.5D)
+                .add(-1000.0D)
+                .build());
+        assertThat(actual.asArray().get(2)).hasValueSatisfying(value -> assertThat(value.isInt()).isTrue());
+        assertThat(actual.asArray().get(4)).hasValueSatisfying(value -> assertThat(value.isInt()).isFalse());
+    }
+
+    @Test
+    public void parseFieldMapKeepsOrderAndLastDuplicate() {
+        final Map<String, JsonField> actual =
+                StreamingJsonParser.of("{\"b\":1,\"a\":{\"x\":true},\"b\":2}", true).parseFieldMap();
+
+        assertThat(actual.keySet()).containsExactly("b", "a");
+        assertThat(actual.get("b").getValue()).isEqualTo(JsonValue.of(2));
+        assertThat(actual.get("a").getValue()).isEqualTo(JsonObject.newBuilder().set("x", true).build());
+    }
+
+    @Test
+    public void tooLargeNumberIsDetectedEvenIfLazy() {
+        final String json = "{\"a\":{\"b\":92233720368547758070}}";
+
+        assertThatExceptionOfType(NumberFormatException.class)
+                .isThrownBy(() -> StreamingJsonParser.of(json, true).parseValue());
+    }
+
+    @Test
+    public void emptyKeyIsDetectedEvenIfLazy() {
+        final String json = "{\"a\":{\"\":1}}";
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> StreamingJsonParser.of(json, true).parseValue());
+    }
+
+    @Test
+    public void invalidJsonIsDetectedEvenIfLazy() {
+        for (final String invalidJson : new String[]{"{\"a\":{\"b\":tru}}", "{\"a\":{\"b\":1,}}", "{\"a\":{\"b\"1}}",
+                "{\"a\":{\"b\":\"\\x\"}}", "{\"a\":{\"b\":01}}", "{\"a\":{\"b\":1}", "{\"a\":1} x", "[1 2]", ""}) {
+
+            assertThatExceptionOfType(StreamingJsonParser.JsonSyntaxException.class)
+                    .as(invalidJson)
+                    .isThrownBy(() -> StreamingJsonParser.of(invalidJson, true).parseValue());
+        }
+    }
+
+    @Test
+    public void tooDeeplyNestedJsonIsRejected() {
+        final StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 1001; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < 1001; i++) {
+            json.append(']');
+        }
+
+        assertThatExceptionOfType(StreamingJsonParser.JsonSyntaxException.class)
+                .isThrownBy(() -> StreamingJsonParser.of(json, false).parseValue())
+                .withMessageStartingWith("Nesting too deep");
+    }
+
+}
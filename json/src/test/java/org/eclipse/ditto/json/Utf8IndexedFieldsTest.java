@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link org.eclipse.ditto.json.Utf8IndexedFields} and JSON objects backed by it.
+ */
+public final class Utf8IndexedFieldsTest {
+
+    private static final JsonObject KNOWN_JSON_OBJECT = JsonObject.newBuilder()
+            .set("thingId", "org.eclipse.ditto:th\u00efng")
+            .set("attributes", JsonObject.newBuilder()
+                    .set("location", JsonObject.newBuilder().set("lat", 48.1D).set("lon", 11.5D).build())
+                    .set("tags", JsonArray.of("a", "b"))
+                    .build())
+            .set("features", JsonObject.newBuilder()
+                    .set("f1", JsonObject.newBuilder()
+                            .set("properties", JsonObject.newBuilder()
+                                    .set("value", 42)
+                                    .set("escaped", "\"\u20ac\ud83d\ude00\"")
+                                    .set("empty", JsonObject.empty())
+                                    .build())
+                            .build())
+                    .build())
+            .build();
+
+    private static JsonObject readIndexed(final String canonicalJson) {
+        final JsonValue result = JsonFactory.readFrom(canonicalJson.getBytes(StandardCharsets.UTF_8));
+        assertThat(result).isInstanceOf(ImmutableJsonObject.class);
+        return result.asObject();
+    }
+
+    @Test
+    public void indexedObjectEqualsEagerlyParsedObject() {
+        final JsonObject underTest = readIndexed(KNOWN_JSON_OBJECT.toString());
+
+        assertThat(underTest).isEqualTo(KNOWN_JSON_OBJECT);
+        assertThat(KNOWN_JSON_OBJECT).isEqualTo(underTest);
+        assertThat(underTest.hashCode()).isEqualTo(KNOWN_JSON_OBJECT.hashCode());
+        assertThat(underTest.getKeys()).isEqualTo(KNOWN_JSON_OBJECT.getKeys());
+    }
+
+    @Test
+    public void getValueByPointerDecodesOnlyTouchedPath() {
+        final JsonObject underTest = readIndexed(KNOWN_JSON_OBJECT.toString());
+
+        assertThat(underTest.getValue("features/f1/properties/value")).contains(JsonValue.of(42));
+        assertThat(underTest.getValue("features/f1/properties/escaped")).contains(
+                JsonValue.of("\"\u20ac\ud83d\ude00\""));
+        assertThat(underTest.getValue("attributes/tags")).contains(JsonArray.of("a", "b"));
+        assertThat(underTest.getValue("features/f2")).isEmpty();
+        assertThat(underTest.contains("attributes/location/lat")).isTrue();
+        assertThat(underTest.getSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void stringRepresentationOfUnmodifiedSubtreesIsTakenFromBytes() {
+        final String json = "{\"a\":{\"n\":1.5,\"s\":\"\u00e4\"},\"b\":true}";
+        final JsonObject underTest = readIndexed(json);
+
+        assertThat(underTest.toString()).isEqualTo(json);
+        assertThat(underTest.setValue("b", false).toString())
+                .isEqualTo("{\"a\":{\"n\":1.5,\"s\":\"\u00e4\"},\"b\":false}");
+    }
+
+    @Test
+    public void modificationsAreEqualToModificationsOfEagerlyParsedObject() {
+        final JsonObject underTest = readIndexed(KNOWN_JSON_OBJECT.toString());
+        final JsonPointer pointer = JsonPointer.of("features/f1/properties/value");
+
+        assertThat(underTest.setValue(pointer, 23)).isEqualTo(KNOWN_JSON_OBJECT.setValue(pointer, 23));
+        assertThat(underTest.remove("attributes/location")).isEqualTo(KNOWN_JSON_OBJECT.remove("attributes/location"));
+        assertThat(underTest).isEqualTo(KNOWN_JSON_OBJECT);
+    }
+
+    @Test
+    public void duplicateKeysKeepFirstPositionAndLastValue() {
+        final JsonObject underTest = readIndexed("{\"b\":1,\"a\":{\"x\":true},\"b\":2}");
+
+        assertThat(underTest.getKeys()).containsExactly(JsonKey.of("b"), JsonKey.of("a"));
+        assertThat(underTest.getValue("b")).contains(JsonValue.of(2));
+        assertThat(underTest.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void indexedObjectsWithSameBytesAreEqual() {
+        final String json = KNOWN_JSON_OBJECT.toString();
+
+        assertThat(readIndexed(json)).isEqualTo(readIndexed(json));
+        assertThat(readIndexed(json).getValue("features")).isEqualTo(readIndexed(json).getValue("features"));
+    }
+
+    @Test
+    public void nonCanonicalObjectIsParsedEagerly() {
+        final JsonValue actual =
+                JsonFactory.readFrom("{ \"a\" : { \"b\" : 1 } }\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(actual.toString()).isEqualTo("{\"a\":{\"b\":1}}");
+        assertThat(actual).isEqualTo(JsonObject.newBuilder().set("a", JsonObject.newBuilder().set("b", 1).build())
+                .build());
+    }
+
+}
@@ -33,6 +33,13 @@ public final class PoliciesMessagingConstants {
      */
     public static final String POLICIES_STREAM_PROVIDER_ACTOR_PATH = ROOT_ACTOR_PATH + "/persistenceStreamingActor";
 
+    /**
+     * Path of the actor that retrieves many policies at once.
+     *
+     * @since 2.1.0
+     */
+    public static final String POLICIES_BULK_RETRIEVAL_ACTOR_PATH = ROOT_ACTOR_PATH + "/bulkRetrievalActor";
+
     /**
      * Name of the shard region for Policy entities.
      */
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.api.commands.sudo;
+
+import static org.eclipse.ditto.json.assertions.DittoJsonAssertions.assertThat;
+import static org.mutabilitydetector.unittesting.AllowedReason.assumingFields;
+import static org.mutabilitydetector.unittesting.AllowedReason.provided;
+import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
+import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
+
+import java.util.List;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.json.FieldType;
+import org.eclipse.ditto.base.model.signals.commands.Command;
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.policies.api.TestConstants;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Unit test for {@link SudoRetrievePolicies}.
+ */
+public final class SudoRetrievePoliciesTest {
+
+    private static final PolicyId OTHER_POLICY_ID = PolicyId.of("org.eclipse.ditto:other");
+
+    private static final JsonObject KNOWN_JSON = JsonFactory.newObjectBuilder()
+            .set(Command.JsonFields.TYPE, SudoRetrievePolicies.TYPE)
+            .set(SudoRetrievePolicies.JSON_POLICY_IDS, JsonArray.newBuilder()
+                    .add(TestConstants.Policy.POLICY_ID.toString(), OTHER_POLICY_ID.toString())
+                    .build())
+            .build();
+
+    private static final DittoHeaders EMPTY_DITTO_HEADERS = DittoHeaders.empty();
+
+    @Test
+    public void assertImmutability() {
+        assertInstancesOf(SudoRetrievePolicies.class, areImmutable(),
+                provided(PolicyId.class).isAlsoImmutable(),
+                assumingFields("policyIds").areSafelyCopiedUnmodifiableCollectionsWithImmutableElements());
+    }
+
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(SudoRetrievePolicies.class)
+                .withRedefinedSuperclass()
+                .verify();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void tryToCreateInstanceWithNullPolicyIds() {
+        SudoRetrievePolicies.of(null, EMPTY_DITTO_HEADERS);
+    }
+
+    @Test
+    public void toJsonReturnsExpected() {
+        final SudoRetrievePolicies underTest =
+                SudoRetrievePolicies.of(List.of(TestConstants.Policy.POLICY_ID, OTHER_POLICY_ID), EMPTY_DITTO_HEADERS);
+        final JsonObject actualJson = underTest.toJson(FieldType.REGULAR.or(FieldType.SPECIAL));
+
+        assertThat(actualJson).isEqualTo(KNOWN_JSON);
+    }
+
+    @Test
+    public void createInstanceFromValidJson() {
+        final SudoRetrievePolicies underTest =
+                SudoRetrievePolicies.fromJson(KNOWN_JSON.toString(), EMPTY_DITTO_HEADERS);
+
+        assertThat(underTest.getPolicyIds()).containsExactly(TestConstants.Policy.POLICY_ID, OTHER_POLICY_ID);
+    }
+
+}
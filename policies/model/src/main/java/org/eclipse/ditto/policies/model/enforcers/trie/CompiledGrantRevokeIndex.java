@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.model.enforcers.trie;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Compiled form of a {@link GrantRevokeIndex}: subjects and permissions are replaced by the integer IDs they were
+ * interned to, and the subjects related to a permission are stored as bitsets, one per weight.
+ * <p>
+ * Checking the permissions of an authorization context, which is resolved into a bitset of its subject IDs beforehand,
+ * takes a bitwise AND per permission and weight instead of hashing subject ID strings.
+ */
+@Immutable
+final class CompiledGrantRevokeIndex {
+
+    /**
+     * Weight of a permission which is related to none of the subjects in question.
+     */
+    static final int NO_WEIGHT = Integer.MIN_VALUE;
+
+    /**
+     * Index of a permission which was not interned.
+     */
+    static final int UNKNOWN_PERMISSION = -1;
+
+    private final WeightedSubjects[] granted;
+    private final WeightedSubjects[] revoked;
+
+    private CompiledGrantRevokeIndex(final WeightedSubjects[] granted, final WeightedSubjects[] revoked) {
+        this.granted = granted;
+        this.revoked = revoked;
+    }
+
+    /**
+     * Compiles a grant-revoke-index.
+     *
+     * @param grantRevokeIndex the grant-revoke-index to compile.
+     * @param subjectIds integer IDs of all subject IDs in the grant-revoke-index.
+     * @param permissionIds integer IDs of all permissions in the grant-revoke-index.
+     * @return the compiled grant-revoke-index.
+     */
+    static CompiledGrantRevokeIndex compile(final GrantRevokeIndex grantRevokeIndex,
+            final Map<String, Integer> subjectIds,
+            final Map<String, Integer> permissionIds) {
+
+        final int words = getBitsetWords(subjectIds.size());
+        return new CompiledGrantRevokeIndex(
+                compile(grantRevokeIndex.getGranted(), subjectIds, permissionIds, words),
+                compile(grantRevokeIndex.getRevoked(), subjectIds, permissionIds, words));
+    }
+
+    /**
+     * Returns the number of {@code long} words of a bitset of subject IDs.
+     *
+     * @param numberOfSubjects the number of interned subject IDs.
+     * @return the number of words.
+     */
+    static int getBitsetWords(final int numberOfSubjects) {
+        return Math.max(1, (numberOfSubjects + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Same as {@link GrantRevokeIndex#hasPermissions(java.util.Collection, java.util.Collection)} for compiled
+     * subjects and permissions.
+     *
+     * @param subjects bitset of the subject IDs to check.
+     * @param permissions IDs of the permissions to check; {@link #UNKNOWN_PERMISSION} for permissions not interned.
+     * @return the result of the check.
+     */
+    boolean hasPermissions(final long[] subjects, final int[] permissions) {
+        int grantWeight = NO_WEIGHT;
+        for (final int permission : permissions) {
+            final int weight = getMaxWeight(granted, permission, subjects);
+            if (weight == NO_WEIGHT) {
+                return false;
+            }
+            grantWeight = Math.max(grantWeight, weight);
+        }
+        if (grantWeight == NO_WEIGHT) {
+            return false;
+        }
+        int revokeWeight = NO_WEIGHT;
+        for (final int permission : permissions) {
+            revokeWeight = Math.max(revokeWeight, getMaxWeight(revoked, permission, subjects));
+        }
+        return revokeWeight < grantWeight;
+    }
+
+    /**
+     * Returns the bitset of subjects to whom all given permissions are granted, considering only permissions
+     * mentioned at this node.
+     *
+     * @param permissions IDs of the permissions to check.
+     * @param words number of words of the result bitset.
+     * @return the bitset of subjects.
+     */
+    long[] getGrantedSubjects(final int[] permissions, final int words) {
+        long[] result = null;
+        for (final int permission : permissions) {
+            final WeightedSubjects weightedSubjects = get(granted, permission);
+            if (null != weightedSubjects) {
+                if (null == result) {
+                    result = Arrays.copyOf(weightedSubjects.union, words);
+                } else {
+                    for (int i = 0; i < words; i++) {
+                        result[i] &= weightedSubjects.union[i];
+                    }
+                }
+            }
+        }
+        return null != result ? result : new long[words];
+    }
+
+    /**
+     * Returns the bitset of subjects from whom any of the given permissions is revoked.
+     *
+     * @param permissions IDs of the permissions to check.
+     * @param words number of words of the result bitset.
+     * @return the bitset of subjects.
+     */
+    long[] getRevokedSubjects(final int[] permissions, final int words) {
+        final long[] result = new long[words];
+        for (final int permission : permissions) {
+            final WeightedSubjects weightedSubjects = get(revoked, permission);
+            if (null != weightedSubjects) {
+                for (int i = 0; i < words; i++) {
+                    result[i] |= weightedSubjects.union[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    private static WeightedSubjects[] compile(final PermissionSubjectsMap permissionSubjectsMap,
+            final Map<String, Integer> subjectIds,
+            final Map<String, Integer> permissionIds,
+            final int words) {
+
+        final WeightedSubjects[] result = new WeightedSubjects[permissionIds.size()];
+        permissionSubjectsMap.forEach((permission, subjectWeights) ->
+                result[permissionIds.get(permission)] = WeightedSubjects.compile(subjectWeights, subjectIds, words));
+        return result;
+    }
+
+    private static int getMaxWeight(final WeightedSubjects[] weightedSubjectsByPermission, final int permission,
+            final long[] subjects) {
+
+        final WeightedSubjects weightedSubjects = get(weightedSubjectsByPermission, permission);
+        return null != weightedSubjects ? weightedSubjects.getMaxWeight(subjects) : NO_WEIGHT;
+    }
+
+    @Nullable
+    private static WeightedSubjects get(final WeightedSubjects[] weightedSubjectsByPermission, final int permission) {
+        return permission == UNKNOWN_PERMISSION ? null : weightedSubjectsByPermission[permission];
+    }
+
+    /**
+     * Subjects related to one permission, grouped by their weight.
+     */
+    @Immutable
+    private static final class WeightedSubjects {
+
+        private final int[] weights;
+        private final long[][] subjectsByWeight;
+        private final long[] union;
+
+        private WeightedSubjects(final int[] weights, final long[][] subjectsByWeight, final long[] union) {
+            this.weights = weights;
+            this.subjectsByWeight = subjectsByWeight;
+            this.union = union;
+        }
+
+        private static WeightedSubjects compile(final Map<String, Integer> subjectWeights,
+                final Map<String, Integer> subjectIds,
+                final int words) {
+
+            final TreeMap<Integer, long[]> bitsets = new TreeMap<>();
+            final long[] union = new long[words];
+            subjectWeights.forEach((subjectId, weight) -> {
+                final int id = subjectIds.get(subjectId);
+                bitsets.computeIfAbsent(weight, w -> new long[words])[id / Long.SIZE] |= 1L << id;
+                union[id / Long.SIZE] |= 1L << id;
+            });
+            final int[] weights = new int[bitsets.size()];
+            final long[][] subjectsByWeight = new long[bitsets.size()][];
+            int i = 0;
+            for (final Map.Entry<Integer, long[]> entry : bitsets.descendingMap().entrySet()) {
+                weights[i] = entry.getKey();
+                subjectsByWeight[i] = entry.getValue();
+                i++;
+            }
+            return new WeightedSubjects(weights, subjectsByWeight, union);
+        }
+
+        private int getMaxWeight(final long[] subjects) {
+            for (int i = 0; i < weights.length; i++) {
+                if (intersects(subjectsByWeight[i], subjects)) {
+                    return weights[i];
+                }
+            }
+            return NO_WEIGHT;
+        }
+
+        private static boolean intersects(final long[] bitset1, final long[] bitset2) {
+            for (int i = 0; i < bitset1.length; i++) {
+                if ((bitset1[i] & bitset2[i]) != 0L) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.model.enforcers.trie;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.base.model.auth.AuthorizationContext;
+import org.eclipse.ditto.base.model.auth.AuthorizationSubject;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.policies.model.Permissions;
+import org.eclipse.ditto.policies.model.Policy;
+import org.eclipse.ditto.policies.model.PolicyEntry;
+import org.eclipse.ditto.policies.model.ResourceKey;
+import org.eclipse.ditto.policies.model.enforcers.DefaultEffectedSubjects;
+import org.eclipse.ditto.policies.model.enforcers.EffectedSubjects;
+import org.eclipse.ditto.policies.model.enforcers.Enforcer;
+
+/**
+ * Policy enforcer with the semantics of {@link TrieBasedPolicyEnforcer} which compiles the policy tries into a compact
+ * form for fast permission checks.
+ * <p>
+ * All subject IDs and permissions of the policy are interned to consecutive integer IDs. Each trie node stores the
+ * subjects granted or revoked a permission as bitsets, and each authorization context is resolved into the bitset of
+ * its interned subject IDs once per call. Checking a permission at a trie node then takes a bitwise AND of bitsets per
+ * weight of the permission instead of hashing subject ID strings and intersecting sets.
+ * </p>
+ * <p>
+ * Since an enforcer is built per policy revision, the visible nodes and subtrees of JSON views are memoized per
+ * resolved authorization context and permissions, so that views for the same subjects of the same policy revision
+ * look up one bit per trie node instead of checking the permissions again. The memo holds at most
+ * {@value #MAX_MEMOIZED_VISIBILITIES} entries and is cleared when full.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class CompiledPolicyEnforcer implements Enforcer {
+
+    private static final int MAX_MEMOIZED_VISIBILITIES = 256;
+
+    private final Map<String, Integer> subjectIds;
+    private final AuthorizationSubject[] subjects;
+    private final Map<String, Integer> permissionIds;
+    private final int words;
+
+    /**
+     * Compiled trie obtained by propagating grant & revoke sets down from ancestors to descendants; each node also
+     * holds the grant & revoke sets of its subtree with revoke sets propagated up from descendants to ancestors.
+     */
+    private final CompiledPolicyTrie inheritedTrie;
+
+    /**
+     * Compiled trie obtained from {@code this.inheritedTrie} by propagating grant sets up from descendants to
+     * ancestors.
+     */
+    private final CompiledPolicyTrie bottomUpGrantTrie;
+
+    private final Map<VisibilityKey, BitSet> visibilityMemo;
+
+    private CompiledPolicyEnforcer(final Iterable<PolicyEntry> policy) {
+        final PolicyTrie inherited = PolicyTrie.fromPolicy(policy).getTransitiveClosure();
+        final PolicyTrie bottomUpGrant = inherited.getBottomUpGrantTrie();
+        final PolicyTrie bottomUpRevoke = inherited.getBottomUpRevokeTrie();
+
+        final Map<String, Integer> subjectIdMap = new HashMap<>();
+        final Map<String, Integer> permissionIdMap = new HashMap<>();
+        intern(inherited, subjectIdMap, permissionIdMap);
+        intern(bottomUpGrant, subjectIdMap, permissionIdMap);
+        intern(bottomUpRevoke, subjectIdMap, permissionIdMap);
+        subjectIds = Map.copyOf(subjectIdMap);
+        permissionIds = Map.copyOf(permissionIdMap);
+        subjects = new AuthorizationSubject[subjectIds.size()];
+        subjectIds.forEach((subjectId, id) -> subjects[id] = AuthorizationSubject.newInstance(subjectId));
+        words = CompiledGrantRevokeIndex.getBitsetWords(subjects.length);
+
+        final Map<GrantRevokeIndex, CompiledGrantRevokeIndex> compiledIndexes = new HashMap<>();
+        inheritedTrie = compile(inherited, bottomUpRevoke, compiledIndexes);
+        // only the node indexes of the bottom-up grant trie are used, its subtree indexes are irrelevant
+        bottomUpGrantTrie = compile(bottomUpGrant, bottomUpGrant, compiledIndexes);
+        visibilityMemo = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructs a compiled policy enforcer from a policy.
+     *
+     * @param policy the policy to interpret.
+     * @return the policy enforcer.
+     * @throws NullPointerException if {@code policy} is {@code null}.
+     */
+    public static CompiledPolicyEnforcer newInstance(final Policy policy) {
+        return new CompiledPolicyEnforcer(checkNotNull(policy, "policy to interpret"));
+    }
+
+    @Override
+    public boolean hasUnrestrictedPermissions(final ResourceKey resourceKey,
+            final AuthorizationContext authorizationContext, final Permissions permissions) {
+
+        final CompiledPolicyTrie exactNode = inheritedTrie.seekToExactNode(PolicyTrie.getJsonKeyIterator(resourceKey));
+        final CompiledGrantRevokeIndex grantRevokeIndex = null != exactNode
+                ? exactNode.getSubtreeGrantRevokeIndex()
+                : inheritedTrie.seekToLeastAncestor(PolicyTrie.getJsonKeyIterator(resourceKey)).getGrantRevokeIndex();
+        return grantRevokeIndex.hasPermissions(resolveSubjects(authorizationContext), resolvePermissions(permissions));
+    }
+
+    @Override
+    public boolean hasPartialPermissions(final ResourceKey resourceKey, final AuthorizationContext authorizationContext,
+            final Permissions permissions) {
+
+        return seekWithFallback(resourceKey, bottomUpGrantTrie, inheritedTrie).getGrantRevokeIndex()
+                .hasPermissions(resolveSubjects(authorizationContext), resolvePermissions(permissions));
+    }
+
+    @Override
+    public EffectedSubjects getSubjectsWithPermission(final ResourceKey resourceKey, final Permissions permissions) {
+        checkResourceKey(resourceKey);
+        final int[] permissionIdArray = resolvePermissions(permissions);
+        final CompiledGrantRevokeIndex grantRevokeIndex =
+                inheritedTrie.seekToLeastAncestor(PolicyTrie.getJsonKeyIterator(resourceKey)).getGrantRevokeIndex();
+        return DefaultEffectedSubjects.of(
+                toAuthorizationSubjects(grantRevokeIndex.getGrantedSubjects(permissionIdArray, words)),
+                toAuthorizationSubjects(grantRevokeIndex.getRevokedSubjects(permissionIdArray, words)));
+    }
+
+    @Override
+    public Set<AuthorizationSubject> getSubjectsWithPartialPermission(final ResourceKey resourceKey,
+            final Permissions permissions) {
+
+        checkResourceKey(resourceKey);
+        final int[] permissionIdArray = resolvePermissions(permissions);
+        final CompiledGrantRevokeIndex grantRevokeIndex =
+                seekWithFallback(resourceKey, bottomUpGrantTrie, inheritedTrie).getGrantRevokeIndex();
+        return toAuthorizationSubjects(grantRevokeIndex.getGrantedSubjects(permissionIdArray, words));
+    }
+
+    @Override
+    public JsonObject buildJsonView(final ResourceKey resourceKey,
+            final Iterable<JsonField> jsonFields,
+            final AuthorizationContext authorizationContext,
+            final Permissions permissions) {
+
+        checkResourceKey(resourceKey);
+        checkNotNull(jsonFields, "JSON fields");
+        final int[] permissionIdArray = resolvePermissions(permissions);
+
+        final JsonKey typeKey = JsonKey.of(resourceKey.getResourceType());
+
+        if (inheritedTrie.hasChild(typeKey)) {
+            final CompiledPolicyTrie start =
+                    inheritedTrie.seekToLeastAncestor(PolicyTrie.getJsonKeyIterator(resourceKey));
+            return start.buildJsonView(jsonFields,
+                    getVisibility(resolveSubjects(authorizationContext), permissionIdArray));
+        } else {
+            return JsonFactory.newObject();
+        }
+    }
+
+    private BitSet getVisibility(final long[] subjects, final int[] permissionIdArray) {
+        final VisibilityKey key = new VisibilityKey(subjects, permissionIdArray);
+        @Nullable final BitSet memoizedVisibility = visibilityMemo.get(key);
+        if (null != memoizedVisibility) {
+            return memoizedVisibility;
+        }
+        final BitSet visibility = inheritedTrie.computeVisibility(subjects, permissionIdArray);
+        if (visibilityMemo.size() >= MAX_MEMOIZED_VISIBILITIES) {
+            visibilityMemo.clear();
+        }
+        visibilityMemo.put(key, visibility);
+        return visibility;
+    }
+
+    private static void intern(final PolicyTrie policyTrie,
+            final Map<String, Integer> subjectIdMap,
+            final Map<String, Integer> permissionIdMap) {
+
+        final GrantRevokeIndex grantRevokeIndex = policyTrie.getGrantRevokeIndex();
+        intern(grantRevokeIndex.getGranted(), subjectIdMap, permissionIdMap);
+        intern(grantRevokeIndex.getRevoked(), subjectIdMap, permissionIdMap);
+        policyTrie.getChildren().values().forEach(child -> intern(child, subjectIdMap, permissionIdMap));
+    }
+
+    private static void intern(final PermissionSubjectsMap permissionSubjectsMap,
+            final Map<String, Integer> subjectIdMap,
+            final Map<String, Integer> permissionIdMap) {
+
+        permissionSubjectsMap.forEach((permission, subjectWeights) -> {
+            permissionIdMap.computeIfAbsent(permission, p -> permissionIdMap.size());
+            subjectWeights.keySet().forEach(subjectId -> subjectIdMap.computeIfAbsent(subjectId,
+                    s -> subjectIdMap.size()));
+        });
+    }
+
+    private CompiledPolicyTrie compile(final PolicyTrie policyTrie,
+            final PolicyTrie bottomUpRevokeTrie,
+            final Map<GrantRevokeIndex, CompiledGrantRevokeIndex> compiledIndexes) {
+
+        // equal grant-revoke-indexes are shared; most nodes of the inherited trie repeat their parent's index
+        return CompiledPolicyTrie.compile(policyTrie, bottomUpRevokeTrie,
+                grantRevokeIndex -> compiledIndexes.computeIfAbsent(grantRevokeIndex,
+                        index -> CompiledGrantRevokeIndex.compile(index, subjectIds, permissionIds)));
+    }
+
+    private long[] resolveSubjects(final AuthorizationContext authorizationContext) {
+        checkNotNull(authorizationContext, "authorization context");
+        final long[] bitset = new long[words];
+        for (final String subjectId : authorizationContext.getAuthorizationSubjectIds()) {
+            @Nullable final Integer id = subjectIds.get(subjectId);
+            if (null != id) {
+                bitset[id / Long.SIZE] |= 1L << id;
+            }
+        }
+        return bitset;
+    }
+
+    private int[] resolvePermissions(final Permissions permissions) {
+        checkNotNull(permissions, "permissions to check");
+        final int[] result = new int[permissions.size()];
+        int i = 0;
+        for (final String permission : permissions) {
+            result[i++] = permissionIds.getOrDefault(permission, CompiledGrantRevokeIndex.UNKNOWN_PERMISSION);
+        }
+        return result;
+    }
+
+    private Set<AuthorizationSubject> toAuthorizationSubjects(final long[] bitset) {
+        final Set<AuthorizationSubject> result = new HashSet<>();
+        for (int word = 0; word < bitset.length; word++) {
+            long bits = bitset[word];
+            while (bits != 0L) {
+                result.add(subjects[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    private static void checkResourceKey(final ResourceKey resourceKey) {
+        checkNotNull(resourceKey, "resource key");
+    }
+
+    /**
+     * Returns a node in the trie {@code firstTry} whose path from root matches the given resource key exactly if it
+     * exists, otherwise seek to the node in the trie {@code fallback} whose path from root matches the resource key the
+     * best.
+     *
+     * @param resourceKey pointer to a resource.
+     * @param firstTry the compiled trie to attempt an exact match.
+     * @param fallback the compiled trie to traverse if no exact match is found in {@code firstTry}.
+     * @return the result trie node.
+     */
+    private static CompiledPolicyTrie seekWithFallback(final ResourceKey resourceKey,
+            final CompiledPolicyTrie firstTry, final CompiledPolicyTrie fallback) {
+
+        final CompiledPolicyTrie exactNode = firstTry.seekToExactNode(PolicyTrie.getJsonKeyIterator(resourceKey));
+        return null != exactNode
+                ? exactNode
+                : fallback.seekToLeastAncestor(PolicyTrie.getJsonKeyIterator(resourceKey));
+    }
+
+    /**
+     * Key of the visibility memo: a resolved authorization context with resolved permissions.
+     */
+    private static final class VisibilityKey {
+
+        private final long[] subjects;
+        private final int[] permissions;
+        private final int hashCode;
+
+        private VisibilityKey(final long[] subjects, final int[] permissions) {
+            this.subjects = subjects;
+            this.permissions = permissions;
+            hashCode = 31 * Arrays.hashCode(subjects) + Arrays.hashCode(permissions);
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final VisibilityKey that = (VisibilityKey) o;
+            return Arrays.equals(subjects, that.subjects) && Arrays.equals(permissions, that.permissions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.model.enforcers.trie;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Immutable copy of an inherited {@link PolicyTrie} whose trie nodes hold {@link CompiledGrantRevokeIndex}es.
+ * <p>
+ * Each node holds two indexes: the index of the node itself and the index of its whole subtree, in which revokes of
+ * all descendants are pushed up as in {@link PolicyTrie#getBottomUpRevokeTrie()}. If the subtree index grants the
+ * required permissions, then every descendant grants them, so that a JSON view of the subtree is the subtree itself.
+ * </p>
+ * <p>
+ * Each node is numbered, so that which nodes and subtrees are visible for some subjects and permissions can be
+ * computed once into a bitset by {@link #computeVisibility(long[], int[])} and then reused for many JSON views.
+ * </p>
+ */
+@Immutable
+final class CompiledPolicyTrie {
+
+    private final CompiledGrantRevokeIndex grantRevokeIndex;
+    private final CompiledGrantRevokeIndex subtreeGrantRevokeIndex;
+    private final Map<JsonKey, CompiledPolicyTrie> children;
+    private final int number;
+
+    /**
+     * This node without children; applies to all JSON fields without a child node.
+     */
+    private final CompiledPolicyTrie withoutChildren;
+
+    private CompiledPolicyTrie(final CompiledGrantRevokeIndex grantRevokeIndex,
+            final CompiledGrantRevokeIndex subtreeGrantRevokeIndex,
+            final Map<JsonKey, CompiledPolicyTrie> children,
+            final AtomicInteger nodeCounter) {
+
+        this.grantRevokeIndex = grantRevokeIndex;
+        this.subtreeGrantRevokeIndex = subtreeGrantRevokeIndex;
+        this.children = children;
+        number = nodeCounter.getAndIncrement();
+        withoutChildren = children.isEmpty()
+                ? this
+                : new CompiledPolicyTrie(grantRevokeIndex, grantRevokeIndex, Collections.emptyMap(), nodeCounter);
+    }
+
+    /**
+     * Compiles an inherited policy trie together with its bottom-up revoke trie.
+     *
+     * @param inheritedTrie the inherited policy trie to compile.
+     * @param bottomUpRevokeTrie the bottom-up revoke trie of {@code inheritedTrie}, which has the same shape.
+     * @param compiler compiles the grant-revoke-index of each node.
+     * @return the compiled policy trie.
+     */
+    static CompiledPolicyTrie compile(final PolicyTrie inheritedTrie,
+            final PolicyTrie bottomUpRevokeTrie,
+            final Function<GrantRevokeIndex, CompiledGrantRevokeIndex> compiler) {
+
+        return compile(inheritedTrie, bottomUpRevokeTrie, compiler, new AtomicInteger());
+    }
+
+    private static CompiledPolicyTrie compile(final PolicyTrie inheritedTrie,
+            final PolicyTrie bottomUpRevokeTrie,
+            final Function<GrantRevokeIndex, CompiledGrantRevokeIndex> compiler,
+            final AtomicInteger nodeCounter) {
+
+        final Map<JsonKey, PolicyTrie> oldChildren = inheritedTrie.getChildren();
+        final Map<JsonKey, PolicyTrie> bottomUpRevokeChildren = bottomUpRevokeTrie.getChildren();
+        final Map<JsonKey, CompiledPolicyTrie> newChildren = new HashMap<>(oldChildren.size());
+        oldChildren.forEach((key, child) ->
+                newChildren.put(key, compile(child, bottomUpRevokeChildren.get(key), compiler, nodeCounter)));
+        return new CompiledPolicyTrie(compiler.apply(inheritedTrie.getGrantRevokeIndex()),
+                compiler.apply(bottomUpRevokeTrie.getGrantRevokeIndex()),
+                newChildren.isEmpty() ? Collections.emptyMap() : newChildren,
+                nodeCounter);
+    }
+
+    /**
+     * Returns the compiled grant-revoke-index at this node.
+     *
+     * @return the grant-revoke-index.
+     */
+    CompiledGrantRevokeIndex getGrantRevokeIndex() {
+        return grantRevokeIndex;
+    }
+
+    /**
+     * Returns the compiled grant-revoke-index of the subtree of this node, in which revokes of all descendants are
+     * pushed up to this node.
+     *
+     * @return the grant-revoke-index of the subtree.
+     */
+    CompiledGrantRevokeIndex getSubtreeGrantRevokeIndex() {
+        return subtreeGrantRevokeIndex;
+    }
+
+    /**
+     * Returns whether a child exists for the given key.
+     *
+     * @param childKey key of the child to check.
+     * @return {@code true} if a child with the given key exists, {@code false} otherwise.
+     */
+    boolean hasChild(final JsonKey childKey) {
+        return children.containsKey(childKey);
+    }
+
+    /**
+     * Seek to the trie node whose path from root matches {@code path} as much as possible.
+     *
+     * @param path the path to match.
+     * @return the best matched node.
+     */
+    CompiledPolicyTrie seekToLeastAncestor(final Iterator<JsonKey> path) {
+        CompiledPolicyTrie node = this;
+        while (path.hasNext()) {
+            final CompiledPolicyTrie child = node.children.get(path.next());
+            if (null == child) {
+                return node;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Seek to the trie node whose path from root matches {@code path} exactly.
+     *
+     * @param path the path to match.
+     * @return the exactly matched node or {@code null} if no node matches {@code path} exactly.
+     */
+    @Nullable
+    CompiledPolicyTrie seekToExactNode(final Iterator<JsonKey> path) {
+        CompiledPolicyTrie node = this;
+        while (null != node && path.hasNext()) {
+            node = node.children.get(path.next());
+        }
+        return node;
+    }
+
+    /**
+     * Computes which nodes of this trie and which of their subtrees grant the permissions to the subjects.
+     *
+     * @param subjects bitset of the subject IDs.
+     * @param permissions IDs of the required permissions.
+     * @return the visibility to build JSON views with.
+     */
+    BitSet computeVisibility(final long[] subjects, final int[] permissions) {
+        final BitSet visibility = new BitSet();
+        markVisibility(visibility, subjects, permissions);
+        return visibility;
+    }
+
+    private void markVisibility(final BitSet visibility, final long[] subjects, final int[] permissions) {
+        if (subtreeGrantRevokeIndex.hasPermissions(subjects, permissions)) {
+            visibility.set(2 * number);
+        }
+        if (grantRevokeIndex.hasPermissions(subjects, permissions)) {
+            visibility.set(2 * number + 1);
+        }
+        children.values().forEach(child -> child.markVisibility(visibility, subjects, permissions));
+        if (withoutChildren != this) {
+            withoutChildren.markVisibility(visibility, subjects, permissions);
+        }
+    }
+
+    /**
+     * Same as {@link PolicyTrie#buildJsonView(Iterable, java.util.Collection, org.eclipse.ditto.policies.model.Permissions)}
+     * for a visibility computed by the root of this trie. JSON objects and arrays whose whole subtree grants the
+     * permissions are returned as they are without being copied.
+     *
+     * @param jsonFields the JSON fields to build the view of.
+     * @param visibility the visibility computed by {@link #computeVisibility(long[], int[])} of the root of this trie.
+     * @return the view.
+     */
+    JsonObject buildJsonView(final Iterable<JsonField> jsonFields, final BitSet visibility) {
+        if (jsonFields instanceof JsonObject && ((JsonObject) jsonFields).isNull()) {
+            return (JsonObject) jsonFields;
+        }
+        if (jsonFields instanceof JsonObject && isSubtreeVisible(visibility)) {
+            return (JsonObject) jsonFields;
+        }
+
+        final JsonObjectBuilder outputObjectBuilder = JsonFactory.newObjectBuilder();
+        for (final JsonField field : jsonFields) {
+            final CompiledPolicyTrie relevantTrie = children.getOrDefault(field.getKey(), withoutChildren);
+            final JsonValue jsonView = relevantTrie.getViewForJsonValueOrNull(field.getValue(), visibility);
+            if (null != jsonView) {
+                outputObjectBuilder.set(field.getKey(), jsonView);
+            }
+        }
+
+        return outputObjectBuilder.build();
+    }
+
+    @Nullable
+    private JsonValue getViewForJsonValueOrNull(final JsonValue jsonValue, final BitSet visibility) {
+        final JsonValue result;
+        if (isSubtreeVisible(visibility)) {
+            result = jsonValue;
+        } else if (jsonValue.isObject()) {
+            final JsonObject candidate = buildJsonView(jsonValue.asObject(), visibility);
+            result = isVisible(candidate.isEmpty(), visibility) ? candidate : null;
+        } else if (jsonValue.isArray()) {
+            final JsonArray candidate = getViewForJsonArray(jsonValue.asArray(), visibility);
+            result = isVisible(candidate.isEmpty(), visibility) ? candidate : null;
+        } else if (isNodeVisible(visibility)) {
+            result = jsonValue;
+        } else {
+            result = null;
+        }
+
+        return result;
+    }
+
+    private JsonArray getViewForJsonArray(final JsonArray jsonArray, final BitSet visibility) {
+        final JsonArrayBuilder outputArrayBuilder = JsonFactory.newArrayBuilder();
+        for (final JsonValue value : jsonArray) {
+            final JsonValue jsonView = getViewForJsonValueOrNull(value, visibility);
+            if (null != jsonView) {
+                outputArrayBuilder.add(jsonView);
+            }
+        }
+        return outputArrayBuilder.build();
+    }
+
+    private boolean isSubtreeVisible(final BitSet visibility) {
+        return visibility.get(2 * number);
+    }
+
+    private boolean isNodeVisible(final BitSet visibility) {
+        return visibility.get(2 * number + 1);
+    }
+
+    private boolean isVisible(final boolean isEmptyContainer, final BitSet visibility) {
+        return !isEmptyContainer || isNodeVisible(visibility);
+    }
+
+}
@@ -103,6 +103,11 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+/**
+ * JMH Benchmark of the testbench scenarios for one {@link PolicyAlgorithm}. The subclasses
+ * {@link TreeBasedPolicyAlgorithmBenchmark}, {@link TrieBasedPolicyAlgorithmBenchmark} and
+ * {@link CompiledPolicyAlgorithmBenchmark} compare the available enforcers.
+ */
 @State(Scope.Benchmark)
 public abstract class AbstractPoliciesBenchmark {
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.model.enforcers.trie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.ditto.base.model.auth.AuthorizationContext;
+import org.eclipse.ditto.base.model.auth.AuthorizationSubject;
+import org.eclipse.ditto.base.model.auth.DittoAuthorizationContextType;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.policies.model.Permissions;
+import org.eclipse.ditto.policies.model.PoliciesModelFactory;
+import org.eclipse.ditto.policies.model.Policy;
+import org.eclipse.ditto.policies.model.PolicyBuilder;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.policies.model.ResourceKey;
+import org.eclipse.ditto.policies.model.SubjectType;
+import org.eclipse.ditto.policies.model.enforcers.Enforcer;
+import org.junit.Test;
+
+/**
+ * Tests {@link CompiledPolicyEnforcer} against {@link TrieBasedPolicyEnforcer}.
+ */
+public final class CompiledPolicyEnforcerTest {
+
+    private static final int SUBJECTS = 150;
+    private static final String[] PATHS = {"/", "/attributes", "/attributes/a", "/attributes/a/b", "/features",
+            "/features/f1", "/features/f1/properties/x", "/features/f2"};
+    private static final Permissions[] PERMISSIONS = {Permissions.newInstance("READ"),
+            Permissions.newInstance("WRITE"), Permissions.newInstance("READ", "WRITE"),
+            Permissions.newInstance("EXECUTE"), Permissions.none()};
+
+    private static final JsonObject THING = JsonFactory.readFrom("{\"thingId\":\"x:y\"," +
+            "\"attributes\":{\"a\":{\"b\":1,\"c\":[1,{\"d\":2}]},\"e\":true}," +
+            "\"features\":{\"f1\":{\"properties\":{\"x\":1,\"y\":{}}},\"f2\":{\"properties\":{}}}}")
+            .asObject();
+
+    @Test
+    public void buildJsonViewOfNullObject() {
+        final Policy policy = PoliciesModelFactory.newPolicyBuilder(PolicyId.of("namespace", "id"))
+                .forLabel("DEFAULT")
+                .setSubject("dummy:test", SubjectType.GENERATED)
+                .setGrantedPermissions("foo", JsonPointer.of("/foo"), Permissions.newInstance("READ", "WRITE"))
+                .build();
+
+        final JsonObject createdJsonView = CompiledPolicyEnforcer.newInstance(policy).buildJsonView(
+                ResourceKey.newInstance("foo", "bar"),
+                JsonFactory.nullObject(),
+                AuthorizationContext.newInstance(DittoAuthorizationContextType.UNSPECIFIED,
+                        AuthorizationSubject.newInstance("itsMe")),
+                Permissions.none());
+
+        assertThat(createdJsonView).isEqualTo(JsonFactory.nullObject());
+    }
+
+    @Test
+    public void fullyReadableSubtreesAreReturnedUnchanged() {
+        final Policy policy = PoliciesModelFactory.newPolicyBuilder(PolicyId.of("namespace", "id"))
+                .forLabel("DEFAULT")
+                .setSubject("test:reader", SubjectType.GENERATED)
+                .setGrantedPermissions("thing", JsonPointer.empty(), Permissions.newInstance("READ"))
+                .setRevokedPermissions("thing", JsonPointer.of("/features/f2"), Permissions.newInstance("READ"))
+                .build();
+        final AuthorizationContext authorizationContext =
+                AuthorizationContext.newInstance(DittoAuthorizationContextType.UNSPECIFIED,
+                        AuthorizationSubject.newInstance("test:reader"));
+        final CompiledPolicyEnforcer underTest = CompiledPolicyEnforcer.newInstance(policy);
+
+        final JsonObject jsonView = underTest.buildJsonView(ResourceKey.newInstance("thing", JsonPointer.empty()),
+                THING, authorizationContext, Permissions.newInstance("READ"));
+
+        assertThat(jsonView).isEqualTo(THING.remove("features/f2"));
+        assertThat(jsonView.getValue("attributes")).containsSame(THING.getValue("attributes").orElseThrow());
+        assertThat(jsonView.getValue("features/f1")).containsSame(THING.getValue("features/f1").orElseThrow());
+    }
+
+    @Test
+    public void memoizedViewsDependOnAuthorizationContextAndPermissions() {
+        final Policy policy = PoliciesModelFactory.newPolicyBuilder(PolicyId.of("namespace", "id"))
+                .forLabel("DEFAULT")
+                .setSubject("test:reader", SubjectType.GENERATED)
+                .setGrantedPermissions("thing", JsonPointer.empty(), Permissions.newInstance("READ"))
+                .forLabel("RESTRICTED")
+                .setSubject("test:restricted", SubjectType.GENERATED)
+                .setGrantedPermissions("thing", JsonPointer.of("/attributes"), Permissions.newInstance("READ"))
+                .build();
+        final AuthorizationContext reader = AuthorizationContext.newInstance(
+                DittoAuthorizationContextType.UNSPECIFIED, AuthorizationSubject.newInstance("test:reader"));
+        final AuthorizationContext restricted = AuthorizationContext.newInstance(
+                DittoAuthorizationContextType.UNSPECIFIED, AuthorizationSubject.newInstance("test:restricted"));
+        final ResourceKey root = ResourceKey.newInstance("thing", JsonPointer.empty());
+        final CompiledPolicyEnforcer underTest = CompiledPolicyEnforcer.newInstance(policy);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(underTest.buildJsonView(root, THING, reader, Permissions.newInstance("READ")))
+                    .isEqualTo(THING);
+            assertThat(underTest.buildJsonView(root, THING, restricted, Permissions.newInstance("READ")))
+                    .isEqualTo(JsonObject.newBuilder().set("attributes", THING.getValue("attributes").orElseThrow())
+                            .build());
+            assertThat(underTest.buildJsonView(root, THING, reader, Permissions.newInstance("WRITE")))
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    public void resultsEqualThoseOfTrieBasedPolicyEnforcerForRandomPolicies() {
+        final Random random = new Random(4711L);
+        for (int i = 0; i < 20; i++) {
+            final Policy policy = randomPolicy(random);
+            final Enforcer expected = TrieBasedPolicyEnforcer.newInstance(policy);
+            final Enforcer underTest = CompiledPolicyEnforcer.newInstance(policy);
+
+            for (int j = 0; j < 50; j++) {
+                final AuthorizationContext authorizationContext = randomAuthorizationContext(random);
+                for (final String path : PATHS) {
+                    final ResourceKey resourceKey = ResourceKey.newInstance("thing", path);
+                    for (final Permissions permissions : PERMISSIONS) {
+                        assertThat(underTest.hasUnrestrictedPermissions(resourceKey, authorizationContext,
+                                permissions))
+                                .isEqualTo(expected.hasUnrestrictedPermissions(resourceKey, authorizationContext,
+                                        permissions));
+                        assertThat(underTest.hasPartialPermissions(resourceKey, authorizationContext, permissions))
+                                .isEqualTo(expected.hasPartialPermissions(resourceKey, authorizationContext,
+                                        permissions));
+                        assertThat(underTest.buildJsonView(resourceKey, THING, authorizationContext, permissions))
+                                .isEqualTo(expected.buildJsonView(resourceKey, THING, authorizationContext,
+                                        permissions));
+                        if (j == 0) {
+                            assertThat(underTest.getSubjectsWithPermission(resourceKey, permissions))
+                                    .isEqualTo(expected.getSubjectsWithPermission(resourceKey, permissions));
+                            assertThat(underTest.getSubjectsWithPartialPermission(resourceKey, permissions))
+                                    .isEqualTo(expected.getSubjectsWithPartialPermission(resourceKey, permissions));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Policy randomPolicy(final Random random) {
+        final PolicyBuilder policyBuilder = PoliciesModelFactory.newPolicyBuilder(PolicyId.of("namespace", "id"));
+        for (int entry = 0; entry < 8; entry++) {
+            final PolicyBuilder.LabelScoped labelScoped = policyBuilder.forLabel("entry" + entry);
+            for (int subject = 0; subject < 1 + random.nextInt(40); subject++) {
+                labelScoped.setSubject("test:subject" + random.nextInt(SUBJECTS), SubjectType.GENERATED);
+            }
+            for (int resource = 0; resource < 1 + random.nextInt(3); resource++) {
+                final JsonPointer path = JsonPointer.of(PATHS[random.nextInt(PATHS.length)]);
+                final Permissions permissions = PERMISSIONS[random.nextInt(PERMISSIONS.length - 1)];
+                if (random.nextInt(4) == 0) {
+                    labelScoped.setRevokedPermissions("thing", path, permissions);
+                } else {
+                    labelScoped.setGrantedPermissions("thing", path, permissions);
+                }
+            }
+        }
+        return policyBuilder.build();
+    }
+
+    private static AuthorizationContext randomAuthorizationContext(final Random random) {
+        final List<AuthorizationSubject> subjects = new ArrayList<>();
+        for (int i = 0; i < 1 + random.nextInt(4); i++) {
+            subjects.add(AuthorizationSubject.newInstance("test:subject" + random.nextInt(SUBJECTS + 10)));
+        }
+        return AuthorizationContext.newInstance(DittoAuthorizationContextType.UNSPECIFIED, subjects);
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.service.persistence.actors;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.bson.Document;
+import org.eclipse.ditto.internal.utils.persistence.SnapshotAdapter;
+import org.eclipse.ditto.internal.utils.persistence.mongo.BsonUtil;
+import org.eclipse.ditto.internal.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.policies.model.Policy;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.policies.model.PolicyLifecycle;
+import org.eclipse.ditto.policies.model.signals.events.PolicyEvent;
+import org.eclipse.ditto.policies.service.persistence.actors.strategies.events.PolicyEventStrategies;
+
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotMetadata;
+import akka.persistence.journal.EventAdapter;
+import akka.persistence.journal.EventSeq;
+
+/**
+ * Recovers policies from the documents of snapshot store and journal without a persistence actor.
+ */
+@ThreadSafe
+final class PersistedPolicyRecovery {
+
+    private final SnapshotAdapter<Policy> snapshotAdapter;
+    private final EventAdapter eventAdapter;
+
+    private PersistedPolicyRecovery(final SnapshotAdapter<Policy> snapshotAdapter, final EventAdapter eventAdapter) {
+        this.snapshotAdapter = snapshotAdapter;
+        this.eventAdapter = eventAdapter;
+    }
+
+    /**
+     * Create a recovery of policies.
+     *
+     * @param snapshotAdapter the adapter to read policy snapshots.
+     * @param eventAdapter the adapter to read policy events.
+     * @return the recovery.
+     */
+    static PersistedPolicyRecovery of(final SnapshotAdapter<Policy> snapshotAdapter, final EventAdapter eventAdapter) {
+        return new PersistedPolicyRecovery(snapshotAdapter, eventAdapter);
+    }
+
+    /**
+     * Get the sequence number of a snapshot.
+     *
+     * @param snapshot the snapshot as returned by {@link MongoReadJournal#getNewestSnapshotsOf(java.util.Collection)},
+     * or null.
+     * @return the sequence number of the snapshot, or 0 if there is no snapshot.
+     */
+    static long getSnapshotSeqNo(@Nullable final Document snapshot) {
+        return null != snapshot ? snapshot.getLong(MongoReadJournal.S_SN) : 0L;
+    }
+
+    /**
+     * Recover a policy from its newest snapshot and the journal entries after it.
+     *
+     * @param policyId the ID of the policy.
+     * @param snapshot the newest snapshot of the policy as returned by
+     * {@link MongoReadJournal#getNewestSnapshotsOf(java.util.Collection)}, or null.
+     * @param journalEntries the journal entries with the events after the snapshot ordered by sequence number.
+     * @return the recovered policy.
+     */
+    RecoveredPolicy recover(final PolicyId policyId, @Nullable final Document snapshot,
+            final List<Document> journalEntries) {
+
+        long revision = getSnapshotSeqNo(snapshot);
+        Policy policy = null;
+        if (null != snapshot) {
+            final Document serializedSnapshot = snapshot.get(MongoReadJournal.S_SERIALIZED_SNAPSHOT, Document.class);
+            final SnapshotMetadata metadata =
+                    new SnapshotMetadata(PolicyPersistenceActor.PERSISTENCE_ID_PREFIX + policyId, revision, 0L);
+            policy = snapshotAdapter.fromSnapshotStore(
+                    SelectedSnapshot.create(metadata, BsonUtil.toBsonDocument(serializedSnapshot)));
+        }
+        for (final Document journalEntry : journalEntries) {
+            for (final Document event : journalEntry.getList(MongoReadJournal.J_EVENT, Document.class)) {
+                final long eventRevision = event.getLong(MongoReadJournal.J_EVENT_SN);
+                if (eventRevision > revision) {
+                    @Nullable final PolicyEvent<?> policyEvent =
+                            eventRevision == revision + 1 ? toEvent(event) : null;
+                    if (null == policyEvent) {
+                        // events were deleted after the snapshot was read or cannot be read
+                        return new RecoveredPolicy(policyId, null, false);
+                    }
+                    policy = PolicyEventStrategies.getInstance().handle(policyEvent, policy, eventRevision);
+                    revision = eventRevision;
+                }
+            }
+        }
+        return new RecoveredPolicy(policyId, policy, true);
+    }
+
+    @Nullable
+    private PolicyEvent<?> toEvent(final Document event) {
+        final Document payload = event.get(MongoReadJournal.J_EVENT_PAYLOAD, Document.class);
+        final EventSeq eventSeq = eventAdapter.fromJournal(BsonUtil.toBsonDocument(payload),
+                event.getString(MongoReadJournal.J_EVENT_MANIFEST));
+        if (eventSeq.events().isEmpty()) {
+            return null;
+        }
+        return (PolicyEvent<?>) eventSeq.events().head();
+    }
+
+    /**
+     * A policy recovered from persistence.
+     */
+    static final class RecoveredPolicy {
+
+        private final PolicyId policyId;
+        @Nullable private final Policy policy;
+        private final boolean consistent;
+
+        private RecoveredPolicy(final PolicyId policyId, @Nullable final Policy policy, final boolean consistent) {
+            this.policyId = policyId;
+            this.policy = policy;
+            this.consistent = consistent;
+        }
+
+        /**
+         * @return the ID of the policy.
+         */
+        PolicyId getPolicyId() {
+            return policyId;
+        }
+
+        /**
+         * @return whether the policy was recovered from its snapshot and all events after it.
+         */
+        boolean isConsistent() {
+            return consistent;
+        }
+
+        /**
+         * @return the recovered policy if it exists and is not deleted.
+         */
+        Optional<Policy> getPolicy() {
+            return Optional.ofNullable(policy).filter(p -> !p.hasLifecycle(PolicyLifecycle.DELETED));
+        }
+
+    }
+
+}
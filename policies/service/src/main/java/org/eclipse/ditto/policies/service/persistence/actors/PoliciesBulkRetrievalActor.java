@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.service.persistence.actors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.eclipse.ditto.base.model.json.Jsonifiable;
+import org.eclipse.ditto.internal.utils.akka.logging.DittoDiagnosticLoggingAdapter;
+import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.internal.utils.persistence.SnapshotAdapter;
+import org.eclipse.ditto.internal.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicies;
+import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicy;
+import org.eclipse.ditto.policies.api.commands.sudo.SudoRetrievePolicyResponse;
+import org.eclipse.ditto.policies.model.Policy;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.policies.service.persistence.serializer.DefaultPolicyMongoEventAdapter;
+
+import akka.NotUsed;
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Props;
+import akka.cluster.sharding.ShardRegion;
+import akka.japi.pf.ReceiveBuilder;
+import akka.pattern.Patterns;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.StreamRefs;
+
+/**
+ * Retrieves many policies at once without starting their persistence actors.
+ * <p>
+ * Policies whose persistence actors are alive on this node are retrieved from them. All other policies are recovered
+ * from their newest snapshot and the events after it, which are read for a batch of policies with one query to the
+ * snapshot store and one query to the journal. If the events after a snapshot are incomplete because snapshot store
+ * and journal changed between the queries, the policy is retrieved from its persistence actor instead.
+ * </p>
+ * <p>
+ * Answers {@link SudoRetrievePolicies} with a {@link akka.stream.SourceRef} of one {@link SudoRetrievePolicyResponse}
+ * for each existing policy.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public final class PoliciesBulkRetrievalActor extends AbstractActor {
+
+    /**
+     * The name of this actor.
+     */
+    public static final String ACTOR_NAME = "bulkRetrievalActor";
+
+    private static final int BATCH_SIZE = 100;
+    private static final int PARALLELISM = 8;
+    private static final Duration ASK_TIMEOUT = Duration.ofSeconds(10L);
+
+    private static final String COUNTER_RETRIEVED_POLICIES = "policies_bulk_retrieval_policies";
+    private static final String SOURCE_TAG = "source";
+
+    private final DittoDiagnosticLoggingAdapter log = DittoLoggerFactory.getDiagnosticLoggingAdapter(this);
+    private final ActorRef policiesShardRegion;
+    private final MongoReadJournal mongoReadJournal;
+    private final PersistedPolicyRecovery persistedPolicyRecovery;
+    private final Materializer materializer;
+    private final Counter retrievedFromActorCounter;
+    private final Counter retrievedFromPersistenceCounter;
+
+    @SuppressWarnings("unused")
+    private PoliciesBulkRetrievalActor(final ActorRef policiesShardRegion,
+            final MongoReadJournal mongoReadJournal,
+            final SnapshotAdapter<Policy> snapshotAdapter) {
+
+        this.policiesShardRegion = policiesShardRegion;
+        this.mongoReadJournal = mongoReadJournal;
+        persistedPolicyRecovery = PersistedPolicyRecovery.of(snapshotAdapter,
+                new DefaultPolicyMongoEventAdapter((ExtendedActorSystem) getContext().getSystem()));
+        materializer = Materializer.createMaterializer(this::getContext);
+        retrievedFromActorCounter = DittoMetrics.counter(COUNTER_RETRIEVED_POLICIES).tag(SOURCE_TAG, "actor");
+        retrievedFromPersistenceCounter =
+                DittoMetrics.counter(COUNTER_RETRIEVED_POLICIES).tag(SOURCE_TAG, "persistence");
+    }
+
+    /**
+     * Create Props of this actor.
+     *
+     * @param policiesShardRegion the shard region of policies on this node.
+     * @param mongoReadJournal the read journal of policies.
+     * @param snapshotAdapter the adapter to read policy snapshots.
+     * @return the Props object.
+     */
+    public static Props props(final ActorRef policiesShardRegion,
+            final MongoReadJournal mongoReadJournal,
+            final SnapshotAdapter<Policy> snapshotAdapter) {
+
+        return Props.create(PoliciesBulkRetrievalActor.class, policiesShardRegion, mongoReadJournal, snapshotAdapter);
+    }
+
+    @Override
+    public Receive createReceive() {
+        return ReceiveBuilder.create()
+                .match(SudoRetrievePolicies.class, this::retrievePolicies)
+                .matchAny(message -> {
+                    log.warning("Got unknown message: {}", message);
+                    unhandled(message);
+                })
+                .build();
+    }
+
+    private void retrievePolicies(final SudoRetrievePolicies command) {
+        log.withCorrelationId(command).debug("Retrieving <{}> policies in bulk.", command.getPolicyIds().size());
+        final CompletionStage<Object> sourceRef = getLiveEntityIds()
+                .thenApply(liveEntityIds -> {
+                    final Map<Boolean, List<PolicyId>> policyIdsByLiveness = command.getPolicyIds()
+                            .stream()
+                            .distinct()
+                            .collect(Collectors.partitioningBy(
+                                    policyId -> liveEntityIds.contains(policyId.toString())));
+                    return retrieveFromActors(policyIdsByLiveness.get(true), command)
+                            .concat(retrieveFromPersistence(policyIdsByLiveness.get(false), command))
+                            .runWith(StreamRefs.sourceRef(), materializer);
+                });
+        Patterns.pipe(sourceRef, getContext().dispatcher()).to(getSender());
+    }
+
+    private CompletionStage<Set<String>> getLiveEntityIds() {
+        return Patterns.ask(policiesShardRegion, ShardRegion.getShardRegionStateInstance(), ASK_TIMEOUT)
+                .handle((result, error) -> {
+                    if (result instanceof ShardRegion.CurrentShardRegionState) {
+                        return ((ShardRegion.CurrentShardRegionState) result).getShards()
+                                .stream()
+                                .flatMap(shardState -> shardState.getEntityIds().stream())
+                                .collect(Collectors.toSet());
+                    } else {
+                        log.warning("Could not determine live policies, reading all policies from persistence: {}",
+                                null != error ? error : result);
+                        return Set.of();
+                    }
+                });
+    }
+
+    private Source<Jsonifiable<?>, NotUsed> retrieveFromActors(final Collection<PolicyId> policyIds,
+            final SudoRetrievePolicies command) {
+
+        return Source.from(policyIds)
+                .mapAsync(PARALLELISM, policyId -> askPersistenceActor(policyId, command))
+                .mapConcat(responses -> responses);
+    }
+
+    private CompletionStage<List<Jsonifiable<?>>> askPersistenceActor(final PolicyId policyId,
+            final SudoRetrievePolicies command) {
+
+        final SudoRetrievePolicy sudoRetrievePolicy = SudoRetrievePolicy.of(policyId, command.getDittoHeaders());
+        return Patterns.ask(policiesShardRegion, sudoRetrievePolicy, ASK_TIMEOUT)
+                .handle((response, error) -> {
+                    if (response instanceof SudoRetrievePolicyResponse) {
+                        retrievedFromActorCounter.increment();
+                        return List.of((SudoRetrievePolicyResponse) response);
+                    } else {
+                        return List.of();
+                    }
+                });
+    }
+
+    private Source<Jsonifiable<?>, NotUsed> retrieveFromPersistence(final List<PolicyId> policyIds,
+            final SudoRetrievePolicies command) {
+
+        return Source.from(policyIds)
+                .grouped(BATCH_SIZE)
+                .flatMapConcat(this::recoverPolicies)
+                .mapAsync(PARALLELISM, recoveredPolicy -> {
+                    if (recoveredPolicy.isConsistent()) {
+                        retrievedFromPersistenceCounter.increment();
+                        return CompletableFuture.completedFuture(toResponses(recoveredPolicy, command));
+                    } else {
+                        return askPersistenceActor(recoveredPolicy.getPolicyId(), command);
+                    }
+                })
+                .mapConcat(responses -> responses);
+    }
+
+    private static List<Jsonifiable<?>> toResponses(final PersistedPolicyRecovery.RecoveredPolicy recoveredPolicy,
+            final SudoRetrievePolicies command) {
+
+        return recoveredPolicy.getPolicy()
+                .map(policy -> List.<Jsonifiable<?>>of(SudoRetrievePolicyResponse.of(recoveredPolicy.getPolicyId(),
+                        policy, command.getDittoHeaders())))
+                .orElseGet(List::of);
+    }
+
+    private Source<PersistedPolicyRecovery.RecoveredPolicy, NotUsed> recoverPolicies(final List<PolicyId> policyIds) {
+        final List<String> pids = policyIds.stream()
+                .map(policyId -> PolicyPersistenceActor.PERSISTENCE_ID_PREFIX + policyId)
+                .collect(Collectors.toList());
+        return mongoReadJournal.getNewestSnapshotsOf(pids)
+                .fold(new HashMap<String, Document>(), (snapshots, snapshot) -> {
+                    snapshots.put(snapshot.getString(MongoReadJournal.S_ID), snapshot);
+                    return snapshots;
+                })
+                .flatMapConcat(snapshots -> {
+                    final Map<String, Long> snapshotSeqNos = new HashMap<>();
+                    pids.forEach(pid -> snapshotSeqNos.put(pid,
+                            PersistedPolicyRecovery.getSnapshotSeqNo(snapshots.get(pid))));
+                    return mongoReadJournal.getJournalEntriesAbove(snapshotSeqNos)
+                            .fold(new HashMap<String, List<Document>>(), (journalEntries, journalEntry) -> {
+                                journalEntries.computeIfAbsent(journalEntry.getString(MongoReadJournal.J_EVENT_PID),
+                                        pid -> new ArrayList<>()).add(journalEntry);
+                                return journalEntries;
+                            })
+                            .mapConcat(journalEntries -> policyIds.stream()
+                                    .map(policyId -> {
+                                        final String pid = PolicyPersistenceActor.PERSISTENCE_ID_PREFIX + policyId;
+                                        return persistedPolicyRecovery.recover(policyId, snapshots.get(pid),
+                                                journalEntries.getOrDefault(pid, List.of()));
+                                    })
+                                    .collect(Collectors.toList()));
+                });
+    }
+
+}
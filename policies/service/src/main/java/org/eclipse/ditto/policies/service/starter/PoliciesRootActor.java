@@ -34,6 +34,7 @@ import org.eclipse.ditto.policies.api.PoliciesMessagingConstants;
 import org.eclipse.ditto.policies.model.Policy;
 import org.eclipse.ditto.policies.model.signals.announcements.PolicyAnnouncement;
 import org.eclipse.ditto.policies.service.common.config.PoliciesConfig;
+import org.eclipse.ditto.policies.service.persistence.actors.PoliciesBulkRetrievalActor;
 import org.eclipse.ditto.policies.service.persistence.actors.PoliciesPersistenceStreamingActorCreator;
 import org.eclipse.ditto.policies.service.persistence.actors.PolicyPersistenceOperationsActor;
 import org.eclipse.ditto.policies.service.persistence.actors.PolicySupervisorActor;
@@ -98,6 +99,10 @@ public final class PoliciesRootActor extends DittoRootActor {
         retrieveStatisticsDetailsResponseSupplier = RetrieveStatisticsDetailsResponseSupplier.of(policiesShardRegion,
                 PoliciesMessagingConstants.SHARD_REGION, log);
 
+        final ActorRef bulkRetrievalActor = startChildActor(PoliciesBulkRetrievalActor.ACTOR_NAME,
+                PoliciesBulkRetrievalActor.props(policiesShardRegion, mongoReadJournal, snapshotAdapter));
+        pubSubMediator.tell(DistPubSubAccess.put(bulkRetrievalActor), getSelf());
+
         final var cleanupConfig = policiesConfig.getPolicyConfig().getCleanupConfig();
         final var cleanupActorProps = PersistenceCleanupActor.props(cleanupConfig, mongoReadJournal, CLUSTER_ROLE);
         startChildActor(PersistenceCleanupActor.NAME, cleanupActorProps);
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.policies.service.persistence.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.json.FieldType;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.internal.utils.persistence.mongo.DittoBsonJson;
+import org.eclipse.ditto.internal.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.policies.model.Label;
+import org.eclipse.ditto.policies.model.Policy;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.policies.model.SubjectIssuer;
+import org.eclipse.ditto.policies.model.signals.events.PolicyCreated;
+import org.eclipse.ditto.policies.model.signals.events.PolicyDeleted;
+import org.eclipse.ditto.policies.model.signals.events.PolicyEvent;
+import org.eclipse.ditto.policies.model.signals.events.PolicyModified;
+import org.eclipse.ditto.policies.service.persistence.serializer.DefaultPolicyMongoEventAdapter;
+import org.eclipse.ditto.policies.service.persistence.serializer.PolicyMongoSnapshotAdapter;
+import org.junit.Test;
+
+import akka.persistence.journal.Tagged;
+
+/**
+ * Unit test for {@link PersistedPolicyRecovery}.
+ */
+public final class PersistedPolicyRecoveryTest {
+
+    private static final PolicyId POLICY_ID = PolicyId.of("org.eclipse.ditto", "recovered");
+    private static final String PID = PolicyPersistenceActor.PERSISTENCE_ID_PREFIX + POLICY_ID;
+
+    private final DefaultPolicyMongoEventAdapter eventAdapter = new DefaultPolicyMongoEventAdapter(null);
+    private final PersistedPolicyRecovery underTest =
+            PersistedPolicyRecovery.of(new PolicyMongoSnapshotAdapter(), eventAdapter);
+
+    @Test
+    public void policyIsRecoveredFromSnapshotAndEventsAfterIt() {
+        final Document snapshot = snapshot(policyWithSubject("hall").toBuilder().setRevision(2L).build());
+        final List<Document> journalEntries = List.of(
+                journalEntry(policyCreated(1L), policyModified("hall", 2L)),
+                journalEntry(policyModified("garden", 3L), policyModified("roof", 4L)));
+
+        final PersistedPolicyRecovery.RecoveredPolicy result = underTest.recover(POLICY_ID, snapshot, journalEntries);
+
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getPolicy()).hasValueSatisfying(policy -> {
+            assertThat(policy.getEntryFor("roof")).isPresent();
+            assertThat(policy.getRevision().map(revision -> revision.toLong())).contains(4L);
+        });
+    }
+
+    @Test
+    public void policyWithoutSnapshotIsRecoveredFromEvents() {
+        final PersistedPolicyRecovery.RecoveredPolicy result = underTest.recover(POLICY_ID, null,
+                List.of(journalEntry(policyCreated(1L), policyModified("hall", 2L))));
+
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getPolicy().flatMap(policy -> policy.getEntryFor("hall"))).isPresent();
+        assertThat(PersistedPolicyRecovery.getSnapshotSeqNo(null)).isZero();
+    }
+
+    @Test
+    public void missingEventsAfterSnapshotAreInconsistent() {
+        final Document snapshot = snapshot(policyWithSubject("hall").toBuilder().setRevision(2L).build());
+
+        final PersistedPolicyRecovery.RecoveredPolicy result = underTest.recover(POLICY_ID, snapshot,
+                List.of(journalEntry(policyModified("roof", 4L))));
+
+        assertThat(result.isConsistent()).isFalse();
+        assertThat((CharSequence) result.getPolicyId()).isEqualTo(POLICY_ID);
+        assertThat(result.getPolicy()).isEmpty();
+    }
+
+    @Test
+    public void deletedPolicyIsNotReturned() {
+        final PersistedPolicyRecovery.RecoveredPolicy result = underTest.recover(POLICY_ID, null,
+                List.of(journalEntry(policyCreated(1L), PolicyDeleted.of(POLICY_ID, 2L, null, DittoHeaders.empty(),
+                        null))));
+
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getPolicy()).isEmpty();
+    }
+
+    private static Policy policyWithSubject(final String label) {
+        return Policy.newBuilder(POLICY_ID)
+                .forLabel(Label.of(label))
+                .setSubject(SubjectIssuer.GOOGLE, "subject")
+                .setGrantedPermissions("thing", "/", "READ")
+                .build();
+    }
+
+    private static Document snapshot(final Policy policy) {
+        final BsonDocument serializedSnapshot =
+                DittoBsonJson.getInstance().parse(policy.toJson(JsonSchemaVersion.V_2, FieldType.regularOrSpecial()));
+        return new Document()
+                .append(MongoReadJournal.S_ID, PID)
+                .append(MongoReadJournal.S_SN, policy.getRevision().orElseThrow().toLong())
+                .append(MongoReadJournal.S_SERIALIZED_SNAPSHOT, Document.parse(serializedSnapshot.toJson()));
+    }
+
+    private Document journalEntry(final PolicyEvent<?>... events) {
+        final List<Document> serializedEvents = Arrays.stream(events)
+                .map(event -> new Document()
+                        .append(MongoReadJournal.J_EVENT_PID, PID)
+                        .append(MongoReadJournal.J_EVENT_SN, event.getRevision())
+                        .append(MongoReadJournal.J_EVENT_MANIFEST, eventAdapter.manifest(event))
+                        .append(MongoReadJournal.J_EVENT_PAYLOAD, Document.parse(toBson(event).toJson())))
+                .collect(Collectors.toList());
+        return new Document()
+                .append(MongoReadJournal.J_EVENT_PID, PID)
+                .append(MongoReadJournal.J_EVENT, serializedEvents);
+    }
+
+    private BsonDocument toBson(final PolicyEvent<?> event) {
+        final Object journalEntry = eventAdapter.toJournal(event);
+        return (BsonDocument) (journalEntry instanceof Tagged ? ((Tagged) journalEntry).payload() : journalEntry);
+    }
+
+    private static PolicyCreated policyCreated(final long revision) {
+        return PolicyCreated.of(policyWithSubject("initial"), revision, null, DittoHeaders.empty(), null);
+    }
+
+    private static PolicyModified policyModified(final String label, final long revision) {
+        return PolicyModified.of(policyWithSubject(label), revision, null, DittoHeaders.empty(), null);
+    }
+
+}
@@ -0,0 +1,771 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.rql.query.things;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.rql.query.criteria.Criteria;
+import org.eclipse.ditto.rql.query.criteria.visitors.CriteriaVisitor;
+import org.eclipse.ditto.rql.query.criteria.visitors.PredicateVisitor;
+import org.eclipse.ditto.rql.query.expression.ExistsFieldExpression;
+import org.eclipse.ditto.rql.query.expression.FilterFieldExpression;
+import org.eclipse.ditto.rql.query.expression.visitors.FieldExpressionVisitor;
+import org.eclipse.ditto.things.model.Thing;
+
+/**
+ * A {@link Criteria} compiled once into an evaluator working directly on the JSON representation of a thing.
+ * <p>
+ * Compared to {@link ThingPredicateVisitor}, the thing is not converted to JSON once per field of the criteria,
+ * the JSON pointers of all fields are resolved at compile time, {@code like} patterns are compiled once and
+ * constant sub-criteria are folded. Fields which are declared unknown at compile time, e.g. because they are only
+ * available after signal enrichment, evaluate to "unknown" in a three-valued logic so that
+ * {@link #couldBeTrue(JsonObject)} tells whether the criteria may still be satisfied once they are known.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class CompiledThingPredicate implements Predicate<JsonObject> {
+
+    private static final CompiledThingPredicate ALWAYS_TRUE = new CompiledThingPredicate(Constant.TRUE);
+
+    private final Node root;
+
+    private CompiledThingPredicate(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compile a criteria.
+     *
+     * @param criteria the criteria.
+     * @return the compiled criteria.
+     */
+    public static CompiledThingPredicate compile(final Criteria criteria) {
+        return compile(criteria, Collections.emptySet());
+    }
+
+    /**
+     * Compile a criteria whose evaluation is deferred for some fields.
+     *
+     * @param criteria the criteria.
+     * @param unknownFields fields of the thing whose values are unknown at evaluation time. A field of the criteria
+     * is unknown if it is a prefix of an unknown field or vice versa.
+     * @return the compiled criteria.
+     */
+    public static CompiledThingPredicate compile(final Criteria criteria, final Set<JsonPointer> unknownFields) {
+        return new CompiledThingPredicate(criteria.accept(new Compiler(unknownFields)));
+    }
+
+    /**
+     * @return a compiled criteria which matches every thing.
+     */
+    public static CompiledThingPredicate alwaysTrue() {
+        return ALWAYS_TRUE;
+    }
+
+    /**
+     * Evaluate the criteria against the JSON representation of a thing including its special fields.
+     * Criteria depending on unknown fields evaluate to {@code false}.
+     *
+     * @param thingJson the thing JSON.
+     * @return whether the thing matches the criteria.
+     */
+    @Override
+    public boolean test(final JsonObject thingJson) {
+        return root.evaluate(thingJson) == Trilean.TRUE;
+    }
+
+    /**
+     * Evaluate the criteria against a thing.
+     *
+     * @param thing the thing.
+     * @return whether the thing matches the criteria.
+     */
+    public boolean test(final Thing thing) {
+        return root instanceof Constant ? root == Constant.TRUE : test(thing.toJson(p -> true));
+    }
+
+    /**
+     * Evaluate the criteria against a partial thing.
+     *
+     * @param partialThingJson the JSON representation of the partial thing including its special fields.
+     * @return whether the criteria may evaluate to true after the unknown fields become known.
+     */
+    public boolean couldBeTrue(final JsonObject partialThingJson) {
+        return root.evaluate(partialThingJson) != Trilean.FALSE;
+    }
+
+    /**
+     * @return whether the criteria is satisfied by every thing.
+     */
+    public boolean isAlwaysTrue() {
+        return root == Constant.TRUE;
+    }
+
+    /**
+     * Returns the equalities which every matching thing satisfies, i.e. the {@code eq} criteria with a non-null
+     * operand which are the whole criteria or one of its top-level conjuncts. They may be used to index compiled
+     * criteria by field values.
+     *
+     * @return the operands of the required equalities by the fields they apply to.
+     */
+    public Map<JsonPointer, Object> getRequiredEqualities() {
+        final Map<JsonPointer, Object> result = new LinkedHashMap<>();
+        if (root instanceof And) {
+            for (final Node operand : ((And) root).operands) {
+                addRequiredEquality(operand, result);
+            }
+        } else {
+            addRequiredEquality(root, result);
+        }
+        return result;
+    }
+
+    private static void addRequiredEquality(final Node node, final Map<JsonPointer, Object> equalities) {
+        if (node instanceof Field && ((Field) node).valueTest instanceof EqualityTest) {
+            final EqualityTest equalityTest = (EqualityTest) ((Field) node).valueTest;
+            if (!equalityTest.negated && null != equalityTest.operand) {
+                equalities.putIfAbsent(((Field) node).pointer, equalityTest.operand);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "root=" + root +
+                "]";
+    }
+
+    private enum Trilean {
+        FALSE,
+        TRUE,
+        UNKNOWN;
+
+        private static Trilean lift(final boolean bool) {
+            return bool ? TRUE : FALSE;
+        }
+
+        private Trilean not() {
+            return this == UNKNOWN ? UNKNOWN : lift(this == FALSE);
+        }
+
+    }
+
+    private interface Node {
+
+        Trilean evaluate(JsonObject thingJson);
+
+        /**
+         * @return relative evaluation cost used to evaluate cheap operands of junctions first.
+         */
+        int cost();
+
+    }
+
+    private static final class Constant implements Node {
+
+        private static final Constant TRUE = new Constant(Trilean.TRUE);
+        private static final Constant FALSE = new Constant(Trilean.FALSE);
+        private static final Constant UNKNOWN = new Constant(Trilean.UNKNOWN);
+
+        private final Trilean value;
+
+        private Constant(final Trilean value) {
+            this.value = value;
+        }
+
+        private static Constant of(final Trilean value) {
+            switch (value) {
+                case TRUE:
+                    return TRUE;
+                case FALSE:
+                    return FALSE;
+                default:
+                    return UNKNOWN;
+            }
+        }
+
+        @Override
+        public Trilean evaluate(final JsonObject thingJson) {
+            return value;
+        }
+
+        @Override
+        public int cost() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return value.name();
+        }
+
+    }
+
+    private static final class Exists implements Node {
+
+        private final JsonPointer pointer;
+
+        private Exists(final JsonPointer pointer) {
+            this.pointer = pointer;
+        }
+
+        @Override
+        public Trilean evaluate(final JsonObject thingJson) {
+            return Trilean.lift(thingJson.getValue(pointer).isPresent());
+        }
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "exists(" + pointer + ")";
+        }
+
+    }
+
+    private static final class Field implements Node {
+
+        private final JsonPointer pointer;
+        private final ValueTest valueTest;
+
+        private Field(final JsonPointer pointer, final ValueTest valueTest) {
+            this.pointer = pointer;
+            this.valueTest = valueTest;
+        }
+
+        @Override
+        public Trilean evaluate(final JsonObject thingJson) {
+            final Optional<JsonValue> value = thingJson.getValue(pointer);
+            return Trilean.lift(value.isPresent() ? valueTest.testPresent(value.get()) : valueTest.testAbsent());
+        }
+
+        @Override
+        public int cost() {
+            return 1 + valueTest.cost();
+        }
+
+        @Override
+        public String toString() {
+            return valueTest + "(" + pointer + ")";
+        }
+
+    }
+
+    private abstract static class Junction implements Node {
+
+        final Node[] operands;
+        private final String name;
+
+        private Junction(final List<Node> operands, final String name) {
+            this.name = name;
+            this.operands = operands.stream()
+                    .sorted(Comparator.comparingInt(Node::cost))
+                    .toArray(Node[]::new);
+        }
+
+        @Override
+        public int cost() {
+            int cost = 0;
+            for (final Node operand : operands) {
+                cost += operand.cost();
+            }
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder(name).append('(');
+            for (int i = 0; i < operands.length; i++) {
+                builder.append(i == 0 ? "" : ",").append(operands[i]);
+            }
+            return builder.append(')').toString();
+        }
+
+    }
+
+    private static final class And extends Junction {
+
+        private And(final List<Node> operands) {
+            super(operands, "and");
+        }
+
+        @Override
+        public Trilean evaluate(final JsonObject thingJson) {
+            Trilean result = Trilean.TRUE;
+            for (final Node operand : operands) {
+                final Trilean value = operand.evaluate(thingJson);
+                if (value == Trilean.FALSE) {
+                    return Trilean.FALSE;
+                } else if (value == Trilean.UNKNOWN) {
+                    result = Trilean.UNKNOWN;
+                }
+            }
+            return result;
+        }
+
+    }
+
+    private static final class Or extends Junction {
+
+        private Or(final List<Node> operands) {
+            super(operands, "or");
+        }
+
+        @Override
+        public Trilean evaluate(final JsonObject thingJson) {
+            Trilean result = Trilean.FALSE;
+            for (final Node operand : operands) {
+                final Trilean value = operand.evaluate(thingJson);
+                if (value == Trilean.TRUE) {
+                    return Trilean.TRUE;
+                } else if (value == Trilean.UNKNOWN) {
+                    result = Trilean.UNKNOWN;
+                }
+            }
+            return result;
+        }
+
+    }
+
+    private static final class Not implements Node {
+
+        private final Node operand;
+
+        private Not(final Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Trilean evaluate(final JsonObject thingJson) {
+            return operand.evaluate(thingJson).not();
+        }
+
+        @Override
+        public int cost() {
+            return operand.cost();
+        }
+
+        @Override
+        public String toString() {
+            return "not(" + operand + ")";
+        }
+
+    }
+
+    /**
+     * Compiles criteria into nodes and folds constants.
+     */
+    private static final class Compiler implements CriteriaVisitor<Node> {
+
+        private final Set<JsonPointer> unknownFields;
+
+        private Compiler(final Set<JsonPointer> unknownFields) {
+            this.unknownFields = unknownFields;
+        }
+
+        @Override
+        public Node visitAnd(final List<Node> conjuncts) {
+            return junction(conjuncts, Trilean.TRUE, Trilean.FALSE);
+        }
+
+        @Override
+        public Node visitAny() {
+            return Constant.TRUE;
+        }
+
+        @Override
+        public Node visitExists(final ExistsFieldExpression fieldExpression) {
+            final JsonPointer pointer = fieldExpression.accept(GetJsonPointer.INSTANCE);
+            return isUnknown(pointer) ? Constant.UNKNOWN : new Exists(pointer);
+        }
+
+        @Override
+        public Node visitField(final FilterFieldExpression fieldExpression,
+                final org.eclipse.ditto.rql.query.criteria.Predicate predicate) {
+
+            final JsonPointer pointer = fieldExpression.accept(GetJsonPointer.INSTANCE);
+            if (isUnknown(pointer)) {
+                return Constant.UNKNOWN;
+            }
+            final ValueTest valueTest = predicate.accept(ValueTestCompiler.INSTANCE);
+            if (valueTest == ValueTest.NEVER) {
+                return Constant.FALSE;
+            }
+            return new Field(pointer, valueTest);
+        }
+
+        @Override
+        public Node visitNor(final List<Node> negativeDisjoints) {
+            final Node disjunction = visitOr(negativeDisjoints);
+            if (disjunction instanceof Constant) {
+                return Constant.of(((Constant) disjunction).value.not());
+            }
+            return new Not(disjunction);
+        }
+
+        @Override
+        public Node visitOr(final List<Node> disjoints) {
+            return junction(disjoints, Trilean.FALSE, Trilean.TRUE);
+        }
+
+        private static Node junction(final List<Node> operands, final Trilean neutral, final Trilean dominant) {
+            final List<Node> remaining = new ArrayList<>(operands.size());
+            boolean hasUnknown = false;
+            for (final Node operand : operands) {
+                if (operand instanceof Constant) {
+                    final Trilean value = ((Constant) operand).value;
+                    if (value == dominant) {
+                        return operand;
+                    }
+                    hasUnknown |= value == Trilean.UNKNOWN;
+                } else {
+                    remaining.add(operand);
+                }
+            }
+            if (hasUnknown) {
+                remaining.add(0, Constant.UNKNOWN);
+            }
+            if (remaining.isEmpty()) {
+                return Constant.of(neutral);
+            } else if (remaining.size() == 1) {
+                return remaining.get(0);
+            } else if (neutral == Trilean.TRUE) {
+                return new And(remaining);
+            } else {
+                return new Or(remaining);
+            }
+        }
+
+        private boolean isUnknown(final JsonPointer pointer) {
+            for (final JsonPointer unknownField : unknownFields) {
+                if (isPrefix(unknownField, pointer) || isPrefix(pointer, unknownField)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isPrefix(final JsonPointer prefix, final JsonPointer pointer) {
+            final int prefixLevels = prefix.getLevelCount();
+            if (prefixLevels > pointer.getLevelCount()) {
+                return false;
+            }
+            for (int i = 0; i < prefixLevels; i++) {
+                if (!prefix.get(i).equals(pointer.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Test of a field value compiled from a predicate with a constant operand.
+     */
+    private abstract static class ValueTest {
+
+        /**
+         * Test which never matches, regardless of the field value.
+         */
+        private static final ValueTest NEVER = new ValueTest() {
+            @Override
+            boolean testPresent(final JsonValue value) {
+                return false;
+            }
+
+            @Override
+            public String toString() {
+                return "never";
+            }
+        };
+
+        abstract boolean testPresent(JsonValue value);
+
+        boolean testAbsent() {
+            return false;
+        }
+
+        int cost() {
+            return 1;
+        }
+
+    }
+
+    private static final class EqualityTest extends ValueTest {
+
+        @Nullable private final Object operand;
+        @Nullable private final Comparable<?> comparableOperand;
+        private final boolean negated;
+
+        private EqualityTest(@Nullable final Object operand, final boolean negated) {
+            this.operand = operand;
+            comparableOperand = operand instanceof Comparable
+                    ? ThingPredicatePredicateVisitor.asNumber((Comparable<?>) operand)
+                    : null;
+            this.negated = negated;
+        }
+
+        @Override
+        boolean testPresent(final JsonValue value) {
+            return negated != isEqual(value);
+        }
+
+        @Override
+        boolean testAbsent() {
+            return negated;
+        }
+
+        @SuppressWarnings({"rawtypes", "java:S3740"})
+        private boolean isEqual(final JsonValue value) {
+            final Optional<Object> javaValue = ThingPredicatePredicateVisitor.mapJsonValueToJava(value);
+            if (javaValue.isEmpty()) {
+                return false;
+            }
+            final Object obj = javaValue.get();
+            if (ThingPredicatePredicateVisitor.NULL_LITERAL == obj && null == operand) {
+                return true;
+            } else if (obj instanceof Comparable && null != comparableOperand) {
+                return ThingPredicatePredicateVisitor.compareWithNumber(comparableOperand, (Comparable) obj) == 0;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return (negated ? "ne:" : "eq:") + operand;
+        }
+
+    }
+
+    private static final class OrderTest extends ValueTest {
+
+        private final Comparable<?> comparableOperand;
+        private final IntPredicate expectedSign;
+        private final String name;
+
+        private OrderTest(final Comparable<?> operand, final IntPredicate expectedSign, final String name) {
+            comparableOperand = ThingPredicatePredicateVisitor.asNumber(operand);
+            this.expectedSign = expectedSign;
+            this.name = name + ":" + operand;
+        }
+
+        @Override
+        @SuppressWarnings({"rawtypes", "java:S3740"})
+        boolean testPresent(final JsonValue value) {
+            final Optional<Object> javaValue = ThingPredicatePredicateVisitor.mapJsonValueToJava(value);
+            return javaValue.isPresent() && javaValue.get() instanceof Comparable &&
+                    expectedSign.test(ThingPredicatePredicateVisitor.compareWithNumber(comparableOperand,
+                            (Comparable) javaValue.get()));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    private static final class InTest extends ValueTest {
+
+        private final List<Comparable<?>> comparableOperands;
+
+        private InTest(final List<?> operands) {
+            comparableOperands = new ArrayList<>(operands.size());
+            for (final Object operand : operands) {
+                comparableOperands.add(ThingPredicatePredicateVisitor.asNumber((Comparable<?>) operand));
+            }
+        }
+
+        @Override
+        @SuppressWarnings({"rawtypes", "java:S3740"})
+        boolean testPresent(final JsonValue value) {
+            final Optional<Object> javaValue = ThingPredicatePredicateVisitor.mapJsonValueToJava(value);
+            if (javaValue.isEmpty() || !(javaValue.get() instanceof Comparable)) {
+                return false;
+            }
+            final Comparable obj = (Comparable) javaValue.get();
+            for (final Comparable<?> comparableOperand : comparableOperands) {
+                if (ThingPredicatePredicateVisitor.compareWithNumber(comparableOperand, obj) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cost() {
+            return comparableOperands.size();
+        }
+
+        @Override
+        public String toString() {
+            return "in:" + comparableOperands;
+        }
+
+    }
+
+    private static final class LikeTest extends ValueTest {
+
+        private final Pattern pattern;
+
+        private LikeTest(final String regex) {
+            pattern = Pattern.compile(regex);
+        }
+
+        @Override
+        boolean testPresent(final JsonValue value) {
+            return value.isString() && pattern.matcher(value.asString()).matches();
+        }
+
+        @Override
+        int cost() {
+            return 4;
+        }
+
+        @Override
+        public String toString() {
+            return "like:" + pattern;
+        }
+
+    }
+
+    /**
+     * Compiles predicates with their constant operands into value tests.
+     */
+    private static final class ValueTestCompiler implements PredicateVisitor<ValueTest> {
+
+        private static final ValueTestCompiler INSTANCE = new ValueTestCompiler();
+
+        @Override
+        public ValueTest visitEq(@Nullable final Object value) {
+            return new EqualityTest(value, false);
+        }
+
+        @Override
+        public ValueTest visitGe(@Nullable final Object value) {
+            return orderTest(value, sign -> sign >= 0, "ge");
+        }
+
+        @Override
+        public ValueTest visitGt(@Nullable final Object value) {
+            return orderTest(value, sign -> sign > 0, "gt");
+        }
+
+        @Override
+        public ValueTest visitIn(final List<?> values) {
+            final List<?> comparableValues = new ArrayList<>(values);
+            comparableValues.removeIf(value -> !(value instanceof Comparable));
+            return comparableValues.isEmpty() ? ValueTest.NEVER : new InTest(comparableValues);
+        }
+
+        @Override
+        public ValueTest visitLe(@Nullable final Object value) {
+            return orderTest(value, sign -> sign <= 0, "le");
+        }
+
+        @Override
+        public ValueTest visitLike(@Nullable final String value) {
+            return null == value ? ValueTest.NEVER : new LikeTest(value);
+        }
+
+        @Override
+        public ValueTest visitLt(@Nullable final Object value) {
+            return orderTest(value, sign -> sign < 0, "lt");
+        }
+
+        @Override
+        public ValueTest visitNe(@Nullable final Object value) {
+            return new EqualityTest(value, true);
+        }
+
+        private static ValueTest orderTest(@Nullable final Object value, final IntPredicate expectedSign,
+                final String name) {
+
+            return value instanceof Comparable
+                    ? new OrderTest((Comparable<?>) value, expectedSign, name)
+                    : ValueTest.NEVER;
+        }
+
+    }
+
+    /**
+     * Resolves field expressions to JSON pointers into the thing JSON.
+     */
+    private static final class GetJsonPointer implements FieldExpressionVisitor<JsonPointer> {
+
+        private static final GetJsonPointer INSTANCE = new GetJsonPointer();
+
+        @Override
+        public JsonPointer visitAttribute(final String key) {
+            return Thing.JsonFields.ATTRIBUTES.getPointer().append(JsonPointer.of(key));
+        }
+
+        @Override
+        public JsonPointer visitFeature(final String featureId) {
+            return Thing.JsonFields.FEATURES.getPointer().addLeaf(JsonKey.of(featureId));
+        }
+
+        @Override
+        public JsonPointer visitFeatureProperties(final CharSequence featureId) {
+            return visitFeature(featureId.toString()).addLeaf(JsonKey.of("properties"));
+        }
+
+        @Override
+        public JsonPointer visitFeatureDesiredProperties(final CharSequence featureId) {
+            return visitFeature(featureId.toString()).addLeaf(JsonKey.of("desiredProperties"));
+        }
+
+        @Override
+        public JsonPointer visitFeatureIdProperty(final String featureId, final String property) {
+            return visitFeatureProperties(featureId).append(JsonPointer.of(property));
+        }
+
+        @Override
+        public JsonPointer visitFeatureIdDesiredProperty(final CharSequence featureId,
+                final CharSequence desiredProperty) {
+
+            return visitFeatureDesiredProperties(featureId).append(JsonPointer.of(desiredProperty));
+        }
+
+        @Override
+        public JsonPointer visitSimple(final String fieldName) {
+            return JsonPointer.of(fieldName);
+        }
+
+    }
+
+}
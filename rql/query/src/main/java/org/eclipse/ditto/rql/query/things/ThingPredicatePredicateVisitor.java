@@ -30,7 +30,7 @@ import org.eclipse.ditto.things.model.Thing;
  */
 public final class ThingPredicatePredicateVisitor implements PredicateVisitor<Function<String, Predicate<Thing>>> {
 
-    private static final Object NULL_LITERAL = new Object();
+    static final Object NULL_LITERAL = new Object();
 
     private static ThingPredicatePredicateVisitor instance;
 
@@ -142,9 +142,16 @@ public final class ThingPredicatePredicateVisitor implements PredicateVisitor<Fu
     }
 
     @SuppressWarnings({"rawtypes", "java:S3740"})
-    private static int compare(final Comparable value, final Comparable obj) {
+    static int compare(final Comparable value, final Comparable obj) {
+        return compareWithNumber(asNumber(value), obj);
+    }
+
+    /**
+     * Compares a value already converted by {@link #asNumber(Comparable)} with an object.
+     */
+    @SuppressWarnings({"rawtypes", "java:S3740"})
+    static int compareWithNumber(final Comparable comparableValue, final Comparable obj) {
         final Comparable comparableObj = asNumber(obj);
-        final Comparable comparableValue = asNumber(value);
         // best effort try to convert both values to a BigDecimal in order to compare them:
         if (comparableValue instanceof String && comparableObj instanceof BigDecimal) {
             try {
@@ -172,7 +179,7 @@ public final class ThingPredicatePredicateVisitor implements PredicateVisitor<Fu
     }
 
     @SuppressWarnings({"rawtypes", "java:S3740"})
-    private static Comparable asNumber(final Comparable<?> comparable) {
+    static Comparable asNumber(final Comparable<?> comparable) {
         return comparable instanceof Number ? new BigDecimal(comparable.toString()) : comparable;
     }
 
@@ -201,7 +208,7 @@ public final class ThingPredicatePredicateVisitor implements PredicateVisitor<Fu
         return thing.toJson(p -> true).getValue(fieldName);
     }
 
-    private static Optional<Object> mapJsonValueToJava(final JsonValue jsonValue) {
+    static Optional<Object> mapJsonValueToJava(final JsonValue jsonValue) {
         final Optional<Object> result;
 
         if (jsonValue.isString()) {
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.rql.query.things;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.rql.parser.RqlPredicateParser;
+import org.eclipse.ditto.rql.query.criteria.Criteria;
+import org.eclipse.ditto.rql.query.filter.QueryFilterCriteriaFactory;
+import org.eclipse.ditto.things.model.FeatureProperties;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CompiledThingPredicate}.
+ */
+public final class CompiledThingPredicateTest {
+
+    private static final QueryFilterCriteriaFactory queryFilterCriteriaFactory =
+            QueryFilterCriteriaFactory.modelBased(RqlPredicateParser.getInstance());
+
+    private static final Thing THING = Thing.newBuilder()
+            .setId(ThingId.of("org.eclipse.ditto", "compiled"))
+            .setAttribute(JsonPointer.of("anInteger"), JsonValue.of(42))
+            .setAttribute(JsonPointer.of("aLong"), JsonValue.of(42456489489489L))
+            .setAttribute(JsonPointer.of("aDouble"), JsonValue.of(22.26))
+            .setAttribute(JsonPointer.of("aBoolean"), JsonValue.of(true))
+            .setAttribute(JsonPointer.of("aString"), JsonValue.of("ccc_string"))
+            .setAttribute(JsonPointer.of("aNumericString"), JsonValue.of("42"))
+            .setAttribute(JsonPointer.of("aNull"), JsonValue.nullLiteral())
+            .setAttribute(JsonPointer.of("anObject"), JsonObject.newBuilder().set("nested", 1).build())
+            .setFeature("foo", FeatureProperties.newBuilder()
+                    .set(JsonPointer.of("anInteger"), JsonValue.of(42))
+                    .set(JsonPointer.of("aString"), JsonValue.of("ccc_string"))
+                    .build())
+            .setRevision(5L)
+            .build();
+
+    private static final Thing OTHER_THING = Thing.newBuilder()
+            .setId(ThingId.of("org.eclipse.ditto", "other"))
+            .setAttribute(JsonPointer.of("anInteger"), JsonValue.of(21))
+            .setAttribute(JsonPointer.of("aString"), JsonValue.of("aaa_string"))
+            .build();
+
+    private static final List<String> FILTERS = List.of(
+            "eq(attributes/anInteger,42)",
+            "eq(attributes/anInteger,42.0)",
+            "eq(attributes/aLong,42456489489489)",
+            "eq(attributes/aDouble,22.26)",
+            "eq(attributes/aBoolean,true)",
+            "eq(attributes/aString,\"ccc_string\")",
+            "eq(attributes/aNumericString,42)",
+            "eq(attributes/aNull,null)",
+            "eq(attributes/anObject,1)",
+            "eq(attributes/missing,42)",
+            "ne(attributes/anInteger,42)",
+            "ne(attributes/missing,42)",
+            "ne(attributes/aNull,null)",
+            "gt(attributes/anInteger,41)",
+            "ge(attributes/anInteger,42)",
+            "lt(attributes/aDouble,23)",
+            "le(attributes/aString,\"ccc_string\")",
+            "gt(attributes/aString,\"bbb\")",
+            "in(attributes/anInteger,1,2,42)",
+            "in(attributes/aString,\"x\",\"aaa_string\")",
+            "like(attributes/aString,\"ccc*\")",
+            "like(attributes/aString,\"*_str?ng\")",
+            "like(attributes/anInteger,\"4*\")",
+            "exists(attributes/aString)",
+            "exists(attributes/missing)",
+            "exists(features/foo)",
+            "exists(features/foo/properties)",
+            "exists(features/foo/properties/anInteger)",
+            "eq(features/foo/properties/anInteger,42)",
+            "eq(features/*/properties/anInteger,42)",
+            "eq(thingId,\"org.eclipse.ditto:compiled\")",
+            "like(thingId,\"org.eclipse.ditto:*\")",
+            "gt(_revision,4)",
+            "and(eq(attributes/anInteger,42),like(attributes/aString,\"ccc*\"))",
+            "or(eq(attributes/anInteger,21),eq(attributes/aString,\"ccc_string\"))",
+            "not(eq(attributes/anInteger,42))",
+            "not(or(eq(attributes/anInteger,21),exists(attributes/missing)))"
+    );
+
+    @Rule
+    public final JUnitSoftAssertions softly = new JUnitSoftAssertions();
+
+    @Test
+    public void evaluatesLikeThingPredicateVisitor() {
+        for (final Thing thing : List.of(THING, OTHER_THING, Thing.newBuilder().build())) {
+            for (final String filter : FILTERS) {
+                final Criteria criteria = createCriteria(filter);
+                final boolean expected = ThingPredicateVisitor.apply(criteria).test(thing);
+                final CompiledThingPredicate underTest = CompiledThingPredicate.compile(criteria);
+                softly.assertThat(underTest.test(thing)).describedAs(filter + " on " + thing).isEqualTo(expected);
+                softly.assertThat(underTest.test(thing.toJson(p -> true)))
+                        .describedAs(filter + " on JSON of " + thing)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void constantCriteriaAreFolded() {
+        softly.assertThat(compile("and(not(gt(attributes/x,null)),not(lt(attributes/y,null)))").isAlwaysTrue()).isTrue();
+        softly.assertThat(compile("or(eq(attributes/x,1),not(ge(attributes/y,null)))").isAlwaysTrue()).isTrue();
+        softly.assertThat(compile("eq(attributes/x,1)").isAlwaysTrue()).isFalse();
+        softly.assertThat(compile("and(eq(attributes/anInteger,42),gt(attributes/y,null))").test(THING)).isFalse();
+        softly.assertThat(CompiledThingPredicate.alwaysTrue().test(JsonObject.empty())).isTrue();
+    }
+
+    @Test
+    public void unknownFieldsDoNotFalsifyCriteria() {
+        final Set<JsonPointer> unknownFields = Set.of(JsonPointer.of("attributes/enriched"));
+        final CompiledThingPredicate conjunction = CompiledThingPredicate.compile(
+                createCriteria("and(eq(attributes/anInteger,42),eq(attributes/enriched/x,1))"), unknownFields);
+        final CompiledThingPredicate negation = CompiledThingPredicate.compile(
+                createCriteria("not(exists(attributes/enriched))"), unknownFields);
+        final CompiledThingPredicate disjunction = CompiledThingPredicate.compile(
+                createCriteria("or(eq(attributes/anInteger,21),exists(attributes/enriched/y))"), unknownFields);
+        final JsonObject thingJson = THING.toJson(p -> true);
+
+        softly.assertThat(conjunction.couldBeTrue(thingJson)).isTrue();
+        softly.assertThat(conjunction.test(thingJson)).isFalse();
+        softly.assertThat(conjunction.couldBeTrue(OTHER_THING.toJson(p -> true))).isFalse();
+        softly.assertThat(negation.couldBeTrue(thingJson)).isTrue();
+        softly.assertThat(negation.isAlwaysTrue()).isFalse();
+        softly.assertThat(disjunction.couldBeTrue(JsonObject.empty())).isTrue();
+    }
+
+    @Test
+    public void fieldsAbsentFromPartialThingAreShortCircuited() {
+        final CompiledThingPredicate underTest =
+                compile("and(exists(features/foo),like(attributes/aString,\"ccc*\"))");
+
+        assertThat(underTest.test(JsonObject.newBuilder()
+                .set("features", JsonObject.newBuilder().set("foo", JsonObject.empty()).build())
+                .build())).isFalse();
+        assertThat(underTest.test(THING.toJson())).isTrue();
+    }
+
+    @Test
+    public void requiredEqualitiesAreTopLevelEqualityConjuncts() {
+        softly.assertThat(compile("eq(attributes/x,1)").getRequiredEqualities())
+                .containsExactly(Map.entry(JsonPointer.of("attributes/x"), 1L));
+        softly.assertThat(compile("and(eq(thingId,\"a:b\"),gt(attributes/y,2),eq(features/f/properties/z,true))")
+                .getRequiredEqualities())
+                .containsExactly(Map.entry(JsonPointer.of("thingId"), "a:b"),
+                        Map.entry(JsonPointer.of("features/f/properties/z"), true));
+        softly.assertThat(compile("or(eq(attributes/x,1),eq(attributes/x,2))").getRequiredEqualities()).isEmpty();
+        softly.assertThat(compile("and(eq(attributes/x,null),ne(attributes/y,1))").getRequiredEqualities()).isEmpty();
+    }
+
+    private static CompiledThingPredicate compile(final String filter) {
+        return CompiledThingPredicate.compile(createCriteria(filter));
+    }
+
+    private static Criteria createCriteria(final String filter) {
+        return queryFilterCriteriaFactory.filterCriteria(filter, DittoHeaders.empty());
+    }
+
+}
@@ -38,6 +38,13 @@ public final class ThingsMessagingConstants {
      */
     public static final String THINGS_SNAPSHOT_STREAMING_ACTOR_PATH = ROOT_ACTOR_PATH + "/snapshotStreamingActor";
 
+    /**
+     * Path of the actor that retrieves many things at once.
+     *
+     * @since 2.1.0
+     */
+    public static final String THINGS_BULK_RETRIEVAL_ACTOR_PATH = ROOT_ACTOR_PATH + "/bulkRetrievalActor";
+
     /**
      * Name of the shard region for Thing entities.
      */
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.common.config;
+
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.ConfigWithFallback;
+import org.eclipse.ditto.internal.utils.config.ScopedConfig;
+
+import com.typesafe.config.Config;
+
+/**
+ * This class is the default implementation of {@link PassivationCacheConfig}.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class DefaultPassivationCacheConfig implements PassivationCacheConfig {
+
+    private static final String CONFIG_PATH = "passivation-cache";
+
+    private final boolean enabled;
+    private final long maximumSize;
+
+    private DefaultPassivationCacheConfig(final ScopedConfig config) {
+        enabled = config.getBoolean(PassivationCacheConfigValue.ENABLED.getConfigPath());
+        maximumSize = config.getNonNegativeBytesOrThrow(PassivationCacheConfigValue.MAXIMUM_SIZE);
+    }
+
+    /**
+     * Returns an instance of the passivation cache config based on the settings of the specified Config.
+     *
+     * @param config is supposed to provide the settings of the passivation cache config at {@value #CONFIG_PATH}.
+     * @return the instance.
+     * @throws org.eclipse.ditto.internal.utils.config.DittoConfigError if {@code config} is invalid.
+     */
+    public static DefaultPassivationCacheConfig of(final Config config) {
+        return new DefaultPassivationCacheConfig(
+                ConfigWithFallback.newInstance(config, CONFIG_PATH, PassivationCacheConfigValue.values()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DefaultPassivationCacheConfig that = (DefaultPassivationCacheConfig) o;
+        return enabled == that.enabled && maximumSize == that.maximumSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, maximumSize);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "enabled=" + enabled +
+                ", maximumSize=" + maximumSize +
+                "]";
+    }
+
+}
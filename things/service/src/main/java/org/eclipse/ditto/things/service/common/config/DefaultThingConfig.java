@@ -22,7 +22,9 @@ import org.eclipse.ditto.internal.utils.config.DefaultScopedConfig;
 import org.eclipse.ditto.internal.utils.config.ScopedConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.ActivityCheckConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.DefaultActivityCheckConfig;
+import org.eclipse.ditto.internal.utils.persistence.mongo.config.DefaultPipelinedPersistenceConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.DefaultSnapshotConfig;
+import org.eclipse.ditto.internal.utils.persistence.mongo.config.PipelinedPersistenceConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.SnapshotConfig;
 import org.eclipse.ditto.internal.utils.persistentactors.cleanup.CleanupConfig;
 
@@ -40,12 +42,16 @@ public final class DefaultThingConfig implements ThingConfig {
     private final ActivityCheckConfig activityCheckConfig;
     private final SnapshotConfig snapshotConfig;
     private final CleanupConfig cleanupConfig;
+    private final PipelinedPersistenceConfig pipelinedPersistenceConfig;
+    private final PassivationCacheConfig passivationCacheConfig;
 
     private DefaultThingConfig(final ScopedConfig scopedConfig) {
         supervisorConfig = DefaultSupervisorConfig.of(scopedConfig);
         activityCheckConfig = DefaultActivityCheckConfig.of(scopedConfig);
         snapshotConfig = DefaultSnapshotConfig.of(scopedConfig);
         cleanupConfig = CleanupConfig.of(scopedConfig);
+        pipelinedPersistenceConfig = DefaultPipelinedPersistenceConfig.of(scopedConfig);
+        passivationCacheConfig = DefaultPassivationCacheConfig.of(scopedConfig);
     }
 
     /**
@@ -86,12 +92,15 @@ public final class DefaultThingConfig implements ThingConfig {
         return Objects.equals(supervisorConfig, that.supervisorConfig) &&
                 Objects.equals(activityCheckConfig, that.activityCheckConfig) &&
                 Objects.equals(snapshotConfig, that.snapshotConfig) &&
-                Objects.equals(cleanupConfig, that.cleanupConfig);
+                Objects.equals(cleanupConfig, that.cleanupConfig) &&
+                Objects.equals(pipelinedPersistenceConfig, that.pipelinedPersistenceConfig) &&
+                Objects.equals(passivationCacheConfig, that.passivationCacheConfig);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(supervisorConfig, activityCheckConfig, snapshotConfig, cleanupConfig);
+        return Objects.hash(supervisorConfig, activityCheckConfig, snapshotConfig, cleanupConfig,
+                pipelinedPersistenceConfig, passivationCacheConfig);
     }
 
     @Override
@@ -101,6 +110,8 @@ public final class DefaultThingConfig implements ThingConfig {
                 ", activityCheckConfig=" + activityCheckConfig +
                 ", snapshotConfig=" + snapshotConfig +
                 ", cleanupConfig=" + cleanupConfig +
+                ", pipelinedPersistenceConfig=" + pipelinedPersistenceConfig +
+                ", passivationCacheConfig=" + passivationCacheConfig +
                 "]";
     }
 
@@ -108,4 +119,14 @@ public final class DefaultThingConfig implements ThingConfig {
     public CleanupConfig getCleanupConfig() {
         return cleanupConfig;
     }
+
+    @Override
+    public PipelinedPersistenceConfig getPipelinedPersistenceConfig() {
+        return pipelinedPersistenceConfig;
+    }
+
+    @Override
+    public PassivationCacheConfig getPassivationCacheConfig() {
+        return passivationCacheConfig;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.common.config;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.KnownConfigValue;
+
+/**
+ * Provides configuration settings of the node-local cache of passivated things.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public interface PassivationCacheConfig {
+
+    /**
+     * Returns whether the state of passivated things is kept to rehydrate their next persistence actor.
+     *
+     * @return whether the cache is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the maximum number of bytes of serialized things the cache keeps off-heap. The cache allocates a direct
+     * buffer of this size when enabled.
+     *
+     * @return the maximum size in bytes.
+     */
+    long getMaximumSize();
+
+    /**
+     * An enumeration of the known config path expressions and their associated default values for
+     * {@code PassivationCacheConfig}.
+     */
+    enum PassivationCacheConfigValue implements KnownConfigValue {
+
+        /**
+         * Whether the state of passivated things is kept.
+         */
+        ENABLED("enabled", false),
+
+        /**
+         * The maximum number of bytes of serialized things the cache keeps off-heap.
+         */
+        MAXIMUM_SIZE("maximum-size", "64m");
+
+        private final String path;
+        private final Object defaultValue;
+
+        PassivationCacheConfigValue(final String thePath, final Object theDefaultValue) {
+            path = thePath;
+            defaultValue = theDefaultValue;
+        }
+
+        @Override
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        @Override
+        public String getConfigPath() {
+            return path;
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@ import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.base.service.config.supervision.WithSupervisorConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.WithActivityCheckConfig;
+import org.eclipse.ditto.internal.utils.persistence.mongo.config.WithPipelinedPersistenceConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.WithSnapshotConfig;
 import org.eclipse.ditto.internal.utils.persistentactors.cleanup.WithCleanupConfig;
 
@@ -24,5 +25,14 @@ import org.eclipse.ditto.internal.utils.persistentactors.cleanup.WithCleanupConf
  */
 @Immutable
 public interface ThingConfig extends WithSupervisorConfig, WithActivityCheckConfig, WithSnapshotConfig,
-        WithCleanupConfig {
+        WithCleanupConfig, WithPipelinedPersistenceConfig {
+
+    /**
+     * Returns the config of the node-local cache of passivated things.
+     *
+     * @return the config.
+     * @since 2.1.0
+     */
+    PassivationCacheConfig getPassivationCacheConfig();
+
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.persistence.actors;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.base.model.json.FieldType;
+import org.eclipse.ditto.internal.utils.config.DefaultScopedConfig;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.internal.utils.persistentactors.PassivatedEntity;
+import org.eclipse.ditto.json.BinaryJsonCodec;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.ThingsModelFactory;
+import org.eclipse.ditto.things.service.common.config.DittoThingsConfig;
+import org.eclipse.ditto.things.service.common.config.PassivationCacheConfig;
+
+import akka.actor.AbstractExtensionId;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Extension;
+
+/**
+ * Node-local cache of the state of passivated things.
+ * <p>
+ * When a {@link ThingPersistenceActor} passivates, it leaves its thing here so that the next persistence actor of the
+ * same thing on this node is rehydrated from it instead of loading snapshot and events from the database.
+ * Things are kept binary encoded off-heap in one direct buffer of the configured maximum size, which is allocated
+ * once and divided into blocks of {@value #BLOCK_SIZE} bytes. Each entry occupies as many blocks as its encoding
+ * needs; its blocks are released explicitly when it is taken out of the cache by the next persistence actor of its
+ * thing, replaced or evicted. If there are not enough free blocks for a thing, the least recently passivated things
+ * are evicted.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@ThreadSafe
+public final class PassivatedThingCache implements Extension {
+
+    private static final String GAUGE_SIZE_BYTES = "things_passivation_cache_size_bytes";
+    private static final String GAUGE_ENTRIES = "things_passivation_cache_entries";
+
+    static final int BLOCK_SIZE = 512;
+
+    private static final BinaryJsonCodec CODEC = BinaryJsonCodec.of(List.of("__schemaVersion", "__lifecycle",
+            "_revision", "_modified", "_created", "_metadata", "_policy", "thingId", "policyId", "definition",
+            "attributes", "features", "properties", "desiredProperties"));
+
+    private final PassivationCacheConfig config;
+    private final Map<ThingId, Entry> entries;
+    private final Gauge sizeGauge;
+    private final Gauge entriesGauge;
+    private final ByteBuffer blocks;
+    private final int[] freeBlocks;
+    private int freeBlockCount;
+
+    private PassivatedThingCache(final PassivationCacheConfig config) {
+        this.config = config;
+        entries = new LinkedHashMap<>();
+        sizeGauge = DittoMetrics.gauge(GAUGE_SIZE_BYTES);
+        entriesGauge = DittoMetrics.gauge(GAUGE_ENTRIES);
+        final int numberOfBlocks = config.isEnabled()
+                ? (int) Math.min(config.getMaximumSize(), Integer.MAX_VALUE) / BLOCK_SIZE
+                : 0;
+        blocks = ByteBuffer.allocateDirect(numberOfBlocks * BLOCK_SIZE);
+        freeBlocks = new int[numberOfBlocks];
+        for (int i = 0; i < numberOfBlocks; i++) {
+            freeBlocks[i] = numberOfBlocks - 1 - i;
+        }
+        freeBlockCount = numberOfBlocks;
+    }
+
+    /**
+     * Get the passivated thing cache of an actor system.
+     *
+     * @param system the actor system.
+     * @return the cache.
+     */
+    public static PassivatedThingCache get(final ActorSystem system) {
+        return ExtensionId.INSTANCE.get(system);
+    }
+
+    /**
+     * Create a cache which is not registered as extension of an actor system.
+     *
+     * @param config the config of the cache.
+     * @return the cache.
+     */
+    static PassivatedThingCache of(final PassivationCacheConfig config) {
+        return new PassivatedThingCache(config);
+    }
+
+    /**
+     * @return whether the cache is enabled.
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Keep the state of a passivated thing, replacing any state kept before.
+     * Nothing is kept if the cache is disabled or if the thing alone exceeds the maximum size.
+     *
+     * @param thingId the ID of the thing.
+     * @param passivatedThing the state of the thing at passivation.
+     */
+    public void put(final ThingId thingId, final PassivatedEntity<Thing> passivatedThing) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        final Thing thing = passivatedThing.getEntity();
+        final byte[] bytes = CODEC.toByteArray(thing.toJson(thing.getImplementedSchemaVersion(), FieldType.all()));
+        final int blocksNeeded = (bytes.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        synchronized (this) {
+            remove(thingId);
+            if (blocksNeeded <= freeBlocks.length) {
+                evictUntilFree(blocksNeeded);
+                entries.put(thingId, new Entry(write(bytes, blocksNeeded), bytes.length,
+                        passivatedThing.getRevision(), passivatedThing.getSnapshotRevision()));
+            }
+            updateGauges();
+        }
+    }
+
+    /**
+     * Remove the kept state of a thing from the cache.
+     *
+     * @param thingId the ID of the thing.
+     * @return the state of the thing at its last passivation on this node, if it is still kept.
+     */
+    public Optional<PassivatedEntity<Thing>> take(final ThingId thingId) {
+        if (!config.isEnabled()) {
+            return Optional.empty();
+        }
+        final Entry entry;
+        final byte[] bytes;
+        synchronized (this) {
+            entry = entries.remove(thingId);
+            if (null == entry) {
+                return Optional.empty();
+            }
+            bytes = read(entry);
+            release(entry);
+            updateGauges();
+        }
+        final Thing thing = ThingsModelFactory.newThing(CODEC.readFrom(bytes).asObject());
+        return Optional.of(PassivatedEntity.of(thing, entry.revision, entry.snapshotRevision));
+    }
+
+    /**
+     * @return the number of things kept.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the blocks occupied by the things kept.
+     */
+    synchronized long getSizeInBytes() {
+        return (long) (freeBlocks.length - freeBlockCount) * BLOCK_SIZE;
+    }
+
+    private void remove(final ThingId thingId) {
+        final Entry entry = entries.remove(thingId);
+        if (null != entry) {
+            release(entry);
+        }
+    }
+
+    private void evictUntilFree(final int blocksNeeded) {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (freeBlockCount < blocksNeeded && iterator.hasNext()) {
+            release(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private int[] write(final byte[] bytes, final int blocksNeeded) {
+        final int[] entryBlocks = new int[blocksNeeded];
+        for (int i = 0; i < blocksNeeded; i++) {
+            final int block = freeBlocks[--freeBlockCount];
+            final int offset = i * BLOCK_SIZE;
+            blocks.position(block * BLOCK_SIZE);
+            blocks.put(bytes, offset, Math.min(BLOCK_SIZE, bytes.length - offset));
+            entryBlocks[i] = block;
+        }
+        return entryBlocks;
+    }
+
+    private byte[] read(final Entry entry) {
+        final byte[] bytes = new byte[entry.length];
+        for (int i = 0; i < entry.blocks.length; i++) {
+            final int offset = i * BLOCK_SIZE;
+            blocks.position(entry.blocks[i] * BLOCK_SIZE);
+            blocks.get(bytes, offset, Math.min(BLOCK_SIZE, bytes.length - offset));
+        }
+        return bytes;
+    }
+
+    private void release(final Entry entry) {
+        for (final int block : entry.blocks) {
+            freeBlocks[freeBlockCount++] = block;
+        }
+    }
+
+    private void updateGauges() {
+        sizeGauge.set(getSizeInBytes());
+        entriesGauge.set((long) entries.size());
+    }
+
+    private static final class Entry {
+
+        private final int[] blocks;
+        private final int length;
+        private final long revision;
+        private final long snapshotRevision;
+
+        private Entry(final int[] blocks, final int length, final long revision, final long snapshotRevision) {
+            this.blocks = blocks;
+            this.length = length;
+            this.revision = revision;
+            this.snapshotRevision = snapshotRevision;
+        }
+
+    }
+
+    static final class ExtensionId extends AbstractExtensionId<PassivatedThingCache> {
+
+        static final ExtensionId INSTANCE = new ExtensionId();
+
+        private ExtensionId() {}
+
+        @Override
+        public PassivatedThingCache createExtension(final ExtendedActorSystem system) {
+            final DittoThingsConfig thingsConfig =
+                    DittoThingsConfig.of(DefaultScopedConfig.dittoScoped(system.settings().config()));
+            return new PassivatedThingCache(thingsConfig.getThingConfig().getPassivationCacheConfig());
+        }
+
+    }
+
+}
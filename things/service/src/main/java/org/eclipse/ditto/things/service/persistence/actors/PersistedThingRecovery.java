@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.persistence.actors;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.bson.Document;
+import org.eclipse.ditto.internal.utils.persistence.SnapshotAdapter;
+import org.eclipse.ditto.internal.utils.persistence.mongo.BsonUtil;
+import org.eclipse.ditto.internal.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.ThingLifecycle;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
+import org.eclipse.ditto.things.service.persistence.actors.strategies.events.ThingEventStrategies;
+
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotMetadata;
+import akka.persistence.journal.EventAdapter;
+import akka.persistence.journal.EventSeq;
+
+/**
+ * Recovers things from the documents of snapshot store and journal without a persistence actor.
+ */
+@ThreadSafe
+final class PersistedThingRecovery {
+
+    private final SnapshotAdapter<Thing> snapshotAdapter;
+    private final EventAdapter eventAdapter;
+
+    private PersistedThingRecovery(final SnapshotAdapter<Thing> snapshotAdapter, final EventAdapter eventAdapter) {
+        this.snapshotAdapter = snapshotAdapter;
+        this.eventAdapter = eventAdapter;
+    }
+
+    /**
+     * Create a recovery of things.
+     *
+     * @param snapshotAdapter the adapter to read thing snapshots.
+     * @param eventAdapter the adapter to read thing events.
+     * @return the recovery.
+     */
+    static PersistedThingRecovery of(final SnapshotAdapter<Thing> snapshotAdapter, final EventAdapter eventAdapter) {
+        return new PersistedThingRecovery(snapshotAdapter, eventAdapter);
+    }
+
+    /**
+     * Get the sequence number of a snapshot.
+     *
+     * @param snapshot the snapshot as returned by {@link MongoReadJournal#getNewestSnapshotsOf(java.util.Collection)},
+     * or null.
+     * @return the sequence number of the snapshot, or 0 if there is no snapshot.
+     */
+    static long getSnapshotSeqNo(@Nullable final Document snapshot) {
+        return null != snapshot ? snapshot.getLong(MongoReadJournal.S_SN) : 0L;
+    }
+
+    /**
+     * Recover a thing from its newest snapshot and the journal entries after it.
+     *
+     * @param thingId the ID of the thing.
+     * @param snapshot the newest snapshot of the thing as returned by
+     * {@link MongoReadJournal#getNewestSnapshotsOf(java.util.Collection)}, or null.
+     * @param journalEntries the journal entries with the events after the snapshot ordered by sequence number.
+     * @return the recovered thing.
+     */
+    RecoveredThing recover(final ThingId thingId, @Nullable final Document snapshot,
+            final List<Document> journalEntries) {
+
+        long revision = getSnapshotSeqNo(snapshot);
+        Thing thing = null;
+        if (null != snapshot) {
+            final Document serializedSnapshot = snapshot.get(MongoReadJournal.S_SERIALIZED_SNAPSHOT, Document.class);
+            final SnapshotMetadata metadata =
+                    new SnapshotMetadata(ThingPersistenceActor.PERSISTENCE_ID_PREFIX + thingId, revision, 0L);
+            thing = snapshotAdapter.fromSnapshotStore(
+                    SelectedSnapshot.create(metadata, BsonUtil.toBsonDocument(serializedSnapshot)));
+        }
+        for (final Document journalEntry : journalEntries) {
+            for (final Document event : journalEntry.getList(MongoReadJournal.J_EVENT, Document.class)) {
+                final long eventRevision = event.getLong(MongoReadJournal.J_EVENT_SN);
+                if (eventRevision > revision) {
+                    @Nullable final ThingEvent<?> thingEvent = eventRevision == revision + 1 ? toEvent(event) : null;
+                    if (null == thingEvent) {
+                        // events were deleted after the snapshot was read or cannot be read
+                        return new RecoveredThing(thingId, null, false);
+                    }
+                    thing = ThingEventStrategies.getInstance().handle(thingEvent, thing, eventRevision);
+                    revision = eventRevision;
+                }
+            }
+        }
+        return new RecoveredThing(thingId, thing, true);
+    }
+
+    @Nullable
+    private ThingEvent<?> toEvent(final Document event) {
+        final Document payload = event.get(MongoReadJournal.J_EVENT_PAYLOAD, Document.class);
+        final EventSeq eventSeq = eventAdapter.fromJournal(BsonUtil.toBsonDocument(payload),
+                event.getString(MongoReadJournal.J_EVENT_MANIFEST));
+        if (eventSeq.events().isEmpty()) {
+            return null;
+        }
+        return (ThingEvent<?>) eventSeq.events().head();
+    }
+
+    /**
+     * A thing recovered from persistence.
+     */
+    static final class RecoveredThing {
+
+        private final ThingId thingId;
+        @Nullable private final Thing thing;
+        private final boolean consistent;
+
+        private RecoveredThing(final ThingId thingId, @Nullable final Thing thing, final boolean consistent) {
+            this.thingId = thingId;
+            this.thing = thing;
+            this.consistent = consistent;
+        }
+
+        /**
+         * @return the ID of the thing.
+         */
+        ThingId getThingId() {
+            return thingId;
+        }
+
+        /**
+         * @return whether the thing was recovered from its snapshot and all events after it.
+         */
+        boolean isConsistent() {
+            return consistent;
+        }
+
+        /**
+         * @return the recovered thing if it exists and is not deleted.
+         */
+        Optional<Thing> getThing() {
+            return Optional.ofNullable(thing).filter(t -> !t.hasLifecycle(ThingLifecycle.DELETED));
+        }
+
+    }
+
+}
@@ -12,6 +12,8 @@
  */
 package org.eclipse.ditto.things.service.persistence.actors;
 
+import java.util.Optional;
+
 import org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel;
 import org.eclipse.ditto.base.model.exceptions.DittoRuntimeExceptionBuilder;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
@@ -20,8 +22,10 @@ import org.eclipse.ditto.base.model.signals.commands.Command;
 import org.eclipse.ditto.internal.utils.config.DefaultScopedConfig;
 import org.eclipse.ditto.internal.utils.persistence.SnapshotAdapter;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.ActivityCheckConfig;
+import org.eclipse.ditto.internal.utils.persistence.mongo.config.PipelinedPersistenceConfig;
 import org.eclipse.ditto.internal.utils.persistence.mongo.config.SnapshotConfig;
 import org.eclipse.ditto.internal.utils.persistentactors.AbstractShardedPersistenceActor;
+import org.eclipse.ditto.internal.utils.persistentactors.PassivatedEntity;
 import org.eclipse.ditto.internal.utils.persistentactors.commands.CommandStrategy;
 import org.eclipse.ditto.internal.utils.persistentactors.commands.DefaultContext;
 import org.eclipse.ditto.internal.utils.persistentactors.events.EventStrategy;
@@ -34,6 +38,7 @@ import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.model.ThingLifecycle;
 import org.eclipse.ditto.things.model.ThingsModelFactory;
 import org.eclipse.ditto.things.model.signals.commands.exceptions.ThingNotAccessibleException;
+import org.eclipse.ditto.things.model.signals.commands.exceptions.ThingUnavailableException;
 import org.eclipse.ditto.things.model.signals.commands.modify.CreateThing;
 import org.eclipse.ditto.things.model.signals.events.ThingEvent;
 import org.eclipse.ditto.things.service.common.config.DittoThingsConfig;
@@ -72,6 +77,7 @@ public final class ThingPersistenceActor
 
     private final ThingConfig thingConfig;
     private final DistributedPub<ThingEvent<?>> distributedPub;
+    private final PassivatedThingCache passivatedThingCache;
 
     @SuppressWarnings("unused")
     private ThingPersistenceActor(final ThingId thingId, final DistributedPub<ThingEvent<?>> distributedPub,
@@ -83,6 +89,7 @@ public final class ThingPersistenceActor
         );
         thingConfig = thingsConfig.getThingConfig();
         this.distributedPub = distributedPub;
+        passivatedThingCache = PassivatedThingCache.get(getContext().getSystem());
     }
 
     /**
@@ -162,6 +169,21 @@ public final class ThingPersistenceActor
         return thingConfig.getSnapshotConfig();
     }
 
+    @Override
+    protected PipelinedPersistenceConfig getPipelinedPersistenceConfig() {
+        return thingConfig.getPipelinedPersistenceConfig();
+    }
+
+    @Override
+    protected void keepPassivatedEntity(final PassivatedEntity<Thing> passivatedEntity) {
+        passivatedThingCache.put(entityId, passivatedEntity);
+    }
+
+    @Override
+    protected Optional<PassivatedEntity<Thing>> takePassivatedEntity() {
+        return passivatedThingCache.take(entityId);
+    }
+
     @Override
     protected boolean entityExistsAsDeleted() {
         return null != entity && entity.hasLifecycle(ThingLifecycle.DELETED);
@@ -172,6 +194,11 @@ public final class ThingPersistenceActor
         return ThingNotAccessibleException.newBuilder(entityId);
     }
 
+    @Override
+    protected DittoRuntimeExceptionBuilder<?> newUnavailableExceptionBuilder() {
+        return ThingUnavailableException.newBuilder(entityId);
+    }
+
     @Override
     protected void recoveryCompleted(final RecoveryCompleted event) {
         if (entity != null) {
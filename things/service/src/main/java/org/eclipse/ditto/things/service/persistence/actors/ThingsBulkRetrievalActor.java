@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.persistence.actors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.eclipse.ditto.base.model.json.FieldType;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.base.model.json.Jsonifiable;
+import org.eclipse.ditto.internal.utils.akka.logging.DittoDiagnosticLoggingAdapter;
+import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.internal.utils.persistence.SnapshotAdapter;
+import org.eclipse.ditto.internal.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThing;
+import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThingResponse;
+import org.eclipse.ditto.things.api.commands.sudo.SudoRetrieveThings;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.service.persistence.serializer.ThingMongoEventAdapter;
+
+import akka.NotUsed;
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Props;
+import akka.cluster.sharding.ShardRegion;
+import akka.japi.pf.ReceiveBuilder;
+import akka.pattern.Patterns;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.StreamRefs;
+
+/**
+ * Retrieves many things at once without starting their persistence actors.
+ * <p>
+ * Things whose persistence actors are alive on this node are retrieved from them. All other things are recovered
+ * from their newest snapshot and the events after it, which are read for a batch of things with one query to the
+ * snapshot store and one query to the journal. If the events after a snapshot are incomplete because snapshot store
+ * and journal changed between the queries, the thing is retrieved from its persistence actor instead.
+ * </p>
+ * <p>
+ * Answers {@link SudoRetrieveThings} with a {@link akka.stream.SourceRef} of one {@link SudoRetrieveThingResponse}
+ * for each existing thing, just like the things aggregator of concierge.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public final class ThingsBulkRetrievalActor extends AbstractActor {
+
+    /**
+     * The name of this actor.
+     */
+    public static final String ACTOR_NAME = "bulkRetrievalActor";
+
+    private static final int BATCH_SIZE = 100;
+    private static final int PARALLELISM = 8;
+    private static final Duration ASK_TIMEOUT = Duration.ofSeconds(10L);
+
+    private static final String COUNTER_RETRIEVED_THINGS = "things_bulk_retrieval_things";
+    private static final String SOURCE_TAG = "source";
+
+    private final DittoDiagnosticLoggingAdapter log = DittoLoggerFactory.getDiagnosticLoggingAdapter(this);
+    private final ActorRef thingsShardRegion;
+    private final MongoReadJournal mongoReadJournal;
+    private final PersistedThingRecovery persistedThingRecovery;
+    private final Materializer materializer;
+    private final Counter retrievedFromActorCounter;
+    private final Counter retrievedFromPersistenceCounter;
+
+    @SuppressWarnings("unused")
+    private ThingsBulkRetrievalActor(final ActorRef thingsShardRegion,
+            final MongoReadJournal mongoReadJournal,
+            final SnapshotAdapter<Thing> snapshotAdapter) {
+
+        this.thingsShardRegion = thingsShardRegion;
+        this.mongoReadJournal = mongoReadJournal;
+        persistedThingRecovery = PersistedThingRecovery.of(snapshotAdapter,
+                new ThingMongoEventAdapter((ExtendedActorSystem) getContext().getSystem()));
+        materializer = Materializer.createMaterializer(this::getContext);
+        retrievedFromActorCounter = DittoMetrics.counter(COUNTER_RETRIEVED_THINGS).tag(SOURCE_TAG, "actor");
+        retrievedFromPersistenceCounter = DittoMetrics.counter(COUNTER_RETRIEVED_THINGS).tag(SOURCE_TAG, "persistence");
+    }
+
+    /**
+     * Create Props of this actor.
+     *
+     * @param thingsShardRegion the shard region of things on this node.
+     * @param mongoReadJournal the read journal of things.
+     * @param snapshotAdapter the adapter to read thing snapshots.
+     * @return the Props object.
+     */
+    public static Props props(final ActorRef thingsShardRegion,
+            final MongoReadJournal mongoReadJournal,
+            final SnapshotAdapter<Thing> snapshotAdapter) {
+
+        return Props.create(ThingsBulkRetrievalActor.class, thingsShardRegion, mongoReadJournal, snapshotAdapter);
+    }
+
+    @Override
+    public Receive createReceive() {
+        return ReceiveBuilder.create()
+                .match(SudoRetrieveThings.class, this::retrieveThings)
+                .matchAny(message -> {
+                    log.warning("Got unknown message: {}", message);
+                    unhandled(message);
+                })
+                .build();
+    }
+
+    private void retrieveThings(final SudoRetrieveThings command) {
+        log.withCorrelationId(command).info("Retrieving <{}> things in bulk.", command.getThingIds().size());
+        final CompletionStage<Object> sourceRef = getLiveEntityIds()
+                .thenApply(liveEntityIds -> {
+                    final Map<Boolean, List<ThingId>> thingIdsByLiveness = command.getThingIds()
+                            .stream()
+                            .distinct()
+                            .collect(Collectors.partitioningBy(thingId -> liveEntityIds.contains(thingId.toString())));
+                    return retrieveFromActors(thingIdsByLiveness.get(true), command)
+                            .concat(retrieveFromPersistence(thingIdsByLiveness.get(false), command))
+                            .runWith(StreamRefs.sourceRef(), materializer);
+                });
+        Patterns.pipe(sourceRef, getContext().dispatcher()).to(getSender());
+    }
+
+    private CompletionStage<Set<String>> getLiveEntityIds() {
+        return Patterns.ask(thingsShardRegion, ShardRegion.getShardRegionStateInstance(), ASK_TIMEOUT)
+                .handle((result, error) -> {
+                    if (result instanceof ShardRegion.CurrentShardRegionState) {
+                        return ((ShardRegion.CurrentShardRegionState) result).getShards()
+                                .stream()
+                                .flatMap(shardState -> shardState.getEntityIds().stream())
+                                .collect(Collectors.toSet());
+                    } else {
+                        log.warning("Could not determine live things, reading all things from persistence: {}",
+                                null != error ? error : result);
+                        return Set.of();
+                    }
+                });
+    }
+
+    private Source<Jsonifiable<?>, NotUsed> retrieveFromActors(final Collection<ThingId> thingIds,
+            final SudoRetrieveThings command) {
+
+        return Source.from(thingIds)
+                .mapAsync(PARALLELISM, thingId -> askPersistenceActor(thingId, command))
+                .mapConcat(responses -> responses);
+    }
+
+    private CompletionStage<List<Jsonifiable<?>>> askPersistenceActor(final ThingId thingId,
+            final SudoRetrieveThings command) {
+
+        final SudoRetrieveThing sudoRetrieveThing = SudoRetrieveThing.of(thingId,
+                command.getSelectedFields().orElse(null), command.getDittoHeaders());
+        return Patterns.ask(thingsShardRegion, sudoRetrieveThing, ASK_TIMEOUT)
+                .handle((response, error) -> {
+                    if (response instanceof SudoRetrieveThingResponse) {
+                        retrievedFromActorCounter.increment();
+                        return List.of((SudoRetrieveThingResponse) response);
+                    } else {
+                        return List.of();
+                    }
+                });
+    }
+
+    private Source<Jsonifiable<?>, NotUsed> retrieveFromPersistence(final List<ThingId> thingIds,
+            final SudoRetrieveThings command) {
+
+        return Source.from(thingIds)
+                .grouped(BATCH_SIZE)
+                .flatMapConcat(this::recoverThings)
+                .mapAsync(PARALLELISM, recoveredThing -> {
+                    if (recoveredThing.isConsistent()) {
+                        retrievedFromPersistenceCounter.increment();
+                        return CompletableFuture.completedFuture(toResponses(recoveredThing, command));
+                    } else {
+                        return askPersistenceActor(recoveredThing.getThingId(), command);
+                    }
+                })
+                .mapConcat(responses -> responses);
+    }
+
+    private static List<Jsonifiable<?>> toResponses(final PersistedThingRecovery.RecoveredThing recoveredThing,
+            final SudoRetrieveThings command) {
+
+        return recoveredThing.getThing()
+                .map(thing -> {
+                    final JsonSchemaVersion jsonSchemaVersion = command.getImplementedSchemaVersion();
+                    final JsonObject thingJson = command.getSelectedFields()
+                            .map(selectedFields -> thing.toJson(jsonSchemaVersion, selectedFields,
+                                    FieldType.regularOrSpecial()))
+                            .orElseGet(() -> thing.toJson(jsonSchemaVersion, FieldType.regularOrSpecial()));
+                    return List.<Jsonifiable<?>>of(SudoRetrieveThingResponse.of(thingJson, command.getDittoHeaders()));
+                })
+                .orElseGet(List::of);
+    }
+
+    private Source<PersistedThingRecovery.RecoveredThing, NotUsed> recoverThings(final List<ThingId> thingIds) {
+        final List<String> pids = thingIds.stream()
+                .map(thingId -> ThingPersistenceActor.PERSISTENCE_ID_PREFIX + thingId)
+                .collect(Collectors.toList());
+        return mongoReadJournal.getNewestSnapshotsOf(pids)
+                .fold(new HashMap<String, Document>(), (snapshots, snapshot) -> {
+                    snapshots.put(snapshot.getString(MongoReadJournal.S_ID), snapshot);
+                    return snapshots;
+                })
+                .flatMapConcat(snapshots -> {
+                    final Map<String, Long> snapshotSeqNos = new HashMap<>();
+                    pids.forEach(pid -> snapshotSeqNos.put(pid,
+                            PersistedThingRecovery.getSnapshotSeqNo(snapshots.get(pid))));
+                    return mongoReadJournal.getJournalEntriesAbove(snapshotSeqNos)
+                            .fold(new HashMap<String, List<Document>>(), (journalEntries, journalEntry) -> {
+                                journalEntries.computeIfAbsent(journalEntry.getString(MongoReadJournal.J_EVENT_PID),
+                                        pid -> new ArrayList<>()).add(journalEntry);
+                                return journalEntries;
+                            })
+                            .mapConcat(journalEntries -> thingIds.stream()
+                                    .map(thingId -> {
+                                        final String pid = ThingPersistenceActor.PERSISTENCE_ID_PREFIX + thingId;
+                                        return persistedThingRecovery.recover(thingId, snapshots.get(pid),
+                                                journalEntries.getOrDefault(pid, List.of()));
+                                    })
+                                    .collect(Collectors.toList()));
+                });
+    }
+
+}
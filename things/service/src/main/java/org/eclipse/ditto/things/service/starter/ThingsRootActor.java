@@ -36,7 +36,9 @@ import org.eclipse.ditto.things.service.common.config.ThingsConfig;
 import org.eclipse.ditto.things.service.persistence.actors.ThingPersistenceActorPropsFactory;
 import org.eclipse.ditto.things.service.persistence.actors.ThingPersistenceOperationsActor;
 import org.eclipse.ditto.things.service.persistence.actors.ThingSupervisorActor;
+import org.eclipse.ditto.things.service.persistence.actors.ThingsBulkRetrievalActor;
 import org.eclipse.ditto.things.service.persistence.actors.ThingsPersistenceStreamingActorCreator;
+import org.eclipse.ditto.things.service.persistence.serializer.ThingMongoSnapshotAdapter;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
@@ -112,9 +114,14 @@ public final class ThingsRootActor extends DittoRootActor {
         final Props cleanupActorProps = PersistenceCleanupActor.props(cleanupConfig, mongoReadJournal, CLUSTER_ROLE);
         startChildActor(PersistenceCleanupActor.NAME, cleanupActorProps);
 
+        final ActorRef bulkRetrievalActor = startChildActor(ThingsBulkRetrievalActor.ACTOR_NAME,
+                ThingsBulkRetrievalActor.props(thingsShardRegion, mongoReadJournal,
+                        new ThingMongoSnapshotAdapter(pubSubMediator)));
+
         pubSubMediator.tell(DistPubSubAccess.put(getSelf()), getSelf());
         pubSubMediator.tell(DistPubSubAccess.put(eventStreamingActor), getSelf());
         pubSubMediator.tell(DistPubSubAccess.put(snapshotStreamingActor), getSelf());
+        pubSubMediator.tell(DistPubSubAccess.put(bulkRetrievalActor), getSelf());
 
         bindHttpStatusRoute(thingsConfig.getHttpConfig(), healthCheckingActor);
     }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.persistence.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.ditto.internal.utils.persistentactors.PassivatedEntity;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.service.common.config.DefaultPassivationCacheConfig;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Unit test for {@link PassivatedThingCache}.
+ */
+public final class PassivatedThingCacheTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto", "passivated");
+    private static final Thing THING = Thing.newBuilder()
+            .setId(THING_ID)
+            .setAttribute(JsonPointer.of("location"), JsonValue.of("kitchen"))
+            .setRevision(5L)
+            .build();
+
+    @Test
+    public void keptThingIsTakenOnce() {
+        final PassivatedThingCache underTest = createCache(true, "1m");
+
+        underTest.put(THING_ID, PassivatedEntity.of(THING, 5L, 3L));
+
+        assertThat(underTest.take(THING_ID)).contains(PassivatedEntity.of(THING, 5L, 3L));
+        assertThat(underTest.take(THING_ID)).isEmpty();
+        assertThat(underTest.getSizeInBytes()).isZero();
+    }
+
+    @Test
+    public void leastRecentlyPassivatedThingsAreEvicted() {
+        final PassivatedThingCache sizeProbe = createCache(true, "1m");
+        sizeProbe.put(THING_ID, PassivatedEntity.of(THING, 5L, 3L));
+        final long thingSize = sizeProbe.getSizeInBytes();
+        final PassivatedThingCache underTest = createCache(true, String.valueOf(2 * thingSize));
+
+        for (int i = 0; i < 3; i++) {
+            final ThingId thingId = ThingId.of("org.eclipse.ditto", "passivat" + i);
+            underTest.put(thingId, PassivatedEntity.of(THING.toBuilder().setId(thingId).build(), 5L, 3L));
+        }
+
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(underTest.getSizeInBytes()).isLessThanOrEqualTo(2 * thingSize);
+        assertThat(underTest.take(ThingId.of("org.eclipse.ditto", "passivat0"))).isEmpty();
+        assertThat(underTest.take(ThingId.of("org.eclipse.ditto", "passivat2"))).isPresent();
+    }
+
+    @Test
+    public void thingSpanningSeveralBlocksIsReadBackAndItsBlocksAreReleased() {
+        final Thing largeThing = THING.toBuilder()
+                .setAttribute(JsonPointer.of("description"),
+                        JsonValue.of("x".repeat(3 * PassivatedThingCache.BLOCK_SIZE)))
+                .build();
+        final PassivatedThingCache underTest =
+                createCache(true, String.valueOf(4 * PassivatedThingCache.BLOCK_SIZE));
+
+        underTest.put(THING_ID, PassivatedEntity.of(largeThing, 5L, 3L));
+        assertThat(underTest.getSizeInBytes()).isEqualTo(4L * PassivatedThingCache.BLOCK_SIZE);
+
+        assertThat(underTest.take(THING_ID)).contains(PassivatedEntity.of(largeThing, 5L, 3L));
+        assertThat(underTest.getSizeInBytes()).isZero();
+
+        underTest.put(THING_ID, PassivatedEntity.of(largeThing, 6L, 3L));
+        assertThat(underTest.take(THING_ID)).contains(PassivatedEntity.of(largeThing, 6L, 3L));
+    }
+
+    @Test
+    public void disabledCacheKeepsNothing() {
+        final PassivatedThingCache underTest = createCache(false, "1m");
+
+        underTest.put(THING_ID, PassivatedEntity.of(THING, 5L, 3L));
+
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.take(THING_ID)).isEmpty();
+    }
+
+    private static PassivatedThingCache createCache(final boolean enabled, final String maximumSize) {
+        return PassivatedThingCache.of(DefaultPassivationCacheConfig.of(ConfigFactory.parseString(
+                "passivation-cache { enabled = " + enabled + ", maximum-size = " + maximumSize + " }")));
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.things.service.persistence.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.json.FieldType;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.internal.utils.persistence.mongo.DittoBsonJson;
+import org.eclipse.ditto.internal.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.AttributeModified;
+import org.eclipse.ditto.things.model.signals.events.ThingCreated;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
+import org.eclipse.ditto.things.service.persistence.serializer.ThingMongoEventAdapter;
+import org.eclipse.ditto.things.service.persistence.serializer.ThingMongoSnapshotAdapter;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import akka.actor.ActorRef;
+
+/**
+ * Unit test for {@link PersistedThingRecovery}.
+ */
+public final class PersistedThingRecoveryTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto", "recovered");
+    private static final String PID = ThingPersistenceActor.PERSISTENCE_ID_PREFIX + THING_ID;
+    private static final JsonPointer LOCATION = JsonPointer.of("location");
+    private static final Thing THING = Thing.newBuilder()
+            .setId(THING_ID)
+            .setAttribute(LOCATION, JsonValue.of("kitchen"))
+            .build();
+
+    private final ThingMongoEventAdapter eventAdapter = new ThingMongoEventAdapter(null);
+    private final PersistedThingRecovery underTest =
+            PersistedThingRecovery.of(new ThingMongoSnapshotAdapter(Mockito.mock(ActorRef.class)), eventAdapter);
+
+    @Test
+    public void thingIsRecoveredFromSnapshotAndEventsAfterIt() {
+        final Document snapshot = snapshot(THING.toBuilder().setRevision(2L).build());
+        final List<Document> journalEntries = List.of(
+                journalEntry(thingCreated(1L), attributeModified("hall", 2L)),
+                journalEntry(attributeModified("garden", 3L), attributeModified("roof", 4L)));
+
+        final PersistedThingRecovery.RecoveredThing result = underTest.recover(THING_ID, snapshot, journalEntries);
+
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getThing()).hasValueSatisfying(thing -> {
+            assertThat(thing.getAttributes().flatMap(attributes -> attributes.getValue(LOCATION)))
+                    .contains(JsonValue.of("roof"));
+            assertThat(thing.getRevision().map(revision -> revision.toLong())).contains(4L);
+        });
+    }
+
+    @Test
+    public void thingWithoutSnapshotIsRecoveredFromEvents() {
+        final PersistedThingRecovery.RecoveredThing result = underTest.recover(THING_ID, null,
+                List.of(journalEntry(thingCreated(1L), attributeModified("hall", 2L))));
+
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getThing().flatMap(Thing::getAttributes).flatMap(attributes -> attributes.getValue(LOCATION)))
+                .contains(JsonValue.of("hall"));
+        assertThat(PersistedThingRecovery.getSnapshotSeqNo(null)).isZero();
+    }
+
+    @Test
+    public void missingEventsAfterSnapshotAreInconsistent() {
+        final Document snapshot = snapshot(THING.toBuilder().setRevision(2L).build());
+
+        final PersistedThingRecovery.RecoveredThing result = underTest.recover(THING_ID, snapshot,
+                List.of(journalEntry(attributeModified("roof", 4L))));
+
+        assertThat(result.isConsistent()).isFalse();
+        assertThat((CharSequence) result.getThingId()).isEqualTo(THING_ID);
+        assertThat(result.getThing()).isEmpty();
+    }
+
+    @Test
+    public void deletedThingIsNotReturned() {
+        final PersistedThingRecovery.RecoveredThing result = underTest.recover(THING_ID, null,
+                List.of(journalEntry(thingCreated(1L), ThingDeleted.of(THING_ID, 2L, null, DittoHeaders.empty(),
+                        null))));
+
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getThing()).isEmpty();
+    }
+
+    private static Document snapshot(final Thing thing) {
+        final BsonDocument serializedSnapshot =
+                DittoBsonJson.getInstance().parse(thing.toJson(JsonSchemaVersion.V_2, FieldType.regularOrSpecial()));
+        return new Document()
+                .append(MongoReadJournal.S_ID, PID)
+                .append(MongoReadJournal.S_SN, thing.getRevision().orElseThrow().toLong())
+                .append(MongoReadJournal.S_SERIALIZED_SNAPSHOT, Document.parse(serializedSnapshot.toJson()));
+    }
+
+    private Document journalEntry(final ThingEvent<?>... events) {
+        final List<Document> serializedEvents = Arrays.stream(events)
+                .map(event -> new Document()
+                        .append(MongoReadJournal.J_EVENT_PID, PID)
+                        .append(MongoReadJournal.J_EVENT_SN, event.getRevision())
+                        .append(MongoReadJournal.J_EVENT_MANIFEST, eventAdapter.manifest(event))
+                        .append(MongoReadJournal.J_EVENT_PAYLOAD,
+                                Document.parse(((BsonDocument) eventAdapter.toJournal(event)).toJson())))
+                .collect(Collectors.toList());
+        return new Document()
+                .append(MongoReadJournal.J_EVENT_PID, PID)
+                .append(MongoReadJournal.J_EVENT, serializedEvents);
+    }
+
+    private static ThingCreated thingCreated(final long revision) {
+        return ThingCreated.of(THING, revision, null, DittoHeaders.empty(), null);
+    }
+
+    private static AttributeModified attributeModified(final String location, final long revision) {
+        return AttributeModified.of(THING_ID, LOCATION, JsonValue.of(location), revision, null, DittoHeaders.empty(),
+                null);
+    }
+
+}
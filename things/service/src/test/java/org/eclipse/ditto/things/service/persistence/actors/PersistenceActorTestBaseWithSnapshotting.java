@@ -72,7 +72,11 @@ public abstract class PersistenceActorTestBaseWithSnapshotting extends Persisten
 
     private static final String SNAPSHOT_PREFIX = "ditto.things.thing.snapshot.";
     static final String SNAPSHOT_THRESHOLD = SNAPSHOT_PREFIX + "threshold";
+    static final String SNAPSHOT_ON_PASSIVATION = SNAPSHOT_PREFIX + "snapshot-on-passivation";
+    static final String SNAPSHOT_RECOVERY_EVENT_BUDGET = SNAPSHOT_PREFIX + "recovery-event-budget";
     private static final String SNAPSHOT_INTERVAL = SNAPSHOT_PREFIX + "interval";
+    static final String PASSIVATION_CACHE_ENABLED = "ditto.things.thing.passivation-cache.enabled";
+    static final String PIPELINED_PERSISTENCE_ENABLED = "ditto.things.thing.pipelined-persistence.enabled";
     private static final String ACTIVITY_CHECK_PREFIX = "ditto.things.thing.activity-check";
     private static final String ACTIVITY_CHECK_INTERVAL = ACTIVITY_CHECK_PREFIX + "inactive-interval";
     private static final String ACTIVITY_CHECK_DELETED_INTERVAL = ACTIVITY_CHECK_PREFIX + "deleted-interval";
@@ -213,6 +217,15 @@ public abstract class PersistenceActorTestBaseWithSnapshotting extends Persisten
         });
     }
 
+    void assertLatestSnapshot(final ThingId thingId, final Thing expectedSnapshot) {
+        retryOnAssertionError(() -> {
+            final List<Thing> snapshots = snapshotTestHelper.getAllSnapshotsAscending(thingId);
+            Assertions.assertListWithIndexInfo(snapshots.subList(Math.max(0, snapshots.size() - 1), snapshots.size()),
+                            PersistenceActorTestBaseWithSnapshotting::assertThingInSnapshot)
+                    .isEqualTo(Collections.singletonList(expectedSnapshot));
+        });
+    }
+
     private static void retryOnAssertionError(final Runnable r) {
         Assertions.retryOnAssertionError(r, PERSISTENCE_ASSERT_WAIT_AT_MOST_MS, PERSISTENCE_ASSERT_RETRY_DELAY_MS);
     }
@@ -12,12 +12,15 @@
  */
 package org.eclipse.ditto.things.service.persistence.actors;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 
 import org.eclipse.ditto.base.model.common.HttpStatus;
 import org.eclipse.ditto.base.model.signals.events.EventsourcedEvent;
+import org.eclipse.ditto.internal.utils.persistentactors.PassivatedEntity;
 import org.eclipse.ditto.internal.utils.test.Retry;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonFieldSelector;
@@ -223,6 +226,206 @@ public final class ThingPersistenceActorSnapshottingTest extends PersistenceActo
         };
     }
 
+    @Test
+    public void thingWithChangesIsSnapshotOnPassivation() {
+        final Config customConfig = createNewDefaultTestConfig()
+                .withValue(SNAPSHOT_THRESHOLD, ConfigValueFactory.fromAnyRef(100))
+                .withValue(SNAPSHOT_ON_PASSIVATION, ConfigValueFactory.fromAnyRef(true));
+        setup(customConfig);
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final ThingId thingId = thing.getEntityId().orElseThrow(IllegalStateException::new);
+
+                final ActorRef underTest = createPersistenceActorFor(thingId);
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                final Thing thingCreated = expectMsgClass(CreateThingResponse.class).getThingCreated()
+                        .orElseThrow(IllegalStateException::new);
+                assertSnapshotsEmpty(thingId);
+
+                // no access since the check for activity was "scheduled": the actor passivates
+                underTest.tell(ThingPersistenceActor.checkForActivity(Long.MAX_VALUE), getRef());
+
+                assertSnapshots(thingId, Collections.singletonList(thingCreated));
+            }
+        };
+    }
+
+    @Test
+    public void recoveryExceedingEventBudgetIsFollowedBySnapshot() {
+        final Config customConfig = createNewDefaultTestConfig()
+                .withValue(SNAPSHOT_THRESHOLD, ConfigValueFactory.fromAnyRef(100))
+                .withValue(SNAPSHOT_RECOVERY_EVENT_BUDGET, ConfigValueFactory.fromAnyRef(2));
+        setup(customConfig);
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final ThingId thingId = thing.getEntityId().orElseThrow(IllegalStateException::new);
+
+                ActorRef underTest = createPersistenceActorFor(thingId);
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                expectMsgClass(CreateThingResponse.class);
+
+                final Thing thingForModify = ThingsModelFactory.newThingBuilder(thing)
+                        .setAttribute(JsonFactory.newPointer("/foo"), JsonValue.of("bar"))
+                        .setRevision(2)
+                        .build();
+                underTest.tell(ModifyThing.of(thingId, thingForModify, null, dittoHeadersV2), getRef());
+                expectMsgClass(ModifyThingResponse.class);
+                assertSnapshotsEmpty(thingId);
+
+                // restart actor: recovery replays 2 events, which exhausts the event budget
+                watch(underTest);
+                underTest.tell(PoisonPill.getInstance(), getRef());
+                expectTerminated(underTest);
+                underTest = Retry.untilSuccess(() -> createPersistenceActorFor(thingId));
+
+                final RetrieveThing retrieveThing = RetrieveThing.getBuilder(thingId, dittoHeadersV2)
+                        .withSelectedFields(FIELD_SELECTOR)
+                        .build();
+                underTest.tell(retrieveThing, getRef());
+                assertThingInResponse(expectMsgClass(RetrieveThingResponse.class).getThing(), thingForModify, 2);
+
+                assertSnapshots(thingId, Collections.singletonList(thingForModify));
+            }
+        };
+    }
+
+    @Test
+    public void passivatedThingIsRehydratedFromPassivationCache() {
+        final Config customConfig = createNewDefaultTestConfig()
+                .withValue(SNAPSHOT_THRESHOLD, ConfigValueFactory.fromAnyRef(100))
+                .withValue(PASSIVATION_CACHE_ENABLED, ConfigValueFactory.fromAnyRef(true));
+        setup(customConfig);
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final ThingId thingId = thing.getEntityId().orElseThrow(IllegalStateException::new);
+                final PassivatedThingCache passivatedThingCache = PassivatedThingCache.get(actorSystem);
+
+                ActorRef underTest = createPersistenceActorFor(thingId);
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                expectMsgClass(CreateThingResponse.class);
+
+                final Thing thingForModify = ThingsModelFactory.newThingBuilder(thing)
+                        .setAttribute(JsonFactory.newPointer("/foo"), JsonValue.of("bar"))
+                        .build();
+                underTest.tell(ModifyThing.of(thingId, thingForModify, null, dittoHeadersV2), getRef());
+                expectMsgClass(ModifyThingResponse.class);
+
+                // passivate and stop the actor: its thing is kept in the cache
+                watch(underTest);
+                underTest.tell(ThingPersistenceActor.checkForActivity(Long.MAX_VALUE), getRef());
+                underTest.tell(PoisonPill.getInstance(), getRef());
+                expectTerminated(underTest);
+                assertThat(passivatedThingCache.size()).isEqualTo(1);
+
+                underTest = Retry.untilSuccess(() -> createPersistenceActorFor(thingId));
+                final RetrieveThing retrieveThing = RetrieveThing.getBuilder(thingId, dittoHeadersV2)
+                        .withSelectedFields(FIELD_SELECTOR)
+                        .build();
+                underTest.tell(retrieveThing, getRef());
+                assertThingInResponse(expectMsgClass(RetrieveThingResponse.class).getThing(), thingForModify, 2);
+                assertThat(passivatedThingCache.size()).isZero();
+
+                // the rehydrated actor continues with the next revision
+                final Thing thingForSecondModify = ThingsModelFactory.newThingBuilder(thingForModify)
+                        .setAttribute(JsonFactory.newPointer("/foo"), JsonValue.of("baz"))
+                        .build();
+                underTest.tell(ModifyThing.of(thingId, thingForSecondModify, null, dittoHeadersV2), getRef());
+                expectMsgClass(ModifyThingResponse.class);
+                underTest.tell(retrieveThing, getRef());
+                assertThingInResponse(expectMsgClass(RetrieveThingResponse.class).getThing(), thingForSecondModify,
+                        3);
+            }
+        };
+    }
+
+    @Test
+    public void staleThingInPassivationCacheIsDiscardedForSnapshotAndJournal() {
+        final Config customConfig = createNewDefaultTestConfig()
+                .withValue(SNAPSHOT_THRESHOLD, ConfigValueFactory.fromAnyRef(2))
+                .withValue(PASSIVATION_CACHE_ENABLED, ConfigValueFactory.fromAnyRef(true));
+        setup(customConfig);
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final ThingId thingId = thing.getEntityId().orElseThrow(IllegalStateException::new);
+
+                ActorRef underTest = createPersistenceActorFor(thingId);
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                final Thing thingCreated = expectMsgClass(CreateThingResponse.class).getThingCreated()
+                        .orElseThrow(IllegalStateException::new);
+
+                final Thing thingForModify = ThingsModelFactory.newThingBuilder(thing)
+                        .setAttribute(JsonFactory.newPointer("/foo"), JsonValue.of("bar"))
+                        .build();
+                underTest.tell(ModifyThing.of(thingId, thingForModify, null, dittoHeadersV2), getRef());
+                expectMsgClass(ModifyThingResponse.class);
+                assertSnapshots(thingId, Collections.singletonList(
+                        ThingsModelFactory.newThingBuilder(thingForModify).setRevision(2).build()));
+
+                final Thing thingForSecondModify = ThingsModelFactory.newThingBuilder(thingForModify)
+                        .setAttribute(JsonFactory.newPointer("/foo"), JsonValue.of("baz"))
+                        .build();
+                underTest.tell(ModifyThing.of(thingId, thingForSecondModify, null, dittoHeadersV2), getRef());
+                expectMsgClass(ModifyThingResponse.class);
+
+                // stop the actor without passivation and leave an outdated state of the thing in the cache
+                watch(underTest);
+                underTest.tell(PoisonPill.getInstance(), getRef());
+                expectTerminated(underTest);
+                PassivatedThingCache.get(actorSystem).put(thingId, PassivatedEntity.of(thingCreated, 1L, 0L));
+
+                underTest = Retry.untilSuccess(() -> createPersistenceActorFor(thingId));
+                final RetrieveThing retrieveThing = RetrieveThing.getBuilder(thingId, dittoHeadersV2)
+                        .withSelectedFields(FIELD_SELECTOR)
+                        .build();
+                underTest.tell(retrieveThing, getRef());
+                assertThingInResponse(expectMsgClass(RetrieveThingResponse.class).getThing(), thingForSecondModify,
+                        3);
+            }
+        };
+    }
+
+    @Test
+    public void snapshotDeferredByPipelinedEventsIsTakenWhenTheyArePersisted() {
+        final Config customConfig = createNewDefaultTestConfig()
+                .withValue(PIPELINED_PERSISTENCE_ENABLED, ConfigValueFactory.fromAnyRef(true));
+        setup(customConfig);
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final ThingId thingId = thing.getEntityId().orElseThrow(IllegalStateException::new);
+                final int modifications = 5;
+
+                final ActorRef underTest = createPersistenceActorFor(thingId);
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                expectMsgClass(CreateThingResponse.class);
+
+                // the snapshot threshold is passed while the modifications are being persisted
+                Thing lastModifiedThing = thing;
+                for (int i = 0; i < modifications; i++) {
+                    lastModifiedThing = ThingsModelFactory.newThingBuilder(thing)
+                            .setAttribute(JsonFactory.newPointer("/counter"), JsonValue.of(i))
+                            .setRevision(2L + i)
+                            .build();
+                    underTest.tell(ModifyThing.of(thingId, lastModifiedThing, null, dittoHeadersV2), getRef());
+                }
+                for (int i = 0; i < modifications; i++) {
+                    expectMsgClass(ModifyThingResponse.class);
+                }
+
+                assertLatestSnapshot(thingId, lastModifiedThing);
+            }
+        };
+    }
+
     @Test
     public void actorCannotBeStartedWithNegativeSnapshotThreshold() {
         final Config customConfig = createNewDefaultTestConfig().withValue(SNAPSHOT_THRESHOLD,
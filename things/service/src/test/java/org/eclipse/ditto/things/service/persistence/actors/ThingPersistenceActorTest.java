@@ -67,6 +67,7 @@ import org.eclipse.ditto.things.model.signals.commands.modify.DeleteAttributeRes
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteThing;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteThingResponse;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyAttribute;
+import org.eclipse.ditto.things.model.signals.commands.modify.ModifyAttributeResponse;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyAttributes;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyFeatureProperty;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyFeatures;
@@ -947,6 +948,57 @@ public final class ThingPersistenceActorTest extends PersistenceActorTestBase {
         };
     }
 
+    @Test
+    public void pipelinedModificationsAreAnsweredInOrderAndRecovered() {
+        TestKit.shutdownActorSystem(actorSystem);
+        setup(ConfigFactory.parseString("ditto.things.thing.pipelined-persistence.enabled = true"));
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final ThingId thingId = getIdOrThrow(thing);
+                final JsonPointer attributePointer = JsonPointer.of("counter");
+                final int modifications = 20;
+
+                final ActorRef underTest = createPersistenceActorFor(thing);
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                expectMsgClass(CreateThingResponse.class);
+
+                // send all modifications at once so that they are handled while earlier events are being persisted
+                for (int i = 0; i < modifications; i++) {
+                    underTest.tell(ModifyAttribute.of(thingId, attributePointer, JsonValue.of(i),
+                            dittoHeadersV2.toBuilder().correlationId("modify-" + i).build()), getRef());
+                }
+                underTest.tell(RetrieveAttribute.of(thingId, attributePointer, dittoHeadersV2), getRef());
+
+                for (int i = 0; i < modifications; i++) {
+                    final ModifyAttributeResponse response = expectMsgClass(ModifyAttributeResponse.class);
+                    assertThat(response.getDittoHeaders().getCorrelationId()).contains("modify-" + i);
+                }
+                final RetrieveAttributeResponse retrieveResponse = expectMsgClass(RetrieveAttributeResponse.class);
+                assertThat(retrieveResponse.getAttributeValue()).isEqualTo(JsonValue.of(modifications - 1));
+
+                // restart actor to recover thing state
+                watch(underTest);
+                underTest.tell(PoisonPill.getInstance(), getRef());
+                expectTerminated(underTest);
+                final ActorRef underTestAfterRestart = Retry.untilSuccess(() -> createPersistenceActorFor(thing));
+
+                final RetrieveThing retrieveThing = RetrieveThing.getBuilder(thingId, dittoHeadersV2)
+                        .withSelectedFields(JsonFactory.newFieldSelector("_revision,attributes", JSON_PARSE_OPTIONS))
+                        .build();
+                Awaitility.await().atMost(10L, TimeUnit.SECONDS).untilAsserted(() -> {
+                    underTestAfterRestart.tell(retrieveThing, getRef());
+                    final Thing recoveredThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+                    assertThat(recoveredThing.getRevision().map(ThingRevision::toLong))
+                            .contains(1L + modifications);
+                    assertThat(recoveredThing.getAttributes().flatMap(a -> a.getValue(attributePointer)))
+                            .contains(JsonValue.of(modifications - 1));
+                });
+            }
+        };
+    }
+
     @Test
     public void createThingInV2WithMissingPolicyIdThrowsPolicyIdMissingException() {
         final ThingId thingIdOfActor = ThingId.of("test.ns.v1", "createThingInV2WithMissingPolicyId");
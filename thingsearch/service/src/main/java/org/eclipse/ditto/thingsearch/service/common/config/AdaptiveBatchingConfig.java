@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.common.config;
+
+import java.time.Duration;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.KnownConfigValue;
+
+/**
+ * Provides configuration settings for adapting the bulk size and the number of parallel bulk writes of the
+ * persistence stream to the observed latency and error rate of bulk writes.
+ * The bulk size and the parallelism are increased additively as long as the bulk writes are fast and succeed; they
+ * are decreased multiplicatively otherwise.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public interface AdaptiveBatchingConfig {
+
+    /**
+     * Indicates whether the bulk size and parallelism are adapted at runtime.
+     * If not, the configured maximum bulk size and parallelism of the persistence stream are used.
+     *
+     * @return whether adaptive batching is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the lower bound of the bulk size.
+     *
+     * @return the minimum bulk size.
+     */
+    int getMinBulkSize();
+
+    /**
+     * Returns the lower bound of the number of bulk writes in flight.
+     *
+     * @return the minimum parallelism.
+     */
+    int getMinParallelism();
+
+    /**
+     * Returns the bulk write latency above which the bulk size and parallelism are decreased.
+     *
+     * @return the target latency of a bulk write.
+     */
+    Duration getTargetLatency();
+
+    /**
+     * Returns by how many write operations the bulk size is increased after a fast and successful bulk write.
+     *
+     * @return the additive increase of the bulk size.
+     */
+    int getBulkSizeIncrease();
+
+    /**
+     * Returns the factor by which bulk size and parallelism are multiplied after a slow or failed bulk write.
+     *
+     * @return the multiplicative decrease factor between 0 and 1.
+     */
+    double getDecreaseFactor();
+
+    /**
+     * Returns the moving average of the ratio of failed bulk writes above which the bulk size and parallelism are
+     * decreased.
+     *
+     * @return the maximum error rate between 0 and 1.
+     */
+    double getMaxErrorRate();
+
+    /**
+     * An enumeration of known config path expressions and their associated default values for
+     * {@code AdaptiveBatchingConfig}.
+     */
+    enum AdaptiveBatchingConfigValue implements KnownConfigValue {
+
+        /**
+         * Whether adaptive batching is enabled.
+         */
+        ENABLED("enabled", false),
+
+        /**
+         * The minimum bulk size.
+         */
+        MIN_BULK_SIZE("min-bulk-size", 10),
+
+        /**
+         * The minimum number of bulk writes in flight.
+         */
+        MIN_PARALLELISM("min-parallelism", 1),
+
+        /**
+         * The bulk write latency above which bulk size and parallelism are decreased.
+         */
+        TARGET_LATENCY("target-latency", Duration.ofSeconds(1L)),
+
+        /**
+         * The additive increase of the bulk size.
+         */
+        BULK_SIZE_INCREASE("bulk-size-increase", 10),
+
+        /**
+         * The multiplicative decrease factor.
+         */
+        DECREASE_FACTOR("decrease-factor", 0.5),
+
+        /**
+         * The maximum moving average of the ratio of failed bulk writes.
+         */
+        MAX_ERROR_RATE("max-error-rate", 0.1);
+
+        private final String configPath;
+        private final Object defaultValue;
+
+        AdaptiveBatchingConfigValue(final String configPath, final Object defaultValue) {
+            this.configPath = configPath;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        @Override
+        public String getConfigPath() {
+            return configPath;
+        }
+
+    }
+
+}
@@ -105,6 +105,15 @@ public interface BackgroundSyncConfig extends BackgroundStreamingConfig {
      */
     Duration getRecovery();
 
+    /**
+     * Get into how many slices of the thing ID range a background sync round is partitioned. Slices are synchronized
+     * in parallel by workers distributed across the search cluster. 1 synchronizes the whole range sequentially.
+     *
+     * @return the number of slices.
+     * @since 2.1.0
+     */
+    int getSlices();
+
     /**
      * Enumeration of known config keys and default values for {@code PersistenceCleanupConfig}
      */
@@ -169,7 +178,12 @@ public interface BackgroundSyncConfig extends BackgroundStreamingConfig {
         /**
          * Assume upstream healthy if no error happened for this long.
          */
-        RECOVERY("recovery", Duration.ofMinutes(4L));
+        RECOVERY("recovery", Duration.ofMinutes(4L)),
+
+        /**
+         * Number of slices of the thing ID range to synchronize in parallel.
+         */
+        SLICES("slices", 1);
 
         private final String path;
         private final Object defaultValue;
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.common.config;
+
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.utils.config.ConfigWithFallback;
+import org.eclipse.ditto.internal.utils.config.DittoConfigError;
+
+import com.typesafe.config.Config;
+
+/**
+ * This class is the default implementation of {@link AdaptiveBatchingConfig}.
+ *
+ * @since 2.1.0
+ */
+@Immutable
+public final class DefaultAdaptiveBatchingConfig implements AdaptiveBatchingConfig {
+
+    static final String CONFIG_PATH = "adaptive-batching";
+
+    private final boolean enabled;
+    private final int minBulkSize;
+    private final int minParallelism;
+    private final Duration targetLatency;
+    private final int bulkSizeIncrease;
+    private final double decreaseFactor;
+    private final double maxErrorRate;
+
+    private DefaultAdaptiveBatchingConfig(final ConfigWithFallback config) {
+        enabled = config.getBoolean(AdaptiveBatchingConfigValue.ENABLED.getConfigPath());
+        minBulkSize = config.getPositiveIntOrThrow(AdaptiveBatchingConfigValue.MIN_BULK_SIZE);
+        minParallelism = config.getPositiveIntOrThrow(AdaptiveBatchingConfigValue.MIN_PARALLELISM);
+        targetLatency = config.getNonNegativeDurationOrThrow(AdaptiveBatchingConfigValue.TARGET_LATENCY);
+        bulkSizeIncrease = config.getPositiveIntOrThrow(AdaptiveBatchingConfigValue.BULK_SIZE_INCREASE);
+        decreaseFactor = getRatio(config, AdaptiveBatchingConfigValue.DECREASE_FACTOR);
+        maxErrorRate = getRatio(config, AdaptiveBatchingConfigValue.MAX_ERROR_RATE);
+    }
+
+    /**
+     * Returns an instance of DefaultAdaptiveBatchingConfig based on the settings of the specified Config.
+     *
+     * @param config is supposed to provide the settings of the adaptive batching config at {@value CONFIG_PATH}.
+     * @return the instance.
+     * @throws org.eclipse.ditto.internal.utils.config.DittoConfigError if {@code config} is invalid.
+     */
+    public static DefaultAdaptiveBatchingConfig of(final Config config) {
+        return new DefaultAdaptiveBatchingConfig(
+                ConfigWithFallback.newInstance(config, CONFIG_PATH, AdaptiveBatchingConfigValue.values()));
+    }
+
+    private static double getRatio(final ConfigWithFallback config, final AdaptiveBatchingConfigValue configValue) {
+        final double result = config.getDouble(configValue.getConfigPath());
+        if (result < 0.0 || result > 1.0) {
+            throw new DittoConfigError(MessageFormat.format("The value of <{0}> must be between 0 and 1 but was <{1}>!",
+                    configValue.getConfigPath(), result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public int getMinBulkSize() {
+        return minBulkSize;
+    }
+
+    @Override
+    public int getMinParallelism() {
+        return minParallelism;
+    }
+
+    @Override
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    @Override
+    public int getBulkSizeIncrease() {
+        return bulkSizeIncrease;
+    }
+
+    @Override
+    public double getDecreaseFactor() {
+        return decreaseFactor;
+    }
+
+    @Override
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DefaultAdaptiveBatchingConfig that = (DefaultAdaptiveBatchingConfig) o;
+        return enabled == that.enabled &&
+                minBulkSize == that.minBulkSize &&
+                minParallelism == that.minParallelism &&
+                bulkSizeIncrease == that.bulkSizeIncrease &&
+                Double.compare(that.decreaseFactor, decreaseFactor) == 0 &&
+                Double.compare(that.maxErrorRate, maxErrorRate) == 0 &&
+                Objects.equals(targetLatency, that.targetLatency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, minBulkSize, minParallelism, targetLatency, bulkSizeIncrease, decreaseFactor,
+                maxErrorRate);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "enabled=" + enabled +
+                ", minBulkSize=" + minBulkSize +
+                ", minParallelism=" + minParallelism +
+                ", targetLatency=" + targetLatency +
+                ", bulkSizeIncrease=" + bulkSizeIncrease +
+                ", decreaseFactor=" + decreaseFactor +
+                ", maxErrorRate=" + maxErrorRate +
+                "]";
+    }
+
+}
@@ -39,6 +39,7 @@ public final class DefaultBackgroundSyncConfig implements BackgroundSyncConfig {
     private final Duration maxBackoff;
     private final int maxRestarts;
     private final Duration recovery;
+    private final int slices;
 
     private DefaultBackgroundSyncConfig(final Config config) {
         this.config = config;
@@ -54,6 +55,7 @@ public final class DefaultBackgroundSyncConfig implements BackgroundSyncConfig {
         this.maxBackoff = config.getDuration(ConfigValue.MAX_BACKOFF.getConfigPath());
         this.maxRestarts = config.getInt(ConfigValue.MAX_RESTARTS.getConfigPath());
         this.recovery = config.getDuration(ConfigValue.RECOVERY.getConfigPath());
+        slices = Math.max(1, config.getInt(ConfigValue.SLICES.getConfigPath()));
     }
 
     /**
@@ -156,6 +158,11 @@ public final class DefaultBackgroundSyncConfig implements BackgroundSyncConfig {
         return recovery;
     }
 
+    @Override
+    public int getSlices() {
+        return slices;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (o instanceof DefaultBackgroundSyncConfig) {
@@ -172,6 +179,7 @@ public final class DefaultBackgroundSyncConfig implements BackgroundSyncConfig {
                     Objects.equals(maxBackoff, that.maxBackoff) &&
                     maxRestarts == that.maxRestarts &&
                     Objects.equals(recovery, that.recovery) &&
+                    slices == that.slices &&
                     Objects.equals(config, that.config);
         } else {
             return false;
@@ -181,7 +189,8 @@ public final class DefaultBackgroundSyncConfig implements BackgroundSyncConfig {
     @Override
     public int hashCode() {
         return Objects.hash(enabled, quietPeriod, idleTimeout, keptEvents, toleranceWindow, policyAskTimeout,
-                throttleThroughput, throttlePeriod, minBackoff, maxBackoff, maxRestarts, recovery, config);
+                throttleThroughput, throttlePeriod, minBackoff, maxBackoff, maxRestarts, recovery, slices,
+                config);
     }
 
     @Override
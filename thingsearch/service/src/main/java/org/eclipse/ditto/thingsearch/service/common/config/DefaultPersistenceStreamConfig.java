@@ -39,6 +39,9 @@ public final class DefaultPersistenceStreamConfig implements PersistenceStreamCo
     private final Duration ackDelay;
     private final WriteConcern withAcknowledgementsWriteConcern;
     private final DefaultStreamStageConfig defaultStreamStageConfig;
+    private final DefaultAdaptiveBatchingConfig adaptiveBatchingConfig;
+    private final int incrementalUpdateCacheSize;
+    private final int incrementalUpdateMaxDiffSize;
 
     private DefaultPersistenceStreamConfig(final ConfigWithFallback persistenceStreamScopedConfig,
             final DefaultStreamStageConfig defaultStreamStageConfig) {
@@ -55,6 +58,11 @@ public final class DefaultPersistenceStreamConfig implements PersistenceStreamCo
                     return new DittoConfigError(msg);
                 });
         this.defaultStreamStageConfig = defaultStreamStageConfig;
+        adaptiveBatchingConfig = DefaultAdaptiveBatchingConfig.of(persistenceStreamScopedConfig);
+        incrementalUpdateCacheSize = persistenceStreamScopedConfig.getNonNegativeIntOrThrow(
+                PersistenceStreamConfigValue.INCREMENTAL_UPDATE_CACHE_SIZE);
+        incrementalUpdateMaxDiffSize = persistenceStreamScopedConfig.getPositiveIntOrThrow(
+                PersistenceStreamConfigValue.INCREMENTAL_UPDATE_MAX_DIFF_SIZE);
     }
 
     /**
@@ -85,6 +93,21 @@ public final class DefaultPersistenceStreamConfig implements PersistenceStreamCo
         return withAcknowledgementsWriteConcern;
     }
 
+    @Override
+    public AdaptiveBatchingConfig getAdaptiveBatchingConfig() {
+        return adaptiveBatchingConfig;
+    }
+
+    @Override
+    public int getIncrementalUpdateCacheSize() {
+        return incrementalUpdateCacheSize;
+    }
+
+    @Override
+    public int getIncrementalUpdateMaxDiffSize() {
+        return incrementalUpdateMaxDiffSize;
+    }
+
     @Override
     public int getParallelism() {
         return defaultStreamStageConfig.getParallelism();
@@ -107,12 +130,16 @@ public final class DefaultPersistenceStreamConfig implements PersistenceStreamCo
         return maxBulkSize == that.maxBulkSize &&
                 Objects.equals(ackDelay, that.ackDelay) &&
                 Objects.equals(withAcknowledgementsWriteConcern, that.withAcknowledgementsWriteConcern) &&
-                Objects.equals(defaultStreamStageConfig, that.defaultStreamStageConfig);
+                Objects.equals(defaultStreamStageConfig, that.defaultStreamStageConfig) &&
+                incrementalUpdateCacheSize == that.incrementalUpdateCacheSize &&
+                incrementalUpdateMaxDiffSize == that.incrementalUpdateMaxDiffSize &&
+                Objects.equals(adaptiveBatchingConfig, that.adaptiveBatchingConfig);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(maxBulkSize, ackDelay, withAcknowledgementsWriteConcern, defaultStreamStageConfig);
+        return Objects.hash(maxBulkSize, ackDelay, withAcknowledgementsWriteConcern, defaultStreamStageConfig,
+                adaptiveBatchingConfig, incrementalUpdateCacheSize, incrementalUpdateMaxDiffSize);
     }
 
     @Override
@@ -122,6 +149,9 @@ public final class DefaultPersistenceStreamConfig implements PersistenceStreamCo
                 ", ackDelay=" + ackDelay +
                 ", withAcknowledgementsWriteConcern=" + withAcknowledgementsWriteConcern +
                 ", defaultStreamStageConfig=" + defaultStreamStageConfig +
+                ", adaptiveBatchingConfig=" + adaptiveBatchingConfig +
+                ", incrementalUpdateCacheSize=" + incrementalUpdateCacheSize +
+                ", incrementalUpdateMaxDiffSize=" + incrementalUpdateMaxDiffSize +
                 "]";
     }
 
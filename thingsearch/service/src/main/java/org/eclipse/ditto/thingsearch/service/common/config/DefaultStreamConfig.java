@@ -36,6 +36,8 @@ public final class DefaultStreamConfig implements StreamConfig {
 
     private final int maxArraySize;
     private final Duration writeInterval;
+    private final Duration acknowledgedWriteInterval;
+    private final int changeQueueStripes;
     private final boolean deleteImmediately;
     private final StreamStageConfig retrievalConfig;
     private final PersistenceStreamConfig persistenceStreamConfig;
@@ -45,6 +47,9 @@ public final class DefaultStreamConfig implements StreamConfig {
     private DefaultStreamConfig(final ConfigWithFallback streamScopedConfig) {
         maxArraySize = streamScopedConfig.getNonNegativeIntOrThrow(StreamConfigValue.MAX_ARRAY_SIZE);
         writeInterval = streamScopedConfig.getNonNegativeDurationOrThrow(StreamConfigValue.WRITE_INTERVAL);
+        acknowledgedWriteInterval =
+                streamScopedConfig.getNonNegativeDurationOrThrow(StreamConfigValue.ACKNOWLEDGED_WRITE_INTERVAL);
+        changeQueueStripes = streamScopedConfig.getPositiveIntOrThrow(StreamConfigValue.CHANGE_QUEUE_STRIPES);
         deleteImmediately = streamScopedConfig.getBoolean(StreamConfigValue.DELETE_IMMEDIATELY.getConfigPath());
         askWithRetryConfig = DefaultAskWithRetryConfig.of(streamScopedConfig, ASK_WITH_RETRY_CONFIG_PATH);
         retrievalConfig = DefaultStreamStageConfig.getInstance(streamScopedConfig, RETRIEVAL_CONFIG_PATH);
@@ -73,6 +78,16 @@ public final class DefaultStreamConfig implements StreamConfig {
         return writeInterval;
     }
 
+    @Override
+    public Duration getAcknowledgedWriteInterval() {
+        return acknowledgedWriteInterval;
+    }
+
+    @Override
+    public int getChangeQueueStripes() {
+        return changeQueueStripes;
+    }
+
     @Override
     public boolean isDeleteImmediately() {
         return deleteImmediately;
@@ -109,6 +124,8 @@ public final class DefaultStreamConfig implements StreamConfig {
         final DefaultStreamConfig that = (DefaultStreamConfig) o;
         return maxArraySize == that.maxArraySize &&
                 writeInterval.equals(that.writeInterval) &&
+                acknowledgedWriteInterval.equals(that.acknowledgedWriteInterval) &&
+                changeQueueStripes == that.changeQueueStripes &&
                 deleteImmediately == that.deleteImmediately &&
                 askWithRetryConfig.equals(that.askWithRetryConfig) &&
                 retrievalConfig.equals(that.retrievalConfig) &&
@@ -118,8 +135,8 @@ public final class DefaultStreamConfig implements StreamConfig {
 
     @Override
     public int hashCode() {
-        return Objects.hash(maxArraySize, writeInterval, deleteImmediately, askWithRetryConfig, retrievalConfig,
-                persistenceStreamConfig, streamCacheConfig);
+        return Objects.hash(maxArraySize, writeInterval, acknowledgedWriteInterval, changeQueueStripes,
+                deleteImmediately, askWithRetryConfig, retrievalConfig, persistenceStreamConfig, streamCacheConfig);
     }
 
     @Override
@@ -127,6 +144,8 @@ public final class DefaultStreamConfig implements StreamConfig {
         return getClass().getSimpleName() + " [" +
                 "maxArraySize=" + maxArraySize +
                 ", writeInterval=" + writeInterval +
+                ", acknowledgedWriteInterval=" + acknowledgedWriteInterval +
+                ", changeQueueStripes=" + changeQueueStripes +
                 ", deleteImmediately=" + deleteImmediately +
                 ", askWithRetryConfig=" + askWithRetryConfig +
                 ", retrievalConfig=" + retrievalConfig +
@@ -48,6 +48,32 @@ public interface PersistenceStreamConfig extends StreamStageConfig {
      */
     WriteConcern getWithAcknowledgementsWriteConcern();
 
+    /**
+     * Returns the configuration settings for adapting bulk size and parallelism to the observed bulk write latency.
+     *
+     * @return the adaptive batching config.
+     * @since 2.1.0
+     */
+    AdaptiveBatchingConfig getAdaptiveBatchingConfig();
+
+    /**
+     * Returns how many search index documents are remembered after writing them so that the next change of the same
+     * thing is written as incremental update. A value of 0 disables incremental updates.
+     *
+     * @return the number of remembered search index documents.
+     * @since 2.1.0
+     */
+    int getIncrementalUpdateCacheSize();
+
+    /**
+     * Returns the maximum size of an incremental update, counted in changed values and in elements of replaced
+     * arrays and objects. Larger changes replace the search index document entirely.
+     *
+     * @return the maximum size of an incremental update.
+     * @since 2.1.0
+     */
+    int getIncrementalUpdateMaxDiffSize();
+
     /**
      * An enumeration of known config path expressions and their associated default values for
      * {@code PersistenceStreamConfig}.
@@ -69,7 +95,17 @@ public interface PersistenceStreamConfig extends StreamStageConfig {
          * The write concern used for search index updates requiring acknowledgements.
          * See {@link com.mongodb.WriteConcern} for available options.
          */
-        WITH_ACKS_WRITE_CONCERN("with-acks-writeConcern", "journaled");
+        WITH_ACKS_WRITE_CONCERN("with-acks-writeConcern", "journaled"),
+
+        /**
+         * How many written search index documents are remembered to compute incremental updates.
+         */
+        INCREMENTAL_UPDATE_CACHE_SIZE("incremental-update-cache-size", 10_000),
+
+        /**
+         * The maximum size of an incremental update.
+         */
+        INCREMENTAL_UPDATE_MAX_DIFF_SIZE("incremental-update-max-diff-size", 100);
 
         private final String configPath;
         private final Object defaultValue;
@@ -39,6 +39,22 @@ public interface StreamConfig {
      */
     Duration getWriteInterval();
 
+    /**
+     * Returns the minimal delay between dumps of changes requesting the acknowledgement "search-persisted".
+     *
+     * @return the interval.
+     * @since 2.1.0
+     */
+    Duration getAcknowledgedWriteInterval();
+
+    /**
+     * Returns the number of concurrent maps the queue of thing changes is striped into.
+     *
+     * @return the number of stripes.
+     * @since 2.1.0
+     */
+    int getChangeQueueStripes();
+
     /**
      * Returns whether to delete entries from the search index immediately.
      *
@@ -90,6 +106,16 @@ public interface StreamConfig {
          */
         WRITE_INTERVAL("write-interval", Duration.ofSeconds(1L)),
 
+        /**
+         * The minimal delay between dumps of changes requesting acknowledgements.
+         */
+        ACKNOWLEDGED_WRITE_INTERVAL("acknowledged-write-interval", Duration.ofMillis(100L)),
+
+        /**
+         * The number of concurrent maps the queue of thing changes is striped into.
+         */
+        CHANGE_QUEUE_STRIPES("change-queue-stripes", 16),
+
         /**
          * Whether to delete entries from the search index immediately.
          */
@@ -54,6 +54,7 @@ import org.eclipse.ditto.base.model.signals.commands.exceptions.GatewayQueryTime
 import org.reactivestreams.Publisher;
 
 import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.CountOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
@@ -259,6 +260,16 @@ public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
         return Source.fromPublisher(publisher).map(MongoThingsSearchPersistence::readAsMetadata);
     }
 
+    @Override
+    public Source<ThingId, NotUsed> sudoSampleThingIds(final int sampleSize) {
+        final List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.exists(PersistenceConstants.FIELD_DELETE_AT, false)),
+                Aggregates.sample(sampleSize),
+                Aggregates.project(Projections.include(PersistenceConstants.FIELD_ID))
+        );
+        return Source.fromPublisher(collection.aggregate(pipeline)).map(MongoThingsSearchPersistence::toId);
+    }
+
     private ResultList<ThingId> toResultList(final List<Document> resultsPlus0ne, final int skip, final int limit,
             final List<SortOption> sortOptions) {
 
@@ -102,6 +102,16 @@ public interface ThingsSearchPersistence {
      */
     Source<Metadata, NotUsed> sudoStreamMetadata(final EntityId lowerBound);
 
+    /**
+     * Draw a random sample of thing IDs from the search index entries not marked for deletion.
+     * Do not consider authorization.
+     *
+     * @param sampleSize the maximum number of thing IDs to draw.
+     * @return the source of sampled thing IDs in no particular order.
+     * @since 2.1.0
+     */
+    Source<ThingId, NotUsed> sudoSampleThingIds(int sampleSize);
+
     /**
      * Returns the IDs for all found documents.
      *
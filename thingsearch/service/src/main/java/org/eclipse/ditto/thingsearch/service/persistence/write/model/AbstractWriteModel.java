@@ -34,6 +34,11 @@ public abstract class AbstractWriteModel {
      */
     public static final String SET = "$set";
 
+    /**
+     * MongoDB operator for removing a field.
+     */
+    public static final String UNSET = "$unset";
+
     private final Metadata metadata;
 
     /**
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.model;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+/**
+ * Computes the MongoDB update operators which transform one search index document into another.
+ * <p>
+ * Nested documents are compared field by field and arrays of equal length element by element. Everything else is
+ * replaced as a whole. The size of the diff is the number of set or unset values, where a replaced array or document
+ * additionally counts its elements.
+ * </p>
+ */
+@NotThreadSafe
+final class BsonDiff {
+
+    private static final char PATH_SEPARATOR = '.';
+
+    private final int maxDiffSize;
+    private final Document set;
+    private final Document unset;
+    private int diffSize;
+
+    private BsonDiff(final int maxDiffSize) {
+        this.maxDiffSize = maxDiffSize;
+        set = new Document();
+        unset = new Document();
+        diffSize = 0;
+    }
+
+    /**
+     * Compute the update operators transforming a document into another.
+     *
+     * @param from the document to transform.
+     * @param to the document to transform into.
+     * @param maxDiffSize the maximum size of the diff.
+     * @return the update document with {@code $set} and {@code $unset} operators, or an empty optional if there are
+     * no changes or if the diff is larger than {@code maxDiffSize}.
+     */
+    static Optional<Document> computeUpdate(final Document from, final Document to, final int maxDiffSize) {
+        final BsonDiff diff = new BsonDiff(maxDiffSize);
+        if (diff.diffDocuments("", from, to)) {
+            return diff.toUpdate();
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private boolean diffDocuments(final String prefix, final Map<String, ?> from, final Map<String, ?> to) {
+        for (final Map.Entry<String, ?> entry : to.entrySet()) {
+            final String key = entry.getKey();
+            final String path = prefix + key;
+            if (from.containsKey(key)) {
+                if (!diffValues(path, from.get(key), entry.getValue())) {
+                    return false;
+                }
+            } else if (!addSet(path, entry.getValue())) {
+                return false;
+            }
+        }
+        for (final String key : from.keySet()) {
+            if (!to.containsKey(key) && !addUnset(prefix + key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean diffArrays(final String prefix, final BsonArray from, final BsonArray to) {
+        final Iterator<BsonValue> fromIterator = from.iterator();
+        final Iterator<BsonValue> toIterator = to.iterator();
+        for (int i = 0; toIterator.hasNext(); i++) {
+            if (!diffValues(prefix + i, fromIterator.next(), toIterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean diffValues(final String path, @Nullable final Object from, @Nullable final Object to) {
+        if (Objects.equals(from, to)) {
+            return true;
+        } else if (from instanceof BsonDocument && to instanceof BsonDocument) {
+            return diffDocuments(path + PATH_SEPARATOR, (BsonDocument) from, (BsonDocument) to);
+        } else if (from instanceof BsonArray && to instanceof BsonArray &&
+                ((BsonArray) from).size() == ((BsonArray) to).size()) {
+            return diffArrays(path + PATH_SEPARATOR, (BsonArray) from, (BsonArray) to);
+        } else {
+            return addSet(path, to);
+        }
+    }
+
+    private boolean addSet(final String path, @Nullable final Object value) {
+        set.append(path, value);
+        return increaseDiffSize(1 + sizeOf(value));
+    }
+
+    private boolean addUnset(final String path) {
+        unset.append(path, "");
+        return increaseDiffSize(1);
+    }
+
+    private boolean increaseDiffSize(final int increment) {
+        diffSize += increment;
+        return diffSize <= maxDiffSize;
+    }
+
+    private Optional<Document> toUpdate() {
+        final Document update = new Document();
+        if (!set.isEmpty()) {
+            update.append(AbstractWriteModel.SET, set);
+        }
+        if (!unset.isEmpty()) {
+            update.append(AbstractWriteModel.UNSET, unset);
+        }
+        return update.isEmpty() ? Optional.empty() : Optional.of(update);
+    }
+
+    private static int sizeOf(@Nullable final Object value) {
+        if (value instanceof BsonDocument) {
+            return ((BsonDocument) value).size();
+        } else if (value instanceof BsonArray) {
+            return ((BsonArray) value).size();
+        } else {
+            return 0;
+        }
+    }
+
+}
@@ -13,27 +13,43 @@
 package org.eclipse.ditto.thingsearch.service.persistence.write.model;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
+import org.bson.BsonString;
 import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.eclipse.ditto.thingsearch.service.persistence.PersistenceConstants;
 
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.WriteModel;
 
 /**
  * Write model for an entire Thing.
+ * <p>
+ * The search index document is either replaced entirely or, if the write model was created by
+ * {@link #toIncrementalUpdate(ThingWriteModel, int)}, updated by {@code $set} and {@code $unset} operators. An
+ * incremental update matches only the search index document it was computed from.
+ * </p>
  */
 @NotThreadSafe
 public final class ThingWriteModel extends AbstractWriteModel {
 
     private final Document thingDocument;
+    @Nullable private final Document incrementalUpdate;
+    private final long lastWrittenThingRevision;
 
-    private ThingWriteModel(final Metadata metadata, final Document thingDocument) {
+    private ThingWriteModel(final Metadata metadata, final Document thingDocument,
+            @Nullable final Document incrementalUpdate, final long lastWrittenThingRevision) {
         super(metadata);
         this.thingDocument = thingDocument;
+        this.incrementalUpdate = incrementalUpdate;
+        this.lastWrittenThingRevision = lastWrittenThingRevision;
     }
 
     /**
@@ -44,12 +60,60 @@ public final class ThingWriteModel extends AbstractWriteModel {
      * @return a Thing write model.
      */
     public static ThingWriteModel of(final Metadata metadata, final Document thingDocument) {
-        return new ThingWriteModel(metadata, thingDocument);
+        return new ThingWriteModel(metadata, thingDocument, null, 0L);
+    }
+
+    /**
+     * Compute an incremental update of the search index document written by another write model of the same thing.
+     * The search index document is replaced entirely instead if the thing revision did not increase, if the policy
+     * or its revision changed, or if the diff of the documents is too large.
+     *
+     * @param lastWriteModel the write model which wrote the current search index document of the thing.
+     * @param maxDiffSize the maximum size of the diff counted in changed values and in elements of replaced arrays and
+     * documents.
+     * @return the incremental write model, or an empty optional if the search index document should be replaced.
+     * @since 2.1.0
+     */
+    public Optional<ThingWriteModel> toIncrementalUpdate(final ThingWriteModel lastWriteModel, final int maxDiffSize) {
+        final Document lastThingDocument = lastWriteModel.thingDocument;
+        final long lastThingRevision = lastWriteModel.getMetadata().getThingRevision();
+        if (lastThingRevision >= getMetadata().getThingRevision() ||
+                !isEqualField(PersistenceConstants.FIELD_POLICY_ID, lastThingDocument) ||
+                !isEqualField(PersistenceConstants.FIELD_POLICY_REVISION, lastThingDocument)) {
+            return Optional.empty();
+        }
+        return BsonDiff.computeUpdate(lastThingDocument, thingDocument, maxDiffSize)
+                .map(update -> new ThingWriteModel(getMetadata(), thingDocument, update, lastThingRevision));
+    }
+
+    /**
+     * @return whether this write model updates the search index document incrementally instead of replacing it.
+     * @since 2.1.0
+     */
+    public boolean isIncrementalUpdate() {
+        return null != incrementalUpdate;
+    }
+
+    @Override
+    public Bson getFilter() {
+        if (null != incrementalUpdate) {
+            return Filters.and(
+                    Filters.eq(PersistenceConstants.FIELD_ID, new BsonString(getMetadata().getThingId().toString())),
+                    Filters.eq(PersistenceConstants.FIELD_REVISION, lastWrittenThingRevision),
+                    Filters.eq(PersistenceConstants.FIELD_POLICY_REVISION,
+                            thingDocument.get(PersistenceConstants.FIELD_POLICY_REVISION)));
+        } else {
+            return super.getFilter();
+        }
     }
 
     @Override
     public WriteModel<Document> toMongo() {
-        return new ReplaceOneModel<>(getFilter(), thingDocument, upsert());
+        if (null != incrementalUpdate) {
+            return new UpdateOneModel<>(getFilter(), incrementalUpdate);
+        } else {
+            return new ReplaceOneModel<>(getFilter(), thingDocument, upsert());
+        }
     }
 
     /**
@@ -59,6 +123,10 @@ public final class ThingWriteModel extends AbstractWriteModel {
         return thingDocument;
     }
 
+    private boolean isEqualField(final String key, final Document otherDocument) {
+        return Objects.equals(thingDocument.get(key), otherDocument.get(key));
+    }
+
     private static ReplaceOptions upsert() {
         return new ReplaceOptions().upsert(true);
     }
@@ -75,12 +143,14 @@ public final class ThingWriteModel extends AbstractWriteModel {
             return false;
         }
         final ThingWriteModel that = (ThingWriteModel) o;
-        return thingDocument.equals(that.thingDocument);
+        return lastWrittenThingRevision == that.lastWrittenThingRevision &&
+                thingDocument.equals(that.thingDocument) &&
+                Objects.equals(incrementalUpdate, that.incrementalUpdate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), thingDocument);
+        return Objects.hash(super.hashCode(), thingDocument, incrementalUpdate, lastWrittenThingRevision);
     }
 
 }
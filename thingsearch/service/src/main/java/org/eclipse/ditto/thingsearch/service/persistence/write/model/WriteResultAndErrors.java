@@ -85,6 +85,17 @@ public final class WriteResultAndErrors {
                 unexpectedError);
     }
 
+    /**
+     * Create a copy of this object with other bulk write errors.
+     *
+     * @param bulkWriteErrors the bulk write errors.
+     * @return the copy.
+     * @since 2.1.0
+     */
+    public WriteResultAndErrors withBulkWriteErrors(final List<BulkWriteError> bulkWriteErrors) {
+        return new WriteResultAndErrors(writeModels, bulkWriteResult, bulkWriteErrors, unexpectedError);
+    }
+
     /**
      * Retrieve the requested write models.
      *
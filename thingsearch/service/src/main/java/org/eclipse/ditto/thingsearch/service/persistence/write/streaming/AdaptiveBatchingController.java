@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.thingsearch.service.common.config.AdaptiveBatchingConfig;
+
+/**
+ * Adapts the bulk size and the number of bulk writes in flight of the search updater stream to the observed latency
+ * and error rate of bulk writes in an additive-increase-multiplicative-decrease (AIMD) fashion:
+ * <ul>
+ * <li>After each fast and successful bulk write, the bulk size is increased by a constant step until it reaches the
+ * maximum; only then the parallelism is increased by one. Increases happen only while the change queue holds at least
+ * one full bulk of changes, because larger or more bulks cannot raise the throughput of a stream starved of input.</li>
+ * <li>After a bulk write which was slower than the target latency or while the moving average of failed bulk writes
+ * is above the maximum error rate, bulk size and parallelism are multiplied by the decrease factor.</li>
+ * </ul>
+ * Bulk writes which started before the last decrease do not cause another decrease, so that one congestion event
+ * observed by many bulk writes in flight shrinks the parameters only once.
+ */
+@ThreadSafe
+final class AdaptiveBatchingController {
+
+    private static final String GAUGE_BULK_SIZE = "things_search_updater_adaptive_bulk_size";
+    private static final String GAUGE_PARALLELISM = "things_search_updater_adaptive_parallelism";
+    private static final String COUNTER_ADJUSTMENTS = "things_search_updater_adaptive_adjustments";
+    private static final String WITH_ACKS_TAG = "with_acks";
+    private static final String DIRECTION_TAG = "direction";
+
+    /**
+     * Weight of the latest bulk write in the moving average of the error rate.
+     */
+    private static final double ERROR_RATE_WEIGHT = 0.2;
+
+    private final AdaptiveBatchingConfig config;
+    private final LongSupplier backlog;
+    private final int minBulkSize;
+    private final int maxBulkSize;
+    private final int minParallelism;
+    private final int maxParallelism;
+    private final Gauge bulkSizeGauge;
+    private final Gauge parallelismGauge;
+    private final Counter increaseCounter;
+    private final Counter decreaseCounter;
+
+    private int bulkSize;
+    private int parallelism;
+    private double errorRate;
+    private long epoch;
+    private Duration lastLatency;
+
+    private AdaptiveBatchingController(final AdaptiveBatchingConfig config,
+            final int maxBulkSize,
+            final int maxParallelism,
+            final boolean shouldAcknowledge,
+            final LongSupplier backlog) {
+
+        this.config = config;
+        this.backlog = backlog;
+        this.maxBulkSize = Math.max(1, maxBulkSize);
+        this.maxParallelism = Math.max(1, maxParallelism);
+        minBulkSize = Math.min(config.getMinBulkSize(), this.maxBulkSize);
+        minParallelism = Math.min(config.getMinParallelism(), this.maxParallelism);
+        final String withAcks = String.valueOf(shouldAcknowledge);
+        bulkSizeGauge = DittoMetrics.gauge(GAUGE_BULK_SIZE).tag(WITH_ACKS_TAG, withAcks);
+        parallelismGauge = DittoMetrics.gauge(GAUGE_PARALLELISM).tag(WITH_ACKS_TAG, withAcks);
+        increaseCounter = DittoMetrics.counter(COUNTER_ADJUSTMENTS)
+                .tag(WITH_ACKS_TAG, withAcks)
+                .tag(DIRECTION_TAG, "increase");
+        decreaseCounter = DittoMetrics.counter(COUNTER_ADJUSTMENTS)
+                .tag(WITH_ACKS_TAG, withAcks)
+                .tag(DIRECTION_TAG, "decrease");
+        bulkSize = this.maxBulkSize;
+        parallelism = this.maxParallelism;
+        errorRate = 0.0;
+        epoch = 0L;
+        lastLatency = Duration.ZERO;
+        updateGauges();
+    }
+
+    /**
+     * Create a controller starting with the maximum bulk size and parallelism.
+     *
+     * @param config the adaptive batching config.
+     * @param maxBulkSize the upper bound of the bulk size.
+     * @param maxParallelism the upper bound of the number of bulk writes in flight.
+     * @param shouldAcknowledge whether the controlled stream writes with acknowledgements; used to tag the metrics.
+     * @param backlog supplier of the number of changes waiting in the change queue of the controlled stream.
+     * @return the controller.
+     */
+    static AdaptiveBatchingController of(final AdaptiveBatchingConfig config,
+            final int maxBulkSize,
+            final int maxParallelism,
+            final boolean shouldAcknowledge,
+            final LongSupplier backlog) {
+
+        return new AdaptiveBatchingController(config, maxBulkSize, maxParallelism, shouldAcknowledge, backlog);
+    }
+
+    /**
+     * @return the upper bound of the bulk size.
+     */
+    int getMaxBulkSize() {
+        return maxBulkSize;
+    }
+
+    /**
+     * @return the upper bound of the number of bulk writes in flight.
+     */
+    int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    /**
+     * @return the current bulk size.
+     */
+    synchronized int getBulkSize() {
+        return bulkSize;
+    }
+
+    /**
+     * @return the current number of bulk writes allowed in flight.
+     */
+    synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Mark the start of a bulk write.
+     *
+     * @return the token to pass to {@link #onBulkWriteCompleted(long, java.time.Duration, boolean)}.
+     */
+    synchronized long onBulkWriteStarted() {
+        return epoch;
+    }
+
+    /**
+     * Adapt bulk size and parallelism to the outcome of a bulk write.
+     *
+     * @param startToken the token returned by {@link #onBulkWriteStarted()} when the bulk write started.
+     * @param latency how long the bulk write took.
+     * @param failed whether the bulk write failed.
+     */
+    synchronized void onBulkWriteCompleted(final long startToken, final Duration latency, final boolean failed) {
+        lastLatency = latency;
+        errorRate = (1.0 - ERROR_RATE_WEIGHT) * errorRate + (failed ? ERROR_RATE_WEIGHT : 0.0);
+        if (!config.isEnabled()) {
+            return;
+        }
+        final boolean congested = failed || errorRate > config.getMaxErrorRate() ||
+                latency.compareTo(config.getTargetLatency()) > 0;
+        if (congested) {
+            if (startToken == epoch) {
+                decrease();
+            }
+        } else if (backlog.getAsLong() >= bulkSize) {
+            increase();
+        }
+    }
+
+    /**
+     * @return a JSON representation of the current parameters for DevOps.
+     */
+    synchronized JsonObject toJson() {
+        return JsonObject.newBuilder()
+                .set("enabled", config.isEnabled())
+                .set("bulkSize", bulkSize)
+                .set("parallelism", parallelism)
+                .set("minBulkSize", minBulkSize)
+                .set("maxBulkSize", maxBulkSize)
+                .set("minParallelism", minParallelism)
+                .set("maxParallelism", maxParallelism)
+                .set("targetLatency", config.getTargetLatency().toString())
+                .set("lastLatency", lastLatency.toString())
+                .set("errorRate", errorRate)
+                .set("backlog", backlog.getAsLong())
+                .build();
+    }
+
+    private void increase() {
+        if (bulkSize < maxBulkSize) {
+            bulkSize = Math.min(maxBulkSize, bulkSize + config.getBulkSizeIncrease());
+        } else if (parallelism < maxParallelism) {
+            parallelism++;
+        } else {
+            return;
+        }
+        increaseCounter.increment();
+        updateGauges();
+    }
+
+    private void decrease() {
+        final double factor = config.getDecreaseFactor();
+        final int newBulkSize = Math.max(minBulkSize, (int) (bulkSize * factor));
+        final int newParallelism = Math.max(minParallelism, (int) (parallelism * factor));
+        if (newBulkSize != bulkSize || newParallelism != parallelism) {
+            bulkSize = newBulkSize;
+            parallelism = newParallelism;
+            epoch++;
+            decreaseCounter.increment();
+            updateGauges();
+        }
+    }
+
+    private void updateGauges() {
+        bulkSizeGauge.set((long) bulkSize);
+        parallelismGauge.set((long) parallelism);
+    }
+
+}
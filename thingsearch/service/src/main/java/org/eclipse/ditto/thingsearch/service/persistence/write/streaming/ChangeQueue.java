@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.Metadata;
+
+import akka.Done;
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+
+/**
+ * Collects changes from ThingUpdaters and hands them to the search updater stream on demand.
+ * <p>
+ * Changes are kept in striped concurrent maps so that ThingUpdaters enqueue without contending on a single lock or
+ * mailbox. Changes of the same thing are aggregated until they are drained. Draining removes the entries one by one,
+ * so enqueueing is never blocked by a dump; a change enqueued during a dump is either part of it or of the next one.
+ * </p>
+ * <p>
+ * Changes requesting the acknowledgement "search-persisted" are kept in a separate lane which is drained at its own
+ * interval so that they are not delayed by the bulk of changes without acknowledgement requests.
+ * </p>
+ * <p>
+ * Sources created by {@link #createSource(boolean, java.time.Duration)} do not poll an empty lane; they wait for the
+ * next enqueued change instead.
+ * </p>
+ */
+@ThreadSafe
+public final class ChangeQueue {
+
+    private static final String GAUGE_QUEUE_SIZE = "things_search_updater_change_queue_size";
+    private static final String GAUGE_OLDEST_AGE = "things_search_updater_change_queue_oldest_age_ms";
+    private static final String LANE_TAG = "lane";
+
+    private final Lane lane;
+    private final Lane acknowledgedLane;
+
+    private ChangeQueue(final int stripes) {
+        final int powerOfTwoStripes = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        lane = new Lane(powerOfTwoStripes, "default");
+        acknowledgedLane = new Lane(powerOfTwoStripes, "acknowledged");
+    }
+
+    /**
+     * Create an empty change queue.
+     *
+     * @param stripes the number of concurrent maps per lane; rounded up to a power of 2.
+     * @return the change queue.
+     */
+    public static ChangeQueue of(final int stripes) {
+        return new ChangeQueue(stripes);
+    }
+
+    /**
+     * Enqueue a change.
+     *
+     * @param metadata a description of the change.
+     */
+    public void enqueue(final Metadata metadata) {
+        ConsistencyLag.startS1InChangeQueue(metadata);
+        if (metadata.getSenders().isEmpty()) {
+            lane.enqueue(metadata);
+        } else {
+            acknowledgedLane.enqueue(metadata);
+        }
+    }
+
+    /**
+     * Remove all changes of one lane from the queue.
+     *
+     * @param shouldAcknowledge whether to drain the lane of changes requesting acknowledgements.
+     * @return the changes aggregated per thing.
+     */
+    public Map<ThingId, Metadata> drain(final boolean shouldAcknowledge) {
+        return shouldAcknowledge ? acknowledgedLane.drain() : lane.drain();
+    }
+
+    /**
+     * Update the gauges of the queue size and of the age of the oldest queued change of both lanes.
+     * The age is computed by scanning the queued changes, so this should be called periodically rather than on each
+     * change.
+     */
+    public void updateMetrics() {
+        lane.updateMetrics();
+        acknowledgedLane.updateMetrics();
+    }
+
+    /**
+     * Count the things with changes waiting in one lane of the queue.
+     *
+     * @param shouldAcknowledge whether to count the lane of changes requesting acknowledgements.
+     * @return the number of things with queued changes.
+     */
+    public long size(final boolean shouldAcknowledge) {
+        return shouldAcknowledge ? acknowledgedLane.size.get() : lane.size.get();
+    }
+
+    /**
+     * Create a source of nonempty queue snapshots such that the queue content is cleared after each snapshot.
+     *
+     * @param shouldAcknowledge defines whether for the created source the requested ack
+     * {@link org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel#SEARCH_PERSISTED} was required or not.
+     * @param writeInterval minimum delays between cache dumps.
+     * @return source of queue snapshots.
+     */
+    public Source<Map<ThingId, Metadata>, NotUsed> createSource(final boolean shouldAcknowledge,
+            final Duration writeInterval) {
+
+        final Lane laneToDrain = shouldAcknowledge ? acknowledgedLane : lane;
+        final Source<Done, NotUsed> repeat;
+        if (!writeInterval.isNegative() && !writeInterval.isZero()) {
+            repeat = Source.repeat(Done.getInstance()).throttle(1, writeInterval);
+        } else {
+            repeat = Source.repeat(Done.getInstance());
+        }
+        return repeat.mapAsync(1, tick -> laneToDrain.awaitNonEmpty())
+                .map(nonEmpty -> laneToDrain.drain())
+                .filter(map -> !map.isEmpty());
+    }
+
+    /**
+     * Changes of one lane with their enqueue time.
+     */
+    private static final class Lane {
+
+        private final ConcurrentHashMap<ThingId, QueuedChange>[] stripes;
+        private final int stripeMask;
+        private final AtomicLong size;
+        private final AtomicReference<CompletableFuture<Done>> nonEmptyWaiter;
+        private final Gauge sizeGauge;
+        private final Gauge oldestAgeGauge;
+
+        @SuppressWarnings("unchecked")
+        private Lane(final int numberOfStripes, final String laneName) {
+            stripes = new ConcurrentHashMap[numberOfStripes];
+            for (int i = 0; i < numberOfStripes; i++) {
+                stripes[i] = new ConcurrentHashMap<>();
+            }
+            stripeMask = numberOfStripes - 1;
+            size = new AtomicLong();
+            nonEmptyWaiter = new AtomicReference<>();
+            sizeGauge = DittoMetrics.gauge(GAUGE_QUEUE_SIZE).tag(LANE_TAG, laneName);
+            oldestAgeGauge = DittoMetrics.gauge(GAUGE_OLDEST_AGE).tag(LANE_TAG, laneName);
+        }
+
+        private void enqueue(final Metadata metadata) {
+            final ThingId thingId = metadata.getThingId();
+            final long now = System.nanoTime();
+            stripeOf(thingId).compute(thingId, (id, queuedChange) -> {
+                if (null == queuedChange) {
+                    sizeGauge.set(size.incrementAndGet());
+                    return new QueuedChange(metadata, now);
+                } else {
+                    return new QueuedChange(queuedChange.metadata.append(metadata), queuedChange.enqueuedNanos);
+                }
+            });
+            // a plain read first keeps the common case without a waiter from writing the shared reference;
+            // a waiter published after this read sees the incremented size in its re-check
+            if (null != nonEmptyWaiter.get()) {
+                final CompletableFuture<Done> waiter = nonEmptyWaiter.getAndSet(null);
+                if (null != waiter) {
+                    waiter.complete(Done.getInstance());
+                }
+            }
+        }
+
+        private CompletionStage<Done> awaitNonEmpty() {
+            if (size.get() > 0) {
+                return CompletableFuture.completedStage(Done.getInstance());
+            }
+            final CompletableFuture<Done> waiter = new CompletableFuture<>();
+            final CompletableFuture<Done> previousWaiter = nonEmptyWaiter.getAndSet(waiter);
+            if (null != previousWaiter) {
+                previousWaiter.complete(Done.getInstance());
+            }
+            // re-check after publishing the waiter so that a concurrent enqueue is not missed
+            if (size.get() > 0) {
+                nonEmptyWaiter.compareAndSet(waiter, null);
+                waiter.complete(Done.getInstance());
+            }
+            return waiter;
+        }
+
+        private Map<ThingId, Metadata> drain() {
+            final Map<ThingId, Metadata> result = new HashMap<>();
+            for (final ConcurrentHashMap<ThingId, QueuedChange> stripe : stripes) {
+                for (final ThingId thingId : stripe.keySet()) {
+                    final QueuedChange queuedChange = stripe.remove(thingId);
+                    if (null != queuedChange) {
+                        ConsistencyLag.startS2WaitForDemand(queuedChange.metadata);
+                        result.put(thingId, queuedChange.metadata);
+                    }
+                }
+            }
+            sizeGauge.set(size.addAndGet(-result.size()));
+            return result;
+        }
+
+        private void updateMetrics() {
+            final long now = System.nanoTime();
+            long oldestEnqueuedNanos = now;
+            for (final ConcurrentHashMap<ThingId, QueuedChange> stripe : stripes) {
+                for (final QueuedChange queuedChange : stripe.values()) {
+                    if (queuedChange.enqueuedNanos - oldestEnqueuedNanos < 0) {
+                        oldestEnqueuedNanos = queuedChange.enqueuedNanos;
+                    }
+                }
+            }
+            sizeGauge.set(size.get());
+            oldestAgeGauge.set(TimeUnit.NANOSECONDS.toMillis(now - oldestEnqueuedNanos));
+        }
+
+        private ConcurrentHashMap<ThingId, QueuedChange> stripeOf(final ThingId thingId) {
+            final int hash = thingId.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+        }
+
+    }
+
+    private static final class QueuedChange {
+
+        private final Metadata metadata;
+        private final long enqueuedNanos;
+
+        private QueuedChange(final Metadata metadata, final long enqueuedNanos) {
+            this.metadata = metadata;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.AbstractWriteModel;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.ThingDeleteModel;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.ThingWriteModel;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.WriteResultAndErrors;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Turns write models of things into incremental updates of the search index documents last written by this node.
+ * <p>
+ * The last written write model of each thing is remembered in a bounded cache once its bulk write is acknowledged
+ * without error. A subsequent write model of the same thing is converted into {@code $set} and {@code $unset}
+ * operators whose filter matches only the remembered search index document. If the search index document was changed
+ * meanwhile, e.g. by another node, the incremental update matches no document. Such updates are reported as failed so
+ * that the thing is written again entirely.
+ * </p>
+ * <p>
+ * Bulks containing soft deletions are not converted, because the number of documents matched by a soft deletion is
+ * unknown and would make the matched count of the bulk write result ambiguous.
+ * </p>
+ */
+@ThreadSafe
+final class IncrementalUpdates {
+
+    private static final String COUNTER_NAME = "things_search_updater_incremental_updates";
+    private static final String OUTCOME_TAG = "outcome";
+
+    /**
+     * Error code of the bulk write errors reported for incremental updates which matched no document.
+     */
+    static final int NOT_MATCHED_ERROR_CODE = -1;
+
+    @Nullable private final Cache<ThingId, ThingWriteModel> lastWriteModels;
+    private final int maxDiffSize;
+    private final Counter incrementalCounter;
+    private final Counter replacementCounter;
+    private final Counter notMatchedCounter;
+
+    private IncrementalUpdates(final int cacheSize, final int maxDiffSize) {
+        lastWriteModels = cacheSize > 0 ? Caffeine.newBuilder().maximumSize(cacheSize).build() : null;
+        this.maxDiffSize = maxDiffSize;
+        incrementalCounter = DittoMetrics.counter(COUNTER_NAME).tag(OUTCOME_TAG, "incremental");
+        replacementCounter = DittoMetrics.counter(COUNTER_NAME).tag(OUTCOME_TAG, "replacement");
+        notMatchedCounter = DittoMetrics.counter(COUNTER_NAME).tag(OUTCOME_TAG, "not_matched");
+    }
+
+    /**
+     * Create incremental updates.
+     *
+     * @param cacheSize how many last written write models to remember; 0 disables incremental updates.
+     * @param maxDiffSize the maximum size of an incremental update.
+     * @return the incremental updates.
+     */
+    static IncrementalUpdates of(final int cacheSize, final int maxDiffSize) {
+        return new IncrementalUpdates(cacheSize, maxDiffSize);
+    }
+
+    /**
+     * Convert write models of things into incremental updates where possible.
+     * Write models requesting acknowledgements and bulks containing soft deletions or write models of custom types
+     * are not converted.
+     *
+     * @param writeModels the write models of one bulk.
+     * @return the write models to execute.
+     */
+    List<AbstractWriteModel> convert(final List<AbstractWriteModel> writeModels) {
+        if (null == lastWriteModels) {
+            return writeModels;
+        }
+        final boolean isConvertible = writeModels.stream()
+                .allMatch(writeModel -> writeModel instanceof ThingWriteModel ||
+                        writeModel instanceof ThingDeleteModel && writeModel.toMongo() instanceof DeleteOneModel);
+        final List<AbstractWriteModel> result = new ArrayList<>(writeModels.size());
+        for (final AbstractWriteModel writeModel : writeModels) {
+            final ThingId thingId = writeModel.getMetadata().getThingId();
+            if (writeModel instanceof ThingWriteModel) {
+                final ThingWriteModel thingWriteModel = (ThingWriteModel) writeModel;
+                final ThingWriteModel lastWriteModel = lastWriteModels.getIfPresent(thingId);
+                if (isConvertible && null != lastWriteModel &&
+                        !writeModel.getMetadata().isShouldAcknowledge()) {
+                    result.add(thingWriteModel.toIncrementalUpdate(lastWriteModel, maxDiffSize)
+                            .map(this::countIncremental)
+                            .orElseGet(() -> countReplacement(thingWriteModel)));
+                } else {
+                    result.add(countReplacement(thingWriteModel));
+                }
+            } else {
+                lastWriteModels.invalidate(thingId);
+                result.add(writeModel);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether all incremental updates of a bulk matched their search index documents. If that cannot be
+     * ensured, the incremental updates are reported as failed by additional bulk write errors. The write models of
+     * successful writes are remembered as last written; those of failed writes are forgotten so that they are written
+     * again entirely.
+     *
+     * @param resultAndErrors the result of the bulk write.
+     * @param mongoWriteModels the executed MongoDB write models in the same order as the write models of the result.
+     * @return the result with additional errors for incremental updates which possibly matched no document.
+     */
+    WriteResultAndErrors checkResult(final WriteResultAndErrors resultAndErrors,
+            final List<WriteModel<Document>> mongoWriteModels) {
+
+        if (null == lastWriteModels) {
+            return resultAndErrors;
+        }
+        final List<AbstractWriteModel> writeModels = resultAndErrors.getWriteModels();
+        final BulkWriteResult bulkWriteResult = resultAndErrors.getBulkWriteResult();
+        if (resultAndErrors.getUnexpectedError().isPresent() || !bulkWriteResult.wasAcknowledged()) {
+            writeModels.forEach(writeModel -> lastWriteModels.invalidate(writeModel.getMetadata().getThingId()));
+            return resultAndErrors;
+        }
+        final BitSet failedIndices = new BitSet(writeModels.size());
+        for (final BulkWriteError error : resultAndErrors.getBulkWriteErrors()) {
+            failedIndices.set(error.getIndex());
+            lastWriteModels.invalidate(writeModels.get(error.getIndex()).getMetadata().getThingId());
+        }
+        final List<BulkWriteError> notMatchedErrors = checkMatchedCount(writeModels, mongoWriteModels,
+                bulkWriteResult, failedIndices);
+        notMatchedErrors.forEach(error -> {
+            failedIndices.set(error.getIndex());
+            lastWriteModels.invalidate(writeModels.get(error.getIndex()).getMetadata().getThingId());
+        });
+        rememberSuccessfulWrites(writeModels, failedIndices);
+        if (notMatchedErrors.isEmpty()) {
+            return resultAndErrors;
+        }
+        notMatchedCounter.increment(notMatchedErrors.size());
+        final List<BulkWriteError> errors = new ArrayList<>(resultAndErrors.getBulkWriteErrors());
+        errors.addAll(notMatchedErrors);
+        return resultAndErrors.withBulkWriteErrors(errors);
+    }
+
+    /**
+     * Remember the successfully written write models of things unless a write model of a later thing revision was
+     * remembered meanwhile by a concurrent bulk write.
+     */
+    private void rememberSuccessfulWrites(final List<AbstractWriteModel> writeModels, final BitSet failedIndices) {
+        for (int i = 0; i < writeModels.size(); i++) {
+            final AbstractWriteModel writeModel = writeModels.get(i);
+            if (!failedIndices.get(i) && writeModel instanceof ThingWriteModel) {
+                lastWriteModels.asMap().merge(writeModel.getMetadata().getThingId(), (ThingWriteModel) writeModel,
+                        (remembered, written) -> remembered.getMetadata().getThingRevision() >
+                                written.getMetadata().getThingRevision() ? remembered : written);
+            }
+        }
+    }
+
+    /**
+     * Bulk write results report only the total number of matched documents. Replacements which did not upsert and
+     * incremental updates must match exactly one document; deletions do not count as matched. Bulks with soft
+     * deletions contain no incremental updates. If fewer documents matched than expected, any incremental update may
+     * have matched no document.
+     */
+    private static List<BulkWriteError> checkMatchedCount(final List<AbstractWriteModel> writeModels,
+            final List<WriteModel<Document>> mongoWriteModels,
+            final BulkWriteResult bulkWriteResult,
+            final BitSet failedIndices) {
+
+        final Set<Integer> upsertIndices = bulkWriteResult.getUpserts()
+                .stream()
+                .map(BulkWriteUpsert::getIndex)
+                .collect(Collectors.toSet());
+        final List<Integer> incrementalIndices = new ArrayList<>();
+        int expectedMatchedCount = 0;
+        for (int i = 0; i < writeModels.size(); i++) {
+            final WriteModel<Document> mongoWriteModel = mongoWriteModels.get(i);
+            if (failedIndices.get(i)) {
+                continue;
+            }
+            if (isIncrementalUpdate(writeModels.get(i))) {
+                incrementalIndices.add(i);
+                expectedMatchedCount++;
+            } else if (mongoWriteModel instanceof ReplaceOneModel && !upsertIndices.contains(i)) {
+                expectedMatchedCount++;
+            }
+        }
+        if (incrementalIndices.isEmpty() || bulkWriteResult.getMatchedCount() >= expectedMatchedCount) {
+            return List.of();
+        }
+        return incrementalIndices.stream()
+                .map(index -> new BulkWriteError(NOT_MATCHED_ERROR_CODE,
+                        "Incremental update did not match the last written search index document.",
+                        new BsonDocument(), index))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isIncrementalUpdate(final AbstractWriteModel writeModel) {
+        return writeModel instanceof ThingWriteModel && ((ThingWriteModel) writeModel).isIncrementalUpdate();
+    }
+
+    private ThingWriteModel countIncremental(final ThingWriteModel writeModel) {
+        incrementalCounter.increment();
+        return writeModel;
+    }
+
+    private ThingWriteModel countReplacement(final ThingWriteModel writeModel) {
+        replacementCounter.increment();
+        return writeModel;
+    }
+
+}
@@ -12,14 +12,22 @@
  */
 package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.bson.Document;
 import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
 import org.eclipse.ditto.internal.utils.akka.logging.ThreadSafeDittoLogger;
 import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
 import org.eclipse.ditto.internal.utils.metrics.instruments.timer.StartedTimer;
+import org.eclipse.ditto.thingsearch.service.common.config.AdaptiveBatchingConfig;
 import org.eclipse.ditto.thingsearch.service.common.config.PersistenceStreamConfig;
 import org.eclipse.ditto.thingsearch.service.persistence.PersistenceConstants;
 import org.eclipse.ditto.thingsearch.service.persistence.write.model.AbstractWriteModel;
@@ -31,6 +39,7 @@ import com.mongodb.client.model.WriteModel;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import com.mongodb.reactivestreams.client.MongoDatabase;
 
+import akka.Done;
 import akka.NotUsed;
 import akka.japi.pf.PFBuilder;
 import akka.stream.javadsl.Flow;
@@ -56,6 +65,8 @@ final class MongoSearchUpdaterFlow {
     private final MongoCollection<Document> collection;
     private final MongoCollection<Document> collectionWithAcknowledgements;
     private final SearchUpdateMapper searchUpdateMapper;
+    private final AdaptiveBatchingConfig adaptiveBatchingConfig;
+    private final IncrementalUpdates incrementalUpdates;
 
     private MongoSearchUpdaterFlow(final MongoCollection<Document> collection,
             final PersistenceStreamConfig persistenceConfig,
@@ -65,6 +76,9 @@ final class MongoSearchUpdaterFlow {
         collectionWithAcknowledgements = collection.withWriteConcern(
                 persistenceConfig.getWithAcknowledgementsWriteConcern());
         this.searchUpdateMapper = searchUpdateMapper;
+        adaptiveBatchingConfig = persistenceConfig.getAdaptiveBatchingConfig();
+        incrementalUpdates = IncrementalUpdates.of(persistenceConfig.getIncrementalUpdateCacheSize(),
+                persistenceConfig.getIncrementalUpdateMaxDiffSize());
     }
 
     /**
@@ -99,9 +113,48 @@ final class MongoSearchUpdaterFlow {
             final int parallelism,
             final int maxBulkSize) {
 
+        return start(shouldAcknowledge,
+                createAdaptiveBatchingController(shouldAcknowledge, parallelism, maxBulkSize, () -> Long.MAX_VALUE));
+    }
+
+    /**
+     * Create a controller adapting bulk size and parallelism of a flow through the search persistence according to
+     * the adaptive batching config.
+     *
+     * @param shouldAcknowledge whether the flow writes with acknowledgements.
+     * @param parallelism the maximum number of bulk writes in flight.
+     * @param maxBulkSize the maximum number of writes in one bulk.
+     * @param backlog supplier of the number of changes waiting to enter the flow.
+     * @return the controller.
+     */
+    AdaptiveBatchingController createAdaptiveBatchingController(final boolean shouldAcknowledge,
+            final int parallelism,
+            final int maxBulkSize,
+            final LongSupplier backlog) {
+
+        return AdaptiveBatchingController.of(adaptiveBatchingConfig, maxBulkSize, parallelism, shouldAcknowledge,
+                backlog);
+    }
+
+    /**
+     * Create a new flow through the search persistence whose bulk size and number of bulk writes in flight are
+     * determined by an adaptive batching controller.
+     * No logging or recovery is attempted.
+     *
+     * @param shouldAcknowledge defines whether for this source the requested ack
+     * {@link org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel#SEARCH_PERSISTED} was required or not.
+     * @param controller the controller of bulk size and parallelism.
+     * @return the sink.
+     */
+    Flow<Source<AbstractWriteModel, NotUsed>, WriteResultAndErrors, NotUsed> start(
+            final boolean shouldAcknowledge,
+            final AdaptiveBatchingController controller) {
+
+        final int maxBulkSize = controller.getMaxBulkSize();
         final Flow<Source<AbstractWriteModel, NotUsed>, List<AbstractWriteModel>, NotUsed> batchFlow =
                 Flow.<Source<AbstractWriteModel, NotUsed>>create()
-                        .flatMapConcat(source -> source.grouped(maxBulkSize));
+                        .flatMapConcat(source -> source.grouped(maxBulkSize))
+                        .mapConcat(writeModels -> splitIntoBulks(writeModels, controller.getBulkSize()));
 
         final Flow<List<AbstractWriteModel>, WriteResultAndErrors, NotUsed> writeFlow =
                 Flow.<List<AbstractWriteModel>>create()
@@ -115,14 +168,48 @@ final class MongoSearchUpdaterFlow {
                                 return writeModels;
                             }
                         })
-                        .flatMapMerge(parallelism, writeModels ->
-                                executeBulkWrite(shouldAcknowledge, writeModels).async(DISPATCHER_NAME, parallelism));
+                        .map(incrementalUpdates::convert)
+                        .via(Flow.fromMaterializer((materializer, attributes) ->
+                                        limitBulkWritesInFlight(shouldAcknowledge, controller))
+                                .mapMaterializedValue(future -> NotUsed.getInstance()));
 
         return batchFlow.via(writeFlow);
     }
 
+    private Flow<List<AbstractWriteModel>, WriteResultAndErrors, NotUsed> limitBulkWritesInFlight(
+            final boolean shouldAcknowledge,
+            final AdaptiveBatchingController controller) {
+
+        // permits are created per materialization so that a restarted stream does not inherit leaked permits
+        final BulkWritePermits permits = new BulkWritePermits(controller);
+        final int maxParallelism = controller.getMaxParallelism();
+        return Flow.<List<AbstractWriteModel>>create()
+                .mapAsync(1, writeModels -> permits.acquire().thenApply(done -> writeModels))
+                .flatMapMerge(maxParallelism, writeModels ->
+                        executeBulkWrite(shouldAcknowledge, writeModels, controller)
+                                .watchTermination((notUsed, termination) -> {
+                                    termination.whenComplete((done, error) -> permits.release());
+                                    return notUsed;
+                                })
+                                .async(DISPATCHER_NAME, maxParallelism));
+    }
+
+    private static List<List<AbstractWriteModel>> splitIntoBulks(final List<AbstractWriteModel> writeModels,
+            final int bulkSize) {
+
+        if (writeModels.size() <= bulkSize) {
+            return List.of(writeModels);
+        }
+        final List<List<AbstractWriteModel>> bulks = new ArrayList<>(writeModels.size() / bulkSize + 1);
+        for (int i = 0; i < writeModels.size(); i += bulkSize) {
+            bulks.add(new ArrayList<>(writeModels.subList(i, Math.min(writeModels.size(), i + bulkSize))));
+        }
+        return bulks;
+    }
+
     private Source<WriteResultAndErrors, NotUsed> executeBulkWrite(final boolean shouldAcknowledge,
-            final List<AbstractWriteModel> abstractWriteModels) {
+            final List<AbstractWriteModel> abstractWriteModels,
+            final AdaptiveBatchingController controller) {
 
         final List<WriteModel<Document>> writeModels = abstractWriteModels.stream()
                 .map(writeModel -> {
@@ -139,6 +226,8 @@ final class MongoSearchUpdaterFlow {
         }
 
         final var bulkWriteTimer = startBulkWriteTimer(writeModels);
+        final long controllerToken = controller.onBulkWriteStarted();
+        final long startNanos = System.nanoTime();
 
         return Source.fromPublisher(theCollection.bulkWrite(writeModels, new BulkWriteOptions().ordered(false)))
                 .map(bulkWriteResult -> WriteResultAndErrors.success(abstractWriteModels, bulkWriteResult))
@@ -153,9 +242,13 @@ final class MongoSearchUpdaterFlow {
                 )
                 .map(resultAndErrors -> {
                     stopBulkWriteTimer(bulkWriteTimer);
+                    // only unexpected errors such as timeouts indicate an overloaded persistence; write errors of
+                    // single documents do not
+                    controller.onBulkWriteCompleted(controllerToken, Duration.ofNanos(System.nanoTime() - startNanos),
+                            resultAndErrors.getUnexpectedError().isPresent());
                     abstractWriteModels.forEach(writeModel ->
                             ConsistencyLag.startS6Acknowledge(writeModel.getMetadata()));
-                    return resultAndErrors;
+                    return incrementalUpdates.checkResult(resultAndErrors, writeModels);
                 });
     }
 
@@ -172,4 +265,50 @@ final class MongoSearchUpdaterFlow {
         }
     }
 
+    /**
+     * Permits for bulk writes in flight of one materialization of the flow; their number is bounded by the current
+     * parallelism of the adaptive batching controller.
+     */
+    private static final class BulkWritePermits {
+
+        private final AdaptiveBatchingController controller;
+        private int inFlight;
+        @Nullable private CompletableFuture<Done> waiting;
+
+        private BulkWritePermits(final AdaptiveBatchingController controller) {
+            this.controller = controller;
+            inFlight = 0;
+            waiting = null;
+        }
+
+        private synchronized CompletionStage<Done> acquire() {
+            if (inFlight < controller.getParallelism()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(Done.getInstance());
+            }
+            // at most 1 waiting acquisition due to mapAsync(1)
+            final CompletableFuture<Done> future = new CompletableFuture<>();
+            waiting = future;
+            return future;
+        }
+
+        private void release() {
+            final CompletableFuture<Done> toComplete;
+            synchronized (this) {
+                inFlight--;
+                if (null != waiting && inFlight < controller.getParallelism()) {
+                    toComplete = waiting;
+                    waiting = null;
+                    inFlight++;
+                } else {
+                    toComplete = null;
+                }
+            }
+            if (null != toComplete) {
+                toComplete.complete(Done.getInstance());
+            }
+        }
+
+    }
+
 }
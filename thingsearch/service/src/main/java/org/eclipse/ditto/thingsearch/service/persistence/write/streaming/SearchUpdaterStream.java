@@ -18,6 +18,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.eclipse.ditto.internal.utils.namespaces.BlockedNamespaces;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.thingsearch.service.common.config.PersistenceStreamConfig;
 import org.eclipse.ditto.thingsearch.service.common.config.StreamCacheConfig;
@@ -51,22 +52,29 @@ public final class SearchUpdaterStream {
     private final EnforcementFlow enforcementFlow;
     private final MongoSearchUpdaterFlow mongoSearchUpdaterFlow;
     private final BulkWriteResultAckFlow bulkWriteResultAckFlow;
-    private final ActorRef changeQueueActor;
+    private final ChangeQueue changeQueue;
     private final BlockedNamespaces blockedNamespaces;
+    private final AdaptiveBatchingController adaptiveBatchingController;
+    private final AdaptiveBatchingController adaptiveBatchingControllerWithAcknowledgements;
 
     private SearchUpdaterStream(final UpdaterConfig updaterConfig,
             final EnforcementFlow enforcementFlow,
             final MongoSearchUpdaterFlow mongoSearchUpdaterFlow,
             final BulkWriteResultAckFlow bulkWriteResultAckFlow,
-            final ActorRef changeQueueActor,
+            final ChangeQueue changeQueue,
             final BlockedNamespaces blockedNamespaces) {
 
         this.updaterConfig = updaterConfig;
         this.enforcementFlow = enforcementFlow;
         this.mongoSearchUpdaterFlow = mongoSearchUpdaterFlow;
         this.bulkWriteResultAckFlow = bulkWriteResultAckFlow;
-        this.changeQueueActor = changeQueueActor;
+        this.changeQueue = changeQueue;
         this.blockedNamespaces = blockedNamespaces;
+        final PersistenceStreamConfig persistenceConfig = updaterConfig.getStreamConfig().getPersistenceConfig();
+        adaptiveBatchingController = mongoSearchUpdaterFlow.createAdaptiveBatchingController(false,
+                persistenceConfig.getParallelism(), persistenceConfig.getMaxBulkSize(), () -> changeQueue.size(false));
+        adaptiveBatchingControllerWithAcknowledgements = mongoSearchUpdaterFlow.createAdaptiveBatchingController(true,
+                persistenceConfig.getParallelism(), persistenceConfig.getMaxBulkSize(), () -> changeQueue.size(true));
     }
 
     /**
@@ -77,7 +85,7 @@ public final class SearchUpdaterStream {
      * @param thingsShard shard region proxy of things.
      * @param policiesShard shard region proxy of policies.
      * @param updaterShard shard region of search updaters.
-     * @param changeQueueActor reference of the change queue actor.
+     * @param changeQueue the queue of thing changes.
      * @param database MongoDB database.
      * @param searchUpdateMapper a custom listener for search updates.
      * @return a SearchUpdaterStream object.
@@ -87,7 +95,7 @@ public final class SearchUpdaterStream {
             final ActorRef thingsShard,
             final ActorRef policiesShard,
             final ActorRef updaterShard,
-            final ActorRef changeQueueActor,
+            final ChangeQueue changeQueue,
             final MongoDatabase database,
             final BlockedNamespaces blockedNamespaces,
             final SearchUpdateMapper searchUpdateMapper) {
@@ -109,7 +117,7 @@ public final class SearchUpdaterStream {
         final var bulkWriteResultAckFlow = BulkWriteResultAckFlow.of(updaterShard);
 
         return new SearchUpdaterStream(updaterConfig, enforcementFlow, mongoSearchUpdaterFlow, bulkWriteResultAckFlow,
-                changeQueueActor, blockedNamespaces);
+                changeQueue, blockedNamespaces);
     }
 
     /**
@@ -129,13 +137,29 @@ public final class SearchUpdaterStream {
                 .run(actorContext.system());
     }
 
+    /**
+     * Retrieve the current bulk size and parallelism of the persistence stages of the updater streams with and
+     * without acknowledgements.
+     *
+     * @return JSON representation of the adaptive batching parameters.
+     * @since 2.1.0
+     */
+    public JsonObject getAdaptiveBatchingStatus() {
+        return JsonObject.newBuilder()
+                .set("withoutAcknowledgements", adaptiveBatchingController.toJson())
+                .set("withAcknowledgements", adaptiveBatchingControllerWithAcknowledgements.toJson())
+                .build();
+    }
+
     private Source<Source<AbstractWriteModel, NotUsed>, NotUsed> createRestartSource(
             final boolean shouldAcknowledge) {
         final var streamConfig = updaterConfig.getStreamConfig();
         final StreamStageConfig retrievalConfig = streamConfig.getRetrievalConfig();
 
         final Source<Source<AbstractWriteModel, NotUsed>, NotUsed> source =
-                ChangeQueueActor.createSource(changeQueueActor, shouldAcknowledge, streamConfig.getWriteInterval())
+                changeQueue.createSource(shouldAcknowledge, shouldAcknowledge
+                                ? streamConfig.getAcknowledgedWriteInterval()
+                                : streamConfig.getWriteInterval())
                         .via(filterMapKeysByBlockedNamespaces())
                         .via(enforcementFlow.create(shouldAcknowledge, retrievalConfig.getParallelism())
                                 .map(writeModelSource -> writeModelSource.via(
@@ -152,11 +176,12 @@ public final class SearchUpdaterStream {
         final var streamConfig = updaterConfig.getStreamConfig();
         final PersistenceStreamConfig persistenceConfig = streamConfig.getPersistenceConfig();
 
-        final int parallelism = persistenceConfig.getParallelism();
-        final int maxBulkSize = persistenceConfig.getMaxBulkSize();
+        final AdaptiveBatchingController controller = shouldAcknowledge
+                ? adaptiveBatchingControllerWithAcknowledgements
+                : adaptiveBatchingController;
         final String logName = "SearchUpdaterStream/BulkWriteResult<shouldAcknowledge=" + shouldAcknowledge + ">";
         final Sink<Source<AbstractWriteModel, NotUsed>, NotUsed> sink =
-                mongoSearchUpdaterFlow.start(shouldAcknowledge, parallelism, maxBulkSize)
+                mongoSearchUpdaterFlow.start(shouldAcknowledge, controller)
                         .via(bulkWriteResultAckFlow.start(persistenceConfig.getAckDelay()))
                         .log(logName)
                         .withAttributes(Attributes.logLevels(
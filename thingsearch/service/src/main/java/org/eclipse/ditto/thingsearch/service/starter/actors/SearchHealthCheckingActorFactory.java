@@ -38,6 +38,7 @@ final class SearchHealthCheckingActorFactory {
 
     private static final String PERSISTENCE_LABEL = "persistence";
     private static final String BACKGROUND_SYNC_LABEL = "backgroundSync";
+    private static final String UPDATER_STREAM_LABEL = "updaterStream";
 
     private SearchHealthCheckingActorFactory() {
         throw new AssertionError();
@@ -47,7 +48,8 @@ final class SearchHealthCheckingActorFactory {
      * Creates Akka configuration object Props for a health checking actor.
      *
      * @param searchConfig the configuration settings.
-     * @param backgroundSyncActorProxy proxy actor for RetrieveHealth messages to the background sync actor.
+     * @param backgroundSyncActorProxy proxy actor for RetrieveHealth messages to the background sync actor; also
+     * answers the retrieval of the state of the search updater streams.
      * @return the Akka configuration Props object.
      */
     public static Props props(final SearchConfig searchConfig, final ActorRef backgroundSyncActorProxy) {
@@ -62,6 +64,7 @@ final class SearchHealthCheckingActorFactory {
 
         childActorProps.put(BACKGROUND_SYNC_LABEL,
                 SingletonStatusReporter.props(SearchUpdaterRootActor.CLUSTER_ROLE, backgroundSyncActorProxy));
+        childActorProps.put(UPDATER_STREAM_LABEL, UpdaterStreamStatusReporter.props(backgroundSyncActorProxy));
 
         return CompositeCachingHealthCheckingActor.props(childActorProps, healthCheckConfig.getInterval(),
                 healthCheckEnabled);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.starter.actors;
+
+import org.eclipse.ditto.internal.utils.health.AbstractHealthCheckingActor;
+import org.eclipse.ditto.internal.utils.health.RetrieveHealthResponse;
+import org.eclipse.ditto.thingsearch.service.updater.actors.SearchUpdaterRootActor;
+
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.japi.pf.ReceiveBuilder;
+
+/**
+ * Actor to report the state of the search updater streams, which run on every instance of the search service.
+ */
+final class UpdaterStreamStatusReporter extends AbstractHealthCheckingActor {
+
+    private final ActorRef searchUpdaterRootActor;
+
+    @SuppressWarnings("unused")
+    private UpdaterStreamStatusReporter(final ActorRef searchUpdaterRootActor) {
+        this.searchUpdaterRootActor = searchUpdaterRootActor;
+    }
+
+    /**
+     * Create Props for this actor.
+     *
+     * @param searchUpdaterRootActor the search updater root actor of this instance.
+     * @return Props to report the state of the search updater streams.
+     */
+    static Props props(final ActorRef searchUpdaterRootActor) {
+        return Props.create(UpdaterStreamStatusReporter.class, searchUpdaterRootActor);
+    }
+
+    @Override
+    protected Receive matchCustomMessages() {
+        return ReceiveBuilder.create()
+                .match(RetrieveHealthResponse.class, response -> updateHealth(response.getStatusInfo()))
+                .build();
+    }
+
+    @Override
+    protected void triggerHealthRetrieval() {
+        searchUpdaterRootActor.tell(SearchUpdaterRootActor.RetrieveUpdaterStreamHealth.INSTANCE, getSelf());
+    }
+
+}
@@ -12,10 +12,20 @@
  */
 package org.eclipse.ditto.thingsearch.service.updater.actors;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.internal.models.streaming.LowerBound;
@@ -23,7 +33,16 @@ import org.eclipse.ditto.internal.utils.akka.controlflow.ResumeSource;
 import org.eclipse.ditto.internal.utils.akka.streaming.TimestampPersistence;
 import org.eclipse.ditto.internal.utils.health.AbstractBackgroundStreamingActorWithConfigWithStatusReport;
 import org.eclipse.ditto.internal.utils.health.StatusDetailMessage;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonCollectors;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonRuntimeException;
+import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.things.model.ThingConstants;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.thingsearch.api.commands.sudo.UpdateThing;
@@ -35,6 +54,7 @@ import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.Backgro
 
 import com.typesafe.config.Config;
 
+import akka.Done;
 import akka.NotUsed;
 import akka.actor.ActorRef;
 import akka.actor.Props;
@@ -45,6 +65,11 @@ import akka.stream.javadsl.Source;
 
 /**
  * Cluster-singleton responsible for background synchronization.
+ * <p>
+ * If more than one slice is configured, the thing ID range is partitioned into slices according to a random sample of
+ * the search index. The slices are synchronized in parallel by {@link BackgroundSyncSliceActor}s sharded across the
+ * search cluster while this actor persists their progress as checkpoint and reports their lag.
+ * </p>
  */
 public final class BackgroundSyncActor
         extends AbstractBackgroundStreamingActorWithConfigWithStatusReport<BackgroundSyncConfig> {
@@ -55,28 +80,50 @@ public final class BackgroundSyncActor
      */
     public static final String ACTOR_NAME = "backgroundSync";
 
+    private static final String GAUGE_SLICE_LAG = "things_search_background_sync_slice_lag_ms";
+    private static final String SLICE_TAG = "slice";
+
+    /**
+     * Number of thing IDs to sample per slice to determine the slice boundaries.
+     */
+    private static final int SAMPLES_PER_SLICE = 100;
+
+    private static final JsonFieldDefinition<Integer> CHECKPOINT_SLICES = JsonFactory.newIntFieldDefinition("slices");
+    private static final JsonFieldDefinition<String> CHECKPOINT_SINCE = JsonFactory.newStringFieldDefinition("since");
+    private static final JsonFieldDefinition<JsonArray> CHECKPOINT_RANGES =
+            JsonFactory.newJsonArrayFieldDefinition("ranges");
+
     private final ThingsMetadataSource thingsMetadataSource;
     private final ThingsSearchPersistence thingsSearchPersistence;
     private final TimestampPersistence backgroundSyncPersistence;
     private final BackgroundSyncStream backgroundSyncStream;
     private final ActorRef thingsUpdater;
+    private final ActorRef sliceShardRegion;
+    private final Map<Integer, Gauge> sliceLagGauges = new HashMap<>();
 
     private ThingId progressPersisted = EMPTY_THING_ID;
     private ThingId progressIndexed = EMPTY_THING_ID;
 
+    @Nullable private CompletableFuture<Done> sliceRound;
+    private Instant sliceRoundStart = Instant.EPOCH;
+    private Map<Integer, BackgroundSyncSlice> slices = new TreeMap<>();
+    private Map<Integer, Instant> slicesSyncedAt = new HashMap<>();
+
     @SuppressWarnings("unused")
     private BackgroundSyncActor(final BackgroundSyncConfig backgroundSyncConfig,
             final ThingsMetadataSource thingsMetadataSource,
             final ThingsSearchPersistence thingsSearchPersistence,
             final TimestampPersistence backgroundSyncPersistence,
             final BackgroundSyncStream backgroundSyncStream,
-            final ActorRef thingsUpdater) {
+            final ActorRef thingsUpdater,
+            final ActorRef sliceShardRegion) {
         super(backgroundSyncConfig);
         this.thingsMetadataSource = thingsMetadataSource;
         this.thingsSearchPersistence = thingsSearchPersistence;
         this.backgroundSyncPersistence = backgroundSyncPersistence;
         this.backgroundSyncStream = backgroundSyncStream;
         this.thingsUpdater = thingsUpdater;
+        this.sliceShardRegion = sliceShardRegion;
 
         getTimers().startPeriodicTimer(Control.BOOKMARK_THING_ID, Control.BOOKMARK_THING_ID, config.getQuietPeriod());
     }
@@ -90,6 +137,7 @@ public final class BackgroundSyncActor
      * @param backgroundSyncPersistence persistence for bookmarks of background sync progress.
      * @param policiesShardRegion the policies shard region to query policy revisions.
      * @param thingsUpdater the dispatcher of UpdateThing commands.
+     * @param sliceShardRegion the shard region of slice workers if background sync is partitioned into slices.
      * @return an actor to coordinate background sync.
      */
     public static Props props(final BackgroundSyncConfig config,
@@ -97,7 +145,8 @@ public final class BackgroundSyncActor
             final ThingsSearchPersistence thingsSearchPersistence,
             final TimestampPersistence backgroundSyncPersistence,
             final ActorRef policiesShardRegion,
-            final ActorRef thingsUpdater) {
+            final ActorRef thingsUpdater,
+            final ActorRef sliceShardRegion) {
 
         final var thingsMetadataSource =
                 ThingsMetadataSource.of(pubSubMediator, config.getThrottleThroughput(), config.getIdleTimeout());
@@ -106,7 +155,7 @@ public final class BackgroundSyncActor
                         config.getToleranceWindow(), config.getThrottleThroughput(), config.getThrottlePeriod());
 
         return Props.create(BackgroundSyncActor.class, config, thingsMetadataSource, thingsSearchPersistence,
-                backgroundSyncPersistence, backgroundSyncStream, thingsUpdater);
+                backgroundSyncPersistence, backgroundSyncStream, thingsUpdater, sliceShardRegion);
     }
 
     @Override
@@ -119,12 +168,16 @@ public final class BackgroundSyncActor
                 .match(ThingId.class, thingId ->
                         // got outdated progress update message after actor resumes sleeping; ignore it.
                         log.debug("Ignoring: <{}>", thingId)
-                );
+                )
+                .match(BackgroundSyncSlice.class, this::stopSlice)
+                .match(SlicesStarted.class, slicesStarted -> log.debug("Ignoring: <{}>", slicesStarted));
     }
 
     @Override
     protected void preEnhanceStreamingBehavior(final ReceiveBuilder streamingReceiveBuilder) {
         streamingReceiveBuilder.match(ProgressReport.class, this::setProgress)
+                .match(SlicesStarted.class, this::slicesStarted)
+                .match(BackgroundSyncSlice.class, this::sliceProgress)
                 .matchEquals(Control.BOOKMARK_THING_ID, this::bookmarkThingId);
     }
 
@@ -132,6 +185,15 @@ public final class BackgroundSyncActor
     protected void postEnhanceStatusReport(final JsonObjectBuilder statusReportBuilder) {
         statusReportBuilder.set("progressPersisted", progressPersisted.toString());
         statusReportBuilder.set("progressIndexed", progressIndexed.toString());
+        if (sliceRound != null) {
+            final Instant now = Instant.now();
+            statusReportBuilder.set("slices", slices.values()
+                    .stream()
+                    .map(slice -> slice.toJson().toBuilder()
+                            .set("lagMillis", getSliceLag(slice.getIndex(), now).toMillis())
+                            .build())
+                    .collect(JsonCollectors.valuesToArray()));
+        }
     }
 
     @Override
@@ -145,14 +207,32 @@ public final class BackgroundSyncActor
         // reset progress for the next round
         progressPersisted = EMPTY_THING_ID;
         progressIndexed = EMPTY_THING_ID;
-        doBookmarkThingId("");
+        if (sliceRound == null) {
+            doBookmarkThingId("");
+        } else if (sliceRound.isDone() && streamTerminated.level() == StatusDetailMessage.Level.DEFAULT) {
+            // keep the slice checkpoint to resume an interrupted round; clear it only after the round completed
+            doBookmarkThingId("");
+        }
     }
 
     @Override
     protected Source<?, ?> getSource() {
-        return getLowerBoundSource()
-                .flatMapConcat(this::streamMetadataFromLowerBound)
-                .wireTap(this::handleInconsistency);
+        sliceRound = null;
+        slices = new TreeMap<>();
+        if (config.getSlices() > 1) {
+            final CompletableFuture<Done> round = new CompletableFuture<>();
+            sliceRound = round;
+            return getSlicesSource()
+                    .map(slicesStarted -> {
+                        getSelf().tell(slicesStarted, ActorRef.noSender());
+                        return slicesStarted;
+                    })
+                    .flatMapConcat(slicesStarted -> Source.completionStage(round));
+        } else {
+            return getLowerBoundSource()
+                    .flatMapConcat(this::streamMetadataFromLowerBound)
+                    .wireTap(this::handleInconsistency);
+        }
     }
 
     @Override
@@ -188,6 +268,17 @@ public final class BackgroundSyncActor
     }
 
     private void bookmarkThingId(final Control bookmarkRequest) {
+        if (sliceRound != null) {
+            // checkpoint the progress of all slices and restart slices whose workers stopped or moved
+            if (!slices.isEmpty()) {
+                doBookmarkThingId(getSliceCheckpoint());
+                slices.values().stream()
+                        .filter(slice -> !slice.isDone())
+                        .forEach(slice -> sliceShardRegion.tell(slice, getSelf()));
+                updateSliceLagGauges();
+            }
+            return;
+        }
         // bookmark the smaller ID between progressed and indexed according to background sync stream processing order
         final ThingId thingIdToBookmark = BackgroundSyncStream.compareThingIds(progressIndexed, progressPersisted) <= 0
                 ? progressIndexed
@@ -230,13 +321,131 @@ public final class BackgroundSyncActor
                 .map(optional -> {
                     if (optional.isPresent()) {
                         final String bookmarkedThingId = optional.get().second();
-                        if (bookmarkedThingId != null && !bookmarkedThingId.isEmpty())
+                        // a slice checkpoint is no valid lower bound; start over after switching to sequential sync
+                        if (bookmarkedThingId != null && !bookmarkedThingId.isEmpty() &&
+                                !isSliceCheckpoint(bookmarkedThingId))
                             return ThingId.of(bookmarkedThingId);
                     }
                     return EMPTY_THING_ID;
                 });
     }
 
+    private Source<SlicesStarted, NotUsed> getSlicesSource() {
+        final int numberOfSlices = config.getSlices();
+        return backgroundSyncPersistence.getTaggedTimestamp()
+                .flatMapConcat(optional -> {
+                    final Optional<SlicesStarted> resumed = optional.map(Pair::second)
+                            .flatMap(checkpoint -> parseSliceCheckpoint(checkpoint, numberOfSlices));
+                    if (resumed.isPresent()) {
+                        return Source.single(resumed.get());
+                    } else {
+                        final int sampleSize = numberOfSlices * SAMPLES_PER_SLICE;
+                        return thingsSearchPersistence.sudoSampleThingIds(sampleSize)
+                                .grouped(sampleSize)
+                                .orElse(Source.single(List.of()))
+                                .map(sample -> new SlicesStarted(Instant.now(),
+                                        BackgroundSyncSlice.partition(numberOfSlices, sample)));
+                    }
+                });
+    }
+
+    private void slicesStarted(final SlicesStarted slicesStarted) {
+        log.info("Synchronizing <{}> slices since <{}>", slicesStarted.slices.size(), slicesStarted.since);
+        sliceRoundStart = slicesStarted.since;
+        slicesSyncedAt = new HashMap<>();
+        slices = new TreeMap<>();
+        slicesStarted.slices.forEach(slice -> slices.put(slice.getIndex(), slice));
+        doBookmarkThingId(getSliceCheckpoint());
+        slices.values().stream()
+                .filter(slice -> !slice.isDone())
+                .forEach(slice -> sliceShardRegion.tell(slice, getSelf()));
+        updateSliceLagGauges();
+        completeSliceRoundIfDone();
+    }
+
+    private void sliceProgress(final BackgroundSyncSlice progress) {
+        final BackgroundSyncSlice knownSlice = slices.get(progress.getIndex());
+        if (sliceRound == null || !progress.hasSameRange(knownSlice)) {
+            // progress of a slice of a previous round
+            stopSlice(progress);
+        } else if (!knownSlice.isDone()) {
+            slices.put(progress.getIndex(), progress);
+            if (progress.isDone()) {
+                log.info("Slice synchronized: <{}>", progress);
+                slicesSyncedAt.put(progress.getIndex(), Instant.now());
+                updateSliceLagGauges();
+                completeSliceRoundIfDone();
+            }
+        }
+    }
+
+    private void stopSlice(final BackgroundSyncSlice slice) {
+        if (!slice.isDone()) {
+            log.debug("Stopping outdated slice: <{}>", slice);
+            getSender().tell(slice.asDone(), getSelf());
+        }
+    }
+
+    private void completeSliceRoundIfDone() {
+        if (sliceRound != null && slices.values().stream().allMatch(BackgroundSyncSlice::isDone)) {
+            sliceRound.complete(Done.getInstance());
+        }
+    }
+
+    private String getSliceCheckpoint() {
+        return JsonObject.newBuilder()
+                .set(CHECKPOINT_SLICES, config.getSlices())
+                .set(CHECKPOINT_SINCE, sliceRoundStart.toString())
+                .set(CHECKPOINT_RANGES, slices.values()
+                        .stream()
+                        .map(BackgroundSyncSlice::toJson)
+                        .collect(JsonCollectors.valuesToArray()))
+                .build()
+                .toString();
+    }
+
+    private Optional<SlicesStarted> parseSliceCheckpoint(@Nullable final String checkpoint,
+            final int numberOfSlices) {
+
+        if (checkpoint == null || !isSliceCheckpoint(checkpoint)) {
+            return Optional.empty();
+        }
+        try {
+            final JsonObject checkpointJson = JsonObject.of(checkpoint);
+            if (checkpointJson.getValueOrThrow(CHECKPOINT_SLICES) != numberOfSlices) {
+                // number of slices changed; partition the thing ID range anew
+                return Optional.empty();
+            }
+            final Instant since = Instant.parse(checkpointJson.getValueOrThrow(CHECKPOINT_SINCE));
+            final List<BackgroundSyncSlice> resumedSlices = checkpointJson.getValueOrThrow(CHECKPOINT_RANGES)
+                    .stream()
+                    .filter(JsonValue::isObject)
+                    .map(JsonValue::asObject)
+                    .map(BackgroundSyncSlice::fromJson)
+                    .collect(Collectors.toList());
+            return resumedSlices.isEmpty() ? Optional.empty() : Optional.of(new SlicesStarted(since, resumedSlices));
+        } catch (final JsonRuntimeException | DateTimeParseException e) {
+            log.warning("Ignoring invalid slice checkpoint <{}>: <{}>", checkpoint, e);
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isSliceCheckpoint(final String bookmark) {
+        return bookmark.startsWith("{");
+    }
+
+    private void updateSliceLagGauges() {
+        final Instant now = Instant.now();
+        slices.keySet().forEach(index -> sliceLagGauges.computeIfAbsent(index,
+                i -> DittoMetrics.gauge(GAUGE_SLICE_LAG).tag(SLICE_TAG, String.valueOf(i)))
+                .set(getSliceLag(index, now).toMillis()));
+    }
+
+    private Duration getSliceLag(final int index, final Instant now) {
+        // time since the slice was last synchronized completely, or since the start of the round
+        return Duration.between(slicesSyncedAt.getOrDefault(index, sliceRoundStart), now);
+    }
+
     private Source<Metadata, NotUsed> getPersistedMetadataSourceWithProgressReporting(final ThingId lowerBound) {
         return wrapAsResumeSource(lowerBound, thingsMetadataSource::createSource)
                 .wireTap(persisted ->
@@ -252,6 +461,21 @@ public final class BackgroundSyncActor
     private Source<Metadata, NotUsed> wrapAsResumeSource(final ThingId lowerBound,
             final Function<ThingId, Source<Metadata, ?>> sourceCreator) {
 
+        return wrapAsResumeSource(config, lowerBound, sourceCreator);
+    }
+
+    /**
+     * Wrap a source of metadata in a resume source which restarts from the last streamed thing ID on failure.
+     *
+     * @param config the background sync config defining the backoff.
+     * @param lowerBound the exclusive thing ID to start from.
+     * @param sourceCreator creator of the source from a lower bound.
+     * @return the resume source.
+     */
+    static Source<Metadata, NotUsed> wrapAsResumeSource(final BackgroundSyncConfig config,
+            final ThingId lowerBound,
+            final Function<ThingId, Source<Metadata, ?>> sourceCreator) {
+
         return ResumeSource.onFailureWithBackoff(
                 config.getMinBackoff(),
                 config.getMaxBackoff(),
@@ -324,6 +548,22 @@ public final class BackgroundSyncActor
         }
     }
 
+    private static final class SlicesStarted {
+
+        private final Instant since;
+        private final List<BackgroundSyncSlice> slices;
+
+        private SlicesStarted(final Instant since, final List<BackgroundSyncSlice> slices) {
+            this.since = since;
+            this.slices = slices;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[since=" + since + ", slices=" + slices + "]";
+        }
+    }
+
     private enum Control {
         BOOKMARK_THING_ID
     }
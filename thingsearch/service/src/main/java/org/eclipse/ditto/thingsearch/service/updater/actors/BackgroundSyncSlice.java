@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.updater.actors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.internal.models.streaming.LowerBound;
+import org.eclipse.ditto.internal.utils.cluster.AkkaJacksonCborSerializable;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.things.model.ThingConstants;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.BackgroundSyncStream;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A slice {@code (lowerBound, upperBound]} of the thing ID range together with the progress of its background sync.
+ * Sent by the background sync coordinator to start or continue the synchronization of a slice and by the slice
+ * workers to report their progress. A slice marked as done sent to a worker stops it.
+ */
+@Immutable
+final class BackgroundSyncSlice implements AkkaJacksonCborSerializable {
+
+    private static final ThingId EMPTY_THING_ID = ThingId.of(LowerBound.emptyEntityId(ThingConstants.ENTITY_TYPE));
+
+    private static final JsonFieldDefinition<Integer> INDEX = JsonFactory.newIntFieldDefinition("index");
+    private static final JsonFieldDefinition<String> LOWER_BOUND = JsonFactory.newStringFieldDefinition("lowerBound");
+    private static final JsonFieldDefinition<String> UPPER_BOUND = JsonFactory.newStringFieldDefinition("upperBound");
+    private static final JsonFieldDefinition<String> PROGRESS = JsonFactory.newStringFieldDefinition("progress");
+    private static final JsonFieldDefinition<Boolean> DONE = JsonFactory.newBooleanFieldDefinition("done");
+
+    @JsonProperty("index")
+    private final int index;
+
+    @JsonProperty("lowerBound")
+    private final String lowerBound;
+
+    @JsonProperty("upperBound")
+    private final String upperBound;
+
+    @JsonProperty("progress")
+    private final String progress;
+
+    @JsonProperty("done")
+    private final boolean done;
+
+    @JsonCreator
+    BackgroundSyncSlice(@JsonProperty("index") final int index,
+            @JsonProperty("lowerBound") final String lowerBound,
+            @JsonProperty("upperBound") final String upperBound,
+            @JsonProperty("progress") final String progress,
+            @JsonProperty("done") final boolean done) {
+        this.index = index;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.progress = progress;
+        this.done = done;
+    }
+
+    /**
+     * Partition the thing ID range into slices of roughly equal size according to a random sample of thing IDs.
+     * Fewer slices than requested are created if the sample does not contain enough distinct thing IDs.
+     *
+     * @param numberOfSlices the requested number of slices.
+     * @param sample the thing ID sample.
+     * @return the slices covering the whole thing ID range in ascending order.
+     */
+    static List<BackgroundSyncSlice> partition(final int numberOfSlices, final Collection<ThingId> sample) {
+        final List<ThingId> sortedSample = sample.stream()
+                .filter(thingId -> !EMPTY_THING_ID.equals(thingId))
+                .distinct()
+                .sorted(BackgroundSyncStream::compareThingIds)
+                .collect(Collectors.toList());
+        final List<String> upperBounds = new ArrayList<>(numberOfSlices);
+        for (int i = 1; i < numberOfSlices; i++) {
+            final int position = (int) ((long) i * sortedSample.size() / numberOfSlices);
+            if (position < sortedSample.size()) {
+                final String upperBound = sortedSample.get(position).toString();
+                if (upperBounds.isEmpty() || !upperBounds.get(upperBounds.size() - 1).equals(upperBound)) {
+                    upperBounds.add(upperBound);
+                }
+            }
+        }
+        upperBounds.add("");
+        final List<BackgroundSyncSlice> slices = new ArrayList<>(upperBounds.size());
+        String lowerBound = "";
+        for (int i = 0; i < upperBounds.size(); i++) {
+            final String upperBound = upperBounds.get(i);
+            slices.add(new BackgroundSyncSlice(i, lowerBound, upperBound, "", false));
+            lowerBound = upperBound;
+        }
+        return slices;
+    }
+
+    /**
+     * Deserialize a slice from JSON.
+     *
+     * @param jsonObject the JSON representation of a slice.
+     * @return the slice.
+     * @throws org.eclipse.ditto.json.JsonMissingFieldException if a field is missing.
+     */
+    static BackgroundSyncSlice fromJson(final JsonObject jsonObject) {
+        return new BackgroundSyncSlice(jsonObject.getValueOrThrow(INDEX),
+                jsonObject.getValueOrThrow(LOWER_BOUND),
+                jsonObject.getValueOrThrow(UPPER_BOUND),
+                jsonObject.getValueOrThrow(PROGRESS),
+                jsonObject.getValueOrThrow(DONE));
+    }
+
+    /**
+     * @return the JSON representation of this slice.
+     */
+    JsonObject toJson() {
+        return JsonObject.newBuilder()
+                .set(INDEX, index)
+                .set(LOWER_BOUND, lowerBound)
+                .set(UPPER_BOUND, upperBound)
+                .set(PROGRESS, progress)
+                .set(DONE, done)
+                .build();
+    }
+
+    /**
+     * @return the position of this slice in the thing ID range.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return whether the whole slice is synchronized.
+     */
+    boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return the exclusive thing ID to resume the synchronization of this slice from.
+     */
+    ThingId getResumptionPoint() {
+        final String resumptionPoint = progress.isEmpty() ? lowerBound : progress;
+        return resumptionPoint.isEmpty() ? EMPTY_THING_ID : ThingId.of(resumptionPoint);
+    }
+
+    /**
+     * Test whether a thing ID above the lower bound of this slice is within this slice.
+     *
+     * @param thingId the thing ID.
+     * @return whether the thing ID is not above the upper bound.
+     */
+    boolean isNotAboveUpperBound(final ThingId thingId) {
+        return upperBound.isEmpty() || BackgroundSyncStream.compareThingIds(thingId, ThingId.of(upperBound)) <= 0;
+    }
+
+    /**
+     * Test whether another slice covers the same thing IDs as this one regardless of progress.
+     *
+     * @param other the other slice.
+     * @return whether both slices cover the same range.
+     */
+    boolean hasSameRange(@Nullable final BackgroundSyncSlice other) {
+        return other != null && index == other.index && lowerBound.equals(other.lowerBound) &&
+                upperBound.equals(other.upperBound);
+    }
+
+    /**
+     * Create a copy of this slice with new progress.
+     *
+     * @param thingId the last thing ID synchronized.
+     * @return the copy.
+     */
+    BackgroundSyncSlice withProgress(final ThingId thingId) {
+        final String newProgress = EMPTY_THING_ID.equals(thingId) ? "" : thingId.toString();
+        return new BackgroundSyncSlice(index, lowerBound, upperBound, newProgress, done);
+    }
+
+    /**
+     * @return a copy of this slice marked as done.
+     */
+    BackgroundSyncSlice asDone() {
+        return new BackgroundSyncSlice(index, lowerBound, upperBound, progress, true);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final BackgroundSyncSlice that = (BackgroundSyncSlice) o;
+        return index == that.index &&
+                done == that.done &&
+                lowerBound.equals(that.lowerBound) &&
+                upperBound.equals(that.upperBound) &&
+                progress.equals(that.progress);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, lowerBound, upperBound, progress, done);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" +
+                "index=" + index +
+                ", lowerBound=" + lowerBound +
+                ", upperBound=" + upperBound +
+                ", progress=" + progress +
+                ", done=" + done +
+                "]";
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.updater.actors;
+
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.internal.utils.akka.logging.DittoDiagnosticLoggingAdapter;
+import org.eclipse.ditto.internal.utils.akka.logging.DittoLoggerFactory;
+import org.eclipse.ditto.internal.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.internal.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.thingsearch.api.commands.sudo.UpdateThing;
+import org.eclipse.ditto.thingsearch.service.common.config.BackgroundSyncConfig;
+import org.eclipse.ditto.thingsearch.service.persistence.read.ThingsSearchPersistence;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.Metadata;
+import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.BackgroundSyncStream;
+
+import akka.Done;
+import akka.NotUsed;
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.cluster.sharding.ShardRegion;
+import akka.japi.Pair;
+import akka.japi.pf.ReceiveBuilder;
+import akka.stream.KillSwitches;
+import akka.stream.Materializer;
+import akka.stream.UniqueKillSwitch;
+import akka.stream.javadsl.Keep;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+
+/**
+ * Cluster-sharded worker synchronizing one slice of the thing ID range on behalf of the background sync coordinator.
+ * The worker answers each slice sent by the coordinator with its progress, (re)starts the synchronization of the
+ * slice if it is not running, and reports when the slice is done.
+ */
+final class BackgroundSyncSliceActor extends AbstractActor {
+
+    /**
+     * Name of the shard region of slice workers.
+     */
+    static final String SHARD_REGION = "backgroundSyncSlice";
+
+    private static final String COUNTER_INCONSISTENCIES = "things_search_background_sync_slice_inconsistencies";
+    private static final String SLICE_TAG = "slice";
+
+    private final DittoDiagnosticLoggingAdapter log = DittoLoggerFactory.getDiagnosticLoggingAdapter(this);
+    private final Materializer materializer = Materializer.createMaterializer(this::getContext);
+
+    private final BackgroundSyncConfig config;
+    private final ThingsMetadataSource thingsMetadataSource;
+    private final ThingsSearchPersistence thingsSearchPersistence;
+    private final BackgroundSyncStream backgroundSyncStream;
+    private final ActorRef thingsUpdater;
+
+    @Nullable private BackgroundSyncSlice slice;
+    @Nullable private UniqueKillSwitch killSwitch;
+    private ActorRef coordinator = ActorRef.noSender();
+    private ThingId progressPersisted;
+    private ThingId progressIndexed;
+
+    @SuppressWarnings("unused")
+    private BackgroundSyncSliceActor(final BackgroundSyncConfig config,
+            final ThingsMetadataSource thingsMetadataSource,
+            final ThingsSearchPersistence thingsSearchPersistence,
+            final BackgroundSyncStream backgroundSyncStream,
+            final ActorRef thingsUpdater) {
+        this.config = config;
+        this.thingsMetadataSource = thingsMetadataSource;
+        this.thingsSearchPersistence = thingsSearchPersistence;
+        this.backgroundSyncStream = backgroundSyncStream;
+        this.thingsUpdater = thingsUpdater;
+    }
+
+    /**
+     * Create Akka Props object for a slice worker.
+     *
+     * @param config the config of background sync.
+     * @param pubSubMediator Akka pub-sub mediator.
+     * @param thingsSearchPersistence the search persistence to access the search index.
+     * @param policiesShardRegion the policies shard region to query policy revisions.
+     * @param thingsUpdater the dispatcher of UpdateThing commands.
+     * @return the Props object.
+     */
+    static Props props(final BackgroundSyncConfig config,
+            final ActorRef pubSubMediator,
+            final ThingsSearchPersistence thingsSearchPersistence,
+            final ActorRef policiesShardRegion,
+            final ActorRef thingsUpdater) {
+
+        final var thingsMetadataSource =
+                ThingsMetadataSource.of(pubSubMediator, config.getThrottleThroughput(), config.getIdleTimeout());
+        final var backgroundSyncStream =
+                BackgroundSyncStream.of(policiesShardRegion, config.getPolicyAskTimeout(),
+                        config.getToleranceWindow(), config.getThrottleThroughput(), config.getThrottlePeriod());
+
+        return Props.create(BackgroundSyncSliceActor.class, config, thingsMetadataSource, thingsSearchPersistence,
+                backgroundSyncStream, thingsUpdater);
+    }
+
+    /**
+     * Create the message extractor of the shard region of slice workers.
+     *
+     * @param numberOfShards the number of shards to distribute the slices over.
+     * @return the message extractor.
+     */
+    static ShardRegion.MessageExtractor messageExtractor(final int numberOfShards) {
+        return new ShardRegion.HashCodeMessageExtractor(numberOfShards) {
+            @Override
+            public String entityId(final Object message) {
+                return message instanceof BackgroundSyncSlice
+                        ? String.valueOf(((BackgroundSyncSlice) message).getIndex())
+                        : null;
+            }
+        };
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        shutdownKillSwitch();
+        super.postStop();
+    }
+
+    @Override
+    public Receive createReceive() {
+        return ReceiveBuilder.create()
+                .match(BackgroundSyncSlice.class, this::onSlice)
+                .match(ProgressReport.class, this::setProgress)
+                .match(SliceTerminated.class, this::sliceTerminated)
+                .matchAny(message -> log.warning("Unknown message: <{}>", message))
+                .build();
+    }
+
+    private void onSlice(final BackgroundSyncSlice requestedSlice) {
+        coordinator = getSender();
+        if (requestedSlice.isDone()) {
+            log.debug("Stopping <{}>", requestedSlice);
+            shutdownKillSwitch();
+            slice = null;
+        } else if (requestedSlice.hasSameRange(slice) && (killSwitch != null || slice.isDone())) {
+            coordinator.tell(getCurrentSlice(), getSelf());
+        } else {
+            // resume from own progress if the slice failed before, otherwise from the progress of the coordinator
+            startSlice(requestedSlice.hasSameRange(slice) ? getCurrentSlice() : requestedSlice);
+            coordinator.tell(getCurrentSlice(), getSelf());
+        }
+    }
+
+    private void startSlice(final BackgroundSyncSlice sliceToStart) {
+        shutdownKillSwitch();
+        log.info("Starting <{}>", sliceToStart);
+        slice = sliceToStart;
+        final ThingId resumptionPoint = sliceToStart.getResumptionPoint();
+        progressPersisted = resumptionPoint;
+        progressIndexed = resumptionPoint;
+        final Counter inconsistencies = DittoMetrics.counter(COUNTER_INCONSISTENCIES)
+                .tag(SLICE_TAG, String.valueOf(sliceToStart.getIndex()));
+
+        final Source<Metadata, NotUsed> persistedMetadata =
+                BackgroundSyncActor.wrapAsResumeSource(config, resumptionPoint, thingsMetadataSource::createSource)
+                        .takeWhile(persisted -> sliceToStart.isNotAboveUpperBound(persisted.getThingId()))
+                        .wireTap(persisted -> getSelf().tell(
+                                new ProgressReport(sliceToStart, persisted.getThingId(), true), ActorRef.noSender()));
+        final Source<Metadata, NotUsed> indexedMetadata =
+                BackgroundSyncActor.wrapAsResumeSource(config, resumptionPoint,
+                        thingsSearchPersistence::sudoStreamMetadata)
+                        .takeWhile(indexed -> sliceToStart.isNotAboveUpperBound(indexed.getThingId()))
+                        .wireTap(indexed -> getSelf().tell(
+                                new ProgressReport(sliceToStart, indexed.getThingId(), false), ActorRef.noSender()));
+
+        final Pair<UniqueKillSwitch, CompletionStage<Done>> materializedValues =
+                backgroundSyncStream.filterForInconsistencies(persistedMetadata, indexedMetadata)
+                        .wireTap(metadata -> {
+                            inconsistencies.increment();
+                            thingsUpdater.tell(UpdateThing.of(metadata.getThingId(), DittoHeaders.empty()),
+                                    ActorRef.noSender());
+                        })
+                        .viaMat(KillSwitches.single(), Keep.right())
+                        .toMat(Sink.ignore(), Keep.both())
+                        .run(materializer);
+
+        killSwitch = materializedValues.first();
+        materializedValues.second().whenComplete((done, error) ->
+                getSelf().tell(new SliceTerminated(sliceToStart, error), ActorRef.noSender()));
+    }
+
+    private void setProgress(final ProgressReport progress) {
+        if (progress.slice == slice) {
+            if (progress.persisted) {
+                progressPersisted = progress.thingId;
+            } else {
+                progressIndexed = progress.thingId;
+            }
+        }
+    }
+
+    private void sliceTerminated(final SliceTerminated sliceTerminated) {
+        if (sliceTerminated.slice == slice) {
+            killSwitch = null;
+            if (sliceTerminated.error == null) {
+                log.info("Done: <{}>", slice);
+                slice = getCurrentSlice().asDone();
+            } else {
+                log.warning("Failed: <{}> <{}>. Restarting on next request of the coordinator.",
+                        getCurrentSlice(), sliceTerminated.error);
+                slice = getCurrentSlice();
+            }
+            coordinator.tell(slice, getSelf());
+        }
+    }
+
+    private BackgroundSyncSlice getCurrentSlice() {
+        // report the smaller ID between persisted and indexed according to background sync stream processing order
+        final ThingId progress = BackgroundSyncStream.compareThingIds(progressIndexed, progressPersisted) <= 0
+                ? progressIndexed
+                : progressPersisted;
+        return slice.withProgress(progress);
+    }
+
+    private void shutdownKillSwitch() {
+        if (killSwitch != null) {
+            killSwitch.shutdown();
+            killSwitch = null;
+        }
+    }
+
+    private static final class ProgressReport {
+
+        private final BackgroundSyncSlice slice;
+        private final ThingId thingId;
+        private final boolean persisted;
+
+        private ProgressReport(final BackgroundSyncSlice slice, final ThingId thingId, final boolean persisted) {
+            this.slice = slice;
+            this.thingId = thingId;
+            this.persisted = persisted;
+        }
+    }
+
+    private static final class SliceTerminated {
+
+        private final BackgroundSyncSlice slice;
+        @Nullable private final Throwable error;
+
+        private SliceTerminated(final BackgroundSyncSlice slice, @Nullable final Throwable error) {
+            this.slice = slice;
+            this.error = error;
+        }
+    }
+
+}
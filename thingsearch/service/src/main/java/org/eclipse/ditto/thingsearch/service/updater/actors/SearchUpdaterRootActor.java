@@ -12,14 +12,20 @@
  */
 package org.eclipse.ditto.thingsearch.service.updater.actors;
 
+import java.time.Duration;
+
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.api.devops.signals.commands.RetrieveStatisticsDetails;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.base.service.actors.StartChildActor;
 import org.eclipse.ditto.internal.utils.akka.streaming.TimestampPersistence;
 import org.eclipse.ditto.internal.utils.cluster.ClusterUtil;
 import org.eclipse.ditto.internal.utils.cluster.DistPubSubAccess;
 import org.eclipse.ditto.internal.utils.health.RetrieveHealth;
+import org.eclipse.ditto.internal.utils.health.RetrieveHealthResponse;
+import org.eclipse.ditto.internal.utils.health.StatusDetailMessage;
+import org.eclipse.ditto.internal.utils.health.StatusInfo;
 import org.eclipse.ditto.internal.utils.namespaces.BlockedNamespaces;
 import org.eclipse.ditto.internal.utils.persistence.mongo.DittoMongoClient;
 import org.eclipse.ditto.internal.utils.persistence.mongo.MongoClientWrapper;
@@ -32,14 +38,14 @@ import org.eclipse.ditto.thingsearch.service.common.config.SearchConfig;
 import org.eclipse.ditto.thingsearch.service.common.util.RootSupervisorStrategyFactory;
 import org.eclipse.ditto.thingsearch.service.persistence.read.ThingsSearchPersistence;
 import org.eclipse.ditto.thingsearch.service.persistence.write.impl.MongoThingsSearchUpdaterPersistence;
-import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.ChangeQueueActor;
+import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.ChangeQueue;
 import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.SearchUpdateMapper;
 import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.SearchUpdaterStream;
 
 import com.mongodb.event.CommandListener;
 import com.mongodb.event.ConnectionPoolListener;
 
-import akka.actor.AbstractActor;
+import akka.actor.AbstractActorWithTimers;
 import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.actor.Status;
@@ -52,8 +58,10 @@ import akka.stream.KillSwitch;
 /**
  * Our "Parent" Actor which takes care of supervision of all other Actors in our system.
  * Child of {@code SearchRootActor}.
+ * Responds to {@link RetrieveUpdaterStreamHealth} with the current adaptive batching parameters of the search updater
+ * streams.
  */
-public final class SearchUpdaterRootActor extends AbstractActor {
+public final class SearchUpdaterRootActor extends AbstractActorWithTimers {
 
     /**
      * The name of this Actor in the ActorSystem.
@@ -69,10 +77,14 @@ public final class SearchUpdaterRootActor extends AbstractActor {
 
     private static final String SEARCH_ROLE = "things-search";
 
+    private static final Duration CHANGE_QUEUE_METRICS_INTERVAL = Duration.ofSeconds(5L);
+
     private final LoggingAdapter log = Logging.getLogger(getContext().system(), this);
 
     private final SupervisorStrategy supervisorStrategy = RootSupervisorStrategyFactory.createStrategy(log);
 
+    private final ChangeQueue changeQueue;
+    private final SearchUpdaterStream searchUpdaterStream;
     private final KillSwitch updaterStreamKillSwitch;
     private final KillSwitch updaterStreamWithAcknowledgementsKillSwitch;
     private final ActorRef thingsUpdaterActor;
@@ -98,11 +110,11 @@ public final class SearchUpdaterRootActor extends AbstractActor {
 
         final var shardRegionFactory = ShardRegionFactory.getInstance(actorSystem);
         final var blockedNamespaces = BlockedNamespaces.of(actorSystem);
-        final ActorRef changeQueueActor = startChildActor(ChangeQueueActor.ACTOR_NAME, ChangeQueueActor.props());
+        final var updaterConfig = searchConfig.getUpdaterConfig();
+        changeQueue = ChangeQueue.of(updaterConfig.getStreamConfig().getChangeQueueStripes());
 
-        final var thingUpdaterProps = ThingUpdater.props(pubSubMediator, changeQueueActor);
+        final var thingUpdaterProps = ThingUpdater.props(pubSubMediator, changeQueue);
 
-        final var updaterConfig = searchConfig.getUpdaterConfig();
         if (!updaterConfig.isEventProcessingActive()) {
             log.warning("Event processing is disabled!");
         }
@@ -113,12 +125,14 @@ public final class SearchUpdaterRootActor extends AbstractActor {
                 shardRegionFactory.getSearchUpdaterShardRegion(numberOfShards, thingUpdaterProps, CLUSTER_ROLE);
 
         final var searchUpdateMapper = SearchUpdateMapper.get(actorSystem);
-        final SearchUpdaterStream searchUpdaterStream =
+        searchUpdaterStream =
                 SearchUpdaterStream.of(updaterConfig, actorSystem, thingsShard, policiesShard, updaterShard,
-                        changeQueueActor, dittoMongoClient.getDefaultDatabase(), blockedNamespaces,
+                        changeQueue, dittoMongoClient.getDefaultDatabase(), blockedNamespaces,
                         searchUpdateMapper);
         updaterStreamKillSwitch = searchUpdaterStream.start(getContext(), false);
         updaterStreamWithAcknowledgementsKillSwitch = searchUpdaterStream.start(getContext(), true);
+        getTimers().startTimerAtFixedRate(Control.UPDATE_CHANGE_QUEUE_METRICS, Control.UPDATE_CHANGE_QUEUE_METRICS,
+                CHANGE_QUEUE_METRICS_INTERVAL);
 
         final var searchUpdaterPersistence =
                 MongoThingsSearchUpdaterPersistence.of(dittoMongoClient.getDefaultDatabase());
@@ -142,14 +156,28 @@ public final class SearchUpdaterRootActor extends AbstractActor {
                         searchUpdaterPersistence);
         startChildActor(PolicyEventForwarder.ACTOR_NAME, policyEventForwarderProps);
 
+        // start workers of partitioned background sync sharded across search nodes
+        final var backgroundSyncConfig = updaterConfig.getBackgroundSyncConfig();
+        final var backgroundSyncSliceProps = BackgroundSyncSliceActor.props(
+                backgroundSyncConfig,
+                pubSubMediator,
+                thingsSearchPersistence,
+                policiesShard,
+                thingsUpdaterActor
+        );
+        final ActorRef backgroundSyncSliceShard =
+                shardRegionFactory.getBackgroundSyncSliceShardRegion(numberOfShards, backgroundSyncSliceProps,
+                        CLUSTER_ROLE);
+
         // start background sync actor as cluster singleton
         final var backgroundSyncActorProps = BackgroundSyncActor.props(
-                updaterConfig.getBackgroundSyncConfig(),
+                backgroundSyncConfig,
                 pubSubMediator,
                 thingsSearchPersistence,
                 backgroundSyncPersistence,
                 shardRegionFactory.getPoliciesShardRegion(numberOfShards),
-                thingsUpdaterActor
+                thingsUpdaterActor,
+                backgroundSyncSliceShard
         );
         backgroundSyncActorProxy =
                 ClusterUtil.startSingletonProxy(getContext(), CLUSTER_ROLE,
@@ -206,6 +234,8 @@ public final class SearchUpdaterRootActor extends AbstractActor {
         return ReceiveBuilder.create()
                 .match(RetrieveStatisticsDetails.class, cmd -> thingsUpdaterActor.forward(cmd, getContext()))
                 .match(RetrieveHealth.class, cmd -> backgroundSyncActorProxy.forward(cmd, getContext()))
+                .match(RetrieveUpdaterStreamHealth.class, this::retrieveUpdaterStreamHealth)
+                .matchEquals(Control.UPDATE_CHANGE_QUEUE_METRICS, trigger -> changeQueue.updateMetrics())
                 .match(Status.Failure.class, f -> log.error(f.cause(), "Got failure: {}", f))
                 .match(StartChildActor.class, this::startChildActor)
                 .matchAny(m -> {
@@ -220,6 +250,12 @@ public final class SearchUpdaterRootActor extends AbstractActor {
         return supervisorStrategy;
     }
 
+    private void retrieveUpdaterStreamHealth(final RetrieveUpdaterStreamHealth command) {
+        final StatusInfo statusInfo = StatusInfo.fromDetail(StatusDetailMessage.of(StatusDetailMessage.Level.INFO,
+                searchUpdaterStream.getAdaptiveBatchingStatus()));
+        getSender().tell(RetrieveHealthResponse.of(statusInfo, DittoHeaders.empty()), getSelf());
+    }
+
     private void startChildActor(final StartChildActor message) {
         startChildActor(message.getActorName(), message.getProps());
     }
@@ -233,4 +269,26 @@ public final class SearchUpdaterRootActor extends AbstractActor {
         return ClusterUtil.startSingleton(getContext(), SEARCH_ROLE, actorName, props);
     }
 
+    private enum Control {
+
+        /**
+         * Trigger to update the gauges of the change queue, whose oldest entry ages while the queue is not drained.
+         */
+        UPDATE_CHANGE_QUEUE_METRICS
+
+    }
+
+    /**
+     * Local message to retrieve the state of the search updater streams of this instance as
+     * {@link RetrieveHealthResponse}.
+     */
+    public enum RetrieveUpdaterStreamHealth {
+
+        /**
+         * The single instance of this message.
+         */
+        INSTANCE
+
+    }
+
 }
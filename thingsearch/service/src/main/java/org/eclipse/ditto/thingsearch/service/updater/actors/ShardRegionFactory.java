@@ -109,4 +109,27 @@ final class ShardRegionFactory {
         return clusterSharding.start(UPDATER_SHARD_REGION, thingUpdaterProps, shardingSettings, shardRegionExtractor);
     }
 
+    /**
+     * Returns a new Sharding Region for the workers of partitioned background sync.
+     *
+     * @param numberOfShards the number of shards to use.
+     * @param sliceActorProps the Props of the BackgroundSyncSliceActor.
+     * @param clusterRole the cluster role of the nodes to start the workers on.
+     * @return the Sharding Region.
+     * @throws NullPointerException if {@code sliceActorProps} is {@code null}.
+     */
+    @Nonnull
+    public ActorRef getBackgroundSyncSliceShardRegion(final int numberOfShards,
+            @Nonnull final Props sliceActorProps,
+            final String clusterRole) {
+        checkNotNull(sliceActorProps, "Props of BackgroundSyncSliceActor");
+
+        final ClusterSharding clusterSharding = ClusterSharding.get(actorSystem);
+        final ClusterShardingSettings shardingSettings =
+                ClusterShardingSettings.create(actorSystem).withRole(clusterRole);
+
+        return clusterSharding.start(BackgroundSyncSliceActor.SHARD_REGION, sliceActorProps, shardingSettings,
+                BackgroundSyncSliceActor.messageExtractor(numberOfShards));
+    }
+
 }
@@ -42,6 +42,7 @@ import org.eclipse.ditto.thingsearch.api.commands.sudo.UpdateThing;
 import org.eclipse.ditto.thingsearch.api.commands.sudo.UpdateThingResponse;
 import org.eclipse.ditto.thingsearch.service.common.config.DittoSearchConfig;
 import org.eclipse.ditto.thingsearch.service.persistence.write.model.Metadata;
+import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.ChangeQueue;
 import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.ConsistencyLag;
 
 import akka.actor.AbstractActor;
@@ -62,7 +63,7 @@ final class ThingUpdater extends AbstractActor {
     private final DittoDiagnosticLoggingAdapter log;
     private final ThingId thingId;
     private final ShutdownBehaviour shutdownBehaviour;
-    private final ActorRef changeQueueActor;
+    private final ChangeQueue changeQueue;
 
     // state of Thing and Policy
     private long thingRevision = -1L;
@@ -70,14 +71,14 @@ final class ThingUpdater extends AbstractActor {
     private long policyRevision = -1L;
 
     @SuppressWarnings("unused") //It is used via reflection. See props method.
-    private ThingUpdater(final ActorRef pubSubMediator, final ActorRef changeQueueActor) {
+    private ThingUpdater(final ActorRef pubSubMediator, final ChangeQueue changeQueue) {
         log = DittoLoggerFactory.getDiagnosticLoggingAdapter(this);
         final var dittoSearchConfig = DittoSearchConfig.of(
                 DefaultScopedConfig.dittoScoped(getContext().getSystem().settings().config())
         );
         thingId = tryToGetThingId();
         shutdownBehaviour = ShutdownBehaviour.fromId(thingId, pubSubMediator, getSelf());
-        this.changeQueueActor = changeQueueActor;
+        this.changeQueue = changeQueue;
 
         getContext().setReceiveTimeout(dittoSearchConfig.getUpdaterConfig().getMaxIdleTime());
     }
@@ -86,12 +87,12 @@ final class ThingUpdater extends AbstractActor {
      * Creates Akka configuration object for this actor.
      *
      * @param pubSubMediator Akka pub-sub mediator.
-     * @param changeQueueActor reference of the change queue actor.
+     * @param changeQueue the queue of thing changes.
      * @return the Akka configuration Props object
      */
-    static Props props(final ActorRef pubSubMediator, final ActorRef changeQueueActor) {
+    static Props props(final ActorRef pubSubMediator, final ChangeQueue changeQueue) {
 
-        return Props.create(ThingUpdater.class, pubSubMediator, changeQueueActor);
+        return Props.create(ThingUpdater.class, pubSubMediator, changeQueue);
     }
 
     @Override
@@ -145,7 +146,7 @@ final class ThingUpdater extends AbstractActor {
     }
 
     private void enqueueMetadata(final Metadata metadata) {
-        changeQueueActor.tell(metadata, getSelf());
+        changeQueue.enqueue(metadata);
     }
 
     private void processThingTag(final ThingTag thingTag) {
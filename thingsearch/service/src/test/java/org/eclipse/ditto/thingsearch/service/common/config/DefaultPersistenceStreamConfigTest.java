@@ -85,6 +85,21 @@ public final class DefaultPersistenceStreamConfigTest {
                 .as(PersistenceStreamConfigValue.WITH_ACKS_WRITE_CONCERN.getConfigPath())
                 .isEqualTo(WriteConcern.valueOf(
                         (String) PersistenceStreamConfigValue.WITH_ACKS_WRITE_CONCERN.getDefaultValue()));
+
+        softly.assertThat(underTest.getAdaptiveBatchingConfig())
+                .as(DefaultAdaptiveBatchingConfig.CONFIG_PATH)
+                .isEqualTo(DefaultAdaptiveBatchingConfig.of(ConfigFactory.empty()));
+        softly.assertThat(underTest.getAdaptiveBatchingConfig().isEnabled())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.ENABLED.getConfigPath())
+                .isEqualTo(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.ENABLED.getDefaultValue());
+
+        softly.assertThat(underTest.getIncrementalUpdateCacheSize())
+                .as(PersistenceStreamConfigValue.INCREMENTAL_UPDATE_CACHE_SIZE.getConfigPath())
+                .isEqualTo(PersistenceStreamConfigValue.INCREMENTAL_UPDATE_CACHE_SIZE.getDefaultValue());
+
+        softly.assertThat(underTest.getIncrementalUpdateMaxDiffSize())
+                .as(PersistenceStreamConfigValue.INCREMENTAL_UPDATE_MAX_DIFF_SIZE.getConfigPath())
+                .isEqualTo(PersistenceStreamConfigValue.INCREMENTAL_UPDATE_MAX_DIFF_SIZE.getDefaultValue());
     }
 
     @Test
@@ -111,6 +126,37 @@ public final class DefaultPersistenceStreamConfigTest {
         softly.assertThat(underTest.getWithAcknowledgementsWriteConcern())
                 .as(PersistenceStreamConfigValue.WITH_ACKS_WRITE_CONCERN.getConfigPath())
                 .isEqualTo(WriteConcern.MAJORITY);
+
+        softly.assertThat(underTest.getIncrementalUpdateCacheSize())
+                .as(PersistenceStreamConfigValue.INCREMENTAL_UPDATE_CACHE_SIZE.getConfigPath())
+                .isEqualTo(76);
+
+        softly.assertThat(underTest.getIncrementalUpdateMaxDiffSize())
+                .as(PersistenceStreamConfigValue.INCREMENTAL_UPDATE_MAX_DIFF_SIZE.getConfigPath())
+                .isEqualTo(77);
+
+        final AdaptiveBatchingConfig adaptiveBatchingConfig = underTest.getAdaptiveBatchingConfig();
+        softly.assertThat(adaptiveBatchingConfig.isEnabled())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.ENABLED.getConfigPath())
+                .isTrue();
+        softly.assertThat(adaptiveBatchingConfig.getMinBulkSize())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.MIN_BULK_SIZE.getConfigPath())
+                .isEqualTo(70);
+        softly.assertThat(adaptiveBatchingConfig.getMinParallelism())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.MIN_PARALLELISM.getConfigPath())
+                .isEqualTo(71);
+        softly.assertThat(adaptiveBatchingConfig.getTargetLatency())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.TARGET_LATENCY.getConfigPath())
+                .isEqualTo(Duration.ofSeconds(72L));
+        softly.assertThat(adaptiveBatchingConfig.getBulkSizeIncrease())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.BULK_SIZE_INCREASE.getConfigPath())
+                .isEqualTo(73);
+        softly.assertThat(adaptiveBatchingConfig.getDecreaseFactor())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.DECREASE_FACTOR.getConfigPath())
+                .isEqualTo(0.74);
+        softly.assertThat(adaptiveBatchingConfig.getMaxErrorRate())
+                .as(AdaptiveBatchingConfig.AdaptiveBatchingConfigValue.MAX_ERROR_RATE.getConfigPath())
+                .isEqualTo(0.75);
     }
 
 }
@@ -71,6 +71,14 @@ public final class DefaultStreamConfigTest {
                 .as(StreamConfigValue.WRITE_INTERVAL.getConfigPath())
                 .isEqualTo(StreamConfigValue.WRITE_INTERVAL.getDefaultValue());
 
+        softly.assertThat(underTest.getAcknowledgedWriteInterval())
+                .as(StreamConfigValue.ACKNOWLEDGED_WRITE_INTERVAL.getConfigPath())
+                .isEqualTo(StreamConfigValue.ACKNOWLEDGED_WRITE_INTERVAL.getDefaultValue());
+
+        softly.assertThat(underTest.getChangeQueueStripes())
+                .as(StreamConfigValue.CHANGE_QUEUE_STRIPES.getConfigPath())
+                .isEqualTo(StreamConfigValue.CHANGE_QUEUE_STRIPES.getDefaultValue());
+
         softly.assertThat(underTest.isDeleteImmediately())
                 .as(StreamConfigValue.DELETE_IMMEDIATELY.getConfigPath())
                 .isEqualTo(StreamConfigValue.DELETE_IMMEDIATELY.getDefaultValue());
@@ -88,6 +96,14 @@ public final class DefaultStreamConfigTest {
                 .as(StreamConfigValue.WRITE_INTERVAL.getConfigPath())
                 .isEqualTo(Duration.ofSeconds(2));
 
+        softly.assertThat(underTest.getAcknowledgedWriteInterval())
+                .as(StreamConfigValue.ACKNOWLEDGED_WRITE_INTERVAL.getConfigPath())
+                .isEqualTo(Duration.ofSeconds(3));
+
+        softly.assertThat(underTest.getChangeQueueStripes())
+                .as(StreamConfigValue.CHANGE_QUEUE_STRIPES.getConfigPath())
+                .isEqualTo(4);
+
         softly.assertThat(underTest.isDeleteImmediately())
                 .as(StreamConfigValue.DELETE_IMMEDIATELY.getConfigPath())
                 .isEqualTo(false);
@@ -12,8 +12,25 @@
  */
 package org.eclipse.ditto.thingsearch.service.persistence.write.model;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.thingsearch.service.persistence.PersistenceConstants;
 import org.junit.Test;
 
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.testkit.TestProbe;
@@ -24,6 +41,9 @@ import nl.jqno.equalsverifier.EqualsVerifier;
  */
 public final class ThingWriteModelTest extends AbstractWithActorSystemTest {
 
+    private static final ThingId THING_ID = ThingId.of("thing:id");
+    private static final PolicyId POLICY_ID = PolicyId.of("policy:id");
+
     @Test
     public void testHashCodeAndEquals() {
         system = ActorSystem.create();
@@ -35,4 +55,99 @@ public final class ThingWriteModelTest extends AbstractWithActorSystemTest {
                 .verify();
     }
 
+    @Test
+    public void changedValuesAreSetAndRemovedValuesAreUnset() {
+        final ThingWriteModel lastWriteModel = writeModel(1L, 1L, attributes(1, 2), flattened(1, 2));
+        final ThingWriteModel nextWriteModel = writeModel(2L, 1L,
+                new BsonDocument().append("a", new BsonInt32(1)).append("c", new BsonInt32(3)), flattened(1, 3));
+
+        final ThingWriteModel underTest = nextWriteModel.toIncrementalUpdate(lastWriteModel, 100).orElseThrow();
+
+        assertThat(underTest.isIncrementalUpdate()).isTrue();
+        final WriteModel<Document> mongoWriteModel = underTest.toMongo();
+        assertThat(mongoWriteModel).isInstanceOf(UpdateOneModel.class);
+        final UpdateOneModel<Document> updateOneModel = (UpdateOneModel<Document>) mongoWriteModel;
+        assertThat(updateOneModel.getUpdate()).isEqualTo(new Document()
+                .append(AbstractWriteModel.SET, new Document()
+                        .append(PersistenceConstants.FIELD_REVISION, 2L)
+                        .append(PersistenceConstants.FIELD_SORTING + ".attributes.c", new BsonInt32(3))
+                        .append(PersistenceConstants.FIELD_INTERNAL + ".1", new BsonInt32(3)))
+                .append(AbstractWriteModel.UNSET, new Document()
+                        .append(PersistenceConstants.FIELD_SORTING + ".attributes.b", "")));
+        assertThat(render(updateOneModel.getFilter())).isEqualTo(render(Filters.and(
+                Filters.eq(PersistenceConstants.FIELD_ID, new BsonString(THING_ID.toString())),
+                Filters.eq(PersistenceConstants.FIELD_REVISION, 1L),
+                Filters.eq(PersistenceConstants.FIELD_POLICY_REVISION, 1L))));
+    }
+
+    @Test
+    public void arraysOfDifferentLengthAreReplaced() {
+        final ThingWriteModel lastWriteModel = writeModel(1L, 1L, attributes(1, 2), flattened(1, 2));
+        final ThingWriteModel nextWriteModel = writeModel(2L, 1L, attributes(1, 2), flattened(1, 2, 3));
+
+        final UpdateOneModel<Document> underTest = (UpdateOneModel<Document>)
+                nextWriteModel.toIncrementalUpdate(lastWriteModel, 100).orElseThrow().toMongo();
+
+        assertThat(underTest.getUpdate()).isEqualTo(new Document()
+                .append(AbstractWriteModel.SET, new Document()
+                        .append(PersistenceConstants.FIELD_REVISION, 2L)
+                        .append(PersistenceConstants.FIELD_INTERNAL, flattened(1, 2, 3))));
+    }
+
+    @Test
+    public void documentIsReplacedIfPolicyRevisionChanged() {
+        final ThingWriteModel lastWriteModel = writeModel(1L, 1L, attributes(1, 2), flattened(1, 2));
+        final ThingWriteModel nextWriteModel = writeModel(2L, 2L, attributes(1, 3), flattened(1, 2));
+
+        assertThat(nextWriteModel.toIncrementalUpdate(lastWriteModel, 100)).isEmpty();
+        assertThat(nextWriteModel.isIncrementalUpdate()).isFalse();
+        assertThat(nextWriteModel.toMongo()).isInstanceOf(ReplaceOneModel.class);
+    }
+
+    @Test
+    public void documentIsReplacedIfRevisionDidNotIncrease() {
+        final ThingWriteModel lastWriteModel = writeModel(2L, 1L, attributes(1, 2), flattened(1, 2));
+        final ThingWriteModel nextWriteModel = writeModel(2L, 1L, attributes(1, 3), flattened(1, 3));
+
+        assertThat(nextWriteModel.toIncrementalUpdate(lastWriteModel, 100)).isEmpty();
+    }
+
+    @Test
+    public void documentIsReplacedIfDiffIsTooLarge() {
+        final ThingWriteModel lastWriteModel = writeModel(1L, 1L, attributes(1, 2), flattened(1, 2));
+        final ThingWriteModel nextWriteModel = writeModel(2L, 1L, attributes(3, 4), flattened(3, 4, 5));
+
+        assertThat(nextWriteModel.toIncrementalUpdate(lastWriteModel, 5)).isEmpty();
+        assertThat(nextWriteModel.toIncrementalUpdate(lastWriteModel, 7)).isNotEmpty();
+    }
+
+    private static ThingWriteModel writeModel(final long thingRevision, final long policyRevision,
+            final BsonDocument attributes, final BsonArray flattened) {
+
+        final Document document = new Document()
+                .append(PersistenceConstants.FIELD_ID, THING_ID.toString())
+                .append(PersistenceConstants.FIELD_REVISION, thingRevision)
+                .append(PersistenceConstants.FIELD_POLICY_ID, POLICY_ID.toString())
+                .append(PersistenceConstants.FIELD_POLICY_REVISION, policyRevision)
+                .append(PersistenceConstants.FIELD_SORTING, new BsonDocument("attributes", attributes))
+                .append(PersistenceConstants.FIELD_INTERNAL, flattened);
+        return ThingWriteModel.of(Metadata.of(THING_ID, thingRevision, POLICY_ID, policyRevision, null), document);
+    }
+
+    private static BsonDocument render(final Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    private static BsonDocument attributes(final int a, final int b) {
+        return new BsonDocument().append("a", new BsonInt32(a)).append("b", new BsonInt32(b));
+    }
+
+    private static BsonArray flattened(final int... values) {
+        final BsonArray array = new BsonArray();
+        for (final int value : values) {
+            array.add(new BsonInt32(value));
+        }
+        return array;
+    }
+
 }
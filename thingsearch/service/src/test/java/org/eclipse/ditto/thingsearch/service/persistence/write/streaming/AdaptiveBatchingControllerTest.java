@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.ditto.thingsearch.service.common.config.DefaultAdaptiveBatchingConfig;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Tests {@link AdaptiveBatchingController}.
+ */
+public final class AdaptiveBatchingControllerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10L);
+    private static final Duration SLOW = Duration.ofSeconds(2L);
+
+    @Test
+    public void parametersAreFixedIfDisabled() {
+        final AdaptiveBatchingController underTest = createController(false);
+
+        underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), SLOW, true);
+
+        assertThat(underTest.getBulkSize()).isEqualTo(100);
+        assertThat(underTest.getParallelism()).isEqualTo(8);
+    }
+
+    @Test
+    public void slowBulkWriteDecreasesMultiplicatively() {
+        final AdaptiveBatchingController underTest = createController(true);
+
+        underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), SLOW, false);
+
+        assertThat(underTest.getBulkSize()).isEqualTo(50);
+        assertThat(underTest.getParallelism()).isEqualTo(4);
+    }
+
+    @Test
+    public void congestionObservedByBulkWritesInFlightDecreasesOnce() {
+        final AdaptiveBatchingController underTest = createController(true);
+        final long token1 = underTest.onBulkWriteStarted();
+        final long token2 = underTest.onBulkWriteStarted();
+
+        underTest.onBulkWriteCompleted(token1, SLOW, false);
+        underTest.onBulkWriteCompleted(token2, SLOW, false);
+
+        assertThat(underTest.getBulkSize()).isEqualTo(50);
+        assertThat(underTest.getParallelism()).isEqualTo(4);
+    }
+
+    @Test
+    public void decreaseIsBoundedByMinimum() {
+        final AdaptiveBatchingController underTest = createController(true);
+
+        for (int i = 0; i < 10; i++) {
+            underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), FAST, true);
+        }
+
+        assertThat(underTest.getBulkSize()).isEqualTo(10);
+        assertThat(underTest.getParallelism()).isEqualTo(1);
+    }
+
+    @Test
+    public void fastBulkWritesIncreaseBulkSizeBeforeParallelism() {
+        final AdaptiveBatchingController underTest = createController(true);
+        underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), SLOW, false);
+
+        for (int i = 0; i < 4; i++) {
+            underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), FAST, false);
+        }
+        assertThat(underTest.getBulkSize()).isEqualTo(90);
+        assertThat(underTest.getParallelism()).isEqualTo(4);
+
+        for (int i = 0; i < 3; i++) {
+            underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), FAST, false);
+        }
+        assertThat(underTest.getBulkSize()).isEqualTo(100);
+        assertThat(underTest.getParallelism()).isEqualTo(6);
+        assertThat(underTest.toJson().getValue("parallelism")).map(Object::toString).contains("6");
+    }
+
+    @Test
+    public void fastBulkWritesDoNotIncreaseWithoutBacklog() {
+        final AtomicLong backlog = new AtomicLong(0L);
+        final AdaptiveBatchingController underTest = createController(true, backlog::get);
+        underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), SLOW, false);
+
+        underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), FAST, false);
+        assertThat(underTest.getBulkSize()).isEqualTo(50);
+
+        backlog.set(50L);
+        underTest.onBulkWriteCompleted(underTest.onBulkWriteStarted(), FAST, false);
+        assertThat(underTest.getBulkSize()).isEqualTo(60);
+        assertThat(underTest.toJson().getValue("backlog")).map(Object::toString).contains("50");
+    }
+
+    private static AdaptiveBatchingController createController(final boolean enabled) {
+        return createController(enabled, () -> Long.MAX_VALUE);
+    }
+
+    private static AdaptiveBatchingController createController(final boolean enabled, final LongSupplier backlog) {
+        final DefaultAdaptiveBatchingConfig config = DefaultAdaptiveBatchingConfig.of(ConfigFactory.parseString(
+                "adaptive-batching {\n" +
+                        "  enabled = " + enabled + "\n" +
+                        "  min-bulk-size = 10\n" +
+                        "  min-parallelism = 1\n" +
+                        "  target-latency = 1s\n" +
+                        "  bulk-size-increase = 10\n" +
+                        "  decrease-factor = 0.5\n" +
+                        "  max-error-rate = 0.1\n" +
+                        "}"));
+        return AdaptiveBatchingController.of(config, 100, 8, false, backlog);
+    }
+
+}
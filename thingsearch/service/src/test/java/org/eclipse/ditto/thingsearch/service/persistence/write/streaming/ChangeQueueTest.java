@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
+import org.eclipse.ditto.things.model.signals.events.ThingMerged;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.Metadata;
+import org.junit.After;
+import org.junit.Test;
+
+import akka.actor.ActorSystem;
+import akka.stream.javadsl.Sink;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests {@link ChangeQueue}.
+ */
+public final class ChangeQueueTest {
+
+    private static final ThingId THING_ID = ThingId.of("thing:id");
+
+    private final ActorSystem system = ActorSystem.create();
+
+    @After
+    public void shutdown() {
+        TestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void aggregateThingEvents() {
+        final ChangeQueue underTest = ChangeQueue.of(4);
+        final long start = 1;
+        final long end = 5;
+        for (long i = start; i <= end; ++i) {
+            underTest.enqueue(metadataWithEvent(THING_ID, i));
+        }
+
+        final Map<ThingId, Metadata> map = underTest.drain(false);
+        final Metadata metadata = Objects.requireNonNull(map.get(THING_ID));
+        assertThat(metadata.getThingRevision()).isEqualTo(end);
+        assertThat(metadata.getEvents().stream().map(ThingEvent::getRevision).collect(Collectors.toList()))
+                .isEqualTo(LongStream.rangeClosed(start, end).boxed().collect(Collectors.toList()));
+        assertThat(underTest.drain(false)).isEmpty();
+    }
+
+    @Test
+    public void changesRequestingAcknowledgementsAreKeptInSeparateLane() {
+        final ChangeQueue underTest = ChangeQueue.of(4);
+        final ThingId otherThingId = ThingId.of("thing:other");
+        underTest.enqueue(metadataWithEvent(THING_ID, 1L));
+        underTest.enqueue(Metadata.of(otherThingId, 2L, null, null, List.of(), null,
+                TestProbe.apply(system).ref()));
+
+        assertThat(underTest.size(true)).isEqualTo(1L);
+        assertThat(underTest.size(false)).isEqualTo(1L);
+        assertThat(underTest.drain(true)).containsOnlyKeys(otherThingId);
+        assertThat(underTest.drain(false)).containsOnlyKeys(THING_ID);
+        assertThat(underTest.size(false)).isZero();
+    }
+
+    @Test
+    public void concurrentlyEnqueuedChangesAreDrainedExactlyOnce() {
+        final ChangeQueue underTest = ChangeQueue.of(16);
+        final int threads = 4;
+        final int thingsPerThread = 1000;
+        final int changesPerThing = 5;
+        final CompletableFuture<?>[] producers = IntStream.range(0, threads)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int revision = 1; revision <= changesPerThing; revision++) {
+                        for (int i = 0; i < thingsPerThread; i++) {
+                            final ThingId thingId = ThingId.of("thing", thread + "-" + i);
+                            underTest.enqueue(metadataWithEvent(thingId, revision));
+                        }
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        final Map<ThingId, Integer> eventCounts = new HashMap<>();
+        final CompletableFuture<Void> allProducers = CompletableFuture.allOf(producers);
+        while (!allProducers.isDone()) {
+            drainInto(underTest, eventCounts);
+        }
+        drainInto(underTest, eventCounts);
+
+        assertThat(eventCounts).hasSize(threads * thingsPerThread);
+        assertThat(eventCounts.values()).containsOnly(changesPerThing);
+    }
+
+    @Test
+    public void sourceEmitsNonemptySnapshots() throws Exception {
+        final ChangeQueue underTest = ChangeQueue.of(1);
+        underTest.enqueue(metadataWithEvent(THING_ID, 1L));
+
+        final Map<ThingId, Metadata> snapshot = underTest.createSource(false, Duration.ofMillis(10L))
+                .runWith(Sink.head(), system)
+                .toCompletableFuture()
+                .get(3L, TimeUnit.SECONDS);
+
+        assertThat(snapshot).containsOnlyKeys(THING_ID);
+    }
+
+    @Test
+    public void sourceWithoutWriteIntervalWaitsForChangesOnEmptyQueue() throws Exception {
+        final ChangeQueue underTest = ChangeQueue.of(1);
+
+        final CompletableFuture<Map<ThingId, Metadata>> snapshot = underTest.createSource(false, Duration.ZERO)
+                .runWith(Sink.head(), system)
+                .toCompletableFuture();
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertThat(snapshot).isNotDone();
+
+        underTest.enqueue(metadataWithEvent(THING_ID, 1L));
+        assertThat(snapshot.get(3L, TimeUnit.SECONDS)).containsOnlyKeys(THING_ID);
+    }
+
+    private static void drainInto(final ChangeQueue changeQueue, final Map<ThingId, Integer> eventCounts) {
+        changeQueue.drain(false).forEach((thingId, metadata) ->
+                eventCounts.merge(thingId, metadata.getEvents().size(), Integer::sum));
+    }
+
+    private static Metadata metadataWithEvent(final ThingId thingId, final long seqNr) {
+        return Metadata.of(thingId, seqNr, null, null,
+                List.of(ThingMerged.of(thingId, JsonPointer.of("attributes/seqNr"), JsonValue.of(seqNr), seqNr, null,
+                        DittoHeaders.empty(), null)),
+                null, null);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.persistence.write.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.Document;
+import org.eclipse.ditto.policies.model.PolicyId;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.thingsearch.service.persistence.PersistenceConstants;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.AbstractWriteModel;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.Metadata;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.ThingDeleteModel;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.ThingWriteModel;
+import org.eclipse.ditto.thingsearch.service.persistence.write.model.WriteResultAndErrors;
+import org.junit.Test;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Tests {@link IncrementalUpdates}.
+ */
+public final class IncrementalUpdatesTest {
+
+    private static final ThingId THING_ID_1 = ThingId.of("thing:1");
+    private static final ThingId THING_ID_2 = ThingId.of("thing:2");
+    private static final PolicyId POLICY_ID = PolicyId.of("policy:id");
+
+    @Test
+    public void secondWriteOfThingIsIncremental() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(10, 100);
+
+        final List<AbstractWriteModel> first = writeSuccessfully(underTest, List.of(writeModel(THING_ID_1, 1L)));
+        final List<AbstractWriteModel> second = underTest.convert(List.of(writeModel(THING_ID_1, 2L)));
+
+        assertThat(isIncremental(first.get(0))).isFalse();
+        assertThat(isIncremental(second.get(0))).isTrue();
+    }
+
+    @Test
+    public void disabledIfCacheSizeIsZero() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(0, 100);
+
+        writeSuccessfully(underTest, List.of(writeModel(THING_ID_1, 1L)));
+        final List<AbstractWriteModel> second = underTest.convert(List.of(writeModel(THING_ID_1, 2L)));
+
+        assertThat(isIncremental(second.get(0))).isFalse();
+    }
+
+    @Test
+    public void deletionIsNeverBaseOfIncrementalUpdate() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(10, 100);
+
+        writeSuccessfully(underTest, List.of(writeModel(THING_ID_1, 1L)));
+        underTest.convert(List.of(ThingDeleteModel.of(Metadata.of(THING_ID_1, 2L, POLICY_ID, 1L, null), false)));
+        final List<AbstractWriteModel> third = underTest.convert(List.of(writeModel(THING_ID_1, 3L)));
+
+        assertThat(isIncremental(third.get(0))).isFalse();
+    }
+
+    @Test
+    public void notMatchedIncrementalUpdatesAreReportedAndWrittenEntirelyNextTime() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(10, 100);
+        writeSuccessfully(underTest, List.of(writeModel(THING_ID_1, 1L)));
+        final List<AbstractWriteModel> writeModels =
+                underTest.convert(List.of(writeModel(THING_ID_1, 2L), writeModel(THING_ID_2, 1L)));
+
+        // the replacement of thing 2 matched a document, the incremental update of thing 1 did not
+        final WriteResultAndErrors result = underTest.checkResult(
+                WriteResultAndErrors.success(writeModels, BulkWriteResult.acknowledged(0, 1, 0, 1, List.of())),
+                toMongo(writeModels));
+
+        assertThat(result.getBulkWriteErrors()).hasSize(1);
+        final BulkWriteError error = result.getBulkWriteErrors().get(0);
+        assertThat(error.getIndex()).isEqualTo(0);
+        assertThat(error.getCode()).isEqualTo(IncrementalUpdates.NOT_MATCHED_ERROR_CODE);
+
+        final List<AbstractWriteModel> retry = underTest.convert(List.of(writeModel(THING_ID_1, 2L)));
+        assertThat(isIncremental(retry.get(0))).isFalse();
+    }
+
+    @Test
+    public void matchedIncrementalUpdatesAreSuccessful() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(10, 100);
+        writeSuccessfully(underTest, List.of(writeModel(THING_ID_1, 1L)));
+        final List<AbstractWriteModel> writeModels =
+                underTest.convert(List.of(writeModel(THING_ID_1, 2L), writeModel(THING_ID_2, 1L)));
+
+        final WriteResultAndErrors result = underTest.checkResult(
+                WriteResultAndErrors.success(writeModels, BulkWriteResult.acknowledged(0, 2, 0, 2, List.of())),
+                toMongo(writeModels));
+
+        assertThat(result.getBulkWriteErrors()).isEmpty();
+        final List<AbstractWriteModel> next = underTest.convert(List.of(writeModel(THING_ID_1, 3L)));
+        assertThat(isIncremental(next.get(0))).isTrue();
+    }
+
+    @Test
+    public void writesAreRememberedOnlyAfterSuccessfulResult() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(10, 100);
+
+        final List<AbstractWriteModel> first = underTest.convert(List.of(writeModel(THING_ID_1, 1L)));
+        assertThat(isIncremental(underTest.convert(List.of(writeModel(THING_ID_1, 2L))).get(0))).isFalse();
+
+        underTest.checkResult(WriteResultAndErrors.unexpectedError(first, new IllegalStateException("expected")),
+                toMongo(first));
+        assertThat(isIncremental(underTest.convert(List.of(writeModel(THING_ID_1, 2L))).get(0))).isFalse();
+    }
+
+    @Test
+    public void bulkWithSoftDeletionIsNotConverted() {
+        final IncrementalUpdates underTest = IncrementalUpdates.of(10, 100);
+        writeSuccessfully(underTest, List.of(writeModel(THING_ID_1, 1L)));
+        final List<AbstractWriteModel> writeModels = underTest.convert(List.of(writeModel(THING_ID_1, 2L),
+                ThingDeleteModel.of(Metadata.of(THING_ID_2, 2L, POLICY_ID, 1L, null), false)));
+
+        assertThat(isIncremental(writeModels.get(0))).isFalse();
+
+        // the replacement of thing 1 matched a document, the soft deletion of thing 2 did not
+        final WriteResultAndErrors result = underTest.checkResult(
+                WriteResultAndErrors.success(writeModels, BulkWriteResult.acknowledged(0, 1, 0, 1, List.of())),
+                toMongo(writeModels));
+
+        assertThat(result.getBulkWriteErrors()).isEmpty();
+    }
+
+    private static List<AbstractWriteModel> writeSuccessfully(final IncrementalUpdates underTest,
+            final List<AbstractWriteModel> writeModels) {
+
+        final List<AbstractWriteModel> converted = underTest.convert(writeModels);
+        underTest.checkResult(WriteResultAndErrors.success(converted,
+                BulkWriteResult.acknowledged(0, converted.size(), 0, converted.size(), List.of())),
+                toMongo(converted));
+        return converted;
+    }
+
+    private static ThingWriteModel writeModel(final ThingId thingId, final long revision) {
+        final Document document = new Document()
+                .append(PersistenceConstants.FIELD_ID, thingId.toString())
+                .append(PersistenceConstants.FIELD_REVISION, revision)
+                .append(PersistenceConstants.FIELD_POLICY_ID, POLICY_ID.toString())
+                .append(PersistenceConstants.FIELD_POLICY_REVISION, 1L)
+                .append(PersistenceConstants.FIELD_SORTING,
+                        new BsonDocument("_revision", new BsonInt64(revision)));
+        return ThingWriteModel.of(Metadata.of(thingId, revision, POLICY_ID, 1L, null), document);
+    }
+
+    private static boolean isIncremental(final AbstractWriteModel writeModel) {
+        return ((ThingWriteModel) writeModel).isIncrementalUpdate();
+    }
+
+    private static List<WriteModel<Document>> toMongo(final List<AbstractWriteModel> writeModels) {
+        return writeModels.stream().map(AbstractWriteModel::toMongo).collect(Collectors.toList());
+    }
+
+}
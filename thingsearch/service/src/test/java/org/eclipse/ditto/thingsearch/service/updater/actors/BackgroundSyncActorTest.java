@@ -20,11 +20,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -32,6 +35,11 @@ import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 import org.awaitility.Awaitility;
+import org.eclipse.ditto.base.api.common.Shutdown;
+import org.eclipse.ditto.base.api.common.ShutdownResponse;
+import org.eclipse.ditto.base.api.common.ShutdownReasonFactory;
+import org.eclipse.ditto.json.JsonCollectors;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.base.model.common.HttpStatus;
 import org.eclipse.ditto.base.model.entity.id.EntityId;
@@ -106,6 +114,7 @@ public final class BackgroundSyncActorTest {
     private TestKit thingsUpdater;
     private TestKit pubSub;
     private TestKit policiesShardRegion;
+    private TestKit sliceShardRegion;
     private MockThingsSearchPersistence searchPersistence;
     private MockTimestampPersistence timestampPersistence;
     private BackgroundSyncConfig backgroundSyncConfig;
@@ -116,6 +125,7 @@ public final class BackgroundSyncActorTest {
         thingsUpdater = new TestKit(actorSystem);
         pubSub = new TestKit(actorSystem);
         policiesShardRegion = new TestKit(actorSystem);
+        sliceShardRegion = new TestKit(actorSystem);
         searchPersistence = new MockThingsSearchPersistence();
         timestampPersistence = new MockTimestampPersistence();
         backgroundSyncConfig = DefaultBackgroundSyncConfig.parse(ConfigFactory.load("background-sync-test.conf"));
@@ -303,6 +313,85 @@ public final class BackgroundSyncActorTest {
         }};
     }
 
+    @Test
+    public void synchronizesSlicesInParallel() {
+        backgroundSyncConfig = DefaultBackgroundSyncConfig.parse(ConfigFactory.parseString(
+                "slices = 2\nquiet-period = 100ms").withFallback(ConfigFactory.load("background-sync-test.conf")));
+
+        new TestKit(actorSystem) {{
+            whenSearchPersistenceHasIndexedThings();
+            whenTimestampPersistenceProvidesTaggedTimestamp();
+
+            final ActorRef underTest = thenCreateBackgroundSyncActor(this);
+
+            // the thing ID range is partitioned according to the sampled thing IDs
+            final Map<Integer, BackgroundSyncSlice> slices = expectSlicesToBeDispatched(2);
+            assertThat(slices.get(0).isNotAboveUpperBound(KNOWN_IDs.get(2))).isTrue();
+            assertThat(slices.get(0).isNotAboveUpperBound(KNOWN_IDs.get(3))).isFalse();
+            assertThat(slices.get(1).isNotAboveUpperBound(KNOWN_IDs.get(3))).isTrue();
+
+            // the progress of the slices is checkpointed
+            Awaitility.waitAtMost(DEFAULT_TIMEOUT.getSeconds(), TimeUnit.SECONDS)
+                    .untilAsserted(() -> assertThat(timestampPersistence.tag).startsWith("{"));
+
+            // the round terminates after all slices are done
+            slices.values().forEach(slice -> underTest.tell(slice.asDone(), sliceShardRegion.getRef()));
+            Awaitility.waitAtMost(DEFAULT_TIMEOUT.getSeconds(), TimeUnit.SECONDS)
+                    .untilAsserted(() -> {
+                        underTest.tell(RetrieveHealth.newInstance(), getRef());
+                        final RetrieveHealthResponse response = expectMsgClass(RetrieveHealthResponse.class);
+                        assertThat(response.getStatusInfo().getDetails())
+                                .anyMatch(message -> message.getMessage().toString().contains("Stream terminated"));
+                    });
+
+            // the checkpoint is cleared after the completed round
+            Awaitility.waitAtMost(DEFAULT_TIMEOUT.getSeconds(), TimeUnit.SECONDS)
+                    .untilAsserted(() -> assertThat(timestampPersistence.tags).contains(""));
+
+            // the sequential background sync stream is not started
+            pubSub.expectNoMessage();
+        }};
+    }
+
+    @Test
+    public void keepsSliceCheckpointWhenRoundIsShutDown() {
+        backgroundSyncConfig = DefaultBackgroundSyncConfig.parse(ConfigFactory.parseString(
+                "slices = 2\nquiet-period = 100ms").withFallback(ConfigFactory.load("background-sync-test.conf")));
+
+        new TestKit(actorSystem) {{
+            whenSearchPersistenceHasIndexedThings();
+            whenTimestampPersistenceProvidesTaggedTimestamp();
+
+            final ActorRef underTest = thenCreateBackgroundSyncActor(this);
+            expectSlicesToBeDispatched(2);
+            Awaitility.waitAtMost(DEFAULT_TIMEOUT.getSeconds(), TimeUnit.SECONDS)
+                    .untilAsserted(() -> assertThat(timestampPersistence.tag).startsWith("{"));
+            final String checkpoint = timestampPersistence.tag;
+
+            underTest.tell(Shutdown.getInstance(ShutdownReasonFactory.fromJson(JsonObject.empty()), DittoHeaders.empty()), getRef());
+            expectMsgClass(ShutdownResponse.class);
+
+            // the resumed round starts from the kept checkpoint
+            final Map<Integer, BackgroundSyncSlice> resumedSlices = expectSlicesToBeDispatched(2);
+            assertThat(timestampPersistence.tags).doesNotContain("");
+            assertThat(JsonObject.of(checkpoint).getValue("ranges"))
+                    .contains(resumedSlices.values()
+                            .stream()
+                            .map(BackgroundSyncSlice::toJson)
+                            .collect(JsonCollectors.valuesToArray()));
+        }};
+    }
+
+    private Map<Integer, BackgroundSyncSlice> expectSlicesToBeDispatched(final int numberOfSlices) {
+        final Map<Integer, BackgroundSyncSlice> slices = new TreeMap<>();
+        while (slices.size() < numberOfSlices) {
+            final BackgroundSyncSlice slice = sliceShardRegion.expectMsgClass(DEFAULT_TIMEOUT,
+                    BackgroundSyncSlice.class);
+            slices.put(slice.getIndex(), slice);
+        }
+        return slices;
+    }
+
     private ActorRef thenCreateBackgroundSyncActor(final TestKit system) {
         return system.childActorOf(BackgroundSyncActor.props(
                 backgroundSyncConfig,
@@ -310,7 +399,8 @@ public final class BackgroundSyncActorTest {
                 searchPersistence,
                 timestampPersistence,
                 policiesShardRegion.getRef(),
-                thingsUpdater.getRef()
+                thingsUpdater.getRef(),
+                sliceShardRegion.getRef()
         ));
     }
 
@@ -456,10 +546,18 @@ public final class BackgroundSyncActorTest {
             return Source.from(this.metadata);
         }
 
+        @Override
+        public Source<ThingId, NotUsed> sudoSampleThingIds(final int sampleSize) {
+            checkNotNull(this.metadata,
+                    "Metadata may not be null when #sudoSampleThingIds is called. Use #provideMetadata beforehand.");
+            return Source.from(this.metadata).map(Metadata::getThingId).take(sampleSize);
+        }
+
     }
 
     private static class MockTimestampPersistence implements TimestampPersistence {
 
+        private final List<String> tags = new CopyOnWriteArrayList<>();
         private Instant timestamp;
         private String tag;
 
@@ -473,6 +571,7 @@ public final class BackgroundSyncActorTest {
         public Source<Done, NotUsed> setTaggedTimestamp(final Instant timestamp, @Nullable final String tag) {
             this.timestamp = timestamp;
             this.tag = tag;
+            tags.add(String.valueOf(tag));
             return Source.single(Done.done());
         }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.thingsearch.service.updater.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorSystem;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import akka.serialization.Serializer;
+import akka.serialization.Serializers;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Unit test for {@link BackgroundSyncSlice}.
+ */
+public final class BackgroundSyncSliceTest {
+
+    private static final List<ThingId> SAMPLE = List.of(
+            ThingId.of("org.eclipse:ditto7"),
+            ThingId.of("org.eclipse:ditto2"),
+            ThingId.of("org.eclipse:ditto5"),
+            ThingId.of("org.eclipse:ditto1"),
+            ThingId.of("org.eclipse:ditto4"),
+            ThingId.of("org.eclipse:ditto8"),
+            ThingId.of("org.eclipse:ditto3"),
+            ThingId.of("org.eclipse:ditto6")
+    );
+
+    @Test
+    public void partitionCoversWholeRangeWithoutOverlap() {
+        final List<BackgroundSyncSlice> slices = BackgroundSyncSlice.partition(4, SAMPLE);
+
+        assertThat(slices).hasSize(4);
+        assertThat(slices.get(0).getResumptionPoint().toString()).isEqualTo(":_");
+        for (int i = 1; i < slices.size(); i++) {
+            final BackgroundSyncSlice previous = slices.get(i - 1);
+            final ThingId lowerBound = slices.get(i).getResumptionPoint();
+            assertThat(slices.get(i).getIndex()).isEqualTo(i);
+            assertThat(previous.isNotAboveUpperBound(lowerBound)).isTrue();
+            assertThat(slices.get(i).isNotAboveUpperBound(lowerBound)).isTrue();
+        }
+        assertThat(slices.get(0).isNotAboveUpperBound(ThingId.of("org.eclipse:ditto3"))).isTrue();
+        assertThat(slices.get(0).isNotAboveUpperBound(ThingId.of("org.eclipse:ditto4"))).isFalse();
+        assertThat(slices.get(3).isNotAboveUpperBound(ThingId.of("zzz:unbounded"))).isTrue();
+    }
+
+    @Test
+    public void partitionOfSmallSampleHasFewerSlices() {
+        assertThat(BackgroundSyncSlice.partition(4, List.of())).hasSize(1);
+        assertThat(BackgroundSyncSlice.partition(4, List.of(SAMPLE.get(0), SAMPLE.get(0)))).hasSize(2);
+    }
+
+    @Test
+    public void progressIsTheResumptionPoint() {
+        final BackgroundSyncSlice slice = BackgroundSyncSlice.partition(2, SAMPLE).get(1);
+        final ThingId progress = ThingId.of("org.eclipse:ditto6");
+
+        assertThat((CharSequence) slice.withProgress(progress).getResumptionPoint()).isEqualTo(progress);
+        assertThat(slice.withProgress(progress).hasSameRange(slice)).isTrue();
+        assertThat(slice.asDone().isDone()).isTrue();
+    }
+
+    @Test
+    public void jsonRoundTrip() {
+        final BackgroundSyncSlice slice = BackgroundSyncSlice.partition(2, SAMPLE)
+                .get(1)
+                .withProgress(ThingId.of("org.eclipse:ditto6"));
+
+        assertThat(BackgroundSyncSlice.fromJson(slice.toJson())).isEqualTo(slice);
+    }
+
+    @Test
+    public void serializationRoundTrip() {
+        final ActorSystem actorSystem = ActorSystem.create("BackgroundSyncSliceTest", ConfigFactory.load("test"));
+        try {
+            final BackgroundSyncSlice slice = BackgroundSyncSlice.partition(2, SAMPLE).get(0).asDone();
+            final Serialization serialization = SerializationExtension.get(actorSystem);
+            final Serializer serializer = serialization.findSerializerFor(slice);
+            final byte[] bytes = serializer.toBinary(slice);
+            final Object deserialized = serialization.deserialize(bytes, serializer.identifier(),
+                    Serializers.manifestFor(serializer, slice)).get();
+
+            assertThat(deserialized).isEqualTo(slice);
+        } finally {
+            TestKit.shutdownActorSystem(actorSystem);
+        }
+    }
+
+}
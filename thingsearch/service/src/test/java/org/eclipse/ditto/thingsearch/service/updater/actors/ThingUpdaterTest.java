@@ -12,7 +12,9 @@
  */
 package org.eclipse.ditto.thingsearch.service.updater.actors;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 
 import org.assertj.core.api.Assertions;
 import org.eclipse.ditto.base.api.common.Shutdown;
@@ -30,6 +32,7 @@ import org.eclipse.ditto.things.model.ThingsModelFactory;
 import org.eclipse.ditto.things.model.signals.events.ThingCreated;
 import org.eclipse.ditto.things.model.signals.events.ThingModified;
 import org.eclipse.ditto.thingsearch.service.persistence.write.model.Metadata;
+import org.eclipse.ditto.thingsearch.service.persistence.write.streaming.ChangeQueue;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -55,6 +58,9 @@ public final class ThingUpdaterTest {
 
     private static final long REVISION = 1L;
 
+    private static final Duration CHANGE_TIMEOUT = Duration.ofSeconds(3L);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10L);
+
     private final Thing thing = ThingsModelFactory.newThingBuilder()
             .setId(THING_ID)
             .setPolicyId(POLICY_ID)
@@ -62,7 +68,7 @@ public final class ThingUpdaterTest {
 
     private ActorSystem actorSystem;
     private TestProbe pubSubTestProbe;
-    private TestProbe changeQueueTestProbe;
+    private ChangeQueue changeQueue;
 
     @Before
     public void setUpBase() {
@@ -79,7 +85,7 @@ public final class ThingUpdaterTest {
         shutdownActorSystem();
         actorSystem = ActorSystem.create("AkkaTestSystem", config);
         pubSubTestProbe = TestProbe.apply(actorSystem);
-        changeQueueTestProbe = TestProbe.apply(actorSystem);
+        changeQueue = ChangeQueue.of(1);
     }
 
     private void shutdownActorSystem() {
@@ -100,7 +106,7 @@ public final class ThingUpdaterTest {
                 final ThingCreated thingCreated = ThingCreated.of(thing, 1L, Instant.now(), dittoHeaders, null);
                 underTest.tell(thingCreated, getRef());
 
-                final Metadata metadata = changeQueueTestProbe.expectMsgClass(Metadata.class);
+                final Metadata metadata = expectChange();
                 Assertions.assertThat((CharSequence) metadata.getThingId()).isEqualTo(THING_ID);
                 Assertions.assertThat(metadata.getThingRevision()).isEqualTo(1L);
                 Assertions.assertThat(metadata.getPolicyId()).isEmpty();
@@ -126,14 +132,14 @@ public final class ThingUpdaterTest {
 
                 underTest.tell(ThingModified.of(currentThing, revision, Instant.now(), DittoHeaders.empty(), null),
                         ActorRef.noSender());
-                final Metadata metadata = changeQueueTestProbe.expectMsgClass(Metadata.class);
+                final Metadata metadata = expectChange();
                 Assertions.assertThat((CharSequence) metadata.getThingId()).isEqualTo(THING_ID);
                 Assertions.assertThat(metadata.getThingRevision()).isEqualTo(revision);
                 Assertions.assertThat(metadata.getPolicyId()).isEmpty();
                 Assertions.assertThat(metadata.getPolicyRevision()).contains(-1L);
 
                 underTest.tell(thingTag, ActorRef.noSender());
-                final Metadata metadata2 = changeQueueTestProbe.expectMsgClass(Metadata.class);
+                final Metadata metadata2 = expectChange();
                 Assertions.assertThat((CharSequence) metadata2.getThingId()).isEqualTo(THING_ID);
                 Assertions.assertThat(metadata2.getThingRevision()).isEqualTo(thingTagRevision);
                 Assertions.assertThat(metadata2.getPolicyId()).isEmpty();
@@ -159,14 +165,14 @@ public final class ThingUpdaterTest {
 
                 underTest.tell(ThingModified.of(currentThing, revision, Instant.now(), DittoHeaders.empty(), null),
                         ActorRef.noSender());
-                final Metadata metadata = changeQueueTestProbe.expectMsgClass(Metadata.class);
+                final Metadata metadata = expectChange();
                 Assertions.assertThat((CharSequence) metadata.getThingId()).isEqualTo(THING_ID);
                 Assertions.assertThat(metadata.getThingRevision()).isEqualTo(revision);
                 Assertions.assertThat(metadata.getPolicyId()).isEmpty();
                 Assertions.assertThat(metadata.getPolicyRevision()).contains(-1L);
 
                 underTest.tell(thingTag, ActorRef.noSender());
-                changeQueueTestProbe.expectNoMessage();
+                expectNoChange();
             }
         };
     }
@@ -181,11 +187,11 @@ public final class ThingUpdaterTest {
                 final PolicyId policyId = PolicyId.of(THING_ID);
                 underTest.tell(PolicyReferenceTag.of(THING_ID, PolicyTag.of(policyId, newPolicyRevision)),
                         ActorRef.noSender());
-                changeQueueTestProbe.expectMsg(Metadata.of(THING_ID, -1L, policyId, newPolicyRevision, null));
+                Assertions.assertThat(expectChange()).isEqualTo(Metadata.of(THING_ID, -1L, policyId, newPolicyRevision, null));
 
                 underTest.tell(PolicyReferenceTag.of(THING_ID, PolicyTag.of(policyId, REVISION)),
                         ActorRef.noSender());
-                changeQueueTestProbe.expectNoMessage();
+                expectNoChange();
             }
         };
     }
@@ -202,11 +208,11 @@ public final class ThingUpdaterTest {
                 // establish policy ID
                 underTest.tell(PolicyReferenceTag.of(THING_ID, PolicyTag.of(policyId1, 99L)),
                         ActorRef.noSender());
-                changeQueueTestProbe.expectMsg(Metadata.of(THING_ID, -1L, policyId1, 99L, null));
+                Assertions.assertThat(expectChange()).isEqualTo(Metadata.of(THING_ID, -1L, policyId1, 99L, null));
 
                 underTest.tell(PolicyReferenceTag.of(THING_ID, PolicyTag.of(policyId2, 9L)),
                         ActorRef.noSender());
-                changeQueueTestProbe.expectMsg(Metadata.of(THING_ID, -1L, policyId2, 9L, null));
+                Assertions.assertThat(expectChange()).isEqualTo(Metadata.of(THING_ID, -1L, policyId2, 9L, null));
             }
         };
     }
@@ -241,7 +247,7 @@ public final class ThingUpdaterTest {
                 final ThingTag thingTag = ThingTag.of(THING_ID, thingTagRevision);
                 underTest.tell(thingTag, getRef());
                 expectMsgEquals(StreamAck.success(thingTag.asIdentifierString()));
-                changeQueueTestProbe.expectMsgClass(Metadata.class);
+                expectChange();
 
                 // WHEN: updater receives outdated ThingTag
                 final ThingTag outdatedThingTag = ThingTag.of(THING_ID, outdatedRevision);
@@ -273,8 +279,36 @@ public final class ThingUpdaterTest {
     }
 
     private ActorRef createThingUpdaterActor() {
-        return actorSystem.actorOf(ThingUpdater.props(pubSubTestProbe.ref(), changeQueueTestProbe.ref()),
+        return actorSystem.actorOf(ThingUpdater.props(pubSubTestProbe.ref(), changeQueue),
                 THING_ID.toString());
     }
 
+    private Metadata expectChange() {
+        final long deadline = System.nanoTime() + CHANGE_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            final Map<ThingId, Metadata> changes = changeQueue.drain(false);
+            if (!changes.isEmpty()) {
+                Assertions.assertThat(changes).containsOnlyKeys(THING_ID);
+                return changes.get(THING_ID);
+            }
+            sleep(POLL_INTERVAL);
+        }
+        throw new AssertionError("No change enqueued within " + CHANGE_TIMEOUT);
+    }
+
+    private void expectNoChange() {
+        sleep(CHANGE_TIMEOUT);
+        Assertions.assertThat(changeQueue.drain(false)).isEmpty();
+        Assertions.assertThat(changeQueue.drain(true)).isEmpty();
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
 }